@@ -21,12 +21,14 @@ package org.apache.druid.benchmark;
 
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import org.apache.druid.java.util.common.io.Closer;
-import org.apache.druid.segment.data.ColumnarInts;
+import org.apache.druid.segment.data.BlockEncodedColumnarIntsSerializer;
+import org.apache.druid.segment.data.BlockEncodedColumnarIntsSupplier;
 import org.apache.druid.segment.data.CompressedVSizeColumnarIntsSupplier;
 import org.apache.druid.segment.data.CompressionStrategy;
 import org.apache.druid.segment.data.IndexedInts;
 import org.apache.druid.segment.data.VSizeColumnarInts;
-import org.apache.druid.segment.data.WritableSupplier;
+import org.apache.druid.segment.serde.Serializer;
+import org.apache.druid.segment.writeout.OnHeapMemorySegmentWriteOutMedium;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
@@ -41,6 +43,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
@@ -51,10 +54,15 @@ public class CompressedColumnarIntsBenchmark
 {
   private IndexedInts uncompressed;
   private IndexedInts compressed;
+  private IndexedInts blockEncoded;
 
   @Param({"1", "2", "3", "4"})
   int bytes;
 
+  // "sorted" generates long runs of equal values, like a low-cardinality dimension the segment is sorted on
+  @Param({"random", "sorted"})
+  String distribution;
+
   // Number of rows to read, the test will read random rows
   @Param({"1000", "10000", "100000", "1000000", "1000000"})
   int filteredRowCount;
@@ -70,6 +78,9 @@ public class CompressedColumnarIntsBenchmark
     for (int i = 0; i < vals.length; ++i) {
       vals[i] = rand.nextInt(bound);
     }
+    if ("sorted".equals(distribution)) {
+      Arrays.sort(vals);
+    }
     final ByteBuffer bufferCompressed = serialize(
         CompressedVSizeColumnarIntsSupplier.fromList(
             IntArrayList.wrap(vals),
@@ -88,6 +99,14 @@ public class CompressedColumnarIntsBenchmark
     final ByteBuffer bufferUncompressed = serialize(VSizeColumnarInts.fromArray(vals));
     this.uncompressed = VSizeColumnarInts.readFromByteBuffer(bufferUncompressed);
 
+    final BlockEncodedColumnarIntsSerializer blockEncodedSerializer =
+        new BlockEncodedColumnarIntsSerializer(new OnHeapMemorySegmentWriteOutMedium());
+    blockEncodedSerializer.open();
+    for (int val : vals) {
+      blockEncodedSerializer.addValue(val);
+    }
+    this.blockEncoded = BlockEncodedColumnarIntsSupplier.fromByteBuffer(serialize(blockEncodedSerializer)).get();
+
     filter = new BitSet();
     for (int i = 0; i < filteredRowCount; i++) {
       int rowToAccess = rand.nextInt(vals.length);
@@ -100,9 +119,9 @@ public class CompressedColumnarIntsBenchmark
 
   }
 
-  private static ByteBuffer serialize(WritableSupplier<ColumnarInts> writableSupplier) throws IOException
+  private static ByteBuffer serialize(Serializer serializer) throws IOException
   {
-    final ByteBuffer buffer = ByteBuffer.allocateDirect((int) writableSupplier.getSerializedSize());
+    final ByteBuffer buffer = ByteBuffer.allocateDirect((int) serializer.getSerializedSize());
 
     WritableByteChannel channel = new WritableByteChannel()
     {
@@ -126,7 +145,7 @@ public class CompressedColumnarIntsBenchmark
       }
     };
 
-    writableSupplier.writeTo(channel, null);
+    serializer.writeTo(channel, null);
     buffer.rewind();
     return buffer;
   }
@@ -150,4 +169,14 @@ public class CompressedColumnarIntsBenchmark
       blackhole.consume(compressed.get(i));
     }
   }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void blockEncoded(Blackhole blackhole)
+  {
+    for (int i = filter.nextSetBit(0); i >= 0; i = filter.nextSetBit(i + 1)) {
+      blackhole.consume(blockEncoded.get(i));
+    }
+  }
 }
@@ -53,13 +53,15 @@ import java.util.concurrent.TimeUnit;
 @OutputTimeUnit(TimeUnit.MILLISECONDS)
 public class LongCompressionBenchmark
 {
+  private static final int VECTOR_SIZE = 512;
+
   @Param("longCompress/")
   private static String dirPath;
 
   @Param({"enumerate", "zipfLow", "zipfHigh", "sequential", "uniform"})
   private static String file;
 
-  @Param({"auto", "longs"})
+  @Param({"auto", "longs", "bitpacked"})
   private static String format;
 
   @Param({"lz4", "none"})
@@ -98,5 +100,18 @@ public class LongCompressionBenchmark
     columnarLongs.close();
   }
 
+  @Benchmark
+  public void readVectorized(Blackhole bh)
+  {
+    ColumnarLongs columnarLongs = supplier.get();
+    int count = columnarLongs.size();
+    long[] vector = new long[VECTOR_SIZE];
+    for (int i = 0; i < count; i += VECTOR_SIZE) {
+      int length = Math.min(VECTOR_SIZE, count - i);
+      columnarLongs.get(vector, i, length);
+      bh.consume(vector);
+    }
+    columnarLongs.close();
+  }
 }
 
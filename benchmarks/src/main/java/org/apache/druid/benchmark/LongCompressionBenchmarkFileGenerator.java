@@ -51,7 +51,11 @@ public class LongCompressionBenchmarkFileGenerator
           CompressionStrategy.LZ4,
           CompressionStrategy.NONE);
   public static final List<CompressionFactory.LongEncodingStrategy> encodings =
-      ImmutableList.of(CompressionFactory.LongEncodingStrategy.AUTO, CompressionFactory.LongEncodingStrategy.LONGS);
+      ImmutableList.of(
+          CompressionFactory.LongEncodingStrategy.AUTO,
+          CompressionFactory.LongEncodingStrategy.LONGS,
+          CompressionFactory.LongEncodingStrategy.BITPACKED
+      );
 
   private static String dirPath = "longCompress/";
 
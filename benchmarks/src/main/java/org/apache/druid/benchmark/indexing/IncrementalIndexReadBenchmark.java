@@ -82,6 +82,9 @@ public class IncrementalIndexReadBenchmark
   @Param({"true", "false"})
   private boolean rollup;
 
+  @Param({"false", "true"})
+  private boolean useHashedFacts;
+
   private static final Logger log = new Logger(IncrementalIndexReadBenchmark.class);
   private static final int RNG_SEED = 9999;
   private IncrementalIndex incIndex;
@@ -128,6 +131,7 @@ public class IncrementalIndexReadBenchmark
                 .build()
         )
         .setReportParseExceptions(false)
+        .setUseHashedFacts(useHashedFacts)
         .setMaxRowCount(rowsPerSegment)
         .buildOnheap();
   }
@@ -23,6 +23,7 @@ import org.apache.druid.benchmark.datagen.BenchmarkDataGenerator;
 import org.apache.druid.benchmark.datagen.BenchmarkSchemaInfo;
 import org.apache.druid.benchmark.datagen.BenchmarkSchemas;
 import org.apache.druid.data.input.InputRow;
+import org.apache.druid.data.input.Row;
 import org.apache.druid.hll.HyperLogLogHash;
 import org.apache.druid.java.util.common.logger.Logger;
 import org.apache.druid.query.aggregation.hyperloglog.HyperUniquesSerde;
@@ -61,10 +62,13 @@ public class IndexIngestionBenchmark
   @Param({"true", "false"})
   private boolean rollup;
 
+  @Param({"false", "true"})
+  private boolean useHashedFacts;
+
   private static final Logger log = new Logger(IndexIngestionBenchmark.class);
   private static final int RNG_SEED = 9999;
 
-  private IncrementalIndex incIndex;
+  private IncrementalIndex<?> incIndex;
   private ArrayList<InputRow> rows;
   private BenchmarkSchemaInfo schemaInfo;
 
@@ -98,7 +102,7 @@ public class IndexIngestionBenchmark
     incIndex = makeIncIndex();
   }
 
-  private IncrementalIndex makeIncIndex()
+  private IncrementalIndex<?> makeIncIndex()
   {
     return new IncrementalIndex.Builder()
         .setIndexSchema(
@@ -108,6 +112,7 @@ public class IndexIngestionBenchmark
                 .build()
         )
         .setReportParseExceptions(false)
+        .setUseHashedFacts(useHashedFacts)
         .setMaxRowCount(rowsPerSegment * 2)
         .buildOnheap();
   }
@@ -123,4 +128,23 @@ public class IndexIngestionBenchmark
       blackhole.consume(rv);
     }
   }
+
+  /**
+   * Ingests all rows and then reads them back in time and dims order, the way a persist does. With hashed facts the
+   * sort happens only here instead of on every insert.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void addRowsAndIterate(Blackhole blackhole) throws Exception
+  {
+    for (int i = 0; i < rowsPerSegment; i++) {
+      InputRow row = rows.get(i);
+      int rv = incIndex.add(row).getRowCount();
+      blackhole.consume(rv);
+    }
+    for (Row row : incIndex) {
+      blackhole.consume(row);
+    }
+  }
 }
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.benchmark.query;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Ordering;
+import org.apache.druid.common.guava.CombiningSequence;
+import org.apache.druid.common.guava.ParallelMergeCombiningSequence;
+import org.apache.druid.java.util.common.DateTimes;
+import org.apache.druid.java.util.common.Intervals;
+import org.apache.druid.java.util.common.granularity.Granularities;
+import org.apache.druid.java.util.common.guava.MergeSequence;
+import org.apache.druid.java.util.common.guava.Sequence;
+import org.apache.druid.java.util.common.guava.Sequences;
+import org.apache.druid.java.util.common.guava.nary.BinaryFn;
+import org.apache.druid.query.Druids;
+import org.apache.druid.query.Result;
+import org.apache.druid.query.aggregation.CountAggregatorFactory;
+import org.apache.druid.query.aggregation.DoubleSumAggregatorFactory;
+import org.apache.druid.query.aggregation.LongSumAggregatorFactory;
+import org.apache.druid.query.timeseries.TimeseriesQuery;
+import org.apache.druid.query.timeseries.TimeseriesQueryQueryToolChest;
+import org.apache.druid.query.timeseries.TimeseriesResultValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares merging and combining the per-server timeseries result sequences on the Broker on a single thread, the
+ * way {@link MergeSequence} and {@link CombiningSequence} do, with {@link ParallelMergeCombiningSequence}.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ParallelMergeCombiningSequenceBenchmark
+{
+  private static final int RNG_SEED = 9999;
+
+  // Number of data servers whose results are merged
+  @Param({"8", "64", "512"})
+  private int numSequences;
+
+  // Number of hourly results in each sequence
+  @Param({"1000"})
+  private int rowsPerSequence;
+
+  @Param({"4"})
+  private int parallelism;
+
+  @Param({"1024"})
+  private int batchSize;
+
+  private ForkJoinPool pool;
+  private List<Sequence<Result<TimeseriesResultValue>>> sequences;
+  private Ordering<Result<TimeseriesResultValue>> ordering;
+  private BinaryFn<Result<TimeseriesResultValue>, Result<TimeseriesResultValue>, Result<TimeseriesResultValue>> mergeFn;
+
+  @Setup(Level.Trial)
+  public void setup()
+  {
+    final TimeseriesQuery query = Druids.newTimeseriesQueryBuilder()
+                                        .dataSource("blah")
+                                        .granularity(Granularities.HOUR)
+                                        .intervals(ImmutableList.of(Intervals.of("2000/3000")))
+                                        .aggregators(
+                                            ImmutableList.of(
+                                                new CountAggregatorFactory("rows"),
+                                                new LongSumAggregatorFactory("sumLong", "sumLong"),
+                                                new DoubleSumAggregatorFactory("sumDouble", "sumDouble")
+                                            )
+                                        )
+                                        .build();
+    final TimeseriesQueryQueryToolChest toolChest = new TimeseriesQueryQueryToolChest(
+        QueryBenchmarkUtil.NoopIntervalChunkingQueryRunnerDecorator()
+    );
+    ordering = toolChest.createResultComparator(query);
+    mergeFn = toolChest.createMergeFn(query);
+    pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+
+    final Random random = new Random(RNG_SEED);
+    final long start = DateTimes.of("2000").getMillis();
+    sequences = new ArrayList<>(numSequences);
+    for (int i = 0; i < numSequences; i++) {
+      final List<Result<TimeseriesResultValue>> rows = new ArrayList<>(rowsPerSequence);
+      for (int j = 0; j < rowsPerSequence; j++) {
+        rows.add(
+            new Result<>(
+                DateTimes.utc(start + TimeUnit.HOURS.toMillis(j)),
+                new TimeseriesResultValue(
+                    ImmutableMap.of(
+                        "rows", (long) random.nextInt(100),
+                        "sumLong", random.nextLong(),
+                        "sumDouble", random.nextDouble()
+                    )
+                )
+            )
+        );
+      }
+      sequences.add(Sequences.simple(rows));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown()
+  {
+    pool.shutdownNow();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void mergeCombining(Blackhole blackhole)
+  {
+    consume(
+        CombiningSequence.create(new MergeSequence<>(ordering, Sequences.simple(sequences)), ordering, mergeFn),
+        blackhole
+    );
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void parallelMergeCombining(Blackhole blackhole)
+  {
+    consume(
+        new ParallelMergeCombiningSequence<>(
+            pool,
+            sequences,
+            ordering,
+            mergeFn,
+            parallelism,
+            batchSize,
+            4,
+            false,
+            0
+        ),
+        blackhole
+    );
+  }
+
+  private static void consume(Sequence<Result<TimeseriesResultValue>> sequence, Blackhole blackhole)
+  {
+    sequence.accumulate(
+        null,
+        (accumulated, in) -> {
+          blackhole.consume(in);
+          return null;
+        }
+    );
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server.coordinator;
+
+import org.apache.druid.java.util.common.DateTimes;
+import org.apache.druid.server.coordinator.cost.ClusterCostCache;
+import org.apache.druid.timeline.DataSegment;
+import org.joda.time.DateTime;
+import org.joda.time.Interval;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ClusterCostCache} on a synthetic cluster: building the cache again after a coordinator run moved
+ * some segments, which only rebuilds the buckets of the moved segments, and computing the cost of placing segments on
+ * every server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ClusterCostCacheBenchmark
+{
+  private static final int NUMBER_OF_DATA_SOURCES = 20;
+  private static final int NUMBER_OF_QUERIES = 100;
+  private static final long DAYS_OF_DATA = 365;
+
+  @Param({"1000000"})
+  private int numberOfSegments;
+
+  @Param({"100"})
+  private int numberOfServers;
+
+  @Param({"100"})
+  private int numberOfMoves;
+
+  private final DateTime referenceTime = DateTimes.of("2014-01-01T00:00:00");
+  private final Random random = new Random(0);
+
+  private DataSegment[] segments;
+  private int[] serverOfSegment;
+  private DataSegment[] segmentQueries;
+  private ClusterCostCache.Builder clusterCostCacheBuilder;
+  private ClusterCostCache clusterCostCache;
+
+  @Setup
+  public void setup()
+  {
+    segments = new DataSegment[numberOfSegments];
+    serverOfSegment = new int[numberOfSegments];
+    clusterCostCacheBuilder = ClusterCostCache.builder();
+    for (int i = 0; i < numberOfSegments; i++) {
+      segments[i] = createSegment(i);
+      serverOfSegment[i] = random.nextInt(numberOfServers);
+      clusterCostCacheBuilder.addSegment(serverName(serverOfSegment[i]), segments[i]);
+    }
+    clusterCostCache = clusterCostCacheBuilder.build();
+
+    segmentQueries = new DataSegment[NUMBER_OF_QUERIES];
+    for (int i = 0; i < NUMBER_OF_QUERIES; i++) {
+      segmentQueries[i] = createSegment(numberOfSegments + i);
+    }
+  }
+
+  @Benchmark
+  public ClusterCostCache buildAfterMoves()
+  {
+    for (int i = 0; i < numberOfMoves; i++) {
+      final int segment = random.nextInt(numberOfSegments);
+      final int server = random.nextInt(numberOfServers);
+      clusterCostCacheBuilder.removeSegment(serverName(serverOfSegment[segment]), segments[segment]);
+      clusterCostCacheBuilder.addSegment(serverName(server), segments[segment]);
+      serverOfSegment[segment] = server;
+    }
+    return clusterCostCacheBuilder.build();
+  }
+
+  @Benchmark
+  public double computeCostOnAllServers()
+  {
+    double cost = 0.0;
+    for (DataSegment segment : segmentQueries) {
+      for (int server = 0; server < numberOfServers; server++) {
+        cost += clusterCostCache.computeCost(serverName(server), segment);
+      }
+    }
+    return cost;
+  }
+
+  private static String serverName(int server)
+  {
+    return "server" + server;
+  }
+
+  private DataSegment createSegment(int id)
+  {
+    final DateTime start = referenceTime.plusHours(random.nextInt((int) TimeUnit.DAYS.toHours(DAYS_OF_DATA)));
+    return new DataSegment(
+        "dataSource" + random.nextInt(NUMBER_OF_DATA_SOURCES),
+        new Interval(start, start.plusHours(1)),
+        "version" + id,
+        Collections.emptyMap(),
+        Collections.emptyList(),
+        Collections.emptyList(),
+        null,
+        0,
+        100
+    );
+  }
+}
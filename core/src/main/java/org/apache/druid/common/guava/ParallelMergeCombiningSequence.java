@@ -0,0 +1,431 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.common.guava;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Ordering;
+import org.apache.druid.java.util.common.RE;
+import org.apache.druid.java.util.common.guava.Accumulator;
+import org.apache.druid.java.util.common.guava.BaseSequence;
+import org.apache.druid.java.util.common.guava.CloseQuietly;
+import org.apache.druid.java.util.common.guava.LazySequence;
+import org.apache.druid.java.util.common.guava.MergeSequence;
+import org.apache.druid.java.util.common.guava.Sequence;
+import org.apache.druid.java.util.common.guava.Sequences;
+import org.apache.druid.java.util.common.guava.Yielder;
+import org.apache.druid.java.util.common.guava.Yielders;
+import org.apache.druid.java.util.common.guava.YieldingAccumulator;
+import org.apache.druid.java.util.common.guava.nary.BinaryFn;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Merges and combines a set of ordered sequences in parallel, as a two level tree. The input sequences are split into
+ * at most "parallelism" partitions, each of which is merged with a {@link MergeSequence} and combined with a
+ * {@link CombiningSequence} by a task running in a {@link ForkJoinPool}. The tasks hand their output over to the
+ * consuming thread in batches through bounded queues, where the partitions are merged and combined once more.
+ *
+ * This lets the expensive part of the merge, combining many equal-keyed rows coming from many sequences, scale with
+ * the number of cores rather than being bound to the single thread consuming the results, while bounding the amount
+ * of buffered results to "parallelism * queueCapacity * batchSize" rows.
+ *
+ * The input sequences must be ordered by the given ordering, and the combine function must be associative, since
+ * rows are combined in a different order than a single {@link CombiningSequence} would.
+ */
+public class ParallelMergeCombiningSequence<T> implements Sequence<T>
+{
+  private final ForkJoinPool pool;
+  private final List<Sequence<T>> baseSequences;
+  private final Ordering<T> ordering;
+  private final BinaryFn<T, T, T> combineFn;
+  private final int parallelism;
+  private final int batchSize;
+  private final int queueCapacity;
+  private final boolean hasTimeout;
+  private final long timeoutAtMillis;
+
+  /**
+   * @param timeoutAtMillis wall clock time after which waiting for results fails, only used if hasTimeout is true
+   */
+  public ParallelMergeCombiningSequence(
+      ForkJoinPool pool,
+      List<Sequence<T>> baseSequences,
+      Ordering<T> ordering,
+      BinaryFn<T, T, T> combineFn,
+      int parallelism,
+      int batchSize,
+      int queueCapacity,
+      boolean hasTimeout,
+      long timeoutAtMillis
+  )
+  {
+    Preconditions.checkArgument(parallelism > 0, "parallelism must be positive");
+    Preconditions.checkArgument(batchSize > 0, "batchSize must be positive");
+    Preconditions.checkArgument(queueCapacity > 0, "queueCapacity must be positive");
+    this.pool = pool;
+    this.baseSequences = baseSequences;
+    this.ordering = ordering;
+    this.combineFn = combineFn;
+    this.parallelism = parallelism;
+    this.batchSize = batchSize;
+    this.queueCapacity = queueCapacity;
+    this.hasTimeout = hasTimeout;
+    this.timeoutAtMillis = timeoutAtMillis;
+  }
+
+  @Override
+  public <OutType> OutType accumulate(OutType initValue, Accumulator<OutType, T> accumulator)
+  {
+    return makeSequence().accumulate(initValue, accumulator);
+  }
+
+  @Override
+  public <OutType> Yielder<OutType> toYielder(OutType initValue, YieldingAccumulator<OutType, T> accumulator)
+  {
+    return makeSequence().toYielder(initValue, accumulator);
+  }
+
+  private Sequence<T> makeSequence()
+  {
+    final int numPartitions = Math.min(parallelism, baseSequences.size());
+    if (numPartitions <= 1) {
+      return mergeCombine(baseSequences);
+    }
+
+    final List<List<Sequence<T>>> partitions = new ArrayList<>(numPartitions);
+    for (int i = 0; i < numPartitions; i++) {
+      partitions.add(new ArrayList<>());
+    }
+    for (int i = 0; i < baseSequences.size(); i++) {
+      partitions.get(i % numPartitions).add(baseSequences.get(i));
+    }
+
+    return new LazySequence<>(
+        () -> {
+          final AtomicBoolean cancelled = new AtomicBoolean(false);
+          final List<Sequence<T>> partitionSequences = new ArrayList<>(numPartitions);
+          for (List<Sequence<T>> partition : partitions) {
+            final BlockingQueue<ResultBatch<T>> queue = new ArrayBlockingQueue<>(queueCapacity);
+            pool.execute(new MergeCombineAction(partition, queue, cancelled));
+            partitionSequences.add(new BaseSequence<>(new QueueIteratorMaker(queue, cancelled)));
+          }
+          return Sequences.withBaggage(mergeCombine(partitionSequences), () -> cancelled.set(true));
+        }
+    );
+  }
+
+  private Sequence<T> mergeCombine(List<Sequence<T>> sequences)
+  {
+    return CombiningSequence.create(new MergeSequence<>(ordering, Sequences.simple(sequences)), ordering, combineFn);
+  }
+
+  private long remainingMillis()
+  {
+    return hasTimeout ? timeoutAtMillis - System.currentTimeMillis() : Long.MAX_VALUE;
+  }
+
+  private static RuntimeException timeout()
+  {
+    return new RE(new TimeoutException(), "Sequence iterator timed out waiting for data");
+  }
+
+  /**
+   * Merges and combines one partition of the input sequences, and hands the results over to the consumer in batches.
+   */
+  private class MergeCombineAction extends RecursiveAction
+  {
+    private final List<Sequence<T>> sequences;
+    private final BlockingQueue<ResultBatch<T>> queue;
+    private final AtomicBoolean cancelled;
+
+    MergeCombineAction(List<Sequence<T>> sequences, BlockingQueue<ResultBatch<T>> queue, AtomicBoolean cancelled)
+    {
+      this.sequences = sequences;
+      this.queue = queue;
+      this.cancelled = cancelled;
+    }
+
+    @Override
+    protected void compute()
+    {
+      final BatchFiller filler = new BatchFiller();
+      try {
+        while (!filler.isDone() && !cancelled.get()) {
+          final List<T> batch = filler.fill();
+          if (!batch.isEmpty() && !offer(new ResultBatch<>(batch, null))) {
+            return;
+          }
+        }
+        offer(ResultBatch.terminal());
+      }
+      catch (Throwable t) {
+        try {
+          offer(new ResultBatch<>(Collections.emptyList(), t));
+        }
+        catch (Throwable t2) {
+          t.addSuppressed(t2);
+          cancelled.set(true);
+        }
+      }
+      finally {
+        filler.close();
+      }
+    }
+
+    /**
+     * Reads the next batch of merged and combined results. Reading the input sequences blocks on the data nodes, for
+     * example in {@code DirectDruidClient}, so every batch is read in {@link ForkJoinPool#managedBlock}, which lets the
+     * pool compensate for the blocked thread instead of starving the merges of other queries.
+     */
+    private class BatchFiller implements ForkJoinPool.ManagedBlocker
+    {
+      @Nullable
+      private Yielder<T> yielder = null;
+      @Nullable
+      private List<T> batch = null;
+
+      List<T> fill() throws InterruptedException
+      {
+        batch = null;
+        ForkJoinPool.managedBlock(this);
+        return batch;
+      }
+
+      boolean isDone()
+      {
+        return yielder != null && yielder.isDone();
+      }
+
+      @Override
+      public boolean block()
+      {
+        if (yielder == null) {
+          // Making the yielder reads the first result of every input sequence
+          yielder = Yielders.each(mergeCombine(sequences));
+        }
+        final List<T> filled = new ArrayList<>(batchSize);
+        while (!yielder.isDone() && filled.size() < batchSize && !cancelled.get()) {
+          filled.add(yielder.get());
+          yielder = yielder.next(null);
+        }
+        batch = filled;
+        return true;
+      }
+
+      @Override
+      public boolean isReleasable()
+      {
+        return batch != null;
+      }
+
+      void close()
+      {
+        if (yielder != null) {
+          CloseQuietly.close(yielder);
+        }
+      }
+    }
+
+    /**
+     * Blocks until the batch is queued, in a way that lets the pool compensate for the blocked thread. Returns false
+     * if the consumer went away in the meantime.
+     */
+    private boolean offer(ResultBatch<T> batch) throws InterruptedException
+    {
+      final QueueOfferBlocker blocker = new QueueOfferBlocker(batch);
+      ForkJoinPool.managedBlock(blocker);
+      if (blocker.timedOut) {
+        cancelled.set(true);
+        throw timeout();
+      }
+      return blocker.offered;
+    }
+
+    private class QueueOfferBlocker implements ForkJoinPool.ManagedBlocker
+    {
+      private static final long CHECK_CANCELLED_MILLIS = 100;
+
+      private final ResultBatch<T> batch;
+      private boolean offered = false;
+      private boolean timedOut = false;
+
+      QueueOfferBlocker(ResultBatch<T> batch)
+      {
+        this.batch = batch;
+      }
+
+      @Override
+      public boolean block() throws InterruptedException
+      {
+        while (!isReleasable()) {
+          final long remaining = remainingMillis();
+          if (remaining <= 0) {
+            timedOut = true;
+            return true;
+          }
+          offered = queue.offer(batch, Math.min(remaining, CHECK_CANCELLED_MILLIS), TimeUnit.MILLISECONDS);
+        }
+        return true;
+      }
+
+      @Override
+      public boolean isReleasable()
+      {
+        if (!offered && !cancelled.get()) {
+          offered = queue.offer(batch);
+        }
+        return offered || timedOut || cancelled.get();
+      }
+    }
+  }
+
+  private class QueueIteratorMaker implements BaseSequence.IteratorMaker<T, QueueIterator>
+  {
+    private final BlockingQueue<ResultBatch<T>> queue;
+    private final AtomicBoolean cancelled;
+
+    QueueIteratorMaker(BlockingQueue<ResultBatch<T>> queue, AtomicBoolean cancelled)
+    {
+      this.queue = queue;
+      this.cancelled = cancelled;
+    }
+
+    @Override
+    public QueueIterator make()
+    {
+      return new QueueIterator(queue, cancelled);
+    }
+
+    @Override
+    public void cleanup(QueueIterator iterFromMake)
+    {
+      if (!iterFromMake.done) {
+        // Stop the producers if the consumer stops early.
+        cancelled.set(true);
+      }
+    }
+  }
+
+  private class QueueIterator implements Iterator<T>
+  {
+    private final BlockingQueue<ResultBatch<T>> queue;
+    private final AtomicBoolean cancelled;
+    private Iterator<T> current = Collections.emptyIterator();
+    private boolean done = false;
+
+    QueueIterator(BlockingQueue<ResultBatch<T>> queue, AtomicBoolean cancelled)
+    {
+      this.queue = queue;
+      this.cancelled = cancelled;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+      while (!current.hasNext()) {
+        if (done) {
+          return false;
+        }
+        final ResultBatch<T> batch = take();
+        if (batch.error != null) {
+          cancelled.set(true);
+          throw Throwables.propagate(batch.error);
+        }
+        if (batch.isTerminal()) {
+          done = true;
+          return false;
+        }
+        current = batch.values.iterator();
+      }
+      return true;
+    }
+
+    @Override
+    public T next()
+    {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return current.next();
+    }
+
+    private ResultBatch<T> take()
+    {
+      try {
+        final ResultBatch<T> batch;
+        if (hasTimeout) {
+          final long remaining = remainingMillis();
+          batch = remaining > 0 ? queue.poll(remaining, TimeUnit.MILLISECONDS) : queue.poll();
+        } else {
+          batch = queue.take();
+        }
+        if (batch == null) {
+          cancelled.set(true);
+          throw timeout();
+        }
+        return batch;
+      }
+      catch (InterruptedException e) {
+        cancelled.set(true);
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
+  private static class ResultBatch<T>
+  {
+    private static final ResultBatch TERMINAL = new ResultBatch<>(Collections.emptyList(), null);
+
+    @SuppressWarnings("unchecked")
+    static <T> ResultBatch<T> terminal()
+    {
+      return TERMINAL;
+    }
+
+    private final List<T> values;
+    @Nullable
+    private final Throwable error;
+
+    ResultBatch(List<T> values, @Nullable Throwable error)
+    {
+      this.values = values;
+      this.error = error;
+    }
+
+    boolean isTerminal()
+    {
+      return this == TERMINAL;
+    }
+  }
+}
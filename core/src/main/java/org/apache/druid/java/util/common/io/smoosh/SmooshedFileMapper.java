@@ -113,8 +113,10 @@ public class SmooshedFileMapper implements Closeable
   /**
    * Returns a mapped buffer of the smooshed file with the given name. Buffer's contents from 0 to capacity() are the
    * whole mapped file contents, limit() is equal to capacity().
+   *
+   * Synchronized because indexes that are loaded lazily map their columns from query threads.
    */
-  public ByteBuffer mapFile(String name) throws IOException
+  public synchronized ByteBuffer mapFile(String name) throws IOException
   {
     final Metadata metadata = internalFiles.get(name);
     if (metadata == null) {
@@ -138,7 +140,7 @@ public class SmooshedFileMapper implements Closeable
   }
 
   @Override
-  public void close()
+  public synchronized void close()
   {
     Throwable thrown = null;
     for (MappedByteBuffer mappedByteBuffer : buffersList) {
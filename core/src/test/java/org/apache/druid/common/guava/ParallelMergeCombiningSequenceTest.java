@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.common.guava;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Ordering;
+import org.apache.druid.java.util.common.Pair;
+import org.apache.druid.java.util.common.guava.BaseSequence;
+import org.apache.druid.java.util.common.guava.MergeSequence;
+import org.apache.druid.java.util.common.guava.Sequence;
+import org.apache.druid.java.util.common.guava.Sequences;
+import org.apache.druid.java.util.common.guava.Yielder;
+import org.apache.druid.java.util.common.guava.Yielders;
+import org.apache.druid.java.util.common.guava.nary.BinaryFn;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class ParallelMergeCombiningSequenceTest
+{
+  private static final Ordering<Pair<Integer, Long>> ORDERING = Ordering.natural().onResultOf(p -> p.lhs);
+  private static final BinaryFn<Pair<Integer, Long>, Pair<Integer, Long>, Pair<Integer, Long>> COMBINE_FN =
+      (lhs, rhs) -> {
+        if (lhs == null) {
+          return rhs;
+        }
+        if (rhs == null) {
+          return lhs;
+        }
+        return Pair.of(lhs.lhs, lhs.rhs + rhs.rhs);
+      };
+
+  private ForkJoinPool pool;
+
+  @Before
+  public void setUp()
+  {
+    pool = new ForkJoinPool(4, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+  }
+
+  @After
+  public void tearDown() throws Exception
+  {
+    pool.shutdownNow();
+    Assert.assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testEmpty()
+  {
+    assertSameAsCombiningMergeSequence(Collections.emptyList(), 4, 16);
+  }
+
+  @Test
+  public void testSingleSequence()
+  {
+    assertSameAsCombiningMergeSequence(ImmutableList.of(makeSequence(new Random(0), 100)), 4, 16);
+  }
+
+  @Test
+  public void testManySequences()
+  {
+    final Random random = new Random(0);
+    final List<Sequence<Pair<Integer, Long>>> sequences = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      sequences.add(makeSequence(random, random.nextInt(500)));
+    }
+    assertSameAsCombiningMergeSequence(sequences, 4, 1);
+    assertSameAsCombiningMergeSequence(sequences, 4, 7);
+    assertSameAsCombiningMergeSequence(sequences, 3, 1024);
+    assertSameAsCombiningMergeSequence(sequences, 64, 16);
+  }
+
+  @Test
+  public void testEarlyClose() throws Exception
+  {
+    final Random random = new Random(0);
+    final List<Sequence<Pair<Integer, Long>>> sequences = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      sequences.add(makeSequence(random, 10_000));
+    }
+    Yielder<Pair<Integer, Long>> yielder = Yielders.each(makeParallel(sequences, 4, 4, false, 0));
+    for (int i = 0; i < 10; i++) {
+      Assert.assertFalse(yielder.isDone());
+      yielder = yielder.next(null);
+    }
+    yielder.close();
+    Assert.assertTrue(pool.awaitQuiescence(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testExceptionInBaseSequence()
+  {
+    final RuntimeException failure = new RuntimeException("failed");
+    final List<Sequence<Pair<Integer, Long>>> sequences = ImmutableList.of(
+        makeSequence(new Random(0), 100),
+        Sequences.simple(ImmutableList.of(Pair.of(0, 1L))),
+        new BaseSequence<>(
+            new BaseSequence.IteratorMaker<Pair<Integer, Long>, Iterator<Pair<Integer, Long>>>()
+            {
+              @Override
+              public Iterator<Pair<Integer, Long>> make()
+              {
+                throw failure;
+              }
+
+              @Override
+              public void cleanup(Iterator<Pair<Integer, Long>> iterFromMake)
+              {
+              }
+            }
+        )
+    );
+    try {
+      makeParallel(sequences, 3, 4, false, 0).toList();
+      Assert.fail("Expected exception");
+    }
+    catch (RuntimeException e) {
+      Assert.assertSame(failure, e);
+    }
+  }
+
+  @Test
+  public void testTimeout() throws Exception
+  {
+    final CountDownLatch latch = new CountDownLatch(1);
+    final List<Sequence<Pair<Integer, Long>>> sequences = ImmutableList.of(
+        makeSequence(new Random(0), 100),
+        Sequences.simple(() -> {
+          try {
+            latch.await();
+          }
+          catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return Collections.<Pair<Integer, Long>>emptyList().iterator();
+        })
+    );
+    try {
+      makeParallel(sequences, 2, 4, true, System.currentTimeMillis() + 100).toList();
+      Assert.fail("Expected timeout");
+    }
+    catch (RuntimeException e) {
+      Assert.assertTrue(e.getCause() instanceof TimeoutException);
+    }
+    finally {
+      latch.countDown();
+    }
+  }
+
+  @Test
+  public void testBlockingBaseSequencesDoNotStarvePool() throws Exception
+  {
+    pool.shutdownNow();
+    pool = new ForkJoinPool(1, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+
+    // The first partition can only be read once the second one was started, which requires the pool to compensate
+    // for the thread blocked reading the first partition
+    final CountDownLatch latch = new CountDownLatch(1);
+    final List<Sequence<Pair<Integer, Long>>> sequences = ImmutableList.of(
+        Sequences.simple(() -> {
+          try {
+            latch.await(10, TimeUnit.SECONDS);
+          }
+          catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return ImmutableList.of(Pair.of(0, 1L), Pair.of(1, 1L)).iterator();
+        }),
+        Sequences.simple(() -> {
+          latch.countDown();
+          return ImmutableList.of(Pair.of(1, 2L)).iterator();
+        })
+    );
+    Assert.assertEquals(
+        ImmutableList.of(Pair.of(0, 1L), Pair.of(1, 3L)),
+        makeParallel(sequences, 2, 4, true, System.currentTimeMillis() + 5_000).toList()
+    );
+  }
+
+  private void assertSameAsCombiningMergeSequence(
+      List<Sequence<Pair<Integer, Long>>> sequences,
+      int parallelism,
+      int batchSize
+  )
+  {
+    final List<Pair<Integer, Long>> expected = CombiningSequence.create(
+        new MergeSequence<>(ORDERING, Sequences.simple(sequences)),
+        ORDERING,
+        COMBINE_FN
+    ).toList();
+    Assert.assertEquals(expected, makeParallel(sequences, parallelism, batchSize, false, 0).toList());
+    // sequences can be iterated more than once
+    Assert.assertEquals(expected, makeParallel(sequences, parallelism, batchSize, false, 0).toList());
+  }
+
+  private ParallelMergeCombiningSequence<Pair<Integer, Long>> makeParallel(
+      List<Sequence<Pair<Integer, Long>>> sequences,
+      int parallelism,
+      int batchSize,
+      boolean hasTimeout,
+      long timeoutAtMillis
+  )
+  {
+    return new ParallelMergeCombiningSequence<>(
+        pool,
+        sequences,
+        ORDERING,
+        COMBINE_FN,
+        parallelism,
+        batchSize,
+        2,
+        hasTimeout,
+        timeoutAtMillis
+    );
+  }
+
+  private static Sequence<Pair<Integer, Long>> makeSequence(Random random, int size)
+  {
+    final List<Pair<Integer, Long>> rows = new ArrayList<>(size);
+    int key = 0;
+    for (int i = 0; i < size; i++) {
+      // repeat keys within a sequence, so that both levels have something to combine
+      key += random.nextInt(3);
+      rows.add(Pair.of(key, (long) random.nextInt(100)));
+    }
+    return Sequences.simple(rows);
+  }
+}
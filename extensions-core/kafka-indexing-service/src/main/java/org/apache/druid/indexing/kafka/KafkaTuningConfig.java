@@ -36,6 +36,7 @@ public class KafkaTuningConfig implements TuningConfig, AppenderatorConfig
 {
   private static final int DEFAULT_MAX_ROWS_PER_SEGMENT = 5_000_000;
   private static final boolean DEFAULT_RESET_OFFSET_AUTOMATICALLY = false;
+  private static final boolean DEFAULT_USE_HASHED_FACTS = false;
 
   private final int maxRowsInMemory;
   private final long maxBytesInMemory;
@@ -57,6 +58,7 @@ public class KafkaTuningConfig implements TuningConfig, AppenderatorConfig
   private final boolean logParseExceptions;
   private final int maxParseExceptions;
   private final int maxSavedParseExceptions;
+  private final boolean useHashedFacts;
 
   @JsonCreator
   public KafkaTuningConfig(
@@ -77,7 +79,8 @@ public class KafkaTuningConfig implements TuningConfig, AppenderatorConfig
       @JsonProperty("intermediateHandoffPeriod") @Nullable Period intermediateHandoffPeriod,
       @JsonProperty("logParseExceptions") @Nullable Boolean logParseExceptions,
       @JsonProperty("maxParseExceptions") @Nullable Integer maxParseExceptions,
-      @JsonProperty("maxSavedParseExceptions") @Nullable Integer maxSavedParseExceptions
+      @JsonProperty("maxSavedParseExceptions") @Nullable Integer maxSavedParseExceptions,
+      @JsonProperty("useHashedFacts") @Nullable Boolean useHashedFacts
   )
   {
     // Cannot be a static because default basePersistDirectory is unique per-instance
@@ -119,6 +122,7 @@ public class KafkaTuningConfig implements TuningConfig, AppenderatorConfig
                                      : maxSavedParseExceptions;
     }
     this.logParseExceptions = logParseExceptions == null ? TuningConfig.DEFAULT_LOG_PARSE_EXCEPTIONS : logParseExceptions;
+    this.useHashedFacts = useHashedFacts == null ? DEFAULT_USE_HASHED_FACTS : useHashedFacts;
   }
 
   public static KafkaTuningConfig copyOf(KafkaTuningConfig config)
@@ -140,7 +144,8 @@ public class KafkaTuningConfig implements TuningConfig, AppenderatorConfig
         config.intermediateHandoffPeriod,
         config.logParseExceptions,
         config.maxParseExceptions,
-        config.maxSavedParseExceptions
+        config.maxSavedParseExceptions,
+        config.useHashedFacts
     );
   }
 
@@ -264,6 +269,13 @@ public class KafkaTuningConfig implements TuningConfig, AppenderatorConfig
     return maxSavedParseExceptions;
   }
 
+  @Override
+  @JsonProperty
+  public boolean isUseHashedFacts()
+  {
+    return useHashedFacts;
+  }
+
   public KafkaTuningConfig withBasePersistDirectory(File dir)
   {
     return new KafkaTuningConfig(
@@ -283,7 +295,8 @@ public class KafkaTuningConfig implements TuningConfig, AppenderatorConfig
         intermediateHandoffPeriod,
         logParseExceptions,
         maxParseExceptions,
-        maxSavedParseExceptions
+        maxSavedParseExceptions,
+        useHashedFacts
     );
   }
 
@@ -312,7 +325,8 @@ public class KafkaTuningConfig implements TuningConfig, AppenderatorConfig
            Objects.equals(intermediateHandoffPeriod, that.intermediateHandoffPeriod) &&
            logParseExceptions == that.logParseExceptions &&
            maxParseExceptions == that.maxParseExceptions &&
-           maxSavedParseExceptions == that.maxSavedParseExceptions;
+           maxSavedParseExceptions == that.maxSavedParseExceptions &&
+           useHashedFacts == that.useHashedFacts;
   }
 
   @Override
@@ -334,7 +348,8 @@ public class KafkaTuningConfig implements TuningConfig, AppenderatorConfig
         intermediateHandoffPeriod,
         logParseExceptions,
         maxParseExceptions,
-        maxSavedParseExceptions
+        maxSavedParseExceptions,
+        useHashedFacts
     );
   }
 
@@ -358,6 +373,7 @@ public class KafkaTuningConfig implements TuningConfig, AppenderatorConfig
            ", logParseExceptions=" + logParseExceptions +
            ", maxParseExceptions=" + maxParseExceptions +
            ", maxSavedParseExceptions=" + maxSavedParseExceptions +
+           ", useHashedFacts=" + useHashedFacts +
            '}';
   }
 }
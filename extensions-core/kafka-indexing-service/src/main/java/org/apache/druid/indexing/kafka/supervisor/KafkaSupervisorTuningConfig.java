@@ -63,7 +63,8 @@ public class KafkaSupervisorTuningConfig extends KafkaTuningConfig
       @JsonProperty("intermediateHandoffPeriod") Period intermediateHandoffPeriod,
       @JsonProperty("logParseExceptions") @Nullable Boolean logParseExceptions,
       @JsonProperty("maxParseExceptions") @Nullable Integer maxParseExceptions,
-      @JsonProperty("maxSavedParseExceptions") @Nullable Integer maxSavedParseExceptions
+      @JsonProperty("maxSavedParseExceptions") @Nullable Integer maxSavedParseExceptions,
+      @JsonProperty("useHashedFacts") @Nullable Boolean useHashedFacts
   )
   {
     super(
@@ -83,7 +84,8 @@ public class KafkaSupervisorTuningConfig extends KafkaTuningConfig
         intermediateHandoffPeriod,
         logParseExceptions,
         maxParseExceptions,
-        maxSavedParseExceptions
+        maxSavedParseExceptions,
+        useHashedFacts
     );
 
     this.workerThreads = workerThreads;
@@ -156,6 +158,7 @@ public class KafkaSupervisorTuningConfig extends KafkaTuningConfig
            ", logParseExceptions=" + isLogParseExceptions() +
            ", maxParseExceptions=" + getMaxParseExceptions() +
            ", maxSavedParseExceptions=" + getMaxSavedParseExceptions() +
+           ", useHashedFacts=" + isUseHashedFacts() +
            '}';
   }
 
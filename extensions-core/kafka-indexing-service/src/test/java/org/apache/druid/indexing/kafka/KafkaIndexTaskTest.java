@@ -2013,7 +2013,8 @@ public class KafkaIndexTaskTest
         intermediateHandoffPeriod,
         logParseExceptions,
         maxParseExceptions,
-        maxSavedParseExceptions
+        maxSavedParseExceptions,
+        null
     );
     final Map<String, Object> context = isIncrementalHandoffSupported
                                         ? ImmutableMap.of(KafkaSupervisor.IS_INCREMENTAL_HANDOFF_SUPPORTED, true)
@@ -2059,7 +2060,8 @@ public class KafkaIndexTaskTest
         null,
         logParseExceptions,
         maxParseExceptions,
-        maxSavedParseExceptions
+        maxSavedParseExceptions,
+        null
     );
     if (isIncrementalHandoffSupported) {
       context.put(KafkaSupervisor.IS_INCREMENTAL_HANDOFF_SUPPORTED, true);
@@ -64,6 +64,7 @@ public class KafkaTuningConfigTest
     Assert.assertEquals(new IndexSpec(), config.getIndexSpec());
     Assert.assertEquals(false, config.isReportParseExceptions());
     Assert.assertEquals(0, config.getHandoffConditionTimeout());
+    Assert.assertFalse(config.isUseHashedFacts());
   }
 
   @Test
@@ -78,7 +79,8 @@ public class KafkaTuningConfigTest
                      + "  \"intermediatePersistPeriod\": \"PT1H\",\n"
                      + "  \"maxPendingPersists\": 100,\n"
                      + "  \"reportParseExceptions\": true,\n"
-                     + "  \"handoffConditionTimeout\": 100\n"
+                     + "  \"handoffConditionTimeout\": 100,\n"
+                     + "  \"useHashedFacts\": true\n"
                      + "}";
 
     KafkaTuningConfig config = (KafkaTuningConfig) mapper.readValue(
@@ -100,6 +102,7 @@ public class KafkaTuningConfigTest
     Assert.assertEquals(0, config.getMaxPendingPersists());
     Assert.assertEquals(true, config.isReportParseExceptions());
     Assert.assertEquals(100, config.getHandoffConditionTimeout());
+    Assert.assertTrue(config.isUseHashedFacts());
   }
 
   @Test
@@ -122,7 +125,8 @@ public class KafkaTuningConfigTest
         null,
         null,
         null,
-        null
+        null,
+        true
     );
     KafkaTuningConfig copy = KafkaTuningConfig.copyOf(original);
 
@@ -136,5 +140,6 @@ public class KafkaTuningConfigTest
     Assert.assertEquals(new IndexSpec(), copy.getIndexSpec());
     Assert.assertEquals(true, copy.isReportParseExceptions());
     Assert.assertEquals(5L, copy.getHandoffConditionTimeout());
+    Assert.assertTrue(copy.isUseHashedFacts());
   }
 }
@@ -26,15 +26,18 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
+import org.apache.druid.common.config.NullHandling;
 import org.apache.druid.java.util.common.ISE;
 import org.apache.druid.java.util.common.StringUtils;
 import org.apache.druid.java.util.common.logger.Logger;
 import org.apache.druid.query.extraction.MapLookupExtractor;
 import org.apache.druid.query.lookup.namespace.ExtractionNamespace;
 import org.apache.druid.server.lookup.namespace.cache.CacheScheduler;
+import org.apache.druid.server.lookup.namespace.cache.CompactLookupTable;
 
 import javax.annotation.Nullable;
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.locks.Lock;
@@ -214,6 +217,16 @@ public class NamespaceLookupExtractorFactory implements LookupExtractorFactory
       final byte[] id = StringUtils.toUtf8(extractorID);
       return new MapLookupExtractor(map, isInjective())
       {
+        @Override
+        public List<String> unapply(@Nullable String value)
+        {
+          final String valueToLookup = NullHandling.nullToEmptyIfNeeded(value);
+          if (valueToLookup != null && map instanceof CompactLookupTable) {
+            return ((CompactLookupTable) map).getKeys(valueToLookup);
+          }
+          return super.unapply(value);
+        }
+
         @Override
         public byte[] getCacheKey()
         {
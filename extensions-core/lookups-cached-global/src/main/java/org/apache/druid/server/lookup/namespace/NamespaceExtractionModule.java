@@ -36,6 +36,7 @@ import org.apache.druid.query.lookup.namespace.ExtractionNamespace;
 import org.apache.druid.query.lookup.namespace.JdbcExtractionNamespace;
 import org.apache.druid.query.lookup.namespace.StaticMapExtractionNamespace;
 import org.apache.druid.query.lookup.namespace.UriExtractionNamespace;
+import org.apache.druid.server.lookup.namespace.cache.CompactNamespaceExtractionCacheManager;
 import org.apache.druid.server.lookup.namespace.cache.NamespaceExtractionCacheManager;
 import org.apache.druid.server.lookup.namespace.cache.OffHeapNamespaceExtractionCacheManager;
 import org.apache.druid.server.lookup.namespace.cache.OnHeapNamespaceExtractionCacheManager;
@@ -96,6 +97,12 @@ public class NamespaceExtractionModule implements DruidModule
         .to(OffHeapNamespaceExtractionCacheManager.class)
         .in(LazySingleton.class);
 
+    PolyBind
+        .optionBinder(binder, Key.get(NamespaceExtractionCacheManager.class))
+        .addBinding("compact")
+        .to(CompactNamespaceExtractionCacheManager.class)
+        .in(LazySingleton.class);
+
     getNamespaceFactoryMapBinder(binder)
         .addBinding(JdbcExtractionNamespace.class)
         .to(JdbcCacheGenerator.class)
@@ -21,6 +21,7 @@ package org.apache.druid.server.lookup.namespace.cache;
 
 import org.apache.druid.java.util.common.logger.Logger;
 
+import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 
 public final class CacheHandler implements AutoCloseable
@@ -28,8 +29,9 @@ public final class CacheHandler implements AutoCloseable
   private static final Logger log = new Logger(CacheHandler.class);
 
   private final NamespaceExtractionCacheManager cacheManager;
-  private final ConcurrentMap<String, String> cache;
   final Object id;
+  private volatile Map<String, String> cache;
+  private boolean populated = false;
 
   CacheHandler(NamespaceExtractionCacheManager cacheManager, ConcurrentMap<String, String> cache, Object id)
   {
@@ -39,11 +41,27 @@ public final class CacheHandler implements AutoCloseable
     this.id = id;
   }
 
-  public ConcurrentMap<String, String> getCache()
+  /**
+   * Returns the map to populate, or, after {@link #finishPopulating()}, the map to use for lookups.
+   */
+  public Map<String, String> getCache()
   {
     return cache;
   }
 
+  /**
+   * Called by {@link CacheScheduler} once the cache is populated, before it is used for lookups. Lets the cache
+   * manager replace the populated map with a read-only one, see {@link
+   * NamespaceExtractionCacheManager#finishPopulating}.
+   */
+  synchronized void finishPopulating()
+  {
+    if (!populated) {
+      cache = cacheManager.finishPopulating(this, cache);
+      populated = true;
+    }
+  }
+
   @Override
   public void close()
   {
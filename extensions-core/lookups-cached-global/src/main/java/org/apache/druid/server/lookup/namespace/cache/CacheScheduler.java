@@ -228,6 +228,7 @@ public final class CacheScheduler
         newVersionedCache = cacheGenerator.generateCache(namespace, this, currentVersion, CacheScheduler.this
         );
         if (newVersionedCache != null) {
+          newVersionedCache.cacheHandler.finishPopulating();
           CacheState previousCacheState = swapCacheState(newVersionedCache);
           if (previousCacheState != NoCache.ENTRY_CLOSED) {
             updatedCacheSuccessfully = true;
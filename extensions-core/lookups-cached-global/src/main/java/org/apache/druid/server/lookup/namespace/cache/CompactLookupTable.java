@@ -0,0 +1,441 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server.lookup.namespace.cache;
+
+import com.google.common.io.Files;
+import com.google.common.primitives.UnsignedBytes;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import org.apache.druid.java.util.common.IAE;
+import org.apache.druid.java.util.common.StringUtils;
+import org.apache.druid.java.util.common.logger.Logger;
+
+import javax.annotation.Nullable;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable lookup map stored in a memory-mapped temporary file, used by
+ * {@link CompactNamespaceExtractionCacheManager}. Keys and values are stored as UTF-8, and looked up by binary search
+ * over the keys, or over the values for {@link #getKeys(String)}. Lookups compare the given String with the stored
+ * bytes directly, without encoding it first.
+ *
+ * The file is deleted as soon as it is mapped. The memory is unmapped by the cleaner of the mapped buffer, once the
+ * buffer and the views of it taken by reads in progress become unreachable, that is once the table is no longer
+ * referenced by the cache or by any query. Tables that are still used by queries after being replaced by a newer
+ * version therefore stay valid, and reads never fail because of a lookup update.
+ *
+ * Layout of the file:
+ * <pre>
+ * int size
+ * int[size + 1] key offsets, relative to the start of the keys, in the order of the keys
+ * int[size + 1] value offsets, relative to the start of the values, in the order of the keys
+ * int[size] indexes of the entries in the order of the values
+ * byte[] keys, sorted by their UTF-8 bytes
+ * byte[] values
+ * </pre>
+ */
+public final class CompactLookupTable extends AbstractMap<String, String>
+{
+  private static final Logger log = new Logger(CompactLookupTable.class);
+
+  /**
+   * Code point that {@link StringUtils#toUtf8(String)} writes in place of unpaired surrogates.
+   */
+  private static final int REPLACEMENT_CODE_POINT = '?';
+
+  private final MappedByteBuffer buffer;
+  private final int size;
+  private final int keyOffsetsPosition;
+  private final int valueOffsetsPosition;
+  private final int valueOrderPosition;
+  private final int keysPosition;
+  private final int valuesPosition;
+
+  private CompactLookupTable(final MappedByteBuffer buffer)
+  {
+    this.buffer = buffer;
+    this.size = buffer.getInt(0);
+    this.keyOffsetsPosition = Integer.BYTES;
+    this.valueOffsetsPosition = keyOffsetsPosition + (size + 1) * Integer.BYTES;
+    this.valueOrderPosition = valueOffsetsPosition + (size + 1) * Integer.BYTES;
+    this.keysPosition = valueOrderPosition + size * Integer.BYTES;
+    this.valuesPosition = keysPosition + buffer.getInt(keyOffsetsPosition + size * Integer.BYTES);
+  }
+
+  /**
+   * Builds a table with the contents of the given map, which must not be modified concurrently.
+   *
+   * Entries are encoded as they are written to the file, so on top of the given map, building a table only holds two
+   * arrays of references to its keys and values and an array of ints, about 12 to 20 bytes per entry depending on
+   * whether references are compressed. The peak heap usage while a lookup is loaded is therefore the one of the
+   * populated map, as with {@link OnHeapNamespaceExtractionCacheManager}, plus these arrays.
+   */
+  public static CompactLookupTable build(final Map<String, String> map) throws IOException
+  {
+    final String[] keys = map.keySet().toArray(new String[0]);
+    Arrays.sort(keys, CompactLookupTable::compareUtf8);
+    final int size = keys.length;
+
+    final String[] values = new String[size];
+    final int[] valueOrder = new int[size];
+    long keyBytes = 0;
+    long valueBytes = 0;
+    for (int i = 0; i < size; i++) {
+      values[i] = map.get(keys[i]);
+      valueOrder[i] = i;
+      keyBytes += utf8Length(keys[i]);
+      valueBytes += utf8Length(values[i]);
+    }
+
+    final long totalBytes = Integer.BYTES * (1 + 2 * (size + 1L) + size) + keyBytes + valueBytes;
+    if (totalBytes > Integer.MAX_VALUE) {
+      throw new IAE("Lookup of [%,d] entries and [%,d] bytes is too large for a compact table", size, totalBytes);
+    }
+
+    IntArrays.quickSort(valueOrder, (lhs, rhs) -> compareUtf8(values[lhs], values[rhs]));
+
+    final File file = File.createTempFile("druidCompactLookup", null);
+    try {
+      try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+        out.writeInt(size);
+
+        int keyOffset = 0;
+        for (String key : keys) {
+          out.writeInt(keyOffset);
+          keyOffset += utf8Length(key);
+        }
+        out.writeInt(keyOffset);
+
+        int valueOffset = 0;
+        for (String value : values) {
+          out.writeInt(valueOffset);
+          valueOffset += utf8Length(value);
+        }
+        out.writeInt(valueOffset);
+
+        for (int index : valueOrder) {
+          out.writeInt(index);
+        }
+
+        for (String key : keys) {
+          out.write(StringUtils.toUtf8(key));
+        }
+        for (String value : values) {
+          out.write(StringUtils.toUtf8(value));
+        }
+      }
+
+      return new CompactLookupTable(Files.map(file));
+    }
+    finally {
+      // The mapping stays valid after the file is deleted
+      if (!file.delete()) {
+        log.warn("Unable to delete file at [%s]", file.getAbsolutePath());
+      }
+    }
+  }
+
+  /**
+   * Size of the table in bytes.
+   */
+  public long getSizeInBytes()
+  {
+    return buffer.capacity();
+  }
+
+  @Override
+  public int size()
+  {
+    return size;
+  }
+
+  @Override
+  public boolean containsKey(Object key)
+  {
+    return key instanceof String && indexOfKey((String) key) >= 0;
+  }
+
+  @Nullable
+  @Override
+  public String get(Object key)
+  {
+    if (!(key instanceof String)) {
+      return null;
+    }
+    final int index = indexOfKey((String) key);
+    return index < 0 ? null : valueAt(index);
+  }
+
+  /**
+   * Returns the keys mapped to the given value, in their UTF-8 order. This is a reverse lookup by binary search, unlike
+   * the scan of {@link #entrySet()} that generic maps need.
+   */
+  public List<String> getKeys(final String value)
+  {
+    // Find the first entry, in the order of the values, with a value not lower than the given one
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (compareValue(entryIndexByValueOrder(mid), value) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    List<String> keys = Collections.emptyList();
+    for (int i = low; i < size; i++) {
+      final int index = entryIndexByValueOrder(i);
+      if (compareValue(index, value) != 0) {
+        break;
+      }
+      if (keys.isEmpty()) {
+        keys = new ArrayList<>();
+      }
+      keys.add(keyAt(index));
+    }
+    return keys;
+  }
+
+  @Override
+  public Set<Map.Entry<String, String>> entrySet()
+  {
+    return new AbstractSet<Map.Entry<String, String>>()
+    {
+      @Override
+      public Iterator<Map.Entry<String, String>> iterator()
+      {
+        return new Iterator<Map.Entry<String, String>>()
+        {
+          private int index = 0;
+
+          @Override
+          public boolean hasNext()
+          {
+            return index < size;
+          }
+
+          @Override
+          public Map.Entry<String, String> next()
+          {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            final Map.Entry<String, String> entry = new SimpleImmutableEntry<>(keyAt(index), valueAt(index));
+            index++;
+            return entry;
+          }
+        };
+      }
+
+      @Override
+      public int size()
+      {
+        return size;
+      }
+    };
+  }
+
+  private int indexOfKey(final String key)
+  {
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final int cmp = compare(keysPosition + offset(keyOffsetsPosition, mid), keyLength(mid), key);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  private int compareValue(final int index, final String value)
+  {
+    return compare(valuesPosition + offset(valueOffsetsPosition, index), valueLength(index), value);
+  }
+
+  private int entryIndexByValueOrder(final int i)
+  {
+    return buffer.getInt(valueOrderPosition + i * Integer.BYTES);
+  }
+
+  private String keyAt(final int index)
+  {
+    return decode(keysPosition + offset(keyOffsetsPosition, index), keyLength(index));
+  }
+
+  private String valueAt(final int index)
+  {
+    return decode(valuesPosition + offset(valueOffsetsPosition, index), valueLength(index));
+  }
+
+  private int keyLength(final int index)
+  {
+    return offset(keyOffsetsPosition, index + 1) - offset(keyOffsetsPosition, index);
+  }
+
+  private int valueLength(final int index)
+  {
+    return offset(valueOffsetsPosition, index + 1) - offset(valueOffsetsPosition, index);
+  }
+
+  private int offset(final int offsetsPosition, final int index)
+  {
+    return buffer.getInt(offsetsPosition + index * Integer.BYTES);
+  }
+
+  private String decode(final int position, final int length)
+  {
+    final ByteBuffer dup = buffer.duplicate();
+    dup.position(position);
+    return StringUtils.fromUtf8(dup, length);
+  }
+
+  /**
+   * Compares the UTF-8 bytes at the given position of the table with the UTF-8 encoding of the given String, encoding
+   * it one code point at a time.
+   */
+  private int compare(final int position, final int length, final String string)
+  {
+    int bytePosition = 0;
+    int charIndex = 0;
+    while (charIndex < string.length()) {
+      final int codePoint = encodedCodePointAt(string, charIndex);
+      charIndex += Character.charCount(codePoint);
+      final int codePointLength = utf8Length(codePoint);
+      for (int i = 0; i < codePointLength; i++) {
+        if (bytePosition == length) {
+          // The stored bytes are a prefix of the String
+          return -1;
+        }
+        final int cmp = Integer.compare(
+            UnsignedBytes.toInt(buffer.get(position + bytePosition)),
+            utf8Byte(codePoint, codePointLength, i)
+        );
+        if (cmp != 0) {
+          return cmp;
+        }
+        bytePosition++;
+      }
+    }
+    return bytePosition == length ? 0 : 1;
+  }
+
+  /**
+   * Compares two Strings in the order of their UTF-8 bytes, which is the order of their code points and differs from
+   * {@link String#compareTo} for characters outside of the Basic Multilingual Plane.
+   */
+  private static int compareUtf8(final String lhs, final String rhs)
+  {
+    int lhsIndex = 0;
+    int rhsIndex = 0;
+    while (lhsIndex < lhs.length() && rhsIndex < rhs.length()) {
+      final int lhsCodePoint = encodedCodePointAt(lhs, lhsIndex);
+      final int rhsCodePoint = encodedCodePointAt(rhs, rhsIndex);
+      if (lhsCodePoint != rhsCodePoint) {
+        return Integer.compare(lhsCodePoint, rhsCodePoint);
+      }
+      lhsIndex += Character.charCount(lhsCodePoint);
+      rhsIndex += Character.charCount(rhsCodePoint);
+    }
+    return Integer.compare(lhs.length() - lhsIndex, rhs.length() - rhsIndex);
+  }
+
+  /**
+   * Returns the code point that {@link StringUtils#toUtf8(String)} encodes for the char at the given index.
+   */
+  private static int encodedCodePointAt(final String string, final int index)
+  {
+    final char c = string.charAt(index);
+    if (Character.isHighSurrogate(c)
+        && index + 1 < string.length()
+        && Character.isLowSurrogate(string.charAt(index + 1))) {
+      return Character.toCodePoint(c, string.charAt(index + 1));
+    }
+    return Character.isSurrogate(c) ? REPLACEMENT_CODE_POINT : c;
+  }
+
+  private static long utf8Length(final String string)
+  {
+    long length = 0;
+    int index = 0;
+    while (index < string.length()) {
+      final int codePoint = encodedCodePointAt(string, index);
+      length += utf8Length(codePoint);
+      index += Character.charCount(codePoint);
+    }
+    return length;
+  }
+
+  private static int utf8Length(final int codePoint)
+  {
+    if (codePoint < 0x80) {
+      return 1;
+    } else if (codePoint < 0x800) {
+      return 2;
+    } else if (codePoint < 0x10000) {
+      return 3;
+    } else {
+      return 4;
+    }
+  }
+
+  /**
+   * Returns the i-th byte of the UTF-8 encoding of the given code point, as an unsigned value.
+   */
+  private static int utf8Byte(final int codePoint, final int codePointLength, final int i)
+  {
+    final int shift = 6 * (codePointLength - 1 - i);
+    if (i > 0) {
+      return 0x80 | ((codePoint >> shift) & 0x3F);
+    }
+    switch (codePointLength) {
+      case 1:
+        return codePoint;
+      case 2:
+        return 0xC0 | (codePoint >> shift);
+      case 3:
+        return 0xE0 | (codePoint >> shift);
+      default:
+        return 0xF0 | (codePoint >> shift);
+    }
+  }
+}
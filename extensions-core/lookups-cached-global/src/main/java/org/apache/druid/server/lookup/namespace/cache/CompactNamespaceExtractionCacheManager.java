@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server.lookup.namespace.cache;
+
+import com.google.inject.Inject;
+import org.apache.druid.java.util.common.ISE;
+import org.apache.druid.java.util.common.lifecycle.Lifecycle;
+import org.apache.druid.java.util.common.logger.Logger;
+import org.apache.druid.java.util.emitter.service.ServiceEmitter;
+import org.apache.druid.java.util.emitter.service.ServiceMetricEvent;
+import org.apache.druid.server.lookup.namespace.NamespaceExtractionConfig;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Populates caches on the heap, like {@link OnHeapNamespaceExtractionCacheManager}, and then replaces each populated
+ * cache with an immutable {@link CompactLookupTable}, in the updater thread and before the new version of the cache is
+ * swapped in. Between updates, lookups are only held in memory-mapped tables, which are much smaller than maps of
+ * Strings and support fast reverse lookups. Populating a cache still needs the whole map on the heap, like the on-heap
+ * manager does, until the table is built.
+ */
+public class CompactNamespaceExtractionCacheManager extends NamespaceExtractionCacheManager
+{
+  private static final Logger log = new Logger(CompactNamespaceExtractionCacheManager.class);
+
+  /**
+   * State of a cache, used as {@link CacheHandler#id}. Disposing a cache only drops its reference to the table, like
+   * {@link OnHeapNamespaceExtractionCacheManager} does, because queries may still read a replaced version of a lookup.
+   * The table is unmapped once it becomes unreachable, see {@link CompactLookupTable}.
+   */
+  private static class CompactCache
+  {
+    @Nullable
+    private volatile CompactLookupTable table = null;
+  }
+
+  /**
+   * Weak collection of caches, see {@link OnHeapNamespaceExtractionCacheManager}.
+   */
+  private final Set<WeakReference<CompactCache>> caches = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+  @Inject
+  public CompactNamespaceExtractionCacheManager(
+      Lifecycle lifecycle,
+      ServiceEmitter serviceEmitter,
+      NamespaceExtractionConfig config
+  )
+  {
+    super(lifecycle, serviceEmitter, config);
+  }
+
+  private void expungeCollectedCaches()
+  {
+    caches.removeIf(cacheRef -> cacheRef.get() == null);
+  }
+
+  @Override
+  public CacheHandler createCache()
+  {
+    final CompactCache cache = new CompactCache();
+    final WeakReference<CompactCache> cacheRef = new WeakReference<>(cache);
+    expungeCollectedCaches();
+    caches.add(cacheRef);
+    return new CacheHandler(this, new ConcurrentHashMap<>(), new CompactCacheId(cache, cacheRef));
+  }
+
+  @Override
+  Map<String, String> finishPopulating(CacheHandler cacheHandler, Map<String, String> populatedCache)
+  {
+    final CompactCacheId id = getId(cacheHandler);
+    try {
+      final long startNs = System.nanoTime();
+      final CompactLookupTable table = CompactLookupTable.build(populatedCache);
+      log.debug(
+          "Built compact lookup table of [%,d] entries and [%,d] bytes in [%,d] ms",
+          table.size(),
+          table.getSizeInBytes(),
+          (System.nanoTime() - startNs) / 1_000_000
+      );
+      id.cache.table = table;
+      return table;
+    }
+    catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  void disposeCache(CacheHandler cacheHandler)
+  {
+    final CompactCacheId id = getId(cacheHandler);
+    id.cache.table = null;
+    caches.remove(id.cacheRef);
+  }
+
+  @Override
+  int cacheCount()
+  {
+    expungeCollectedCaches();
+    return caches.size();
+  }
+
+  @Override
+  void monitor(ServiceEmitter serviceEmitter)
+  {
+    long numEntries = 0;
+    long size = 0;
+    expungeCollectedCaches();
+    for (WeakReference<CompactCache> cacheRef : caches) {
+      final CompactCache cache = cacheRef.get();
+      final CompactLookupTable table = cache == null ? null : cache.table;
+      if (table != null) {
+        numEntries += table.size();
+        size += table.getSizeInBytes();
+      }
+    }
+    serviceEmitter.emit(ServiceMetricEvent.builder().build("namespace/cache/count", cacheCount()));
+    serviceEmitter.emit(ServiceMetricEvent.builder().build("namespace/cache/numEntries", numEntries));
+    serviceEmitter.emit(ServiceMetricEvent.builder().build("namespace/cache/diskSize", size));
+  }
+
+  private static CompactCacheId getId(CacheHandler cacheHandler)
+  {
+    if (!(cacheHandler.id instanceof CompactCacheId)) {
+      throw new ISE("Expected CompactCacheId, got: %s", cacheHandler.id);
+    }
+    return (CompactCacheId) cacheHandler.id;
+  }
+
+  private static class CompactCacheId
+  {
+    private final CompactCache cache;
+    private final WeakReference<CompactCache> cacheRef;
+
+    private CompactCacheId(CompactCache cache, WeakReference<CompactCache> cacheRef)
+    {
+      this.cache = cache;
+      this.cacheRef = cacheRef;
+    }
+  }
+}
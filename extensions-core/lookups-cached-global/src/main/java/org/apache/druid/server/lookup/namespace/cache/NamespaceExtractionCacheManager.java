@@ -28,6 +28,7 @@ import org.apache.druid.java.util.common.logger.Logger;
 import org.apache.druid.java.util.emitter.service.ServiceEmitter;
 import org.apache.druid.server.lookup.namespace.NamespaceExtractionConfig;
 
+import java.util.Map;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -104,6 +105,16 @@ public abstract class NamespaceExtractionCacheManager
 
   abstract void disposeCache(CacheHandler cacheHandler);
 
+  /**
+   * Called once a cache returned by {@link #createCache()} is populated, before it is used for lookups.
+   *
+   * @return the map to use for lookups from now on, the populated one unless overridden
+   */
+  Map<String, String> finishPopulating(CacheHandler cacheHandler, Map<String, String> populatedCache)
+  {
+    return populatedCache;
+  }
+
   abstract int cacheCount();
 
   abstract void monitor(ServiceEmitter serviceEmitter);
@@ -97,6 +97,20 @@ public class CacheSchedulerTest
           );
         }
       };
+  public static final Function<Lifecycle, NamespaceExtractionCacheManager> CREATE_COMPACT_CACHE_MANAGER =
+      new Function<Lifecycle, NamespaceExtractionCacheManager>()
+      {
+        @Nullable
+        @Override
+        public NamespaceExtractionCacheManager apply(@Nullable Lifecycle lifecycle)
+        {
+          return new CompactNamespaceExtractionCacheManager(
+              lifecycle,
+              new NoopServiceEmitter(),
+              new NamespaceExtractionConfig()
+          );
+        }
+      };
 
   @Parameterized.Parameters
   public static Collection<Object[]> data()
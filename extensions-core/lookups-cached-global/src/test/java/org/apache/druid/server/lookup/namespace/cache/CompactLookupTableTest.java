@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server.lookup.namespace.cache;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class CompactLookupTableTest
+{
+  private static final Map<String, String> MAP = ImmutableMap.<String, String>builder()
+      .put("foo", "bar")
+      .put("baz", "bar")
+      .put("", "empty")
+      .put("a", "")
+      .put("😀", "emoji")
+      .put("�", "replacement")
+      .put("été", "summer")
+      .build();
+
+  @Test
+  public void testGet() throws IOException
+  {
+    final CompactLookupTable table = CompactLookupTable.build(MAP);
+    Assert.assertEquals(MAP.size(), table.size());
+    for (Map.Entry<String, String> entry : MAP.entrySet()) {
+      Assert.assertEquals(entry.getKey(), entry.getValue(), table.get(entry.getKey()));
+      Assert.assertTrue(entry.getKey(), table.containsKey(entry.getKey()));
+    }
+    Assert.assertNull(table.get("missing"));
+    Assert.assertNull(table.get("fo"));
+    Assert.assertNull(table.get("fooo"));
+    Assert.assertNull(table.get(null));
+    Assert.assertFalse(table.containsKey("missing"));
+  }
+
+  @Test
+  public void testGetKeys() throws IOException
+  {
+    final CompactLookupTable table = CompactLookupTable.build(MAP);
+    Assert.assertEquals(ImmutableList.of("baz", "foo"), table.getKeys("bar"));
+    Assert.assertEquals(ImmutableList.of("a"), table.getKeys(""));
+    Assert.assertEquals(ImmutableList.of("😀"), table.getKeys("emoji"));
+    Assert.assertEquals(Collections.emptyList(), table.getKeys("missing"));
+    Assert.assertEquals(Collections.emptyList(), table.getKeys("zzz"));
+  }
+
+  @Test
+  public void testEntrySet() throws IOException
+  {
+    final CompactLookupTable table = CompactLookupTable.build(MAP);
+    Assert.assertEquals(MAP, table);
+    Assert.assertEquals(MAP.hashCode(), table.hashCode());
+
+    // Keys are iterated in the order of their UTF-8 bytes
+    final List<String> keys = Lists.newArrayList(table.keySet());
+    Assert.assertEquals(ImmutableList.of("", "a", "baz", "foo", "été", "�", "😀"), keys);
+  }
+
+  @Test
+  public void testEmpty() throws IOException
+  {
+    final CompactLookupTable table = CompactLookupTable.build(ImmutableMap.of());
+    Assert.assertTrue(table.isEmpty());
+    Assert.assertNull(table.get("foo"));
+    Assert.assertEquals(Collections.emptyList(), table.getKeys("foo"));
+    Assert.assertEquals(ImmutableMap.of(), table);
+  }
+
+  @Test
+  public void testUnpairedSurrogates() throws IOException
+  {
+    // Unpaired surrogates are stored as '?', like StringUtils.toUtf8 encodes them
+    final CompactLookupTable table = CompactLookupTable.build(ImmutableMap.of("a\uD800", "b\uDC00", "\uFFFF", "c"));
+    Assert.assertEquals("b?", table.get("a\uD800"));
+    Assert.assertEquals("b?", table.get("a?"));
+    Assert.assertEquals(ImmutableList.of("a?"), table.getKeys("b\uDC00"));
+    Assert.assertEquals("c", table.get("\uFFFF"));
+    Assert.assertNull(table.get("a"));
+    Assert.assertNull(table.get("a\uD800\uDC00"));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testImmutable() throws IOException
+  {
+    CompactLookupTable.build(MAP).put("foo", "baz");
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server.lookup.namespace.cache;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Binder;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import org.apache.druid.guice.GuiceInjectors;
+import org.apache.druid.guice.JsonConfigProvider;
+import org.apache.druid.guice.annotations.Self;
+import org.apache.druid.initialization.Initialization;
+import org.apache.druid.java.util.common.lifecycle.Lifecycle;
+import org.apache.druid.server.DruidNode;
+import org.apache.druid.server.lookup.namespace.NamespaceExtractionModule;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+public class CompactNamespaceExtractionCacheManagerTest
+{
+  @Test
+  public void testInjection()
+  {
+    final Injector injector = Initialization.makeInjectorWithModules(
+        GuiceInjectors.makeStartupInjector(),
+        ImmutableList.of(
+            new Module()
+            {
+              @Override
+              public void configure(Binder binder)
+              {
+                JsonConfigProvider.bindInstance(
+                    binder,
+                    Key.get(DruidNode.class, Self.class),
+                    new DruidNode("test-inject", null, false, null, null, true, false)
+                );
+              }
+            }
+        )
+    );
+    final Properties properties = injector.getInstance(Properties.class);
+    properties.clear();
+    properties.put(NamespaceExtractionModule.TYPE_PREFIX, "compact");
+    final NamespaceExtractionCacheManager manager = injector.getInstance(NamespaceExtractionCacheManager.class);
+    Assert.assertEquals(CompactNamespaceExtractionCacheManager.class, manager.getClass());
+  }
+
+  @Test
+  public void testFinishPopulating() throws Exception
+  {
+    final Lifecycle lifecycle = new Lifecycle();
+    lifecycle.start();
+    try {
+      final NamespaceExtractionCacheManager manager = CacheSchedulerTest.CREATE_COMPACT_CACHE_MANAGER.apply(lifecycle);
+      final Map<String, String> cache;
+      try (CacheHandler cacheHandler = manager.createCache()) {
+        final Map<String, String> expected = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+          expected.put("key" + i, "value" + i % 10);
+        }
+        cacheHandler.getCache().putAll(expected);
+
+        cacheHandler.finishPopulating();
+
+        cache = cacheHandler.getCache();
+        Assert.assertTrue(cache instanceof CompactLookupTable);
+        Assert.assertEquals(expected, cache);
+        Assert.assertEquals(100, ((CompactLookupTable) cache).getKeys("value3").size());
+        Assert.assertEquals(1, manager.cacheCount());
+      }
+      Assert.assertEquals(0, manager.cacheCount());
+
+      // Queries that still hold a disposed table can keep reading it
+      Assert.assertEquals("value1", cache.get("key1"));
+      Assert.assertEquals(100, ((CompactLookupTable) cache).getKeys("value3").size());
+    }
+    finally {
+      lifecycle.stop();
+    }
+  }
+
+  @Test
+  public void testFinishPopulatingEmpty() throws Exception
+  {
+    final Lifecycle lifecycle = new Lifecycle();
+    lifecycle.start();
+    try {
+      final NamespaceExtractionCacheManager manager = CacheSchedulerTest.CREATE_COMPACT_CACHE_MANAGER.apply(lifecycle);
+      try (CacheHandler cacheHandler = manager.createCache()) {
+        cacheHandler.finishPopulating();
+        Assert.assertEquals(ImmutableMap.of(), cacheHandler.getCache());
+        Assert.assertNull(cacheHandler.getCache().get("foo"));
+      }
+    }
+    finally {
+      lifecycle.stop();
+    }
+  }
+}
@@ -48,7 +48,8 @@ public class NamespaceExtractionCacheManagersTest
   {
     return Arrays.asList(new Object[][]{
         {CacheSchedulerTest.CREATE_ON_HEAP_CACHE_MANAGER},
-        {CacheSchedulerTest.CREATE_OFF_HEAP_CACHE_MANAGER}
+        {CacheSchedulerTest.CREATE_OFF_HEAP_CACHE_MANAGER},
+        {CacheSchedulerTest.CREATE_COMPACT_CACHE_MANAGER}
     });
   }
 
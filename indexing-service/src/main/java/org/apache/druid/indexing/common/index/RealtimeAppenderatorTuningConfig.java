@@ -46,6 +46,7 @@ public class RealtimeAppenderatorTuningConfig implements TuningConfig, Appendera
   private static final Boolean defaultReportParseExceptions = Boolean.FALSE;
   private static final long defaultPublishAndHandoffTimeout = 0;
   private static final long defaultAlertTimeout = 0;
+  private static final boolean defaultUseHashedFacts = false;
 
   private static File createNewBasePersistDirectory()
   {
@@ -71,6 +72,7 @@ public class RealtimeAppenderatorTuningConfig implements TuningConfig, Appendera
   private final boolean logParseExceptions;
   private final int maxParseExceptions;
   private final int maxSavedParseExceptions;
+  private final boolean useHashedFacts;
 
   @JsonCreator
   public RealtimeAppenderatorTuningConfig(
@@ -89,7 +91,8 @@ public class RealtimeAppenderatorTuningConfig implements TuningConfig, Appendera
       @JsonProperty("segmentWriteOutMediumFactory") @Nullable SegmentWriteOutMediumFactory segmentWriteOutMediumFactory,
       @JsonProperty("logParseExceptions") @Nullable Boolean logParseExceptions,
       @JsonProperty("maxParseExceptions") @Nullable Integer maxParseExceptions,
-      @JsonProperty("maxSavedParseExceptions") @Nullable Integer maxSavedParseExceptions
+      @JsonProperty("maxSavedParseExceptions") @Nullable Integer maxSavedParseExceptions,
+      @JsonProperty("useHashedFacts") @Nullable Boolean useHashedFacts
   )
   {
     this.maxRowsInMemory = maxRowsInMemory == null ? defaultMaxRowsInMemory : maxRowsInMemory;
@@ -131,6 +134,7 @@ public class RealtimeAppenderatorTuningConfig implements TuningConfig, Appendera
     this.logParseExceptions = logParseExceptions == null
                               ? TuningConfig.DEFAULT_LOG_PARSE_EXCEPTIONS
                               : logParseExceptions;
+    this.useHashedFacts = useHashedFacts == null ? defaultUseHashedFacts : useHashedFacts;
   }
 
   @Override
@@ -240,6 +244,13 @@ public class RealtimeAppenderatorTuningConfig implements TuningConfig, Appendera
     return maxSavedParseExceptions;
   }
 
+  @Override
+  @JsonProperty
+  public boolean isUseHashedFacts()
+  {
+    return useHashedFacts;
+  }
+
   public RealtimeAppenderatorTuningConfig withBasePersistDirectory(File dir)
   {
     return new RealtimeAppenderatorTuningConfig(
@@ -258,7 +269,8 @@ public class RealtimeAppenderatorTuningConfig implements TuningConfig, Appendera
         segmentWriteOutMediumFactory,
         logParseExceptions,
         maxParseExceptions,
-        maxSavedParseExceptions
+        maxSavedParseExceptions,
+        useHashedFacts
     );
   }
 }
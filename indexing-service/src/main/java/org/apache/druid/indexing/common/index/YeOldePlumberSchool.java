@@ -57,6 +57,7 @@ import org.joda.time.Interval;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -109,7 +110,9 @@ public class YeOldePlumberSchool implements PlumberSchool
         config.getMaxRowsInMemory(),
         TuningConfigs.getMaxBytesInMemoryOrDefault(config.getMaxBytesInMemory()),
         config.isReportParseExceptions(),
-        config.getDedupColumn()
+        config.isUseHashedFacts(),
+        config.getDedupColumn(),
+        Collections.emptyList()
     );
 
     // Temporary directory to hold spilled segments.
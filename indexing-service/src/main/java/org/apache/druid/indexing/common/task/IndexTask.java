@@ -1346,6 +1346,7 @@ public class IndexTask extends AbstractTask implements ChatHandler
     private static final boolean DEFAULT_GUARANTEE_ROLLUP = false;
     private static final boolean DEFAULT_REPORT_PARSE_EXCEPTIONS = false;
     private static final long DEFAULT_PUSH_TIMEOUT = 0;
+    private static final boolean DEFAULT_USE_HASHED_FACTS = false;
 
     @Nullable
     private final Integer targetPartitionSize;
@@ -1378,6 +1379,7 @@ public class IndexTask extends AbstractTask implements ChatHandler
     private final boolean logParseExceptions;
     private final int maxParseExceptions;
     private final int maxSavedParseExceptions;
+    private final boolean useHashedFacts;
 
     @Nullable
     private final SegmentWriteOutMediumFactory segmentWriteOutMediumFactory;
@@ -1387,6 +1389,52 @@ public class IndexTask extends AbstractTask implements ChatHandler
       return new IndexTuningConfig();
     }
 
+    public IndexTuningConfig(
+        @Nullable Integer targetPartitionSize,
+        @Nullable Integer maxRowsInMemory,
+        @Nullable Long maxBytesInMemory,
+        @Nullable Long maxTotalRows,
+        @Nullable Integer rowFlushBoundary_forBackCompatibility,
+        @Nullable Integer numShards,
+        @Nullable List<String> partitionDimensions,
+        @Nullable IndexSpec indexSpec,
+        @Nullable Integer maxPendingPersists,
+        @Nullable Boolean buildV9Directly,
+        @Nullable Boolean forceExtendableShardSpecs,
+        @Nullable Boolean forceGuaranteedRollup,
+        @Nullable Boolean reportParseExceptions,
+        @Nullable Long publishTimeout,
+        @Nullable Long pushTimeout,
+        @Nullable SegmentWriteOutMediumFactory segmentWriteOutMediumFactory,
+        @Nullable Boolean logParseExceptions,
+        @Nullable Integer maxParseExceptions,
+        @Nullable Integer maxSavedParseExceptions
+    )
+    {
+      this(
+          targetPartitionSize,
+          maxRowsInMemory,
+          maxBytesInMemory,
+          maxTotalRows,
+          rowFlushBoundary_forBackCompatibility,
+          numShards,
+          partitionDimensions,
+          indexSpec,
+          maxPendingPersists,
+          buildV9Directly,
+          forceExtendableShardSpecs,
+          forceGuaranteedRollup,
+          reportParseExceptions,
+          publishTimeout,
+          pushTimeout,
+          segmentWriteOutMediumFactory,
+          logParseExceptions,
+          maxParseExceptions,
+          maxSavedParseExceptions,
+          null
+      );
+    }
+
     @JsonCreator
     public IndexTuningConfig(
         @JsonProperty("targetPartitionSize") @Nullable Integer targetPartitionSize,
@@ -1409,7 +1457,8 @@ public class IndexTask extends AbstractTask implements ChatHandler
             SegmentWriteOutMediumFactory segmentWriteOutMediumFactory,
         @JsonProperty("logParseExceptions") @Nullable Boolean logParseExceptions,
         @JsonProperty("maxParseExceptions") @Nullable Integer maxParseExceptions,
-        @JsonProperty("maxSavedParseExceptions") @Nullable Integer maxSavedParseExceptions
+        @JsonProperty("maxSavedParseExceptions") @Nullable Integer maxSavedParseExceptions,
+        @JsonProperty("useHashedFacts") @Nullable Boolean useHashedFacts
     )
     {
       this(
@@ -1429,13 +1478,14 @@ public class IndexTask extends AbstractTask implements ChatHandler
           segmentWriteOutMediumFactory,
           logParseExceptions,
           maxParseExceptions,
-          maxSavedParseExceptions
+          maxSavedParseExceptions,
+          useHashedFacts
       );
     }
 
     private IndexTuningConfig()
     {
-      this(null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+      this(null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null);
     }
 
     private IndexTuningConfig(
@@ -1455,7 +1505,8 @@ public class IndexTask extends AbstractTask implements ChatHandler
         @Nullable SegmentWriteOutMediumFactory segmentWriteOutMediumFactory,
         @Nullable Boolean logParseExceptions,
         @Nullable Integer maxParseExceptions,
-        @Nullable Integer maxSavedParseExceptions
+        @Nullable Integer maxSavedParseExceptions,
+        @Nullable Boolean useHashedFacts
     )
     {
       Preconditions.checkArgument(
@@ -1501,6 +1552,7 @@ public class IndexTask extends AbstractTask implements ChatHandler
       this.logParseExceptions = logParseExceptions == null
                                 ? TuningConfig.DEFAULT_LOG_PARSE_EXCEPTIONS
                                 : logParseExceptions;
+      this.useHashedFacts = useHashedFacts == null ? DEFAULT_USE_HASHED_FACTS : useHashedFacts;
     }
 
     public IndexTuningConfig withBasePersistDirectory(File dir)
@@ -1522,7 +1574,8 @@ public class IndexTask extends AbstractTask implements ChatHandler
           segmentWriteOutMediumFactory,
           logParseExceptions,
           maxParseExceptions,
-          maxSavedParseExceptions
+          maxSavedParseExceptions,
+          useHashedFacts
       );
     }
 
@@ -1545,7 +1598,8 @@ public class IndexTask extends AbstractTask implements ChatHandler
           segmentWriteOutMediumFactory,
           logParseExceptions,
           maxParseExceptions,
-          maxSavedParseExceptions
+          maxSavedParseExceptions,
+          useHashedFacts
       );
     }
 
@@ -1671,6 +1725,13 @@ public class IndexTask extends AbstractTask implements ChatHandler
       return maxSavedParseExceptions;
     }
 
+    @JsonProperty
+    @Override
+    public boolean isUseHashedFacts()
+    {
+      return useHashedFacts;
+    }
+
     @Override
     public Period getIntermediatePersistPeriod()
     {
@@ -1709,7 +1770,8 @@ public class IndexTask extends AbstractTask implements ChatHandler
              Objects.equals(segmentWriteOutMediumFactory, that.segmentWriteOutMediumFactory) &&
              logParseExceptions == that.logParseExceptions &&
              maxParseExceptions == that.maxParseExceptions &&
-             maxSavedParseExceptions == that.maxSavedParseExceptions;
+             maxSavedParseExceptions == that.maxSavedParseExceptions &&
+             useHashedFacts == that.useHashedFacts;
     }
 
     @Override
@@ -1730,7 +1792,8 @@ public class IndexTask extends AbstractTask implements ChatHandler
           segmentWriteOutMediumFactory,
           logParseExceptions,
           maxParseExceptions,
-          maxSavedParseExceptions
+          maxSavedParseExceptions,
+          useHashedFacts
       );
     }
 
@@ -1753,6 +1816,7 @@ public class IndexTask extends AbstractTask implements ChatHandler
              ", logParseExceptions=" + logParseExceptions +
              ", maxParseExceptions=" + maxParseExceptions +
              ", maxSavedParseExceptions=" + maxSavedParseExceptions +
+             ", useHashedFacts=" + useHashedFacts +
              ", segmentWriteOutMediumFactory=" + segmentWriteOutMediumFactory +
              '}';
     }
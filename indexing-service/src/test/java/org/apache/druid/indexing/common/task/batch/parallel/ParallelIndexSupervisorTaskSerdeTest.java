@@ -91,7 +91,11 @@ public class ParallelIndexSupervisorTaskSerdeTest
         Intervals.of("2018/2019")
     );
     final String json = objectMapper.writeValueAsString(task);
-    Assert.assertEquals(task, objectMapper.readValue(json, Task.class));
+    final Task fromJson = objectMapper.readValue(json, Task.class);
+    Assert.assertEquals(task, fromJson);
+    Assert.assertTrue(
+        ((ParallelIndexSupervisorTask) fromJson).getIngestionSchema().getTuningConfig().isUseHashedFacts()
+    );
   }
 
   private ParallelIndexSupervisorTask newTask(
@@ -145,7 +149,8 @@ public class ParallelIndexSupervisorTaskSerdeTest
             null,
             null,
             null,
-            null
+            null,
+            true
         )
     );
 
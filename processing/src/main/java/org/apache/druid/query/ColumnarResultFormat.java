@@ -0,0 +1,829 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Maps;
+import org.apache.druid.java.util.common.IAE;
+import org.apache.druid.java.util.common.RE;
+import org.apache.druid.java.util.common.StringUtils;
+import org.apache.druid.java.util.common.guava.Yielder;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary, column-oriented encoding of query results, used between Historicals and the Broker when the query context
+ * has {@link QueryContexts#USE_COLUMNAR_RESULTS_KEY} set and the query's toolchest provides a
+ * {@link ColumnarResultSerde}.
+ *
+ * A stream starts with {@link #MAGIC} and {@link #VERSION}, followed by a sequence of frames and a terminating zero
+ * int. Each frame holds a batch of results laid out as:
+ *
+ * <pre>
+ *   int      numResults (> 0)
+ *   long[]   timestamps, one per result
+ *   boolean  singleRow; if false, an int[] of per-result row counts follows
+ *   int      numColumns
+ *   columns: UTF name, byte type, boolean hasMissing, [byte[] per-row state if hasMissing], values of present rows
+ * </pre>
+ *
+ * Long, double, float and string columns are written as primitives (strings as length-prefixed UTF-8), everything
+ * else is written as length-prefixed values encoded with the stream's ObjectMapper. Columns whose values have
+ * different types within a frame prefix each value with its own type, so values keep their Java types.
+ *
+ * The {@link Writer} copies the values of each result straight into per-column buffers, primitive arrays where the
+ * column has a single primitive type. The {@link FrameReader} decodes a frame back into the same kind of column arrays,
+ * and the {@link Reader} only turns those into result objects as they are iterated.
+ */
+public class ColumnarResultFormat
+{
+  public static final String CONTENT_TYPE = "application/x-druid-columnar";
+
+  /**
+   * First byte of every columnar stream. It can never start a JSON document or a Smile stream, so readers can use it
+   * to tell the formats apart.
+   */
+  public static final byte MAGIC = (byte) 0xD7;
+  public static final byte VERSION = 1;
+
+  public static final byte TYPE_LONG = 0;
+  public static final byte TYPE_DOUBLE = 1;
+  public static final byte TYPE_FLOAT = 2;
+  public static final byte TYPE_STRING = 3;
+  public static final byte TYPE_OBJECT = 4;
+  public static final byte TYPE_MIXED = 5;
+
+  static final int DEFAULT_MAX_ROWS_PER_FRAME = 4096;
+
+  private static final byte TYPE_NONE = -1;
+
+  private static final byte STATE_PRESENT = 0;
+  private static final byte STATE_NULL = 1;
+  private static final byte STATE_ABSENT = 2;
+
+  /**
+   * Writes all results of the yielder to the output stream and closes the yielder. The output stream is flushed but
+   * not closed.
+   */
+  public static <T> void write(
+      Yielder<T> yielder,
+      ColumnarResultSerde<T> serde,
+      ObjectMapper mapper,
+      OutputStream out
+  ) throws IOException
+  {
+    try {
+      final Writer<T> writer = new Writer<>(serde, mapper, out, DEFAULT_MAX_ROWS_PER_FRAME);
+      while (!yielder.isDone()) {
+        writer.add(yielder.get());
+        yielder = yielder.next(null);
+      }
+      writer.close();
+    }
+    finally {
+      yielder.close();
+    }
+  }
+
+  public static class Writer<T> implements Closeable
+  {
+    private final ColumnarResultSerde<T> serde;
+    private final ObjectMapper mapper;
+    private final DataOutputStream out;
+    private final int maxRowsPerFrame;
+
+    /**
+     * Buffers of all columns seen so far, in order of first appearance. Buffers are reset, not dropped, after each
+     * frame, so their arrays are reused by the next one.
+     */
+    private final List<ColumnBuffer> columns = new ArrayList<>();
+    private final Map<String, ColumnBuffer> columnsByName = new HashMap<>();
+
+    private long[] timestamps;
+    private int[] rowCounts;
+    private int numResults = 0;
+    private int numRows = 0;
+
+    public Writer(ColumnarResultSerde<T> serde, ObjectMapper mapper, OutputStream out, int maxRowsPerFrame)
+        throws IOException
+    {
+      this.serde = serde;
+      this.mapper = mapper;
+      this.out = new DataOutputStream(out);
+      this.maxRowsPerFrame = maxRowsPerFrame;
+      this.timestamps = new long[Math.min(maxRowsPerFrame, DEFAULT_MAX_ROWS_PER_FRAME)];
+      this.rowCounts = new int[timestamps.length];
+
+      this.out.writeByte(MAGIC);
+      this.out.writeByte(VERSION);
+    }
+
+    public void add(T result) throws IOException
+    {
+      if (numResults == timestamps.length) {
+        timestamps = Arrays.copyOf(timestamps, numResults * 2);
+        rowCounts = Arrays.copyOf(rowCounts, numResults * 2);
+      }
+
+      final int resultRows = serde.getNumRows(result);
+      timestamps[numResults] = serde.getTimestamp(result);
+      rowCounts[numResults] = resultRows;
+      numResults++;
+
+      for (int i = 0; i < resultRows; i++) {
+        for (Map.Entry<String, Object> entry : serde.getRow(result, i).entrySet()) {
+          ColumnBuffer column = columnsByName.get(entry.getKey());
+          if (column == null) {
+            column = new ColumnBuffer(entry.getKey());
+            columns.add(column);
+            columnsByName.put(entry.getKey(), column);
+          }
+          column.set(numRows, entry.getValue());
+        }
+        numRows++;
+      }
+
+      if (numRows >= maxRowsPerFrame) {
+        flushFrame();
+      }
+    }
+
+    /**
+     * Writes any buffered results and the end-of-stream marker. Does not close the underlying stream.
+     */
+    @Override
+    public void close() throws IOException
+    {
+      flushFrame();
+      out.writeInt(0);
+      out.flush();
+    }
+
+    private void flushFrame() throws IOException
+    {
+      if (numResults == 0) {
+        return;
+      }
+
+      boolean singleRow = true;
+      out.writeInt(numResults);
+      for (int i = 0; i < numResults; i++) {
+        out.writeLong(timestamps[i]);
+        singleRow &= rowCounts[i] == 1;
+      }
+
+      out.writeBoolean(singleRow);
+      if (!singleRow) {
+        for (int i = 0; i < numResults; i++) {
+          out.writeInt(rowCounts[i]);
+        }
+      }
+
+      int numColumns = 0;
+      for (ColumnBuffer column : columns) {
+        if (column.numSet > 0) {
+          numColumns++;
+        }
+      }
+
+      out.writeInt(numColumns);
+      for (ColumnBuffer column : columns) {
+        if (column.numSet > 0) {
+          writeColumn(column);
+        }
+        column.reset(numRows);
+      }
+
+      numResults = 0;
+      numRows = 0;
+    }
+
+    private void writeColumn(ColumnBuffer column) throws IOException
+    {
+      final byte type = column.type == TYPE_NONE ? TYPE_OBJECT : column.type;
+      final boolean hasMissing = column.numPresent < numRows;
+
+      out.writeUTF(column.name);
+      out.writeByte(type);
+      out.writeBoolean(hasMissing);
+      if (hasMissing) {
+        column.fillAbsent(numRows);
+        out.write(column.states, 0, numRows);
+      }
+
+      for (int i = 0; i < numRows; i++) {
+        if (column.states[i] != STATE_PRESENT) {
+          continue;
+        }
+        switch (type) {
+          case TYPE_LONG:
+            out.writeLong(column.longs[i]);
+            break;
+          case TYPE_DOUBLE:
+            out.writeDouble(column.doubles[i]);
+            break;
+          case TYPE_FLOAT:
+            out.writeFloat(column.floats[i]);
+            break;
+          case TYPE_MIXED:
+            final byte valueType = typeOf(column.objects[i]);
+            out.writeByte(valueType);
+            writeObject(valueType, column.objects[i]);
+            break;
+          default:
+            writeObject(type, column.objects[i]);
+        }
+      }
+    }
+
+    private void writeObject(byte type, Object value) throws IOException
+    {
+      switch (type) {
+        case TYPE_LONG:
+          out.writeLong((Long) value);
+          break;
+        case TYPE_DOUBLE:
+          out.writeDouble((Double) value);
+          break;
+        case TYPE_FLOAT:
+          out.writeFloat((Float) value);
+          break;
+        case TYPE_STRING:
+          writeBytes(StringUtils.toUtf8((String) value));
+          break;
+        default:
+          writeBytes(mapper.writeValueAsBytes(value));
+      }
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException
+    {
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+  }
+
+  /**
+   * Values of one column of the frame being written, indexed by row. Long, double and float values go into primitive
+   * arrays as long as the column holds a single type; once a second type shows up, the values written so far are
+   * moved to {@link #objects} and the column becomes {@link ColumnarResultFormat#TYPE_MIXED}.
+   */
+  private static class ColumnBuffer
+  {
+    private final String name;
+
+    private byte type = TYPE_NONE;
+    private byte[] states = new byte[0];
+    private long[] longs;
+    private double[] doubles;
+    private float[] floats;
+    private Object[] objects;
+
+    /**
+     * Number of leading rows whose state is up to date. Rows the column was not set for are marked absent lazily, when
+     * a later row is set or the frame is written.
+     */
+    private int filled = 0;
+    private int numSet = 0;
+    private int numPresent = 0;
+
+    private ColumnBuffer(String name)
+    {
+      this.name = name;
+    }
+
+    private void set(int row, @Nullable Object value)
+    {
+      fillAbsent(row);
+      if (row == states.length) {
+        states = Arrays.copyOf(states, Math.max(16, row * 2));
+      }
+      states[row] = value == null ? STATE_NULL : STATE_PRESENT;
+      filled = row + 1;
+      numSet++;
+      if (value == null) {
+        return;
+      }
+      numPresent++;
+
+      final byte valueType = typeOf(value);
+      if (type == TYPE_NONE) {
+        type = valueType;
+      } else if (type != valueType && type != TYPE_MIXED) {
+        toMixed(row);
+      }
+
+      switch (type) {
+        case TYPE_LONG:
+          longs = ensureCapacity(longs, row);
+          longs[row] = (Long) value;
+          break;
+        case TYPE_DOUBLE:
+          doubles = ensureCapacity(doubles, row);
+          doubles[row] = (Double) value;
+          break;
+        case TYPE_FLOAT:
+          floats = ensureCapacity(floats, row);
+          floats[row] = (Float) value;
+          break;
+        default:
+          objects = ensureCapacity(objects, row);
+          objects[row] = value;
+      }
+    }
+
+    private void toMixed(int numRows)
+    {
+      objects = ensureCapacity(objects, numRows);
+      for (int i = 0; i < numRows; i++) {
+        if (states[i] != STATE_PRESENT) {
+          continue;
+        }
+        switch (type) {
+          case TYPE_LONG:
+            objects[i] = longs[i];
+            break;
+          case TYPE_DOUBLE:
+            objects[i] = doubles[i];
+            break;
+          case TYPE_FLOAT:
+            objects[i] = floats[i];
+            break;
+          default:
+            // Already stored as objects.
+        }
+      }
+      type = TYPE_MIXED;
+    }
+
+    private void fillAbsent(int numRows)
+    {
+      if (numRows > states.length) {
+        states = Arrays.copyOf(states, numRows);
+      }
+      if (filled < numRows) {
+        Arrays.fill(states, filled, numRows, STATE_ABSENT);
+        filled = numRows;
+      }
+    }
+
+    private void reset(int numRows)
+    {
+      if (objects != null) {
+        Arrays.fill(objects, 0, Math.min(numRows, objects.length), null);
+      }
+      type = TYPE_NONE;
+      filled = 0;
+      numSet = 0;
+      numPresent = 0;
+    }
+
+    private static long[] ensureCapacity(@Nullable long[] array, int index)
+    {
+      if (array == null) {
+        return new long[Math.max(16, index + 1)];
+      }
+      return index < array.length ? array : Arrays.copyOf(array, Math.max(index + 1, array.length * 2));
+    }
+
+    private static double[] ensureCapacity(@Nullable double[] array, int index)
+    {
+      if (array == null) {
+        return new double[Math.max(16, index + 1)];
+      }
+      return index < array.length ? array : Arrays.copyOf(array, Math.max(index + 1, array.length * 2));
+    }
+
+    private static float[] ensureCapacity(@Nullable float[] array, int index)
+    {
+      if (array == null) {
+        return new float[Math.max(16, index + 1)];
+      }
+      return index < array.length ? array : Arrays.copyOf(array, Math.max(index + 1, array.length * 2));
+    }
+
+    private static Object[] ensureCapacity(@Nullable Object[] array, int index)
+    {
+      if (array == null) {
+        return new Object[Math.max(16, index + 1)];
+      }
+      return index < array.length ? array : Arrays.copyOf(array, Math.max(index + 1, array.length * 2));
+    }
+  }
+
+  private static byte typeOf(Object value)
+  {
+    if (value instanceof Long) {
+      return TYPE_LONG;
+    } else if (value instanceof Double) {
+      return TYPE_DOUBLE;
+    } else if (value instanceof Float) {
+      return TYPE_FLOAT;
+    } else if (value instanceof String) {
+      return TYPE_STRING;
+    } else {
+      return TYPE_OBJECT;
+    }
+  }
+
+  /**
+   * A decoded frame: the timestamps and row ranges of its results, plus one {@link Column} per column.
+   */
+  public static class Frame
+  {
+    private final long[] timestamps;
+    private final int[] rowOffsets;
+    private final Column[] columns;
+
+    private Frame(long[] timestamps, int[] rowOffsets, Column[] columns)
+    {
+      this.timestamps = timestamps;
+      this.rowOffsets = rowOffsets;
+      this.columns = columns;
+    }
+
+    public int getNumResults()
+    {
+      return timestamps.length;
+    }
+
+    public long getTimestamp(int resultNumber)
+    {
+      return timestamps[resultNumber];
+    }
+
+    public int getFirstRow(int resultNumber)
+    {
+      return rowOffsets[resultNumber];
+    }
+
+    public int getNumRows(int resultNumber)
+    {
+      return rowOffsets[resultNumber + 1] - rowOffsets[resultNumber];
+    }
+
+    public int getNumRows()
+    {
+      return rowOffsets[timestamps.length];
+    }
+
+    public List<Column> getColumns()
+    {
+      return Collections.unmodifiableList(Arrays.asList(columns));
+    }
+
+    /**
+     * Builds a new map holding the values of the row, keyed by column name, in column order.
+     */
+    public Map<String, Object> getRow(int row)
+    {
+      final Map<String, Object> map = Maps.newLinkedHashMapWithExpectedSize(columns.length);
+      for (Column column : columns) {
+        if (column.contains(row)) {
+          map.put(column.name, column.get(row));
+        }
+      }
+      return map;
+    }
+  }
+
+  /**
+   * Values of one column of a decoded frame, indexed by row. Exactly one of the arrays is set, depending on
+   * {@link #getType()}: {@link #getLongs()}, {@link #getDoubles()} or {@link #getFloats()} for the primitive types, and
+   * {@link #getObjects()} for the others. Entries of rows that are not {@link #isPresent present} are left at their
+   * default value.
+   */
+  public static class Column
+  {
+    private final String name;
+    private final byte type;
+    @Nullable
+    private final byte[] states;
+    @Nullable
+    private final long[] longs;
+    @Nullable
+    private final double[] doubles;
+    @Nullable
+    private final float[] floats;
+    @Nullable
+    private final Object[] objects;
+
+    private Column(
+        String name,
+        byte type,
+        @Nullable byte[] states,
+        @Nullable long[] longs,
+        @Nullable double[] doubles,
+        @Nullable float[] floats,
+        @Nullable Object[] objects
+    )
+    {
+      this.name = name;
+      this.type = type;
+      this.states = states;
+      this.longs = longs;
+      this.doubles = doubles;
+      this.floats = floats;
+      this.objects = objects;
+    }
+
+    public String getName()
+    {
+      return name;
+    }
+
+    public byte getType()
+    {
+      return type;
+    }
+
+    @Nullable
+    public long[] getLongs()
+    {
+      return longs;
+    }
+
+    @Nullable
+    public double[] getDoubles()
+    {
+      return doubles;
+    }
+
+    @Nullable
+    public float[] getFloats()
+    {
+      return floats;
+    }
+
+    @Nullable
+    public Object[] getObjects()
+    {
+      return objects;
+    }
+
+    /**
+     * Whether the row has a non-null value in this column.
+     */
+    public boolean isPresent(int row)
+    {
+      return states == null || states[row] == STATE_PRESENT;
+    }
+
+    /**
+     * Whether the row has this column at all, possibly with a null value.
+     */
+    public boolean contains(int row)
+    {
+      return states == null || states[row] != STATE_ABSENT;
+    }
+
+    @Nullable
+    public Object get(int row)
+    {
+      if (!isPresent(row)) {
+        return null;
+      }
+      switch (type) {
+        case TYPE_LONG:
+          return longs[row];
+        case TYPE_DOUBLE:
+          return doubles[row];
+        case TYPE_FLOAT:
+          return floats[row];
+        default:
+          return objects[row];
+      }
+    }
+  }
+
+  /**
+   * Reads a columnar stream one {@link Frame} at a time. Closing the reader closes the underlying stream.
+   */
+  public static class FrameReader implements Closeable
+  {
+    private final DataInputStream in;
+    private final ObjectMapper mapper;
+
+    private boolean finished = false;
+
+    public FrameReader(InputStream in, ObjectMapper mapper) throws IOException
+    {
+      this.in = new DataInputStream(in);
+      this.mapper = mapper;
+
+      final byte magic = this.in.readByte();
+      final byte version = this.in.readByte();
+      if (magic != MAGIC || version != VERSION) {
+        throw new IAE("Unknown columnar result header[%d, %d]", magic, version);
+      }
+    }
+
+    /**
+     * Returns the next frame, or null once the end of the stream was reached.
+     */
+    @Nullable
+    public Frame readFrame() throws IOException
+    {
+      if (finished) {
+        return null;
+      }
+
+      final int numResults = in.readInt();
+      if (numResults == 0) {
+        finished = true;
+        return null;
+      }
+
+      final long[] timestamps = new long[numResults];
+      for (int i = 0; i < numResults; i++) {
+        timestamps[i] = in.readLong();
+      }
+
+      final boolean singleRow = in.readBoolean();
+      final int[] rowOffsets = new int[numResults + 1];
+      for (int i = 0; i < numResults; i++) {
+        rowOffsets[i + 1] = rowOffsets[i] + (singleRow ? 1 : in.readInt());
+      }
+
+      final int numRows = rowOffsets[numResults];
+      final Column[] columns = new Column[in.readInt()];
+      for (int i = 0; i < columns.length; i++) {
+        columns[i] = readColumn(numRows);
+      }
+
+      return new Frame(timestamps, rowOffsets, columns);
+    }
+
+    private Column readColumn(int numRows) throws IOException
+    {
+      final String name = in.readUTF();
+      final byte type = in.readByte();
+      final byte[] states;
+      if (in.readBoolean()) {
+        states = new byte[numRows];
+        in.readFully(states);
+        for (byte state : states) {
+          if (state != STATE_PRESENT && state != STATE_NULL && state != STATE_ABSENT) {
+            throw new IAE("Unknown value state[%d] for column[%s]", state, name);
+          }
+        }
+      } else {
+        states = null;
+      }
+
+      switch (type) {
+        case TYPE_LONG:
+          final long[] longs = new long[numRows];
+          for (int i = 0; i < numRows; i++) {
+            if (states == null || states[i] == STATE_PRESENT) {
+              longs[i] = in.readLong();
+            }
+          }
+          return new Column(name, type, states, longs, null, null, null);
+        case TYPE_DOUBLE:
+          final double[] doubles = new double[numRows];
+          for (int i = 0; i < numRows; i++) {
+            if (states == null || states[i] == STATE_PRESENT) {
+              doubles[i] = in.readDouble();
+            }
+          }
+          return new Column(name, type, states, null, doubles, null, null);
+        case TYPE_FLOAT:
+          final float[] floats = new float[numRows];
+          for (int i = 0; i < numRows; i++) {
+            if (states == null || states[i] == STATE_PRESENT) {
+              floats[i] = in.readFloat();
+            }
+          }
+          return new Column(name, type, states, null, null, floats, null);
+        case TYPE_STRING:
+        case TYPE_OBJECT:
+        case TYPE_MIXED:
+          final Object[] objects = new Object[numRows];
+          for (int i = 0; i < numRows; i++) {
+            if (states == null || states[i] == STATE_PRESENT) {
+              objects[i] = readObject(type == TYPE_MIXED ? in.readByte() : type);
+            }
+          }
+          return new Column(name, type, states, null, null, null, objects);
+        default:
+          throw new IAE("Unknown column type[%d]", type);
+      }
+    }
+
+    private Object readObject(byte type) throws IOException
+    {
+      switch (type) {
+        case TYPE_LONG:
+          return in.readLong();
+        case TYPE_DOUBLE:
+          return in.readDouble();
+        case TYPE_FLOAT:
+          return in.readFloat();
+        case TYPE_STRING:
+          return StringUtils.fromUtf8(readBytes());
+        case TYPE_OBJECT:
+          return mapper.readValue(readBytes(), Object.class);
+        default:
+          throw new IAE("Unknown value type[%d]", type);
+      }
+    }
+
+    private byte[] readBytes() throws IOException
+    {
+      final byte[] bytes = new byte[in.readInt()];
+      in.readFully(bytes);
+      return bytes;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+      in.close();
+    }
+  }
+
+  /**
+   * Iterates over the results of a columnar stream, decoding one frame at a time and building each result from the
+   * frame's columns only when it is reached. Closing the reader closes the underlying stream.
+   */
+  public static class Reader<T> implements Iterator<T>, Closeable
+  {
+    private final FrameReader frameReader;
+    private final ColumnarResultSerde<T> serde;
+
+    @Nullable
+    private Frame frame = null;
+    private int position = 0;
+
+    public Reader(InputStream in, ColumnarResultSerde<T> serde, ObjectMapper mapper) throws IOException
+    {
+      this.frameReader = new FrameReader(in, mapper);
+      this.serde = serde;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+      while (frame == null || position == frame.getNumResults()) {
+        try {
+          frame = frameReader.readFrame();
+        }
+        catch (IOException e) {
+          throw new RE(e, "Failed to read columnar results");
+        }
+        position = 0;
+        if (frame == null) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public T next()
+    {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return serde.makeResult(frame, position++);
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+      frameReader.close();
+    }
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query;
+
+import org.apache.druid.guice.annotations.ExtensionPoint;
+
+import java.util.Map;
+
+/**
+ * Describes how the results of a query type map onto the frames written by {@link ColumnarResultFormat}. Each result
+ * is viewed as a timestamp plus a number of rows, where every row is a map from column name to value. Results that
+ * carry a single row (groupBy, timeseries) and results that carry many (topN) are both covered by this shape.
+ *
+ * @see QueryToolChest#getColumnarResultSerde
+ */
+@ExtensionPoint
+public interface ColumnarResultSerde<T>
+{
+  long getTimestamp(T result);
+
+  int getNumRows(T result);
+
+  /**
+   * Returns a row of the result. The writer copies the values into its column buffers right away, so implementations
+   * should return the map the result already holds rather than a copy.
+   */
+  Map<String, Object> getRow(T result, int rowNumber);
+
+  /**
+   * Builds the result at the given position of a decoded frame. This is the only place decoded values are turned
+   * back into rows, typically through {@link ColumnarResultFormat.Frame#getRow}.
+   */
+  T makeResult(ColumnarResultFormat.Frame frame, int resultNumber);
+}
@@ -189,6 +189,12 @@ public class DefaultQueryMetrics<QueryType extends Query<?>> implements QueryMet
     // Emit nothing by default.
   }
 
+  @Override
+  public void lane(String lane)
+  {
+    setDimension("lane", lane);
+  }
+
   @Override
   public BitmapResultFactory<?> makeBitmapResultFactory(BitmapFactory factory)
   {
@@ -213,6 +219,12 @@ public class DefaultQueryMetrics<QueryType extends Query<?>> implements QueryMet
     return reportMillisTimeMetric("query/wait/time", timeNs);
   }
 
+  @Override
+  public QueryMetrics<QueryType> reportQueuedTime(long timeNs)
+  {
+    return reportMillisTimeMetric("query/queued/time", timeNs);
+  }
+
   @Override
   public QueryMetrics<QueryType> reportSegmentTime(long timeNs)
   {
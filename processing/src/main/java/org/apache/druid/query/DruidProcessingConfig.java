@@ -75,12 +75,70 @@ public abstract class DruidProcessingConfig extends ExecutorServiceConfig implem
     return 0;
   }
 
+  @Override
+  @Config(value = "${base_path}.columnHolderCache.sizeBytes")
+  public long columnHolderCacheSizeBytes()
+  {
+    return 0;
+  }
+
+  /**
+   * Direct memory, on top of the merge buffers, that groupBy queries can use to grow a full merge buffer before
+   * spilling to disk. Shared by all queries, see {@link
+   * org.apache.druid.query.groupby.epinephelinae.MergeBufferAllocator}.
+   */
+  @Config(value = "${base_path}.extraMergeBufferSizeBytes")
+  public long extraMergeBufferSizeBytes()
+  {
+    return 0;
+  }
+
   @Config(value = "${base_path}.fifo")
   public boolean isFifo()
   {
     return false;
   }
 
+  /**
+   * Whether the Broker merges and combines the results of data nodes in parallel, see {@link
+   * org.apache.druid.common.guava.ParallelMergeCombiningSequence}. Can be disabled per query with the
+   * "enableParallelMerge" context parameter. Disabled by default.
+   */
+  @Config(value = "${base_path}.merge.useParallelMergePool")
+  public boolean useParallelMergePool()
+  {
+    return false;
+  }
+
+  /**
+   * Size of the ForkJoinPool shared by the parallel merges of all queries.
+   */
+  @Config(value = "${base_path}.merge.pool.parallelism")
+  public int getMergePoolParallelism()
+  {
+    return (int) Math.ceil(Runtime.getRuntime().availableProcessors() * 1.5);
+  }
+
+  /**
+   * Default maximum number of partitions a single query is merged in, can be overridden with the
+   * "parallelMergeParallelism" context parameter.
+   */
+  @Config(value = "${base_path}.merge.pool.defaultMaxQueryParallelism")
+  public int getMergePoolDefaultMaxQueryParallelism()
+  {
+    return Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+  }
+
+  /**
+   * Default number of results handed over from a merge task to the consuming thread at once, can be overridden with
+   * the "parallelMergeBatchSize" context parameter.
+   */
+  @Config(value = "${base_path}.merge.task.batchSize")
+  public int getMergePoolBatchSize()
+  {
+    return 1024;
+  }
+
   @Config(value = "${base_path}.tmpDir")
   public String getTmpDir()
   {
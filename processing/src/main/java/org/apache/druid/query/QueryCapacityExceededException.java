@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query;
+
+import org.apache.druid.java.util.common.StringUtils;
+
+/**
+ * Exception indicating that a query could not be admitted by the Broker query scheduler, because the total or
+ * per-lane concurrency limit was reached and the query did not get a slot within the configured queue timeout.
+ *
+ * This is used as a marker exception by {@link QueryInterruptedException} to report the "Query capacity exceeded"
+ * error code, and is translated to HTTP 429 (Too Many Requests) by the query resources.
+ */
+public class QueryCapacityExceededException extends RuntimeException
+{
+  public static final int STATUS_CODE = 429;
+
+  private static final String TOTAL_ERROR_MESSAGE_TEMPLATE =
+      "Too many concurrent queries, total query capacity of %s exceeded. Please try your query again later.";
+  private static final String LANE_ERROR_MESSAGE_TEMPLATE =
+      "Too many concurrent queries for lane '%s', query capacity of %s exceeded. Please try your query again later.";
+
+  public QueryCapacityExceededException(String message, Object... arguments)
+  {
+    super(StringUtils.nonStrictFormat(message, arguments));
+  }
+
+  public static QueryCapacityExceededException forTotal(int capacity)
+  {
+    return new QueryCapacityExceededException(TOTAL_ERROR_MESSAGE_TEMPLATE, capacity);
+  }
+
+  public static QueryCapacityExceededException forLane(String lane, int capacity)
+  {
+    return new QueryCapacityExceededException(LANE_ERROR_MESSAGE_TEMPLATE, lane, capacity);
+  }
+}
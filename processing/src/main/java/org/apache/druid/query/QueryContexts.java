@@ -19,12 +19,17 @@
 
 package org.apache.druid.query;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import org.apache.druid.guice.annotations.PublicApi;
 import org.apache.druid.java.util.common.IAE;
+import org.apache.druid.java.util.common.ISE;
 import org.apache.druid.java.util.common.Numbers;
+import org.apache.druid.java.util.common.StringUtils;
 
+import javax.annotation.Nullable;
 import java.util.concurrent.TimeUnit;
 
 @PublicApi
@@ -36,6 +41,13 @@ public class QueryContexts
   public static final String MAX_QUEUED_BYTES_KEY = "maxQueuedBytes";
   public static final String DEFAULT_TIMEOUT_KEY = "defaultTimeout";
   public static final String CHUNK_PERIOD_KEY = "chunkPeriod";
+  public static final String VECTORIZE_KEY = "vectorize";
+  public static final String VECTOR_SIZE_KEY = "vectorSize";
+  public static final String LANE_KEY = "lane";
+  public static final String BROKER_PARALLEL_MERGE_KEY = "enableParallelMerge";
+  public static final String BROKER_PARALLELISM = "parallelMergeParallelism";
+  public static final String BROKER_PARALLEL_MERGE_BATCH_SIZE = "parallelMergeBatchSize";
+  public static final String USE_COLUMNAR_RESULTS_KEY = "useColumnarResults";
 
   public static final boolean DEFAULT_BY_SEGMENT = false;
   public static final boolean DEFAULT_POPULATE_CACHE = true;
@@ -46,6 +58,57 @@ public class QueryContexts
   public static final int DEFAULT_UNCOVERED_INTERVALS_LIMIT = 0;
   public static final long DEFAULT_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
   public static final long NO_TIMEOUT = 0;
+  public static final Vectorize DEFAULT_VECTORIZE = Vectorize.FALSE;
+  public static final int DEFAULT_VECTOR_SIZE = 512;
+  public static final boolean DEFAULT_ENABLE_PARALLEL_MERGE = true;
+  public static final boolean DEFAULT_USE_COLUMNAR_RESULTS = false;
+
+  /**
+   * Values of the {@link #VECTORIZE_KEY} context parameter.
+   */
+  public enum Vectorize
+  {
+    FALSE {
+      @Override
+      public boolean shouldVectorize(final boolean canVectorize)
+      {
+        return false;
+      }
+    },
+    TRUE {
+      @Override
+      public boolean shouldVectorize(final boolean canVectorize)
+      {
+        return canVectorize;
+      }
+    },
+    FORCE {
+      @Override
+      public boolean shouldVectorize(final boolean canVectorize)
+      {
+        if (!canVectorize) {
+          throw new ISE("Cannot vectorize!");
+        }
+
+        return true;
+      }
+    };
+
+    public abstract boolean shouldVectorize(boolean canVectorize);
+
+    @JsonCreator
+    public static Vectorize fromString(String str)
+    {
+      return Vectorize.valueOf(StringUtils.toUpperCase(str));
+    }
+
+    @Override
+    @JsonValue
+    public String toString()
+    {
+      return StringUtils.toLowerCase(name());
+    }
+  }
 
   public static <T> boolean isBySegment(Query<T> query)
   {
@@ -132,6 +195,62 @@ public class QueryContexts
     return parseInt(query, PRIORITY_KEY, defaultValue);
   }
 
+  public static <T> boolean getEnableParallelMerges(Query<T> query)
+  {
+    return parseBoolean(query, BROKER_PARALLEL_MERGE_KEY, DEFAULT_ENABLE_PARALLEL_MERGE);
+  }
+
+  public static <T> boolean isUseColumnarResults(Query<T> query)
+  {
+    return parseBoolean(query, USE_COLUMNAR_RESULTS_KEY, DEFAULT_USE_COLUMNAR_RESULTS);
+  }
+
+  public static <T> int getParallelMergeParallelism(Query<T> query, int defaultValue)
+  {
+    return parseInt(query, BROKER_PARALLELISM, defaultValue);
+  }
+
+  public static <T> int getParallelMergeBatchSize(Query<T> query, int defaultValue)
+  {
+    return parseInt(query, BROKER_PARALLEL_MERGE_BATCH_SIZE, defaultValue);
+  }
+
+  @Nullable
+  public static <T> String getLane(Query<T> query)
+  {
+    final Object val = query.getContextValue(LANE_KEY);
+    return val == null ? null : String.valueOf(val);
+  }
+
+  public static <T> Vectorize getVectorize(Query<T> query)
+  {
+    return getVectorize(query, DEFAULT_VECTORIZE);
+  }
+
+  public static <T> Vectorize getVectorize(Query<T> query, Vectorize defaultValue)
+  {
+    final Object val = query.getContextValue(VECTORIZE_KEY);
+    if (val == null) {
+      return defaultValue;
+    } else if (val instanceof Vectorize) {
+      return (Vectorize) val;
+    } else {
+      return Vectorize.fromString(String.valueOf(val));
+    }
+  }
+
+  public static <T> int getVectorSize(Query<T> query)
+  {
+    return getVectorSize(query, DEFAULT_VECTOR_SIZE);
+  }
+
+  public static <T> int getVectorSize(Query<T> query, int defaultSize)
+  {
+    final int vectorSize = parseInt(query, VECTOR_SIZE_KEY, defaultSize);
+    Preconditions.checkState(vectorSize > 0, "Vector size must be a positive value, but was [%s]", vectorSize);
+    return vectorSize;
+  }
+
   public static <T> String getChunkPeriod(Query<T> query)
   {
     return query.getContextValue(CHUNK_PERIOD_KEY, "P0D");
@@ -46,6 +46,7 @@ public class QueryInterruptedException extends RuntimeException
   public static final String QUERY_TIMEOUT = "Query timeout";
   public static final String QUERY_CANCELLED = "Query cancelled";
   public static final String RESOURCE_LIMIT_EXCEEDED = "Resource limit exceeded";
+  public static final String QUERY_CAPACITY_EXCEEDED = "Query capacity exceeded";
   public static final String UNAUTHORIZED = "Unauthorized request.";
   public static final String UNKNOWN_EXCEPTION = "Unknown exception";
 
@@ -135,6 +136,8 @@ public class QueryInterruptedException extends RuntimeException
       return QUERY_TIMEOUT;
     } else if (e instanceof ResourceLimitExceededException) {
       return RESOURCE_LIMIT_EXCEEDED;
+    } else if (e instanceof QueryCapacityExceededException) {
+      return QUERY_CAPACITY_EXCEEDED;
     } else {
       return UNKNOWN_EXCEPTION;
     }
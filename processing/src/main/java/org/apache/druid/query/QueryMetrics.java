@@ -230,6 +230,11 @@ public interface QueryMetrics<QueryType extends Query<?>>
    */
   void identity(String identity);
 
+  /**
+   * Sets the Broker scheduling lane the query was admitted into. See {@code QueryScheduler}.
+   */
+  void lane(String lane);
+
   /**
    * Creates a {@link BitmapResultFactory} which may record some information along bitmap construction from {@link
    * #preFilters(List)}. The returned BitmapResultFactory may add some dimensions to this QueryMetrics from it's {@link
@@ -253,6 +258,11 @@ public interface QueryMetrics<QueryType extends Query<?>>
    */
   QueryMetrics<QueryType> reportWaitTime(long timeNs);
 
+  /**
+   * Registers "queued time" metric, the time a query spent waiting for admission by the Broker query scheduler.
+   */
+  QueryMetrics<QueryType> reportQueuedTime(long timeNs);
+
   /**
    * Registers "segment time" metric.
    */
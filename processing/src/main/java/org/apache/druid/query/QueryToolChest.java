@@ -21,7 +21,10 @@ package org.apache.druid.query;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.google.common.base.Function;
+import com.google.common.collect.Ordering;
 import org.apache.druid.guice.annotations.ExtensionPoint;
+import org.apache.druid.java.util.common.UOE;
+import org.apache.druid.java.util.common.guava.nary.BinaryFn;
 import org.apache.druid.query.aggregation.MetricManipulationFn;
 import org.apache.druid.timeline.LogicalSegment;
 
@@ -45,6 +48,32 @@ public abstract class QueryToolChest<ResultType, QueryType extends Query<ResultT
    */
   public abstract QueryRunner<ResultType> mergeResults(QueryRunner<ResultType> runner);
 
+  /**
+   * Creates a function that combines two results which are equal according to {@link #createResultComparator}, the
+   * same way {@link #mergeResults} does. This lets the Broker merge and combine the results of data nodes in
+   * parallel, see {@code ParallelMergeCombiningSequence}, so the combine function must be associative.
+   *
+   * This is optional. If it returns null, results of this query type are merged without combining, on a single thread.
+   *
+   * @param query The query whose results are combined
+   *
+   * @return A combine function, or null if combining outside of {@link #mergeResults} is not supported
+   */
+  @Nullable
+  public BinaryFn<ResultType, ResultType, ResultType> createMergeFn(Query<ResultType> query)
+  {
+    return null;
+  }
+
+  /**
+   * Creates an ordering that results of the given query are sorted by and which defines which results are combined by
+   * {@link #createMergeFn}. Must be implemented if {@link #createMergeFn} returns non-null.
+   */
+  public Ordering<ResultType> createResultComparator(Query<ResultType> query)
+  {
+    throw new UOE("%s doesn't support merging results", getClass().getName());
+  }
+
   /**
    * Creates a {@link QueryMetrics} object that is used to generate metrics for this specific query type.  This exists
    * to allow for query-specific dimensions and metrics.  That is, the ToolChest is expected to set some
@@ -129,6 +158,22 @@ public abstract class QueryToolChest<ResultType, QueryType extends Query<ResultT
     return null;
   }
 
+  /**
+   * Returns a ColumnarResultSerde used to send results of this query between data nodes and the Broker in
+   * {@link ColumnarResultFormat}.
+   * <p>
+   * This is optional.  If it returns null, results are always sent as JSON or Smile.
+   *
+   * @param query The query whose results will be sent
+   *
+   * @return A ColumnarResultSerde, or null if this query type has no columnar encoding
+   */
+  @Nullable
+  public ColumnarResultSerde<ResultType> getColumnarResultSerde(QueryType query)
+  {
+    return null;
+  }
+
   /**
    * Wraps a QueryRunner.  The input QueryRunner is the QueryRunner as it exists *before* being passed to
    * mergeResults().
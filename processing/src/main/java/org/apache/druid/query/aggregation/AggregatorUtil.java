@@ -35,6 +35,8 @@ import org.apache.druid.segment.ColumnValueSelector;
 import org.apache.druid.segment.DoubleColumnSelector;
 import org.apache.druid.segment.FloatColumnSelector;
 import org.apache.druid.segment.LongColumnSelector;
+import org.apache.druid.segment.StorageAdapter;
+import org.apache.druid.segment.column.ColumnCapabilities;
 import org.apache.druid.segment.virtual.ExpressionSelectors;
 
 import javax.annotation.Nullable;
@@ -163,6 +165,29 @@ public class AggregatorUtil
     return new Pair<>(condensedAggs, condensedPostAggs);
   }
 
+  /**
+   * Returns true if all of the given aggregators can be run by a vectorized engine against the given adapter. Besides
+   * {@link AggregatorFactory#canVectorize()}, this requires every input column to be numeric or missing, since
+   * vectorized aggregators read their inputs through {@link org.apache.druid.segment.vector.VectorValueSelector}.
+   */
+  public static boolean canVectorize(List<AggregatorFactory> aggregatorFactories, StorageAdapter adapter)
+  {
+    for (AggregatorFactory aggregatorFactory : aggregatorFactories) {
+      if (!aggregatorFactory.canVectorize()) {
+        return false;
+      }
+
+      for (String field : aggregatorFactory.requiredFields()) {
+        final ColumnCapabilities capabilities = adapter.getColumnCapabilities(field);
+        if (capabilities != null && !capabilities.getType().isNumeric()) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
   /**
    * Only one of fieldName and fieldExpression should be non-null
    */
@@ -24,6 +24,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import org.apache.druid.segment.ColumnSelectorFactory;
+import org.apache.druid.segment.vector.VectorColumnSelectorFactory;
 
 import java.util.Collections;
 import java.util.Comparator;
@@ -57,6 +58,18 @@ public class CountAggregatorFactory extends AggregatorFactory
     return new CountBufferAggregator();
   }
 
+  @Override
+  public VectorAggregator factorizeVector(VectorColumnSelectorFactory selectorFactory)
+  {
+    return new CountVectorAggregator();
+  }
+
+  @Override
+  public boolean canVectorize()
+  {
+    return true;
+  }
+
   @Override
   public Comparator getComparator()
   {
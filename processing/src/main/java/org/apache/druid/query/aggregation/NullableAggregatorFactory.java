@@ -20,11 +20,15 @@
 package org.apache.druid.query.aggregation;
 
 
+import com.google.common.base.Preconditions;
 import org.apache.druid.common.config.NullHandling;
 import org.apache.druid.guice.annotations.ExtensionPoint;
+import org.apache.druid.java.util.common.UOE;
 import org.apache.druid.segment.BaseNullableColumnValueSelector;
 import org.apache.druid.segment.ColumnSelectorFactory;
 import org.apache.druid.segment.ColumnValueSelector;
+import org.apache.druid.segment.vector.VectorColumnSelectorFactory;
+import org.apache.druid.segment.vector.VectorValueSelector;
 
 /**
  * Abstract class with functionality to wrap {@link Aggregator}, {@link BufferAggregator} and {@link AggregateCombiner}
@@ -50,6 +54,15 @@ public abstract class NullableAggregatorFactory<T extends BaseNullableColumnValu
     return NullHandling.replaceWithDefault() ? aggregator : new NullableBufferAggregator(aggregator, selector);
   }
 
+  @Override
+  public final VectorAggregator factorizeVector(VectorColumnSelectorFactory columnSelectorFactory)
+  {
+    Preconditions.checkState(canVectorize(), "Cannot vectorize");
+    VectorValueSelector selector = vectorSelector(columnSelectorFactory);
+    VectorAggregator aggregator = factorizeVector(columnSelectorFactory, selector);
+    return NullHandling.replaceWithDefault() ? aggregator : new NullableVectorAggregator(aggregator, selector);
+  }
+
   @Override
   public final AggregateCombiner makeNullableAggregateCombiner()
   {
@@ -92,4 +105,32 @@ public abstract class NullableAggregatorFactory<T extends BaseNullableColumnValu
       ColumnSelectorFactory metricFactory,
       T selector
   );
+
+  /**
+   * Creates a {@link VectorValueSelector} for the aggregated column. Only called when {@link #canVectorize()} returns
+   * true.
+   *
+   * @see VectorValueSelector
+   */
+  protected VectorValueSelector vectorSelector(VectorColumnSelectorFactory columnSelectorFactory)
+  {
+    throw new UOE("Cannot vectorize aggregator[%s]", getClass().getName());
+  }
+
+  /**
+   * Creates a {@link VectorAggregator} to aggregate values from several rows into a ByteBuffer, by using the provided
+   * selector. Only called when {@link #canVectorize()} returns true.
+   *
+   * @param columnSelectorFactory columnSelectorFactory
+   * @param selector {@link VectorValueSelector} for the column to aggregate.
+   *
+   * @see VectorAggregator
+   */
+  protected VectorAggregator factorizeVector(
+      VectorColumnSelectorFactory columnSelectorFactory,
+      VectorValueSelector selector
+  )
+  {
+    throw new UOE("Cannot vectorize aggregator[%s]", getClass().getName());
+  }
 }
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.aggregation;
+
+import org.apache.druid.common.config.NullHandling;
+import org.apache.druid.guice.annotations.PublicApi;
+import org.apache.druid.segment.vector.VectorValueSelector;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The result of a NullableVectorAggregator will be null if all the values to be aggregated are null values or no
+ * values are aggregated at all. If any of the values are non-null, the result will be the aggregated value of the
+ * delegate aggregator. Only non-null rows are passed to the delegate, so it does not need to check the null vector
+ * itself. This class is only used when SQL compatible null handling is enabled.
+ *
+ * Buffer Layout - 1 byte for storing nullability + delegate storage bytes, same as {@link NullableBufferAggregator}.
+ */
+@PublicApi
+public final class NullableVectorAggregator implements VectorAggregator
+{
+  private final VectorAggregator delegate;
+  private final VectorValueSelector selector;
+
+  // Scratch space for filtering out null rows; only allocated once we actually see a null vector.
+  @Nullable
+  private int[] vAggregationPositions = null;
+
+  @Nullable
+  private int[] vAggregationRows = null;
+
+  public NullableVectorAggregator(VectorAggregator delegate, VectorValueSelector selector)
+  {
+    this.delegate = delegate;
+    this.selector = selector;
+  }
+
+  @Override
+  public void init(ByteBuffer buf, int position)
+  {
+    buf.put(position, NullHandling.IS_NULL_BYTE);
+    delegate.init(buf, position + Byte.BYTES);
+  }
+
+  @Override
+  public void aggregate(ByteBuffer buf, int position, int startRow, int endRow)
+  {
+    final boolean[] nullVector = selector.getNullVector();
+
+    if (nullVector != null) {
+      ensureScratchSpace();
+
+      int j = 0;
+      for (int i = startRow; i < endRow; i++) {
+        if (!nullVector[i]) {
+          vAggregationRows[j++] = i;
+        }
+      }
+
+      if (j > 0) {
+        Arrays.fill(vAggregationPositions, 0, j, position);
+        doAggregate(buf, j, vAggregationPositions, vAggregationRows, 0);
+      }
+    } else if (endRow > startRow) {
+      buf.put(position, NullHandling.IS_NOT_NULL_BYTE);
+      delegate.aggregate(buf, position + Byte.BYTES, startRow, endRow);
+    }
+  }
+
+  @Override
+  public void aggregate(ByteBuffer buf, int numRows, int[] positions, @Nullable int[] rows, int positionOffset)
+  {
+    final boolean[] nullVector = selector.getNullVector();
+
+    if (nullVector != null) {
+      ensureScratchSpace();
+
+      int j = 0;
+      for (int i = 0; i < numRows; i++) {
+        final int rowNum = rows == null ? i : rows[i];
+        if (!nullVector[rowNum]) {
+          vAggregationPositions[j] = positions[i];
+          vAggregationRows[j] = rowNum;
+          j++;
+        }
+      }
+
+      doAggregate(buf, j, vAggregationPositions, vAggregationRows, positionOffset);
+    } else {
+      doAggregate(buf, numRows, positions, rows, positionOffset);
+    }
+  }
+
+  @Override
+  @Nullable
+  public Object get(ByteBuffer buf, int position)
+  {
+    if (buf.get(position) == NullHandling.IS_NULL_BYTE) {
+      return null;
+    }
+    return delegate.get(buf, position + Byte.BYTES);
+  }
+
+  @Override
+  public void relocate(int oldPosition, int newPosition, ByteBuffer oldBuffer, ByteBuffer newBuffer)
+  {
+    delegate.relocate(oldPosition + Byte.BYTES, newPosition + Byte.BYTES, oldBuffer, newBuffer);
+  }
+
+  @Override
+  public void close()
+  {
+    delegate.close();
+  }
+
+  private void doAggregate(ByteBuffer buf, int numRows, int[] positions, @Nullable int[] rows, int positionOffset)
+  {
+    for (int i = 0; i < numRows; i++) {
+      buf.put(positions[i] + positionOffset, NullHandling.IS_NOT_NULL_BYTE);
+    }
+
+    delegate.aggregate(buf, numRows, positions, rows, positionOffset + Byte.BYTES);
+  }
+
+  private void ensureScratchSpace()
+  {
+    if (vAggregationPositions == null) {
+      vAggregationPositions = new int[selector.getMaxVectorSize()];
+      vAggregationRows = new int[selector.getMaxVectorSize()];
+    }
+  }
+}
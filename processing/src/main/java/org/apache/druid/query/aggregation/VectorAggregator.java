@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.aggregation;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+
+/**
+ * An object that can aggregate metrics into a ByteBuffer, from vectorized column selectors. Its aggregation-related
+ * methods take the ByteBuffer and position(s) because it is assumed that the VectorAggregator was given something
+ * (one or more vector selectors) in its constructor that it can use to get at the current vector of data.
+ *
+ * @see BufferAggregator, the non-vectorized version.
+ */
+public interface VectorAggregator
+{
+  /**
+   * Same as {@link BufferAggregator#init}.
+   */
+  void init(ByteBuffer buf, int position);
+
+  /**
+   * Aggregate a range of rows [startRow, endRow) of the current vector into a single aggregation slot at "position".
+   */
+  void aggregate(ByteBuffer buf, int position, int startRow, int endRow);
+
+  /**
+   * Aggregate a list of rows ("rows") into a list of aggregation slots ("positions").
+   *
+   * @param buf            byte buffer storing the byte array representation of the aggregate
+   * @param numRows        number of rows to aggregate
+   * @param positions      array of aggregate value positions within the buffer; must be at least as long as numRows
+   * @param rows           array of row numbers within the current vector; must be at least as long as numRows. If
+   *                       null, the aggregator aggregates the rows from 0 until numRows.
+   * @param positionOffset an offset to add to each value from "positions"
+   */
+  void aggregate(ByteBuffer buf, int numRows, int[] positions, @Nullable int[] rows, int positionOffset);
+
+  /**
+   * Same as {@link BufferAggregator#get}.
+   */
+  @Nullable
+  Object get(ByteBuffer buf, int position);
+
+  /**
+   * Same as {@link BufferAggregator#relocate}.
+   */
+  default void relocate(int oldPosition, int newPosition, ByteBuffer oldBuffer, ByteBuffer newBuffer)
+  {
+  }
+
+  /**
+   * Release any resources used by the aggregator.
+   */
+  void close();
+}
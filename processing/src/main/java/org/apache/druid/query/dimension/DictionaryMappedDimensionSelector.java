@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.dimension;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Predicate;
+import org.apache.druid.common.config.NullHandling;
+import org.apache.druid.java.util.common.IAE;
+import org.apache.druid.java.util.common.guava.Comparators;
+import org.apache.druid.query.filter.ValueMatcher;
+import org.apache.druid.query.monomorphicprocessing.RuntimeShapeInspector;
+import org.apache.druid.segment.AbstractDimensionSelector;
+import org.apache.druid.segment.DimensionSelector;
+import org.apache.druid.segment.DimensionSelectorUtils;
+import org.apache.druid.segment.IdLookup;
+import org.apache.druid.segment.data.ArrayBasedIndexedInts;
+import org.apache.druid.segment.data.IndexedInts;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Maps the ids of a selector, whose names may repeat, such as a selector applying a lookup to a dictionary-encoded
+ * column, to ids of its distinct names, using a {@link Mapping} computed once for the whole dictionary of the selector.
+ * The new ids are sorted by name, nulls first, so every name has a single id, like in a dictionary-encoded column.
+ */
+final class DictionaryMappedDimensionSelector extends AbstractDimensionSelector implements IdLookup
+{
+  private static final Comparator<String> NAME_COMPARATOR = Comparators.naturalNullsFirst();
+
+  /**
+   * Distinct names of a dictionary and the ids of the names of each of its ids. Mappings are immutable, so that they
+   * can be shared by the selectors of all cursors over the same dictionary.
+   */
+  static final class Mapping
+  {
+    private final int[] forwardMapping;
+    private final String[] names;
+
+    private Mapping(int[] forwardMapping, String[] names)
+    {
+      this.forwardMapping = forwardMapping;
+      this.names = names;
+    }
+
+    /**
+     * @param selector must have a known cardinality and return true from
+     *                 {@link DimensionSelector#nameLookupPossibleInAdvance()}
+     */
+    static Mapping build(DimensionSelector selector)
+    {
+      final int cardinality = selector.getValueCardinality();
+      if (cardinality < 0 || !selector.nameLookupPossibleInAdvance()) {
+        throw new IAE("selector must have a known cardinality and names that can be looked up in advance");
+      }
+
+      final String[] baseNames = new String[cardinality];
+      for (int i = 0; i < cardinality; i++) {
+        baseNames[i] = NullHandling.emptyToNullIfNeeded(selector.lookupName(i));
+      }
+
+      final String[] sortedNames = baseNames.clone();
+      Arrays.sort(sortedNames, NAME_COMPARATOR);
+      int numDistinct = 0;
+      for (int i = 0; i < sortedNames.length; i++) {
+        if (numDistinct == 0 || NAME_COMPARATOR.compare(sortedNames[numDistinct - 1], sortedNames[i]) != 0) {
+          sortedNames[numDistinct++] = sortedNames[i];
+        }
+      }
+      final String[] names = Arrays.copyOf(sortedNames, numDistinct);
+
+      final int[] forwardMapping = new int[cardinality];
+      for (int i = 0; i < cardinality; i++) {
+        forwardMapping[i] = Arrays.binarySearch(names, baseNames[i], NAME_COMPARATOR);
+      }
+      return new Mapping(forwardMapping, names);
+    }
+
+    /**
+     * Cardinality of the dictionary this mapping was built from.
+     */
+    int getBaseCardinality()
+    {
+      return forwardMapping.length;
+    }
+  }
+
+  private final DimensionSelector selector;
+  private final int[] forwardMapping;
+  private final String[] names;
+  private final ArrayBasedIndexedInts row = new ArrayBasedIndexedInts();
+
+  /**
+   * @param mapping must have been built from a selector over the same dictionary as the given one
+   */
+  DictionaryMappedDimensionSelector(DimensionSelector selector, Mapping mapping)
+  {
+    this.selector = Preconditions.checkNotNull(selector);
+    if (selector.getValueCardinality() != mapping.getBaseCardinality()) {
+      throw new IAE(
+          "Mapping of [%,d] ids cannot be used for a selector of [%,d] ids",
+          mapping.getBaseCardinality(),
+          selector.getValueCardinality()
+      );
+    }
+    this.forwardMapping = mapping.forwardMapping;
+    this.names = mapping.names;
+  }
+
+  @Override
+  public IndexedInts getRow()
+  {
+    final IndexedInts baseRow = selector.getRow();
+    final int baseRowSize = baseRow.size();
+    row.ensureSize(baseRowSize);
+    for (int i = 0; i < baseRowSize; i++) {
+      row.setValue(i, forwardMapping[baseRow.get(i)]);
+    }
+    row.setSize(baseRowSize);
+    return row;
+  }
+
+  @Override
+  public ValueMatcher makeValueMatcher(@Nullable String value)
+  {
+    return DimensionSelectorUtils.makeValueMatcherGeneric(this, value);
+  }
+
+  @Override
+  public ValueMatcher makeValueMatcher(Predicate<String> predicate)
+  {
+    return DimensionSelectorUtils.makeValueMatcherGeneric(this, predicate);
+  }
+
+  @Override
+  public int getValueCardinality()
+  {
+    return names.length;
+  }
+
+  @Nullable
+  @Override
+  public String lookupName(int id)
+  {
+    return names[id];
+  }
+
+  @Override
+  public boolean nameLookupPossibleInAdvance()
+  {
+    return true;
+  }
+
+  @Override
+  public IdLookup idLookup()
+  {
+    return this;
+  }
+
+  @Override
+  public int lookupId(@Nullable String name)
+  {
+    // Like dictionaries of columns, returns (-(insertion point) - 1) for missing names
+    return Arrays.binarySearch(names, NullHandling.emptyToNullIfNeeded(name), NAME_COMPARATOR);
+  }
+
+  @Override
+  public Class classOfObject()
+  {
+    return Object.class;
+  }
+
+  @Override
+  public void inspectRuntimeShape(RuntimeShapeInspector inspector)
+  {
+    inspector.visit("selector", selector);
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.dimension;
+
+import com.google.common.base.Preconditions;
+import org.apache.druid.query.extraction.ExtractionFn;
+import org.apache.druid.segment.DimensionSelector;
+import org.apache.druid.segment.StorageAdapter;
+import org.apache.druid.segment.VirtualColumns;
+import org.apache.druid.segment.column.ColumnCapabilities;
+import org.apache.druid.segment.column.ValueType;
+import org.joda.time.Interval;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Wraps an {@link ExtractionDimensionSpec} whose extraction function is {@link ExtractionFn#isDictionaryMappable()},
+ * so that its selectors have a single id for every distinct extracted value, see
+ * {@link DictionaryMappedDimensionSelector}. Query engines use it on a segment to process such dimensions with the
+ * same algorithms as plain dictionary-encoded dimensions. It is never serialized.
+ *
+ * Instances are created for a single segment, and compute the mapping of the dictionary of the segment once, for the
+ * first cursor, and share it with the selectors of the next cursors.
+ */
+public class DictionaryMappedDimensionSpec implements DimensionSpec
+{
+  /**
+   * Dictionaries are not mapped if they have more values than this ratio times the estimated number of rows to scan,
+   * because mapping costs a lookup per value of the dictionary, while extracting values row by row costs a lookup per
+   * scanned row.
+   */
+  private static final double MAX_CARDINALITY_TO_ROWS_RATIO = 1.0;
+
+  /**
+   * Fraction of the rows that are assumed to match a filter in {@link #estimateRowsToScan}, because the selectivity of
+   * filters is not known before making cursors.
+   */
+  private static final double FILTERED_ROWS_FRACTION = 0.1;
+
+  private final DimensionSpec delegate;
+
+  @Nullable
+  private volatile DictionaryMappedDimensionSelector.Mapping mapping = null;
+
+  private DictionaryMappedDimensionSpec(DimensionSpec delegate)
+  {
+    this.delegate = Preconditions.checkNotNull(delegate, "delegate must not be null");
+  }
+
+  /**
+   * Returns a {@link DictionaryMappedDimensionSpec} wrapping the given spec if it can be mapped on a segment where its
+   * dimension has the given capabilities and cardinality, and if mapping is cheaper than extracting values from the
+   * estimated number of rows to scan, or the given spec otherwise. The returned spec must only be used on that segment.
+   *
+   * @param estimatedRowsToScan see {@link #estimateRowsToScan}
+   */
+  public static DimensionSpec mapIfPossible(
+      DimensionSpec dimensionSpec,
+      VirtualColumns virtualColumns,
+      @Nullable ColumnCapabilities capabilities,
+      int cardinality,
+      double estimatedRowsToScan
+  )
+  {
+    final ExtractionFn extractionFn = dimensionSpec.getExtractionFn();
+    if (dimensionSpec instanceof ExtractionDimensionSpec
+        && extractionFn != null
+        && extractionFn.isDictionaryMappable()
+        && dimensionSpec.getOutputType() == ValueType.STRING
+        && !virtualColumns.exists(dimensionSpec.getDimension())
+        && capabilities != null
+        && capabilities.getType() == ValueType.STRING
+        && capabilities.isDictionaryEncoded()
+        && cardinality >= 0
+        && cardinality <= estimatedRowsToScan * MAX_CARDINALITY_TO_ROWS_RATIO) {
+      return new DictionaryMappedDimensionSpec(dimensionSpec);
+    }
+    return dimensionSpec;
+  }
+
+  /**
+   * Estimates the number of rows of the segment of the given adapter that a query scans, from the fraction of the
+   * interval of the segment that the query covers.
+   */
+  public static double estimateRowsToScan(StorageAdapter adapter, List<Interval> queryIntervals, boolean filtered)
+  {
+    final Interval dataInterval = adapter.getInterval();
+    final long dataMillis = dataInterval.toDurationMillis();
+    double coveredFraction = 1;
+    if (dataMillis > 0) {
+      long coveredMillis = 0;
+      for (Interval queryInterval : queryIntervals) {
+        final Interval overlap = queryInterval.overlap(dataInterval);
+        if (overlap != null) {
+          coveredMillis += overlap.toDurationMillis();
+        }
+      }
+      coveredFraction = Math.min(1, (double) coveredMillis / dataMillis);
+    }
+    return adapter.getNumRows() * coveredFraction * (filtered ? FILTERED_ROWS_FRACTION : 1);
+  }
+
+  @Override
+  public String getDimension()
+  {
+    return delegate.getDimension();
+  }
+
+  @Override
+  public String getOutputName()
+  {
+    return delegate.getOutputName();
+  }
+
+  @Override
+  public ValueType getOutputType()
+  {
+    return delegate.getOutputType();
+  }
+
+  @Override
+  public ExtractionFn getExtractionFn()
+  {
+    return delegate.getExtractionFn();
+  }
+
+  @Override
+  public DimensionSelector decorate(DimensionSelector selector)
+  {
+    final DimensionSelector decorated = delegate.decorate(selector);
+    if (decorated == null) {
+      return null;
+    }
+    DictionaryMappedDimensionSelector.Mapping currentMapping = mapping;
+    // Dictionaries of incremental indexes may grow between cursors, ids of existing values don't change
+    if (currentMapping == null || currentMapping.getBaseCardinality() != decorated.getValueCardinality()) {
+      currentMapping = DictionaryMappedDimensionSelector.Mapping.build(decorated);
+      mapping = currentMapping;
+    }
+    return new DictionaryMappedDimensionSelector(decorated, currentMapping);
+  }
+
+  @Override
+  public boolean mustDecorate()
+  {
+    return true;
+  }
+
+  @Override
+  public byte[] getCacheKey()
+  {
+    // Mapping ids doesn't change the values of the dimension
+    return delegate.getCacheKey();
+  }
+
+  @Override
+  public boolean preservesOrdering()
+  {
+    // Mapped ids are sorted by extracted value, like the ids of a dictionary-encoded column
+    return true;
+  }
+
+  @Override
+  public boolean equals(Object o)
+  {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    return delegate.equals(((DictionaryMappedDimensionSpec) o).delegate);
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return delegate.hashCode();
+  }
+
+  @Override
+  public String toString()
+  {
+    return "DictionaryMappedDimensionSpec{" +
+           "delegate=" + delegate +
+           '}';
+  }
+}
@@ -115,6 +115,20 @@ public interface ExtractionFn extends Cacheable
    */
   ExtractionType getExtractionType();
 
+  /**
+   * Offers information on whether this extraction is cheap enough, like a lookup into an in-memory map, to be applied
+   * to every value of a segment's dictionary before the segment is scanned.
+   * <p>
+   * Query engines then give a single id to each distinct extracted value, and process the dimension like a plain
+   * dictionary-encoded dimension, see {@link org.apache.druid.query.dimension.DictionaryMappedDimensionSpec}.
+   *
+   * @return true if the extraction can be applied to whole dictionaries, false otherwise
+   */
+  default boolean isDictionaryMappable()
+  {
+    return false;
+  }
+
   enum ExtractionType
   {
     MANY_TO_ONE, ONE_TO_ONE
@@ -21,9 +21,12 @@ package org.apache.druid.query.filter;
 
 import org.apache.druid.collections.bitmap.ImmutableBitmap;
 import org.apache.druid.query.BitmapResultFactory;
+import org.apache.druid.java.util.common.UOE;
 import org.apache.druid.query.DefaultBitmapResultFactory;
+import org.apache.druid.query.filter.vector.VectorValueMatcher;
 import org.apache.druid.segment.ColumnSelector;
 import org.apache.druid.segment.ColumnSelectorFactory;
+import org.apache.druid.segment.vector.VectorColumnSelectorFactory;
 
 public interface Filter
 {
@@ -84,6 +87,32 @@ public interface Filter
    */
   ValueMatcher makeMatcher(ColumnSelectorFactory factory);
 
+  /**
+   * Get a VectorValueMatcher that applies this filter to vectors of row values. Do not call this method unless
+   * {@link #canVectorizeMatcher(ColumnSelector)} returns true.
+   *
+   * @param factory Object used to create vector selectors
+   *
+   * @return VectorValueMatcher that applies this filter to vectors of row values.
+   */
+  default VectorValueMatcher makeVectorMatcher(VectorColumnSelectorFactory factory)
+  {
+    throw new UOE("Filter[%s] cannot vectorize", getClass().getName());
+  }
+
+  /**
+   * Indicates whether this filter can be evaluated by {@link #makeVectorMatcher(VectorColumnSelectorFactory)} on the
+   * given columns. Vectorized matchers only read single-valued columns.
+   *
+   * @param columnSelector Object to check the column types and whether they have multi values.
+   *
+   * @return true if this Filter can provide a VectorValueMatcher, false otherwise.
+   */
+  default boolean canVectorizeMatcher(ColumnSelector columnSelector)
+  {
+    return false;
+  }
+
 
   /**
    * Indicates whether this filter can return a bitmap index for filtering, based on
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.filter.vector;
+
+import org.apache.druid.query.filter.DruidLongPredicate;
+import org.apache.druid.query.filter.DruidPredicateFactory;
+import org.apache.druid.segment.DimensionHandlerUtils;
+import org.apache.druid.segment.vector.VectorValueSelector;
+
+import javax.annotation.Nullable;
+
+/**
+ * @see org.apache.druid.query.filter.LongValueMatcherColumnSelectorStrategy, the non-vectorized version
+ */
+public class LongVectorValueMatcher implements VectorValueMatcherFactory
+{
+  private final VectorValueSelector selector;
+
+  public LongVectorValueMatcher(final VectorValueSelector selector)
+  {
+    this.selector = selector;
+  }
+
+  @Override
+  public VectorValueMatcher makeMatcher(@Nullable final String value)
+  {
+    final Long matchVal = DimensionHandlerUtils.convertObjectToLong(value);
+
+    if (matchVal == null) {
+      return new NullVectorValueMatcher(selector);
+    }
+
+    final long matchValLong = matchVal;
+
+    return new BaseVectorValueMatcher(selector)
+    {
+      final VectorMatch match = VectorMatch.wrap(new int[selector.getMaxVectorSize()]);
+
+      @Override
+      public ReadableVectorMatch match(final ReadableVectorMatch mask)
+      {
+        final long[] vector = selector.getLongVector();
+        final boolean[] nullVector = selector.getNullVector();
+        final int[] selection = match.getSelection();
+        final int[] maskSelection = mask.getSelection();
+        final int maskSize = mask.getSelectionSize();
+
+        int numRows = 0;
+
+        for (int i = 0; i < maskSize; i++) {
+          final int rowNum = maskSelection[i];
+          if (vector[rowNum] == matchValLong
+              && (nullVector == null || !nullVector[rowNum])) {
+            selection[numRows++] = rowNum;
+          }
+        }
+
+        return match.setSelectionSize(numRows);
+      }
+    };
+  }
+
+  @Override
+  public VectorValueMatcher makeMatcher(final DruidPredicateFactory predicateFactory)
+  {
+    final DruidLongPredicate predicate = predicateFactory.makeLongPredicate();
+
+    return new BaseVectorValueMatcher(selector)
+    {
+      final VectorMatch match = VectorMatch.wrap(new int[selector.getMaxVectorSize()]);
+
+      @Override
+      public ReadableVectorMatch match(final ReadableVectorMatch mask)
+      {
+        final long[] vector = selector.getLongVector();
+        final boolean[] nullVector = selector.getNullVector();
+        final int[] selection = match.getSelection();
+        final int[] maskSelection = mask.getSelection();
+        final int maskSize = mask.getSelectionSize();
+
+        int numRows = 0;
+
+        if (nullVector == null) {
+          for (int i = 0; i < maskSize; i++) {
+            final int rowNum = maskSelection[i];
+            if (predicate.applyLong(vector[rowNum])) {
+              selection[numRows++] = rowNum;
+            }
+          }
+        } else {
+          final boolean matchNull = predicate.applyNull();
+          for (int i = 0; i < maskSize; i++) {
+            final int rowNum = maskSelection[i];
+            if (nullVector[rowNum] ? matchNull : predicate.applyLong(vector[rowNum])) {
+              selection[numRows++] = rowNum;
+            }
+          }
+        }
+
+        return match.setSelectionSize(numRows);
+      }
+    };
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.filter.vector;
+
+/**
+ * The result of a {@link VectorValueMatcher#match} call: a set of row numbers within the current vector, in ascending
+ * order. Row numbers are relative to the current vector, so they range from zero (inclusive) to the current vector
+ * size (exclusive).
+ *
+ * @see VectorMatch, the mutable implementation
+ */
+public interface ReadableVectorMatch
+{
+  /**
+   * Returns an array of row numbers that are selected. Only the first {@link #getSelectionSize()} elements are
+   * meaningful, and they are strictly increasing. Callers must not modify the returned array.
+   */
+  int[] getSelection();
+
+  /**
+   * Returns the number of selected rows.
+   */
+  int getSelectionSize();
+
+  /**
+   * Checks if this match selects every row in a vector of size "vectorSize".
+   */
+  boolean isAllTrue(int vectorSize);
+
+  /**
+   * Checks if this match selects no rows at all.
+   */
+  boolean isAllFalse();
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.filter.vector;
+
+import com.google.common.base.Predicate;
+import org.apache.druid.common.config.NullHandling;
+import org.apache.druid.query.filter.DruidPredicateFactory;
+import org.apache.druid.segment.vector.SingleValueDimensionVectorSelector;
+
+import javax.annotation.Nullable;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Matcher factory for dictionary-encoded, single-valued string columns. Predicates are evaluated at most once per
+ * dictionary id, and the results are cached, so the per-row work is a couple of bitset lookups.
+ *
+ * @see org.apache.druid.query.filter.StringValueMatcherColumnSelectorStrategy, the non-vectorized version
+ */
+public class SingleValueStringVectorValueMatcher implements VectorValueMatcherFactory
+{
+  private final SingleValueDimensionVectorSelector selector;
+
+  public SingleValueStringVectorValueMatcher(final SingleValueDimensionVectorSelector selector)
+  {
+    this.selector = selector;
+  }
+
+  @Override
+  public VectorValueMatcher makeMatcher(@Nullable final String value)
+  {
+    final String matchValue = NullHandling.emptyToNullIfNeeded(value);
+    return makeMatcher(s -> Objects.equals(s, matchValue));
+  }
+
+  @Override
+  public VectorValueMatcher makeMatcher(final DruidPredicateFactory predicateFactory)
+  {
+    return makeMatcher(predicateFactory.makeStringPredicate());
+  }
+
+  private VectorValueMatcher makeMatcher(final Predicate<String> predicate)
+  {
+    return new BaseVectorValueMatcher(selector)
+    {
+      final VectorMatch match = VectorMatch.wrap(new int[selector.getMaxVectorSize()]);
+      final BitSet checkedIds = new BitSet(selector.getValueCardinality());
+      final BitSet matchingIds = new BitSet(selector.getValueCardinality());
+
+      @Override
+      public ReadableVectorMatch match(final ReadableVectorMatch mask)
+      {
+        final int[] vector = selector.getRowVector();
+        final int[] selection = match.getSelection();
+        final int[] maskSelection = mask.getSelection();
+        final int maskSize = mask.getSelectionSize();
+
+        int numRows = 0;
+
+        for (int i = 0; i < maskSize; i++) {
+          final int rowNum = maskSelection[i];
+          final int id = vector[rowNum];
+
+          final boolean matches;
+          if (checkedIds.get(id)) {
+            matches = matchingIds.get(id);
+          } else {
+            matches = predicate.apply(selector.lookupName(id));
+            checkedIds.set(id);
+            if (matches) {
+              matchingIds.set(id);
+            }
+          }
+
+          if (matches) {
+            selection[numRows++] = rowNum;
+          }
+        }
+
+        return match.setSelectionSize(numRows);
+      }
+    };
+  }
+}
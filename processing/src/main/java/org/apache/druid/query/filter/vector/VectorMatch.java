@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.filter.vector;
+
+import com.google.common.base.Preconditions;
+import org.apache.druid.java.util.common.IAE;
+
+/**
+ * Mutable implementation of {@link ReadableVectorMatch}. Matchers generally allocate one of these up front, sized to
+ * the max vector size, and reuse it for every vector.
+ */
+public class VectorMatch implements ReadableVectorMatch
+{
+  private static final int[] DEFAULT_ALL_TRUE_VECTOR = new int[16384];
+
+  private static final VectorMatch ALL_FALSE = new VectorMatch(new int[0], 0);
+
+  static {
+    for (int i = 0; i < DEFAULT_ALL_TRUE_VECTOR.length; i++) {
+      DEFAULT_ALL_TRUE_VECTOR[i] = i;
+    }
+  }
+
+  private final int[] selection;
+  private int selectionSize;
+
+  private VectorMatch(final int[] selection, final int selectionSize)
+  {
+    this.selection = selection;
+    this.selectionSize = selectionSize;
+  }
+
+  /**
+   * Returns a match that selects no rows. The returned object must not be modified.
+   */
+  public static ReadableVectorMatch allFalse()
+  {
+    return ALL_FALSE;
+  }
+
+  /**
+   * Returns a new match that selects every row in a vector of size "vectorSize".
+   */
+  public static VectorMatch allTrue(final int vectorSize)
+  {
+    final VectorMatch match = wrap(new int[vectorSize]);
+    System.arraycopy(allTrueVector(vectorSize), 0, match.selection, 0, vectorSize);
+    match.selectionSize = vectorSize;
+    return match;
+  }
+
+  /**
+   * Returns a new, empty match that stores its selection in the provided array.
+   */
+  public static VectorMatch wrap(final int[] selection)
+  {
+    return new VectorMatch(selection, 0);
+  }
+
+  @Override
+  public int[] getSelection()
+  {
+    return selection;
+  }
+
+  @Override
+  public int getSelectionSize()
+  {
+    return selectionSize;
+  }
+
+  @Override
+  public boolean isAllTrue(final int vectorSize)
+  {
+    // Selections are strictly increasing and within [0, vectorSize), so the size alone is enough.
+    return selectionSize == vectorSize;
+  }
+
+  @Override
+  public boolean isAllFalse()
+  {
+    return selectionSize == 0;
+  }
+
+  /**
+   * Sets the number of selected rows. The caller is expected to have filled in the first "newSize" elements of
+   * {@link #getSelection()} already.
+   */
+  public VectorMatch setSelectionSize(final int newSize)
+  {
+    Preconditions.checkArgument(
+        newSize <= selection.length,
+        "Oops! Cannot setSelectionSize[%s] > selection.length[%s].",
+        newSize,
+        selection.length
+    );
+    this.selectionSize = newSize;
+    return this;
+  }
+
+  /**
+   * Selects every row in a vector of size "vectorSize".
+   */
+  public VectorMatch setAllTrue(final int vectorSize)
+  {
+    if (vectorSize > selection.length) {
+      throw new IAE("Cannot select [%s] rows, max vector size is [%s]", vectorSize, selection.length);
+    }
+    System.arraycopy(allTrueVector(vectorSize), 0, selection, 0, vectorSize);
+    selectionSize = vectorSize;
+    return this;
+  }
+
+  /**
+   * Replaces the contents of this match with the contents of "other".
+   */
+  public VectorMatch copyFrom(final ReadableVectorMatch other)
+  {
+    final int otherSize = other.getSelectionSize();
+    if (otherSize > selection.length) {
+      throw new IAE("Cannot copy [%s] rows, max vector size is [%s]", otherSize, selection.length);
+    }
+    System.arraycopy(other.getSelection(), 0, selection, 0, otherSize);
+    selectionSize = otherSize;
+    return this;
+  }
+
+  /**
+   * Removes all rows from this match that are also selected by "other". Both selections are sorted, so this is a
+   * linear merge.
+   */
+  public VectorMatch removeAll(final ReadableVectorMatch other)
+  {
+    final int[] otherSelection = other.getSelection();
+    final int otherSize = other.getSelectionSize();
+
+    int i = 0; // reading position in this selection
+    int j = 0; // reading position in other selection
+    int k = 0; // writing position in this selection
+
+    for (; i < selectionSize; i++) {
+      final int row = selection[i];
+
+      while (j < otherSize && otherSelection[j] < row) {
+        j++;
+      }
+
+      if (j == otherSize || otherSelection[j] != row) {
+        selection[k++] = row;
+      }
+    }
+
+    selectionSize = k;
+    return this;
+  }
+
+  /**
+   * Adds all rows from "other" to this match, using "scratch" as temporary space. Both selections are sorted, so
+   * this is a linear merge. "scratch" must not be the same object as this one or "other".
+   */
+  public VectorMatch addAll(final ReadableVectorMatch other, final VectorMatch scratch)
+  {
+    Preconditions.checkArgument(other != this && scratch != this && scratch != other, "Oops! Objects overlap.");
+
+    final int[] otherSelection = other.getSelection();
+    final int otherSize = other.getSelectionSize();
+    final int[] scratchSelection = scratch.selection;
+
+    int i = 0; // reading position in this selection
+    int j = 0; // reading position in other selection
+    int k = 0; // writing position in scratch
+
+    while (i < selectionSize || j < otherSize) {
+      if (j == otherSize || (i < selectionSize && selection[i] < otherSelection[j])) {
+        scratchSelection[k++] = selection[i++];
+      } else if (i == selectionSize || otherSelection[j] < selection[i]) {
+        scratchSelection[k++] = otherSelection[j++];
+      } else {
+        // Same row in both.
+        scratchSelection[k++] = selection[i++];
+        j++;
+      }
+    }
+
+    System.arraycopy(scratchSelection, 0, selection, 0, k);
+    selectionSize = k;
+    return this;
+  }
+
+  private static int[] allTrueVector(final int vectorSize)
+  {
+    if (vectorSize <= DEFAULT_ALL_TRUE_VECTOR.length) {
+      return DEFAULT_ALL_TRUE_VECTOR;
+    } else {
+      final int[] vector = new int[vectorSize];
+      for (int i = 0; i < vectorSize; i++) {
+        vector[i] = i;
+      }
+      return vector;
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    final StringBuilder retVal = new StringBuilder("[");
+    for (int i = 0; i < selectionSize; i++) {
+      if (i > 0) {
+        retVal.append(", ");
+      }
+      retVal.append(selection[i]);
+    }
+    return retVal.append("]").toString();
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.filter.vector;
+
+import org.apache.druid.segment.vector.VectorSizeInspector;
+
+/**
+ * An object that evaluates a filter over the current vector of a {@link org.apache.druid.segment.vector.VectorCursor}
+ * or {@link org.apache.druid.segment.vector.VectorOffset}, returning the rows that match.
+ *
+ * @see org.apache.druid.query.filter.ValueMatcher, the non-vectorized version
+ */
+public interface VectorValueMatcher extends VectorSizeInspector
+{
+  /**
+   * Examines the rows selected by "mask" and returns the subset of them that match. The returned object may be
+   * reused by the matcher, so it is only valid until the next call to this method.
+   *
+   * @param mask rows to examine; rows outside of the mask are not evaluated and never match
+   *
+   * @return rows that match, always a subset of "mask"
+   */
+  ReadableVectorMatch match(ReadableVectorMatch mask);
+}
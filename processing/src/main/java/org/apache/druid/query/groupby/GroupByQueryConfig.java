@@ -38,6 +38,7 @@ public class GroupByQueryConfig
   private static final String CTX_KEY_BUFFER_GROUPER_MAX_LOAD_FACTOR = "bufferGrouperMaxLoadFactor";
   private static final String CTX_KEY_BUFFER_GROUPER_MAX_SIZE = "bufferGrouperMaxSize";
   private static final String CTX_KEY_MAX_ON_DISK_STORAGE = "maxOnDiskStorage";
+  private static final String CTX_KEY_MAX_EXTRA_MERGE_BUFFER_BYTES = "maxExtraMergeBufferBytes";
   private static final String CTX_KEY_MAX_MERGING_DICTIONARY_SIZE = "maxMergingDictionarySize";
   private static final String CTX_KEY_FORCE_HASH_AGGREGATION = "forceHashAggregation";
   private static final String CTX_KEY_INTERMEDIATE_COMBINE_DEGREE = "intermediateCombineDegree";
@@ -73,6 +74,10 @@ public class GroupByQueryConfig
   // Max on-disk temporary storage, per-query; when exceeded, the query fails
   private long maxOnDiskStorage = 0L;
 
+  @JsonProperty
+  // Max extra direct memory for growing merge buffers, per-query; see druid.processing.extraMergeBufferSizeBytes
+  private long maxExtraMergeBufferBytes = Long.MAX_VALUE;
+
   @JsonProperty
   private boolean forcePushDownLimit = false;
 
@@ -148,6 +153,11 @@ public class GroupByQueryConfig
     return maxOnDiskStorage;
   }
 
+  public long getMaxExtraMergeBufferBytes()
+  {
+    return maxExtraMergeBufferBytes;
+  }
+
   public boolean isForcePushDownLimit()
   {
     return forcePushDownLimit;
@@ -202,6 +212,13 @@ public class GroupByQueryConfig
         ((Number) query.getContextValue(CTX_KEY_MAX_ON_DISK_STORAGE, getMaxOnDiskStorage())).longValue(),
         getMaxOnDiskStorage()
     );
+    newConfig.maxExtraMergeBufferBytes = Math.min(
+        ((Number) query.getContextValue(
+            CTX_KEY_MAX_EXTRA_MERGE_BUFFER_BYTES,
+            getMaxExtraMergeBufferBytes()
+        )).longValue(),
+        getMaxExtraMergeBufferBytes()
+    );
     newConfig.maxMergingDictionarySize = Math.min(
         ((Number) query.getContextValue(CTX_KEY_MAX_MERGING_DICTIONARY_SIZE, getMaxMergingDictionarySize())).longValue(),
         getMaxMergingDictionarySize()
@@ -233,6 +250,7 @@ public class GroupByQueryConfig
            ", bufferGrouperInitialBuckets=" + bufferGrouperInitialBuckets +
            ", maxMergingDictionarySize=" + maxMergingDictionarySize +
            ", maxOnDiskStorage=" + maxOnDiskStorage +
+           ", maxExtraMergeBufferBytes=" + maxExtraMergeBufferBytes +
            ", forcePushDownLimit=" + forcePushDownLimit +
            ", forceHashAggregation=" + forceHashAggregation +
            ", intermediateCombineDegree=" + intermediateCombineDegree +
@@ -39,6 +39,8 @@ import org.apache.druid.java.util.common.guava.MappedSequence;
 import org.apache.druid.java.util.common.guava.Sequence;
 import org.apache.druid.java.util.common.guava.Sequences;
 import org.apache.druid.query.CacheStrategy;
+import org.apache.druid.query.ColumnarResultFormat;
+import org.apache.druid.query.ColumnarResultSerde;
 import org.apache.druid.query.DataSource;
 import org.apache.druid.query.IntervalChunkingQueryRunnerDecorator;
 import org.apache.druid.query.QueryContexts;
@@ -82,6 +84,35 @@ public class GroupByQueryQueryToolChest extends QueryToolChest<Row, GroupByQuery
   private static final TypeReference<Row> TYPE_REFERENCE = new TypeReference<Row>()
   {
   };
+  private static final ColumnarResultSerde<Row> COLUMNAR_RESULT_SERDE = new ColumnarResultSerde<Row>()
+  {
+    @Override
+    public long getTimestamp(Row result)
+    {
+      return result.getTimestampFromEpoch();
+    }
+
+    @Override
+    public int getNumRows(Row result)
+    {
+      return 1;
+    }
+
+    @Override
+    public Map<String, Object> getRow(Row result, int rowNumber)
+    {
+      if (!(result instanceof MapBasedRow)) {
+        throw new ISE("Cannot encode row of type[%s] as columnar results", result.getClass());
+      }
+      return ((MapBasedRow) result).getEvent();
+    }
+
+    @Override
+    public Row makeResult(ColumnarResultFormat.Frame frame, int resultNumber)
+    {
+      return new MapBasedRow(frame.getTimestamp(resultNumber), frame.getRow(frame.getFirstRow(resultNumber)));
+    }
+  };
   public static final String GROUP_BY_MERGE_KEY = "groupByMerge";
 
   private final GroupByStrategySelector strategySelector;
@@ -398,6 +429,12 @@ public class GroupByQueryQueryToolChest extends QueryToolChest<Row, GroupByQuery
     return TYPE_REFERENCE;
   }
 
+  @Override
+  public ColumnarResultSerde<Row> getColumnarResultSerde(GroupByQuery query)
+  {
+    return COLUMNAR_RESULT_SERDE;
+  }
+
   @Override
   public QueryRunner<Row> preMergeQueryDecoration(final QueryRunner<Row> runner)
   {
@@ -23,8 +23,9 @@ import java.util.Objects;
 
 public class AggregateResult
 {
-  private static final AggregateResult OK = new AggregateResult(true, null);
+  private static final AggregateResult OK = new AggregateResult(0, true, null);
 
+  private final int count;
   private final boolean ok;
   private final String reason;
 
@@ -35,11 +36,20 @@ public class AggregateResult
 
   public static AggregateResult failure(final String reason)
   {
-    return new AggregateResult(false, reason);
+    return new AggregateResult(0, false, reason);
   }
 
-  private AggregateResult(final boolean ok, final String reason)
+  /**
+   * Used by {@link VectorGrouper#aggregateVector} when only the first "count" rows of a vector could be aggregated.
+   */
+  public static AggregateResult partial(final int count, final String reason)
   {
+    return new AggregateResult(count, false, reason);
+  }
+
+  private AggregateResult(final int count, final boolean ok, final String reason)
+  {
+    this.count = count;
     this.ok = ok;
     this.reason = reason;
   }
@@ -49,6 +59,14 @@ public class AggregateResult
     return ok;
   }
 
+  /**
+   * Number of rows that were aggregated before a failure. Always zero for {@link #ok()} and {@link #failure}.
+   */
+  public int getCount()
+  {
+    return count;
+  }
+
   public String getReason()
   {
     return reason;
@@ -64,21 +82,23 @@ public class AggregateResult
       return false;
     }
     final AggregateResult that = (AggregateResult) o;
-    return ok == that.ok &&
+    return count == that.count &&
+           ok == that.ok &&
            Objects.equals(reason, that.reason);
   }
 
   @Override
   public int hashCode()
   {
-    return Objects.hash(ok, reason);
+    return Objects.hash(count, ok, reason);
   }
 
   @Override
   public String toString()
   {
     return "AggregateResult{" +
-           "ok=" + ok +
+           "count=" + count +
+           ", ok=" + ok +
            ", reason='" + reason + '\'' +
            '}';
   }
@@ -19,9 +19,11 @@
 
 package org.apache.druid.query.groupby.epinephelinae;
 
+import com.google.common.base.Preconditions;
 import com.google.common.base.Supplier;
 import org.apache.druid.java.util.common.CloseableIterators;
 import org.apache.druid.java.util.common.IAE;
+import org.apache.druid.java.util.common.ISE;
 import org.apache.druid.java.util.common.parsers.CloseableIterator;
 import org.apache.druid.query.aggregation.AggregatorFactory;
 import org.apache.druid.segment.ColumnSelectorFactory;
@@ -94,41 +96,101 @@ public class BufferHashGrouper<KeyType> extends AbstractBufferHashGrouper<KeyTyp
   public void init()
   {
     if (!initialized) {
-      this.buffer = bufferSupplier.get();
+      initBuffers(bufferSupplier.get(), initialBuckets);
+      reset();
+      initialized = true;
+    }
+  }
 
-      int hashTableSize = ByteBufferHashTable.calculateTableArenaSizeWithPerBucketAdditionalSize(
-          buffer.capacity(),
-          bucketSize,
-          Integer.BYTES
-      );
+  private void initBuffers(final ByteBuffer buffer, final int initialBuckets)
+  {
+    this.buffer = buffer;
+
+    int hashTableSize = ByteBufferHashTable.calculateTableArenaSizeWithPerBucketAdditionalSize(
+        buffer.capacity(),
+        bucketSize,
+        Integer.BYTES
+    );
+
+    hashTableBuffer = buffer.duplicate();
+    hashTableBuffer.position(0);
+    hashTableBuffer.limit(hashTableSize);
+    hashTableBuffer = hashTableBuffer.slice();
+
+    offsetListBuffer = buffer.duplicate();
+    offsetListBuffer.position(hashTableSize);
+    offsetListBuffer.limit(buffer.capacity());
+    offsetListBuffer = offsetListBuffer.slice();
+
+    this.offsetList = new ByteBufferIntList(
+        offsetListBuffer,
+        offsetListBuffer.capacity() / Integer.BYTES
+    );
+
+    this.hashTable = new ByteBufferHashTable(
+        maxLoadFactor,
+        initialBuckets,
+        bucketSize,
+        hashTableBuffer,
+        keySize,
+        bufferGrouperMaxSize,
+        new BufferGrouperBucketUpdateHandler()
+    );
+  }
 
-      hashTableBuffer = buffer.duplicate();
-      hashTableBuffer.position(0);
-      hashTableBuffer.limit(hashTableSize);
-      hashTableBuffer = hashTableBuffer.slice();
+  public int getBufferCapacity()
+  {
+    return buffer.capacity();
+  }
 
-      offsetListBuffer = buffer.duplicate();
-      offsetListBuffer.position(hashTableSize);
-      offsetListBuffer.limit(buffer.capacity());
-      offsetListBuffer = offsetListBuffer.slice();
+  /**
+   * Returns true if moving this grouper into a bigger buffer with {@link #growInto} would make room for more entries.
+   */
+  public boolean canGrow()
+  {
+    return initialized && hashTable.getSize() < bufferGrouperMaxSize;
+  }
 
-      this.offsetList = new ByteBufferIntList(
-          offsetListBuffer,
-          offsetListBuffer.capacity() / Integer.BYTES
-      );
+  /**
+   * Moves the contents of this grouper into a bigger buffer, so that it can keep aggregating without spilling. The
+   * previous buffer is not used anymore once this method returns, and can be released by the caller.
+   */
+  public void growInto(final ByteBuffer newBuffer)
+  {
+    Preconditions.checkState(initialized, "Grouper is not initialized");
+    Preconditions.checkArgument(
+        newBuffer.capacity() > buffer.capacity(),
+        "newBuffer capacity[%s] must be greater than the current capacity[%s]",
+        newBuffer.capacity(),
+        buffer.capacity()
+    );
+
+    final ByteBufferHashTable oldHashTable = hashTable;
+    final ByteBufferIntList oldOffsetList = offsetList;
+    final ByteBuffer oldTableBuffer = oldHashTable.getTableBuffer();
+    final int numEntries = oldHashTable.getSize();
+
+    // Start with at least as many buckets as the old table could use after its next growth.
+    initBuffers(newBuffer, Math.max(initialBuckets, oldHashTable.getMaxBuckets() * 2));
+    offsetList.reset();
+    hashTable.reset();
 
-      this.hashTable = new ByteBufferHashTable(
-          maxLoadFactor,
-          initialBuckets,
-          bucketSize,
-          hashTableBuffer,
-          keySize,
-          bufferGrouperMaxSize,
-          new BufferGrouperBucketUpdateHandler()
-      );
+    for (int i = 0; i < numEntries; i++) {
+      final int oldBucketOffset = oldOffsetList.get(i);
+      final int newBucketOffset = hashTable.copyBucketFrom(oldTableBuffer, oldBucketOffset);
+      if (newBucketOffset < 0) {
+        throw new ISE("WTF?! Couldn't find a bucket while growing?!");
+      }
 
-      reset();
-      initialized = true;
+      final ByteBuffer newTableBuffer = hashTable.getTableBuffer();
+      for (int j = 0; j < aggregators.length; j++) {
+        aggregators[j].relocate(
+            oldBucketOffset + aggregatorOffsets[j],
+            newBucketOffset + aggregatorOffsets[j],
+            oldTableBuffer,
+            newTableBuffer
+        );
+      }
     }
   }
 
@@ -0,0 +1,304 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.groupby.epinephelinae;
+
+import com.google.common.base.Supplier;
+import org.apache.druid.java.util.common.IAE;
+import org.apache.druid.java.util.common.logger.Logger;
+import org.apache.druid.java.util.common.parsers.CloseableIterator;
+import org.apache.druid.query.aggregation.AggregatorFactory;
+import org.apache.druid.query.aggregation.VectorAggregator;
+import org.apache.druid.segment.vector.VectorColumnSelectorFactory;
+
+import java.nio.ByteBuffer;
+import java.util.NoSuchElementException;
+
+/**
+ * Vectorized counterpart of {@link BufferHashGrouper}. Uses the same {@link ByteBufferHashTable} bucket layout:
+ * hash, then key, then aggregator values. Rows of a vector are first assigned to buckets, then each aggregator
+ * processes all of them with a single call to
+ * {@link VectorAggregator#aggregate(ByteBuffer, int, int[], int[], int)}.
+ */
+public class BufferHashVectorGrouper implements VectorGrouper
+{
+  private static final Logger log = new Logger(BufferHashVectorGrouper.class);
+
+  private static final int HASH_SIZE = Integer.BYTES;
+  private static final int MIN_INITIAL_BUCKETS = 4;
+  private static final int DEFAULT_INITIAL_BUCKETS = 1024;
+  private static final float DEFAULT_MAX_LOAD_FACTOR = 0.7f;
+
+  private final Supplier<ByteBuffer> bufferSupplier;
+  private final int keySize;
+  private final VectorAggregator[] aggregators;
+  private final int[] aggregatorOffsets;
+  private final int bucketSize;
+  private final int bufferGrouperMaxSize; // Integer.MAX_VALUE in production, only used for unit tests
+  private final float maxLoadFactor;
+  private final int initialBuckets;
+
+  private boolean initialized = false;
+  private ByteBufferHashTable hashTable;
+
+  // Track the offsets of used buckets using this list, like BufferHashGrouper does.
+  private ByteBufferIntList offsetList;
+
+  // Bucket offsets and row numbers of rows that have been assigned a bucket but not yet aggregated.
+  private int[] vAggregationPositions;
+  private int[] vAggregationRows;
+  private int numPendingRows = 0;
+
+  public BufferHashVectorGrouper(
+      final Supplier<ByteBuffer> bufferSupplier,
+      final int keySize,
+      final VectorColumnSelectorFactory columnSelectorFactory,
+      final AggregatorFactory[] aggregatorFactories,
+      final int bufferGrouperMaxSize,
+      final float maxLoadFactor,
+      final int initialBuckets
+  )
+  {
+    this.bufferSupplier = bufferSupplier;
+    this.keySize = keySize;
+    this.bufferGrouperMaxSize = bufferGrouperMaxSize;
+    this.maxLoadFactor = maxLoadFactor > 0 ? maxLoadFactor : DEFAULT_MAX_LOAD_FACTOR;
+    this.initialBuckets = initialBuckets > 0 ? Math.max(MIN_INITIAL_BUCKETS, initialBuckets) : DEFAULT_INITIAL_BUCKETS;
+
+    if (this.maxLoadFactor >= 1.0f) {
+      throw new IAE("Invalid maxLoadFactor[%f], must be < 1.0", maxLoadFactor);
+    }
+
+    this.aggregators = new VectorAggregator[aggregatorFactories.length];
+    this.aggregatorOffsets = new int[aggregatorFactories.length];
+
+    int offset = HASH_SIZE + keySize;
+    for (int i = 0; i < aggregatorFactories.length; i++) {
+      aggregators[i] = aggregatorFactories[i].factorizeVector(columnSelectorFactory);
+      aggregatorOffsets[i] = offset;
+      offset += aggregatorFactories[i].getMaxIntermediateSizeWithNulls();
+    }
+
+    this.bucketSize = offset;
+  }
+
+  @Override
+  public void initVectorized(final int maxVectorSize)
+  {
+    if (!initialized) {
+      final ByteBuffer buffer = bufferSupplier.get();
+
+      final int hashTableSize = ByteBufferHashTable.calculateTableArenaSizeWithPerBucketAdditionalSize(
+          buffer.capacity(),
+          bucketSize,
+          Integer.BYTES
+      );
+
+      ByteBuffer hashTableBuffer = buffer.duplicate();
+      hashTableBuffer.position(0);
+      hashTableBuffer.limit(hashTableSize);
+      hashTableBuffer = hashTableBuffer.slice();
+
+      ByteBuffer offsetListBuffer = buffer.duplicate();
+      offsetListBuffer.position(hashTableSize);
+      offsetListBuffer.limit(buffer.capacity());
+      offsetListBuffer = offsetListBuffer.slice();
+
+      this.offsetList = new ByteBufferIntList(offsetListBuffer, offsetListBuffer.capacity() / Integer.BYTES);
+
+      this.hashTable = new ByteBufferHashTable(
+          maxLoadFactor,
+          initialBuckets,
+          bucketSize,
+          hashTableBuffer,
+          keySize,
+          bufferGrouperMaxSize,
+          new VectorGrouperBucketUpdateHandler()
+      );
+
+      this.vAggregationPositions = new int[maxVectorSize];
+      this.vAggregationRows = new int[maxVectorSize];
+
+      reset();
+      initialized = true;
+    }
+  }
+
+  @Override
+  public AggregateResult aggregateVector(final ByteBuffer keySpace, final int startRow, final int endRow)
+  {
+    final ByteBuffer keyBuffer = keySpace.duplicate();
+
+    for (int rowNum = startRow; rowNum < endRow; rowNum++) {
+      final int keyPosition = rowNum * keySize;
+      keyBuffer.limit(keyPosition + keySize);
+      keyBuffer.position(keyPosition);
+
+      final int keyHash = Groupers.hash(keyBuffer);
+      final int bucket = hashTable.findBucketWithAutoGrowth(keyBuffer, keyHash);
+
+      if (bucket < 0) {
+        // Aggregate whatever made it in, and let the caller empty the table before trying again.
+        aggregatePendingRows();
+        return AggregateResult.partial(rowNum - startRow, Groupers.HASH_TABLE_FULL.getReason());
+      }
+
+      final int bucketOffset = hashTable.getOffsetForBucket(bucket);
+
+      if (!hashTable.isBucketUsed(bucket)) {
+        final ByteBuffer tableBuffer = hashTable.getTableBuffer();
+        hashTable.initializeNewBucketKey(bucket, keyBuffer, keyHash);
+        for (int i = 0; i < aggregators.length; i++) {
+          aggregators[i].init(tableBuffer, bucketOffset + aggregatorOffsets[i]);
+        }
+      }
+
+      vAggregationPositions[numPendingRows] = bucketOffset;
+      vAggregationRows[numPendingRows] = rowNum;
+      numPendingRows++;
+    }
+
+    aggregatePendingRows();
+    return AggregateResult.ok();
+  }
+
+  @Override
+  public void reset()
+  {
+    numPendingRows = 0;
+    offsetList.reset();
+    hashTable.reset();
+  }
+
+  @Override
+  public CloseableIterator<Grouper.Entry<ByteBuffer>> iterator()
+  {
+    if (!initialized) {
+      throw new IAE("Cannot iterate over an uninitialized grouper");
+    }
+
+    final ByteBuffer tableBuffer = hashTable.getTableBuffer();
+    final int size = hashTable.getSize();
+
+    return new CloseableIterator<Grouper.Entry<ByteBuffer>>()
+    {
+      int curr = 0;
+
+      @Override
+      public boolean hasNext()
+      {
+        return curr < size;
+      }
+
+      @Override
+      public Grouper.Entry<ByteBuffer> next()
+      {
+        if (curr >= size) {
+          throw new NoSuchElementException();
+        }
+
+        final int bucketOffset = offsetList.get(curr++);
+
+        final ByteBuffer key = tableBuffer.duplicate();
+        key.position(bucketOffset + HASH_SIZE).limit(bucketOffset + HASH_SIZE + keySize);
+
+        final Object[] values = new Object[aggregators.length];
+        for (int i = 0; i < aggregators.length; i++) {
+          values[i] = aggregators[i].get(tableBuffer, bucketOffset + aggregatorOffsets[i]);
+        }
+
+        return new Grouper.Entry<>(key.slice(), values);
+      }
+
+      @Override
+      public void remove()
+      {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void close()
+      {
+        // do nothing
+      }
+    };
+  }
+
+  @Override
+  public void close()
+  {
+    for (VectorAggregator aggregator : aggregators) {
+      try {
+        aggregator.close();
+      }
+      catch (Exception e) {
+        log.warn(e, "Could not close aggregator [%s], skipping.", aggregator);
+      }
+    }
+  }
+
+  private void aggregatePendingRows()
+  {
+    if (numPendingRows > 0) {
+      final ByteBuffer tableBuffer = hashTable.getTableBuffer();
+      for (int i = 0; i < aggregators.length; i++) {
+        aggregators[i].aggregate(
+            tableBuffer,
+            numPendingRows,
+            vAggregationPositions,
+            vAggregationRows,
+            aggregatorOffsets[i]
+        );
+      }
+      numPendingRows = 0;
+    }
+  }
+
+  private class VectorGrouperBucketUpdateHandler implements ByteBufferHashTable.BucketUpdateHandler
+  {
+    @Override
+    public void handleNewBucket(int bucketOffset)
+    {
+      offsetList.add(bucketOffset);
+    }
+
+    @Override
+    public void handlePreTableSwap()
+    {
+      // Pending rows point at buckets of the old table, so aggregate them before the buckets are moved.
+      aggregatePendingRows();
+      offsetList.reset();
+    }
+
+    @Override
+    public void handleBucketMove(int oldBucketOffset, int newBucketOffset, ByteBuffer oldBuffer, ByteBuffer newBuffer)
+    {
+      for (int i = 0; i < aggregators.length; i++) {
+        aggregators[i].relocate(
+            oldBucketOffset + aggregatorOffsets[i],
+            newBucketOffset + aggregatorOffsets[i],
+            oldBuffer,
+            newBuffer
+        );
+      }
+
+      offsetList.add(newBucketOffset);
+    }
+  }
+}
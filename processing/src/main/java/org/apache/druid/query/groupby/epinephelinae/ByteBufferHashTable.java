@@ -233,6 +233,41 @@ public class ByteBufferHashTable
     }
   }
 
+  /**
+   * Copies a used bucket of another table with the same bucket and key size into this table, growing this table if
+   * needed. Used to move a table into a bigger buffer. Callers are responsible for relocating the values in the bucket
+   * if needed.
+   *
+   * @return offset of the new bucket within {@link #getTableBuffer()}, or -1 if this table is full
+   */
+  public int copyBucketFrom(final ByteBuffer otherTableBuffer, final int otherBucketOffset)
+  {
+    final ByteBuffer keyBuffer = otherTableBuffer.duplicate();
+    keyBuffer.limit(otherBucketOffset + HASH_SIZE + keySize);
+    keyBuffer.position(otherBucketOffset + HASH_SIZE);
+
+    final int keyHash = otherTableBuffer.getInt(otherBucketOffset) & 0x7fffffff;
+    final int bucket = findBucketWithAutoGrowth(keyBuffer, keyHash);
+    if (bucket < 0) {
+      return -1;
+    }
+
+    final ByteBuffer entryBuffer = otherTableBuffer.duplicate();
+    entryBuffer.limit(otherBucketOffset + bucketSizeWithHash);
+    entryBuffer.position(otherBucketOffset);
+
+    final int offset = bucket * bucketSizeWithHash;
+    tableBuffer.position(offset);
+    tableBuffer.put(entryBuffer);
+    size++;
+
+    if (bucketUpdateHandler != null) {
+      bucketUpdateHandler.handleNewBucket(offset);
+    }
+
+    return offset;
+  }
+
   protected void initializeNewBucketKey(
       final int bucket,
       final ByteBuffer keyBuffer,
@@ -90,6 +90,8 @@ public class ConcurrentGrouper<KeyType> implements Grouper<KeyType>
   private final long maxDictionarySizeForCombiner;
   @Nullable
   private final ParallelCombiner<KeyType> parallelCombiner;
+  @Nullable
+  private final MergeBufferAllocator.QueryAllocator extraBufferAllocator;
 
   private volatile boolean initialized = false;
 
@@ -109,7 +111,8 @@ public class ConcurrentGrouper<KeyType> implements Grouper<KeyType>
       final ListeningExecutorService executor,
       final int priority,
       final boolean hasQueryTimeout,
-      final long queryTimeoutAt
+      final long queryTimeoutAt,
+      @Nullable final MergeBufferAllocator.QueryAllocator extraBufferAllocator
   )
   {
     this(
@@ -132,7 +135,8 @@ public class ConcurrentGrouper<KeyType> implements Grouper<KeyType>
         hasQueryTimeout,
         queryTimeoutAt,
         groupByQueryConfig.getIntermediateCombineDegree(),
-        groupByQueryConfig.getNumParallelCombineThreads()
+        groupByQueryConfig.getNumParallelCombineThreads(),
+        extraBufferAllocator
     );
   }
 
@@ -156,7 +160,8 @@ public class ConcurrentGrouper<KeyType> implements Grouper<KeyType>
       final boolean hasQueryTimeout,
       final long queryTimeoutAt,
       final int intermediateCombineDegree,
-      final int numParallelCombineThreads
+      final int numParallelCombineThreads,
+      @Nullable final MergeBufferAllocator.QueryAllocator extraBufferAllocator
   )
   {
     Preconditions.checkArgument(concurrencyHint > 0, "concurrencyHint > 0");
@@ -188,6 +193,7 @@ public class ConcurrentGrouper<KeyType> implements Grouper<KeyType>
     this.hasQueryTimeout = hasQueryTimeout;
     this.queryTimeoutAt = queryTimeoutAt;
     this.maxDictionarySizeForCombiner = combineKeySerdeFactory.getMaxDictionarySize();
+    this.extraBufferAllocator = extraBufferAllocator;
 
     if (numParallelCombineThreads > 1) {
       this.parallelCombiner = new ParallelCombiner<>(
@@ -230,7 +236,8 @@ public class ConcurrentGrouper<KeyType> implements Grouper<KeyType>
                 false,
                 limitSpec,
                 sortHasNonGroupingFields,
-                sliceSize
+                sliceSize,
+                extraBufferAllocator
             );
             grouper.init();
             groupers.add(grouper);
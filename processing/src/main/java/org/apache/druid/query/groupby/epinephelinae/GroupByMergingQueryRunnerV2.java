@@ -83,6 +83,7 @@ public class GroupByMergingQueryRunnerV2 implements QueryRunner<Row>
   private final ObjectMapper spillMapper;
   private final String processingTmpDir;
   private final int mergeBufferSize;
+  private final MergeBufferAllocator mergeBufferAllocator;
 
   public GroupByMergingQueryRunnerV2(
       GroupByQueryConfig config,
@@ -93,7 +94,8 @@ public class GroupByMergingQueryRunnerV2 implements QueryRunner<Row>
       BlockingPool<ByteBuffer> mergeBufferPool,
       int mergeBufferSize,
       ObjectMapper spillMapper,
-      String processingTmpDir
+      String processingTmpDir,
+      MergeBufferAllocator mergeBufferAllocator
   )
   {
     this.config = config;
@@ -105,6 +107,7 @@ public class GroupByMergingQueryRunnerV2 implements QueryRunner<Row>
     this.spillMapper = spillMapper;
     this.processingTmpDir = processingTmpDir;
     this.mergeBufferSize = mergeBufferSize;
+    this.mergeBufferAllocator = mergeBufferAllocator;
   }
 
   @Override
@@ -185,6 +188,11 @@ public class GroupByMergingQueryRunnerV2 implements QueryRunner<Row>
                                                                                       mergeBufferHolders.get(1) :
                                                                                       null;
 
+              final MergeBufferAllocator.QueryAllocator extraBufferAllocator = mergeBufferAllocator.forQuery(
+                  query.getId(),
+                  querySpecificConfig.getMaxExtraMergeBufferBytes()
+              );
+
               Pair<Grouper<RowBasedKey>, Accumulator<AggregateResult, Row>> pair =
                   RowBasedGrouperHelper.createGrouperAccumulatorPair(
                       query,
@@ -201,7 +209,8 @@ public class GroupByMergingQueryRunnerV2 implements QueryRunner<Row>
                       priority,
                       hasTimeout,
                       timeoutAt,
-                      mergeBufferSize
+                      mergeBufferSize,
+                      extraBufferAllocator
                   );
               final Grouper<RowBasedKey> grouper = pair.lhs;
               final Accumulator<AggregateResult, Row> accumulator = pair.rhs;
@@ -290,6 +299,13 @@ public class GroupByMergingQueryRunnerV2 implements QueryRunner<Row>
                       for (Closeable closeable : Lists.reverse(resources)) {
                         CloseQuietly.close(closeable);
                       }
+                      if (extraBufferAllocator.getPeakBytes() > 0) {
+                        log.debug(
+                            "Query [%s] used up to [%,d] bytes of extra merge buffers",
+                            query.getId(),
+                            extraBufferAllocator.getPeakBytes()
+                        );
+                      }
                     }
                   }
               );
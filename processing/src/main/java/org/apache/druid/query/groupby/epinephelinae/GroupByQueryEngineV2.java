@@ -34,9 +34,12 @@ import org.apache.druid.java.util.common.ISE;
 import org.apache.druid.java.util.common.guava.BaseSequence;
 import org.apache.druid.java.util.common.guava.Sequence;
 import org.apache.druid.query.ColumnSelectorPlus;
+import org.apache.druid.query.QueryContexts;
 import org.apache.druid.query.aggregation.AggregatorFactory;
 import org.apache.druid.query.dimension.ColumnSelectorStrategyFactory;
+import org.apache.druid.query.dimension.DictionaryMappedDimensionSpec;
 import org.apache.druid.query.dimension.DimensionSpec;
+import org.apache.druid.query.filter.Filter;
 import org.apache.druid.query.groupby.GroupByQuery;
 import org.apache.druid.query.groupby.GroupByQueryConfig;
 import org.apache.druid.query.groupby.epinephelinae.column.DictionaryBuildingStringGroupByColumnSelectorStrategy;
@@ -47,6 +50,7 @@ import org.apache.druid.query.groupby.epinephelinae.column.GroupByColumnSelector
 import org.apache.druid.query.groupby.epinephelinae.column.LongGroupByColumnSelectorStrategy;
 import org.apache.druid.query.groupby.epinephelinae.column.NullableValueGroupByColumnSelectorStrategy;
 import org.apache.druid.query.groupby.epinephelinae.column.StringGroupByColumnSelectorStrategy;
+import org.apache.druid.query.groupby.epinephelinae.vector.VectorGroupByEngine;
 import org.apache.druid.query.groupby.strategy.GroupByStrategyV2;
 import org.apache.druid.segment.ColumnValueSelector;
 import org.apache.druid.segment.Cursor;
@@ -62,11 +66,14 @@ import org.joda.time.Interval;
 
 import javax.annotation.Nullable;
 import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.nio.ByteBuffer;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
 
 public class GroupByQueryEngineV2
 {
@@ -106,9 +113,31 @@ public class GroupByQueryEngineV2
       throw new IAE("Should only have one interval, got[%s]", intervals);
     }
 
+    final Filter filter = Filters.toFilter(query.getDimFilter());
+    final Interval interval = intervals.get(0);
+
+    final String fudgeTimestampString = NullHandling.emptyToNullIfNeeded(
+        query.getContextValue(GroupByStrategyV2.CTX_KEY_FUDGE_TIMESTAMP, null)
+    );
+
+    final DateTime fudgeTimestamp = fudgeTimestampString == null
+                                    ? null
+                                    : DateTimes.utc(Long.parseLong(fudgeTimestampString));
+
+    final boolean doVectorize = QueryContexts.getVectorize(query).shouldVectorize(
+        VectorGroupByEngine.canVectorize(query, storageAdapter, filter)
+    );
+
+    if (doVectorize) {
+      final ResourceHolder<ByteBuffer> bufferHolder = intermediateResultsBufferPool.take();
+      return VectorGroupByEngine
+          .process(query, storageAdapter, bufferHolder.get(), fudgeTimestamp, filter, interval, querySpecificConfig)
+          .withBaggage(bufferHolder);
+    }
+
     final Sequence<Cursor> cursors = storageAdapter.makeCursors(
-        Filters.toFilter(query.getDimFilter()),
-        intervals.get(0),
+        filter,
+        interval,
         query.getVirtualColumns(),
         query.getGranularity(),
         false,
@@ -123,15 +152,26 @@ public class GroupByQueryEngineV2
           return columnCapabilities != null && !columnCapabilities.hasMultipleValues();
         });
 
-    final ResourceHolder<ByteBuffer> bufferHolder = intermediateResultsBufferPool.take();
-
-    final String fudgeTimestampString = NullHandling.emptyToNullIfNeeded(
-        query.getContextValue(GroupByStrategyV2.CTX_KEY_FUDGE_TIMESTAMP, null)
+    // Lookups on dictionary-encoded columns are applied once to every dictionary value, so that each looked up value
+    // has a single dictionary id, and the grouping key doesn't contain the same value under different ids
+    final double estimatedRowsToScan = DictionaryMappedDimensionSpec.estimateRowsToScan(
+        storageAdapter,
+        intervals,
+        filter != null
     );
+    final List<DimensionSpec> dimensionSpecs = query
+        .getDimensions()
+        .stream()
+        .map(dimensionSpec -> DictionaryMappedDimensionSpec.mapIfPossible(
+            dimensionSpec,
+            query.getVirtualColumns(),
+            storageAdapter.getColumnCapabilities(dimensionSpec.getDimension()),
+            storageAdapter.getDimensionCardinality(dimensionSpec.getDimension()),
+            estimatedRowsToScan
+        ))
+        .collect(Collectors.toList());
 
-    final DateTime fudgeTimestamp = fudgeTimestampString == null
-                                    ? null
-                                    : DateTimes.utc(Long.parseLong(fudgeTimestampString));
+    final ResourceHolder<ByteBuffer> bufferHolder = intermediateResultsBufferPool.take();
 
     return cursors.flatMap(
         cursor -> new BaseSequence<>(
@@ -143,7 +183,7 @@ public class GroupByQueryEngineV2
                 ColumnSelectorPlus<GroupByColumnSelectorStrategy>[] selectorPlus = DimensionHandlerUtils
                     .createColumnSelectorPluses(
                         STRATEGY_FACTORY,
-                        query.getDimensions(),
+                        dimensionSpecs,
                         cursor.getColumnSelectorFactory()
                     );
                 GroupByColumnSelectorPlus[] dims = createGroupBySelectorPlus(selectorPlus);
@@ -163,6 +203,21 @@ public class GroupByQueryEngineV2
                       // There must be 0 or 1 dimension if isArrayAggregateApplicable() is true
                       dims.length == 0 ? 1 : storageAdapter.getDimensionCardinality(dims[0].getName())
                   );
+                } else if (isCompositeArrayAggregateApplicable(
+                    querySpecificConfig,
+                    query,
+                    dims,
+                    allSingleValueDims,
+                    buffer
+                )) {
+                  return new CompositeArrayAggregateIterator(
+                      query,
+                      querySpecificConfig,
+                      cursor,
+                      buffer,
+                      fudgeTimestamp,
+                      dims
+                  );
                 } else {
                   return new HashAggregateIterator(
                       query,
@@ -232,6 +287,60 @@ public class GroupByQueryEngineV2
     return false;
   }
 
+  /**
+   * Checks whether {@link CompositeArrayAggregateIterator} can be used, i.e., the grouping key consists of two or more
+   * single-valued string dimensions of known cardinalities, and an array slot for every combination of their values
+   * fits in the buffer.
+   */
+  private static boolean isCompositeArrayAggregateApplicable(
+      GroupByQueryConfig querySpecificConfig,
+      GroupByQuery query,
+      GroupByColumnSelectorPlus[] dims,
+      boolean allSingleValueDims,
+      ByteBuffer buffer
+  )
+  {
+    if (querySpecificConfig.isForceHashAggregation() || dims.length < 2 || !allSingleValueDims) {
+      return false;
+    }
+
+    final long compositeCardinality = computeCompositeCardinality(dims);
+    if (compositeCardinality < 0) {
+      return false;
+    }
+
+    // BufferArrayGrouper adds a slot for the missing value, which is the composite key of all-missing values here
+    final long requiredBufferCapacity = BufferArrayGrouper.requiredBufferCapacity(
+        (int) compositeCardinality - 1,
+        query.getAggregatorSpecs().toArray(new AggregatorFactory[0])
+    );
+    return requiredBufferCapacity <= buffer.capacity();
+  }
+
+  /**
+   * Returns the number of possible combinations of the values of the given dimensions, counting a missing value as
+   * one more value of each dimension, or -1 if some dimension is not a dictionary-encoded string dimension of a known
+   * cardinality or the number of combinations doesn't fit in an int.
+   */
+  private static long computeCompositeCardinality(GroupByColumnSelectorPlus[] dims)
+  {
+    long compositeCardinality = 1;
+    for (GroupByColumnSelectorPlus dim : dims) {
+      if (!(dim.getColumnSelectorStrategy() instanceof StringGroupByColumnSelectorStrategy)) {
+        return -1;
+      }
+      final int cardinality = ((DimensionSelector) dim.getSelector()).getValueCardinality();
+      if (cardinality <= 0) {
+        return -1;
+      }
+      compositeCardinality *= cardinality + 1;
+      if (compositeCardinality > Integer.MAX_VALUE) {
+        return -1;
+      }
+    }
+    return compositeCardinality;
+  }
+
   private static class GroupByStrategyFactory implements ColumnSelectorStrategyFactory<GroupByColumnSelectorStrategy>
   {
     @Override
@@ -687,7 +796,110 @@ public class GroupByQueryEngineV2
     }
   }
 
-  private static void convertRowTypesToOutputTypes(List<DimensionSpec> dimensionSpecs, Map<String, Object> rowMap)
+  /**
+   * Array-based aggregation for a grouping key of multiple single-valued string dimensions. The dictionary ids of the
+   * dimensions are combined into a single int, using (cardinality + 1) as the radix of each dimension so that a
+   * missing value can be represented too, and the combined key is used as the index into a {@link BufferArrayGrouper}.
+   * This avoids writing, hashing and comparing a key buffer for every row.
+   */
+  private static class CompositeArrayAggregateIterator extends GroupByEngineIterator<Integer>
+  {
+    private final DimensionSelector[] selectors;
+    private final int[] cardinalities;
+    private final int[] multipliers;
+    private final int compositeCardinality;
+
+    public CompositeArrayAggregateIterator(
+        GroupByQuery query,
+        GroupByQueryConfig querySpecificConfig,
+        Cursor cursor,
+        ByteBuffer buffer,
+        DateTime fudgeTimestamp,
+        GroupByColumnSelectorPlus[] dims
+    )
+    {
+      super(query, querySpecificConfig, cursor, buffer, fudgeTimestamp, dims, true);
+
+      selectors = new DimensionSelector[dims.length];
+      cardinalities = new int[dims.length];
+      multipliers = new int[dims.length];
+
+      int multiplier = 1;
+      for (int i = dims.length - 1; i >= 0; i--) {
+        // dims are always indexed string dimensions, see isCompositeArrayAggregateApplicable()
+        selectors[i] = (DimensionSelector) dims[i].getSelector();
+        cardinalities[i] = selectors[i].getValueCardinality();
+        multipliers[i] = multiplier;
+        multiplier *= cardinalities[i] + 1;
+      }
+      compositeCardinality = multiplier;
+    }
+
+    @Override
+    protected IntGrouper newGrouper()
+    {
+      // BufferArrayGrouper reserves index 0 for the missing value and shifts all keys by one, so the composite key
+      // of all-missing values (0) is passed in as -1.
+      return new BufferArrayGrouper(
+          Suppliers.ofInstance(buffer),
+          cursor.getColumnSelectorFactory(),
+          query.getAggregatorSpecs()
+               .toArray(new AggregatorFactory[0]),
+          compositeCardinality - 1
+      );
+    }
+
+    @Override
+    protected void aggregateSingleValueDims(Grouper<Integer> grouper)
+    {
+      aggregateSingleValueDims((IntGrouper) grouper);
+    }
+
+    @Override
+    protected void aggregateMultiValueDims(Grouper<Integer> grouper)
+    {
+      throw new ISE("Composite array aggregation is not available for multi-valued dimensions");
+    }
+
+    private void aggregateSingleValueDims(IntGrouper grouper)
+    {
+      while (!cursor.isDone()) {
+        int compositeKey = 0;
+        for (int i = 0; i < selectors.length; i++) {
+          final int id = getSingleValue(selectors[i].getRow());
+          if (id >= cardinalities[i]) {
+            throw new ISE(
+                "Dictionary id[%d] of dimension[%s] is out of its cardinality[%d]",
+                id,
+                dims[i].getName(),
+                cardinalities[i]
+            );
+          }
+          compositeKey += (id + 1) * multipliers[i];
+        }
+        if (!grouper.aggregate(compositeKey - 1).isOk()) {
+          return;
+        }
+        cursor.advance();
+      }
+    }
+
+    @Override
+    protected void putToMap(Integer key, Map<String, Object> map)
+    {
+      final int compositeKey = key + 1;
+      for (int i = 0; i < dims.length; i++) {
+        final int id = (compositeKey / multipliers[i]) % (cardinalities[i] + 1) - 1;
+        if (id != GroupByColumnSelectorStrategy.GROUP_BY_MISSING_VALUE) {
+          map.put(dims[i].getOutputName(), selectors[i].lookupName(id));
+        } else {
+          map.put(dims[i].getOutputName(), NullHandling.defaultStringValue());
+        }
+      }
+    }
+  }
+
+  public static void convertRowTypesToOutputTypes(List<DimensionSpec> dimensionSpecs, Map<String, Object> rowMap)
   {
     for (DimensionSpec dimSpec : dimensionSpecs) {
       final ValueType outputType = dimSpec.getOutputType();
@@ -743,6 +955,20 @@ public class GroupByQueryEngineV2
       return dup.slice();
     }
 
+    @Override
+    public void writeSpilledKey(ByteBuffer key, DataOutput out)
+    {
+      // Per-segment groupers never spill
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ByteBuffer readSpilledKey(DataInput in)
+    {
+      // Per-segment groupers never spill
+      throw new UnsupportedOperationException();
+    }
+
     @Override
     public Grouper.BufferComparator bufferComparator()
     {
@@ -26,6 +26,9 @@ import org.apache.druid.java.util.common.parsers.CloseableIterator;
 import org.apache.druid.query.aggregation.AggregatorFactory;
 
 import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -259,6 +262,26 @@ public interface Grouper<KeyType> extends Closeable
      */
     T fromByteBuffer(ByteBuffer buffer, int position);
 
+    /**
+     * Write a key to a spill file. Unlike {@link #toByteBuffer(Object)}, the written form must not depend on the state
+     * of this KeySerde, such as its dictionary, since that is reset after spilling. Will be called by
+     * {@link SpillingGrouper} when spilling.
+     *
+     * @param key key object
+     * @param out spill file
+     */
+    void writeSpilledKey(T key, DataOutput out) throws IOException;
+
+    /**
+     * Read a key written by {@link #writeSpilledKey(Object, DataOutput)}, possibly by another KeySerde created by the
+     * same {@link KeySerdeFactory}.
+     *
+     * @param in spill file
+     *
+     * @return key object
+     */
+    T readSpilledKey(DataInput in) throws IOException;
+
     /**
      * Return an object that knows how to compare two serialized keys. Will be called by the
      * {@link #iterator(boolean)} method if sorting is enabled.
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.groupby.epinephelinae;
+
+import com.google.common.base.Preconditions;
+import org.apache.druid.java.util.common.ByteBufferUtils;
+import org.apache.druid.java.util.common.logger.Logger;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out direct buffers from a fixed budget of direct memory, on top of the merge buffers of the
+ * {@link org.apache.druid.guice.annotations.Merging} pool. {@link SpillingGrouper} uses them to move a full hash table
+ * into a bigger buffer before resorting to spilling to disk, so that the merge buffers themselves can be kept small
+ * without making every large query spill. Thread-safe.
+ *
+ * Memory is accounted for per query through {@link QueryAllocator}, which also limits how much of the budget a single
+ * query can take.
+ */
+public class MergeBufferAllocator
+{
+  private static final Logger log = new Logger(MergeBufferAllocator.class);
+
+  private final long maxBytes;
+  private final AtomicLong usedBytes = new AtomicLong();
+  private final AtomicLong numAllocations = new AtomicLong();
+  private final AtomicLong numRejections = new AtomicLong();
+
+  /**
+   * @param maxBytes total size of the buffers that can be allocated at the same time. 0 disables allocation.
+   */
+  public MergeBufferAllocator(long maxBytes)
+  {
+    Preconditions.checkArgument(maxBytes >= 0, "maxBytes must be non-negative");
+    this.maxBytes = maxBytes;
+  }
+
+  public QueryAllocator forQuery(String queryId, long maxQueryBytes)
+  {
+    return new QueryAllocator(queryId, maxQueryBytes);
+  }
+
+  public long getMaxBytes()
+  {
+    return maxBytes;
+  }
+
+  public long getUsedBytes()
+  {
+    return usedBytes.get();
+  }
+
+  /**
+   * Number of buffers allocated since startup.
+   */
+  public long getNumAllocations()
+  {
+    return numAllocations.get();
+  }
+
+  /**
+   * Number of buffers that could not be allocated since startup, because the budget, either the total one or that of
+   * the query asking for the buffer, was exhausted.
+   */
+  public long getNumRejections()
+  {
+    return numRejections.get();
+  }
+
+  @Nullable
+  private ByteBuffer allocate(int sizeBytes)
+  {
+    while (true) {
+      final long currUsedBytes = usedBytes.get();
+      if (currUsedBytes + sizeBytes > maxBytes) {
+        numRejections.incrementAndGet();
+        return null;
+      }
+      if (usedBytes.compareAndSet(currUsedBytes, currUsedBytes + sizeBytes)) {
+        break;
+      }
+    }
+
+    try {
+      final ByteBuffer buffer = ByteBuffer.allocateDirect(sizeBytes);
+      numAllocations.incrementAndGet();
+      return buffer;
+    }
+    catch (OutOfMemoryError e) {
+      // -XX:MaxDirectMemorySize doesn't leave room for the configured budget
+      log.warn(e, "Could not allocate extra merge buffer of [%,d] bytes", sizeBytes);
+      usedBytes.addAndGet(-sizeBytes);
+      numRejections.incrementAndGet();
+      return null;
+    }
+  }
+
+  private void free(ByteBuffer buffer)
+  {
+    final int sizeBytes = buffer.capacity();
+    ByteBufferUtils.free(buffer);
+    usedBytes.addAndGet(-sizeBytes);
+  }
+
+  /**
+   * Allocates buffers on behalf of a single query, and keeps track of how much memory the query uses.
+   */
+  public class QueryAllocator
+  {
+    private final String queryId;
+    private final long maxQueryBytes;
+    private final Set<ByteBuffer> buffers = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long queryUsedBytes = 0;
+    private long queryPeakBytes = 0;
+
+    private QueryAllocator(String queryId, long maxQueryBytes)
+    {
+      this.queryId = queryId;
+      this.maxQueryBytes = maxQueryBytes;
+    }
+
+    /**
+     * Returns a new direct buffer of the given size, or null if the query or the whole process has run out of extra
+     * merge buffer memory. The buffer must be returned with {@link #free}. Its contents are undefined.
+     */
+    @Nullable
+    public synchronized ByteBuffer allocate(int sizeBytes)
+    {
+      if (maxBytes == 0) {
+        return null;
+      }
+      if (queryUsedBytes + sizeBytes > maxQueryBytes) {
+        numRejections.incrementAndGet();
+        return null;
+      }
+
+      final ByteBuffer buffer = MergeBufferAllocator.this.allocate(sizeBytes);
+      if (buffer != null) {
+        buffers.add(buffer);
+        queryUsedBytes += sizeBytes;
+        queryPeakBytes = Math.max(queryPeakBytes, queryUsedBytes);
+      }
+      return buffer;
+    }
+
+    public synchronized void free(ByteBuffer buffer)
+    {
+      Preconditions.checkArgument(buffers.remove(buffer), "buffer was not allocated by this query");
+      queryUsedBytes -= buffer.capacity();
+      MergeBufferAllocator.this.free(buffer);
+    }
+
+    public String getQueryId()
+    {
+      return queryId;
+    }
+
+    public synchronized long getUsedBytes()
+    {
+      return queryUsedBytes;
+    }
+
+    /**
+     * The maximum memory this query held at the same time.
+     */
+    public synchronized long getPeakBytes()
+    {
+      return queryPeakBytes;
+    }
+  }
+}
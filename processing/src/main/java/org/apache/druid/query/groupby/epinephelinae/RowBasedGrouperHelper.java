@@ -72,6 +72,9 @@ import org.joda.time.DateTime;
 
 import javax.annotation.Nullable;
 import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -124,7 +127,8 @@ public class RowBasedGrouperHelper
         UNKNOWN_THREAD_PRIORITY,
         false,
         UNKNOWN_TIMEOUT,
-        mergeBufferSize
+        mergeBufferSize,
+        null
     );
   }
 
@@ -148,7 +152,8 @@ public class RowBasedGrouperHelper
       final int priority,
       final boolean hasQueryTimeout,
       final long queryTimeoutAt,
-      final int mergeBufferSize
+      final int mergeBufferSize,
+      @Nullable final MergeBufferAllocator.QueryAllocator extraBufferAllocator
   )
   {
     // concurrencyHint >= 1 for concurrent groupers, -1 for single-threaded
@@ -202,7 +207,8 @@ public class RowBasedGrouperHelper
           true,
           limitSpec,
           sortHasNonGroupingFields,
-          mergeBufferSize
+          mergeBufferSize,
+          extraBufferAllocator
       );
     } else {
       final Grouper.KeySerdeFactory<RowBasedKey> combineKeySerdeFactory = new RowBasedKeySerdeFactory(
@@ -231,7 +237,8 @@ public class RowBasedGrouperHelper
           grouperSorter,
           priority,
           hasQueryTimeout,
-          queryTimeoutAt
+          queryTimeoutAt,
+          extraBufferAllocator
       );
     }
 
@@ -1093,6 +1100,26 @@ public class RowBasedGrouperHelper
       return new RowBasedKey(key);
     }
 
+    @Override
+    public void writeSpilledKey(RowBasedKey key, DataOutput out) throws IOException
+    {
+      // The number of key elements is the same for all keys, write their values only. Strings are written as they
+      // are, since the dictionary is reset after spilling.
+      for (Object value : key.getKey()) {
+        SpillSerde.writeValue(out, value);
+      }
+    }
+
+    @Override
+    public RowBasedKey readSpilledKey(DataInput in) throws IOException
+    {
+      final Comparable[] key = new Comparable[includeTimestamp ? dimCount + 1 : dimCount];
+      for (int i = 0; i < key.length; i++) {
+        key[i] = (Comparable) SpillSerde.readValue(in);
+      }
+      return new RowBasedKey(key);
+    }
+
     @Override
     public Grouper.BufferComparator bufferComparator()
     {
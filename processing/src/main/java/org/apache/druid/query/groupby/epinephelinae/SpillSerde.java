@@ -0,0 +1,288 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.groupby.epinephelinae;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.druid.java.util.common.IAE;
+import org.apache.druid.java.util.common.ISE;
+import org.apache.druid.java.util.common.StringUtils;
+import org.apache.druid.java.util.common.parsers.CloseableIterator;
+import org.apache.druid.query.BaseQuery;
+import org.apache.druid.query.aggregation.AggregatorFactory;
+
+import javax.annotation.Nullable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary format of the files written by {@link SpillingGrouper}. A file is a sequence of records, each starting with
+ * {@link #RECORD}, and ends with {@link #END}.
+ *
+ * Entries are written as their key, using {@link Grouper.KeySerde#writeSpilledKey}, followed by their values. Values
+ * that are longs, floats, doubles or nulls are written as they are, other values are written as length-prefixed
+ * bytes of the spill ObjectMapper and deserialized with {@link AggregatorFactory#deserialize} when read back.
+ * Dictionaries are written as length-prefixed UTF-8 strings.
+ */
+class SpillSerde<KeyType>
+{
+  private static final byte END = 0;
+  private static final byte RECORD = 1;
+
+  private static final byte NULL_VALUE = 0;
+  private static final byte LONG_VALUE = 1;
+  private static final byte FLOAT_VALUE = 2;
+  private static final byte DOUBLE_VALUE = 3;
+  private static final byte STRING_VALUE = 4;
+  private static final byte OBJECT_VALUE = 5;
+
+  private final Grouper.KeySerde<KeyType> keySerde;
+  private final AggregatorFactory[] aggregatorFactories;
+  private final ObjectMapper spillMapper;
+
+  SpillSerde(
+      final Grouper.KeySerde<KeyType> keySerde,
+      final AggregatorFactory[] aggregatorFactories,
+      final ObjectMapper spillMapper
+  )
+  {
+    this.keySerde = keySerde;
+    this.aggregatorFactories = aggregatorFactories;
+    this.spillMapper = spillMapper;
+  }
+
+  void writeEntries(final Iterator<Grouper.Entry<KeyType>> entries, final OutputStream out) throws IOException
+  {
+    final DataOutputStream dataOut = new DataOutputStream(out);
+    while (entries.hasNext()) {
+      BaseQuery.checkInterrupted();
+
+      final Grouper.Entry<KeyType> entry = entries.next();
+      dataOut.writeByte(RECORD);
+      keySerde.writeSpilledKey(entry.getKey(), dataOut);
+      for (Object value : entry.getValues()) {
+        writeAggregatedValue(dataOut, value);
+      }
+    }
+    dataOut.writeByte(END);
+    dataOut.flush();
+  }
+
+  CloseableIterator<Grouper.Entry<KeyType>> readEntries(final InputStream in)
+  {
+    return new RecordIterator<Grouper.Entry<KeyType>>(in)
+    {
+      @Override
+      Grouper.Entry<KeyType> readRecord(DataInputStream dataIn) throws IOException
+      {
+        final KeyType key = keySerde.readSpilledKey(dataIn);
+        final Object[] values = new Object[aggregatorFactories.length];
+        for (int i = 0; i < values.length; i++) {
+          values[i] = readAggregatedValue(dataIn, aggregatorFactories[i]);
+        }
+        return new Grouper.Entry<>(key, values);
+      }
+    };
+  }
+
+  static void writeStrings(final Iterator<String> strings, final OutputStream out) throws IOException
+  {
+    final DataOutputStream dataOut = new DataOutputStream(out);
+    while (strings.hasNext()) {
+      BaseQuery.checkInterrupted();
+
+      dataOut.writeByte(RECORD);
+      writeBytes(dataOut, StringUtils.toUtf8(strings.next()));
+    }
+    dataOut.writeByte(END);
+    dataOut.flush();
+  }
+
+  static CloseableIterator<String> readStrings(final InputStream in)
+  {
+    return new RecordIterator<String>(in)
+    {
+      @Override
+      String readRecord(DataInputStream dataIn) throws IOException
+      {
+        return StringUtils.fromUtf8(readBytes(dataIn));
+      }
+    };
+  }
+
+  /**
+   * Writes a value that is null, or a {@link Long}, {@link Float}, {@link Double} or {@link String}, which are the
+   * types of the elements of grouping keys.
+   */
+  static void writeValue(final DataOutput out, @Nullable final Object value) throws IOException
+  {
+    if (value == null) {
+      out.writeByte(NULL_VALUE);
+    } else if (value instanceof Long) {
+      out.writeByte(LONG_VALUE);
+      out.writeLong((Long) value);
+    } else if (value instanceof Float) {
+      out.writeByte(FLOAT_VALUE);
+      out.writeFloat((Float) value);
+    } else if (value instanceof Double) {
+      out.writeByte(DOUBLE_VALUE);
+      out.writeDouble((Double) value);
+    } else if (value instanceof String) {
+      out.writeByte(STRING_VALUE);
+      writeBytes(out, StringUtils.toUtf8((String) value));
+    } else {
+      throw new IAE("Cannot spill value of type[%s]", value.getClass().getName());
+    }
+  }
+
+  /**
+   * Reads a value written by {@link #writeValue}.
+   */
+  @Nullable
+  static Object readValue(final DataInput in) throws IOException
+  {
+    return readPrimitiveValue(in, in.readByte());
+  }
+
+  private void writeAggregatedValue(final DataOutput out, @Nullable final Object value) throws IOException
+  {
+    if (value == null || value instanceof Long || value instanceof Float || value instanceof Double) {
+      writeValue(out, value);
+    } else {
+      out.writeByte(OBJECT_VALUE);
+      writeBytes(out, spillMapper.writeValueAsBytes(value));
+    }
+  }
+
+  @Nullable
+  private Object readAggregatedValue(final DataInput in, final AggregatorFactory aggregatorFactory) throws IOException
+  {
+    final byte type = in.readByte();
+    if (type != OBJECT_VALUE) {
+      return readPrimitiveValue(in, type);
+    }
+
+    final Object deserialized = aggregatorFactory.deserialize(spillMapper.readValue(readBytes(in), Object.class));
+    if (deserialized instanceof Integer) {
+      // Hack to satisfy the groupBy unit tests; perhaps we could do better by adjusting Jackson config.
+      return ((Integer) deserialized).longValue();
+    }
+    return deserialized;
+  }
+
+  @Nullable
+  private static Object readPrimitiveValue(final DataInput in, final byte type) throws IOException
+  {
+    switch (type) {
+      case NULL_VALUE:
+        return null;
+      case LONG_VALUE:
+        return in.readLong();
+      case FLOAT_VALUE:
+        return in.readFloat();
+      case DOUBLE_VALUE:
+        return in.readDouble();
+      case STRING_VALUE:
+        return StringUtils.fromUtf8(readBytes(in));
+      default:
+        throw new ISE("Unexpected value type[%d]", type);
+    }
+  }
+
+  private static void writeBytes(final DataOutput out, final byte[] bytes) throws IOException
+  {
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static byte[] readBytes(final DataInput in) throws IOException
+  {
+    final byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  private abstract static class RecordIterator<T> implements CloseableIterator<T>
+  {
+    private final DataInputStream dataIn;
+    private boolean initialized = false;
+    private boolean hasNext;
+
+    RecordIterator(final InputStream in)
+    {
+      this.dataIn = new DataInputStream(in);
+    }
+
+    abstract T readRecord(DataInputStream dataIn) throws IOException;
+
+    @Override
+    public boolean hasNext()
+    {
+      if (!initialized) {
+        hasNext = readMarker();
+        initialized = true;
+      }
+      return hasNext;
+    }
+
+    @Override
+    public T next()
+    {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      try {
+        final T record = readRecord(dataIn);
+        hasNext = readMarker();
+        return record;
+      }
+      catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+      dataIn.close();
+    }
+
+    private boolean readMarker()
+    {
+      try {
+        final byte marker = dataIn.readByte();
+        if (marker != RECORD && marker != END) {
+          throw new ISE("Corrupted spill file, unexpected marker[%d]", marker);
+        }
+        return marker == RECORD;
+      }
+      catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+}
@@ -19,25 +19,23 @@
 
 package org.apache.druid.query.groupby.epinephelinae;
 
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.base.Function;
 import com.google.common.base.Supplier;
 import com.google.common.base.Throwables;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
+import com.google.common.collect.PeekingIterator;
 import net.jpountz.lz4.LZ4BlockInputStream;
 import net.jpountz.lz4.LZ4BlockOutputStream;
 import org.apache.druid.java.util.common.CloseableIterators;
 import org.apache.druid.java.util.common.io.Closer;
 import org.apache.druid.java.util.common.logger.Logger;
 import org.apache.druid.java.util.common.parsers.CloseableIterator;
-import org.apache.druid.query.BaseQuery;
 import org.apache.druid.query.aggregation.AggregatorFactory;
 import org.apache.druid.query.groupby.orderby.DefaultLimitSpec;
 import org.apache.druid.segment.ColumnSelectorFactory;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -52,7 +50,9 @@ import java.util.Set;
 /**
  * Grouper based around a single underlying {@link BufferHashGrouper}. Not thread-safe.
  *
- * When the underlying grouper is full, its contents are sorted and written to temporary files using "spillMapper".
+ * When the underlying grouper is full, it is moved into a bigger buffer if a {@link MergeBufferAllocator} is given and
+ * has memory left. Otherwise, its contents are sorted and written to temporary files in the format of
+ * {@link SpillSerde}, using "spillMapper" only for values of complex types.
  */
 public class SpillingGrouper<KeyType> implements Grouper<KeyType>
 {
@@ -64,7 +64,7 @@ public class SpillingGrouper<KeyType> implements Grouper<KeyType>
   );
   private final KeySerde<KeyType> keySerde;
   private final LimitedTemporaryStorage temporaryStorage;
-  private final ObjectMapper spillMapper;
+  private final SpillSerde<KeyType> spillSerde;
   private final AggregatorFactory[] aggregatorFactories;
   private final Comparator<Grouper.Entry<KeyType>> keyObjComparator;
   private final Comparator<Grouper.Entry<KeyType>> defaultOrderKeyObjComparator;
@@ -73,6 +73,12 @@ public class SpillingGrouper<KeyType> implements Grouper<KeyType>
   private final List<File> dictionaryFiles = Lists.newArrayList();
   private final boolean sortHasNonGroupingFields;
 
+  @Nullable
+  private final MergeBufferAllocator.QueryAllocator extraBufferAllocator;
+  // buffer the underlying grouper was moved into after filling up the original buffer, if any
+  @Nullable
+  private ByteBuffer extraBuffer = null;
+
   private boolean spillingAllowed = false;
 
   public SpillingGrouper(
@@ -90,6 +96,45 @@ public class SpillingGrouper<KeyType> implements Grouper<KeyType>
       final boolean sortHasNonGroupingFields,
       final int mergeBufferSize
   )
+  {
+    this(
+        bufferSupplier,
+        keySerdeFactory,
+        columnSelectorFactory,
+        aggregatorFactories,
+        bufferGrouperMaxSize,
+        bufferGrouperMaxLoadFactor,
+        bufferGrouperInitialBuckets,
+        temporaryStorage,
+        spillMapper,
+        spillingAllowed,
+        limitSpec,
+        sortHasNonGroupingFields,
+        mergeBufferSize,
+        null
+    );
+  }
+
+  /**
+   * @param extraBufferAllocator if not null, a full hash table is first moved into a buffer twice as big taken from
+   *                             this allocator, and only spilled if no such buffer is available
+   */
+  public SpillingGrouper(
+      final Supplier<ByteBuffer> bufferSupplier,
+      final KeySerdeFactory<KeyType> keySerdeFactory,
+      final ColumnSelectorFactory columnSelectorFactory,
+      final AggregatorFactory[] aggregatorFactories,
+      final int bufferGrouperMaxSize,
+      final float bufferGrouperMaxLoadFactor,
+      final int bufferGrouperInitialBuckets,
+      final LimitedTemporaryStorage temporaryStorage,
+      final ObjectMapper spillMapper,
+      final boolean spillingAllowed,
+      final DefaultLimitSpec limitSpec,
+      final boolean sortHasNonGroupingFields,
+      final int mergeBufferSize,
+      @Nullable final MergeBufferAllocator.QueryAllocator extraBufferAllocator
+  )
   {
     this.keySerde = keySerdeFactory.factorize();
     this.keyObjComparator = keySerdeFactory.objectComparator(false);
@@ -145,9 +190,10 @@ public class SpillingGrouper<KeyType> implements Grouper<KeyType>
     }
     this.aggregatorFactories = aggregatorFactories;
     this.temporaryStorage = temporaryStorage;
-    this.spillMapper = spillMapper;
+    this.spillSerde = new SpillSerde<>(keySerde, aggregatorFactories, spillMapper);
     this.spillingAllowed = spillingAllowed;
     this.sortHasNonGroupingFields = sortHasNonGroupingFields;
+    this.extraBufferAllocator = extraBufferAllocator;
   }
 
   @Override
@@ -165,7 +211,11 @@ public class SpillingGrouper<KeyType> implements Grouper<KeyType>
   @Override
   public AggregateResult aggregate(KeyType key, int keyHash)
   {
-    final AggregateResult result = grouper.aggregate(key, keyHash);
+    AggregateResult result = grouper.aggregate(key, keyHash);
+
+    if (result == Groupers.HASH_TABLE_FULL && grow()) {
+      result = grouper.aggregate(key, keyHash);
+    }
 
     if (result.isOk() || !spillingAllowed || temporaryStorage.maxSize() <= 0) {
       return result;
@@ -198,6 +248,40 @@ public class SpillingGrouper<KeyType> implements Grouper<KeyType>
   {
     grouper.close();
     deleteFiles();
+    if (extraBuffer != null) {
+      extraBufferAllocator.free(extraBuffer);
+      extraBuffer = null;
+    }
+  }
+
+  /**
+   * Tries to move the underlying grouper into a buffer twice as big as its current one.
+   *
+   * @return true if the grouper was moved
+   */
+  private boolean grow()
+  {
+    if (extraBufferAllocator == null || !(grouper instanceof BufferHashGrouper)) {
+      return false;
+    }
+
+    final BufferHashGrouper<KeyType> hashGrouper = (BufferHashGrouper<KeyType>) grouper;
+    final long newCapacity = 2L * hashGrouper.getBufferCapacity();
+    if (!hashGrouper.canGrow() || newCapacity > Integer.MAX_VALUE) {
+      return false;
+    }
+
+    final ByteBuffer newBuffer = extraBufferAllocator.allocate((int) newCapacity);
+    if (newBuffer == null) {
+      return false;
+    }
+
+    hashGrouper.growInto(newBuffer);
+    if (extraBuffer != null) {
+      extraBufferAllocator.free(extraBuffer);
+    }
+    extraBuffer = newBuffer;
+    return true;
   }
 
   /**
@@ -214,9 +298,8 @@ public class SpillingGrouper<KeyType> implements Grouper<KeyType>
 
     for (File dictFile : dictionaryFiles) {
       try (
-          final MappingIterator<String> dictIterator = spillMapper.readValues(
-              spillMapper.getFactory().createParser(new LZ4BlockInputStream(new FileInputStream(dictFile))),
-              spillMapper.getTypeFactory().constructType(String.class)
+          final CloseableIterator<String> dictIterator = SpillSerde.readStrings(
+              new LZ4BlockInputStream(new FileInputStream(dictFile))
           )
       ) {
         while (dictIterator.hasNext()) {
@@ -245,79 +328,95 @@ public class SpillingGrouper<KeyType> implements Grouper<KeyType>
 
     final Closer closer = Closer.create();
     for (final File file : files) {
-      final MappingIterator<Entry<KeyType>> fileIterator = read(file, keySerde.keyClazz());
-      iterators.add(
-          CloseableIterators.withEmptyBaggage(
-              Iterators.transform(
-                  fileIterator,
-                  new Function<Entry<KeyType>, Entry<KeyType>>()
-                  {
-                    @Override
-                    public Entry<KeyType> apply(Entry<KeyType> entry)
-                    {
-                      final Object[] deserializedValues = new Object[entry.getValues().length];
-                      for (int i = 0; i < deserializedValues.length; i++) {
-                        deserializedValues[i] = aggregatorFactories[i].deserialize(entry.getValues()[i]);
-                        if (deserializedValues[i] instanceof Integer) {
-                          // Hack to satisfy the groupBy unit tests; perhaps we could do better by adjusting Jackson config.
-                          deserializedValues[i] = ((Integer) deserializedValues[i]).longValue();
-                        }
-                      }
-                      return new Entry<>(entry.getKey(), deserializedValues);
-                    }
-                  }
-              )
-          )
-      );
+      final CloseableIterator<Entry<KeyType>> fileIterator = read(file);
+      iterators.add(CloseableIterators.withEmptyBaggage(fileIterator));
       closer.register(fileIterator);
     }
 
     final Iterator<Entry<KeyType>> baseIterator;
-    if (sortHasNonGroupingFields) {
-      baseIterator = CloseableIterators.mergeSorted(iterators, defaultOrderKeyObjComparator);
+    if (sortHasNonGroupingFields || sorted) {
+      final Iterator<Entry<KeyType>> mergedIterator = CloseableIterators.mergeSorted(
+          iterators,
+          sortHasNonGroupingFields ? defaultOrderKeyObjComparator : keyObjComparator
+      );
+      baseIterator = files.isEmpty() ? mergedIterator : combineEqualKeys(mergedIterator);
     } else {
-      baseIterator = sorted ?
-                     CloseableIterators.mergeSorted(iterators, keyObjComparator) :
-                     CloseableIterators.concat(iterators);
+      baseIterator = CloseableIterators.concat(iterators);
     }
 
     return CloseableIterators.wrap(baseIterator, closer);
   }
 
+  /**
+   * Combines the values of consecutive entries with the same key, which are the partial aggregates of a key that was
+   * spilled more than once. Entries are combined in place.
+   */
+  private Iterator<Entry<KeyType>> combineEqualKeys(final Iterator<Entry<KeyType>> sortedIterator)
+  {
+    final PeekingIterator<Entry<KeyType>> peekingIterator = Iterators.peekingIterator(sortedIterator);
+
+    return new Iterator<Entry<KeyType>>()
+    {
+      @Override
+      public boolean hasNext()
+      {
+        return peekingIterator.hasNext();
+      }
+
+      @Override
+      public Entry<KeyType> next()
+      {
+        final Entry<KeyType> entry = peekingIterator.next();
+        final Object[] values = entry.getValues();
+
+        while (peekingIterator.hasNext() && entry.getKey().equals(peekingIterator.peek().getKey())) {
+          final Object[] otherValues = peekingIterator.next().getValues();
+          for (int i = 0; i < values.length; i++) {
+            values[i] = aggregatorFactories[i].combine(values[i], otherValues[i]);
+          }
+        }
+
+        return entry;
+      }
+    };
+  }
+
   private void spill() throws IOException
   {
     try (CloseableIterator<Entry<KeyType>> iterator = grouper.iterator(true)) {
-      files.add(spill(iterator));
-      dictionaryFiles.add(spill(keySerde.getDictionary().iterator()));
+      files.add(spillEntries(iterator));
+      dictionaryFiles.add(spillDictionary(keySerde.getDictionary().iterator()));
 
       grouper.reset();
     }
   }
 
-  private <T> File spill(Iterator<T> iterator) throws IOException
+  private File spillEntries(Iterator<Entry<KeyType>> iterator) throws IOException
   {
     try (
         final LimitedTemporaryStorage.LimitedOutputStream out = temporaryStorage.createFile();
-        final LZ4BlockOutputStream compressedOut = new LZ4BlockOutputStream(out);
-        final JsonGenerator jsonGenerator = spillMapper.getFactory().createGenerator(compressedOut)
+        final LZ4BlockOutputStream compressedOut = new LZ4BlockOutputStream(out)
     ) {
-      while (iterator.hasNext()) {
-        BaseQuery.checkInterrupted();
-
-        jsonGenerator.writeObject(iterator.next());
-      }
+      spillSerde.writeEntries(iterator, compressedOut);
+      return out.getFile();
+    }
+  }
 
+  private File spillDictionary(Iterator<String> iterator) throws IOException
+  {
+    try (
+        final LimitedTemporaryStorage.LimitedOutputStream out = temporaryStorage.createFile();
+        final LZ4BlockOutputStream compressedOut = new LZ4BlockOutputStream(out)
+    ) {
+      SpillSerde.writeStrings(iterator, compressedOut);
       return out.getFile();
     }
   }
 
-  private MappingIterator<Entry<KeyType>> read(final File file, final Class<KeyType> keyClazz)
+  private CloseableIterator<Entry<KeyType>> read(final File file)
   {
     try {
-      return spillMapper.readValues(
-          spillMapper.getFactory().createParser(new LZ4BlockInputStream(new FileInputStream(file))),
-          spillMapper.getTypeFactory().constructParametricType(Entry.class, keyClazz)
-      );
+      return spillSerde.readEntries(new LZ4BlockInputStream(new FileInputStream(file)));
     }
     catch (IOException e) {
       throw Throwables.propagate(e);
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.groupby.epinephelinae;
+
+import org.apache.druid.java.util.common.parsers.CloseableIterator;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+
+/**
+ * Like a {@link Grouper}, but vectorized. Keys are always serialized byte arrays of a fixed size, written into a
+ * "keySpace" buffer by the caller: the key for row "i" of the current vector starts at position i * keySize.
+ *
+ * @see Grouper, the nonvectorized version.
+ */
+public interface VectorGrouper extends Closeable
+{
+  /**
+   * Initialize the grouper. This method needs to be called before calling {@link #aggregateVector}.
+   */
+  void initVectorized(int maxVectorSize);
+
+  /**
+   * Aggregate rows [startRow, endRow) of the current vector. If the grouper fills up partway through, returns
+   * {@link AggregateResult#partial} with the number of rows, starting at startRow, that were aggregated. The caller
+   * should then consume and {@link #reset()} the grouper and call this method again for the remaining rows.
+   */
+  AggregateResult aggregateVector(ByteBuffer keySpace, int startRow, int endRow);
+
+  /**
+   * Reset the grouper to its initial state.
+   */
+  void reset();
+
+  /**
+   * Close the grouper and release associated resources.
+   */
+  @Override
+  void close();
+
+  /**
+   * Iterate through entries. Entries are not sorted. Keys are views into the grouper's internal buffer, so they are
+   * only valid until the next call to {@link #aggregateVector} or {@link #reset()}.
+   */
+  CloseableIterator<Grouper.Entry<ByteBuffer>> iterator();
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.groupby.epinephelinae.vector;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Vectorized counterpart of {@link org.apache.druid.query.groupby.epinephelinae.column.GroupByColumnSelectorStrategy}.
+ * Writes one column's part of the grouping keys for a range of rows, and reads it back when building result rows.
+ */
+public interface GroupByVectorColumnSelector
+{
+  /**
+   * Number of bytes this column contributes to each grouping key.
+   */
+  int getGroupingKeySize();
+
+  /**
+   * Write the key parts for rows [startRow, endRow) of the current vector. The key for row "i" starts at
+   * i * keySize in "keySpace"; this column's part of it starts "keyOffset" bytes into the key.
+   */
+  void writeKeys(ByteBuffer keySpace, int keySize, int keyOffset, int startRow, int endRow);
+
+  /**
+   * Read this column's part of a grouping key, starting at "keyOffset", and put the value into "resultMap".
+   */
+  void writeKeyToResultRow(String outputName, ByteBuffer keyBuffer, int keyOffset, Map<String, Object> resultMap);
+}
@@ -0,0 +1,432 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.groupby.epinephelinae.vector;
+
+import com.google.common.base.Suppliers;
+import org.apache.druid.common.config.NullHandling;
+import org.apache.druid.data.input.MapBasedRow;
+import org.apache.druid.data.input.Row;
+import org.apache.druid.java.util.common.CloseableIterators;
+import org.apache.druid.java.util.common.IAE;
+import org.apache.druid.java.util.common.guava.BaseSequence;
+import org.apache.druid.java.util.common.guava.Sequence;
+import org.apache.druid.java.util.common.parsers.CloseableIterator;
+import org.apache.druid.query.QueryContexts;
+import org.apache.druid.query.aggregation.AggregatorFactory;
+import org.apache.druid.query.aggregation.AggregatorUtil;
+import org.apache.druid.query.dimension.DimensionSpec;
+import org.apache.druid.query.filter.Filter;
+import org.apache.druid.query.groupby.GroupByQuery;
+import org.apache.druid.query.groupby.GroupByQueryConfig;
+import org.apache.druid.query.groupby.epinephelinae.AggregateResult;
+import org.apache.druid.query.groupby.epinephelinae.BufferHashVectorGrouper;
+import org.apache.druid.query.groupby.epinephelinae.GroupByQueryEngineV2;
+import org.apache.druid.query.groupby.epinephelinae.Grouper;
+import org.apache.druid.query.groupby.epinephelinae.VectorGrouper;
+import org.apache.druid.query.vector.VectorCursorGranularizer;
+import org.apache.druid.segment.StorageAdapter;
+import org.apache.druid.segment.column.ColumnCapabilities;
+import org.apache.druid.segment.column.ValueType;
+import org.apache.druid.segment.vector.VectorColumnSelectorFactory;
+import org.apache.druid.segment.vector.VectorCursor;
+import org.joda.time.DateTime;
+import org.joda.time.Interval;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Vectorized version of {@link GroupByQueryEngineV2}. Used when the "vectorize" context flag allows it and
+ * {@link #canVectorize} returns true.
+ */
+public class VectorGroupByEngine
+{
+  private VectorGroupByEngine()
+  {
+    // No instantiation.
+  }
+
+  public static boolean canVectorize(
+      final GroupByQuery query,
+      final StorageAdapter adapter,
+      @Nullable final Filter filter
+  )
+  {
+    return adapter.canVectorize(filter, query.getVirtualColumns(), false)
+           && query.getDimensions().stream().allMatch(dimension -> canVectorizeDimension(dimension, adapter))
+           && AggregatorUtil.canVectorize(query.getAggregatorSpecs(), adapter);
+  }
+
+  public static Sequence<Row> process(
+      final GroupByQuery query,
+      final StorageAdapter storageAdapter,
+      final ByteBuffer processingBuffer,
+      @Nullable final DateTime fudgeTimestamp,
+      @Nullable final Filter filter,
+      final Interval interval,
+      final GroupByQueryConfig config
+  )
+  {
+    if (!canVectorize(query, storageAdapter, filter)) {
+      throw new IAE("Cannot vectorize");
+    }
+
+    return new BaseSequence<>(
+        new BaseSequence.IteratorMaker<Row, CloseableIterator<Row>>()
+        {
+          @Override
+          public CloseableIterator<Row> make()
+          {
+            final VectorCursor cursor = storageAdapter.makeVectorCursor(
+                filter,
+                interval,
+                query.getVirtualColumns(),
+                false,
+                QueryContexts.getVectorSize(query),
+                null
+            );
+
+            if (cursor == null) {
+              // Return empty iterator.
+              return CloseableIterators.withEmptyBaggage(Collections.emptyIterator());
+            }
+
+            try {
+              final VectorColumnSelectorFactory columnSelectorFactory = cursor.getColumnSelectorFactory();
+              final List<GroupByVectorColumnSelector> dimensions = new ArrayList<>(query.getDimensions().size());
+
+              for (DimensionSpec dimensionSpec : query.getDimensions()) {
+                dimensions.add(makeColumnSelector(dimensionSpec, columnSelectorFactory));
+              }
+
+              return new VectorGroupByEngineIterator(
+                  query,
+                  config,
+                  storageAdapter,
+                  interval,
+                  cursor,
+                  dimensions,
+                  processingBuffer,
+                  fudgeTimestamp
+              );
+            }
+            catch (Throwable e) {
+              try {
+                cursor.close();
+              }
+              catch (Throwable e2) {
+                e.addSuppressed(e2);
+              }
+              throw e;
+            }
+          }
+
+          @Override
+          public void cleanup(CloseableIterator<Row> iterFromMake)
+          {
+            try {
+              iterFromMake.close();
+            }
+            catch (Exception e) {
+              throw new RuntimeException(e);
+            }
+          }
+        }
+    );
+  }
+
+  private static boolean canVectorizeDimension(final DimensionSpec dimensionSpec, final StorageAdapter adapter)
+  {
+    if (dimensionSpec.getExtractionFn() != null || dimensionSpec.mustDecorate()) {
+      return false;
+    }
+
+    final ColumnCapabilities capabilities = adapter.getColumnCapabilities(dimensionSpec.getDimension());
+
+    if (capabilities == null) {
+      // Missing columns are read as nulls.
+      return true;
+    }
+
+    if (capabilities.getType() == ValueType.STRING) {
+      return capabilities.isDictionaryEncoded() && !capabilities.hasMultipleValues();
+    }
+
+    return capabilities.getType().isNumeric();
+  }
+
+  private static GroupByVectorColumnSelector makeColumnSelector(
+      final DimensionSpec dimensionSpec,
+      final VectorColumnSelectorFactory columnSelectorFactory
+  )
+  {
+    final String columnName = dimensionSpec.getDimension();
+    final ColumnCapabilities capabilities = columnSelectorFactory.getColumnCapabilities(columnName);
+    final ValueType type = capabilities == null ? ValueType.STRING : capabilities.getType();
+
+    switch (type) {
+      case STRING:
+        return new SingleValueStringGroupByVectorColumnSelector(
+            columnSelectorFactory.makeSingleValueDimensionSelector(columnName)
+        );
+      case LONG:
+        return NullHandling.sqlCompatible()
+               ? new NullableLongGroupByVectorColumnSelector(columnSelectorFactory.makeValueSelector(columnName))
+               : new LongGroupByVectorColumnSelector(columnSelectorFactory.makeValueSelector(columnName));
+      case FLOAT:
+        return NullHandling.sqlCompatible()
+               ? new NullableFloatGroupByVectorColumnSelector(columnSelectorFactory.makeValueSelector(columnName))
+               : new FloatGroupByVectorColumnSelector(columnSelectorFactory.makeValueSelector(columnName));
+      case DOUBLE:
+        return NullHandling.sqlCompatible()
+               ? new NullableDoubleGroupByVectorColumnSelector(columnSelectorFactory.makeValueSelector(columnName))
+               : new DoubleGroupByVectorColumnSelector(columnSelectorFactory.makeValueSelector(columnName));
+      default:
+        throw new IAE("Cannot create vectorized grouping selector for type [%s]", type);
+    }
+  }
+
+  private static class VectorGroupByEngineIterator implements CloseableIterator<Row>
+  {
+    private final GroupByQuery query;
+    private final VectorCursor cursor;
+    private final List<GroupByVectorColumnSelector> selectors;
+    @Nullable
+    private final DateTime fudgeTimestamp;
+    private final int keySize;
+    private final int[] keyOffsets;
+    private final ByteBuffer keySpace;
+    private final VectorGrouper vectorGrouper;
+
+    @Nullable
+    private final VectorCursorGranularizer granularizer;
+
+    // Granularity-bucket iterator and current bucket.
+    private final Iterator<Interval> bucketIterator;
+
+    @Nullable
+    private Interval bucketInterval;
+
+    // Number of rows of the current vector, beyond the granularizer's start offset, that were aggregated before the
+    // grouper filled up. -1 if the current vector has not been partially aggregated.
+    private int partiallyAggregatedRows = -1;
+
+    @Nullable
+    private Iterator<Row> delegate = null;
+
+    VectorGroupByEngineIterator(
+        final GroupByQuery query,
+        final GroupByQueryConfig config,
+        final StorageAdapter storageAdapter,
+        final Interval queryInterval,
+        final VectorCursor cursor,
+        final List<GroupByVectorColumnSelector> selectors,
+        final ByteBuffer processingBuffer,
+        @Nullable final DateTime fudgeTimestamp
+    )
+    {
+      this.query = query;
+      this.cursor = cursor;
+      this.selectors = selectors;
+      this.fudgeTimestamp = fudgeTimestamp;
+
+      this.keyOffsets = new int[selectors.size()];
+      int offset = 0;
+      for (int i = 0; i < selectors.size(); i++) {
+        keyOffsets[i] = offset;
+        offset += selectors.get(i).getGroupingKeySize();
+      }
+      this.keySize = offset;
+      this.keySpace = ByteBuffer.allocate(cursor.getMaxVectorSize() * keySize);
+
+      this.vectorGrouper = new BufferHashVectorGrouper(
+          Suppliers.ofInstance(processingBuffer),
+          keySize,
+          cursor.getColumnSelectorFactory(),
+          query.getAggregatorSpecs().toArray(new AggregatorFactory[0]),
+          config.getBufferGrouperMaxSize(),
+          config.getBufferGrouperMaxLoadFactor(),
+          config.getBufferGrouperInitialBuckets()
+      );
+      this.vectorGrouper.initVectorized(cursor.getMaxVectorSize());
+
+      this.granularizer = VectorCursorGranularizer.create(
+          storageAdapter,
+          cursor,
+          query.getGranularity(),
+          queryInterval
+      );
+
+      if (granularizer != null) {
+        this.bucketIterator = granularizer.getBucketIterable().iterator();
+      } else {
+        this.bucketIterator = Collections.emptyIterator();
+      }
+
+      this.bucketInterval = bucketIterator.hasNext() ? bucketIterator.next() : null;
+    }
+
+    @Override
+    public Row next()
+    {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      return delegate.next();
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+      while (delegate == null || !delegate.hasNext()) {
+        if (delegate != null) {
+          delegate = null;
+          vectorGrouper.reset();
+        }
+
+        final boolean moreToRead = !cursor.isDone() || partiallyAggregatedRows >= 0;
+        if (bucketInterval == null || !moreToRead) {
+          return false;
+        }
+
+        delegate = initNewDelegate();
+      }
+
+      return true;
+    }
+
+    @Override
+    public void remove()
+    {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close()
+    {
+      try {
+        vectorGrouper.close();
+      }
+      finally {
+        cursor.close();
+      }
+    }
+
+    private Iterator<Row> initNewDelegate()
+    {
+      // Method must not be called unless there's a current bucketInterval.
+      assert bucketInterval != null;
+
+      final DateTime timestamp = fudgeTimestamp != null
+                                 ? fudgeTimestamp
+                                 : query.getGranularity().toDateTime(bucketInterval.getStartMillis());
+
+      while (!cursor.isDone()) {
+        final int startOffset;
+
+        if (partiallyAggregatedRows < 0) {
+          granularizer.setCurrentOffsets(bucketInterval);
+          startOffset = granularizer.getStartOffset();
+        } else {
+          startOffset = granularizer.getStartOffset() + partiallyAggregatedRows;
+        }
+
+        if (granularizer.getEndOffset() > startOffset) {
+          // Write keys to the keySpace, unless they are still there from a previous partial aggregation.
+          if (partiallyAggregatedRows < 0) {
+            for (int i = 0; i < selectors.size(); i++) {
+              selectors.get(i).writeKeys(keySpace, keySize, keyOffsets[i], startOffset, granularizer.getEndOffset());
+            }
+          }
+
+          final AggregateResult result = vectorGrouper.aggregateVector(
+              keySpace,
+              startOffset,
+              granularizer.getEndOffset()
+          );
+
+          if (result.isOk()) {
+            partiallyAggregatedRows = -1;
+          } else if (partiallyAggregatedRows < 0) {
+            partiallyAggregatedRows = result.getCount();
+          } else {
+            partiallyAggregatedRows += result.getCount();
+          }
+        } else {
+          partiallyAggregatedRows = -1;
+        }
+
+        if (partiallyAggregatedRows >= 0) {
+          // Grouper is full; emit what we have, then resume from the same vector.
+          break;
+        } else if (!granularizer.advanceCursorWithinBucket()) {
+          // Bucket is done; emit what we have, then move on to the next bucket.
+          bucketInterval = bucketIterator.hasNext() ? bucketIterator.next() : null;
+          break;
+        }
+      }
+
+      final Iterator<Grouper.Entry<ByteBuffer>> entries = vectorGrouper.iterator();
+
+      return new Iterator<Row>()
+      {
+        @Override
+        public boolean hasNext()
+        {
+          return entries.hasNext();
+        }
+
+        @Override
+        public Row next()
+        {
+          final Grouper.Entry<ByteBuffer> entry = entries.next();
+          final Map<String, Object> theMap = new LinkedHashMap<>();
+
+          // Add dimensions.
+          for (int i = 0; i < selectors.size(); i++) {
+            selectors.get(i).writeKeyToResultRow(
+                query.getDimensions().get(i).getOutputName(),
+                entry.getKey(),
+                keyOffsets[i],
+                theMap
+            );
+          }
+
+          GroupByQueryEngineV2.convertRowTypesToOutputTypes(query.getDimensions(), theMap);
+
+          // Add aggregations.
+          for (int i = 0; i < entry.getValues().length; i++) {
+            theMap.put(query.getAggregatorSpecs().get(i).getName(), entry.getValues()[i]);
+          }
+
+          return new MapBasedRow(timestamp, theMap);
+        }
+      };
+    }
+  }
+}
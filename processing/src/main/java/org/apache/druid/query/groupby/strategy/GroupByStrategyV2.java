@@ -68,6 +68,7 @@ import org.apache.druid.query.groupby.epinephelinae.GroupByMergingQueryRunnerV2;
 import org.apache.druid.query.groupby.epinephelinae.GroupByQueryEngineV2;
 import org.apache.druid.query.groupby.epinephelinae.GroupByRowProcessor;
 import org.apache.druid.query.groupby.epinephelinae.Grouper;
+import org.apache.druid.query.groupby.epinephelinae.MergeBufferAllocator;
 import org.apache.druid.query.groupby.resource.GroupByQueryResource;
 import org.apache.druid.segment.StorageAdapter;
 import org.joda.time.DateTime;
@@ -95,6 +96,7 @@ public class GroupByStrategyV2 implements GroupByStrategy
   private final BlockingPool<ByteBuffer> mergeBufferPool;
   private final ObjectMapper spillMapper;
   private final QueryWatcher queryWatcher;
+  private final MergeBufferAllocator mergeBufferAllocator;
 
   @Inject
   public GroupByStrategyV2(
@@ -103,7 +105,8 @@ public class GroupByStrategyV2 implements GroupByStrategy
       @Global NonBlockingPool<ByteBuffer> bufferPool,
       @Merging BlockingPool<ByteBuffer> mergeBufferPool,
       @Smile ObjectMapper spillMapper,
-      QueryWatcher queryWatcher
+      QueryWatcher queryWatcher,
+      MergeBufferAllocator mergeBufferAllocator
   )
   {
     this.processingConfig = processingConfig;
@@ -112,6 +115,30 @@ public class GroupByStrategyV2 implements GroupByStrategy
     this.mergeBufferPool = mergeBufferPool;
     this.spillMapper = spillMapper;
     this.queryWatcher = queryWatcher;
+    this.mergeBufferAllocator = mergeBufferAllocator;
+  }
+
+  /**
+   * Creates a strategy whose merge buffers never grow beyond their initial size.
+   */
+  public GroupByStrategyV2(
+      DruidProcessingConfig processingConfig,
+      Supplier<GroupByQueryConfig> configSupplier,
+      NonBlockingPool<ByteBuffer> bufferPool,
+      BlockingPool<ByteBuffer> mergeBufferPool,
+      ObjectMapper spillMapper,
+      QueryWatcher queryWatcher
+  )
+  {
+    this(
+        processingConfig,
+        configSupplier,
+        bufferPool,
+        mergeBufferPool,
+        spillMapper,
+        queryWatcher,
+        new MergeBufferAllocator(0)
+    );
   }
 
   /**
@@ -472,7 +499,8 @@ public class GroupByStrategyV2 implements GroupByStrategy
         mergeBufferPool,
         processingConfig.intermediateComputeSizeBytes(),
         spillMapper,
-        processingConfig.getTmpDir()
+        processingConfig.getTmpDir(),
+        mergeBufferAllocator
     );
   }
 
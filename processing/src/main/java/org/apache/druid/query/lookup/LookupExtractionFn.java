@@ -27,6 +27,7 @@ import com.google.common.base.Throwables;
 import org.apache.druid.java.util.common.StringUtils;
 import org.apache.druid.query.extraction.ExtractionCacheHelper;
 import org.apache.druid.query.extraction.FunctionalExtraction;
+import org.apache.druid.query.extraction.MapLookupExtractor;
 
 import javax.annotation.Nullable;
 import java.io.ByteArrayOutputStream;
@@ -98,6 +99,13 @@ public class LookupExtractionFn extends FunctionalExtraction
     return optimize;
   }
 
+  @Override
+  public boolean isDictionaryMappable()
+  {
+    // Other lookups may do I/O for every key, like LoadingLookup
+    return lookup instanceof MapLookupExtractor;
+  }
+
   @Override
   public byte[] getCacheKey()
   {
@@ -20,8 +20,11 @@ package org.apache.druid.query.scan;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonValue;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Ordering;
+import org.apache.druid.java.util.common.StringUtils;
 import org.apache.druid.query.BaseQuery;
 import org.apache.druid.query.DataSource;
 import org.apache.druid.query.Query;
@@ -30,8 +33,10 @@ import org.apache.druid.query.filter.DimFilter;
 import org.apache.druid.query.spec.QuerySegmentSpec;
 import org.apache.druid.segment.VirtualColumn;
 import org.apache.druid.segment.VirtualColumns;
+import org.apache.druid.segment.column.ColumnHolder;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -42,10 +47,35 @@ public class ScanQuery extends BaseQuery<ScanResultValue>
   public static final String RESULT_FORMAT_COMPACTED_LIST = "compactedList";
   public static final String RESULT_FORMAT_VALUE_VECTOR = "valueVector";
 
+  /**
+   * Order of the rows of a scan query. Rows of time-ordered queries are merged across segments and nodes by their
+   * "__time" value, otherwise the rows of each segment are returned in turn.
+   */
+  public enum Order
+  {
+    NONE,
+    ASCENDING,
+    DESCENDING;
+
+    @JsonValue
+    @Override
+    public String toString()
+    {
+      return StringUtils.toLowerCase(this.name());
+    }
+
+    @JsonCreator
+    public static Order fromString(String name)
+    {
+      return valueOf(StringUtils.toUpperCase(name));
+    }
+  }
+
   private final VirtualColumns virtualColumns;
   private final String resultFormat;
   private final int batchSize;
   private final long limit;
+  private final Order order;
   private final DimFilter dimFilter;
   private final List<String> columns;
   private final Boolean legacy;
@@ -58,6 +88,7 @@ public class ScanQuery extends BaseQuery<ScanResultValue>
       @JsonProperty("resultFormat") String resultFormat,
       @JsonProperty("batchSize") int batchSize,
       @JsonProperty("limit") long limit,
+      @JsonProperty("order") Order order,
       @JsonProperty("filter") DimFilter dimFilter,
       @JsonProperty("columns") List<String> columns,
       @JsonProperty("legacy") Boolean legacy,
@@ -71,9 +102,21 @@ public class ScanQuery extends BaseQuery<ScanResultValue>
     this.limit = (limit == 0) ? Long.MAX_VALUE : limit;
     Preconditions.checkArgument(this.batchSize > 0, "batchSize must be greater than 0");
     Preconditions.checkArgument(this.limit > 0, "limit must be greater than 0");
+    this.order = order == null ? Order.NONE : order;
     this.dimFilter = dimFilter;
     this.columns = columns;
     this.legacy = legacy;
+    if (this.order != Order.NONE) {
+      Preconditions.checkArgument(
+          !Boolean.TRUE.equals(legacy),
+          "legacy scan queries cannot be ordered by time"
+      );
+      Preconditions.checkArgument(
+          columns == null || columns.isEmpty() || columns.contains(ColumnHolder.TIME_COLUMN_NAME),
+          "scan queries ordered by time must include the %s column",
+          ColumnHolder.TIME_COLUMN_NAME
+      );
+    }
   }
 
   @JsonProperty
@@ -100,6 +143,12 @@ public class ScanQuery extends BaseQuery<ScanResultValue>
     return limit;
   }
 
+  @JsonProperty
+  public Order getOrder()
+  {
+    return order;
+  }
+
   @Override
   public boolean hasFilters()
   {
@@ -134,6 +183,22 @@ public class ScanQuery extends BaseQuery<ScanResultValue>
     return legacy;
   }
 
+  /**
+   * If this query is ordered by time, orders batches of rows by the time of their first row. Merging the results of
+   * several segments or nodes with it does not order the rows themselves, see {@link ScanQueryTimeOrderedIterator}.
+   */
+  @Override
+  public Ordering<ScanResultValue> getResultOrdering()
+  {
+    if (order == Order.NONE) {
+      return super.getResultOrdering();
+    }
+    final Ordering<ScanResultValue> ordering = Ordering.from(
+        Comparator.comparingLong(ScanResultValue::getFirstEventTimestamp)
+    );
+    return order == Order.DESCENDING ? ordering.reverse() : ordering;
+  }
+
   public ScanQuery withNonNullLegacy(final ScanQueryConfig scanQueryConfig)
   {
     return ScanQueryBuilder.copy(this).legacy(legacy != null ? legacy : scanQueryConfig.isLegacy()).build();
@@ -177,6 +242,7 @@ public class ScanQuery extends BaseQuery<ScanResultValue>
     final ScanQuery scanQuery = (ScanQuery) o;
     return batchSize == scanQuery.batchSize &&
            limit == scanQuery.limit &&
+           order == scanQuery.order &&
            legacy == scanQuery.legacy &&
            Objects.equals(virtualColumns, scanQuery.virtualColumns) &&
            Objects.equals(resultFormat, scanQuery.resultFormat) &&
@@ -187,7 +253,17 @@ public class ScanQuery extends BaseQuery<ScanResultValue>
   @Override
   public int hashCode()
   {
-    return Objects.hash(super.hashCode(), virtualColumns, resultFormat, batchSize, limit, dimFilter, columns, legacy);
+    return Objects.hash(
+        super.hashCode(),
+        virtualColumns,
+        resultFormat,
+        batchSize,
+        limit,
+        order,
+        dimFilter,
+        columns,
+        legacy
+    );
   }
 
   @Override
@@ -200,6 +276,7 @@ public class ScanQuery extends BaseQuery<ScanResultValue>
            ", resultFormat='" + resultFormat + '\'' +
            ", batchSize=" + batchSize +
            ", limit=" + limit +
+           ", order=" + order +
            ", dimFilter=" + dimFilter +
            ", columns=" + columns +
            ", legacy=" + legacy +
@@ -230,6 +307,7 @@ public class ScanQuery extends BaseQuery<ScanResultValue>
     private String resultFormat;
     private int batchSize;
     private long limit;
+    private Order order;
     private DimFilter dimFilter;
     private List<String> columns;
     private Boolean legacy;
@@ -243,6 +321,7 @@ public class ScanQuery extends BaseQuery<ScanResultValue>
       resultFormat = null;
       batchSize = 0;
       limit = 0;
+      order = null;
       dimFilter = null;
       columns = Lists.newArrayList();
       legacy = null;
@@ -257,6 +336,7 @@ public class ScanQuery extends BaseQuery<ScanResultValue>
           resultFormat,
           batchSize,
           limit,
+          order,
           dimFilter,
           columns,
           legacy,
@@ -273,6 +353,7 @@ public class ScanQuery extends BaseQuery<ScanResultValue>
           .resultFormat(query.getResultFormat())
           .batchSize(query.getBatchSize())
           .limit(query.getLimit())
+          .order(query.getOrder())
           .filters(query.getFilter())
           .columns(query.getColumns())
           .legacy(query.isLegacy())
@@ -332,6 +413,12 @@ public class ScanQuery extends BaseQuery<ScanResultValue>
       return this;
     }
 
+    public ScanQueryBuilder order(Order o)
+    {
+      order = o;
+      return this;
+    }
+
     public ScanQueryBuilder filters(DimFilter f)
     {
       dimFilter = f;
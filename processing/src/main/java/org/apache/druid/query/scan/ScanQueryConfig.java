@@ -28,11 +28,23 @@ public class ScanQueryConfig
   @JsonProperty
   private boolean legacy = false;
 
+  @JsonProperty
+  private int maxRowsQueuedForOrdering = 100000;
+
   public boolean isLegacy()
   {
     return legacy;
   }
 
+  /**
+   * Time-ordered scan queries with a limit up to this value are ordered on data nodes by keeping the first "limit" rows
+   * in a priority queue, rather than by merging the rows of all segments.
+   */
+  public int getMaxRowsQueuedForOrdering()
+  {
+    return maxRowsQueuedForOrdering;
+  }
+
   @SuppressWarnings("unused") // Used by Jackson deserialization?
   public ScanQueryConfig setLegacy(final boolean legacy)
   {
@@ -50,13 +62,14 @@ public class ScanQueryConfig
       return false;
     }
     final ScanQueryConfig that = (ScanQueryConfig) o;
-    return legacy == that.legacy;
+    return legacy == that.legacy &&
+           maxRowsQueuedForOrdering == that.maxRowsQueuedForOrdering;
   }
 
   @Override
   public int hashCode()
   {
-    return Objects.hash(legacy);
+    return Objects.hash(legacy, maxRowsQueuedForOrdering);
   }
 
   @Override
@@ -64,6 +77,7 @@ public class ScanQueryConfig
   {
     return "ScanQueryConfig{" +
            "legacy=" + legacy +
+           ", maxRowsQueuedForOrdering=" + maxRowsQueuedForOrdering +
            '}';
   }
 }
@@ -64,7 +64,10 @@ public class ScanQueryEngine
     // "legacy" should be non-null due to toolChest.mergeResults
     final boolean legacy = Preconditions.checkNotNull(query.isLegacy(), "WTF?! Expected non-null legacy");
 
-    if (responseContext.get(ScanQueryRunnerFactory.CTX_COUNT) != null) {
+    // Rows of time-ordered queries are merged across segments, so each segment must return up to "limit" rows of its
+    // own rather than count towards a limit shared by all of them.
+    final boolean sharedLimit = query.getOrder() == ScanQuery.Order.NONE;
+    if (sharedLimit && responseContext.get(ScanQueryRunnerFactory.CTX_COUNT) != null) {
       long count = (long) responseContext.get(ScanQueryRunnerFactory.CTX_COUNT);
       if (count >= query.getLimit()) {
         return Sequences.empty();
@@ -121,7 +124,9 @@ public class ScanQueryEngine
     if (responseContext.get(ScanQueryRunnerFactory.CTX_COUNT) == null) {
       responseContext.put(ScanQueryRunnerFactory.CTX_COUNT, 0L);
     }
-    final long limit = query.getLimit() - (long) responseContext.get(ScanQueryRunnerFactory.CTX_COUNT);
+    final long limit = sharedLimit
+                       ? query.getLimit() - (long) responseContext.get(ScanQueryRunnerFactory.CTX_COUNT)
+                       : query.getLimit();
     return Sequences.concat(
             adapter
                 .makeCursors(
@@ -129,7 +134,7 @@ public class ScanQueryEngine
                     intervals.get(0),
                     query.getVirtualColumns(),
                     Granularities.ALL,
-                    query.isDescending(),
+                    query.getOrder() == ScanQuery.Order.DESCENDING,
                     null
                 )
                 .map(cursor -> new BaseSequence<>(
@@ -183,10 +188,12 @@ public class ScanQueryEngine
                             } else {
                               throw new UOE("resultFormat[%s] is not supported", resultFormat);
                             }
-                            responseContext.put(
-                                ScanQueryRunnerFactory.CTX_COUNT,
-                                (long) responseContext.get(ScanQueryRunnerFactory.CTX_COUNT) + (offset - lastOffset)
-                            );
+                            if (sharedLimit) {
+                              responseContext.put(
+                                  ScanQueryRunnerFactory.CTX_COUNT,
+                                  (long) responseContext.get(ScanQueryRunnerFactory.CTX_COUNT) + (offset - lastOffset)
+                              );
+                            }
                             if (hasTimeout) {
                               responseContext.put(
                                   ScanQueryRunnerFactory.CTX_TIMEOUT_AT,
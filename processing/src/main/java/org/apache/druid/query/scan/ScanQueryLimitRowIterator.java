@@ -18,6 +18,7 @@
  */
 package org.apache.druid.query.scan;
 
+import org.apache.druid.java.util.common.guava.CloseQuietly;
 import org.apache.druid.java.util.common.guava.Sequence;
 import org.apache.druid.java.util.common.guava.Yielder;
 import org.apache.druid.java.util.common.guava.YieldingAccumulator;
@@ -35,6 +36,7 @@ public class ScanQueryLimitRowIterator implements CloseableIterator<ScanResultVa
   private String resultFormat;
   private long limit = 0;
   private long count = 0;
+  private boolean closed = false;
 
   public ScanQueryLimitRowIterator(
       QueryRunner<ScanResultValue> baseRunner,
@@ -63,7 +65,7 @@ public class ScanQueryLimitRowIterator implements CloseableIterator<ScanResultVa
   @Override
   public boolean hasNext()
   {
-    return !yielder.isDone() && count < limit;
+    return count < limit && !closed && !yielder.isDone();
   }
 
   @Override
@@ -75,13 +77,20 @@ public class ScanQueryLimitRowIterator implements CloseableIterator<ScanResultVa
       List events = (List) batch.getEvents();
       if (events.size() <= limit - count) {
         count += events.size();
-        yielder = yielder.next(null);
+        if (count < limit) {
+          yielder = yielder.next(null);
+        } else {
+          // Advancing the yielder would make the underlying runners produce (and discard) the next batch, which
+          // may mean opening a cursor on another segment. Release them now instead.
+          closeYielder();
+        }
         return batch;
       } else {
         // last batch
         // single batch length is <= Integer.MAX_VALUE, so this should not overflow
         int left = (int) (limit - count);
         count = limit;
+        closeYielder();
         return new ScanResultValue(batch.getSegmentId(), batch.getColumns(), events.subList(0, left));
       }
     }
@@ -97,6 +106,14 @@ public class ScanQueryLimitRowIterator implements CloseableIterator<ScanResultVa
   @Override
   public void close() throws IOException
   {
-    yielder.close();
+    if (!closed) {
+      closed = true;
+      yielder.close();
+    }
+  }
+
+  private void closeYielder()
+  {
+    CloseQuietly.close(this);
   }
 }
@@ -69,9 +69,12 @@ public class ScanQueryQueryToolChest extends QueryToolChest<ScanResultValue, Sca
         // the same way, even if they have different default legacy values.
         final ScanQuery scanQuery = ((ScanQuery) queryPlus.getQuery()).withNonNullLegacy(scanQueryConfig);
         final QueryPlus<ScanResultValue> queryPlusWithNonNullLegacy = queryPlus.withQuery(scanQuery);
+        final QueryRunner<ScanResultValue> orderedRunner = scanQuery.getOrder() == ScanQuery.Order.NONE
+                                                           ? runner
+                                                           : makeTimeOrderedRunner(runner);
 
         if (scanQuery.getLimit() == Long.MAX_VALUE) {
-          return runner.run(queryPlusWithNonNullLegacy, responseContext);
+          return orderedRunner.run(queryPlusWithNonNullLegacy, responseContext);
         }
         return new BaseSequence<>(
             new BaseSequence.IteratorMaker<ScanResultValue, ScanQueryLimitRowIterator>()
@@ -79,7 +82,7 @@ public class ScanQueryQueryToolChest extends QueryToolChest<ScanResultValue, Sca
               @Override
               public ScanQueryLimitRowIterator make()
               {
-                return new ScanQueryLimitRowIterator(runner, queryPlusWithNonNullLegacy, responseContext);
+                return new ScanQueryLimitRowIterator(orderedRunner, queryPlusWithNonNullLegacy, responseContext);
               }
 
               @Override
@@ -93,6 +96,38 @@ public class ScanQueryQueryToolChest extends QueryToolChest<ScanResultValue, Sca
     };
   }
 
+  /**
+   * The results of segments and nodes are merged by the time of the first row of each batch, see
+   * {@link ScanQuery#getResultOrdering()}. The returned runner orders the rows themselves.
+   */
+  private static QueryRunner<ScanResultValue> makeTimeOrderedRunner(final QueryRunner<ScanResultValue> runner)
+  {
+    return (queryPlus, responseContext) -> new BaseSequence<>(
+        new BaseSequence.IteratorMaker<ScanResultValue, ScanQueryTimeOrderedIterator>()
+        {
+          @Override
+          public ScanQueryTimeOrderedIterator make()
+          {
+            return new ScanQueryTimeOrderedIterator(
+                runner.run(queryPlus, responseContext),
+                (ScanQuery) queryPlus.getQuery()
+            );
+          }
+
+          @Override
+          public void cleanup(ScanQueryTimeOrderedIterator iterFromMake)
+          {
+            CloseQuietly.close(iterFromMake);
+          }
+        }
+    );
+  }
+
+  ScanQueryConfig getScanQueryConfig()
+  {
+    return scanQueryConfig;
+  }
+
   @Override
   public QueryMetrics<Query<?>> makeMetrics(ScanQuery query)
   {
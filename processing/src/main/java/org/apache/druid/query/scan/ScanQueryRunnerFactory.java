@@ -19,20 +19,34 @@
 package org.apache.druid.query.scan;
 
 import com.google.common.base.Function;
+import com.google.common.collect.Ordering;
+import com.google.common.util.concurrent.SettableFuture;
 import com.google.inject.Inject;
 import org.apache.druid.java.util.common.ISE;
 import org.apache.druid.java.util.common.JodaUtils;
+import org.apache.druid.java.util.common.guava.CloseQuietly;
+import org.apache.druid.java.util.common.guava.LazySequence;
+import org.apache.druid.java.util.common.guava.MergeSequence;
 import org.apache.druid.java.util.common.guava.Sequence;
+import org.apache.druid.java.util.common.guava.SequenceWrapper;
 import org.apache.druid.java.util.common.guava.Sequences;
+import org.apache.druid.java.util.common.guava.Yielder;
+import org.apache.druid.java.util.common.guava.Yielders;
 import org.apache.druid.query.Query;
 import org.apache.druid.query.QueryContexts;
+import org.apache.druid.query.QueryInterruptedException;
 import org.apache.druid.query.QueryPlus;
 import org.apache.druid.query.QueryRunner;
 import org.apache.druid.query.QueryRunnerFactory;
 import org.apache.druid.query.QueryToolChest;
+import org.apache.druid.query.QueryWatcher;
 import org.apache.druid.segment.Segment;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutorService;
 
 public class ScanQueryRunnerFactory implements QueryRunnerFactory<ScanResultValue, ScanQuery>
@@ -43,15 +57,18 @@ public class ScanQueryRunnerFactory implements QueryRunnerFactory<ScanResultValu
   public static final String CTX_COUNT = "count";
   private final ScanQueryQueryToolChest toolChest;
   private final ScanQueryEngine engine;
+  private final QueryWatcher queryWatcher;
 
   @Inject
   public ScanQueryRunnerFactory(
       ScanQueryQueryToolChest toolChest,
-      ScanQueryEngine engine
+      ScanQueryEngine engine,
+      QueryWatcher queryWatcher
   )
   {
     this.toolChest = toolChest;
     this.engine = engine;
+    this.queryWatcher = queryWatcher;
   }
 
   @Override
@@ -78,23 +95,104 @@ public class ScanQueryRunnerFactory implements QueryRunnerFactory<ScanResultValu
         // See the comment of CTX_TIMEOUT_AT.
         final long timeoutAt = System.currentTimeMillis() + QueryContexts.getTimeout(queryPlus.getQuery());
         responseContext.put(CTX_TIMEOUT_AT, timeoutAt);
-        return Sequences.concat(
-            Sequences.map(
-                Sequences.simple(queryRunners),
-                new Function<QueryRunner<ScanResultValue>, Sequence<ScanResultValue>>()
-                {
-                  @Override
-                  public Sequence<ScanResultValue> apply(final QueryRunner<ScanResultValue> input)
-                  {
-                    return input.run(queryPlus, responseContext);
-                  }
+
+        // Segments are scanned lazily in this thread, so there is no processing future to cancel. Register one
+        // anyway, so that a cancelled query (e.g. by a broker that already has enough rows) skips its remaining
+        // segments.
+        final ScanQuery query = (ScanQuery) queryPlus.getQuery();
+        final SettableFuture<Object> runningFuture = SettableFuture.create();
+
+        final Sequence<Sequence<ScanResultValue>> segmentResults = Sequences.map(
+            Sequences.simple(queryRunners),
+            new Function<QueryRunner<ScanResultValue>, Sequence<ScanResultValue>>()
+            {
+              @Override
+              public Sequence<ScanResultValue> apply(final QueryRunner<ScanResultValue> input)
+              {
+                if (runningFuture.isCancelled()) {
+                  throw new QueryInterruptedException(new CancellationException());
                 }
-            )
+                return input.run(queryPlus, responseContext);
+              }
+            }
+        );
+
+        final Sequence<ScanResultValue> results;
+        if (query.getOrder() == ScanQuery.Order.NONE) {
+          results = Sequences.concat(segmentResults);
+        } else if (query.getLimit() <= toolChest.getScanQueryConfig().getMaxRowsQueuedForOrdering()) {
+          results = new LazySequence<>(() -> Sequences.simple(sortAndLimit(query, segmentResults)));
+        } else {
+          // rows are ordered by ScanQueryTimeOrderedIterator in toolChest.mergeResults
+          results = new MergeSequence<>(query.getResultOrdering(), segmentResults);
+        }
+        return Sequences.wrap(
+            results,
+            new SequenceWrapper()
+            {
+              @Override
+              public void before()
+              {
+                queryWatcher.registerQuery(query, runningFuture);
+              }
+
+              @Override
+              public void after(boolean isDone, Throwable thrown)
+              {
+                runningFuture.set(null);
+              }
+            }
         );
       }
     };
   }
 
+  /**
+   * Returns the first "limit" rows of all segments in a list of single-row batches, keeping at most "limit" rows in
+   * memory. Rows of each segment are ordered by time, so a segment is not read any further once one of its rows does
+   * not make it into the queue.
+   */
+  private static List<ScanResultValue> sortAndLimit(
+      final ScanQuery query,
+      final Sequence<Sequence<ScanResultValue>> segmentResults
+  )
+  {
+    final Ordering<ScanResultValue> ordering = query.getResultOrdering();
+    final long limit = query.getLimit();
+    // the head of the queue is the row to drop first
+    final PriorityQueue<ScanResultValue> queue = new PriorityQueue<>(ordering.reverse());
+
+    segmentResults.accumulate(
+        queue,
+        (rows, segmentResult) -> {
+          Yielder<ScanResultValue> yielder = Yielders.each(segmentResult);
+          try {
+            while (!yielder.isDone()) {
+              for (ScanResultValue row : yielder.get().toSingleEventScanResultValues()) {
+                if (rows.size() < limit) {
+                  rows.offer(row);
+                } else if (ordering.compare(row, rows.peek()) < 0) {
+                  rows.poll();
+                  rows.offer(row);
+                } else {
+                  return rows;
+                }
+              }
+              yielder = yielder.next(null);
+            }
+            return rows;
+          }
+          finally {
+            CloseQuietly.close(yielder);
+          }
+        }
+    );
+
+    final List<ScanResultValue> sorted = new ArrayList<>(queue);
+    sorted.sort(ordering);
+    return sorted;
+  }
+
   @Override
   public QueryToolChest<ScanResultValue, ScanQuery> getToolchest()
   {
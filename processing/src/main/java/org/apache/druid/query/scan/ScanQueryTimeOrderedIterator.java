@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.scan;
+
+import com.google.common.collect.Ordering;
+import org.apache.druid.java.util.common.guava.Sequence;
+import org.apache.druid.java.util.common.guava.Yielder;
+import org.apache.druid.java.util.common.guava.Yielders;
+import org.apache.druid.java.util.common.parsers.CloseableIterator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Orders the rows of a time-ordered scan query. The given sequence must be a merge, by
+ * {@link ScanQuery#getResultOrdering()}, of sequences whose rows are ordered by time: the rows of each segment, or
+ * the results of each node. Batches of such a merge come in the order of their first rows, but the rows of a batch may
+ * interleave with the rows of the following batches.
+ *
+ * Rows are queued until the first row of the next batch of the merge, which comes before or at the same time as all the
+ * rows that are not read yet. So only the batches that overlap in time, at most about one per merged sequence, are
+ * held in memory.
+ *
+ * The returned batches have at most "batchSize" rows of the same segment.
+ */
+public class ScanQueryTimeOrderedIterator implements CloseableIterator<ScanResultValue>
+{
+  private final Ordering<ScanResultValue> ordering;
+  private final int batchSize;
+  private final PriorityQueue<ScanResultValue> queue;
+  private Yielder<ScanResultValue> yielder;
+
+  public ScanQueryTimeOrderedIterator(Sequence<ScanResultValue> mergedSequence, ScanQuery query)
+  {
+    this.ordering = query.getResultOrdering();
+    this.batchSize = query.getBatchSize();
+    this.queue = new PriorityQueue<>(ordering);
+    this.yielder = Yielders.each(mergedSequence);
+  }
+
+  @Override
+  public boolean hasNext()
+  {
+    fillQueue();
+    return !queue.isEmpty();
+  }
+
+  @Override
+  public ScanResultValue next()
+  {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    final ScanResultValue first = queue.poll();
+    final List<Object> events = new ArrayList<>(Math.min(batchSize, queue.size() + 1));
+    events.add(getEvent(first));
+    while (events.size() < batchSize) {
+      fillQueue();
+      final ScanResultValue row = queue.peek();
+      if (row == null
+          || !Objects.equals(row.getSegmentId(), first.getSegmentId())
+          || !Objects.equals(row.getColumns(), first.getColumns())) {
+        break;
+      }
+      events.add(getEvent(queue.poll()));
+    }
+    return new ScanResultValue(first.getSegmentId(), first.getColumns(), events);
+  }
+
+  @Override
+  public void remove()
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void close() throws IOException
+  {
+    yielder.close();
+  }
+
+  /**
+   * Reads batches until the head of the queue is known to come before all the rows that are not read yet.
+   */
+  private void fillQueue()
+  {
+    while (!yielder.isDone()) {
+      final ScanResultValue batch = yielder.get();
+      if (!((List<?>) batch.getEvents()).isEmpty()) {
+        if (!queue.isEmpty() && ordering.compare(queue.peek(), batch) <= 0) {
+          return;
+        }
+        queue.addAll(batch.toSingleEventScanResultValues());
+      }
+      yielder = yielder.next(null);
+    }
+  }
+
+  private static Object getEvent(ScanResultValue singleEventValue)
+  {
+    return ((List<?>) singleEventValue.getEvents()).get(0);
+  }
+}
@@ -20,8 +20,13 @@ package org.apache.druid.query.scan;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.druid.java.util.common.ISE;
+import org.apache.druid.segment.column.ColumnHolder;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public class ScanResultValue implements Comparable<ScanResultValue>
 {
@@ -59,6 +64,42 @@ public class ScanResultValue implements Comparable<ScanResultValue>
     return events;
   }
 
+  /**
+   * Returns the "__time" of the first event of this batch, or {@link Long#MIN_VALUE} if the batch is empty. Events
+   * must be in the "list" or "compactedList" format and include "__time", see {@link ScanQuery#getOrder()}.
+   */
+  public long getFirstEventTimestamp()
+  {
+    final List<?> eventList = (List<?>) events;
+    if (eventList.isEmpty()) {
+      return Long.MIN_VALUE;
+    }
+    final Object event = eventList.get(0);
+    final Object timestamp;
+    if (event instanceof Map) {
+      timestamp = ((Map<?, ?>) event).get(ColumnHolder.TIME_COLUMN_NAME);
+    } else {
+      timestamp = ((List<?>) event).get(columns.indexOf(ColumnHolder.TIME_COLUMN_NAME));
+    }
+    if (!(timestamp instanceof Number)) {
+      throw new ISE("Expected a numeric %s, got[%s]", ColumnHolder.TIME_COLUMN_NAME, timestamp);
+    }
+    return ((Number) timestamp).longValue();
+  }
+
+  /**
+   * Splits this batch into batches of a single event each.
+   */
+  public List<ScanResultValue> toSingleEventScanResultValues()
+  {
+    final List<?> eventList = (List<?>) events;
+    final List<ScanResultValue> singleEventValues = new ArrayList<>(eventList.size());
+    for (Object event : eventList) {
+      singleEventValues.add(new ScanResultValue(segmentId, columns, Collections.singletonList(event)));
+    }
+    return singleEventValues;
+  }
+
   @Override
   public boolean equals(Object o)
   {
@@ -154,6 +154,12 @@ public class DefaultSearchQueryMetrics implements SearchQueryMetrics
     delegateQueryMetrics.identity(identity);
   }
 
+  @Override
+  public void lane(String lane)
+  {
+    delegateQueryMetrics.lane(lane);
+  }
+
   @Override
   public BitmapResultFactory<?> makeBitmapResultFactory(BitmapFactory factory)
   {
@@ -178,6 +184,12 @@ public class DefaultSearchQueryMetrics implements SearchQueryMetrics
     return delegateQueryMetrics.reportWaitTime(timeNs);
   }
 
+  @Override
+  public QueryMetrics reportQueuedTime(long timeNs)
+  {
+    return delegateQueryMetrics.reportQueuedTime(timeNs);
+  }
+
   @Override
   public QueryMetrics reportSegmentTime(long timeNs)
   {
@@ -153,6 +153,12 @@ public class DefaultSelectQueryMetrics implements SelectQueryMetrics
     delegateQueryMetrics.identity(identity);
   }
 
+  @Override
+  public void lane(String lane)
+  {
+    delegateQueryMetrics.lane(lane);
+  }
+
   @Override
   public BitmapResultFactory<?> makeBitmapResultFactory(BitmapFactory factory)
   {
@@ -177,6 +183,12 @@ public class DefaultSelectQueryMetrics implements SelectQueryMetrics
     return delegateQueryMetrics.reportWaitTime(timeNs);
   }
 
+  @Override
+  public QueryMetrics reportQueuedTime(long timeNs)
+  {
+    return delegateQueryMetrics.reportQueuedTime(timeNs);
+  }
+
   @Override
   public QueryMetrics reportSegmentTime(long timeNs)
   {
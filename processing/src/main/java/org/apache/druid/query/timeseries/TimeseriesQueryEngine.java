@@ -20,17 +20,29 @@
 package org.apache.druid.query.timeseries;
 
 import com.google.common.base.Function;
+import com.google.common.base.Predicates;
+import com.google.common.collect.Iterables;
 import org.apache.druid.java.util.common.guava.Sequence;
+import org.apache.druid.java.util.common.guava.Sequences;
+import org.apache.druid.java.util.common.io.Closer;
+import org.apache.druid.query.QueryContexts;
 import org.apache.druid.query.QueryRunnerHelper;
 import org.apache.druid.query.Result;
 import org.apache.druid.query.aggregation.Aggregator;
 import org.apache.druid.query.aggregation.AggregatorFactory;
+import org.apache.druid.query.aggregation.AggregatorUtil;
+import org.apache.druid.query.aggregation.VectorAggregator;
 import org.apache.druid.query.filter.Filter;
+import org.apache.druid.query.vector.VectorCursorGranularizer;
 import org.apache.druid.segment.Cursor;
 import org.apache.druid.segment.SegmentMissingException;
 import org.apache.druid.segment.StorageAdapter;
 import org.apache.druid.segment.filter.Filters;
+import org.apache.druid.segment.vector.VectorColumnSelectorFactory;
+import org.apache.druid.segment.vector.VectorCursor;
+import org.joda.time.Interval;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 
 /**
@@ -47,7 +59,14 @@ public class TimeseriesQueryEngine
 
     final Filter filter = Filters.convertToCNFFromQueryContext(query, Filters.toFilter(query.getDimensionsFilter()));
     final int limit = query.getLimit();
-    Sequence<Result<TimeseriesResultValue>> result = generateTimeseriesResult(adapter, query, filter);
+    final boolean doVectorize = QueryContexts.getVectorize(query).shouldVectorize(
+        adapter.canVectorize(filter, query.getVirtualColumns(), query.isDescending())
+        && AggregatorUtil.canVectorize(query.getAggregatorSpecs(), adapter)
+    );
+
+    Sequence<Result<TimeseriesResultValue>> result = doVectorize
+                                                     ? generateVectorizedTimeseriesResult(adapter, query, filter)
+                                                     : generateTimeseriesResult(adapter, query, filter);
     if (limit < Integer.MAX_VALUE) {
       return result.limit(limit);
     }
@@ -109,4 +128,136 @@ public class TimeseriesQueryEngine
         }
     );
   }
+
+  private Sequence<Result<TimeseriesResultValue>> generateVectorizedTimeseriesResult(
+      final StorageAdapter adapter,
+      final TimeseriesQuery query,
+      final Filter filter
+  )
+  {
+    final Interval queryInterval = Iterables.getOnlyElement(query.getIntervals());
+    final VectorCursor cursor = adapter.makeVectorCursor(
+        filter,
+        queryInterval,
+        query.getVirtualColumns(),
+        query.isDescending(),
+        QueryContexts.getVectorSize(query),
+        null
+    );
+
+    if (cursor == null) {
+      return Sequences.empty();
+    }
+
+    final Closer closer = Closer.create();
+    closer.register(cursor);
+
+    try {
+      final VectorCursorGranularizer granularizer = VectorCursorGranularizer.create(
+          adapter,
+          cursor,
+          query.getGranularity(),
+          queryInterval
+      );
+
+      if (granularizer == null) {
+        return Sequences.withBaggage(Sequences.empty(), closer);
+      }
+
+      final List<AggregatorFactory> aggregatorSpecs = query.getAggregatorSpecs();
+      final VectorColumnSelectorFactory columnSelectorFactory = cursor.getColumnSelectorFactory();
+      final VectorAggregator[] aggregators = new VectorAggregator[aggregatorSpecs.size()];
+      final String[] aggregatorNames = new String[aggregatorSpecs.size()];
+      final int[] aggregatorPositions = new int[aggregatorSpecs.size()];
+      int aggregatorsSize = 0;
+
+      for (int i = 0; i < aggregatorSpecs.size(); i++) {
+        final AggregatorFactory aggregatorFactory = aggregatorSpecs.get(i);
+        final VectorAggregator aggregator = aggregatorFactory.factorizeVector(columnSelectorFactory);
+        closer.register(aggregator::close);
+        aggregators[i] = aggregator;
+        aggregatorNames[i] = aggregatorFactory.getName();
+        aggregatorPositions[i] = aggregatorsSize;
+        aggregatorsSize += aggregatorFactory.getMaxIntermediateSizeWithNulls();
+      }
+
+      // A single aggregation slot is enough, since buckets are processed one at a time.
+      final ByteBuffer buffer = ByteBuffer.allocate(aggregatorsSize);
+      final boolean skipEmptyBuckets = query.isSkipEmptyBuckets();
+
+      final Sequence<Result<TimeseriesResultValue>> results = Sequences.filter(
+          Sequences.map(
+              Sequences.simple(granularizer.getBucketIterable()),
+              new Function<Interval, Result<TimeseriesResultValue>>()
+              {
+                @Override
+                public Result<TimeseriesResultValue> apply(Interval bucketInterval)
+                {
+                  boolean emptyBucket = true;
+
+                  while (!cursor.isDone()) {
+                    granularizer.setCurrentOffsets(bucketInterval);
+
+                    if (granularizer.getEndOffset() > granularizer.getStartOffset()) {
+                      if (emptyBucket) {
+                        initAggregators();
+                        emptyBucket = false;
+                      }
+
+                      for (int i = 0; i < aggregators.length; i++) {
+                        aggregators[i].aggregate(
+                            buffer,
+                            aggregatorPositions[i],
+                            granularizer.getStartOffset(),
+                            granularizer.getEndOffset()
+                        );
+                      }
+                    }
+
+                    if (!granularizer.advanceCursorWithinBucket()) {
+                      break;
+                    }
+                  }
+
+                  if (emptyBucket) {
+                    if (skipEmptyBuckets) {
+                      return null;
+                    }
+                    initAggregators();
+                  }
+
+                  final TimeseriesResultBuilder bob = new TimeseriesResultBuilder(
+                      query.getGranularity().toDateTime(bucketInterval.getStartMillis())
+                  );
+
+                  for (int i = 0; i < aggregators.length; i++) {
+                    bob.addMetric(aggregatorNames[i], aggregators[i].get(buffer, aggregatorPositions[i]));
+                  }
+
+                  return bob.build();
+                }
+
+                private void initAggregators()
+                {
+                  for (int i = 0; i < aggregators.length; i++) {
+                    aggregators[i].init(buffer, aggregatorPositions[i]);
+                  }
+                }
+              }
+          ),
+          Predicates.notNull()
+      );
+
+      return Sequences.withBaggage(results, closer);
+    }
+    catch (Throwable t1) {
+      try {
+        closer.close();
+      }
+      catch (Throwable t2) {
+        t1.addSuppressed(t2);
+      }
+      throw t1;
+    }
+  }
 }
@@ -36,6 +36,8 @@ import org.apache.druid.java.util.common.guava.Sequence;
 import org.apache.druid.java.util.common.guava.Sequences;
 import org.apache.druid.java.util.common.guava.nary.BinaryFn;
 import org.apache.druid.query.CacheStrategy;
+import org.apache.druid.query.ColumnarResultFormat;
+import org.apache.druid.query.ColumnarResultSerde;
 import org.apache.druid.query.IntervalChunkingQueryRunnerDecorator;
 import org.apache.druid.query.Query;
 import org.apache.druid.query.QueryPlus;
@@ -72,6 +74,36 @@ public class TimeseriesQueryQueryToolChest extends QueryToolChest<Result<Timeser
       new TypeReference<Result<TimeseriesResultValue>>()
       {
       };
+  private static final ColumnarResultSerde<Result<TimeseriesResultValue>> COLUMNAR_RESULT_SERDE =
+      new ColumnarResultSerde<Result<TimeseriesResultValue>>()
+      {
+        @Override
+        public long getTimestamp(Result<TimeseriesResultValue> result)
+        {
+          return result.getTimestamp().getMillis();
+        }
+
+        @Override
+        public int getNumRows(Result<TimeseriesResultValue> result)
+        {
+          return 1;
+        }
+
+        @Override
+        public Map<String, Object> getRow(Result<TimeseriesResultValue> result, int rowNumber)
+        {
+          return result.getValue().getBaseObject();
+        }
+
+        @Override
+        public Result<TimeseriesResultValue> makeResult(ColumnarResultFormat.Frame frame, int resultNumber)
+        {
+          return new Result<>(
+              DateTimes.utc(frame.getTimestamp(resultNumber)),
+              new TimeseriesResultValue(frame.getRow(frame.getFirstRow(resultNumber)))
+          );
+        }
+      };
 
   private final IntervalChunkingQueryRunnerDecorator intervalChunkingQueryRunnerDecorator;
   private final TimeseriesQueryMetricsFactory queryMetricsFactory;
@@ -123,9 +155,7 @@ public class TimeseriesQueryQueryToolChest extends QueryToolChest<Result<Timeser
       @Override
       protected Ordering<Result<TimeseriesResultValue>> makeOrdering(Query<Result<TimeseriesResultValue>> query)
       {
-        return ResultGranularTimestampComparator.create(
-            ((TimeseriesQuery) query).getGranularity(), query.isDescending()
-        );
+        return createResultComparator(query);
       }
 
       @Override
@@ -133,11 +163,7 @@ public class TimeseriesQueryQueryToolChest extends QueryToolChest<Result<Timeser
           Query<Result<TimeseriesResultValue>> input
       )
       {
-        TimeseriesQuery query = (TimeseriesQuery) input;
-        return new TimeseriesBinaryFn(
-            query.getGranularity(),
-            query.getAggregatorSpecs()
-        );
+        return TimeseriesQueryQueryToolChest.this.createMergeFn(input);
       }
     };
 
@@ -232,6 +258,26 @@ public class TimeseriesQueryQueryToolChest extends QueryToolChest<Result<Timeser
     return bob.build();
   }
 
+  @Override
+  public BinaryFn<Result<TimeseriesResultValue>, Result<TimeseriesResultValue>, Result<TimeseriesResultValue>> createMergeFn(
+      Query<Result<TimeseriesResultValue>> input
+  )
+  {
+    TimeseriesQuery query = (TimeseriesQuery) input;
+    return new TimeseriesBinaryFn(
+        query.getGranularity(),
+        query.getAggregatorSpecs()
+    );
+  }
+
+  @Override
+  public Ordering<Result<TimeseriesResultValue>> createResultComparator(Query<Result<TimeseriesResultValue>> query)
+  {
+    return ResultGranularTimestampComparator.create(
+        ((TimeseriesQuery) query).getGranularity(), query.isDescending()
+    );
+  }
+
   @Override
   public TimeseriesQueryMetrics makeMetrics(TimeseriesQuery query)
   {
@@ -246,6 +292,12 @@ public class TimeseriesQueryQueryToolChest extends QueryToolChest<Result<Timeser
     return TYPE_REFERENCE;
   }
 
+  @Override
+  public ColumnarResultSerde<Result<TimeseriesResultValue>> getColumnarResultSerde(TimeseriesQuery query)
+  {
+    return COLUMNAR_RESULT_SERDE;
+  }
+
   @Override
   public CacheStrategy<Result<TimeseriesResultValue>, Object, TimeseriesQuery> getCacheStrategy(final TimeseriesQuery query)
   {
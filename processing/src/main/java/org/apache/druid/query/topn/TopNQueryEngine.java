@@ -28,6 +28,8 @@ import org.apache.druid.java.util.common.guava.Sequence;
 import org.apache.druid.java.util.common.guava.Sequences;
 import org.apache.druid.query.Result;
 import org.apache.druid.query.aggregation.AggregatorFactory;
+import org.apache.druid.query.dimension.DictionaryMappedDimensionSpec;
+import org.apache.druid.query.dimension.DimensionSpec;
 import org.apache.druid.query.extraction.ExtractionFn;
 import org.apache.druid.query.filter.Filter;
 import org.apache.druid.segment.Cursor;
@@ -125,6 +127,22 @@ public class TopNQueryEngine
     final ColumnCapabilities columnCapabilities = query.getVirtualColumns()
                                                        .getColumnCapabilitiesWithFallback(adapter, dimension);
 
+    // Lookups on dictionary-encoded columns are applied once to every dictionary value, so that the dimension can be
+    // processed like a plain dictionary-encoded dimension, instead of looking up values row by row
+    final DimensionSpec dimensionSpec = DictionaryMappedDimensionSpec.mapIfPossible(
+        query.getDimensionSpec(),
+        query.getVirtualColumns(),
+        columnCapabilities,
+        cardinality,
+        DictionaryMappedDimensionSpec.estimateRowsToScan(
+            adapter,
+            query.getIntervals(),
+            query.getDimensionsFilter() != null
+        )
+    );
+    final boolean isDictionaryMapped = dimensionSpec != query.getDimensionSpec();
+    final TopNQuery queryToRun = isDictionaryMapped ? query.withDimensionSpec(dimensionSpec) : query;
+
     final TopNAlgorithm topNAlgorithm;
     if (
         selector.isHasExtractionFn() &&
@@ -135,29 +153,29 @@ public class TopNQueryEngine
         ) {
       // A special TimeExtractionTopNAlgorithm is required, since DimExtractionTopNAlgorithm
       // currently relies on the dimension cardinality to support lexicographic sorting
-      topNAlgorithm = new TimeExtractionTopNAlgorithm(adapter, query);
-    } else if (selector.isHasExtractionFn()) {
-      topNAlgorithm = new DimExtractionTopNAlgorithm(adapter, query);
+      topNAlgorithm = new TimeExtractionTopNAlgorithm(adapter, queryToRun);
+    } else if (selector.isHasExtractionFn() && !isDictionaryMapped) {
+      topNAlgorithm = new DimExtractionTopNAlgorithm(adapter, queryToRun);
     } else if (columnCapabilities != null && !(columnCapabilities.getType() == ValueType.STRING
                                                && columnCapabilities.isDictionaryEncoded())) {
       // Use DimExtraction for non-Strings and for non-dictionary-encoded Strings.
-      topNAlgorithm = new DimExtractionTopNAlgorithm(adapter, query);
+      topNAlgorithm = new DimExtractionTopNAlgorithm(adapter, queryToRun);
     } else if (query.getDimensionSpec().getOutputType() != ValueType.STRING) {
       // Use DimExtraction when the dimension output type is a non-String. (It's like an extractionFn: there can be
       // a many-to-one mapping, since numeric types can't represent all possible values of other types.)
-      topNAlgorithm = new DimExtractionTopNAlgorithm(adapter, query);
+      topNAlgorithm = new DimExtractionTopNAlgorithm(adapter, queryToRun);
     } else if (selector.isAggregateAllMetrics()) {
-      topNAlgorithm = new PooledTopNAlgorithm(adapter, query, bufferPool);
+      topNAlgorithm = new PooledTopNAlgorithm(adapter, queryToRun, bufferPool);
     } else if (selector.isAggregateTopNMetricFirst() || query.getContextBoolean("doAggregateTopNMetricFirst", false)) {
-      topNAlgorithm = new AggregateTopNMetricFirstAlgorithm(adapter, query, bufferPool);
+      topNAlgorithm = new AggregateTopNMetricFirstAlgorithm(adapter, queryToRun, bufferPool);
     } else {
-      topNAlgorithm = new PooledTopNAlgorithm(adapter, query, bufferPool);
+      topNAlgorithm = new PooledTopNAlgorithm(adapter, queryToRun, bufferPool);
     }
     if (queryMetrics != null) {
       queryMetrics.algorithm(topNAlgorithm);
     }
 
-    return new TopNMapFn(query, topNAlgorithm);
+    return new TopNMapFn(queryToRun, topNAlgorithm);
   }
 
   public static boolean canApplyExtractionInPost(TopNQuery query)
@@ -27,6 +27,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Ordering;
 import com.google.inject.Inject;
+import org.apache.druid.java.util.common.DateTimes;
 import org.apache.druid.java.util.common.ISE;
 import org.apache.druid.java.util.common.granularity.Granularity;
 import org.apache.druid.java.util.common.guava.Sequence;
@@ -34,6 +35,8 @@ import org.apache.druid.java.util.common.guava.Sequences;
 import org.apache.druid.java.util.common.guava.nary.BinaryFn;
 import org.apache.druid.query.BySegmentResultValue;
 import org.apache.druid.query.CacheStrategy;
+import org.apache.druid.query.ColumnarResultFormat;
+import org.apache.druid.query.ColumnarResultSerde;
 import org.apache.druid.query.IntervalChunkingQueryRunnerDecorator;
 import org.apache.druid.query.Query;
 import org.apache.druid.query.QueryContexts;
@@ -53,6 +56,7 @@ import org.apache.druid.query.dimension.DimensionSpec;
 import org.apache.druid.segment.DimensionHandlerUtils;
 import org.joda.time.DateTime;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -68,6 +72,38 @@ public class TopNQueryQueryToolChest extends QueryToolChest<Result<TopNResultVal
   private static final TypeReference<Object> OBJECT_TYPE_REFERENCE = new TypeReference<Object>()
   {
   };
+  private static final ColumnarResultSerde<Result<TopNResultValue>> COLUMNAR_RESULT_SERDE =
+      new ColumnarResultSerde<Result<TopNResultValue>>()
+      {
+        @Override
+        public long getTimestamp(Result<TopNResultValue> result)
+        {
+          return result.getTimestamp().getMillis();
+        }
+
+        @Override
+        public int getNumRows(Result<TopNResultValue> result)
+        {
+          return result.getValue().getValue().size();
+        }
+
+        @Override
+        public Map<String, Object> getRow(Result<TopNResultValue> result, int rowNumber)
+        {
+          return result.getValue().getValue().get(rowNumber).getBaseObject();
+        }
+
+        @Override
+        public Result<TopNResultValue> makeResult(ColumnarResultFormat.Frame frame, int resultNumber)
+        {
+          final int firstRow = frame.getFirstRow(resultNumber);
+          final List<Map<String, Object>> rows = new ArrayList<>(frame.getNumRows(resultNumber));
+          for (int i = 0; i < frame.getNumRows(resultNumber); i++) {
+            rows.add(frame.getRow(firstRow + i));
+          }
+          return new Result<>(DateTimes.utc(frame.getTimestamp(resultNumber)), new TopNResultValue(rows));
+        }
+      };
 
   private final TopNQueryConfig config;
   private final IntervalChunkingQueryRunnerDecorator intervalChunkingQueryRunnerDecorator;
@@ -117,9 +153,7 @@ public class TopNQueryQueryToolChest extends QueryToolChest<Result<TopNResultVal
       @Override
       protected Ordering<Result<TopNResultValue>> makeOrdering(Query<Result<TopNResultValue>> query)
       {
-        return ResultGranularTimestampComparator.create(
-            ((TopNQuery) query).getGranularity(), query.isDescending()
-        );
+        return createResultComparator(query);
       }
 
       @Override
@@ -127,19 +161,35 @@ public class TopNQueryQueryToolChest extends QueryToolChest<Result<TopNResultVal
           Query<Result<TopNResultValue>> input
       )
       {
-        TopNQuery query = (TopNQuery) input;
-        return new TopNBinaryFn(
-            query.getGranularity(),
-            query.getDimensionSpec(),
-            query.getTopNMetricSpec(),
-            query.getThreshold(),
-            query.getAggregatorSpecs(),
-            query.getPostAggregatorSpecs()
-        );
+        return TopNQueryQueryToolChest.this.createMergeFn(input);
       }
     };
   }
 
+  @Override
+  public BinaryFn<Result<TopNResultValue>, Result<TopNResultValue>, Result<TopNResultValue>> createMergeFn(
+      Query<Result<TopNResultValue>> input
+  )
+  {
+    TopNQuery query = (TopNQuery) input;
+    return new TopNBinaryFn(
+        query.getGranularity(),
+        query.getDimensionSpec(),
+        query.getTopNMetricSpec(),
+        query.getThreshold(),
+        query.getAggregatorSpecs(),
+        query.getPostAggregatorSpecs()
+    );
+  }
+
+  @Override
+  public Ordering<Result<TopNResultValue>> createResultComparator(Query<Result<TopNResultValue>> query)
+  {
+    return ResultGranularTimestampComparator.create(
+        ((TopNQuery) query).getGranularity(), query.isDescending()
+    );
+  }
+
   @Override
   public TopNQueryMetrics makeMetrics(TopNQuery query)
   {
@@ -284,6 +334,12 @@ public class TopNQueryQueryToolChest extends QueryToolChest<Result<TopNResultVal
     return TYPE_REFERENCE;
   }
 
+  @Override
+  public ColumnarResultSerde<Result<TopNResultValue>> getColumnarResultSerde(TopNQuery query)
+  {
+    return COLUMNAR_RESULT_SERDE;
+  }
+
 
   @Override
   public CacheStrategy<Result<TopNResultValue>, Object, TopNQuery> getCacheStrategy(final TopNQuery query)
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.vector;
+
+import org.apache.druid.java.util.common.granularity.Granularity;
+import org.apache.druid.segment.StorageAdapter;
+import org.apache.druid.segment.column.ColumnHolder;
+import org.apache.druid.segment.vector.VectorCursor;
+import org.apache.druid.segment.vector.VectorValueSelector;
+import org.joda.time.DateTime;
+import org.joda.time.Interval;
+
+import javax.annotation.Nullable;
+
+/**
+ * Class that helps vectorized query engines handle "granularity" parameters. Nonvectorized engines get one
+ * {@link org.apache.druid.segment.Cursor} per time bucket, but a {@link VectorCursor} walks the whole interval, so
+ * vectorized engines split each vector into runs of rows belonging to the same bucket.
+ *
+ * Usage: iterate over {@link #getBucketIterable()}, call {@link #setCurrentOffsets} for each bucket, aggregate rows
+ * [{@link #getStartOffset()}, {@link #getEndOffset()}) of the current vector, then call
+ * {@link #advanceCursorWithinBucket()} and repeat while it returns true and the cursor is not done.
+ *
+ * Only works with ascending cursors, since {@link VectorCursor} does not support descending order.
+ */
+public class VectorCursorGranularizer
+{
+  // Cursor made from the same (possibly clipped) interval.
+  private final VectorCursor cursor;
+
+  // Iterable that iterates over time buckets.
+  private final Iterable<Interval> bucketIterable;
+
+  // Vector selector for the "__time" column; null if all rows of the cursor fall into a single bucket.
+  @Nullable
+  private final VectorValueSelector timeSelector;
+
+  // Current time vector, read lazily from timeSelector.
+  @Nullable
+  private long[] timestamps = null;
+
+  // Offset into the vector that we should start reading from.
+  private int startOffset = 0;
+
+  // Offset into the vector that is one past the last one we should read.
+  private int endOffset = 0;
+
+  private VectorCursorGranularizer(
+      VectorCursor cursor,
+      Iterable<Interval> bucketIterable,
+      @Nullable VectorValueSelector timeSelector
+  )
+  {
+    this.cursor = cursor;
+    this.bucketIterable = bucketIterable;
+    this.timeSelector = timeSelector;
+  }
+
+  /**
+   * Returns null if there is no overlap between the query interval and the data interval of the storage adapter,
+   * in which case there is nothing to do.
+   */
+  @Nullable
+  public static VectorCursorGranularizer create(
+      final StorageAdapter storageAdapter,
+      final VectorCursor cursor,
+      final Granularity granularity,
+      final Interval queryInterval
+  )
+  {
+    final DateTime minTime = storageAdapter.getMinTime();
+    final DateTime maxTime = storageAdapter.getMaxTime();
+
+    final Interval storageAdapterInterval = new Interval(minTime, granularity.bucketEnd(maxTime));
+    final Interval clippedQueryInterval = queryInterval.overlap(storageAdapterInterval);
+
+    if (clippedQueryInterval == null) {
+      return null;
+    }
+
+    final Iterable<Interval> bucketIterable = granularity.getIterable(clippedQueryInterval);
+    final Interval firstBucket = granularity.bucket(clippedQueryInterval.getStart());
+
+    final VectorValueSelector timeSelector;
+    if (firstBucket.contains(clippedQueryInterval)) {
+      // Only one bucket, no need to read the time column.
+      timeSelector = null;
+    } else {
+      timeSelector = cursor.getColumnSelectorFactory().makeValueSelector(ColumnHolder.TIME_COLUMN_NAME);
+    }
+
+    return new VectorCursorGranularizer(cursor, bucketIterable, timeSelector);
+  }
+
+  public void setCurrentOffsets(final Interval bucketInterval)
+  {
+    final long timeStart = bucketInterval.getStartMillis();
+    final long timeEnd = bucketInterval.getEndMillis();
+
+    final int vectorSize = cursor.getCurrentVectorSize();
+
+    if (timeSelector != null) {
+      if (timestamps == null) {
+        timestamps = timeSelector.getLongVector();
+      }
+
+      // Skip rows before the start of bucketInterval.
+      while (startOffset < vectorSize && timestamps[startOffset] < timeStart) {
+        startOffset++;
+      }
+
+      // Find the end of bucketInterval; timestamps are sorted, so scan backwards from the end of the vector.
+      endOffset = vectorSize;
+      while (endOffset > startOffset && timestamps[endOffset - 1] >= timeEnd) {
+        endOffset--;
+      }
+    } else {
+      endOffset = vectorSize;
+    }
+  }
+
+  /**
+   * Advances the cursor if the current bucket extends past the end of the current vector. Returns true if the cursor
+   * was advanced; in that case the caller should check {@link VectorCursor#isDone()} and, if it is not done, call
+   * {@link #setCurrentOffsets} again with the same bucket.
+   */
+  public boolean advanceCursorWithinBucket()
+  {
+    if (endOffset == cursor.getCurrentVectorSize()) {
+      cursor.advance();
+
+      if (timeSelector != null && !cursor.isDone()) {
+        timestamps = timeSelector.getLongVector();
+      }
+
+      startOffset = 0;
+
+      return true;
+    } else {
+      return false;
+    }
+  }
+
+  public Iterable<Interval> getBucketIterable()
+  {
+    return bucketIterable;
+  }
+
+  public int getStartOffset()
+  {
+    return startOffset;
+  }
+
+  public int getEndOffset()
+  {
+    return endOffset;
+  }
+}
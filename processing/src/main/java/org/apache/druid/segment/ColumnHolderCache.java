@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.druid.segment;
+
+import com.google.common.base.Equivalence;
+import com.google.common.base.Supplier;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.druid.java.util.common.RE;
+import org.apache.druid.segment.column.ColumnCapabilities;
+import org.apache.druid.segment.column.ColumnHolder;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of deserialized {@link ColumnHolder}s, shared by all indexes loaded by an {@link IndexIO}. Column
+ * holders keep the headers of their parts (e.g. {@link org.apache.druid.segment.data.GenericIndexed} dictionaries and
+ * bitmap indexes) on heap, so keeping them for every column of every loaded segment makes heap usage grow with the
+ * total number of columns. Evicted columns are deserialized again from the mapped segment files when they are needed.
+ *
+ * The size of a column holder is not tracked, so it is estimated from its parts: dictionary-encoded columns weigh the
+ * size and the cardinality of their dictionary, plus the size of the lookup cache of their columns, see
+ * {@link org.apache.druid.segment.column.ColumnConfig#columnCacheSizeBytes()}.
+ */
+public class ColumnHolderCache
+{
+  static final int ESTIMATED_COLUMN_BYTES = 1024;
+  static final int ESTIMATED_INDEX_BYTES = 512;
+
+  /**
+   * Overhead of every value of a dictionary besides its serialized bytes, e.g. for the objects its values are decoded
+   * into.
+   */
+  static final int ESTIMATED_BYTES_PER_DICTIONARY_VALUE = 8;
+
+  private final Cache<Key, ColumnHolder> cache;
+  private final int columnCacheSizeBytes;
+  private final AtomicLong sizeBytes = new AtomicLong(0);
+
+  /**
+   * Keys of the cached columns of every owner, so that {@link #invalidate} doesn't need to scan the whole cache.
+   */
+  private final ConcurrentMap<Equivalence.Wrapper<Object>, Set<Key>> keysByOwner = new ConcurrentHashMap<>();
+
+  /**
+   * @param columnCacheSizeBytes size of the lookup cache of every dictionary-encoded column
+   */
+  public ColumnHolderCache(long maxSizeBytes, int columnCacheSizeBytes)
+  {
+    this.columnCacheSizeBytes = columnCacheSizeBytes;
+    this.cache = CacheBuilder
+        .newBuilder()
+        .maximumWeight(maxSizeBytes)
+        .weigher((Key key, ColumnHolder columnHolder) -> estimateSize(columnHolder))
+        .removalListener(
+            (RemovalNotification<Key, ColumnHolder> notification) -> {
+              sizeBytes.addAndGet(-estimateSize(notification.getValue()));
+              removeKey(notification.getKey());
+            }
+        )
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Returns a supplier which gets the column from the cache, and calls "loader" to deserialize it if it's not cached.
+   * Columns are identified by the "owner", compared by identity, and the column name.
+   */
+  public Supplier<ColumnHolder> makeSupplier(Object owner, String columnName, Callable<ColumnHolder> loader)
+  {
+    final Key key = new Key(owner, columnName);
+    final Callable<ColumnHolder> accountingLoader = () -> {
+      final ColumnHolder columnHolder = loader.call();
+      sizeBytes.addAndGet(estimateSize(columnHolder));
+      addKey(key);
+      return columnHolder;
+    };
+    return () -> {
+      try {
+        return cache.get(key, accountingLoader);
+      }
+      catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+        throw new RE(e.getCause(), "Failed to load column[%s]", columnName);
+      }
+    };
+  }
+
+  /**
+   * Removes all cached columns of the given owner. Must be called when the owner is closed.
+   */
+  public void invalidate(Object owner)
+  {
+    final Set<Key> keys = keysByOwner.remove(Equivalence.identity().wrap(owner));
+    if (keys != null) {
+      cache.invalidateAll(keys);
+    }
+  }
+
+  public long getNumEntries()
+  {
+    return cache.size();
+  }
+
+  public long getSizeBytes()
+  {
+    return sizeBytes.get();
+  }
+
+  public CacheStats getStats()
+  {
+    return cache.stats();
+  }
+
+  int estimateSize(ColumnHolder columnHolder)
+  {
+    final ColumnCapabilities capabilities = columnHolder.getCapabilities();
+    long size = ESTIMATED_COLUMN_BYTES;
+    if (capabilities.isDictionaryEncoded()) {
+      size += columnHolder.getDictionarySizeBytes()
+              + (long) columnHolder.getDictionaryCardinality() * ESTIMATED_BYTES_PER_DICTIONARY_VALUE
+              + columnCacheSizeBytes;
+    }
+    if (capabilities.hasBitmapIndexes()) {
+      size += ESTIMATED_INDEX_BYTES;
+    }
+    if (capabilities.hasSpatialIndexes()) {
+      size += ESTIMATED_INDEX_BYTES;
+    }
+    return Ints.saturatedCast(size);
+  }
+
+  private void addKey(Key key)
+  {
+    keysByOwner.compute(
+        key.owner,
+        (owner, keys) -> {
+          final Set<Key> ownerKeys = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+          ownerKeys.add(key);
+          return ownerKeys;
+        }
+    );
+  }
+
+  private void removeKey(Key key)
+  {
+    keysByOwner.computeIfPresent(
+        key.owner,
+        (owner, keys) -> {
+          keys.remove(key);
+          return keys.isEmpty() ? null : keys;
+        }
+    );
+  }
+
+  private static class Key
+  {
+    private final Equivalence.Wrapper<Object> owner;
+    private final String columnName;
+
+    Key(Object owner, String columnName)
+    {
+      this.owner = Equivalence.identity().wrap(owner);
+      this.columnName = columnName;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return owner.equals(key.owner) && columnName.equals(key.columnName);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Objects.hash(owner, columnName);
+    }
+  }
+}
@@ -23,6 +23,7 @@ import org.apache.druid.java.util.common.granularity.Granularity;
 import org.apache.druid.java.util.common.guava.Sequence;
 import org.apache.druid.query.QueryMetrics;
 import org.apache.druid.query.filter.Filter;
+import org.apache.druid.segment.vector.VectorCursor;
 import org.joda.time.Interval;
 
 import javax.annotation.Nullable;
@@ -39,4 +40,32 @@ public interface CursorFactory
       boolean descending,
       @Nullable QueryMetrics<?> queryMetrics
   );
+
+  /**
+   * Returns true if the provided combination of parameters can be handled by {@link #makeVectorCursor}.
+   */
+  default boolean canVectorize(@Nullable Filter filter, VirtualColumns virtualColumns, boolean descending)
+  {
+    return false;
+  }
+
+  /**
+   * Creates a {@link VectorCursor}. Unlike the Cursors returned by {@link #makeCursors}, there is just one of these,
+   * so this method does not take a granularity parameter. Callers must check {@link #canVectorize} first.
+   *
+   * Returns null if there is no data to walk over, for example if "interval" does not overlap the data interval of
+   * this segment.
+   */
+  @Nullable
+  default VectorCursor makeVectorCursor(
+      @Nullable Filter filter,
+      Interval interval,
+      VirtualColumns virtualColumns,
+      boolean descending,
+      int vectorSize,
+      @Nullable QueryMetrics<?> queryMetrics
+  )
+  {
+    throw new UnsupportedOperationException("Cannot vectorize. Check 'canVectorize' before calling 'makeVectorCursor'.");
+  }
 }
@@ -24,6 +24,7 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
@@ -36,6 +37,7 @@ import org.apache.druid.collections.bitmap.ConciseBitmapFactory;
 import org.apache.druid.collections.bitmap.ImmutableBitmap;
 import org.apache.druid.collections.spatial.ImmutableRTree;
 import org.apache.druid.common.utils.SerializerUtils;
+import org.apache.druid.guice.LazySingleton;
 import org.apache.druid.java.util.common.IAE;
 import org.apache.druid.java.util.common.IOE;
 import org.apache.druid.java.util.common.ISE;
@@ -78,6 +80,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
+@LazySingleton
 public class IndexIO
 {
   public static final byte V8_VERSION = 0x8;
@@ -93,21 +96,41 @@ public class IndexIO
   private static final SerializerUtils serializerUtils = new SerializerUtils();
 
   private final ObjectMapper mapper;
+  @Nullable
+  private final ColumnHolderCache columnHolderCache;
 
   @Inject
   public IndexIO(ObjectMapper mapper, ColumnConfig columnConfig)
   {
     this.mapper = Preconditions.checkNotNull(mapper, "null ObjectMapper");
     Preconditions.checkNotNull(columnConfig, "null ColumnConfig");
+    if (columnConfig.columnHolderCacheSizeBytes() > 0) {
+      this.columnHolderCache = new ColumnHolderCache(
+          columnConfig.columnHolderCacheSizeBytes(),
+          columnConfig.columnCacheSizeBytes()
+      );
+    } else {
+      this.columnHolderCache = null;
+    }
     ImmutableMap.Builder<Integer, IndexLoader> indexLoadersBuilder = ImmutableMap.builder();
     LegacyIndexLoader legacyIndexLoader = new LegacyIndexLoader(new DefaultIndexIOHandler(), columnConfig);
     for (int i = 0; i <= V8_VERSION; i++) {
       indexLoadersBuilder.put(i, legacyIndexLoader);
     }
-    indexLoadersBuilder.put((int) V9_VERSION, new V9IndexLoader(columnConfig));
+    indexLoadersBuilder.put((int) V9_VERSION, new V9IndexLoader(columnConfig, columnHolderCache));
     indexLoaders = indexLoadersBuilder.build();
   }
 
+  /**
+   * Returns the cache of deserialized columns of the indexes loaded by this IndexIO, or null if columns are not cached
+   * and are kept as long as their index is loaded instead.
+   */
+  @Nullable
+  public ColumnHolderCache getColumnHolderCache()
+  {
+    return columnHolderCache;
+  }
+
   public void validateTwoSegments(File dir1, File dir2) throws IOException
   {
     try (QueryableIndex queryableIndex1 = loadIndex(dir1)) {
@@ -178,13 +201,23 @@ public class IndexIO
   }
 
   public QueryableIndex loadIndex(File inDir) throws IOException
+  {
+    return loadIndex(inDir, false);
+  }
+
+  /**
+   * Loads the index in the given directory. If "lazy" is true, columns are only mapped and deserialized the first
+   * time they are accessed, so that the index is available after reading the index headers and metadata only. Only
+   * v9 indexes support lazy loading, older versions are always loaded eagerly.
+   */
+  public QueryableIndex loadIndex(File inDir, boolean lazy) throws IOException
   {
     final int version = SegmentUtils.getVersionFromDir(inDir);
 
     final IndexLoader loader = indexLoaders.get(version);
 
     if (loader != null) {
-      return loader.load(inDir, mapper);
+      return loader.load(inDir, mapper, lazy);
     } else {
       throw new ISE("Unknown index version[%s]", version);
     }
@@ -405,7 +438,7 @@ public class IndexIO
 
   interface IndexLoader
   {
-    QueryableIndex load(File inDir, ObjectMapper mapper) throws IOException;
+    QueryableIndex load(File inDir, ObjectMapper mapper, boolean lazy) throws IOException;
   }
 
   static class LegacyIndexLoader implements IndexLoader
@@ -420,7 +453,7 @@ public class IndexIO
     }
 
     @Override
-    public QueryableIndex load(File inDir, ObjectMapper mapper) throws IOException
+    public QueryableIndex load(File inDir, ObjectMapper mapper, boolean lazy) throws IOException
     {
       MMappedIndex index = legacyHandler.mapDir(inDir);
 
@@ -506,7 +539,7 @@ public class IndexIO
           index.getDataInterval(),
           index.getAvailableDimensions(),
           new ConciseBitmapFactory(),
-          columns,
+          Maps.newHashMap(Maps.transformValues(columns, Suppliers::ofInstance)),
           index.getFileMapper(),
           null
       );
@@ -516,14 +549,17 @@ public class IndexIO
   static class V9IndexLoader implements IndexLoader
   {
     private final ColumnConfig columnConfig;
+    @Nullable
+    private final ColumnHolderCache columnHolderCache;
 
-    V9IndexLoader(ColumnConfig columnConfig)
+    V9IndexLoader(ColumnConfig columnConfig, @Nullable ColumnHolderCache columnHolderCache)
     {
       this.columnConfig = columnConfig;
+      this.columnHolderCache = columnHolderCache;
     }
 
     @Override
-    public QueryableIndex load(File inDir, ObjectMapper mapper) throws IOException
+    public QueryableIndex load(File inDir, ObjectMapper mapper, boolean lazy) throws IOException
     {
       log.debug("Mapping v9 index[%s]", inDir);
       long startTime = System.currentTimeMillis();
@@ -583,17 +619,20 @@ public class IndexIO
         }
       }
 
-      Map<String, ColumnHolder> columns = Maps.newHashMap();
+      Map<String, Supplier<ColumnHolder>> columns = Maps.newHashMap();
 
       for (String columnName : cols) {
         if (Strings.isNullOrEmpty(columnName)) {
           log.warn("Null or Empty Dimension found in the file : " + inDir);
           continue;
         }
-        columns.put(columnName, deserializeColumn(mapper, smooshedFiles.mapFile(columnName), smooshedFiles));
+        columns.put(columnName, makeColumnSupplier(mapper, columnName, smooshedFiles, lazy));
       }
 
-      columns.put(ColumnHolder.TIME_COLUMN_NAME, deserializeColumn(mapper, smooshedFiles.mapFile("__time"), smooshedFiles));
+      columns.put(
+          ColumnHolder.TIME_COLUMN_NAME,
+          makeColumnSupplier(mapper, "__time", smooshedFiles, lazy)
+      );
 
       final QueryableIndex index = new SimpleQueryableIndex(
           dataInterval,
@@ -601,7 +640,8 @@ public class IndexIO
           segmentBitmapSerdeFactory.getBitmapFactory(),
           columns,
           smooshedFiles,
-          metadata
+          metadata,
+          columnHolderCache
       );
 
       log.debug("Mapped v9 index[%s] in %,d millis", inDir, System.currentTimeMillis() - startTime);
@@ -609,6 +649,40 @@ public class IndexIO
       return index;
     }
 
+    private Supplier<ColumnHolder> makeColumnSupplier(
+        ObjectMapper mapper,
+        String fileName,
+        SmooshedFileMapper smooshedFiles,
+        boolean lazy
+    ) throws IOException
+    {
+      if (columnHolderCache != null) {
+        final Supplier<ColumnHolder> supplier = columnHolderCache.makeSupplier(
+            smooshedFiles,
+            fileName,
+            () -> deserializeColumn(mapper, smooshedFiles.mapFile(fileName), smooshedFiles)
+        );
+        if (!lazy) {
+          // deserialize once, so that broken columns are still found at load time
+          supplier.get();
+        }
+        return supplier;
+      }
+      if (!lazy) {
+        return Suppliers.ofInstance(deserializeColumn(mapper, smooshedFiles.mapFile(fileName), smooshedFiles));
+      }
+      return Suppliers.memoize(
+          () -> {
+            try {
+              return deserializeColumn(mapper, smooshedFiles.mapFile(fileName), smooshedFiles);
+            }
+            catch (IOException e) {
+              throw new RuntimeException(e);
+            }
+          }
+      );
+    }
+
     private ColumnHolder deserializeColumn(ObjectMapper mapper, ByteBuffer byteBuffer, SmooshedFileMapper smooshedFiles)
         throws IOException
     {
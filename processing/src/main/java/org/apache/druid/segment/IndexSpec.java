@@ -28,6 +28,9 @@ import org.apache.druid.segment.data.BitmapSerdeFactory;
 import org.apache.druid.segment.data.CompressionFactory;
 import org.apache.druid.segment.data.CompressionStrategy;
 import org.apache.druid.segment.data.ConciseBitmapSerdeFactory;
+import org.apache.druid.segment.data.StringEncodingStrategy;
+
+import javax.annotation.Nullable;
 
 import java.util.Arrays;
 import java.util.Objects;
@@ -50,7 +53,7 @@ public class IndexSpec
   );
 
   private static final Set<CompressionStrategy> DIMENSION_COMPRESSION = Sets.newHashSet(
-      Arrays.asList(CompressionStrategy.noNoneValues())
+      Arrays.asList(CompressionStrategy.values())
   );
 
   private static final Set<CompressionFactory.LongEncodingStrategy> LONG_ENCODING_NAMES = Sets.newHashSet(
@@ -61,7 +64,7 @@ public class IndexSpec
   private final CompressionStrategy dimensionCompression;
   private final CompressionStrategy metricCompression;
   private final CompressionFactory.LongEncodingStrategy longEncoding;
-
+  private final StringEncodingStrategy stringDictionaryEncoding;
 
   /**
    * Creates an IndexSpec with default parameters
@@ -71,6 +74,19 @@ public class IndexSpec
     this(null, null, null, null);
   }
 
+  /**
+   * Creates an IndexSpec with the given storage format settings, and the default string dictionary encoding.
+   */
+  public IndexSpec(
+      BitmapSerdeFactory bitmapSerdeFactory,
+      CompressionStrategy dimensionCompression,
+      CompressionStrategy metricCompression,
+      CompressionFactory.LongEncodingStrategy longEncoding
+  )
+  {
+    this(bitmapSerdeFactory, dimensionCompression, metricCompression, longEncoding, null);
+  }
+
   /**
    * Creates an IndexSpec with the given storage format settings.
    *
@@ -80,20 +96,26 @@ public class IndexSpec
    *                           setting, or, if none was set, uses the default defined in {@link BitmapSerde}
    *
    * @param dimensionCompression compression format for dimension columns, null to use the default.
-   *                             Defaults to {@link CompressionStrategy#DEFAULT_COMPRESSION_STRATEGY}
+   *                             Defaults to {@link CompressionStrategy#DEFAULT_COMPRESSION_STRATEGY}.
+   *                             {@link CompressionStrategy#NONE} stores single-valued dimensions with per-block
+   *                             bitpacking and run-length encoding instead of block compression.
    *
    * @param metricCompression compression format for metric columns, null to use the default.
    *                          Defaults to {@link CompressionStrategy#DEFAULT_COMPRESSION_STRATEGY}
    *
    * @param longEncoding encoding strategy for metric and dimension columns with type long, null to use the default.
    *                     Defaults to {@link CompressionFactory#DEFAULT_LONG_ENCODING_STRATEGY}
+   *
+   * @param stringDictionaryEncoding storage format of the value dictionaries of string dimension columns, null to use
+   *                                 the default. Defaults to {@link StringEncodingStrategy#DEFAULT}, plain UTF-8.
    */
   @JsonCreator
   public IndexSpec(
       @JsonProperty("bitmap") BitmapSerdeFactory bitmapSerdeFactory,
       @JsonProperty("dimensionCompression") CompressionStrategy dimensionCompression,
       @JsonProperty("metricCompression") CompressionStrategy metricCompression,
-      @JsonProperty("longEncoding") CompressionFactory.LongEncodingStrategy longEncoding
+      @JsonProperty("longEncoding") CompressionFactory.LongEncodingStrategy longEncoding,
+      @JsonProperty("stringDictionaryEncoding") @Nullable StringEncodingStrategy stringDictionaryEncoding
   )
   {
     Preconditions.checkArgument(dimensionCompression == null || DIMENSION_COMPRESSION.contains(dimensionCompression),
@@ -109,6 +131,9 @@ public class IndexSpec
     this.dimensionCompression = dimensionCompression == null ? DEFAULT_DIMENSION_COMPRESSION : dimensionCompression;
     this.metricCompression = metricCompression == null ? DEFAULT_METRIC_COMPRESSION : metricCompression;
     this.longEncoding = longEncoding == null ? DEFAULT_LONG_ENCODING : longEncoding;
+    this.stringDictionaryEncoding = stringDictionaryEncoding == null
+                                    ? StringEncodingStrategy.DEFAULT
+                                    : stringDictionaryEncoding;
   }
 
   @JsonProperty("bitmap")
@@ -135,6 +160,12 @@ public class IndexSpec
     return longEncoding;
   }
 
+  @JsonProperty
+  public StringEncodingStrategy getStringDictionaryEncoding()
+  {
+    return stringDictionaryEncoding;
+  }
+
   @Override
   public boolean equals(Object o)
   {
@@ -148,13 +179,20 @@ public class IndexSpec
     return Objects.equals(bitmapSerdeFactory, indexSpec.bitmapSerdeFactory) &&
            dimensionCompression == indexSpec.dimensionCompression &&
            metricCompression == indexSpec.metricCompression &&
-           longEncoding == indexSpec.longEncoding;
+           longEncoding == indexSpec.longEncoding &&
+           Objects.equals(stringDictionaryEncoding, indexSpec.stringDictionaryEncoding);
   }
 
   @Override
   public int hashCode()
   {
-    return Objects.hash(bitmapSerdeFactory, dimensionCompression, metricCompression, longEncoding);
+    return Objects.hash(
+        bitmapSerdeFactory,
+        dimensionCompression,
+        metricCompression,
+        longEncoding,
+        stringDictionaryEncoding
+    );
   }
 
   @Override
@@ -165,6 +203,7 @@ public class IndexSpec
            ", dimensionCompression=" + dimensionCompression +
            ", metricCompression=" + metricCompression +
            ", longEncoding=" + longEncoding +
+           ", stringDictionaryEncoding=" + stringDictionaryEncoding +
            '}';
   }
 }
@@ -25,6 +25,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.apache.druid.collections.bitmap.ImmutableBitmap;
 import org.apache.druid.java.util.common.DateTimes;
+import org.apache.druid.java.util.common.ISE;
 import org.apache.druid.java.util.common.granularity.Granularity;
 import org.apache.druid.java.util.common.guava.Sequence;
 import org.apache.druid.java.util.common.guava.Sequences;
@@ -47,6 +48,12 @@ import org.apache.druid.segment.data.Offset;
 import org.apache.druid.segment.data.ReadableOffset;
 import org.apache.druid.segment.filter.AndFilter;
 import org.apache.druid.segment.historical.HistoricalCursor;
+import org.apache.druid.segment.vector.BitmapVectorOffset;
+import org.apache.druid.segment.vector.FilteredVectorOffset;
+import org.apache.druid.segment.vector.NoFilterVectorOffset;
+import org.apache.druid.segment.vector.VectorColumnSelectorFactory;
+import org.apache.druid.segment.vector.VectorCursor;
+import org.apache.druid.segment.vector.VectorOffset;
 import org.joda.time.DateTime;
 import org.joda.time.Interval;
 
@@ -326,6 +333,171 @@ public class QueryableIndexStorageAdapter implements StorageAdapter
     );
   }
 
+  @Override
+  public boolean canVectorize(
+      @Nullable final Filter filter,
+      final VirtualColumns virtualColumns,
+      final boolean descending
+  )
+  {
+    if (descending || virtualColumns.getVirtualColumns().length > 0) {
+      return false;
+    }
+
+    if (filter == null) {
+      return true;
+    }
+
+    final ColumnSelectorBitmapIndexSelector selector = new ColumnSelectorBitmapIndexSelector(
+        index.getBitmapFactoryForDimensions(),
+        virtualColumns,
+        index
+    );
+
+    // Subfilters that can't use bitmap indexes become post-filters, the same way as in makeCursors.
+    if (filter instanceof AndFilter) {
+      for (Filter subfilter : ((AndFilter) filter).getFilters()) {
+        if (!subfilter.supportsBitmapIndex(selector) && !subfilter.canVectorizeMatcher(index)) {
+          return false;
+        }
+      }
+      return true;
+    } else {
+      return filter.supportsBitmapIndex(selector) || filter.canVectorizeMatcher(index);
+    }
+  }
+
+  @Override
+  @Nullable
+  public VectorCursor makeVectorCursor(
+      @Nullable final Filter filter,
+      final Interval interval,
+      final VirtualColumns virtualColumns,
+      final boolean descending,
+      final int vectorSize,
+      @Nullable final QueryMetrics<?> queryMetrics
+  )
+  {
+    if (!canVectorize(filter, virtualColumns, descending)) {
+      throw new ISE("Cannot vectorize. Check 'canVectorize' before calling 'makeVectorCursor'.");
+    }
+
+    final Interval dataInterval = new Interval(getMinTime(), getMaxTime().plus(1));
+    if (!interval.overlaps(dataInterval)) {
+      return null;
+    }
+
+    final Interval actualInterval = interval.overlap(dataInterval);
+    final int totalRows = index.getNumRows();
+    final Closer closer = Closer.create();
+    final Map<String, BaseColumn> columnCache = new HashMap<>();
+
+    // Vector cursors are not split by granularity, so the time range can be turned into a row range up front.
+    final int startOffset;
+    final int endOffset;
+    final ColumnHolder timeColumnHolder = index.getColumnHolder(ColumnHolder.TIME_COLUMN_NAME);
+    try (final NumericColumn timestamps = (NumericColumn) timeColumnHolder.getColumn()) {
+      startOffset = timeSearch(timestamps, actualInterval.getStartMillis(), 0, totalRows);
+      endOffset = timeSearch(timestamps, actualInterval.getEndMillis(), startOffset, totalRows);
+    }
+
+    final List<Filter> preFilters;
+    final List<Filter> postFilters = new ArrayList<>();
+    int preFilteredRows = totalRows;
+    final VectorOffset baseOffset;
+    if (filter == null) {
+      preFilters = Collections.emptyList();
+      baseOffset = new NoFilterVectorOffset(vectorSize, startOffset, endOffset);
+    } else {
+      final ColumnSelectorBitmapIndexSelector selector = new ColumnSelectorBitmapIndexSelector(
+          index.getBitmapFactoryForDimensions(),
+          virtualColumns,
+          index
+      );
+
+      // Filters are split between bitmap-based pre-filtering and matcher-based post-filtering as in makeCursors.
+      final List<Filter> subfilters = filter instanceof AndFilter
+                                      ? ((AndFilter) filter).getFilters()
+                                      : Collections.singletonList(filter);
+      preFilters = new ArrayList<>();
+      for (Filter subfilter : subfilters) {
+        if (subfilter.supportsBitmapIndex(selector)) {
+          preFilters.add(subfilter);
+        } else {
+          postFilters.add(subfilter);
+        }
+      }
+
+      if (preFilters.isEmpty()) {
+        baseOffset = new NoFilterVectorOffset(vectorSize, startOffset, endOffset);
+      } else {
+        final ImmutableBitmap bitmapIndex;
+        if (queryMetrics != null) {
+          final long bitmapConstructionStartNs = System.nanoTime();
+          bitmapIndex = AndFilter.getBitmapIndex(
+              selector,
+              queryMetrics.makeBitmapResultFactory(selector.getBitmapFactory()),
+              preFilters
+          );
+          queryMetrics.reportBitmapConstructionTime(System.nanoTime() - bitmapConstructionStartNs);
+        } else {
+          bitmapIndex = AndFilter.getBitmapIndex(
+              selector,
+              new DefaultBitmapResultFactory(selector.getBitmapFactory()),
+              preFilters
+          );
+        }
+        preFilteredRows = bitmapIndex.size();
+        baseOffset = new BitmapVectorOffset(vectorSize, bitmapIndex, startOffset, endOffset);
+      }
+    }
+
+    final VectorOffset vectorOffset;
+    if (postFilters.isEmpty()) {
+      vectorOffset = baseOffset;
+    } else {
+      final Filter postFilter = postFilters.size() == 1 ? postFilters.get(0) : new AndFilter(postFilters);
+      final VectorColumnSelectorFactory baseColumnSelectorFactory =
+          new QueryableIndexVectorColumnSelectorFactory(index, baseOffset, closer, columnCache);
+      vectorOffset = FilteredVectorOffset.create(baseOffset, baseColumnSelectorFactory, postFilter);
+    }
+
+    if (queryMetrics != null) {
+      queryMetrics.preFilters(preFilters);
+      queryMetrics.postFilters(postFilters);
+      queryMetrics.reportSegmentRows(totalRows);
+      queryMetrics.reportPreFilteredRows(preFilteredRows);
+    }
+
+    return new QueryableIndexVectorCursor(index, vectorOffset, closer, columnCache);
+  }
+
+  /**
+   * Returns the index of the first row in [startIndex, endIndex) whose timestamp is at least "timestamp", or
+   * endIndex if there is no such row. Relies on the time column being sorted.
+   */
+  private static int timeSearch(
+      final NumericColumn timeColumn,
+      final long timestamp,
+      final int startIndex,
+      final int endIndex
+  )
+  {
+    int minIndex = startIndex;
+    int maxIndex = endIndex;
+
+    while (minIndex < maxIndex) {
+      final int currIndex = (minIndex + maxIndex) >>> 1;
+      if (timeColumn.getLongSingleValueRow(currIndex) < timestamp) {
+        minIndex = currIndex + 1;
+      } else {
+        maxIndex = currIndex;
+      }
+    }
+
+    return minIndex;
+  }
+
   @Nullable
   static ColumnCapabilities getColumnCapabilities(ColumnSelector index, String columnName)
   {
@@ -545,6 +717,73 @@ public class QueryableIndexStorageAdapter implements StorageAdapter
     }
   }
 
+  private static class QueryableIndexVectorCursor implements VectorCursor
+  {
+    private final VectorOffset offset;
+    private final Closer closer;
+    private final VectorColumnSelectorFactory columnSelectorFactory;
+
+    QueryableIndexVectorCursor(
+        QueryableIndex index,
+        VectorOffset offset,
+        Closer closer,
+        Map<String, BaseColumn> columnCache
+    )
+    {
+      this.offset = offset;
+      this.closer = closer;
+      this.columnSelectorFactory = new QueryableIndexVectorColumnSelectorFactory(index, offset, closer, columnCache);
+    }
+
+    @Override
+    public VectorColumnSelectorFactory getColumnSelectorFactory()
+    {
+      return columnSelectorFactory;
+    }
+
+    @Override
+    public void advance()
+    {
+      offset.advance();
+      BaseQuery.checkInterrupted();
+    }
+
+    @Override
+    public boolean isDone()
+    {
+      return offset.isDone();
+    }
+
+    @Override
+    public void reset()
+    {
+      offset.reset();
+    }
+
+    @Override
+    public int getMaxVectorSize()
+    {
+      return offset.getMaxVectorSize();
+    }
+
+    @Override
+    public int getCurrentVectorSize()
+    {
+      return offset.getCurrentVectorSize();
+    }
+
+    @Override
+    public void close()
+    {
+      try {
+        closer.close();
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
   public abstract static class TimestampCheckingOffset extends Offset
   {
     final Offset baseOffset;
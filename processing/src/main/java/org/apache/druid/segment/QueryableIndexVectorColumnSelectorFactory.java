@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment;
+
+import org.apache.druid.java.util.common.io.Closer;
+import org.apache.druid.segment.column.BaseColumn;
+import org.apache.druid.segment.column.ColumnCapabilities;
+import org.apache.druid.segment.column.ColumnHolder;
+import org.apache.druid.segment.column.DictionaryEncodedColumn;
+import org.apache.druid.segment.vector.NilVectorSelector;
+import org.apache.druid.segment.vector.ReadableVectorOffset;
+import org.apache.druid.segment.vector.SingleValueDimensionVectorSelector;
+import org.apache.druid.segment.vector.VectorColumnSelectorFactory;
+import org.apache.druid.segment.vector.VectorSizeInspector;
+import org.apache.druid.segment.vector.VectorValueSelector;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The basic implementation of {@link VectorColumnSelectorFactory} over a historical segment (i. e.
+ * {@link QueryableIndex}). Selectors are cached by column name, so that several aggregators reading the same column
+ * share a single read of each vector.
+ *
+ * @see QueryableIndexColumnSelectorFactory, the non-vectorized version.
+ */
+class QueryableIndexVectorColumnSelectorFactory implements VectorColumnSelectorFactory
+{
+  private final QueryableIndex index;
+  private final ReadableVectorOffset offset;
+  private final Closer closer;
+  private final Map<String, BaseColumn> columnCache;
+
+  private final Map<String, VectorValueSelector> valueSelectorCache = new HashMap<>();
+  private final Map<String, SingleValueDimensionVectorSelector> singleValueDimensionSelectorCache = new HashMap<>();
+
+  QueryableIndexVectorColumnSelectorFactory(
+      QueryableIndex index,
+      ReadableVectorOffset offset,
+      Closer closer,
+      Map<String, BaseColumn> columnCache
+  )
+  {
+    this.index = index;
+    this.offset = offset;
+    this.closer = closer;
+    this.columnCache = columnCache;
+  }
+
+  @Override
+  public int getMaxVectorSize()
+  {
+    return offset.getMaxVectorSize();
+  }
+
+  @Override
+  public VectorSizeInspector getVectorSizeInspector()
+  {
+    return offset;
+  }
+
+  @Override
+  public VectorValueSelector makeValueSelector(final String columnName)
+  {
+    VectorValueSelector selector = valueSelectorCache.get(columnName);
+
+    if (selector == null) {
+      final BaseColumn column = getCachedColumn(columnName);
+      selector = column == null ? NilVectorSelector.create(offset) : column.makeVectorValueSelector(offset);
+      valueSelectorCache.put(columnName, selector);
+    }
+
+    return selector;
+  }
+
+  @Override
+  public SingleValueDimensionVectorSelector makeSingleValueDimensionSelector(final String columnName)
+  {
+    SingleValueDimensionVectorSelector selector = singleValueDimensionSelectorCache.get(columnName);
+
+    if (selector == null) {
+      final BaseColumn column = getCachedColumn(columnName);
+
+      if (column == null) {
+        selector = NilVectorSelector.create(offset);
+      } else if (column instanceof DictionaryEncodedColumn) {
+        selector = ((DictionaryEncodedColumn<?>) column).makeSingleValueDimensionVectorSelector(offset);
+      } else {
+        throw new UnsupportedOperationException(
+            "Cannot make SingleValueDimensionVectorSelector for non-dictionary-encoded column[" + columnName + "]"
+        );
+      }
+
+      singleValueDimensionSelectorCache.put(columnName, selector);
+    }
+
+    return selector;
+  }
+
+  @Override
+  @Nullable
+  public ColumnCapabilities getColumnCapabilities(final String columnName)
+  {
+    return QueryableIndexStorageAdapter.getColumnCapabilities(index, columnName);
+  }
+
+  @Nullable
+  private BaseColumn getCachedColumn(final String columnName)
+  {
+    return columnCache.computeIfAbsent(columnName, name -> {
+      final ColumnHolder holder = index.getColumnHolder(name);
+      if (holder != null) {
+        return closer.register(holder.getColumn());
+      } else {
+        return null;
+      }
+    });
+  }
+}
@@ -21,6 +21,8 @@ package org.apache.druid.segment;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import org.apache.druid.collections.bitmap.BitmapFactory;
@@ -42,20 +44,43 @@ public class SimpleQueryableIndex extends AbstractIndex implements QueryableInde
   private final List<String> columnNames;
   private final Indexed<String> availableDimensions;
   private final BitmapFactory bitmapFactory;
-  private final Map<String, ColumnHolder> columns;
+  private final Map<String, Supplier<ColumnHolder>> columns;
   private final SmooshedFileMapper fileMapper;
   @Nullable
   private final Metadata metadata;
-  private final Map<String, DimensionHandler> dimensionHandlers;
+  private final Supplier<Map<String, DimensionHandler>> dimensionHandlers;
+  @Nullable
+  private final ColumnHolderCache columnHolderCache;
 
+  /**
+   * Columns are given as suppliers so that they can be deserialized on first access, see
+   * {@link IndexIO#loadIndex(java.io.File, boolean)}. Suppliers must be thread-safe and memoize their column.
+   */
   public SimpleQueryableIndex(
       Interval dataInterval,
       Indexed<String> dimNames,
       BitmapFactory bitmapFactory,
-      Map<String, ColumnHolder> columns,
+      Map<String, Supplier<ColumnHolder>> columns,
       SmooshedFileMapper fileMapper,
       @Nullable Metadata metadata
   )
+  {
+    this(dataInterval, dimNames, bitmapFactory, columns, fileMapper, metadata, null);
+  }
+
+  /**
+   * If "columnHolderCache" is given, the columns of this index are held by the cache, and they are removed from it
+   * when this index is closed. Column suppliers need not memoize in that case.
+   */
+  SimpleQueryableIndex(
+      Interval dataInterval,
+      Indexed<String> dimNames,
+      BitmapFactory bitmapFactory,
+      Map<String, Supplier<ColumnHolder>> columns,
+      SmooshedFileMapper fileMapper,
+      @Nullable Metadata metadata,
+      @Nullable ColumnHolderCache columnHolderCache
+  )
   {
     Preconditions.checkNotNull(columns.get(ColumnHolder.TIME_COLUMN_NAME));
     this.dataInterval = Preconditions.checkNotNull(dataInterval, "dataInterval");
@@ -71,8 +96,9 @@ public class SimpleQueryableIndex extends AbstractIndex implements QueryableInde
     this.columns = columns;
     this.fileMapper = fileMapper;
     this.metadata = metadata;
-    this.dimensionHandlers = Maps.newLinkedHashMap();
-    initDimensionHandlers();
+    this.columnHolderCache = columnHolderCache;
+    // getting the capabilities of the dimensions requires deserializing them, so wait until it's needed
+    this.dimensionHandlers = Suppliers.memoize(this::initDimensionHandlers);
   }
 
   @VisibleForTesting
@@ -81,7 +107,7 @@ public class SimpleQueryableIndex extends AbstractIndex implements QueryableInde
       List<String> columnNames,
       Indexed<String> availableDimensions,
       BitmapFactory bitmapFactory,
-      Map<String, ColumnHolder> columns,
+      Map<String, Supplier<ColumnHolder>> columns,
       SmooshedFileMapper fileMapper,
       @Nullable Metadata metadata,
       Map<String, DimensionHandler> dimensionHandlers
@@ -94,7 +120,8 @@ public class SimpleQueryableIndex extends AbstractIndex implements QueryableInde
     this.columns = columns;
     this.fileMapper = fileMapper;
     this.metadata = metadata;
-    this.dimensionHandlers = dimensionHandlers;
+    this.columnHolderCache = null;
+    this.dimensionHandlers = Suppliers.ofInstance(dimensionHandlers);
   }
 
   @Override
@@ -106,7 +133,7 @@ public class SimpleQueryableIndex extends AbstractIndex implements QueryableInde
   @Override
   public int getNumRows()
   {
-    return columns.get(ColumnHolder.TIME_COLUMN_NAME).getLength();
+    return columns.get(ColumnHolder.TIME_COLUMN_NAME).get().getLength();
   }
 
   @Override
@@ -137,11 +164,12 @@ public class SimpleQueryableIndex extends AbstractIndex implements QueryableInde
   @Override
   public ColumnHolder getColumnHolder(String columnName)
   {
-    return columns.get(columnName);
+    final Supplier<ColumnHolder> columnHolderSupplier = columns.get(columnName);
+    return columnHolderSupplier == null ? null : columnHolderSupplier.get();
   }
 
   @VisibleForTesting
-  public Map<String, ColumnHolder> getColumns()
+  public Map<String, Supplier<ColumnHolder>> getColumns()
   {
     return columns;
   }
@@ -155,6 +183,9 @@ public class SimpleQueryableIndex extends AbstractIndex implements QueryableInde
   @Override
   public void close()
   {
+    if (columnHolderCache != null) {
+      columnHolderCache.invalidate(fileMapper);
+    }
     fileMapper.close();
   }
 
@@ -167,15 +198,17 @@ public class SimpleQueryableIndex extends AbstractIndex implements QueryableInde
   @Override
   public Map<String, DimensionHandler> getDimensionHandlers()
   {
-    return dimensionHandlers;
+    return dimensionHandlers.get();
   }
 
-  private void initDimensionHandlers()
+  private Map<String, DimensionHandler> initDimensionHandlers()
   {
+    final Map<String, DimensionHandler> dimensionHandlerMap = Maps.newLinkedHashMap();
     for (String dim : availableDimensions) {
       ColumnCapabilities capabilities = getColumnHolder(dim).getCapabilities();
       DimensionHandler handler = DimensionHandlerUtils.getHandlerFromCapabilities(dim, capabilities, null);
-      dimensionHandlers.put(dim, handler);
+      dimensionHandlerMap.put(dim, handler);
     }
+    return dimensionHandlerMap;
   }
 }
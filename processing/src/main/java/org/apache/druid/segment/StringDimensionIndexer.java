@@ -21,14 +21,9 @@ package org.apache.druid.segment;
 
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
-import com.google.common.collect.Lists;
 import com.google.common.primitives.Ints;
+import it.unimi.dsi.fastutil.HashCommon;
 import it.unimi.dsi.fastutil.ints.IntArrays;
-import it.unimi.dsi.fastutil.ints.IntIterator;
-import it.unimi.dsi.fastutil.objects.Object2IntMap;
-import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Object2IntRBTreeMap;
-import it.unimi.dsi.fastutil.objects.Object2IntSortedMap;
 import org.apache.druid.collections.bitmap.BitmapFactory;
 import org.apache.druid.collections.bitmap.MutableBitmap;
 import org.apache.druid.common.config.NullHandling;
@@ -52,9 +47,9 @@ import org.apache.druid.segment.incremental.IncrementalIndexRowHolder;
 import javax.annotation.Nullable;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class StringDimensionIndexer implements DimensionIndexer<Integer, int[], String>
 {
@@ -67,148 +62,187 @@ public class StringDimensionIndexer implements DimensionIndexer<Integer, int[],
 
   private static final int ABSENT_VALUE_ID = -1;
 
+  /**
+   * Append-only dictionary of the values of a dimension, shared by the ingesting thread and concurrent queries.
+   *
+   * Reads ({@link #getId}, {@link #getValue}, {@link #size}) never lock, and neither does {@link #add} of a value that
+   * is already present, which is the common case during ingestion. Only adding a new value takes a lock, so writers
+   * never block readers. Values are kept in fixed size chunks indexed by id, and the reverse lookup is an open
+   * addressing table of ids, which is rebuilt and republished when it fills up; this also keeps the per-value overhead
+   * to a few bytes instead of a boxed hash map entry.
+   *
+   * A new value is written to its chunk and the table before {@link #size} is incremented, and readers ignore table
+   * slots with ids that are not below {@link #size} yet, so any id handed out has a happens-before edge to its value.
+   */
   private static class DimensionDictionary
   {
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_TABLE_SIZE = 16;
+
+    private volatile String[][] chunks = new String[0][];
+    // Slots hold (id + 1), 0 marks an empty slot. At most half full.
+    private volatile int[] table = new int[INITIAL_TABLE_SIZE];
+    private volatile int size = 0;
+    private volatile int idForNull = ABSENT_VALUE_ID;
     @Nullable
-    private String minValue = null;
+    private volatile String minValue = null;
     @Nullable
-    private String maxValue = null;
-    private int idForNull = ABSENT_VALUE_ID;
+    private volatile String maxValue = null;
 
-    private final Object2IntMap<String> valueToId = new Object2IntOpenHashMap<>();
+    // Only accessed while holding the lock on this object.
+    private int numTableEntries = 0;
 
-    private final List<String> idToValue = Lists.newArrayList();
-    private final ReentrantReadWriteLock lock;
-
-    public DimensionDictionary()
-    {
-      this.lock = new ReentrantReadWriteLock();
-      valueToId.defaultReturnValue(-1);
-    }
-
-    public int getId(String value)
+    public int getId(@Nullable String value)
     {
-      lock.readLock().lock();
-      try {
-        if (value == null) {
-          return idForNull;
+      if (value == null) {
+        return idForNull;
+      }
+      final int[] currentTable = table;
+      final int mask = currentTable.length - 1;
+      for (int i = HashCommon.mix(value.hashCode()) & mask; ; i = (i + 1) & mask) {
+        final int slot = currentTable[i];
+        if (slot == 0) {
+          return ABSENT_VALUE_ID;
+        }
+        final int id = slot - 1;
+        if (id < size && value.equals(getValue(id))) {
+          return id;
         }
-        return valueToId.getInt(value);
-      }
-      finally {
-        lock.readLock().unlock();
       }
     }
 
+    @Nullable
     public String getValue(int id)
     {
-      lock.readLock().lock();
-      try {
-        if (id == idForNull) {
-          return null;
-        }
-        return idToValue.get(id);
-      }
-      finally {
-        lock.readLock().unlock();
-      }
+      return chunks[id >>> CHUNK_BITS][id & CHUNK_MASK];
     }
 
     public int size()
     {
-      lock.readLock().lock();
-      try {
-        // using idToValue rather than valueToId because the valueToId doesn't account null value, if it is present.
-        return idToValue.size();
-      }
-      finally {
-        lock.readLock().unlock();
-      }
+      return size;
     }
 
     public int add(@Nullable String originalValue)
     {
-      lock.writeLock().lock();
-      try {
-        if (originalValue == null) {
-          if (idForNull == ABSENT_VALUE_ID) {
-            idForNull = idToValue.size();
-            idToValue.add(null);
-          }
-          return idForNull;
-        }
-        int prev = valueToId.getInt(originalValue);
-        if (prev >= 0) {
-          return prev;
-        }
-        final int index = idToValue.size();
-        valueToId.put(originalValue, index);
-        idToValue.add(originalValue);
-        minValue = minValue == null || minValue.compareTo(originalValue) > 0 ? originalValue : minValue;
-        maxValue = maxValue == null || maxValue.compareTo(originalValue) < 0 ? originalValue : maxValue;
-        return index;
-      }
-      finally {
-        lock.writeLock().unlock();
+      final int id = getId(originalValue);
+      if (id != ABSENT_VALUE_ID) {
+        return id;
       }
+      return originalValue == null ? addNull() : addValue(originalValue);
     }
 
+    @Nullable
     public String getMinValue()
     {
-      lock.readLock().lock();
-      try {
-        return minValue;
+      return minValue;
+    }
+
+    @Nullable
+    public String getMaxValue()
+    {
+      return maxValue;
+    }
+
+    public SortedDimensionDictionary sort()
+    {
+      final int length = size;
+      final String[] values = new String[length];
+      for (int id = 0; id < length; id++) {
+        values[id] = getValue(id);
       }
-      finally {
-        lock.readLock().unlock();
+      return new SortedDimensionDictionary(values);
+    }
+
+    private synchronized int addNull()
+    {
+      if (idForNull == ABSENT_VALUE_ID) {
+        idForNull = append(null);
       }
+      return idForNull;
     }
 
-    public String getMaxValue()
+    private synchronized int addValue(String value)
     {
-      lock.readLock().lock();
-      try {
-        return maxValue;
+      final int existing = getId(value);
+      if (existing != ABSENT_VALUE_ID) {
+        return existing;
       }
-      finally {
-        lock.readLock().unlock();
+
+      if ((numTableEntries + 1) * 2 > table.length) {
+        final int[] newTable = new int[table.length * 2];
+        for (int id = 0; id < size; id++) {
+          if (id != idForNull) {
+            insert(newTable, getValue(id), id);
+          }
+        }
+        table = newTable;
       }
+
+      final int id = size;
+      setValue(id, value);
+      insert(table, value, id);
+      numTableEntries++;
+      size = id + 1;
+
+      minValue = minValue == null || minValue.compareTo(value) > 0 ? value : minValue;
+      maxValue = maxValue == null || maxValue.compareTo(value) < 0 ? value : maxValue;
+      return id;
     }
 
-    public SortedDimensionDictionary sort()
+    private int append(@Nullable String value)
+    {
+      final int id = size;
+      setValue(id, value);
+      size = id + 1;
+      return id;
+    }
+
+    private void setValue(int id, @Nullable String value)
     {
-      lock.readLock().lock();
-      try {
-        return new SortedDimensionDictionary(idToValue, idToValue.size());
+      final int chunk = id >>> CHUNK_BITS;
+      if (chunk == chunks.length) {
+        final String[][] newChunks = Arrays.copyOf(chunks, chunk + 1);
+        newChunks[chunk] = new String[CHUNK_SIZE];
+        chunks = newChunks;
       }
-      finally {
-        lock.readLock().unlock();
+      chunks[chunk][id & CHUNK_MASK] = value;
+    }
+
+    private static void insert(int[] table, String value, int id)
+    {
+      final int mask = table.length - 1;
+      int i = HashCommon.mix(value.hashCode()) & mask;
+      while (table[i] != 0) {
+        i = (i + 1) & mask;
       }
+      table[i] = id + 1;
     }
   }
 
   private static class SortedDimensionDictionary
   {
-    private final List<String> sortedVals;
+    private final String[] sortedVals;
     private final int[] idToIndex;
     private final int[] indexToId;
 
-    public SortedDimensionDictionary(List<String> idToValue, int length)
+    public SortedDimensionDictionary(String[] idToValue)
     {
-      Object2IntSortedMap<String> sortedMap = new Object2IntRBTreeMap<>(Comparators.naturalNullsFirst());
+      final int length = idToValue.length;
+      final Comparator<String> comparator = Comparators.naturalNullsFirst();
+      this.indexToId = new int[length];
       for (int id = 0; id < length; id++) {
-        String value = idToValue.get(id);
-        sortedMap.put(value, id);
+        indexToId[id] = id;
       }
-      this.sortedVals = Lists.newArrayList(sortedMap.keySet());
+      IntArrays.quickSort(indexToId, (id1, id2) -> comparator.compare(idToValue[id1], idToValue[id2]));
+
+      this.sortedVals = new String[length];
       this.idToIndex = new int[length];
-      this.indexToId = new int[length];
-      int index = 0;
-      for (IntIterator iterator = sortedMap.values().iterator(); iterator.hasNext(); ) {
-        int id = iterator.nextInt();
+      for (int index = 0; index < length; index++) {
+        final int id = indexToId[index];
         idToIndex[id] = index;
-        indexToId[index] = id;
-        index++;
+        sortedVals[index] = idToValue[id];
       }
     }
 
@@ -224,7 +258,7 @@ public class StringDimensionIndexer implements DimensionIndexer<Integer, int[],
 
     public String getValueFromSortedId(int index)
     {
-      return sortedVals.get(index);
+      return sortedVals[index];
     }
   }
 
@@ -42,13 +42,14 @@ import org.apache.druid.segment.column.ColumnDescriptor;
 import org.apache.druid.segment.column.ValueType;
 import org.apache.druid.segment.data.BitmapSerdeFactory;
 import org.apache.druid.segment.data.BitmapValues;
+import org.apache.druid.segment.data.BlockEncodedColumnarIntsSerializer;
 import org.apache.druid.segment.data.ByteBufferWriter;
 import org.apache.druid.segment.data.CloseableIndexed;
 import org.apache.druid.segment.data.ColumnarIntsSerializer;
 import org.apache.druid.segment.data.ColumnarMultiIntsSerializer;
 import org.apache.druid.segment.data.CompressedVSizeColumnarIntsSerializer;
 import org.apache.druid.segment.data.CompressionStrategy;
-import org.apache.druid.segment.data.GenericIndexed;
+import org.apache.druid.segment.data.DictionaryWriter;
 import org.apache.druid.segment.data.GenericIndexedWriter;
 import org.apache.druid.segment.data.ImmutableRTreeObjectStrategy;
 import org.apache.druid.segment.data.Indexed;
@@ -80,7 +81,7 @@ public class StringDimensionMergerV9 implements DimensionMergerV9
   private ColumnarIntsSerializer encodedValueSerializer;
 
   private String dimensionName;
-  private GenericIndexedWriter<String> dictionaryWriter;
+  private DictionaryWriter<String> dictionaryWriter;
   private String firstDictionaryValue;
   private int dictionarySize;
   private GenericIndexedWriter<ImmutableBitmap> bitmapWriter;
@@ -165,7 +166,7 @@ public class StringDimensionMergerV9 implements DimensionMergerV9
     }
 
     String dictFilename = StringUtils.format("%s.dim_values", dimensionName);
-    dictionaryWriter = new GenericIndexedWriter<>(segmentWriteOutMedium, dictFilename, GenericIndexed.STRING_STRATEGY);
+    dictionaryWriter = indexSpec.getStringDictionaryEncoding().makeDictionaryWriter(segmentWriteOutMedium, dictFilename);
     firstDictionaryValue = null;
     dictionarySize = 0;
     dictionaryWriter.open();
@@ -213,7 +214,7 @@ public class StringDimensionMergerV9 implements DimensionMergerV9
 
     String filenameBase = StringUtils.format("%s.forward_dim", dimensionName);
     if (capabilities.hasMultipleValues()) {
-      if (compressionStrategy != CompressionStrategy.UNCOMPRESSED) {
+      if (isBlockCompressed(compressionStrategy)) {
         encodedValueSerializer = V3CompressedVSizeColumnarMultiIntsSerializer.create(
             segmentWriteOutMedium,
             filenameBase,
@@ -224,13 +225,15 @@ public class StringDimensionMergerV9 implements DimensionMergerV9
         encodedValueSerializer = new VSizeColumnarMultiIntsSerializer(segmentWriteOutMedium, cardinality);
       }
     } else {
-      if (compressionStrategy != CompressionStrategy.UNCOMPRESSED) {
+      if (isBlockCompressed(compressionStrategy)) {
         encodedValueSerializer = CompressedVSizeColumnarIntsSerializer.create(
             segmentWriteOutMedium,
             filenameBase,
             cardinality,
             compressionStrategy
         );
+      } else if (compressionStrategy == CompressionStrategy.NONE) {
+        encodedValueSerializer = new BlockEncodedColumnarIntsSerializer(segmentWriteOutMedium);
       } else {
         encodedValueSerializer = new VSizeColumnarIntsSerializer(segmentWriteOutMedium, cardinality);
       }
@@ -238,6 +241,15 @@ public class StringDimensionMergerV9 implements DimensionMergerV9
     encodedValueSerializer.open();
   }
 
+  /**
+   * {@link CompressionStrategy#NONE} writes single-valued dimensions with {@link BlockEncodedColumnarIntsSerializer}
+   * and multi-valued dimensions uncompressed, neither of which is block compressed.
+   */
+  private static boolean isBlockCompressed(CompressionStrategy compressionStrategy)
+  {
+    return compressionStrategy != CompressionStrategy.UNCOMPRESSED && compressionStrategy != CompressionStrategy.NONE;
+  }
+
   @Override
   public ColumnValueSelector convertSortedSegmentRowValuesToMergedRowValues(int segmentIndex, ColumnValueSelector source)
   {
@@ -531,7 +543,7 @@ public class StringDimensionMergerV9 implements DimensionMergerV9
         .withValue(
             encodedValueSerializer,
             hasMultiValue,
-            compressionStrategy != CompressionStrategy.UNCOMPRESSED
+            isBlockCompressed(compressionStrategy)
         )
         .withBitmapSerdeFactory(bitmapSerdeFactory)
         .withBitmapIndex(bitmapWriter)
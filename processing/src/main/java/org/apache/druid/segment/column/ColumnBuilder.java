@@ -35,6 +35,8 @@ public class ColumnBuilder
   private boolean dictionaryEncoded = false;
   private Supplier<BitmapIndex> bitmapIndex = null;
   private Supplier<SpatialIndex> spatialIndex = null;
+  private int dictionaryCardinality = 0;
+  private long dictionarySizeBytes = 0;
   private SmooshedFileMapper fileMapper = null;
 
   public ColumnBuilder setFileMapper(SmooshedFileMapper fileMapper)
@@ -86,6 +88,13 @@ public class ColumnBuilder
     return this;
   }
 
+  public ColumnBuilder setDictionarySize(int dictionaryCardinality, long dictionarySizeBytes)
+  {
+    this.dictionaryCardinality = dictionaryCardinality;
+    this.dictionarySizeBytes = dictionarySizeBytes;
+    return this;
+  }
+
   public ColumnBuilder setBitmapIndex(Supplier<BitmapIndex> bitmapIndex)
   {
     this.bitmapIndex = bitmapIndex;
@@ -112,7 +121,9 @@ public class ColumnBuilder
             .setFilterable(filterable),
         columnSupplier,
         bitmapIndex,
-        spatialIndex
+        spatialIndex,
+        dictionaryCardinality,
+        dictionarySizeBytes
     );
   }
 }
@@ -22,4 +22,13 @@ package org.apache.druid.segment.column;
 public interface ColumnConfig
 {
   int columnCacheSizeBytes();
+
+  /**
+   * Maximum estimated size of the deserialized columns kept by {@link org.apache.druid.segment.ColumnHolderCache}.
+   * If zero, deserialized columns are kept as long as their segment is loaded.
+   */
+  default long columnHolderCacheSizeBytes()
+  {
+    return 0;
+  }
 }
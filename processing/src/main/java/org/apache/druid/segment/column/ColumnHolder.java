@@ -46,6 +46,24 @@ public interface ColumnHolder
   @Nullable
   SpatialIndex getSpatialIndex();
 
+  /**
+   * Returns the number of values of the dictionary of this column, or 0 if the column isn't dictionary-encoded or the
+   * number isn't known.
+   */
+  default int getDictionaryCardinality()
+  {
+    return 0;
+  }
+
+  /**
+   * Returns the size in bytes of the serialized dictionary of this column, or 0 if the column isn't
+   * dictionary-encoded or the size isn't known.
+   */
+  default long getDictionarySizeBytes()
+  {
+    return 0;
+  }
+
   /**
    * Returns a new instance of a {@link SettableColumnValueSelector}, corresponding to the type of this column.
    */
@@ -24,6 +24,8 @@ import org.apache.druid.segment.ColumnValueSelector;
 import org.apache.druid.segment.DimensionSelector;
 import org.apache.druid.segment.data.IndexedInts;
 import org.apache.druid.segment.data.ReadableOffset;
+import org.apache.druid.segment.vector.ReadableVectorOffset;
+import org.apache.druid.segment.vector.SingleValueDimensionVectorSelector;
 
 import javax.annotation.Nullable;
 
@@ -41,6 +43,11 @@ public interface DictionaryEncodedColumn<ActualType extends Comparable<? super A
 
   DimensionSelector makeDimensionSelector(ReadableOffset offset, @Nullable ExtractionFn extractionFn);
 
+  /**
+   * Creates a vectorized selector over dictionary ids. Only valid for single-valued columns.
+   */
+  SingleValueDimensionVectorSelector makeSingleValueDimensionVectorSelector(ReadableVectorOffset offset);
+
   @Override
   default ColumnValueSelector<?> makeColumnValueSelector(ReadableOffset offset)
   {
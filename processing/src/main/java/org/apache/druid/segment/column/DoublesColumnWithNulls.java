@@ -24,6 +24,8 @@ import org.apache.druid.query.monomorphicprocessing.RuntimeShapeInspector;
 import org.apache.druid.segment.ColumnValueSelector;
 import org.apache.druid.segment.data.ColumnarDoubles;
 import org.apache.druid.segment.data.ReadableOffset;
+import org.apache.druid.segment.vector.ReadableVectorOffset;
+import org.apache.druid.segment.vector.VectorValueSelector;
 
 /**
  * DoublesColumn with null values.
@@ -44,6 +46,12 @@ class DoublesColumnWithNulls extends DoublesColumn
     return column.makeColumnValueSelector(offset, nullValueBitmap);
   }
 
+  @Override
+  public VectorValueSelector makeVectorValueSelector(ReadableVectorOffset offset)
+  {
+    return column.makeVectorValueSelector(offset, nullValueBitmap);
+  }
+
   @Override
   public long getLongSingleValueRow(int rowNum)
   {
@@ -34,18 +34,24 @@ class SimpleColumnHolder implements ColumnHolder
   private final Supplier<BitmapIndex> bitmapIndex;
   @Nullable
   private final Supplier<SpatialIndex> spatialIndex;
+  private final int dictionaryCardinality;
+  private final long dictionarySizeBytes;
 
   SimpleColumnHolder(
       ColumnCapabilities capabilities,
       Supplier<? extends BaseColumn> columnSupplier,
       @Nullable Supplier<BitmapIndex> bitmapIndex,
-      @Nullable Supplier<SpatialIndex> spatialIndex
+      @Nullable Supplier<SpatialIndex> spatialIndex,
+      int dictionaryCardinality,
+      long dictionarySizeBytes
   )
   {
     this.capabilities = capabilities;
     this.columnSupplier = columnSupplier;
     this.bitmapIndex = bitmapIndex;
     this.spatialIndex = spatialIndex;
+    this.dictionaryCardinality = dictionaryCardinality;
+    this.dictionarySizeBytes = dictionarySizeBytes;
   }
 
   @Override
@@ -82,6 +88,18 @@ class SimpleColumnHolder implements ColumnHolder
     return spatialIndex == null ? null : spatialIndex.get();
   }
 
+  @Override
+  public int getDictionaryCardinality()
+  {
+    return dictionaryCardinality;
+  }
+
+  @Override
+  public long getDictionarySizeBytes()
+  {
+    return dictionarySizeBytes;
+  }
+
   @Override
   public SettableColumnValueSelector makeNewSettableColumnValueSelector()
   {
@@ -21,6 +21,7 @@ package org.apache.druid.segment.column;
 
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
+import org.apache.druid.java.util.common.ISE;
 import org.apache.druid.java.util.common.guava.CloseQuietly;
 import org.apache.druid.query.extraction.ExtractionFn;
 import org.apache.druid.query.filter.ValueMatcher;
@@ -28,17 +29,20 @@ import org.apache.druid.query.monomorphicprocessing.RuntimeShapeInspector;
 import org.apache.druid.segment.AbstractDimensionSelector;
 import org.apache.druid.segment.DimensionSelectorUtils;
 import org.apache.druid.segment.IdLookup;
-import org.apache.druid.segment.data.CachingIndexed;
 import org.apache.druid.segment.data.ColumnarInts;
 import org.apache.druid.segment.data.ColumnarMultiInts;
+import org.apache.druid.segment.data.Indexed;
 import org.apache.druid.segment.data.IndexedInts;
 import org.apache.druid.segment.data.ReadableOffset;
 import org.apache.druid.segment.data.SingleIndexedInt;
 import org.apache.druid.segment.filter.BooleanValueMatcher;
 import org.apache.druid.segment.historical.HistoricalDimensionSelector;
 import org.apache.druid.segment.historical.SingleValueHistoricalDimensionSelector;
+import org.apache.druid.segment.vector.ReadableVectorOffset;
+import org.apache.druid.segment.vector.SingleValueDimensionVectorSelector;
 
 import javax.annotation.Nullable;
+import java.io.Closeable;
 import java.io.IOException;
 import java.util.BitSet;
 
@@ -50,17 +54,17 @@ public class StringDictionaryEncodedColumn implements DictionaryEncodedColumn<St
   private final ColumnarInts column;
   @Nullable
   private final ColumnarMultiInts multiValueColumn;
-  private final CachingIndexed<String> cachedLookups;
+  private final Indexed<String> dictionary;
 
   public StringDictionaryEncodedColumn(
       @Nullable ColumnarInts singleValueColumn,
       @Nullable ColumnarMultiInts multiValueColumn,
-      CachingIndexed<String> cachedLookups
+      Indexed<String> dictionary
   )
   {
     this.column = singleValueColumn;
     this.multiValueColumn = multiValueColumn;
-    this.cachedLookups = cachedLookups;
+    this.dictionary = dictionary;
   }
 
   @Override
@@ -91,19 +95,19 @@ public class StringDictionaryEncodedColumn implements DictionaryEncodedColumn<St
   @Nullable
   public String lookupName(int id)
   {
-    return cachedLookups.get(id);
+    return dictionary.get(id);
   }
 
   @Override
   public int lookupId(String name)
   {
-    return cachedLookups.indexOf(name);
+    return dictionary.indexOf(name);
   }
 
   @Override
   public int getCardinality()
   {
-    return cachedLookups.size();
+    return dictionary.size();
   }
 
   @Override
@@ -318,10 +322,70 @@ public class StringDictionaryEncodedColumn implements DictionaryEncodedColumn<St
     }
   }
 
+  @Override
+  public SingleValueDimensionVectorSelector makeSingleValueDimensionVectorSelector(final ReadableVectorOffset offset)
+  {
+    if (hasMultipleValues()) {
+      throw new ISE("Column is multi-valued, cannot make a single-value vector selector");
+    }
+
+    class QueryableSingleValueDimensionVectorSelector implements SingleValueDimensionVectorSelector
+    {
+      private final int[] vector = new int[offset.getMaxVectorSize()];
+      private int id = ReadableVectorOffset.NULL_ID;
+
+      @Override
+      public int[] getRowVector()
+      {
+        if (id == offset.getId()) {
+          return vector;
+        }
+
+        if (offset.isContiguous()) {
+          column.get(vector, offset.getStartOffset(), offset.getCurrentVectorSize());
+        } else {
+          column.get(vector, offset.getOffsets(), offset.getCurrentVectorSize());
+        }
+
+        id = offset.getId();
+        return vector;
+      }
+
+      @Override
+      public int getValueCardinality()
+      {
+        return getCardinality();
+      }
+
+      @Nullable
+      @Override
+      public String lookupName(final int id)
+      {
+        return StringDictionaryEncodedColumn.this.lookupName(id);
+      }
+
+      @Override
+      public int getCurrentVectorSize()
+      {
+        return offset.getCurrentVectorSize();
+      }
+
+      @Override
+      public int getMaxVectorSize()
+      {
+        return offset.getMaxVectorSize();
+      }
+    }
+
+    return new QueryableSingleValueDimensionVectorSelector();
+  }
+
   @Override
   public void close() throws IOException
   {
-    CloseQuietly.close(cachedLookups);
+    if (dictionary instanceof Closeable) {
+      CloseQuietly.close((Closeable) dictionary);
+    }
 
     if (column != null) {
       column.close();
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.druid.segment.data;
+
+import org.apache.druid.java.util.common.IAE;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Reads values written by {@link BitpackedLongEncodingWriter}. Frames are decoded as a whole into a long[], and the
+ * last decoded frame is kept so that sequential reads decode every frame only once. Frames have varying sizes, so the
+ * offsets of the frames are found by walking the frame headers the first time a frame is accessed.
+ *
+ * Not thread-safe, {@link #duplicate()} must be used to get a reader for each thread.
+ */
+public class BitpackedLongEncodingReader implements CompressionFactory.LongEncodingReader
+{
+  private static final int FRAME_SIZE = CompressionFactory.BITPACKED_FRAME_SIZE;
+  private static final int FRAME_SHIFT = Integer.numberOfTrailingZeros(FRAME_SIZE);
+  private static final int FRAME_MASK = FRAME_SIZE - 1;
+
+  private ByteBuffer buffer;
+
+  private int[] frameOffsets = new int[16];
+  private int numFrameOffsets;
+
+  private final long[] decoded = new long[FRAME_SIZE];
+  private final long[] words = new long[FRAME_SIZE];
+  private int decodedFrame;
+
+  public BitpackedLongEncodingReader(ByteBuffer fromBuffer, ByteOrder order)
+  {
+    this.buffer = fromBuffer.asReadOnlyBuffer().order(order);
+    byte version = buffer.get();
+    if (version == CompressionFactory.BITPACKED_ENCODING_VERSION) {
+      fromBuffer.position(buffer.position());
+      reset();
+    } else {
+      throw new IAE("Unknown version[%s]", version);
+    }
+  }
+
+  private BitpackedLongEncodingReader(ByteBuffer buffer)
+  {
+    this.buffer = buffer;
+    reset();
+  }
+
+  @Override
+  public void setBuffer(ByteBuffer buffer)
+  {
+    this.buffer = buffer;
+    reset();
+  }
+
+  private void reset()
+  {
+    frameOffsets[0] = buffer.position();
+    numFrameOffsets = 1;
+    decodedFrame = -1;
+  }
+
+  @Override
+  public long read(int index)
+  {
+    final int frame = index >>> FRAME_SHIFT;
+    if (frame != decodedFrame) {
+      decodeFrame(frame, decoded, 0);
+      decodedFrame = frame;
+    }
+    return decoded[index & FRAME_MASK];
+  }
+
+  @Override
+  public void read(long[] out, int outPosition, int startIndex, int length)
+  {
+    int p = 0;
+    while (p < length) {
+      final int index = startIndex + p;
+      final int frame = index >>> FRAME_SHIFT;
+      final int indexInFrame = index & FRAME_MASK;
+      final int limit = Math.min(length - p, FRAME_SIZE - indexInFrame);
+      if (limit == FRAME_SIZE) {
+        // whole frame is requested, decode it straight into the output
+        decodeFrame(frame, out, outPosition + p);
+      } else {
+        if (frame != decodedFrame) {
+          decodeFrame(frame, decoded, 0);
+          decodedFrame = frame;
+        }
+        System.arraycopy(decoded, indexInFrame, out, outPosition + p, limit);
+      }
+      p += limit;
+    }
+  }
+
+  private int getFrameOffset(int frame)
+  {
+    while (numFrameOffsets <= frame) {
+      final int offset = frameOffsets[numFrameOffsets - 1];
+      final int header = buffer.get(offset) & 0xFF;
+      final int count = buffer.get(offset + 1) & 0xFF;
+      final int bitWidth = header & BitpackedLongEncodingWriter.BIT_WIDTH_MASK;
+      final int numPacked = (header & BitpackedLongEncodingWriter.DELTA_FLAG) != 0 ? count - 1 : count;
+      if (numFrameOffsets == frameOffsets.length) {
+        frameOffsets = Arrays.copyOf(frameOffsets, frameOffsets.length * 2);
+      }
+      frameOffsets[numFrameOffsets++] = offset
+                                        + BitpackedLongEncodingWriter.FRAME_HEADER_SIZE
+                                        + BitpackedLongEncodingWriter.getNumWords(bitWidth, numPacked) * Long.BYTES;
+    }
+    return frameOffsets[frame];
+  }
+
+  private void decodeFrame(int frame, long[] out, int outPosition)
+  {
+    final int offset = getFrameOffset(frame);
+    final int header = buffer.get(offset) & 0xFF;
+    final int count = buffer.get(offset + 1) & 0xFF;
+    final long base = buffer.getLong(offset + 2);
+    final int bitWidth = header & BitpackedLongEncodingWriter.BIT_WIDTH_MASK;
+    final int wordsOffset = offset + BitpackedLongEncodingWriter.FRAME_HEADER_SIZE;
+
+    if ((header & BitpackedLongEncodingWriter.DELTA_FLAG) != 0) {
+      out[outPosition] = base;
+      unpack(wordsOffset, bitWidth, count - 1, out, outPosition + 1);
+      long value = base;
+      for (int i = 1; i < count; i++) {
+        final long zigZag = out[outPosition + i];
+        value += (zigZag >>> 1) ^ -(zigZag & 1);
+        out[outPosition + i] = value;
+      }
+    } else {
+      unpack(wordsOffset, bitWidth, count, out, outPosition);
+      for (int i = 0; i < count; i++) {
+        out[outPosition + i] += base;
+      }
+    }
+  }
+
+  private void unpack(int wordsOffset, int bitWidth, int numValues, long[] out, int outPosition)
+  {
+    if (bitWidth == 0) {
+      Arrays.fill(out, outPosition, outPosition + numValues, 0L);
+      return;
+    }
+
+    final int numWords = BitpackedLongEncodingWriter.getNumWords(bitWidth, numValues);
+    for (int i = 0; i < numWords; i++) {
+      words[i] = buffer.getLong(wordsOffset + i * Long.BYTES);
+    }
+
+    if (bitWidth == Long.SIZE) {
+      System.arraycopy(words, 0, out, outPosition, numValues);
+    } else if (Long.SIZE % bitWidth == 0) {
+      // values never span two words, so each word is consumed with shifts only
+      final long mask = (1L << bitWidth) - 1;
+      final int valuesPerWord = Long.SIZE / bitWidth;
+      int i = 0;
+      for (int w = 0; i < numValues; w++) {
+        long word = words[w];
+        final int limit = Math.min(numValues, i + valuesPerWord);
+        for (; i < limit; i++) {
+          out[outPosition + i] = word & mask;
+          word >>>= bitWidth;
+        }
+      }
+    } else {
+      final long mask = (1L << bitWidth) - 1;
+      int bitPosition = 0;
+      for (int i = 0; i < numValues; i++) {
+        final int w = bitPosition >>> 6;
+        final int shift = bitPosition & 63;
+        long value = words[w] >>> shift;
+        if (shift + bitWidth > Long.SIZE) {
+          value |= words[w + 1] << (Long.SIZE - shift);
+        }
+        out[outPosition + i] = value & mask;
+        bitPosition += bitWidth;
+      }
+    }
+  }
+
+  @Override
+  public CompressionFactory.LongEncodingReader duplicate()
+  {
+    return new BitpackedLongEncodingReader(buffer.duplicate().order(buffer.order()));
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.druid.segment.data;
+
+import org.apache.druid.segment.writeout.WriteOutBytes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Writes {@link CompressionFactory.LongEncodingFormat#BITPACKED} values. Values are buffered until a frame of
+ * {@link CompressionFactory#BITPACKED_FRAME_SIZE} values is complete, and then written with whichever of frame of
+ * reference or zig-zag delta encoding needs fewer bits per value.
+ */
+public class BitpackedLongEncodingWriter implements CompressionFactory.LongEncodingWriter
+{
+  static final int DELTA_FLAG = 0x80;
+  static final int BIT_WIDTH_MASK = 0x7F;
+  static final int FRAME_HEADER_SIZE = 1 + 1 + Long.BYTES;
+  static final int MAX_FRAME_SIZE = FRAME_HEADER_SIZE + CompressionFactory.BITPACKED_FRAME_SIZE * Long.BYTES;
+
+  private final long[] frame = new long[CompressionFactory.BITPACKED_FRAME_SIZE];
+  private final long[] values = new long[CompressionFactory.BITPACKED_FRAME_SIZE];
+  private final ByteBuffer frameBuffer;
+  private int numInFrame = 0;
+
+  private ByteBuffer outBuffer = null;
+  private WriteOutBytes outStream = null;
+
+  public BitpackedLongEncodingWriter(ByteOrder order)
+  {
+    this.frameBuffer = ByteBuffer.allocate(MAX_FRAME_SIZE).order(order);
+  }
+
+  @Override
+  public void setBuffer(ByteBuffer buffer)
+  {
+    outStream = null;
+    outBuffer = buffer;
+  }
+
+  @Override
+  public void setOutputStream(WriteOutBytes output)
+  {
+    outBuffer = null;
+    outStream = output;
+  }
+
+  @Override
+  public void write(long value) throws IOException
+  {
+    frame[numInFrame++] = value;
+    if (numInFrame == frame.length) {
+      writeFrame();
+    }
+  }
+
+  @Override
+  public void flush() throws IOException
+  {
+    if (numInFrame > 0) {
+      writeFrame();
+    }
+  }
+
+  private void writeFrame() throws IOException
+  {
+    final int count = numInFrame;
+    long min = frame[0];
+    long max = frame[0];
+    // or-ing all the zig-zag encoded deltas gives the highest bit any of them needs
+    long deltaBits = 0;
+    for (int i = 1; i < count; i++) {
+      final long value = frame[i];
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+      final long delta = value - frame[i - 1];
+      deltaBits |= (delta << 1) ^ (delta >> 63);
+    }
+    // max - min may overflow, but is still correct when treated as unsigned
+    final int forBitWidth = bitsRequired(max - min);
+    final int deltaBitWidth = bitsRequired(deltaBits);
+
+    frameBuffer.clear();
+    if (getNumWords(deltaBitWidth, count - 1) < getNumWords(forBitWidth, count)) {
+      frameBuffer.put((byte) (DELTA_FLAG | deltaBitWidth));
+      frameBuffer.put((byte) count);
+      frameBuffer.putLong(frame[0]);
+      for (int i = 1; i < count; i++) {
+        final long delta = frame[i] - frame[i - 1];
+        values[i - 1] = (delta << 1) ^ (delta >> 63);
+      }
+      pack(count - 1, deltaBitWidth);
+    } else {
+      frameBuffer.put((byte) forBitWidth);
+      frameBuffer.put((byte) count);
+      frameBuffer.putLong(min);
+      for (int i = 0; i < count; i++) {
+        values[i] = frame[i] - min;
+      }
+      pack(count, forBitWidth);
+    }
+    frameBuffer.flip();
+
+    if (outBuffer != null) {
+      outBuffer.put(frameBuffer);
+    }
+    if (outStream != null) {
+      outStream.write(frameBuffer);
+    }
+    numInFrame = 0;
+  }
+
+  /**
+   * Packs the first "numValues" of {@link #values}, each of which must fit into "bitWidth" bits, into 8-byte words.
+   */
+  private void pack(int numValues, int bitWidth)
+  {
+    if (bitWidth == 0) {
+      return;
+    }
+    long word = 0;
+    int bitPosition = 0;
+    for (int i = 0; i < numValues; i++) {
+      final long value = values[i];
+      word |= value << bitPosition;
+      bitPosition += bitWidth;
+      if (bitPosition >= Long.SIZE) {
+        frameBuffer.putLong(word);
+        bitPosition -= Long.SIZE;
+        // carry the bits of the value that did not fit into the previous word
+        word = bitPosition == 0 ? 0 : value >>> (bitWidth - bitPosition);
+      }
+    }
+    if (bitPosition > 0) {
+      frameBuffer.putLong(word);
+    }
+  }
+
+  private static int bitsRequired(long unsignedValue)
+  {
+    return Long.SIZE - Long.numberOfLeadingZeros(unsignedValue);
+  }
+
+  /**
+   * Get the number of 8-byte words needed to pack the given number of values with the given bit width
+   */
+  static int getNumWords(int bitWidth, int numValues)
+  {
+    return (bitWidth * numValues + Long.SIZE - 1) / Long.SIZE;
+  }
+
+  @Override
+  public void putMeta(ByteBuffer metaOut, CompressionStrategy strategy)
+  {
+    metaOut.put(CompressionFactory.setEncodingFlag(strategy.getId()));
+    metaOut.put(CompressionFactory.LongEncodingFormat.BITPACKED.getId());
+    metaOut.put(CompressionFactory.BITPACKED_ENCODING_VERSION);
+  }
+
+  @Override
+  public int metaSize()
+  {
+    return 1 + 1 + 1;
+  }
+
+  @Override
+  public int getBlockSize(int bytesPerBlock)
+  {
+    // frames can take up to MAX_FRAME_SIZE bytes, and block sizes should be powers of 2 so that
+    // BlockLayoutColumnarLongsSupplier can replace division with shifts
+    final int numFrames = bytesPerBlock / MAX_FRAME_SIZE;
+    return Integer.highestOneBit(numFrames) * CompressionFactory.BITPACKED_FRAME_SIZE;
+  }
+
+  @Override
+  public int getNumBytes(int values)
+  {
+    final int frameSize = CompressionFactory.BITPACKED_FRAME_SIZE;
+    return (values + frameSize - 1) / frameSize * MAX_FRAME_SIZE;
+  }
+}
@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.data;
+
+import com.google.common.base.Preconditions;
+import com.google.common.primitives.Ints;
+import org.apache.druid.java.util.common.IAE;
+import org.apache.druid.java.util.common.io.smoosh.FileSmoosher;
+import org.apache.druid.segment.serde.MetaSerdeHelper;
+import org.apache.druid.segment.writeout.SegmentWriteOutMedium;
+import org.apache.druid.segment.writeout.WriteOutBytes;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Streams integers out in the binary format described by {@link BlockEncodedColumnarIntsSupplier}. Each block is
+ * written with whichever of the constant, bitpacked and run-length encodings is smallest for its values.
+ */
+public class BlockEncodedColumnarIntsSerializer extends SingleValueColumnarIntsSerializer
+{
+  public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+  private static final MetaSerdeHelper<BlockEncodedColumnarIntsSerializer> metaSerdeHelper = MetaSerdeHelper
+      .firstWriteByte((BlockEncodedColumnarIntsSerializer x) -> BlockEncodedColumnarIntsSupplier.VERSION)
+      .writeInt(x -> x.numValues)
+      .writeByte(x -> (byte) x.blockSizeLog2)
+      .writeInt(x -> Ints.checkedCast(x.offsetsOut.size() + x.blocksOut.size()));
+
+  private final SegmentWriteOutMedium segmentWriteOutMedium;
+  private final int blockSizeLog2;
+  private final int[] block;
+
+  private WriteOutBytes offsetsOut = null;
+  private WriteOutBytes blocksOut = null;
+  private int numValues = 0;
+  private int numInBlock = 0;
+  private boolean finished = false;
+
+  public BlockEncodedColumnarIntsSerializer(SegmentWriteOutMedium segmentWriteOutMedium)
+  {
+    this(segmentWriteOutMedium, DEFAULT_BLOCK_SIZE);
+  }
+
+  public BlockEncodedColumnarIntsSerializer(SegmentWriteOutMedium segmentWriteOutMedium, int blockSize)
+  {
+    Preconditions.checkArgument(
+        blockSize > 0 && blockSize <= (1 << Short.SIZE) && Integer.bitCount(blockSize) == 1,
+        "blockSize[%s] must be a power of 2 no larger than 65536",
+        blockSize
+    );
+    this.segmentWriteOutMedium = segmentWriteOutMedium;
+    this.blockSizeLog2 = Integer.numberOfTrailingZeros(blockSize);
+    this.block = new int[blockSize];
+  }
+
+  @Override
+  public void open() throws IOException
+  {
+    offsetsOut = segmentWriteOutMedium.makeWriteOutBytes();
+    blocksOut = segmentWriteOutMedium.makeWriteOutBytes();
+  }
+
+  @Override
+  public void addValue(int val) throws IOException
+  {
+    if (finished) {
+      throw new IllegalStateException("written out already");
+    }
+    if (val < 0) {
+      throw new IAE("integer values must be positive, got[%d], i[%d]", val, numValues);
+    }
+    block[numInBlock++] = val;
+    numValues++;
+    if (numInBlock == block.length) {
+      flushBlock();
+    }
+  }
+
+  @Override
+  public long getSerializedSize() throws IOException
+  {
+    finish();
+    return metaSerdeHelper.size(this) + offsetsOut.size() + blocksOut.size();
+  }
+
+  @Override
+  public void writeTo(WritableByteChannel channel, FileSmoosher smoosher) throws IOException
+  {
+    finish();
+    metaSerdeHelper.writeTo(channel, this);
+    offsetsOut.writeTo(channel);
+    blocksOut.writeTo(channel);
+  }
+
+  private void finish() throws IOException
+  {
+    if (!finished) {
+      flushBlock();
+      blocksOut.write(new byte[BlockEncodedColumnarIntsSupplier.PADDING]);
+      finished = true;
+    }
+  }
+
+  private void flushBlock() throws IOException
+  {
+    if (numInBlock == 0) {
+      return;
+    }
+
+    int min = block[0];
+    int max = block[0];
+    int numRuns = 1;
+    for (int i = 1; i < numInBlock; i++) {
+      min = Math.min(min, block[i]);
+      max = Math.max(max, block[i]);
+      if (block[i] != block[i - 1]) {
+        numRuns++;
+      }
+    }
+
+    offsetsOut.writeInt(Ints.checkedCast(blocksOut.size()));
+
+    if (min == max) {
+      blocksOut.write(BlockEncodedColumnarIntsSupplier.CONSTANT);
+      blocksOut.writeInt(min);
+    } else {
+      final int bitWidth = bitWidth(max - min);
+      final long bitpackedSize = packedSize(numInBlock, bitWidth);
+      final long runLengthSize = Integer.BYTES + (long) numRuns * Short.BYTES + packedSize(numRuns, bitWidth);
+
+      if (runLengthSize < bitpackedSize) {
+        blocksOut.write(BlockEncodedColumnarIntsSupplier.RUN_LENGTH);
+        blocksOut.writeInt(numRuns);
+        final int[] runValues = new int[numRuns];
+        int run = 0;
+        for (int i = 1; i < numInBlock; i++) {
+          if (block[i] != block[i - 1]) {
+            writeShort(i - 1);
+            runValues[run++] = block[i - 1];
+          }
+        }
+        writeShort(numInBlock - 1);
+        runValues[run] = block[numInBlock - 1];
+        writePacked(runValues, numRuns, min, bitWidth);
+      } else {
+        blocksOut.write(BlockEncodedColumnarIntsSupplier.BITPACKED);
+        writePacked(block, numInBlock, min, bitWidth);
+      }
+    }
+
+    numInBlock = 0;
+  }
+
+  private void writeShort(int value) throws IOException
+  {
+    blocksOut.write(value >>> 8);
+    blocksOut.write(value);
+  }
+
+  /**
+   * Writes base and bit width, followed by (value - base) of the first "count" values, packed big-endian.
+   */
+  private void writePacked(int[] values, int count, int base, int bitWidth) throws IOException
+  {
+    blocksOut.writeInt(base);
+    blocksOut.write(bitWidth);
+
+    long pending = 0;
+    int pendingBits = 0;
+    for (int i = 0; i < count; i++) {
+      pending = (pending << bitWidth) | (values[i] - base);
+      pendingBits += bitWidth;
+      while (pendingBits >= Byte.SIZE) {
+        pendingBits -= Byte.SIZE;
+        blocksOut.write((int) (pending >>> pendingBits));
+      }
+    }
+    if (pendingBits > 0) {
+      blocksOut.write((int) (pending << (Byte.SIZE - pendingBits)));
+    }
+  }
+
+  private static int bitWidth(int range)
+  {
+    return Integer.SIZE - Integer.numberOfLeadingZeros(range);
+  }
+
+  /**
+   * Size of base, bit width and "count" packed values.
+   */
+  private static long packedSize(int count, int bitWidth)
+  {
+    return Integer.BYTES + 1 + ((long) count * bitWidth + Byte.SIZE - 1) / Byte.SIZE;
+  }
+}
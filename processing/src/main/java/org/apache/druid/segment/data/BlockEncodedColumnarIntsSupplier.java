@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.data;
+
+import org.apache.druid.java.util.common.IAE;
+import org.apache.druid.java.util.common.io.smoosh.FileSmoosher;
+import org.apache.druid.query.monomorphicprocessing.RuntimeShapeInspector;
+import org.apache.druid.segment.serde.MetaSerdeHelper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Uncompressed, randomly accessible {@link ColumnarInts} where every block of values picks the cheapest of three
+ * encodings: a single constant, frame-of-reference bitpacking, or run-length encoding with bitpacked run values.
+ * Values are read straight from the (memory mapped) buffer, so a random read never has to decompress a whole block.
+ * Written by {@link BlockEncodedColumnarIntsSerializer}, used for single-valued string dimensions when the
+ * dimension compression is {@link CompressionStrategy#NONE}.
+ *
+ * Layout:
+ * <pre>
+ *   byte  version
+ *   int   number of values
+ *   byte  log2 of the number of values per block
+ *   int   size of the data section
+ *   data section:
+ *     int[]  start offset of every block, relative to the end of this array
+ *     blocks, each starting with an encoding byte:
+ *       CONSTANT:   int value
+ *       BITPACKED:  int base, byte bitWidth, (value - base) packed big-endian in bitWidth bits each
+ *       RUN_LENGTH: int numRuns, short[] last index of every run, int base, byte bitWidth, packed run values
+ *     8 bytes of padding, so that packed values can always be read with a single getLong()
+ * </pre>
+ */
+public class BlockEncodedColumnarIntsSupplier implements WritableSupplier<ColumnarInts>
+{
+  public static final byte VERSION = 0x1;
+
+  static final byte CONSTANT = 0;
+  static final byte BITPACKED = 1;
+  static final byte RUN_LENGTH = 2;
+
+  static final int PADDING = Long.BYTES;
+
+  private static final MetaSerdeHelper<BlockEncodedColumnarIntsSupplier> metaSerdeHelper = MetaSerdeHelper
+      .firstWriteByte((BlockEncodedColumnarIntsSupplier x) -> VERSION)
+      .writeInt(x -> x.numValues)
+      .writeByte(x -> (byte) x.blockSizeLog2)
+      .writeInt(x -> x.data.remaining());
+
+  private final int numValues;
+  private final int blockSizeLog2;
+  private final int numBlocks;
+  private final ByteBuffer data;
+
+  BlockEncodedColumnarIntsSupplier(int numValues, int blockSizeLog2, ByteBuffer data)
+  {
+    this.numValues = numValues;
+    this.blockSizeLog2 = blockSizeLog2;
+    this.numBlocks = numBlocks(numValues, blockSizeLog2);
+    this.data = data;
+  }
+
+  static int numBlocks(int numValues, int blockSizeLog2)
+  {
+    return (int) ((numValues + (1L << blockSizeLog2) - 1) >>> blockSizeLog2);
+  }
+
+  public static BlockEncodedColumnarIntsSupplier fromByteBuffer(ByteBuffer buffer)
+  {
+    final byte versionFromBuffer = buffer.get();
+    if (versionFromBuffer != VERSION) {
+      throw new IAE("Unknown version[%s]", versionFromBuffer);
+    }
+
+    final int numValues = buffer.getInt();
+    final int blockSizeLog2 = buffer.get();
+    final int dataSize = buffer.getInt();
+
+    final ByteBuffer data = buffer.slice();
+    data.limit(dataSize);
+    buffer.position(buffer.position() + dataSize);
+
+    return new BlockEncodedColumnarIntsSupplier(numValues, blockSizeLog2, data.order(ByteOrder.BIG_ENDIAN));
+  }
+
+  @Override
+  public ColumnarInts get()
+  {
+    return new BlockEncodedColumnarInts(data.asReadOnlyBuffer().order(ByteOrder.BIG_ENDIAN));
+  }
+
+  @Override
+  public long getSerializedSize()
+  {
+    return metaSerdeHelper.size(this) + (long) data.remaining();
+  }
+
+  @Override
+  public void writeTo(WritableByteChannel channel, FileSmoosher smoosher) throws IOException
+  {
+    metaSerdeHelper.writeTo(channel, this);
+    channel.write(data.asReadOnlyBuffer());
+  }
+
+  /**
+   * Reads the bitWidth-bit value at the given index of a bitpacked array that starts at "position".
+   */
+  static int unpack(ByteBuffer buffer, int position, int bitWidth, int index)
+  {
+    final long bitOffset = (long) index * bitWidth;
+    final int shift = Long.SIZE - bitWidth - (int) (bitOffset & 7);
+    return (int) ((buffer.getLong(position + (int) (bitOffset >>> 3)) >>> shift) & ((1L << bitWidth) - 1));
+  }
+
+  private class BlockEncodedColumnarInts implements ColumnarInts
+  {
+    private final ByteBuffer buffer;
+    private final int blocksStart = numBlocks * Integer.BYTES;
+    private final int blockMask = (1 << blockSizeLog2) - 1;
+
+    // header of the block most recently read from, see loadBlock()
+    private int currBlock = -1;
+    private byte encoding;
+    private int base;
+    private int bitWidth;
+    private int valuesPosition;
+    private int numRuns;
+    private int runEndsPosition;
+
+    BlockEncodedColumnarInts(ByteBuffer buffer)
+    {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int size()
+    {
+      return numValues;
+    }
+
+    @Override
+    public int get(int index)
+    {
+      final int block = index >>> blockSizeLog2;
+      if (block != currBlock) {
+        loadBlock(block);
+      }
+
+      switch (encoding) {
+        case CONSTANT:
+          return base;
+        case BITPACKED:
+          return base + unpack(buffer, valuesPosition, bitWidth, index & blockMask);
+        default:
+          return base + unpack(buffer, valuesPosition, bitWidth, findRun(index & blockMask));
+      }
+    }
+
+    @Override
+    public void get(final int[] out, final int start, final int length)
+    {
+      int i = 0;
+      while (i < length) {
+        final int index = start + i;
+        final int block = index >>> blockSizeLog2;
+        if (block != currBlock) {
+          loadBlock(block);
+        }
+
+        final int offsetInBlock = index & blockMask;
+        final int count = Math.min(length - i, (blockMask + 1) - offsetInBlock);
+        switch (encoding) {
+          case CONSTANT:
+            Arrays.fill(out, i, i + count, base);
+            break;
+          case BITPACKED:
+            for (int j = 0; j < count; j++) {
+              out[i + j] = base + unpack(buffer, valuesPosition, bitWidth, offsetInBlock + j);
+            }
+            break;
+          default:
+            int run = findRun(offsetInBlock);
+            int runEnd = runEnd(run);
+            int value = base + unpack(buffer, valuesPosition, bitWidth, run);
+            for (int j = 0; j < count; j++) {
+              if (offsetInBlock + j > runEnd) {
+                run++;
+                runEnd = runEnd(run);
+                value = base + unpack(buffer, valuesPosition, bitWidth, run);
+              }
+              out[i + j] = value;
+            }
+        }
+        i += count;
+      }
+    }
+
+    private void loadBlock(int block)
+    {
+      int position = blocksStart + buffer.getInt(block * Integer.BYTES);
+      encoding = buffer.get(position++);
+      switch (encoding) {
+        case CONSTANT:
+          base = buffer.getInt(position);
+          break;
+        case BITPACKED:
+          base = buffer.getInt(position);
+          bitWidth = buffer.get(position + Integer.BYTES);
+          valuesPosition = position + Integer.BYTES + 1;
+          break;
+        case RUN_LENGTH:
+          numRuns = buffer.getInt(position);
+          runEndsPosition = position + Integer.BYTES;
+          position = runEndsPosition + numRuns * Short.BYTES;
+          base = buffer.getInt(position);
+          bitWidth = buffer.get(position + Integer.BYTES);
+          valuesPosition = position + Integer.BYTES + 1;
+          break;
+        default:
+          throw new IAE("Unknown block encoding[%d]", encoding);
+      }
+      currBlock = block;
+    }
+
+    private int runEnd(int run)
+    {
+      return buffer.getShort(runEndsPosition + run * Short.BYTES) & 0xFFFF;
+    }
+
+    /**
+     * Binary searches the run that contains the given offset in the current block.
+     */
+    private int findRun(int offsetInBlock)
+    {
+      int low = 0;
+      int high = numRuns - 1;
+      while (low < high) {
+        final int mid = (low + high) >>> 1;
+        if (runEnd(mid) < offsetInBlock) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    @Override
+    public void close()
+    {
+      // nothing to close
+    }
+
+    @Override
+    public void inspectRuntimeShape(RuntimeShapeInspector inspector)
+    {
+      inspector.visit("buffer", buffer);
+    }
+
+    @Override
+    public String toString()
+    {
+      return "BlockEncodedColumnarInts{" +
+             "numValues=" + numValues +
+             ", blockSize=" + (blockMask + 1) +
+             ", numBlocks=" + numBlocks +
+             '}';
+    }
+  }
+}
@@ -103,6 +103,28 @@ public class BlockLayoutColumnarDoublesSupplier implements Supplier<ColumnarDoub
       return doubleBuffer.get(bufferIndex);
     }
 
+    @Override
+    public void get(final double[] out, final int start, final int length)
+    {
+      int p = 0;
+      while (p < length) {
+        // division + remainder is optimized by the compiler so keep those together
+        final int bufferNum = (start + p) / sizePer;
+        final int bufferIndex = (start + p) % sizePer;
+
+        if (bufferNum != currBufferNum) {
+          loadBuffer(bufferNum);
+        }
+
+        // read as many values as possible from the current block before moving on to the next one
+        final int limit = Math.min(length - p, sizePer - bufferIndex);
+        for (int i = 0; i < limit; i++) {
+          out[p + i] = doubleBuffer.get(bufferIndex + i);
+        }
+        p += limit;
+      }
+    }
+
     protected void loadBuffer(int bufferNum)
     {
       CloseQuietly.close(holder);
@@ -119,6 +119,28 @@ public class BlockLayoutColumnarFloatsSupplier implements Supplier<ColumnarFloat
       }
     }
 
+    @Override
+    public void get(final float[] out, final int start, final int length)
+    {
+      int p = 0;
+      while (p < length) {
+        // division + remainder is optimized by the compiler so keep those together
+        final int bufferNum = (start + p) / sizePer;
+        final int bufferIndex = (start + p) % sizePer;
+
+        if (bufferNum != currBufferNum) {
+          loadBuffer(bufferNum);
+        }
+
+        // read as many values as possible from the current block before moving on to the next one
+        final int limit = Math.min(length - p, sizePer - bufferIndex);
+        for (int i = 0; i < limit; i++) {
+          out[p + i] = floatBuffer.get(bufferIndex + i);
+        }
+        p += limit;
+      }
+    }
+
     protected void loadBuffer(int bufferNum)
     {
       CloseQuietly.close(holder);
@@ -77,6 +77,14 @@ public class BlockLayoutColumnarLongsSupplier implements Supplier<ColumnarLongs>
             return longBuffer.get(bufferIndex);
           }
 
+          @Override
+          protected void readBlock(long[] out, int outPosition, int bufferIndex, int length)
+          {
+            for (int i = 0; i < length; i++) {
+              out[outPosition + i] = longBuffer.get(bufferIndex + i);
+            }
+          }
+
           @Override
           protected void loadBuffer(int bufferNum)
           {
@@ -158,6 +166,35 @@ public class BlockLayoutColumnarLongsSupplier implements Supplier<ColumnarLongs>
       }
     }
 
+    @Override
+    public void get(final long[] out, final int start, final int length)
+    {
+      int p = 0;
+      while (p < length) {
+        // division + remainder is optimized by the compiler so keep those together
+        final int bufferNum = (start + p) / sizePer;
+        final int bufferIndex = (start + p) % sizePer;
+
+        if (bufferNum != currBufferNum) {
+          loadBuffer(bufferNum);
+        }
+
+        // read as many values as possible from the current block before moving on to the next one
+        final int limit = Math.min(length - p, sizePer - bufferIndex);
+        readBlock(out, p, bufferIndex, limit);
+        p += limit;
+      }
+    }
+
+    /**
+     * Reads "length" values starting at "bufferIndex" of the currently loaded block into "out", starting at
+     * "outPosition".
+     */
+    protected void readBlock(long[] out, int outPosition, int bufferIndex, int length)
+    {
+      reader.read(out, outPosition, bufferIndex, length);
+    }
+
     protected void loadBuffer(int bufferNum)
     {
       CloseQuietly.close(holder);
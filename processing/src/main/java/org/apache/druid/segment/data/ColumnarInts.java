@@ -28,4 +28,24 @@ import java.io.Closeable;
  */
 public interface ColumnarInts extends IndexedInts, Closeable
 {
+  /**
+   * Reads the values of the rows [start, start + length) into the first "length" elements of "out".
+   */
+  default void get(final int[] out, final int start, final int length)
+  {
+    for (int i = 0; i < length; i++) {
+      out[i] = get(start + i);
+    }
+  }
+
+  /**
+   * Reads the values of the rows given by the first "length" elements of "indexes" into the first "length" elements
+   * of "out".
+   */
+  default void get(final int[] out, final int[] indexes, final int length)
+  {
+    for (int i = 0; i < length; i++) {
+      out[i] = get(indexes[i]);
+    }
+  }
 }
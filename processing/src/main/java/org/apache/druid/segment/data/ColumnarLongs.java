@@ -25,7 +25,12 @@ import org.apache.druid.query.monomorphicprocessing.RuntimeShapeInspector;
 import org.apache.druid.segment.ColumnValueSelector;
 import org.apache.druid.segment.LongColumnSelector;
 import org.apache.druid.segment.historical.HistoricalColumnSelector;
+import org.apache.druid.segment.vector.BaseLongVectorValueSelector;
+import org.apache.druid.segment.vector.NullVectorReader;
+import org.apache.druid.segment.vector.ReadableVectorOffset;
+import org.apache.druid.segment.vector.VectorValueSelector;
 
+import javax.annotation.Nullable;
 import java.io.Closeable;
 
 /**
@@ -43,6 +48,91 @@ public interface ColumnarLongs extends Closeable
   @Override
   void close();
 
+  /**
+   * Reads the values of the rows [start, start + length) into the first "length" elements of "out".
+   */
+  default void get(final long[] out, final int start, final int length)
+  {
+    for (int i = 0; i < length; i++) {
+      out[i] = get(start + i);
+    }
+  }
+
+  /**
+   * Reads the values of the rows given by the first "length" elements of "indexes" into the first "length" elements
+   * of "out".
+   */
+  default void get(final long[] out, final int[] indexes, final int length)
+  {
+    for (int i = 0; i < length; i++) {
+      out[i] = get(indexes[i]);
+    }
+  }
+
+  default VectorValueSelector makeVectorValueSelector(
+      final ReadableVectorOffset theOffset,
+      final ImmutableBitmap nullValueBitmap
+  )
+  {
+    class ColumnarLongsVectorValueSelector extends BaseLongVectorValueSelector
+    {
+      private final long[] longVector;
+
+      @Nullable
+      private final NullVectorReader nullVectorReader;
+
+      private int id = ReadableVectorOffset.NULL_ID;
+
+      @Nullable
+      private boolean[] nullVector = null;
+
+      private ColumnarLongsVectorValueSelector()
+      {
+        super(theOffset);
+        this.longVector = new long[offset.getMaxVectorSize()];
+        this.nullVectorReader = nullValueBitmap.isEmpty()
+                                ? null
+                                : new NullVectorReader(nullValueBitmap, offset.getMaxVectorSize());
+      }
+
+      @Nullable
+      @Override
+      public boolean[] getNullVector()
+      {
+        computeVectorsIfNeeded();
+        return nullVector;
+      }
+
+      @Override
+      public long[] getLongVector()
+      {
+        computeVectorsIfNeeded();
+        return longVector;
+      }
+
+      private void computeVectorsIfNeeded()
+      {
+        if (id == offset.getId()) {
+          return;
+        }
+
+        if (offset.isContiguous()) {
+          ColumnarLongs.this.get(longVector, offset.getStartOffset(), offset.getCurrentVectorSize());
+        } else {
+          ColumnarLongs.this.get(longVector, offset.getOffsets(), offset.getCurrentVectorSize());
+        }
+
+        if (nullVectorReader != null) {
+          nullVector = nullVectorReader.read(offset);
+        }
+
+        id = offset.getId();
+      }
+    }
+
+    return new ColumnarLongsVectorValueSelector();
+  }
+
   default ColumnValueSelector<Long> makeColumnValueSelector(ReadableOffset offset, ImmutableBitmap nullValueBitmap)
   {
     if (nullValueBitmap.isEmpty()) {
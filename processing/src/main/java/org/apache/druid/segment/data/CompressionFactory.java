@@ -84,6 +84,21 @@ public class CompressionFactory
 
   public static final int MAX_TABLE_SIZE = 256;
 
+  /**
+   * Bitpacked Encoding Header v1 :
+   * Byte 1 : version
+   * <p>
+   * Values are written in frames of {@link #BITPACKED_FRAME_SIZE} values (the last frame may hold fewer). Each frame
+   * has its own header followed by the packed values:
+   * Byte 1 : bit width (lower 7 bits), and a flag in the highest bit telling whether the frame is delta encoded
+   * Byte 2 : number of values in the frame
+   * Byte 3 - 10 : base value
+   * Byte 11 - : values packed into 8-byte words, lowest bits first
+   */
+  public static final byte BITPACKED_ENCODING_VERSION = 0x1;
+
+  public static final int BITPACKED_FRAME_SIZE = 64;
+
   /*
    * There is no header or version for Longs encoding for backward compatibility
    */
@@ -134,7 +149,12 @@ public class CompressionFactory
     /**
      * LONGS strategy always encode the values using LONGS format
      */
-    LONGS;
+    LONGS,
+
+    /**
+     * BITPACKED strategy always encode the values using BITPACKED format
+     */
+    BITPACKED;
 
     @JsonValue
     @Override
@@ -176,6 +196,19 @@ public class CompressionFactory
         return new TableLongEncodingReader(buffer);
       }
     },
+    /**
+     * BITPACKED format splits the values into frames of {@link CompressionFactory#BITPACKED_FRAME_SIZE} values and
+     * chooses the smallest bit width for each frame separately. A frame either stores all values as offsets to the
+     * smallest value of the frame (frame of reference), or stores the first value and the zig-zag encoded differences
+     * between consecutive values, which suits sorted columns such as __time. Frames are decoded as a whole.
+     */
+    BITPACKED((byte) 0x2) {
+      @Override
+      public LongEncodingReader getReader(ByteBuffer buffer, ByteOrder order)
+      {
+        return new BitpackedLongEncodingReader(buffer, order);
+      }
+    },
     /**
      * LONGS format encodes longs as is, using 8 bytes for each value.
      */
@@ -283,6 +316,16 @@ public class CompressionFactory
 
     long read(int index);
 
+    /**
+     * Reads the values at [startIndex, startIndex + length) into "out", starting at "outPosition".
+     */
+    default void read(long[] out, int outPosition, int startIndex, int length)
+    {
+      for (int i = 0; i < length; i++) {
+        out[outPosition + i] = read(startIndex + i);
+      }
+    }
+
     LongEncodingReader duplicate();
   }
 
@@ -320,22 +363,47 @@ public class CompressionFactory
     if (encodingStrategy == LongEncodingStrategy.AUTO) {
       return new IntermediateColumnarLongsSerializer(segmentWriteOutMedium, filenameBase, order, compressionStrategy);
     } else if (encodingStrategy == LongEncodingStrategy.LONGS) {
-      if (compressionStrategy == CompressionStrategy.NONE) {
-        return new EntireLayoutColumnarLongsSerializer(segmentWriteOutMedium, new LongsLongEncodingWriter(order));
-      } else {
-        return new BlockLayoutColumnarLongsSerializer(
-            segmentWriteOutMedium,
-            filenameBase,
-            order,
-            new LongsLongEncodingWriter(order),
-            compressionStrategy
-        );
-      }
+      return getLongSerializer(
+          segmentWriteOutMedium,
+          filenameBase,
+          order,
+          new LongsLongEncodingWriter(order),
+          compressionStrategy
+      );
+    } else if (encodingStrategy == LongEncodingStrategy.BITPACKED) {
+      return getLongSerializer(
+          segmentWriteOutMedium,
+          filenameBase,
+          order,
+          new BitpackedLongEncodingWriter(order),
+          compressionStrategy
+      );
     } else {
       throw new IAE("unknown encoding strategy : %s", encodingStrategy.toString());
     }
   }
 
+  private static ColumnarLongsSerializer getLongSerializer(
+      SegmentWriteOutMedium segmentWriteOutMedium,
+      String filenameBase,
+      ByteOrder order,
+      LongEncodingWriter writer,
+      CompressionStrategy compressionStrategy
+  )
+  {
+    if (compressionStrategy == CompressionStrategy.NONE) {
+      return new EntireLayoutColumnarLongsSerializer(segmentWriteOutMedium, writer);
+    } else {
+      return new BlockLayoutColumnarLongsSerializer(
+          segmentWriteOutMedium,
+          filenameBase,
+          order,
+          writer,
+          compressionStrategy
+      );
+    }
+  }
+
   // Float currently does not support any encoding types, and stores values as 4 byte float
 
   public static Supplier<ColumnarFloats> getFloatSupplier(
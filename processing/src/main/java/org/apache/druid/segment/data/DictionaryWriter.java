@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.data;
+
+import org.apache.druid.segment.serde.Serializer;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+
+/**
+ * Writer of a sorted value dictionary, such as the dictionary of a string dimension column.
+ *
+ * @see StringEncodingStrategy#makeDictionaryWriter
+ */
+public interface DictionaryWriter<T> extends Serializer
+{
+  void open() throws IOException;
+
+  void write(@Nullable T objectToWrite) throws IOException;
+
+  /**
+   * Reads back a value previously written by {@link #write}, by its position in the dictionary.
+   */
+  @Nullable
+  T get(int index) throws IOException;
+}
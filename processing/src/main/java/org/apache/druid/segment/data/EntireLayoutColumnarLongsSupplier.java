@@ -26,12 +26,12 @@ public class EntireLayoutColumnarLongsSupplier implements Supplier<ColumnarLongs
 {
 
   private final int totalSize;
-  private final CompressionFactory.LongEncodingReader reader;
+  private final CompressionFactory.LongEncodingReader baseReader;
 
   public EntireLayoutColumnarLongsSupplier(int totalSize, CompressionFactory.LongEncodingReader reader)
   {
     this.totalSize = totalSize;
-    this.reader = reader;
+    this.baseReader = reader;
   }
 
   @Override
@@ -42,6 +42,8 @@ public class EntireLayoutColumnarLongsSupplier implements Supplier<ColumnarLongs
 
   private class EntireLayoutColumnarLongs implements ColumnarLongs
   {
+    // readers may cache decoded values, so each ColumnarLongs gets its own
+    final CompressionFactory.LongEncodingReader reader = baseReader.duplicate();
 
     @Override
     public int size()
@@ -70,6 +72,12 @@ public class EntireLayoutColumnarLongsSupplier implements Supplier<ColumnarLongs
       }
     }
 
+    @Override
+    public void get(final long[] out, final int start, final int length)
+    {
+      reader.read(out, 0, start, length);
+    }
+
     @Override
     public String toString()
     {
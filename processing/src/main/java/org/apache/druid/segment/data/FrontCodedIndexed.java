@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.data;
+
+import com.google.common.base.Preconditions;
+import org.apache.druid.common.config.NullHandling;
+import org.apache.druid.java.util.common.IAE;
+import org.apache.druid.java.util.common.StringUtils;
+import org.apache.druid.query.monomorphicprocessing.RuntimeShapeInspector;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A sorted string dictionary stored with front coding (prefix compression). Values are grouped into buckets of a fixed
+ * power-of-two size; the first value of every bucket is stored in full, and every other value in the bucket is stored
+ * as the length of the prefix it shares with the first value of the bucket followed by the remaining bytes. Looking up
+ * a value by id decodes at most one bucket, and {@link #indexOf} binary searches the first values of the buckets before
+ * scanning a single bucket, comparing UTF-8 bytes without decoding them into strings.
+ *
+ * Layout, written by {@link FrontCodedIndexedWriter}:
+ *
+ * byte 1: version (0x1)
+ * byte 2: bucket size
+ * byte 3: 1 if the dictionary contains null (which then has id 0 and is not stored in any bucket), 0 otherwise
+ * bytes 4-7: number of non-null values
+ * bytes 8-11: number of bytes in the bucket offsets and buckets sections
+ * bucket offsets: 4 bytes per bucket, position of the bucket relative to the start of the buckets section
+ * buckets: for the first value of a bucket, its length followed by its bytes; for every other value, the shared prefix
+ * length, the remaining length and the remaining bytes. Lengths are written as variable size unsigned ints.
+ *
+ * Values are ordered the same way as {@link GenericIndexed#STRING_STRATEGY} orders them.
+ */
+public final class FrontCodedIndexed implements Indexed<String>
+{
+  public static final byte VERSION = 0x1;
+  public static final int MAX_BUCKET_SIZE = 128;
+
+  public static FrontCodedIndexed read(ByteBuffer buffer)
+  {
+    final ByteBuffer orderedBuffer = buffer.asReadOnlyBuffer().order(ByteOrder.BIG_ENDIAN);
+    final byte version = orderedBuffer.get();
+    if (version != VERSION) {
+      throw new IAE("Unknown version[%d]", (int) version);
+    }
+    final int bucketSize = orderedBuffer.get() & 0xFF;
+    final boolean hasNull = orderedBuffer.get() == 1;
+    final int numValues = orderedBuffer.getInt();
+    final int numBytes = orderedBuffer.getInt();
+    final int numBuckets = numBuckets(numValues, bucketSize);
+
+    final ByteBuffer offsetsBuffer = orderedBuffer.slice().order(ByteOrder.BIG_ENDIAN);
+    offsetsBuffer.limit(numBuckets * Integer.BYTES);
+
+    orderedBuffer.position(orderedBuffer.position() + numBuckets * Integer.BYTES);
+    final ByteBuffer bucketsBuffer = orderedBuffer.slice();
+    bucketsBuffer.limit(numBytes - numBuckets * Integer.BYTES);
+
+    buffer.position(orderedBuffer.position() - numBuckets * Integer.BYTES + numBytes);
+    return new FrontCodedIndexed(offsetsBuffer, bucketsBuffer, bucketSize, numValues, hasNull);
+  }
+
+  private final ByteBuffer offsetsBuffer;
+  private final ByteBuffer bucketsBuffer;
+  private final int bucketSize;
+  private final int bucketSizeBits;
+  private final int numValues;
+  private final int numBuckets;
+  private final boolean hasNull;
+  private final int adjust;
+
+  private FrontCodedIndexed(
+      ByteBuffer offsetsBuffer,
+      ByteBuffer bucketsBuffer,
+      int bucketSize,
+      int numValues,
+      boolean hasNull
+  )
+  {
+    Preconditions.checkArgument(Integer.bitCount(bucketSize) == 1, "bucketSize[%s] must be a power of two", bucketSize);
+    this.offsetsBuffer = offsetsBuffer;
+    this.bucketsBuffer = bucketsBuffer;
+    this.bucketSize = bucketSize;
+    this.bucketSizeBits = Integer.numberOfTrailingZeros(bucketSize);
+    this.numValues = numValues;
+    this.numBuckets = numBuckets(numValues, bucketSize);
+    this.hasNull = hasNull;
+    this.adjust = hasNull ? 1 : 0;
+  }
+
+  @Override
+  public int size()
+  {
+    return numValues + adjust;
+  }
+
+  @Nullable
+  @Override
+  public String get(int index)
+  {
+    if (index < 0 || index >= size()) {
+      throw new IAE("Index[%s] >= size[%s]", index, size());
+    }
+    if (hasNull && index == 0) {
+      return null;
+    }
+    final int valueIndex = index - adjust;
+    final ByteBuffer bucket = bucketsBuffer.duplicate();
+    bucket.position(offsetsBuffer.getInt((valueIndex >>> bucketSizeBits) * Integer.BYTES));
+    return getFromBucket(bucket, valueIndex & (bucketSize - 1));
+  }
+
+  /**
+   * Returns the index of the value, or (-(insertion point) - 1) if it is not present, like
+   * {@link GenericIndexed#indexOf}.
+   */
+  @Override
+  public int indexOf(@Nullable String value)
+  {
+    final String normalized = NullHandling.emptyToNullIfNeeded(value);
+    if (normalized == null) {
+      return hasNull ? 0 : -1;
+    }
+    final byte[] target = StringUtils.toUtf8(normalized);
+    final ByteBuffer bucket = bucketsBuffer.duplicate();
+
+    // Find the last bucket whose first value is not greater than the target.
+    int minBucket = 0;
+    int maxBucket = numBuckets - 1;
+    byte[] scratch = new byte[Math.max(16, target.length)];
+    while (minBucket <= maxBucket) {
+      final int currBucket = (minBucket + maxBucket) >>> 1;
+      bucket.position(offsetsBuffer.getInt(currBucket * Integer.BYTES));
+      final int length = readVInt(bucket);
+      if (scratch.length < length) {
+        scratch = new byte[length];
+      }
+      bucket.get(scratch, 0, length);
+      final int comparison = compareUtf8(scratch, length, target, target.length);
+      if (comparison == 0) {
+        return (currBucket << bucketSizeBits) + adjust;
+      } else if (comparison < 0) {
+        minBucket = currBucket + 1;
+      } else {
+        maxBucket = currBucket - 1;
+      }
+    }
+
+    if (maxBucket < 0) {
+      return -(adjust + 1);
+    }
+
+    // Scan the rest of the bucket, rebuilding each value in place on top of the bucket's first value.
+    final int bucketStart = maxBucket << bucketSizeBits;
+    final int bucketValues = Math.min(bucketSize, numValues - bucketStart);
+    bucket.position(offsetsBuffer.getInt(maxBucket * Integer.BYTES));
+    final byte[] first = new byte[readVInt(bucket)];
+    bucket.get(first);
+    byte[] current = scratch;
+    for (int i = 1; i < bucketValues; i++) {
+      final int prefixLength = readVInt(bucket);
+      final int suffixLength = readVInt(bucket);
+      final int length = prefixLength + suffixLength;
+      if (current.length < length) {
+        current = new byte[length];
+      }
+      System.arraycopy(first, 0, current, 0, prefixLength);
+      bucket.get(current, prefixLength, suffixLength);
+      final int comparison = compareUtf8(current, length, target, target.length);
+      if (comparison == 0) {
+        return bucketStart + i + adjust;
+      } else if (comparison > 0) {
+        return -(bucketStart + i + adjust) - 1;
+      }
+    }
+    return -(bucketStart + bucketValues + adjust) - 1;
+  }
+
+  @Override
+  public Iterator<String> iterator()
+  {
+    final ByteBuffer bucket = bucketsBuffer.duplicate();
+    return new Iterator<String>()
+    {
+      private int index = 0;
+      private byte[] first = null;
+
+      @Override
+      public boolean hasNext()
+      {
+        return index < size();
+      }
+
+      @Override
+      public String next()
+      {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        if (hasNull && index == 0) {
+          index++;
+          return null;
+        }
+        final int valueIndex = index++ - adjust;
+        if ((valueIndex & (bucketSize - 1)) == 0) {
+          first = new byte[readVInt(bucket)];
+          bucket.get(first);
+          return StringUtils.fromUtf8(first);
+        }
+        return StringUtils.fromUtf8(readFollowingValue(bucket, first));
+      }
+    };
+  }
+
+  @Override
+  public void inspectRuntimeShape(RuntimeShapeInspector inspector)
+  {
+    inspector.visit("bucketsBuffer", bucketsBuffer);
+    inspector.visit("hasNull", hasNull);
+  }
+
+  /**
+   * Reads the value at the given position of the bucket starting at the current position of the buffer.
+   */
+  static String getFromBucket(ByteBuffer bucket, int position)
+  {
+    final int firstLength = readVInt(bucket);
+    if (position == 0) {
+      return StringUtils.fromUtf8(bucket, firstLength);
+    }
+    final byte[] first = new byte[firstLength];
+    bucket.get(first);
+    for (int i = 1; i < position; i++) {
+      readVInt(bucket);
+      final int suffixLength = readVInt(bucket);
+      bucket.position(bucket.position() + suffixLength);
+    }
+    return StringUtils.fromUtf8(readFollowingValue(bucket, first));
+  }
+
+  private static byte[] readFollowingValue(ByteBuffer bucket, byte[] first)
+  {
+    final int prefixLength = readVInt(bucket);
+    final int suffixLength = readVInt(bucket);
+    final byte[] value = new byte[prefixLength + suffixLength];
+    System.arraycopy(first, 0, value, 0, prefixLength);
+    bucket.get(value, prefixLength, suffixLength);
+    return value;
+  }
+
+  static int numBuckets(int numValues, int bucketSize)
+  {
+    return (numValues + bucketSize - 1) / bucketSize;
+  }
+
+  static int readVInt(ByteBuffer buffer)
+  {
+    int value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = buffer.get();
+      value |= (b & 0x7F) << shift;
+      shift += 7;
+    } while (b < 0);
+    return value;
+  }
+
+  /**
+   * Compares UTF-8 encoded strings in the same order as {@link String#compareTo}, which compares UTF-16 code units.
+   * Plain unsigned byte order is code point order, which only differs from UTF-16 order between supplementary
+   * characters (lead bytes 0xF0-0xF4, surrogate pairs in UTF-16) and characters U+E000 to U+FFFF (lead bytes 0xEE and
+   * 0xEF), so those lead bytes are swapped around before comparing.
+   */
+  static int compareUtf8(byte[] a, int aLength, byte[] b, int bLength)
+  {
+    final int length = Math.min(aLength, bLength);
+    for (int i = 0; i < length; i++) {
+      if (a[i] != b[i]) {
+        return Integer.compare(utf16OrderKey(a[i] & 0xFF), utf16OrderKey(b[i] & 0xFF));
+      }
+    }
+    return Integer.compare(aLength, bLength);
+  }
+
+  private static int utf16OrderKey(int unsignedByte)
+  {
+    return unsignedByte == 0xEE || unsignedByte == 0xEF ? unsignedByte + 0x10 : unsignedByte;
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.data;
+
+import com.google.common.base.Preconditions;
+import com.google.common.primitives.Ints;
+import org.apache.druid.common.config.NullHandling;
+import org.apache.druid.java.util.common.ISE;
+import org.apache.druid.java.util.common.StringUtils;
+import org.apache.druid.java.util.common.io.smoosh.FileSmoosher;
+import org.apache.druid.segment.serde.MetaSerdeHelper;
+import org.apache.druid.segment.writeout.SegmentWriteOutMedium;
+import org.apache.druid.segment.writeout.WriteOutBytes;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes a {@link FrontCodedIndexed}. Values must be written in {@link GenericIndexed#STRING_STRATEGY} order, without
+ * duplicates, with null (if present) first.
+ */
+public class FrontCodedIndexedWriter implements DictionaryWriter<String>
+{
+  private static final MetaSerdeHelper<FrontCodedIndexedWriter> metaSerdeHelper = MetaSerdeHelper
+      .firstWriteByte((FrontCodedIndexedWriter x) -> FrontCodedIndexed.VERSION)
+      .writeByte(x -> (byte) x.bucketSize)
+      .writeByte(x -> x.hasNull ? (byte) 1 : (byte) 0)
+      .writeInt(x -> x.numWritten)
+      .writeInt(x -> Ints.checkedCast(x.headerOut.size() + x.valuesOut.size()));
+
+  private final SegmentWriteOutMedium segmentWriteOutMedium;
+  private final int bucketSize;
+  private final ByteBuffer getOffsetBuffer = ByteBuffer.allocate(Integer.BYTES);
+
+  private WriteOutBytes headerOut = null;
+  private WriteOutBytes valuesOut = null;
+  private boolean hasNull = false;
+  private int numWritten = 0;
+  @Nullable
+  private String prevValue = null;
+  @Nullable
+  private byte[] bucketFirstValue = null;
+
+  public FrontCodedIndexedWriter(SegmentWriteOutMedium segmentWriteOutMedium, int bucketSize)
+  {
+    Preconditions.checkArgument(
+        bucketSize > 0 && bucketSize <= FrontCodedIndexed.MAX_BUCKET_SIZE && Integer.bitCount(bucketSize) == 1,
+        "bucketSize[%s] must be a power of two no larger than %s",
+        bucketSize,
+        FrontCodedIndexed.MAX_BUCKET_SIZE
+    );
+    this.segmentWriteOutMedium = segmentWriteOutMedium;
+    this.bucketSize = bucketSize;
+  }
+
+  @Override
+  public void open() throws IOException
+  {
+    headerOut = segmentWriteOutMedium.makeWriteOutBytes();
+    valuesOut = segmentWriteOutMedium.makeWriteOutBytes();
+  }
+
+  @Override
+  public void write(@Nullable String objectToWrite) throws IOException
+  {
+    final String value = NullHandling.emptyToNullIfNeeded(objectToWrite);
+    if (value == null) {
+      if (hasNull || numWritten > 0) {
+        throw new ISE("null must be the first value of a front-coded dictionary");
+      }
+      hasNull = true;
+      return;
+    }
+    if (prevValue != null && prevValue.compareTo(value) >= 0) {
+      throw new ISE("Values must be sorted and unique, got [%s] after [%s]", value, prevValue);
+    }
+
+    final byte[] bytes = StringUtils.toUtf8(value);
+    if ((numWritten & (bucketSize - 1)) == 0) {
+      headerOut.writeInt(Ints.checkedCast(valuesOut.size()));
+      writeVInt(valuesOut, bytes.length);
+      valuesOut.write(bytes);
+      bucketFirstValue = bytes;
+    } else {
+      final int prefixLength = sharedPrefixLength(bucketFirstValue, bytes);
+      writeVInt(valuesOut, prefixLength);
+      writeVInt(valuesOut, bytes.length - prefixLength);
+      valuesOut.write(bytes, prefixLength, bytes.length - prefixLength);
+    }
+    numWritten++;
+    prevValue = value;
+  }
+
+  @Nullable
+  @Override
+  public String get(int index) throws IOException
+  {
+    if (hasNull) {
+      if (index == 0) {
+        return null;
+      }
+      index--;
+    }
+    if (index < 0 || index >= numWritten) {
+      throw new ISE("Index[%s] out of range, written[%s]", index, numWritten);
+    }
+    final int bucket = index / bucketSize;
+    final long startOffset = getBucketOffset(bucket);
+    final long endOffset = bucket + 1 < FrontCodedIndexed.numBuckets(numWritten, bucketSize)
+                           ? getBucketOffset(bucket + 1)
+                           : valuesOut.size();
+    final ByteBuffer bucketBuffer = ByteBuffer.allocate(Ints.checkedCast(endOffset - startOffset));
+    valuesOut.readFully(startOffset, bucketBuffer);
+    bucketBuffer.clear();
+    return FrontCodedIndexed.getFromBucket(bucketBuffer, index % bucketSize);
+  }
+
+  private long getBucketOffset(int bucket) throws IOException
+  {
+    getOffsetBuffer.clear();
+    headerOut.readFully(bucket * (long) Integer.BYTES, getOffsetBuffer);
+    return getOffsetBuffer.getInt(0);
+  }
+
+  @Override
+  public long getSerializedSize() throws IOException
+  {
+    return metaSerdeHelper.size(this) + headerOut.size() + valuesOut.size();
+  }
+
+  @Override
+  public void writeTo(WritableByteChannel channel, FileSmoosher smoosher) throws IOException
+  {
+    metaSerdeHelper.writeTo(channel, this);
+    headerOut.writeTo(channel);
+    valuesOut.writeTo(channel);
+  }
+
+  private static int sharedPrefixLength(byte[] a, byte[] b)
+  {
+    final int length = Math.min(a.length, b.length);
+    int i = 0;
+    while (i < length && a[i] == b[i]) {
+      i++;
+    }
+    return i;
+  }
+
+  private static void writeVInt(WriteOutBytes out, int value) throws IOException
+  {
+    int remaining = value;
+    while ((remaining & ~0x7F) != 0) {
+      out.write((remaining & 0x7F) | 0x80);
+      remaining >>>= 7;
+    }
+    out.write(remaining);
+  }
+}
@@ -49,6 +49,15 @@ public class LongsLongEncodingReader implements CompressionFactory.LongEncodingR
     return buffer.get(buffer.position() + index);
   }
 
+  @Override
+  public void read(long[] out, int outPosition, int startIndex, int length)
+  {
+    final int base = buffer.position() + startIndex;
+    for (int i = 0; i < length; i++) {
+      out[outPosition + i] = buffer.get(base + i);
+    }
+  }
+
   @Override
   public CompressionFactory.LongEncodingReader duplicate()
   {
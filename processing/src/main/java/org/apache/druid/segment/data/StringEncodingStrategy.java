@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.data;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.google.common.base.Preconditions;
+import org.apache.druid.segment.writeout.SegmentWriteOutMedium;
+
+import javax.annotation.Nullable;
+
+/**
+ * Storage format of the value dictionaries of string dimension columns, specified as part of {@link
+ * org.apache.druid.segment.IndexSpec}.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type", defaultImpl = StringEncodingStrategy.Utf8.class)
+@JsonSubTypes(value = {
+    @JsonSubTypes.Type(name = StringEncodingStrategy.UTF8, value = StringEncodingStrategy.Utf8.class),
+    @JsonSubTypes.Type(name = StringEncodingStrategy.FRONT_CODED, value = StringEncodingStrategy.FrontCoded.class)
+})
+public interface StringEncodingStrategy
+{
+  String UTF8 = "utf8";
+  String FRONT_CODED = "frontCoded";
+
+  StringEncodingStrategy DEFAULT = new Utf8();
+
+  DictionaryWriter<String> makeDictionaryWriter(SegmentWriteOutMedium segmentWriteOutMedium, String filenameBase);
+
+  /**
+   * Every value is stored in full as UTF-8 in a {@link GenericIndexed}.
+   */
+  class Utf8 implements StringEncodingStrategy
+  {
+    @Override
+    public DictionaryWriter<String> makeDictionaryWriter(
+        SegmentWriteOutMedium segmentWriteOutMedium,
+        String filenameBase
+    )
+    {
+      return new GenericIndexedWriter<>(segmentWriteOutMedium, filenameBase, GenericIndexed.STRING_STRATEGY);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+      return this == o || o instanceof Utf8;
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return 0;
+    }
+
+    @Override
+    public String toString()
+    {
+      return "Utf8{}";
+    }
+  }
+
+  /**
+   * Values are stored in buckets of {@link #getBucketSize()} values, as a {@link FrontCodedIndexed}.
+   */
+  class FrontCoded implements StringEncodingStrategy
+  {
+    public static final int DEFAULT_BUCKET_SIZE = 4;
+
+    private final int bucketSize;
+
+    @JsonCreator
+    public FrontCoded(@JsonProperty("bucketSize") @Nullable Integer bucketSize)
+    {
+      this.bucketSize = bucketSize == null ? DEFAULT_BUCKET_SIZE : bucketSize;
+      Preconditions.checkArgument(
+          this.bucketSize > 0 && this.bucketSize <= FrontCodedIndexed.MAX_BUCKET_SIZE
+          && Integer.bitCount(this.bucketSize) == 1,
+          "bucketSize[%s] must be a power of two no larger than %s",
+          this.bucketSize,
+          FrontCodedIndexed.MAX_BUCKET_SIZE
+      );
+    }
+
+    @JsonProperty
+    public int getBucketSize()
+    {
+      return bucketSize;
+    }
+
+    @Override
+    public DictionaryWriter<String> makeDictionaryWriter(
+        SegmentWriteOutMedium segmentWriteOutMedium,
+        String filenameBase
+    )
+    {
+      return new FrontCodedIndexedWriter(segmentWriteOutMedium, bucketSize);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      return bucketSize == ((FrontCoded) o).bucketSize;
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Integer.hashCode(bucketSize);
+    }
+
+    @Override
+    public String toString()
+    {
+      return "FrontCoded{" +
+             "bucketSize=" + bucketSize +
+             '}';
+    }
+  }
+}
@@ -30,9 +30,13 @@ import org.apache.druid.query.filter.BooleanFilter;
 import org.apache.druid.query.filter.Filter;
 import org.apache.druid.query.filter.RowOffsetMatcherFactory;
 import org.apache.druid.query.filter.ValueMatcher;
+import org.apache.druid.query.filter.vector.BaseVectorValueMatcher;
+import org.apache.druid.query.filter.vector.ReadableVectorMatch;
+import org.apache.druid.query.filter.vector.VectorValueMatcher;
 import org.apache.druid.query.monomorphicprocessing.RuntimeShapeInspector;
 import org.apache.druid.segment.ColumnSelector;
 import org.apache.druid.segment.ColumnSelectorFactory;
+import org.apache.druid.segment.vector.VectorColumnSelectorFactory;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -104,6 +108,28 @@ public class AndFilter implements BooleanFilter
     return makeMatcher(matchers);
   }
 
+  @Override
+  public VectorValueMatcher makeVectorMatcher(final VectorColumnSelectorFactory factory)
+  {
+    final VectorValueMatcher[] matchers = new VectorValueMatcher[filters.size()];
+
+    for (int i = 0; i < filters.size(); i++) {
+      matchers[i] = filters.get(i).makeVectorMatcher(factory);
+    }
+    return makeVectorMatcher(matchers);
+  }
+
+  @Override
+  public boolean canVectorizeMatcher(final ColumnSelector columnSelector)
+  {
+    for (Filter filter : filters) {
+      if (!filter.canVectorizeMatcher(columnSelector)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   @Override
   public ValueMatcher makeMatcher(
       BitmapIndexSelector selector,
@@ -211,5 +237,32 @@ public class AndFilter implements BooleanFilter
     };
   }
 
+  private static VectorValueMatcher makeVectorMatcher(final VectorValueMatcher[] baseMatchers)
+  {
+    Preconditions.checkState(baseMatchers.length > 0);
+    if (baseMatchers.length == 1) {
+      return baseMatchers[0];
+    }
+
+    return new BaseVectorValueMatcher(baseMatchers[0])
+    {
+      @Override
+      public ReadableVectorMatch match(final ReadableVectorMatch mask)
+      {
+        // Each matcher only examines the rows that all previous matchers accepted.
+        ReadableVectorMatch match = mask;
+
+        for (VectorValueMatcher matcher : baseMatchers) {
+          if (match.isAllFalse()) {
+            break;
+          }
+          match = matcher.match(match);
+        }
+
+        return match;
+      }
+    };
+  }
+
 
 }
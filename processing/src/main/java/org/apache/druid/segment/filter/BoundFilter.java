@@ -35,11 +35,13 @@ import org.apache.druid.query.filter.DruidLongPredicate;
 import org.apache.druid.query.filter.DruidPredicateFactory;
 import org.apache.druid.query.filter.Filter;
 import org.apache.druid.query.filter.ValueMatcher;
+import org.apache.druid.query.filter.vector.VectorValueMatcher;
 import org.apache.druid.query.ordering.StringComparators;
 import org.apache.druid.segment.ColumnSelector;
 import org.apache.druid.segment.ColumnSelectorFactory;
 import org.apache.druid.segment.IntListUtils;
 import org.apache.druid.segment.column.BitmapIndex;
+import org.apache.druid.segment.vector.VectorColumnSelectorFactory;
 
 import java.util.Comparator;
 
@@ -124,6 +126,18 @@ public class BoundFilter implements Filter
     return Filters.makeValueMatcher(factory, boundDimFilter.getDimension(), getPredicateFactory());
   }
 
+  @Override
+  public VectorValueMatcher makeVectorMatcher(VectorColumnSelectorFactory factory)
+  {
+    return Filters.makeVectorValueMatcher(factory, boundDimFilter.getDimension(), getPredicateFactory());
+  }
+
+  @Override
+  public boolean canVectorizeMatcher(ColumnSelector columnSelector)
+  {
+    return Filters.canVectorizeMatcher(columnSelector, boundDimFilter.getDimension());
+  }
+
   @Override
   public boolean supportsBitmapIndex(BitmapIndexSelector selector)
   {
@@ -31,8 +31,10 @@ import org.apache.druid.query.filter.DruidLongPredicate;
 import org.apache.druid.query.filter.DruidPredicateFactory;
 import org.apache.druid.query.filter.Filter;
 import org.apache.druid.query.filter.ValueMatcher;
+import org.apache.druid.query.filter.vector.VectorValueMatcher;
 import org.apache.druid.segment.ColumnSelector;
 import org.apache.druid.segment.ColumnSelectorFactory;
+import org.apache.druid.segment.vector.VectorColumnSelectorFactory;
 
 /**
  */
@@ -100,6 +102,18 @@ public class DimensionPredicateFilter implements Filter
     return Filters.makeValueMatcher(factory, dimension, predicateFactory);
   }
 
+  @Override
+  public VectorValueMatcher makeVectorMatcher(VectorColumnSelectorFactory factory)
+  {
+    return Filters.makeVectorValueMatcher(factory, dimension, predicateFactory);
+  }
+
+  @Override
+  public boolean canVectorizeMatcher(ColumnSelector columnSelector)
+  {
+    return Filters.canVectorizeMatcher(columnSelector, dimension);
+  }
+
   @Override
   public boolean supportsBitmapIndex(BitmapIndexSelector selector)
   {
@@ -31,13 +31,25 @@ import org.apache.druid.query.expression.ExprUtils;
 import org.apache.druid.query.filter.BitmapIndexSelector;
 import org.apache.druid.query.filter.Filter;
 import org.apache.druid.query.filter.ValueMatcher;
+import org.apache.druid.query.filter.vector.BaseVectorValueMatcher;
+import org.apache.druid.query.filter.vector.ReadableVectorMatch;
+import org.apache.druid.query.filter.vector.VectorMatch;
+import org.apache.druid.query.filter.vector.VectorValueMatcher;
 import org.apache.druid.query.monomorphicprocessing.RuntimeShapeInspector;
 import org.apache.druid.segment.ColumnSelector;
 import org.apache.druid.segment.ColumnSelectorFactory;
 import org.apache.druid.segment.ColumnValueSelector;
+import org.apache.druid.segment.column.ColumnCapabilities;
+import org.apache.druid.segment.vector.SingleValueDimensionVectorSelector;
+import org.apache.druid.segment.vector.VectorColumnSelectorFactory;
+import org.apache.druid.segment.vector.VectorValueSelector;
 import org.apache.druid.segment.virtual.ExpressionSelectors;
 
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.IntFunction;
 
 public class ExpressionFilter implements Filter
 {
@@ -73,6 +85,49 @@ public class ExpressionFilter implements Filter
     };
   }
 
+  @Override
+  public VectorValueMatcher makeVectorMatcher(final VectorColumnSelectorFactory factory)
+  {
+    final VectorRowBindings bindings = new VectorRowBindings(factory, requiredBindings);
+
+    return new BaseVectorValueMatcher(factory.getVectorSizeInspector())
+    {
+      final VectorMatch match = VectorMatch.wrap(new int[factory.getMaxVectorSize()]);
+
+      @Override
+      public ReadableVectorMatch match(final ReadableVectorMatch mask)
+      {
+        final int[] selection = match.getSelection();
+        final int[] maskSelection = mask.getSelection();
+        final int maskSize = mask.getSelectionSize();
+
+        int numRows = 0;
+
+        for (int i = 0; i < maskSize; i++) {
+          final int rowNum = maskSelection[i];
+          bindings.setRowNum(rowNum);
+          final ExprEval eval = expr.eval(bindings);
+          if (!(NullHandling.sqlCompatible() && eval.isNumericNull()) && Evals.asBoolean(eval.asLong())) {
+            selection[numRows++] = rowNum;
+          }
+        }
+
+        return match.setSelectionSize(numRows);
+      }
+    };
+  }
+
+  @Override
+  public boolean canVectorizeMatcher(final ColumnSelector columnSelector)
+  {
+    for (String column : requiredBindings) {
+      if (!Filters.canVectorizeMatcher(columnSelector, column)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   @Override
   public boolean supportsBitmapIndex(final BitmapIndexSelector selector)
   {
@@ -134,4 +189,77 @@ public class ExpressionFilter implements Filter
     // Selectivity estimation not supported.
     throw new UnsupportedOperationException();
   }
+
+  /**
+   * Bindings that read one row at a time out of vector selectors. The expression itself is still evaluated row by
+   * row, but column values come from the bulk-read vectors rather than from per-row selector calls.
+   *
+   * Behaves like the bindings created by {@link ExpressionSelectors#makeExprEvalSelector}: numeric columns are bound
+   * to their boxed values (null if null), string columns to their single value, and nonexistent columns to null.
+   */
+  private static class VectorRowBindings implements Expr.ObjectBinding
+  {
+    private final Map<String, IntFunction<Object>> readers = new HashMap<>();
+    private int rowNum;
+
+    VectorRowBindings(final VectorColumnSelectorFactory factory, final Set<String> columns)
+    {
+      for (String column : columns) {
+        final ColumnCapabilities capabilities = factory.getColumnCapabilities(column);
+
+        if (capabilities == null) {
+          continue;
+        }
+
+        switch (capabilities.getType()) {
+          case LONG: {
+            final VectorValueSelector selector = factory.makeValueSelector(column);
+            readers.put(column, row -> isNull(selector, row) ? null : selector.getLongVector()[row]);
+            break;
+          }
+          case FLOAT: {
+            final VectorValueSelector selector = factory.makeValueSelector(column);
+            readers.put(column, row -> isNull(selector, row) ? null : selector.getFloatVector()[row]);
+            break;
+          }
+          case DOUBLE: {
+            final VectorValueSelector selector = factory.makeValueSelector(column);
+            readers.put(column, row -> isNull(selector, row) ? null : selector.getDoubleVector()[row]);
+            break;
+          }
+          case STRING: {
+            final SingleValueDimensionVectorSelector selector = factory.makeSingleValueDimensionSelector(column);
+            readers.put(column, row -> selector.lookupName(selector.getRowVector()[row]));
+            break;
+          }
+          default:
+            // Unhandleable ValueType (COMPLEX), bound to null like the non-vectorized bindings.
+            break;
+        }
+      }
+    }
+
+    void setRowNum(final int rowNum)
+    {
+      this.rowNum = rowNum;
+    }
+
+    @Nullable
+    @Override
+    public Object get(final String name)
+    {
+      final IntFunction<Object> reader = readers.get(name);
+      return reader == null ? null : reader.apply(rowNum);
+    }
+
+    private static boolean isNull(final VectorValueSelector selector, final int row)
+    {
+      if (NullHandling.replaceWithDefault()) {
+        return false;
+      }
+
+      final boolean[] nullVector = selector.getNullVector();
+      return nullVector != null && nullVector[row];
+    }
+  }
 }
@@ -28,6 +28,7 @@ import it.unimi.dsi.fastutil.ints.IntIterable;
 import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.ints.IntList;
 import org.apache.druid.collections.bitmap.ImmutableBitmap;
+import org.apache.druid.java.util.common.UOE;
 import org.apache.druid.java.util.common.guava.FunctionalIterable;
 import org.apache.druid.query.BitmapResultFactory;
 import org.apache.druid.query.ColumnSelectorPlus;
@@ -42,6 +43,12 @@ import org.apache.druid.query.filter.Filter;
 import org.apache.druid.query.filter.ValueMatcher;
 import org.apache.druid.query.filter.ValueMatcherColumnSelectorStrategy;
 import org.apache.druid.query.filter.ValueMatcherColumnSelectorStrategyFactory;
+import org.apache.druid.query.filter.vector.DoubleVectorValueMatcher;
+import org.apache.druid.query.filter.vector.FloatVectorValueMatcher;
+import org.apache.druid.query.filter.vector.LongVectorValueMatcher;
+import org.apache.druid.query.filter.vector.SingleValueStringVectorValueMatcher;
+import org.apache.druid.query.filter.vector.VectorValueMatcher;
+import org.apache.druid.query.filter.vector.VectorValueMatcherFactory;
 import org.apache.druid.query.monomorphicprocessing.RuntimeShapeInspector;
 import org.apache.druid.segment.BaseLongColumnValueSelector;
 import org.apache.druid.segment.ColumnSelector;
@@ -54,6 +61,7 @@ import org.apache.druid.segment.column.ColumnHolder;
 import org.apache.druid.segment.column.ValueType;
 import org.apache.druid.segment.data.CloseableIndexed;
 import org.apache.druid.segment.data.Indexed;
+import org.apache.druid.segment.vector.VectorColumnSelectorFactory;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
@@ -175,6 +183,95 @@ public class Filters
     return selector.getColumnSelectorStrategy().makeValueMatcher(selector.getSelector(), predicateFactory);
   }
 
+  /**
+   * Create a VectorValueMatcher that compares row values to the provided string.
+   *
+   * @param columnSelectorFactory Selector for columns.
+   * @param columnName            The column to filter.
+   * @param value                 The value to match against, represented as a String.
+   *
+   * @return An object that matches vectors of row values on the provided value.
+   *
+   * @see #makeValueMatcher(ColumnSelectorFactory, String, String), the non-vectorized version
+   */
+  public static VectorValueMatcher makeVectorValueMatcher(
+      final VectorColumnSelectorFactory columnSelectorFactory,
+      final String columnName,
+      @Nullable final String value
+  )
+  {
+    return makeVectorValueMatcherFactory(columnSelectorFactory, columnName).makeMatcher(value);
+  }
+
+  /**
+   * Create a VectorValueMatcher that applies a predicate to row values.
+   *
+   * @param columnSelectorFactory Selector for columns.
+   * @param columnName            The column to filter.
+   * @param predicateFactory      Predicate factory
+   *
+   * @return An object that applies a predicate to vectors of row values.
+   *
+   * @see #makeValueMatcher(ColumnSelectorFactory, String, DruidPredicateFactory), the non-vectorized version
+   */
+  public static VectorValueMatcher makeVectorValueMatcher(
+      final VectorColumnSelectorFactory columnSelectorFactory,
+      final String columnName,
+      final DruidPredicateFactory predicateFactory
+  )
+  {
+    return makeVectorValueMatcherFactory(columnSelectorFactory, columnName).makeMatcher(predicateFactory);
+  }
+
+  private static VectorValueMatcherFactory makeVectorValueMatcherFactory(
+      final VectorColumnSelectorFactory columnSelectorFactory,
+      final String columnName
+  )
+  {
+    final ColumnCapabilities capabilities = columnSelectorFactory.getColumnCapabilities(columnName);
+
+    if (capabilities == null) {
+      // Nonexistent column, treated as an all-null string column.
+      return new SingleValueStringVectorValueMatcher(
+          columnSelectorFactory.makeSingleValueDimensionSelector(columnName)
+      );
+    }
+
+    switch (capabilities.getType()) {
+      case LONG:
+        return new LongVectorValueMatcher(columnSelectorFactory.makeValueSelector(columnName));
+      case FLOAT:
+        return new FloatVectorValueMatcher(columnSelectorFactory.makeValueSelector(columnName));
+      case DOUBLE:
+        return new DoubleVectorValueMatcher(columnSelectorFactory.makeValueSelector(columnName));
+      case STRING:
+        return new SingleValueStringVectorValueMatcher(
+            columnSelectorFactory.makeSingleValueDimensionSelector(columnName)
+        );
+      default:
+        throw new UOE("Cannot make vector matcher for column[%s] of type[%s]", columnName, capabilities.getType());
+    }
+  }
+
+  /**
+   * Checks if vectorized matchers, as created by {@link #makeVectorValueMatcher}, can read the given column. That is
+   * the case for nonexistent columns, numeric columns, and single-valued dictionary-encoded string columns.
+   */
+  public static boolean canVectorizeMatcher(final ColumnSelector columnSelector, final String columnName)
+  {
+    final ColumnHolder columnHolder = columnSelector.getColumnHolder(columnName);
+    if (columnHolder == null) {
+      return true;
+    }
+
+    final ColumnCapabilities capabilities = columnHolder.getCapabilities();
+    if (capabilities.getType() == ValueType.STRING) {
+      return capabilities.isDictionaryEncoded() && !capabilities.hasMultipleValues();
+    } else {
+      return capabilities.getType().isNumeric();
+    }
+  }
+
   public static ImmutableBitmap allFalse(final BitmapIndexSelector selector)
   {
     return selector.getBitmapFactory().makeEmptyImmutableBitmap();
@@ -33,10 +33,12 @@ import org.apache.druid.query.filter.DruidLongPredicate;
 import org.apache.druid.query.filter.DruidPredicateFactory;
 import org.apache.druid.query.filter.Filter;
 import org.apache.druid.query.filter.ValueMatcher;
+import org.apache.druid.query.filter.vector.VectorValueMatcher;
 import org.apache.druid.segment.ColumnSelector;
 import org.apache.druid.segment.ColumnSelectorFactory;
 import org.apache.druid.segment.IntIteratorUtils;
 import org.apache.druid.segment.column.BitmapIndex;
+import org.apache.druid.segment.vector.VectorColumnSelectorFactory;
 
 import java.util.Iterator;
 import java.util.Set;
@@ -142,6 +144,18 @@ public class InFilter implements Filter
     return Filters.makeValueMatcher(factory, dimension, getPredicateFactory());
   }
 
+  @Override
+  public VectorValueMatcher makeVectorMatcher(VectorColumnSelectorFactory factory)
+  {
+    return Filters.makeVectorValueMatcher(factory, dimension, getPredicateFactory());
+  }
+
+  @Override
+  public boolean canVectorizeMatcher(ColumnSelector columnSelector)
+  {
+    return Filters.canVectorizeMatcher(columnSelector, dimension);
+  }
+
   @Override
   public boolean supportsBitmapIndex(BitmapIndexSelector selector)
   {
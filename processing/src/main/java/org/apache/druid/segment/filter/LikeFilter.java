@@ -30,11 +30,13 @@ import org.apache.druid.query.filter.BitmapIndexSelector;
 import org.apache.druid.query.filter.Filter;
 import org.apache.druid.query.filter.LikeDimFilter;
 import org.apache.druid.query.filter.ValueMatcher;
+import org.apache.druid.query.filter.vector.VectorValueMatcher;
 import org.apache.druid.segment.ColumnSelector;
 import org.apache.druid.segment.ColumnSelectorFactory;
 import org.apache.druid.segment.column.BitmapIndex;
 import org.apache.druid.segment.data.CloseableIndexed;
 import org.apache.druid.segment.data.Indexed;
+import org.apache.druid.segment.vector.VectorColumnSelectorFactory;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -75,6 +77,18 @@ public class LikeFilter implements Filter
     return Filters.makeValueMatcher(factory, dimension, likeMatcher.predicateFactory(extractionFn));
   }
 
+  @Override
+  public VectorValueMatcher makeVectorMatcher(VectorColumnSelectorFactory factory)
+  {
+    return Filters.makeVectorValueMatcher(factory, dimension, likeMatcher.predicateFactory(extractionFn));
+  }
+
+  @Override
+  public boolean canVectorizeMatcher(ColumnSelector columnSelector)
+  {
+    return Filters.canVectorizeMatcher(columnSelector, dimension);
+  }
+
   @Override
   public boolean supportsBitmapIndex(BitmapIndexSelector selector)
   {
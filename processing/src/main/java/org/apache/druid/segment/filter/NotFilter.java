@@ -23,9 +23,14 @@ import org.apache.druid.query.BitmapResultFactory;
 import org.apache.druid.query.filter.BitmapIndexSelector;
 import org.apache.druid.query.filter.Filter;
 import org.apache.druid.query.filter.ValueMatcher;
+import org.apache.druid.query.filter.vector.BaseVectorValueMatcher;
+import org.apache.druid.query.filter.vector.ReadableVectorMatch;
+import org.apache.druid.query.filter.vector.VectorMatch;
+import org.apache.druid.query.filter.vector.VectorValueMatcher;
 import org.apache.druid.query.monomorphicprocessing.RuntimeShapeInspector;
 import org.apache.druid.segment.ColumnSelector;
 import org.apache.druid.segment.ColumnSelectorFactory;
+import org.apache.druid.segment.vector.VectorColumnSelectorFactory;
 
 /**
  */
@@ -70,6 +75,29 @@ public class NotFilter implements Filter
     };
   }
 
+  @Override
+  public VectorValueMatcher makeVectorMatcher(final VectorColumnSelectorFactory factory)
+  {
+    final VectorValueMatcher baseMatcher = baseFilter.makeVectorMatcher(factory);
+
+    return new BaseVectorValueMatcher(baseMatcher)
+    {
+      final VectorMatch match = VectorMatch.wrap(new int[getMaxVectorSize()]);
+
+      @Override
+      public ReadableVectorMatch match(final ReadableVectorMatch mask)
+      {
+        return match.copyFrom(mask).removeAll(baseMatcher.match(mask));
+      }
+    };
+  }
+
+  @Override
+  public boolean canVectorizeMatcher(final ColumnSelector columnSelector)
+  {
+    return baseFilter.canVectorizeMatcher(columnSelector);
+  }
+
   @Override
   public boolean supportsBitmapIndex(BitmapIndexSelector selector)
   {
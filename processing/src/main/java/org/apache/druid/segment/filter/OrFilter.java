@@ -30,9 +30,14 @@ import org.apache.druid.query.filter.BooleanFilter;
 import org.apache.druid.query.filter.Filter;
 import org.apache.druid.query.filter.RowOffsetMatcherFactory;
 import org.apache.druid.query.filter.ValueMatcher;
+import org.apache.druid.query.filter.vector.BaseVectorValueMatcher;
+import org.apache.druid.query.filter.vector.ReadableVectorMatch;
+import org.apache.druid.query.filter.vector.VectorMatch;
+import org.apache.druid.query.filter.vector.VectorValueMatcher;
 import org.apache.druid.query.monomorphicprocessing.RuntimeShapeInspector;
 import org.apache.druid.segment.ColumnSelector;
 import org.apache.druid.segment.ColumnSelectorFactory;
+import org.apache.druid.segment.vector.VectorColumnSelectorFactory;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -78,6 +83,28 @@ public class OrFilter implements BooleanFilter
     return makeMatcher(matchers);
   }
 
+  @Override
+  public VectorValueMatcher makeVectorMatcher(final VectorColumnSelectorFactory factory)
+  {
+    final VectorValueMatcher[] matchers = new VectorValueMatcher[filters.size()];
+
+    for (int i = 0; i < filters.size(); i++) {
+      matchers[i] = filters.get(i).makeVectorMatcher(factory);
+    }
+    return makeVectorMatcher(matchers);
+  }
+
+  @Override
+  public boolean canVectorizeMatcher(final ColumnSelector columnSelector)
+  {
+    for (Filter filter : filters) {
+      if (!filter.canVectorizeMatcher(columnSelector)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   @Override
   public ValueMatcher makeMatcher(
       BitmapIndexSelector selector,
@@ -139,6 +166,44 @@ public class OrFilter implements BooleanFilter
     };
   }
 
+  private static VectorValueMatcher makeVectorMatcher(final VectorValueMatcher[] baseMatchers)
+  {
+    Preconditions.checkState(baseMatchers.length > 0);
+
+    if (baseMatchers.length == 1) {
+      return baseMatchers[0];
+    }
+
+    return new BaseVectorValueMatcher(baseMatchers[0])
+    {
+      final VectorMatch currentMatch = VectorMatch.wrap(new int[getMaxVectorSize()]);
+      final VectorMatch currentMask = VectorMatch.wrap(new int[getMaxVectorSize()]);
+      final VectorMatch scratch = VectorMatch.wrap(new int[getMaxVectorSize()]);
+
+      @Override
+      public ReadableVectorMatch match(final ReadableVectorMatch mask)
+      {
+        // Each matcher only examines the rows that no previous matcher accepted.
+        ReadableVectorMatch match = baseMatchers[0].match(mask);
+
+        if (match.isAllTrue(mask.getSelectionSize())) {
+          return match;
+        }
+
+        currentMatch.copyFrom(match);
+        currentMask.copyFrom(mask).removeAll(match);
+
+        for (int i = 1; i < baseMatchers.length && !currentMask.isAllFalse(); i++) {
+          match = baseMatchers[i].match(currentMask);
+          currentMatch.addAll(match, scratch);
+          currentMask.removeAll(match);
+        }
+
+        return currentMatch;
+      }
+    };
+  }
+
   @Override
   public List<Filter> getFilters()
   {
@@ -24,8 +24,10 @@ import org.apache.druid.query.BitmapResultFactory;
 import org.apache.druid.query.filter.BitmapIndexSelector;
 import org.apache.druid.query.filter.Filter;
 import org.apache.druid.query.filter.ValueMatcher;
+import org.apache.druid.query.filter.vector.VectorValueMatcher;
 import org.apache.druid.segment.ColumnSelector;
 import org.apache.druid.segment.ColumnSelectorFactory;
+import org.apache.druid.segment.vector.VectorColumnSelectorFactory;
 
 /**
  */
@@ -55,6 +57,18 @@ public class SelectorFilter implements Filter
     return Filters.makeValueMatcher(factory, dimension, value);
   }
 
+  @Override
+  public VectorValueMatcher makeVectorMatcher(VectorColumnSelectorFactory factory)
+  {
+    return Filters.makeVectorValueMatcher(factory, dimension, value);
+  }
+
+  @Override
+  public boolean canVectorizeMatcher(ColumnSelector columnSelector)
+  {
+    return Filters.canVectorizeMatcher(columnSelector, dimension);
+  }
+
   @Override
   public boolean supportsBitmapIndex(BitmapIndexSelector selector)
   {
@@ -23,8 +23,11 @@ import org.apache.druid.query.BitmapResultFactory;
 import org.apache.druid.query.filter.BitmapIndexSelector;
 import org.apache.druid.query.filter.Filter;
 import org.apache.druid.query.filter.ValueMatcher;
+import org.apache.druid.query.filter.vector.BooleanVectorValueMatcher;
+import org.apache.druid.query.filter.vector.VectorValueMatcher;
 import org.apache.druid.segment.ColumnSelector;
 import org.apache.druid.segment.ColumnSelectorFactory;
+import org.apache.druid.segment.vector.VectorColumnSelectorFactory;
 
 /**
  */
@@ -46,6 +49,18 @@ public class TrueFilter implements Filter
     return TrueValueMatcher.instance();
   }
 
+  @Override
+  public VectorValueMatcher makeVectorMatcher(final VectorColumnSelectorFactory factory)
+  {
+    return BooleanVectorValueMatcher.of(factory.getVectorSizeInspector(), true);
+  }
+
+  @Override
+  public boolean canVectorizeMatcher(final ColumnSelector columnSelector)
+  {
+    return true;
+  }
+
   @Override
   public boolean supportsBitmapIndex(BitmapIndexSelector selector)
   {
@@ -30,6 +30,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.primitives.Ints;
 import com.google.common.primitives.Longs;
+import it.unimi.dsi.fastutil.HashCommon;
 import org.apache.druid.collections.NonBlockingPool;
 import org.apache.druid.common.config.NullHandling;
 import org.apache.druid.common.guava.GuavaUtils;
@@ -80,12 +81,14 @@ import javax.annotation.concurrent.GuardedBy;
 import java.io.Closeable;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
@@ -337,6 +340,7 @@ public abstract class IncrementalIndex<AggregatorType> extends AbstractIndex imp
     private boolean reportParseExceptions;
     private boolean concurrentEventAdd;
     private boolean sortFacts;
+    private boolean useHashedFacts;
     private int maxRowCount;
     private long maxBytesInMemory;
 
@@ -347,6 +351,7 @@ public abstract class IncrementalIndex<AggregatorType> extends AbstractIndex imp
       reportParseExceptions = true;
       concurrentEventAdd = false;
       sortFacts = true;
+      useHashedFacts = false;
       maxRowCount = 0;
       maxBytesInMemory = 0;
     }
@@ -414,6 +419,16 @@ public abstract class IncrementalIndex<AggregatorType> extends AbstractIndex imp
       return this;
     }
 
+    /**
+     * Use {@link HashedRollupFactsHolder} instead of a {@link ConcurrentSkipListMap} to roll up rows. Only applies to
+     * rollup indexes; facts are then sorted lazily, when persisting or querying.
+     */
+    public Builder setUseHashedFacts(final boolean useHashedFacts)
+    {
+      this.useHashedFacts = useHashedFacts;
+      return this;
+    }
+
     public Builder setMaxRowCount(final int maxRowCount)
     {
       this.maxRowCount = maxRowCount;
@@ -439,6 +454,7 @@ public abstract class IncrementalIndex<AggregatorType> extends AbstractIndex imp
           reportParseExceptions,
           concurrentEventAdd,
           sortFacts,
+          useHashedFacts,
           maxRowCount,
           maxBytesInMemory
       );
@@ -456,6 +472,7 @@ public abstract class IncrementalIndex<AggregatorType> extends AbstractIndex imp
           reportParseExceptions,
           concurrentEventAdd,
           sortFacts,
+          useHashedFacts,
           maxRowCount,
           Objects.requireNonNull(bufferPool, "bufferPool is null")
       );
@@ -469,6 +486,15 @@ public abstract class IncrementalIndex<AggregatorType> extends AbstractIndex imp
 
   public abstract FactsHolder getFacts();
 
+  FactsHolder makeFactsHolder(boolean sortFacts, boolean useHashedFacts)
+  {
+    if (!rollup) {
+      return new PlainFactsHolder(sortFacts, dimsComparator());
+    }
+    return useHashedFacts ? new HashedRollupFactsHolder(sortFacts, dimsComparator())
+                          : new RollupFactsHolder(sortFacts, dimsComparator(), getDimensions());
+  }
+
   public abstract boolean canAppendRow();
 
   public abstract String getOutOfRowsReason();
@@ -1459,6 +1485,312 @@ public abstract class IncrementalIndex<AggregatorType> extends AbstractIndex imp
     }
   }
 
+  /**
+   * Rollup {@link FactsHolder} that looks rows up through an open-addressing hash table over time and dims instead of
+   * a {@link ConcurrentSkipListMap}. Rows are kept in an append-only chunked array in insertion order and are sorted
+   * only when an ordered view is requested (persist, query cursors, descending iteration). The sorted snapshot is
+   * cached and extended by merging in the rows added since it was built, so repeated queries during ingestion don't
+   * re-sort the whole index.
+   *
+   * Lookups ({@link #getPriorIndex}) are lock-free; {@link #putIfAbsent} is serialized on this holder. A row becomes
+   * visible to readers only once {@link #size} is published after it, the same way as the dictionary in
+   * {@link org.apache.druid.segment.StringDimensionIndexer}.
+   */
+  static class HashedRollupFactsHolder implements FactsHolder
+  {
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_TABLE_SIZE = 256;
+
+    private final boolean sortFacts;
+    private final Comparator<IncrementalIndexRow> incrementalIndexRowComparator;
+    private final Object sortLock = new Object();
+
+    private volatile IncrementalIndexRow[][] chunks = new IncrementalIndexRow[0][];
+    private volatile HashTable table = new HashTable(INITIAL_TABLE_SIZE);
+    private volatile int size = 0;
+    private volatile long minTime = Long.MAX_VALUE;
+    private volatile long maxTime = Long.MIN_VALUE;
+    private volatile SortedRows sorted = SortedRows.EMPTY;
+
+    HashedRollupFactsHolder(boolean sortFacts, Comparator<IncrementalIndexRow> incrementalIndexRowComparator)
+    {
+      this.sortFacts = sortFacts;
+      this.incrementalIndexRowComparator = incrementalIndexRowComparator;
+    }
+
+    @Override
+    public int getPriorIndex(IncrementalIndexRow key)
+    {
+      final IncrementalIndexRow row = find(table, key, key.rollupHashCode());
+      return row == null ? IncrementalIndexRow.EMPTY_ROW_INDEX : row.getRowIndex();
+    }
+
+    @Override
+    public long getMinTimeMillis()
+    {
+      if (size == 0) {
+        throw new NoSuchElementException();
+      }
+      return minTime;
+    }
+
+    @Override
+    public long getMaxTimeMillis()
+    {
+      if (size == 0) {
+        throw new NoSuchElementException();
+      }
+      return maxTime;
+    }
+
+    @Override
+    public Iterator<IncrementalIndexRow> iterator(boolean descending)
+    {
+      if (!sortFacts) {
+        return insertionOrderIterator();
+      }
+      final List<IncrementalIndexRow> rows = Arrays.asList(sortedRows());
+      return descending ? Lists.reverse(rows).iterator() : rows.iterator();
+    }
+
+    @Override
+    public Iterable<IncrementalIndexRow> timeRangeIterable(boolean descending, long timeStart, long timeEnd)
+    {
+      final IncrementalIndexRow[] rows = sortedRows();
+      final int start = lowerBound(rows, timeStart);
+      final int end = Math.max(start, lowerBound(rows, timeEnd));
+      final List<IncrementalIndexRow> range = Arrays.asList(rows).subList(start, end);
+      return descending ? Lists.reverse(range) : range;
+    }
+
+    @Override
+    public Iterable<IncrementalIndexRow> keySet()
+    {
+      return sortFacts ? Arrays.asList(sortedRows()) : this::insertionOrderIterator;
+    }
+
+    @Override
+    public Iterable<IncrementalIndexRow> persistIterable()
+    {
+      return Arrays.asList(sortedRows());
+    }
+
+    @Override
+    public synchronized int putIfAbsent(IncrementalIndexRow key, int rowIndex)
+    {
+      final int hash = key.rollupHashCode();
+      final IncrementalIndexRow prev = find(table, key, hash);
+      if (prev != null) {
+        return prev.getRowIndex();
+      }
+
+      final int id = size;
+      if ((id + 1) * 2 > table.slots.length) {
+        final HashTable oldTable = table;
+        final HashTable newTable = new HashTable(oldTable.slots.length * 2);
+        for (int i = 0; i < oldTable.slots.length; i++) {
+          if (oldTable.slots[i] != 0) {
+            newTable.insert(oldTable.hashes[i], oldTable.slots[i] - 1);
+          }
+        }
+        table = newTable;
+      }
+
+      // setRowIndex() must be called before the row is published for visibility of rowIndex from concurrent readers.
+      key.setRowIndex(rowIndex);
+      setRow(id, key);
+      table.insert(hash, id);
+      minTime = Math.min(minTime, key.getTimestamp());
+      maxTime = Math.max(maxTime, key.getTimestamp());
+      size = id + 1;
+      return IncrementalIndexRow.EMPTY_ROW_INDEX;
+    }
+
+    @Override
+    public void clear()
+    {
+      synchronized (this) {
+        synchronized (sortLock) {
+          chunks = new IncrementalIndexRow[0][];
+          table = new HashTable(INITIAL_TABLE_SIZE);
+          size = 0;
+          minTime = Long.MAX_VALUE;
+          maxTime = Long.MIN_VALUE;
+          sorted = SortedRows.EMPTY;
+        }
+      }
+    }
+
+    @Nullable
+    private IncrementalIndexRow find(HashTable currentTable, IncrementalIndexRow key, int hash)
+    {
+      final int[] slots = currentTable.slots;
+      final int mask = slots.length - 1;
+      for (int i = HashCommon.mix(hash) & mask; ; i = (i + 1) & mask) {
+        final int slot = slots[i];
+        if (slot == 0) {
+          return null;
+        }
+        final int id = slot - 1;
+        if (id < size && currentTable.hashes[i] == hash) {
+          final IncrementalIndexRow row = getRow(id);
+          if (key.rollupEquals(row)) {
+            return row;
+          }
+        }
+      }
+    }
+
+    private IncrementalIndexRow getRow(int id)
+    {
+      return chunks[id >>> CHUNK_BITS][id & CHUNK_MASK];
+    }
+
+    private void setRow(int id, IncrementalIndexRow row)
+    {
+      final int chunk = id >>> CHUNK_BITS;
+      if (chunk == chunks.length) {
+        final IncrementalIndexRow[][] newChunks = Arrays.copyOf(chunks, chunk + 1);
+        newChunks[chunk] = new IncrementalIndexRow[CHUNK_SIZE];
+        chunks = newChunks;
+      }
+      chunks[chunk][id & CHUNK_MASK] = row;
+    }
+
+    private Iterator<IncrementalIndexRow> insertionOrderIterator()
+    {
+      final int end = size;
+      return new Iterator<IncrementalIndexRow>()
+      {
+        private int next = 0;
+
+        @Override
+        public boolean hasNext()
+        {
+          return next < end;
+        }
+
+        @Override
+        public IncrementalIndexRow next()
+        {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          return getRow(next++);
+        }
+      };
+    }
+
+    /**
+     * Returns all rows published so far, sorted by {@link #incrementalIndexRowComparator}. Rows added since the last
+     * call are sorted on their own and merged into the previously sorted snapshot.
+     */
+    private IncrementalIndexRow[] sortedRows()
+    {
+      SortedRows current = sorted;
+      if (current.count == size) {
+        return current.rows;
+      }
+      synchronized (sortLock) {
+        current = sorted;
+        final int end = size;
+        if (current.count == end) {
+          return current.rows;
+        }
+        final IncrementalIndexRow[] added = new IncrementalIndexRow[end - current.count];
+        for (int i = 0; i < added.length; i++) {
+          added[i] = getRow(current.count + i);
+        }
+        Arrays.sort(added, incrementalIndexRowComparator);
+        final IncrementalIndexRow[] merged = merge(current.rows, added);
+        sorted = new SortedRows(merged, end);
+        return merged;
+      }
+    }
+
+    private IncrementalIndexRow[] merge(IncrementalIndexRow[] left, IncrementalIndexRow[] right)
+    {
+      if (left.length == 0) {
+        return right;
+      }
+      final IncrementalIndexRow[] merged = new IncrementalIndexRow[left.length + right.length];
+      int i = 0;
+      int j = 0;
+      int k = 0;
+      while (i < left.length && j < right.length) {
+        if (incrementalIndexRowComparator.compare(left[i], right[j]) <= 0) {
+          merged[k++] = left[i++];
+        } else {
+          merged[k++] = right[j++];
+        }
+      }
+      System.arraycopy(left, i, merged, k, left.length - i);
+      System.arraycopy(right, j, merged, k + left.length - i, right.length - j);
+      return merged;
+    }
+
+    /**
+     * Returns the index of the first row whose timestamp is not less than the given one.
+     */
+    private static int lowerBound(IncrementalIndexRow[] rows, long timestamp)
+    {
+      int low = 0;
+      int high = rows.length;
+      while (low < high) {
+        final int mid = (low + high) >>> 1;
+        if (rows[mid].getTimestamp() < timestamp) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    /**
+     * Slots hold (row id + 1), 0 marks an empty slot. The hash of each row is kept next to its slot, so that probing
+     * only calls {@link IncrementalIndexRow#rollupEquals} on hash matches. At most half full.
+     */
+    private static class HashTable
+    {
+      private final int[] slots;
+      private final int[] hashes;
+
+      HashTable(int capacity)
+      {
+        this.slots = new int[capacity];
+        this.hashes = new int[capacity];
+      }
+
+      void insert(int hash, int id)
+      {
+        final int mask = slots.length - 1;
+        int i = HashCommon.mix(hash) & mask;
+        while (slots[i] != 0) {
+          i = (i + 1) & mask;
+        }
+        hashes[i] = hash;
+        slots[i] = id + 1;
+      }
+    }
+
+    private static class SortedRows
+    {
+      private static final SortedRows EMPTY = new SortedRows(new IncrementalIndexRow[0], 0);
+
+      private final IncrementalIndexRow[] rows;
+      private final int count;
+
+      SortedRows(IncrementalIndexRow[] rows, int count)
+      {
+        this.rows = rows;
+        this.count = count;
+      }
+    }
+  }
+
   private class LongMetricColumnSelector implements LongColumnSelector
   {
     private final IncrementalIndexRowHolder currEntry;
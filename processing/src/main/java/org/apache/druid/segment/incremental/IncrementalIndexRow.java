@@ -188,4 +188,62 @@ public final class IncrementalIndexRow
     }
     return hash;
   }
+
+  /**
+   * Hash code consistent with {@link #rollupEquals}.
+   */
+  int rollupHashCode()
+  {
+    int hash = (int) timestamp;
+    final int length = lengthWithoutTrailingNulls();
+    for (int i = 0; i < length; i++) {
+      if (dims[i] != null) {
+        final DimensionIndexer indexer = dimensionDescsList.get(i).getIndexer();
+        hash = 31 * hash + indexer.getUnsortedEncodedKeyComponentHashCode(dims[i]);
+      } else {
+        hash = 31 * hash;
+      }
+    }
+    return hash;
+  }
+
+  /**
+   * Whether the rows roll up together. Unlike {@link #equals}, trailing null dims are ignored, like in
+   * {@link IncrementalIndex.IncrementalIndexRowComparator}, so that rows added before and after the discovery of a new
+   * dimension match.
+   */
+  boolean rollupEquals(IncrementalIndexRow that)
+  {
+    if (timestamp != that.timestamp) {
+      return false;
+    }
+    final int length = lengthWithoutTrailingNulls();
+    if (length != that.lengthWithoutTrailingNulls()) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      final Object lhs = dims[i];
+      final Object rhs = that.dims[i];
+      if (lhs == null || rhs == null) {
+        if (lhs != rhs) {
+          return false;
+        }
+        continue;
+      }
+      final DimensionIndexer indexer = dimensionDescsList.get(i).getIndexer();
+      if (!indexer.checkUnsortedEncodedKeyComponentsEqual(lhs, rhs)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int lengthWithoutTrailingNulls()
+  {
+    int length = dims.length;
+    while (length > 0 && dims[length - 1] == null) {
+      length--;
+    }
+    return length;
+  }
 }
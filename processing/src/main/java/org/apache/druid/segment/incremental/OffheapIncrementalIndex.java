@@ -75,6 +75,7 @@ public class OffheapIncrementalIndex extends IncrementalIndex<BufferAggregator>
       boolean reportParseExceptions,
       boolean concurrentEventAdd,
       boolean sortFacts,
+      boolean useHashedFacts,
       int maxRowCount,
       NonBlockingPool<ByteBuffer> bufferPool
   )
@@ -83,8 +84,7 @@ public class OffheapIncrementalIndex extends IncrementalIndex<BufferAggregator>
     this.maxRowCount = maxRowCount;
     this.bufferPool = bufferPool;
 
-    this.facts = incrementalIndexSchema.isRollup() ? new RollupFactsHolder(sortFacts, dimsComparator(), getDimensions())
-                                                   : new PlainFactsHolder(sortFacts, dimsComparator());
+    this.facts = makeFactsHolder(sortFacts, useHashedFacts);
 
     //check that stupid pool gives buffers that can hold at least one row's aggregators
     ResourceHolder<ByteBuffer> bb = bufferPool.take();
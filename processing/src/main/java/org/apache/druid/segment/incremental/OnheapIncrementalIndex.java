@@ -74,12 +74,34 @@ public class OnheapIncrementalIndex extends IncrementalIndex<Aggregator>
       int maxRowCount,
       long maxBytesInMemory
   )
+  {
+    this(
+        incrementalIndexSchema,
+        deserializeComplexMetrics,
+        reportParseExceptions,
+        concurrentEventAdd,
+        sortFacts,
+        false,
+        maxRowCount,
+        maxBytesInMemory
+    );
+  }
+
+  OnheapIncrementalIndex(
+      IncrementalIndexSchema incrementalIndexSchema,
+      boolean deserializeComplexMetrics,
+      boolean reportParseExceptions,
+      boolean concurrentEventAdd,
+      boolean sortFacts,
+      boolean useHashedFacts,
+      int maxRowCount,
+      long maxBytesInMemory
+  )
   {
     super(incrementalIndexSchema, deserializeComplexMetrics, reportParseExceptions, concurrentEventAdd);
     this.maxRowCount = maxRowCount;
     this.maxBytesInMemory = maxBytesInMemory == 0 ? Long.MAX_VALUE : maxBytesInMemory;
-    this.facts = incrementalIndexSchema.isRollup() ? new RollupFactsHolder(sortFacts, dimsComparator(), getDimensions())
-                                                   : new PlainFactsHolder(sortFacts, dimsComparator());
+    this.facts = makeFactsHolder(sortFacts, useHashedFacts);
     maxBytesPerRowForAggregators = getMaxBytesPerRowForAggregators(incrementalIndexSchema);
   }
 
@@ -32,4 +32,13 @@ import java.io.File;
 public interface SegmentizerFactory
 {
   Segment factorize(DataSegment segment, File parentDir) throws SegmentLoadingException;
+
+  /**
+   * Like {@link #factorize(DataSegment, File)}, but if "lazy" is true, the factory may defer loading parts of the
+   * segment until they are first used. Factories that don't support lazy loading load the whole segment.
+   */
+  default Segment factorize(DataSegment segment, File parentDir, boolean lazy) throws SegmentLoadingException
+  {
+    return factorize(segment, parentDir);
+  }
 }
@@ -33,15 +33,21 @@ import org.apache.druid.segment.column.ColumnConfig;
 import org.apache.druid.segment.column.ValueType;
 import org.apache.druid.segment.data.BitmapSerde;
 import org.apache.druid.segment.data.BitmapSerdeFactory;
+import org.apache.druid.segment.data.BlockEncodedColumnarIntsSerializer;
+import org.apache.druid.segment.data.BlockEncodedColumnarIntsSupplier;
 import org.apache.druid.segment.data.ByteBufferWriter;
 import org.apache.druid.segment.data.ColumnarInts;
 import org.apache.druid.segment.data.ColumnarIntsSerializer;
 import org.apache.druid.segment.data.ColumnarMultiInts;
 import org.apache.druid.segment.data.CompressedVSizeColumnarIntsSupplier;
 import org.apache.druid.segment.data.CompressedVSizeColumnarMultiIntsSupplier;
+import org.apache.druid.segment.data.DictionaryWriter;
+import org.apache.druid.segment.data.FrontCodedIndexed;
+import org.apache.druid.segment.data.FrontCodedIndexedWriter;
 import org.apache.druid.segment.data.GenericIndexed;
 import org.apache.druid.segment.data.GenericIndexedWriter;
 import org.apache.druid.segment.data.ImmutableRTreeObjectStrategy;
+import org.apache.druid.segment.data.Indexed;
 import org.apache.druid.segment.data.V3CompressedVSizeColumnarMultiIntsSupplier;
 import org.apache.druid.segment.data.VSizeColumnarInts;
 import org.apache.druid.segment.data.VSizeColumnarMultiInts;
@@ -63,7 +69,9 @@ public class DictionaryEncodedColumnPartSerde implements ColumnPartSerde
   {
     MULTI_VALUE,
     MULTI_VALUE_V3,
-    NO_BITMAP_INDEX;
+    NO_BITMAP_INDEX,
+    FRONT_CODED_DICTIONARY,
+    BLOCK_ENCODED_VALUES;
 
     public boolean isSet(int flags)
     {
@@ -145,15 +153,21 @@ public class DictionaryEncodedColumnPartSerde implements ColumnPartSerde
   {
     private VERSION version = null;
     private int flags = STARTING_FLAGS;
-    private GenericIndexedWriter<String> dictionaryWriter = null;
+    private DictionaryWriter<String> dictionaryWriter = null;
     private ColumnarIntsSerializer valueWriter = null;
     private BitmapSerdeFactory bitmapSerdeFactory = null;
     private GenericIndexedWriter<ImmutableBitmap> bitmapIndexWriter = null;
     private ByteBufferWriter<ImmutableRTree> spatialIndexWriter = null;
     private ByteOrder byteOrder = null;
 
-    public SerializerBuilder withDictionary(GenericIndexedWriter<String> dictionaryWriter)
+    public SerializerBuilder withDictionary(DictionaryWriter<String> dictionaryWriter)
     {
+      if (dictionaryWriter instanceof FrontCodedIndexedWriter) {
+        flags |= Feature.FRONT_CODED_DICTIONARY.getMask();
+      } else {
+        flags &= ~Feature.FRONT_CODED_DICTIONARY.getMask();
+      }
+
       this.dictionaryWriter = dictionaryWriter;
       return this;
     }
@@ -200,7 +214,11 @@ public class DictionaryEncodedColumnPartSerde implements ColumnPartSerde
           this.flags |= Feature.MULTI_VALUE.getMask();
         }
       } else {
-        if (compressed) {
+        if (valueWriter instanceof BlockEncodedColumnarIntsSerializer) {
+          // needs flags, which are only written from the COMPRESSED version on
+          this.version = VERSION.COMPRESSED;
+          this.flags |= Feature.BLOCK_ENCODED_VALUES.getMask();
+        } else if (compressed) {
           this.version = VERSION.COMPRESSED;
         } else {
           this.version = VERSION.UNCOMPRESSED_SINGLE_VALUE;
@@ -295,12 +313,22 @@ public class DictionaryEncodedColumnPartSerde implements ColumnPartSerde
 
         final boolean hasMultipleValues = Feature.MULTI_VALUE.isSet(rFlags) || Feature.MULTI_VALUE_V3.isSet(rFlags);
 
-        final GenericIndexed<String> rDictionary = GenericIndexed.read(
-            buffer,
-            GenericIndexed.STRING_STRATEGY,
-            builder.getFileMapper()
-        );
-        builder.setType(ValueType.STRING);
+        final Indexed<String> rDictionary;
+        final GenericIndexed<String> rGenericDictionary;
+        final FrontCodedIndexed rFrontCodedDictionary;
+        final int dictionaryPosition = buffer.position();
+        if (Feature.FRONT_CODED_DICTIONARY.isSet(rFlags)) {
+          rFrontCodedDictionary = FrontCodedIndexed.read(buffer);
+          rGenericDictionary = null;
+          rDictionary = rFrontCodedDictionary;
+        } else {
+          rGenericDictionary = GenericIndexed.read(buffer, GenericIndexed.STRING_STRATEGY, builder.getFileMapper());
+          rFrontCodedDictionary = null;
+          rDictionary = rGenericDictionary;
+        }
+        // Only counts the header of dictionaries split into several files, whose values are not in this buffer
+        builder.setType(ValueType.STRING)
+               .setDictionarySize(rDictionary.size(), buffer.position() - dictionaryPosition);
 
         final WritableSupplier<ColumnarInts> rSingleValuedColumn;
         final WritableSupplier<ColumnarMultiInts> rMultiValuedColumn;
@@ -309,16 +337,26 @@ public class DictionaryEncodedColumnPartSerde implements ColumnPartSerde
           rMultiValuedColumn = readMultiValuedColumn(rVersion, buffer, rFlags);
           rSingleValuedColumn = null;
         } else {
-          rSingleValuedColumn = readSingleValuedColumn(rVersion, buffer);
+          rSingleValuedColumn = readSingleValuedColumn(rVersion, buffer, rFlags);
           rMultiValuedColumn = null;
         }
 
-        DictionaryEncodedColumnSupplier dictionaryEncodedColumnSupplier = new DictionaryEncodedColumnSupplier(
-            rDictionary,
-            rSingleValuedColumn,
-            rMultiValuedColumn,
-            columnConfig.columnCacheSizeBytes()
-        );
+        final DictionaryEncodedColumnSupplier dictionaryEncodedColumnSupplier;
+        if (rFrontCodedDictionary != null) {
+          // Front-coded values are cheap to decode, so they are not put in the lookup cache.
+          dictionaryEncodedColumnSupplier = new DictionaryEncodedColumnSupplier(
+              rFrontCodedDictionary,
+              rSingleValuedColumn,
+              rMultiValuedColumn
+          );
+        } else {
+          dictionaryEncodedColumnSupplier = new DictionaryEncodedColumnSupplier(
+              rGenericDictionary,
+              rSingleValuedColumn,
+              rMultiValuedColumn,
+              columnConfig.columnCacheSizeBytes()
+          );
+        }
         builder
             .setHasMultipleValues(hasMultipleValues)
             .setDictionaryEncodedColumnSupplier(dictionaryEncodedColumnSupplier);
@@ -346,8 +384,11 @@ public class DictionaryEncodedColumnPartSerde implements ColumnPartSerde
       }
 
 
-      private WritableSupplier<ColumnarInts> readSingleValuedColumn(VERSION version, ByteBuffer buffer)
+      private WritableSupplier<ColumnarInts> readSingleValuedColumn(VERSION version, ByteBuffer buffer, int flags)
       {
+        if (Feature.BLOCK_ENCODED_VALUES.isSet(flags)) {
+          return BlockEncodedColumnarIntsSupplier.fromByteBuffer(buffer);
+        }
         switch (version) {
           case UNCOMPRESSED_SINGLE_VALUE:
           case UNCOMPRESSED_WITH_FLAGS:
@@ -25,7 +25,9 @@ import org.apache.druid.segment.column.StringDictionaryEncodedColumn;
 import org.apache.druid.segment.data.CachingIndexed;
 import org.apache.druid.segment.data.ColumnarInts;
 import org.apache.druid.segment.data.ColumnarMultiInts;
+import org.apache.druid.segment.data.FrontCodedIndexed;
 import org.apache.druid.segment.data.GenericIndexed;
+import org.apache.druid.segment.data.Indexed;
 
 import javax.annotation.Nullable;
 
@@ -33,10 +35,9 @@ import javax.annotation.Nullable;
  */
 public class DictionaryEncodedColumnSupplier implements Supplier<DictionaryEncodedColumn<?>>
 {
-  private final GenericIndexed<String> dictionary;
+  private final Supplier<Indexed<String>> dictionary;
   private final @Nullable Supplier<ColumnarInts> singleValuedColumn;
   private final @Nullable Supplier<ColumnarMultiInts> multiValuedColumn;
-  private final int lookupCacheSize;
 
   public DictionaryEncodedColumnSupplier(
       GenericIndexed<String> dictionary,
@@ -44,11 +45,28 @@ public class DictionaryEncodedColumnSupplier implements Supplier<DictionaryEncod
       @Nullable Supplier<ColumnarMultiInts> multiValuedColumn,
       int lookupCacheSize
   )
+  {
+    this(() -> new CachingIndexed<>(dictionary, lookupCacheSize), singleValuedColumn, multiValuedColumn);
+  }
+
+  public DictionaryEncodedColumnSupplier(
+      FrontCodedIndexed dictionary,
+      @Nullable Supplier<ColumnarInts> singleValuedColumn,
+      @Nullable Supplier<ColumnarMultiInts> multiValuedColumn
+  )
+  {
+    this(() -> dictionary, singleValuedColumn, multiValuedColumn);
+  }
+
+  private DictionaryEncodedColumnSupplier(
+      Supplier<Indexed<String>> dictionary,
+      @Nullable Supplier<ColumnarInts> singleValuedColumn,
+      @Nullable Supplier<ColumnarMultiInts> multiValuedColumn
+  )
   {
     this.dictionary = dictionary;
     this.singleValuedColumn = singleValuedColumn;
     this.multiValuedColumn = multiValuedColumn;
-    this.lookupCacheSize = lookupCacheSize;
   }
 
   @Override
@@ -57,7 +75,7 @@ public class DictionaryEncodedColumnSupplier implements Supplier<DictionaryEncod
     return new StringDictionaryEncodedColumn(
         singleValuedColumn != null ? singleValuedColumn.get() : null,
         multiValuedColumn != null ? multiValuedColumn.get() : null,
-        new CachingIndexed<>(dictionary, lookupCacheSize)
+        dictionary.get()
     );
   }
 }
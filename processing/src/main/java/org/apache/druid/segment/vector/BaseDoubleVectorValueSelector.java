@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.vector;
+
+/**
+ * Base class for {@link VectorValueSelector}s that natively read doubles. The long and float vectors are derived from
+ * {@link #getDoubleVector()} and cached until the offset moves.
+ */
+public abstract class BaseDoubleVectorValueSelector implements VectorValueSelector
+{
+  protected final ReadableVectorOffset offset;
+
+  private int longId = ReadableVectorOffset.NULL_ID;
+  private int floatId = ReadableVectorOffset.NULL_ID;
+
+  private long[] longVector;
+  private float[] floatVector;
+
+  public BaseDoubleVectorValueSelector(final ReadableVectorOffset offset)
+  {
+    this.offset = offset;
+  }
+
+  @Override
+  public int getCurrentVectorSize()
+  {
+    return offset.getCurrentVectorSize();
+  }
+
+  @Override
+  public int getMaxVectorSize()
+  {
+    return offset.getMaxVectorSize();
+  }
+
+  @Override
+  public long[] getLongVector()
+  {
+    if (longId == offset.getId()) {
+      return longVector;
+    }
+
+    if (longVector == null) {
+      longVector = new long[offset.getMaxVectorSize()];
+    }
+
+    final double[] vector = getDoubleVector();
+    for (int i = 0; i < offset.getCurrentVectorSize(); i++) {
+      longVector[i] = (long) vector[i];
+    }
+
+    longId = offset.getId();
+    return longVector;
+  }
+
+  @Override
+  public float[] getFloatVector()
+  {
+    if (floatId == offset.getId()) {
+      return floatVector;
+    }
+
+    if (floatVector == null) {
+      floatVector = new float[offset.getMaxVectorSize()];
+    }
+
+    final double[] vector = getDoubleVector();
+    for (int i = 0; i < offset.getCurrentVectorSize(); i++) {
+      floatVector[i] = (float) vector[i];
+    }
+
+    floatId = offset.getId();
+    return floatVector;
+  }
+}
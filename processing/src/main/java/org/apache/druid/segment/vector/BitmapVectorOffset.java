@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.vector;
+
+import org.apache.druid.collections.bitmap.ImmutableBitmap;
+import org.roaringbitmap.IntIterator;
+
+/**
+ * Non-contiguous vector offset over the rows of a bitmap that fall within [startOffset, endOffset). Used when a
+ * filter can be evaluated entirely with bitmap indexes.
+ */
+public class BitmapVectorOffset implements VectorOffset
+{
+  private final ImmutableBitmap bitmap;
+  private final int[] offsets;
+  private final int startOffset;
+  private final int endOffset;
+
+  private IntIterator iterator;
+  private boolean pastEnd;
+  private int currentVectorSize;
+  private int id;
+
+  public BitmapVectorOffset(
+      final int vectorSize,
+      final ImmutableBitmap bitmap,
+      final int startOffset,
+      final int endOffset
+  )
+  {
+    this.bitmap = bitmap;
+    this.offsets = new int[vectorSize];
+    this.startOffset = startOffset;
+    this.endOffset = endOffset;
+    reset();
+  }
+
+  @Override
+  public int getId()
+  {
+    return id;
+  }
+
+  @Override
+  public void advance()
+  {
+    id++;
+    currentVectorSize = 0;
+
+    if (pastEnd) {
+      return;
+    }
+
+    while (currentVectorSize < offsets.length && iterator.hasNext()) {
+      final int offset = iterator.next();
+      if (offset >= endOffset) {
+        pastEnd = true;
+        break;
+      } else if (offset >= startOffset) {
+        offsets[currentVectorSize++] = offset;
+      }
+    }
+  }
+
+  @Override
+  public boolean isDone()
+  {
+    return currentVectorSize == 0;
+  }
+
+  @Override
+  public boolean isContiguous()
+  {
+    return false;
+  }
+
+  @Override
+  public int getMaxVectorSize()
+  {
+    return offsets.length;
+  }
+
+  @Override
+  public int getCurrentVectorSize()
+  {
+    return currentVectorSize;
+  }
+
+  @Override
+  public int getStartOffset()
+  {
+    throw new UnsupportedOperationException("not contiguous");
+  }
+
+  @Override
+  public int[] getOffsets()
+  {
+    return offsets;
+  }
+
+  @Override
+  public void reset()
+  {
+    iterator = bitmap.iterator();
+    currentVectorSize = 0;
+    pastEnd = false;
+    id = 0;
+    advance();
+  }
+}
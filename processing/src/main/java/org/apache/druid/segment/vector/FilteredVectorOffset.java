@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.vector;
+
+import org.apache.druid.query.filter.Filter;
+import org.apache.druid.query.filter.vector.ReadableVectorMatch;
+import org.apache.druid.query.filter.vector.VectorMatch;
+import org.apache.druid.query.filter.vector.VectorValueMatcher;
+
+/**
+ * Vector offset that applies a post-filter to the rows of a base offset. Each call to {@link #advance()} reads whole
+ * vectors from the base offset and evaluates the filter on them with a {@link VectorValueMatcher}, until at least one
+ * row matches or the base offset is done.
+ *
+ * @see org.apache.druid.segment.FilteredOffset, the non-vectorized version
+ */
+public class FilteredVectorOffset implements VectorOffset
+{
+  private final VectorOffset baseOffset;
+  private final VectorValueMatcher filterMatcher;
+  private final VectorMatch baseMask;
+  private final int[] offsets;
+  private int currentVectorSize = 0;
+  private boolean allTrue = false;
+  private int id = 0;
+
+  private FilteredVectorOffset(final VectorOffset baseOffset, final VectorValueMatcher filterMatcher)
+  {
+    this.baseOffset = baseOffset;
+    this.filterMatcher = filterMatcher;
+    this.baseMask = VectorMatch.wrap(new int[baseOffset.getMaxVectorSize()]);
+    this.offsets = new int[baseOffset.getMaxVectorSize()];
+    advanceWhileVectorIsEmptyAndPopulateOffsets();
+  }
+
+  /**
+   * Creates a filtered offset. "baseColumnSelectorFactory" must read from "baseOffset", since the filter is evaluated
+   * on the rows of the base offset.
+   */
+  public static FilteredVectorOffset create(
+      final VectorOffset baseOffset,
+      final VectorColumnSelectorFactory baseColumnSelectorFactory,
+      final Filter filter
+  )
+  {
+    return new FilteredVectorOffset(baseOffset, filter.makeVectorMatcher(baseColumnSelectorFactory));
+  }
+
+  @Override
+  public int getId()
+  {
+    return id;
+  }
+
+  @Override
+  public void advance()
+  {
+    id++;
+    baseOffset.advance();
+    advanceWhileVectorIsEmptyAndPopulateOffsets();
+  }
+
+  @Override
+  public boolean isDone()
+  {
+    return baseOffset.isDone();
+  }
+
+  @Override
+  public boolean isContiguous()
+  {
+    return allTrue && baseOffset.isContiguous();
+  }
+
+  @Override
+  public int getMaxVectorSize()
+  {
+    return baseOffset.getMaxVectorSize();
+  }
+
+  @Override
+  public int getCurrentVectorSize()
+  {
+    return currentVectorSize;
+  }
+
+  @Override
+  public int getStartOffset()
+  {
+    if (isContiguous()) {
+      return baseOffset.getStartOffset();
+    } else {
+      throw new UnsupportedOperationException("not contiguous");
+    }
+  }
+
+  @Override
+  public int[] getOffsets()
+  {
+    if (isContiguous()) {
+      throw new UnsupportedOperationException("is contiguous");
+    } else if (allTrue) {
+      return baseOffset.getOffsets();
+    } else {
+      return offsets;
+    }
+  }
+
+  @Override
+  public void reset()
+  {
+    id = 0;
+    baseOffset.reset();
+    advanceWhileVectorIsEmptyAndPopulateOffsets();
+  }
+
+  private void advanceWhileVectorIsEmptyAndPopulateOffsets()
+  {
+    for (; !baseOffset.isDone(); baseOffset.advance()) {
+      final int baseVectorSize = baseOffset.getCurrentVectorSize();
+      final ReadableVectorMatch match = filterMatcher.match(baseMask.setAllTrue(baseVectorSize));
+
+      if (match.isAllFalse()) {
+        continue;
+      }
+
+      currentVectorSize = match.getSelectionSize();
+      allTrue = match.isAllTrue(baseVectorSize);
+
+      if (!allTrue) {
+        final int[] selection = match.getSelection();
+
+        if (baseOffset.isContiguous()) {
+          final int startOffset = baseOffset.getStartOffset();
+          for (int i = 0; i < currentVectorSize; i++) {
+            offsets[i] = startOffset + selection[i];
+          }
+        } else {
+          final int[] baseOffsets = baseOffset.getOffsets();
+          for (int i = 0; i < currentVectorSize; i++) {
+            offsets[i] = baseOffsets[selection[i]];
+          }
+        }
+      }
+
+      return;
+    }
+
+    currentVectorSize = 0;
+    allTrue = false;
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.vector;
+
+import org.apache.druid.common.config.NullHandling;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * Vector selector for a column that does not exist. Returns zeroes, and, if SQL-compatible null handling is enabled,
+ * a null vector that is all true.
+ *
+ * @see org.apache.druid.segment.NilColumnValueSelector, the non-vectorized version.
+ */
+public class NilVectorSelector implements VectorValueSelector, SingleValueDimensionVectorSelector
+{
+  private final VectorSizeInspector vectorSizeInspector;
+  private final long[] longVector;
+  private final float[] floatVector;
+  private final double[] doubleVector;
+  private final int[] rowVector;
+  @Nullable
+  private final boolean[] nullVector;
+
+  public static NilVectorSelector create(final VectorSizeInspector vectorSizeInspector)
+  {
+    return new NilVectorSelector(vectorSizeInspector);
+  }
+
+  private NilVectorSelector(final VectorSizeInspector vectorSizeInspector)
+  {
+    final int maxVectorSize = vectorSizeInspector.getMaxVectorSize();
+    this.vectorSizeInspector = vectorSizeInspector;
+    this.longVector = new long[maxVectorSize];
+    this.floatVector = new float[maxVectorSize];
+    this.doubleVector = new double[maxVectorSize];
+    this.rowVector = new int[maxVectorSize];
+
+    if (NullHandling.sqlCompatible()) {
+      this.nullVector = new boolean[maxVectorSize];
+      Arrays.fill(nullVector, true);
+    } else {
+      this.nullVector = null;
+    }
+  }
+
+  @Override
+  public long[] getLongVector()
+  {
+    return longVector;
+  }
+
+  @Override
+  public float[] getFloatVector()
+  {
+    return floatVector;
+  }
+
+  @Override
+  public double[] getDoubleVector()
+  {
+    return doubleVector;
+  }
+
+  @Nullable
+  @Override
+  public boolean[] getNullVector()
+  {
+    return nullVector;
+  }
+
+  @Override
+  public int[] getRowVector()
+  {
+    return rowVector;
+  }
+
+  @Override
+  public int getValueCardinality()
+  {
+    return 1;
+  }
+
+  @Nullable
+  @Override
+  public String lookupName(final int id)
+  {
+    assert id == 0 : "id = " + id;
+    return null;
+  }
+
+  @Override
+  public int getMaxVectorSize()
+  {
+    return vectorSizeInspector.getMaxVectorSize();
+  }
+
+  @Override
+  public int getCurrentVectorSize()
+  {
+    return vectorSizeInspector.getCurrentVectorSize();
+  }
+}
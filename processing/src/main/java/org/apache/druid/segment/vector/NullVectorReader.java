@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.vector;
+
+import org.apache.druid.collections.bitmap.ImmutableBitmap;
+import org.roaringbitmap.IntIterator;
+
+import javax.annotation.Nullable;
+
+/**
+ * Builds null vectors for a nullable column from its null value bitmap. Vector offsets only move forward (except
+ * when reset), so instead of probing the bitmap once per row, this class walks a single bitmap iterator alongside
+ * the offset and restarts it only when the offset moves backwards.
+ */
+public class NullVectorReader
+{
+  private final ImmutableBitmap nullValueBitmap;
+  private final boolean[] nullVector;
+
+  private IntIterator iterator;
+  private int nextNullRow;
+  private int lastRow = -1;
+
+  public NullVectorReader(final ImmutableBitmap nullValueBitmap, final int maxVectorSize)
+  {
+    this.nullValueBitmap = nullValueBitmap;
+    this.nullVector = new boolean[maxVectorSize];
+    restart();
+  }
+
+  /**
+   * Returns the null vector for the current batch of "offset", or null if none of the rows in the batch are null.
+   * The returned array is reused between calls.
+   */
+  @Nullable
+  public boolean[] read(final ReadableVectorOffset offset)
+  {
+    final int size = offset.getCurrentVectorSize();
+    boolean hasNulls = false;
+
+    if (offset.isContiguous()) {
+      final int start = offset.getStartOffset();
+      if (start <= lastRow) {
+        restart();
+      }
+      for (int i = 0; i < size; i++) {
+        hasNulls |= (nullVector[i] = isNull(start + i));
+      }
+      lastRow = start + size - 1;
+    } else {
+      final int[] offsets = offset.getOffsets();
+      if (size > 0 && offsets[0] <= lastRow) {
+        restart();
+      }
+      for (int i = 0; i < size; i++) {
+        hasNulls |= (nullVector[i] = isNull(offsets[i]));
+      }
+      if (size > 0) {
+        lastRow = offsets[size - 1];
+      }
+    }
+
+    return hasNulls ? nullVector : null;
+  }
+
+  private boolean isNull(final int row)
+  {
+    while (nextNullRow < row) {
+      nextNullRow = iterator.hasNext() ? iterator.next() : Integer.MAX_VALUE;
+    }
+    return nextNullRow == row;
+  }
+
+  private void restart()
+  {
+    iterator = nullValueBitmap.iterator();
+    nextNullRow = iterator.hasNext() ? iterator.next() : Integer.MAX_VALUE;
+    lastRow = -1;
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.vector;
+
+/**
+ * Provides a batch of row offsets, ostensibly as indexes into an array. Each batch is either "contiguous", meaning
+ * the rows are [start, start + currentVectorSize), or non-contiguous, in which case the rows are given explicitly by
+ * {@link #getOffsets()}.
+ *
+ * A ReadableVectorOffset should be given to classes (e.g. column selectors) that need to see the current offset, but
+ * must not be able to change it.
+ *
+ * @see VectorOffset, the movable version.
+ * @see org.apache.druid.segment.data.ReadableOffset, the non-vectorized version.
+ */
+public interface ReadableVectorOffset extends VectorSizeInspector
+{
+  /**
+   * A marker value that will never be returned by {@link #getId()}.
+   */
+  int NULL_ID = -1;
+
+  /**
+   * Returns true if the current batch of offsets is contiguous, which means that {@link #getStartOffset()} may be
+   * called and {@link #getOffsets()} should not be.
+   */
+  boolean isContiguous();
+
+  /**
+   * If "isContiguous" is true, this method returns the start offset of the range. The length of the range is
+   * given by {@link #getCurrentVectorSize()}.
+   *
+   * Throws an exception if "isContiguous" is false.
+   */
+  int getStartOffset();
+
+  /**
+   * If "isContiguous" is false, this method returns an array of offsets. The array may be longer than the current
+   * vector size; only the first {@link #getCurrentVectorSize()} elements are meaningful.
+   *
+   * Throws an exception if "isContiguous" is true.
+   */
+  int[] getOffsets();
+
+  /**
+   * Returns a number that changes every time the offset moves to a new batch, allowing selectors to cache the
+   * vectors they compute for the current batch. Never returns {@link #NULL_ID}.
+   */
+  int getId();
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.vector;
+
+import javax.annotation.Nullable;
+
+/**
+ * Vectorized selector for a single-valued string column. Returns dictionary ids, which can be converted to values
+ * with {@link #lookupName(int)}.
+ *
+ * @see org.apache.druid.segment.DimensionSelector, the non-vectorized version.
+ */
+public interface SingleValueDimensionVectorSelector extends VectorSizeInspector
+{
+  /**
+   * Gets a vector of dictionary ids. The array is at least {@link #getCurrentVectorSize()} long; only the first
+   * {@link #getCurrentVectorSize()} elements are meaningful. Callers must not modify the returned array.
+   */
+  int[] getRowVector();
+
+  /**
+   * Returns the number of distinct values in the dictionary backing this selector. Ids returned by
+   * {@link #getRowVector()} are always in the range [0, getValueCardinality()).
+   */
+  int getValueCardinality();
+
+  @Nullable
+  String lookupName(int id);
+}
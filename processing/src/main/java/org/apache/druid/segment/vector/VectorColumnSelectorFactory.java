@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.vector;
+
+import org.apache.druid.segment.column.ColumnCapabilities;
+
+import javax.annotation.Nullable;
+
+/**
+ * A class that comes from {@link VectorCursor#getColumnSelectorFactory()} and is used to create vector selectors.
+ *
+ * @see org.apache.druid.segment.ColumnSelectorFactory, the non-vectorized version.
+ */
+public interface VectorColumnSelectorFactory
+{
+  /**
+   * Returns the maximum vector size for the {@link VectorCursor} that generated this object.
+   */
+  int getMaxVectorSize();
+
+  /**
+   * Returns an object that can be used to check the current vector size of the {@link VectorCursor} or
+   * {@link VectorOffset} that generated this object.
+   */
+  VectorSizeInspector getVectorSizeInspector();
+
+  /**
+   * Returns a primitive column value selector. Nonexistent columns are treated as all-null.
+   */
+  VectorValueSelector makeValueSelector(String column);
+
+  /**
+   * Returns a dictionary-encoded, single-valued string column selector. Nonexistent columns are treated as
+   * all-null.
+   */
+  SingleValueDimensionVectorSelector makeSingleValueDimensionSelector(String column);
+
+  /**
+   * Returns capabilities of a particular column, or null if the column doesn't exist.
+   */
+  @Nullable
+  ColumnCapabilities getColumnCapabilities(String column);
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.vector;
+
+import java.io.Closeable;
+
+/**
+ * Vectorized cursor used during query execution. VectorCursors are returned by
+ * {@link org.apache.druid.segment.CursorFactory#makeVectorCursor} and are created by
+ * {@link org.apache.druid.segment.QueryableIndexStorageAdapter}.
+ *
+ * Unlike {@link org.apache.druid.segment.Cursor}, a VectorCursor is not bucketed by query granularity; engines that
+ * need time buckets should split vectors using the "__time" column, for example with
+ * {@link org.apache.druid.query.vector.VectorCursorGranularizer}.
+ *
+ * @see org.apache.druid.segment.Cursor, the non-vectorized version.
+ */
+public interface VectorCursor extends VectorSizeInspector, Closeable
+{
+  /**
+   * Returns a vectorized column selector factory.
+   */
+  VectorColumnSelectorFactory getColumnSelectorFactory();
+
+  /**
+   * Advances the cursor, skipping forward a number of rows equal to the current vector size.
+   */
+  void advance();
+
+  /**
+   * Returns false if the cursor is readable.
+   */
+  boolean isDone();
+
+  /**
+   * Resets the cursor back to its original state. Useful for query engines that want to make multiple passes.
+   */
+  void reset();
+
+  /**
+   * Close the cursor and release its resources.
+   */
+  @Override
+  void close();
+}
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.vector;
+
+/**
+ * Common interface for vectorized cursors, offsets and selectors that can report the size of the current vector
+ * and the maximum size any vector can ever be.
+ */
+public interface VectorSizeInspector
+{
+  /**
+   * Returns the maximum vector size for this cursor, offset, or selector. All vectors will be at most this size.
+   */
+  int getMaxVectorSize();
+
+  /**
+   * Returns the current vector size for this cursor, offset, or selector. Will be between 0 and the max vector size.
+   */
+  int getCurrentVectorSize();
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.vector;
+
+import javax.annotation.Nullable;
+
+/**
+ * Vectorized selector for primitive columns. Every "get" method returns an array that is at least
+ * {@link #getCurrentVectorSize()} long; only the first {@link #getCurrentVectorSize()} elements are meaningful.
+ * The returned arrays are owned by the selector and are overwritten when the underlying offset advances, so callers
+ * must not hold on to them, or modify them.
+ *
+ * @see org.apache.druid.segment.ColumnValueSelector, the non-vectorized version.
+ */
+public interface VectorValueSelector extends VectorSizeInspector
+{
+  long[] getLongVector();
+
+  float[] getFloatVector();
+
+  double[] getDoubleVector();
+
+  /**
+   * Gets a vector of booleans signifying which rows are null and which are not (true for null). Returns null if it is
+   * known that there are no nulls in the vector, possibly because the column is non-nullable.
+   */
+  @Nullable
+  boolean[] getNullVector();
+}
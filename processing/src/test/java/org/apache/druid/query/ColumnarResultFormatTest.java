@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.druid.data.input.MapBasedRow;
+import org.apache.druid.data.input.Row;
+import org.apache.druid.java.util.common.DateTimes;
+import org.apache.druid.java.util.common.IAE;
+import org.apache.druid.java.util.common.guava.Sequences;
+import org.apache.druid.java.util.common.guava.Yielders;
+import org.apache.druid.query.groupby.GroupByQueryQueryToolChest;
+import org.apache.druid.query.timeseries.TimeseriesQueryQueryToolChest;
+import org.apache.druid.query.timeseries.TimeseriesResultValue;
+import org.apache.druid.query.topn.TopNQueryConfig;
+import org.apache.druid.query.topn.TopNQueryQueryToolChest;
+import org.apache.druid.query.topn.TopNResultValue;
+import org.apache.druid.segment.TestHelper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ColumnarResultFormatTest
+{
+  private static final ObjectMapper SMILE_MAPPER = TestHelper.makeSmileMapper();
+
+  private final ColumnarResultSerde<Row> groupBySerde =
+      new GroupByQueryQueryToolChest(null, null).getColumnarResultSerde(null);
+  private final ColumnarResultSerde<Result<TimeseriesResultValue>> timeseriesSerde =
+      new TimeseriesQueryQueryToolChest(null).getColumnarResultSerde(null);
+  private final ColumnarResultSerde<Result<TopNResultValue>> topNSerde =
+      new TopNQueryQueryToolChest(new TopNQueryConfig(), null).getColumnarResultSerde(null);
+
+  @Test
+  public void testGroupByRoundTrip() throws IOException
+  {
+    final Map<String, Object> withNull = new HashMap<>();
+    withNull.put("dim", null);
+    withNull.put("rows", 3L);
+
+    final List<Row> rows = ImmutableList.of(
+        new MapBasedRow(
+            DateTimes.of("2011-01-01"),
+            ImmutableMap.of("dim", "a", "rows", 1L, "idx", 1.5d, "fidx", 2.5f, "sketch", ImmutableList.of(1, 2))
+        ),
+        new MapBasedRow(DateTimes.of("2011-01-01"), ImmutableMap.of("dim", "b", "rows", 2L)),
+        new MapBasedRow(DateTimes.of("2011-01-02"), withNull),
+        new MapBasedRow(DateTimes.of("2011-01-02"), ImmutableMap.of("dim", "\u00e9t\u00e9", "rows", 4L, "idx", 7L))
+    );
+
+    for (int maxRowsPerFrame : new int[]{1, 3, 4096}) {
+      final List<Row> decoded = roundTrip(rows, groupBySerde, maxRowsPerFrame);
+      Assert.assertEquals(rows, decoded);
+      Assert.assertEquals(4L, ((MapBasedRow) decoded.get(3)).getEvent().get("rows"));
+      Assert.assertEquals(7L, ((MapBasedRow) decoded.get(3)).getEvent().get("idx"));
+      Assert.assertTrue(((MapBasedRow) decoded.get(2)).getEvent().containsKey("dim"));
+      Assert.assertFalse(((MapBasedRow) decoded.get(2)).getEvent().containsKey("idx"));
+    }
+  }
+
+  @Test
+  public void testTimeseriesRoundTrip() throws IOException
+  {
+    final List<Result<TimeseriesResultValue>> results = ImmutableList.of(
+        new Result<>(
+            DateTimes.of("2011-01-01"),
+            new TimeseriesResultValue(ImmutableMap.of("rows", 13L, "idx", 6619.5d))
+        ),
+        new Result<>(
+            DateTimes.of("2011-01-02"),
+            new TimeseriesResultValue(ImmutableMap.of("rows", 13L, "idx", 5827.0d))
+        )
+    );
+
+    Assert.assertEquals(results, roundTrip(results, timeseriesSerde, 4096));
+  }
+
+  @Test
+  public void testTopNRoundTrip() throws IOException
+  {
+    final List<Result<TopNResultValue>> results = ImmutableList.of(
+        new Result<>(
+            DateTimes.of("2011-01-01"),
+            new TopNResultValue(
+                ImmutableList.of(
+                    ImmutableMap.of("market", "spot", "rows", 9L),
+                    ImmutableMap.of("market", "total_market", "rows", 2L),
+                    ImmutableMap.of("market", "upfront", "rows", 2L)
+                )
+            )
+        ),
+        new Result<>(DateTimes.of("2011-01-02"), new TopNResultValue(ImmutableList.of())),
+        new Result<>(
+            DateTimes.of("2011-01-03"),
+            new TopNResultValue(ImmutableList.of(ImmutableMap.of("market", "spot", "rows", 9L)))
+        )
+    );
+
+    for (int maxRowsPerFrame : new int[]{1, 2, 4096}) {
+      final List<Result<TopNResultValue>> decoded = roundTrip(results, topNSerde, maxRowsPerFrame);
+      Assert.assertEquals(results.size(), decoded.size());
+      for (int i = 0; i < results.size(); i++) {
+        Assert.assertEquals(results.get(i).getTimestamp(), decoded.get(i).getTimestamp());
+        Assert.assertEquals(results.get(i).getValue().getValue(), decoded.get(i).getValue().getValue());
+      }
+    }
+  }
+
+  @Test
+  public void testMixedTypes() throws IOException
+  {
+    final List<Row> rows = ImmutableList.of(
+        new MapBasedRow(DateTimes.of("2011-01-01"), ImmutableMap.of("x", 1L, "y", "a")),
+        new MapBasedRow(DateTimes.of("2011-01-01"), ImmutableMap.of("x", 1.5d, "y", ImmutableList.of("b", "c"))),
+        new MapBasedRow(DateTimes.of("2011-01-02"), ImmutableMap.of("x", 2.5f)),
+        new MapBasedRow(DateTimes.of("2011-01-02"), ImmutableMap.of("x", "d", "y", "e"))
+    );
+
+    for (int maxRowsPerFrame : new int[]{1, 2, 4096}) {
+      final List<Row> decoded = roundTrip(rows, groupBySerde, maxRowsPerFrame);
+      Assert.assertEquals(rows, decoded);
+      Assert.assertEquals(1L, ((MapBasedRow) decoded.get(0)).getEvent().get("x"));
+      Assert.assertEquals(2.5f, ((MapBasedRow) decoded.get(2)).getEvent().get("x"));
+    }
+  }
+
+  @Test
+  public void testFrameReader() throws IOException
+  {
+    final Map<String, Object> withNull = new HashMap<>();
+    withNull.put("dim", null);
+    withNull.put("rows", 3L);
+
+    final List<Row> rows = ImmutableList.of(
+        new MapBasedRow(DateTimes.of("2011-01-01"), ImmutableMap.of("dim", "a", "rows", 1L, "idx", 1.5d)),
+        new MapBasedRow(DateTimes.of("2011-01-02"), withNull)
+    );
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ColumnarResultFormat.write(Yielders.each(Sequences.simple(rows)), groupBySerde, SMILE_MAPPER, out);
+
+    try (ColumnarResultFormat.FrameReader reader = new ColumnarResultFormat.FrameReader(
+        new ByteArrayInputStream(out.toByteArray()),
+        SMILE_MAPPER
+    )) {
+      final ColumnarResultFormat.Frame frame = reader.readFrame();
+      Assert.assertNotNull(frame);
+      Assert.assertEquals(2, frame.getNumResults());
+      Assert.assertEquals(2, frame.getNumRows());
+      Assert.assertEquals(DateTimes.of("2011-01-02").getMillis(), frame.getTimestamp(1));
+
+      final List<ColumnarResultFormat.Column> columns = frame.getColumns();
+      Assert.assertEquals(3, columns.size());
+
+      Assert.assertEquals("dim", columns.get(0).getName());
+      Assert.assertEquals(ColumnarResultFormat.TYPE_STRING, columns.get(0).getType());
+      Assert.assertArrayEquals(new Object[]{"a", null}, columns.get(0).getObjects());
+      Assert.assertTrue(columns.get(0).contains(1));
+      Assert.assertFalse(columns.get(0).isPresent(1));
+
+      Assert.assertEquals("rows", columns.get(1).getName());
+      Assert.assertEquals(ColumnarResultFormat.TYPE_LONG, columns.get(1).getType());
+      Assert.assertArrayEquals(new long[]{1L, 3L}, columns.get(1).getLongs());
+      Assert.assertNull(columns.get(1).getObjects());
+
+      Assert.assertEquals("idx", columns.get(2).getName());
+      Assert.assertEquals(ColumnarResultFormat.TYPE_DOUBLE, columns.get(2).getType());
+      Assert.assertEquals(1.5d, columns.get(2).getDoubles()[0], 0d);
+      Assert.assertFalse(columns.get(2).contains(1));
+
+      Assert.assertNull(reader.readFrame());
+    }
+  }
+
+  @Test
+  public void testEmpty() throws IOException
+  {
+    Assert.assertEquals(ImmutableList.of(), roundTrip(ImmutableList.<Row>of(), groupBySerde, 4096));
+  }
+
+  @Test
+  public void testWriteYielder() throws IOException
+  {
+    final List<Row> rows = ImmutableList.of(
+        new MapBasedRow(DateTimes.of("2011-01-01"), ImmutableMap.of("dim", "a", "rows", 1L)),
+        new MapBasedRow(DateTimes.of("2011-01-02"), ImmutableMap.of("dim", "b", "rows", 2L))
+    );
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ColumnarResultFormat.write(Yielders.each(Sequences.simple(rows)), groupBySerde, SMILE_MAPPER, out);
+    Assert.assertEquals(ColumnarResultFormat.MAGIC, out.toByteArray()[0]);
+    Assert.assertEquals(rows, read(out.toByteArray(), groupBySerde));
+  }
+
+  @Test(expected = IAE.class)
+  public void testUnknownHeader() throws IOException
+  {
+    read(new byte[]{':', ')', '\n', 0}, groupBySerde);
+  }
+
+  private static <T> List<T> roundTrip(List<T> results, ColumnarResultSerde<T> serde, int maxRowsPerFrame)
+      throws IOException
+  {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (ColumnarResultFormat.Writer<T> writer = new ColumnarResultFormat.Writer<>(
+        serde,
+        SMILE_MAPPER,
+        out,
+        maxRowsPerFrame
+    )) {
+      for (T result : results) {
+        writer.add(result);
+      }
+    }
+    return read(out.toByteArray(), serde);
+  }
+
+  private static <T> List<T> read(byte[] bytes, ColumnarResultSerde<T> serde) throws IOException
+  {
+    final ColumnarResultFormat.Reader<T> reader = new ColumnarResultFormat.Reader<>(
+        new ByteArrayInputStream(bytes),
+        serde,
+        SMILE_MAPPER
+    );
+    final List<T> decoded = new ArrayList<>();
+    reader.forEachRemaining(decoded::add);
+    return decoded;
+  }
+}
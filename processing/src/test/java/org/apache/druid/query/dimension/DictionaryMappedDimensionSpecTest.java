@@ -0,0 +1,309 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.dimension;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableMap;
+import org.apache.druid.java.util.common.Intervals;
+import org.apache.druid.query.extraction.MapLookupExtractor;
+import org.apache.druid.query.extraction.RegexDimExtractionFn;
+import org.apache.druid.query.filter.ValueMatcher;
+import org.apache.druid.query.lookup.LookupExtractionFn;
+import org.apache.druid.query.monomorphicprocessing.RuntimeShapeInspector;
+import org.apache.druid.segment.AbstractDimensionSelector;
+import org.apache.druid.segment.DimensionSelector;
+import org.apache.druid.segment.DimensionSelectorUtils;
+import org.apache.druid.segment.IdLookup;
+import org.apache.druid.segment.StorageAdapter;
+import org.apache.druid.segment.VirtualColumns;
+import org.apache.druid.segment.column.ColumnCapabilitiesImpl;
+import org.apache.druid.segment.column.ValueType;
+import org.apache.druid.segment.data.ArrayBasedIndexedInts;
+import org.apache.druid.segment.data.IndexedInts;
+import org.easymock.EasyMock;
+import org.joda.time.Interval;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class DictionaryMappedDimensionSpecTest
+{
+  private static final DimensionSpec LOOKUP_SPEC = new ExtractionDimensionSpec(
+      "dim",
+      "out",
+      new LookupExtractionFn(
+          new MapLookupExtractor(ImmutableMap.of("a", "x", "c", "y", "d", "x"), false),
+          false,
+          null,
+          false,
+          false
+      )
+  );
+
+  private static final ColumnCapabilitiesImpl DICTIONARY_ENCODED_STRING = new ColumnCapabilitiesImpl()
+      .setType(ValueType.STRING)
+      .setDictionaryEncoded(true);
+
+  @Test
+  public void testMapIfPossible()
+  {
+    Assert.assertTrue(
+        DictionaryMappedDimensionSpec.mapIfPossible(
+            LOOKUP_SPEC,
+            VirtualColumns.EMPTY,
+            DICTIONARY_ENCODED_STRING,
+            4,
+            100
+        )
+        instanceof DictionaryMappedDimensionSpec
+    );
+
+    // Missing or numeric columns
+    Assert.assertSame(
+        LOOKUP_SPEC,
+        DictionaryMappedDimensionSpec.mapIfPossible(LOOKUP_SPEC, VirtualColumns.EMPTY, null, 4, 100)
+    );
+    Assert.assertSame(
+        LOOKUP_SPEC,
+        DictionaryMappedDimensionSpec.mapIfPossible(
+            LOOKUP_SPEC,
+            VirtualColumns.EMPTY,
+            new ColumnCapabilitiesImpl().setType(ValueType.LONG),
+            4,
+            100
+        )
+    );
+
+    // Dictionaries larger than the rows to scan, or of unknown cardinality
+    Assert.assertSame(
+        LOOKUP_SPEC,
+        DictionaryMappedDimensionSpec.mapIfPossible(
+            LOOKUP_SPEC,
+            VirtualColumns.EMPTY,
+            DICTIONARY_ENCODED_STRING,
+            101,
+            100
+        )
+    );
+    Assert.assertSame(
+        LOOKUP_SPEC,
+        DictionaryMappedDimensionSpec.mapIfPossible(
+            LOOKUP_SPEC,
+            VirtualColumns.EMPTY,
+            DICTIONARY_ENCODED_STRING,
+            DimensionSelector.CARDINALITY_UNKNOWN,
+            100
+        )
+    );
+
+    // Extraction functions that aren't cheap to apply to whole dictionaries
+    final DimensionSpec regexSpec = new ExtractionDimensionSpec(
+        "dim",
+        "out",
+        new RegexDimExtractionFn("(a).*", false, null)
+    );
+    Assert.assertSame(
+        regexSpec,
+        DictionaryMappedDimensionSpec.mapIfPossible(regexSpec, VirtualColumns.EMPTY, DICTIONARY_ENCODED_STRING, 4, 100)
+    );
+
+    final DimensionSpec defaultSpec = new DefaultDimensionSpec("dim", "out");
+    Assert.assertSame(
+        defaultSpec,
+        DictionaryMappedDimensionSpec.mapIfPossible(
+            defaultSpec,
+            VirtualColumns.EMPTY,
+            DICTIONARY_ENCODED_STRING,
+            4,
+            100
+        )
+    );
+  }
+
+  @Test
+  public void testDecorate()
+  {
+    final DimensionSpec spec = DictionaryMappedDimensionSpec.mapIfPossible(
+        LOOKUP_SPEC,
+        VirtualColumns.EMPTY,
+        DICTIONARY_ENCODED_STRING,
+        4,
+        100
+    );
+    Assert.assertEquals(LOOKUP_SPEC.getOutputName(), spec.getOutputName());
+    Assert.assertArrayEquals(LOOKUP_SPEC.getCacheKey(), spec.getCacheKey());
+    Assert.assertTrue(spec.mustDecorate());
+
+    // Names of the dictionary [a, b, c, d] after the lookup
+    final DimensionSelector selector = spec.decorate(new ExtractedDimensionSelector(new String[]{"x", null, "y", "x"}));
+
+    Assert.assertEquals(3, selector.getValueCardinality());
+    Assert.assertNull(selector.lookupName(0));
+    Assert.assertEquals("x", selector.lookupName(1));
+    Assert.assertEquals("y", selector.lookupName(2));
+
+    final IndexedInts row = selector.getRow();
+    Assert.assertEquals(4, row.size());
+    Assert.assertEquals(1, row.get(0));
+    Assert.assertEquals(0, row.get(1));
+    Assert.assertEquals(2, row.get(2));
+    Assert.assertEquals(1, row.get(3));
+
+    final IdLookup idLookup = selector.idLookup();
+    Assert.assertNotNull(idLookup);
+    Assert.assertEquals(0, idLookup.lookupId(null));
+    Assert.assertEquals(2, idLookup.lookupId("y"));
+    Assert.assertEquals(-3, idLookup.lookupId("xx"));
+
+    Assert.assertTrue(selector.makeValueMatcher("y").matches());
+    Assert.assertFalse(selector.makeValueMatcher("z").matches());
+  }
+
+  @Test
+  public void testDecorateSharesMapping()
+  {
+    final DimensionSpec spec = DictionaryMappedDimensionSpec.mapIfPossible(
+        LOOKUP_SPEC,
+        VirtualColumns.EMPTY,
+        DICTIONARY_ENCODED_STRING,
+        4,
+        100
+    );
+
+    final ExtractedDimensionSelector first = new ExtractedDimensionSelector(new String[]{"x", null, "y", "x"});
+    Assert.assertEquals(3, spec.decorate(first).getValueCardinality());
+    Assert.assertEquals(4, first.lookups);
+
+    // Selectors of next cursors of the same segment reuse the mapping
+    final ExtractedDimensionSelector second = new ExtractedDimensionSelector(new String[]{"x", null, "y", "x"});
+    final DimensionSelector decorated = spec.decorate(second);
+    Assert.assertEquals(3, decorated.getValueCardinality());
+    Assert.assertEquals("y", decorated.lookupName(2));
+    Assert.assertEquals(0, second.lookups);
+
+    // The mapping is built again if the dictionary has grown
+    final ExtractedDimensionSelector grown = new ExtractedDimensionSelector(new String[]{"x", null, "y", "x", "z"});
+    Assert.assertEquals(4, spec.decorate(grown).getValueCardinality());
+    Assert.assertEquals(5, grown.lookups);
+  }
+
+  @Test
+  public void testEstimateRowsToScan()
+  {
+    final StorageAdapter adapter = EasyMock.createMock(StorageAdapter.class);
+    EasyMock.expect(adapter.getInterval()).andReturn(Intervals.of("2000/2000-01-11")).anyTimes();
+    EasyMock.expect(adapter.getNumRows()).andReturn(1000).anyTimes();
+    EasyMock.replay(adapter);
+
+    final List<Interval> whole = Collections.singletonList(Intervals.ETERNITY);
+    final List<Interval> partial = Arrays.asList(Intervals.of("1999/2000-01-02"), Intervals.of("2000-01-10/2001"));
+
+    Assert.assertEquals(1000, DictionaryMappedDimensionSpec.estimateRowsToScan(adapter, whole, false), 0.001);
+    Assert.assertEquals(200, DictionaryMappedDimensionSpec.estimateRowsToScan(adapter, partial, false), 0.001);
+    Assert.assertEquals(20, DictionaryMappedDimensionSpec.estimateRowsToScan(adapter, partial, true), 0.001);
+    Assert.assertEquals(
+        0,
+        DictionaryMappedDimensionSpec.estimateRowsToScan(
+            adapter,
+            Collections.singletonList(Intervals.of("2001/2002")),
+            false
+        ),
+        0.001
+    );
+  }
+
+  /**
+   * Selector of a dictionary whose names were already extracted, with a single row containing every id.
+   */
+  private static class ExtractedDimensionSelector extends AbstractDimensionSelector
+  {
+    private final String[] names;
+    private int lookups = 0;
+
+    private ExtractedDimensionSelector(String[] names)
+    {
+      this.names = names;
+    }
+
+    @Override
+    public IndexedInts getRow()
+    {
+      final int[] row = new int[names.length];
+      for (int i = 0; i < row.length; i++) {
+        row[i] = i;
+      }
+      return new ArrayBasedIndexedInts(row);
+    }
+
+    @Override
+    public ValueMatcher makeValueMatcher(@Nullable String value)
+    {
+      return DimensionSelectorUtils.makeValueMatcherGeneric(this, value);
+    }
+
+    @Override
+    public ValueMatcher makeValueMatcher(Predicate<String> predicate)
+    {
+      return DimensionSelectorUtils.makeValueMatcherGeneric(this, predicate);
+    }
+
+    @Override
+    public int getValueCardinality()
+    {
+      return names.length;
+    }
+
+    @Nullable
+    @Override
+    public String lookupName(int id)
+    {
+      lookups++;
+      return names[id];
+    }
+
+    @Override
+    public boolean nameLookupPossibleInAdvance()
+    {
+      return true;
+    }
+
+    @Nullable
+    @Override
+    public IdLookup idLookup()
+    {
+      return null;
+    }
+
+    @Override
+    public Class classOfObject()
+    {
+      return Object.class;
+    }
+
+    @Override
+    public void inspectRuntimeShape(RuntimeShapeInspector inspector)
+    {
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.filter.vector;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class VectorMatchTest
+{
+  private static final int VECTOR_SIZE = 10;
+
+  @Test
+  public void testAllTrueAndAllFalse()
+  {
+    final VectorMatch match = VectorMatch.allTrue(VECTOR_SIZE);
+    Assert.assertTrue(match.isAllTrue(VECTOR_SIZE));
+    Assert.assertFalse(match.isAllFalse());
+    assertSelection(new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, match);
+
+    Assert.assertTrue(VectorMatch.allFalse().isAllFalse());
+    Assert.assertFalse(VectorMatch.allFalse().isAllTrue(VECTOR_SIZE));
+    Assert.assertTrue(match.setSelectionSize(0).isAllFalse());
+  }
+
+  @Test
+  public void testRemoveAll()
+  {
+    final VectorMatch match = makeMatch(1, 2, 4, 7, 9);
+    match.removeAll(makeMatch(0, 2, 3, 7, 8, 9));
+    assertSelection(new int[]{1, 4}, match);
+
+    match.removeAll(VectorMatch.allFalse());
+    assertSelection(new int[]{1, 4}, match);
+
+    match.removeAll(VectorMatch.allTrue(VECTOR_SIZE));
+    assertSelection(new int[]{}, match);
+  }
+
+  @Test
+  public void testAddAll()
+  {
+    final VectorMatch scratch = VectorMatch.wrap(new int[VECTOR_SIZE]);
+    final VectorMatch match = makeMatch(1, 4, 7);
+    match.addAll(makeMatch(0, 4, 5, 9), scratch);
+    assertSelection(new int[]{0, 1, 4, 5, 7, 9}, match);
+
+    match.addAll(VectorMatch.allFalse(), scratch);
+    assertSelection(new int[]{0, 1, 4, 5, 7, 9}, match);
+
+    match.addAll(VectorMatch.allTrue(VECTOR_SIZE), scratch);
+    Assert.assertTrue(match.isAllTrue(VECTOR_SIZE));
+  }
+
+  @Test
+  public void testCopyFrom()
+  {
+    final VectorMatch match = VectorMatch.wrap(new int[VECTOR_SIZE]);
+    match.copyFrom(makeMatch(3, 6));
+    assertSelection(new int[]{3, 6}, match);
+  }
+
+  private static VectorMatch makeMatch(final int... rows)
+  {
+    final VectorMatch match = VectorMatch.wrap(new int[VECTOR_SIZE]);
+    System.arraycopy(rows, 0, match.getSelection(), 0, rows.length);
+    return match.setSelectionSize(rows.length);
+  }
+
+  private static void assertSelection(final int[] expected, final ReadableVectorMatch match)
+  {
+    Assert.assertArrayEquals(
+        expected,
+        Arrays.copyOf(match.getSelection(), match.getSelectionSize())
+    );
+  }
+}
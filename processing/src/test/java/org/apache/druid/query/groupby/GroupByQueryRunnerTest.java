@@ -679,6 +679,41 @@ public class GroupByQueryRunnerTest
         .build();
   }
 
+  @Test
+  public void testGroupByMultipleDimensionsArrayAndHashAggregation()
+  {
+    GroupByQuery.Builder builder = GroupByQuery
+        .builder()
+        .setDataSource(QueryRunnerTestHelper.dataSource)
+        .setQuerySegmentSpec(QueryRunnerTestHelper.firstToThird)
+        .setDimensions(
+            new DefaultDimensionSpec("market", "market"),
+            new DefaultDimensionSpec("quality", "alias"),
+            new DefaultDimensionSpec("placement", "placement")
+        )
+        .setAggregatorSpecs(QueryRunnerTestHelper.rowsCount, new LongSumAggregatorFactory("idx", "index"))
+        .setGranularity(QueryRunnerTestHelper.dayGran);
+
+    List<Row> hashResults = Lists.newArrayList(
+        GroupByQueryRunnerTestHelper.runQuery(
+            factory,
+            runner,
+            builder.setContext(ImmutableMap.of("forceHashAggregation", true)).build()
+        )
+    );
+    List<Row> results = Lists.newArrayList(
+        GroupByQueryRunnerTestHelper.runQuery(
+            factory,
+            runner,
+            builder.setContext(ImmutableMap.of("forceHashAggregation", false)).build()
+        )
+    );
+
+    // 13 market/quality combinations on each of 2 days
+    Assert.assertEquals(26, hashResults.size());
+    TestHelper.assertExpectedObjects(hashResults, results, "");
+  }
+
   @Test
   public void testGroupByWithSortDimsFirst()
   {
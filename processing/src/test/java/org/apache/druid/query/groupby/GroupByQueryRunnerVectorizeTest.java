@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.groupby;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.apache.druid.data.input.Row;
+import org.apache.druid.java.util.common.ISE;
+import org.apache.druid.java.util.common.Pair;
+import org.apache.druid.java.util.common.granularity.Granularities;
+import org.apache.druid.java.util.common.granularity.Granularity;
+import org.apache.druid.java.util.common.io.Closer;
+import org.apache.druid.query.QueryContexts;
+import org.apache.druid.query.QueryRunner;
+import org.apache.druid.query.QueryRunnerTestHelper;
+import org.apache.druid.query.aggregation.CountAggregatorFactory;
+import org.apache.druid.query.aggregation.DoubleSumAggregatorFactory;
+import org.apache.druid.query.aggregation.FloatMaxAggregatorFactory;
+import org.apache.druid.query.aggregation.LongSumAggregatorFactory;
+import org.apache.druid.query.dimension.DefaultDimensionSpec;
+import org.apache.druid.query.dimension.DimensionSpec;
+import org.apache.druid.query.dimension.ExtractionDimensionSpec;
+import org.apache.druid.query.extraction.StrlenExtractionFn;
+import org.apache.druid.query.filter.SelectorDimFilter;
+import org.apache.druid.query.groupby.strategy.GroupByStrategySelector;
+import org.apache.druid.segment.QueryableIndexSegment;
+import org.apache.druid.segment.TestHelper;
+import org.apache.druid.segment.TestIndex;
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the same groupBy v2 queries with and without vectorization and checks that the results match.
+ */
+@RunWith(Parameterized.class)
+public class GroupByQueryRunnerVectorizeTest
+{
+  private static final Closer resourceCloser = Closer.create();
+
+  private static final GroupByQueryConfig V2_CONFIG = new GroupByQueryConfig()
+  {
+    @Override
+    public String getDefaultStrategy()
+    {
+      return GroupByStrategySelector.STRATEGY_V2;
+    }
+  };
+
+  @Parameterized.Parameters(name = "{0}, {2}, {3}")
+  public static Iterable<Object[]> constructorFeeder()
+  {
+    final Pair<GroupByQueryRunnerFactory, Closer> factoryAndCloser =
+        GroupByQueryRunnerTest.makeQueryRunnerFactory(V2_CONFIG);
+    resourceCloser.register(factoryAndCloser.rhs);
+    final GroupByQueryRunnerFactory factory = factoryAndCloser.lhs;
+
+    return QueryRunnerTestHelper.cartesian(
+        ImmutableList.of(
+            QueryRunnerTestHelper.makeQueryRunner(
+                factory,
+                new QueryableIndexSegment(QueryRunnerTestHelper.segmentId, TestIndex.getMMappedTestIndex()),
+                "mMappedTestIndex"
+            ),
+            QueryRunnerTestHelper.makeQueryRunner(
+                factory,
+                new QueryableIndexSegment(QueryRunnerTestHelper.segmentId, TestIndex.getNoRollupMMappedTestIndex()),
+                "noRollupMMappedTestIndex"
+            )
+        ),
+        ImmutableList.of(factory),
+        Arrays.asList(Granularities.ALL, Granularities.DAY),
+        Arrays.asList(
+            ImmutableList.of(),
+            ImmutableList.of("market"),
+            ImmutableList.of("market", "quality"),
+            ImmutableList.of("quality", "qualityLong"),
+            ImmutableList.of("partial_null_column", "nonexistent")
+        )
+    );
+  }
+
+  @AfterClass
+  public static void teardown() throws IOException
+  {
+    resourceCloser.close();
+  }
+
+  private final GroupByQueryRunnerFactory factory;
+  private final QueryRunner<Row> runner;
+  private final Granularity granularity;
+  private final List<DimensionSpec> dimensions;
+
+  public GroupByQueryRunnerVectorizeTest(
+      QueryRunner<Row> runner,
+      GroupByQueryRunnerFactory factory,
+      Granularity granularity,
+      List<String> dimensions
+  )
+  {
+    this.factory = factory;
+    this.runner = factory.mergeRunners(MoreExecutors.sameThreadExecutor(), ImmutableList.of(runner));
+    this.granularity = granularity;
+    this.dimensions = new ArrayList<>();
+    for (String dimension : dimensions) {
+      this.dimensions.add(new DefaultDimensionSpec(dimension, dimension));
+    }
+  }
+
+  @Test
+  public void testVectorizedMatchesNonVectorized()
+  {
+    for (int vectorSize : new int[]{1, 7, QueryContexts.DEFAULT_VECTOR_SIZE}) {
+      TestHelper.assertExpectedObjects(
+          runQuery(makeQuery(null, "false", vectorSize)),
+          runQuery(makeQuery(null, "force", vectorSize)),
+          "vectorSize " + vectorSize
+      );
+    }
+  }
+
+  @Test
+  public void testVectorizedMatchesNonVectorizedWithFilter()
+  {
+    final SelectorDimFilter filter = new SelectorDimFilter("market", "spot", null);
+    TestHelper.assertExpectedObjects(
+        runQuery(makeQuery(filter, "false", QueryContexts.DEFAULT_VECTOR_SIZE)),
+        runQuery(makeQuery(filter, "force", QueryContexts.DEFAULT_VECTOR_SIZE)),
+        "filtered"
+    );
+  }
+
+  @Test(expected = ISE.class)
+  public void testForceVectorizeWithExtractionFn()
+  {
+    final GroupByQuery query = makeQuery(null, "force", QueryContexts.DEFAULT_VECTOR_SIZE).withDimensionSpecs(
+        ImmutableList.of(new ExtractionDimensionSpec("market", "market", StrlenExtractionFn.instance()))
+    );
+    runQuery(query);
+  }
+
+  private GroupByQuery makeQuery(final SelectorDimFilter filter, final String vectorize, final int vectorSize)
+  {
+    return GroupByQuery
+        .builder()
+        .setDataSource(QueryRunnerTestHelper.dataSource)
+        .setInterval(QueryRunnerTestHelper.fullOnInterval)
+        .setGranularity(granularity)
+        .setDimensions(dimensions)
+        .setDimFilter(filter)
+        .setAggregatorSpecs(
+            new CountAggregatorFactory("rows"),
+            new DoubleSumAggregatorFactory("index", "index"),
+            new FloatMaxAggregatorFactory("indexMaxFloat", "indexMaxFloat"),
+            new LongSumAggregatorFactory("qualityLongSum", "qualityLong")
+        )
+        .setContext(
+            ImmutableMap.of(
+                QueryContexts.VECTORIZE_KEY, vectorize,
+                QueryContexts.VECTOR_SIZE_KEY, vectorSize
+            )
+        )
+        .build();
+  }
+
+  private Iterable<Row> runQuery(final GroupByQuery query)
+  {
+    return GroupByQueryRunnerTestHelper.runQuery(factory, runner, query);
+  }
+}
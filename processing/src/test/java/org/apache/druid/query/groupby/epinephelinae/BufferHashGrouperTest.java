@@ -191,6 +191,42 @@ public class BufferHashGrouperTest
     Assert.assertEquals(expected, Lists.newArrayList(grouper.iterator(true)));
   }
 
+  @Test
+  public void testGrowInto()
+  {
+    final TestColumnSelectorFactory columnSelectorFactory = GrouperTestUtil.newColumnSelectorFactory();
+    final BufferHashGrouper<Integer> grouper = makeGrouper(columnSelectorFactory, 10000, 2);
+    final int expectedMaxSize = NullHandling.replaceWithDefault() ? 219 : 210;
+    final int numKeys = expectedMaxSize + 100;
+
+    columnSelectorFactory.setRow(new MapBasedRow(0, ImmutableMap.of("value", 10L)));
+    for (int i = 0; i < expectedMaxSize; i++) {
+      Assert.assertTrue(String.valueOf(i), grouper.aggregate(i).isOk());
+    }
+    Assert.assertFalse(grouper.aggregate(expectedMaxSize).isOk());
+    Assert.assertTrue(grouper.canGrow());
+
+    grouper.growInto(ByteBuffer.allocate(20000));
+    Assert.assertEquals(20000, grouper.getBufferCapacity());
+
+    for (int i = expectedMaxSize; i < numKeys; i++) {
+      Assert.assertTrue(String.valueOf(i), grouper.aggregate(i).isOk());
+    }
+
+    // Aggregate slightly different row, into both the moved and the new entries
+    columnSelectorFactory.setRow(new MapBasedRow(0, ImmutableMap.of("value", 11L)));
+    for (int i = 0; i < numKeys; i++) {
+      Assert.assertTrue(String.valueOf(i), grouper.aggregate(i).isOk());
+    }
+
+    final List<Grouper.Entry<Integer>> expected = Lists.newArrayList();
+    for (int i = 0; i < numKeys; i++) {
+      expected.add(new Grouper.Entry<>(i, new Object[]{21L, 2L}));
+    }
+
+    Assert.assertEquals(expected, Lists.newArrayList(grouper.iterator(true)));
+  }
+
   private BufferHashGrouper<Integer> makeGrouper(
       TestColumnSelectorFactory columnSelectorFactory,
       int bufferSize,
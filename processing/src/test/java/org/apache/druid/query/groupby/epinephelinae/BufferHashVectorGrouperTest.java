@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.groupby.epinephelinae;
+
+import com.google.common.base.Suppliers;
+import org.apache.druid.query.aggregation.AggregatorFactory;
+import org.apache.druid.query.aggregation.CountAggregatorFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+public class BufferHashVectorGrouperTest
+{
+  private static final int MAX_VECTOR_SIZE = 64;
+
+  @Test
+  public void testSimple()
+  {
+    final VectorGrouper grouper = makeGrouper(1000, Integer.MAX_VALUE);
+    final ByteBuffer keySpace = makeKeySpace(new int[]{12, 6, 10, 6, 12, 12});
+
+    Assert.assertTrue(grouper.aggregateVector(keySpace, 0, 6).isOk());
+    // Aggregate part of the same vector a second time.
+    Assert.assertTrue(grouper.aggregateVector(keySpace, 3, 6).isOk());
+
+    final Map<Integer, Long> expected = new HashMap<>();
+    expected.put(6, 3L);
+    expected.put(10, 1L);
+    expected.put(12, 5L);
+    Assert.assertEquals(expected, collect(grouper));
+
+    grouper.reset();
+    Assert.assertEquals(new HashMap<>(), collect(grouper));
+    grouper.close();
+  }
+
+  @Test
+  public void testGrowingWithinVector()
+  {
+    // Small initial table, so it has to grow while assigning buckets for a single vector.
+    final VectorGrouper grouper = makeGrouper(10000, Integer.MAX_VALUE);
+    final int[] keys = new int[MAX_VECTOR_SIZE];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = i % 40;
+    }
+    final ByteBuffer keySpace = makeKeySpace(keys);
+
+    Assert.assertTrue(grouper.aggregateVector(keySpace, 0, keys.length).isOk());
+
+    final Map<Integer, Long> actual = collect(grouper);
+    Assert.assertEquals(40, actual.size());
+    for (int i = 0; i < 40; i++) {
+      Assert.assertEquals(String.valueOf(i), i < keys.length - 40 ? 2L : 1L, (long) actual.get(i));
+    }
+    grouper.close();
+  }
+
+  @Test
+  public void testPartialAggregation()
+  {
+    final VectorGrouper grouper = makeGrouper(10000, 3);
+    final ByteBuffer keySpace = makeKeySpace(new int[]{1, 2, 1, 3, 4, 5, 4});
+
+    final AggregateResult result = grouper.aggregateVector(keySpace, 0, 7);
+    Assert.assertFalse(result.isOk());
+    Assert.assertEquals(4, result.getCount());
+
+    final Map<Integer, Long> expectedFirst = new HashMap<>();
+    expectedFirst.put(1, 2L);
+    expectedFirst.put(2, 1L);
+    expectedFirst.put(3, 1L);
+    Assert.assertEquals(expectedFirst, collect(grouper));
+
+    grouper.reset();
+    Assert.assertTrue(grouper.aggregateVector(keySpace, 4, 7).isOk());
+
+    final Map<Integer, Long> expectedSecond = new HashMap<>();
+    expectedSecond.put(4, 2L);
+    expectedSecond.put(5, 1L);
+    Assert.assertEquals(expectedSecond, collect(grouper));
+    grouper.close();
+  }
+
+  private static VectorGrouper makeGrouper(final int bufferSize, final int bufferGrouperMaxSize)
+  {
+    // CountAggregatorFactory does not read any columns, so no selector factory is needed.
+    final VectorGrouper grouper = new BufferHashVectorGrouper(
+        Suppliers.ofInstance(ByteBuffer.allocate(bufferSize)),
+        Integer.BYTES,
+        null,
+        new AggregatorFactory[]{new CountAggregatorFactory("count")},
+        bufferGrouperMaxSize,
+        0,
+        4
+    );
+    grouper.initVectorized(MAX_VECTOR_SIZE);
+    return grouper;
+  }
+
+  private static ByteBuffer makeKeySpace(final int[] keys)
+  {
+    final ByteBuffer keySpace = ByteBuffer.allocate(MAX_VECTOR_SIZE * Integer.BYTES);
+    for (int i = 0; i < keys.length; i++) {
+      keySpace.putInt(i * Integer.BYTES, keys[i]);
+    }
+    return keySpace;
+  }
+
+  private static Map<Integer, Long> collect(final VectorGrouper grouper)
+  {
+    final Map<Integer, Long> retVal = new HashMap<>();
+    grouper.iterator().forEachRemaining(
+        entry -> retVal.put(entry.getKey().getInt(0), (Long) entry.getValues()[0])
+    );
+    return retVal;
+  }
+}
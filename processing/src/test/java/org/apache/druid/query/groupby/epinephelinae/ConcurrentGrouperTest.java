@@ -47,6 +47,8 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
@@ -129,7 +131,8 @@ public class ConcurrentGrouperTest
         false,
         0,
         4,
-        8
+        8,
+        null
     );
     grouper.init();
 
@@ -235,6 +238,18 @@ public class ConcurrentGrouperTest
           return buffer.getLong(position);
         }
 
+        @Override
+        public void writeSpilledKey(Long key, DataOutput out) throws IOException
+        {
+          out.writeLong(key);
+        }
+
+        @Override
+        public Long readSpilledKey(DataInput in) throws IOException
+        {
+          return in.readLong();
+        }
+
         @Override
         public BufferComparator bufferComparator()
         {
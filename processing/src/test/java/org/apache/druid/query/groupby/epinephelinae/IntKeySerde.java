@@ -23,6 +23,9 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.Ints;
 import org.apache.druid.query.aggregation.AggregatorFactory;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.List;
 
@@ -78,6 +81,18 @@ public class IntKeySerde implements Grouper.KeySerde<Integer>
     return buffer.getInt(position);
   }
 
+  @Override
+  public void writeSpilledKey(Integer key, DataOutput out) throws IOException
+  {
+    out.writeInt(key);
+  }
+
+  @Override
+  public Integer readSpilledKey(DataInput in) throws IOException
+  {
+    return in.readInt();
+  }
+
   @Override
   public Grouper.BufferComparator bufferComparator()
   {
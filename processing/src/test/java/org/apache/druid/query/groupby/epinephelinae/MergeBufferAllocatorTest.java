@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.groupby.epinephelinae;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class MergeBufferAllocatorTest
+{
+  @Test
+  public void testDisabled()
+  {
+    final MergeBufferAllocator allocator = new MergeBufferAllocator(0);
+    Assert.assertNull(allocator.forQuery("q", Long.MAX_VALUE).allocate(100));
+    Assert.assertEquals(0, allocator.getNumRejections());
+  }
+
+  @Test
+  public void testTotalLimit()
+  {
+    final MergeBufferAllocator allocator = new MergeBufferAllocator(300);
+    final MergeBufferAllocator.QueryAllocator query1 = allocator.forQuery("q1", Long.MAX_VALUE);
+    final MergeBufferAllocator.QueryAllocator query2 = allocator.forQuery("q2", Long.MAX_VALUE);
+
+    final ByteBuffer buffer1 = query1.allocate(200);
+    Assert.assertNotNull(buffer1);
+    Assert.assertTrue(buffer1.isDirect());
+    Assert.assertEquals(200, buffer1.capacity());
+    Assert.assertNull(query2.allocate(200));
+    Assert.assertEquals(200, allocator.getUsedBytes());
+
+    query1.free(buffer1);
+    Assert.assertEquals(0, allocator.getUsedBytes());
+    Assert.assertEquals(0, query1.getUsedBytes());
+    Assert.assertEquals(200, query1.getPeakBytes());
+
+    final ByteBuffer buffer2 = query2.allocate(200);
+    Assert.assertNotNull(buffer2);
+    query2.free(buffer2);
+
+    Assert.assertEquals(2, allocator.getNumAllocations());
+    Assert.assertEquals(1, allocator.getNumRejections());
+  }
+
+  @Test
+  public void testQueryLimit()
+  {
+    final MergeBufferAllocator allocator = new MergeBufferAllocator(1000);
+    final MergeBufferAllocator.QueryAllocator query = allocator.forQuery("q", 300);
+
+    final ByteBuffer buffer1 = query.allocate(200);
+    Assert.assertNotNull(buffer1);
+    Assert.assertNull(query.allocate(200));
+    Assert.assertEquals(200, query.getUsedBytes());
+
+    final ByteBuffer buffer2 = query.allocate(100);
+    Assert.assertNotNull(buffer2);
+    Assert.assertEquals(300, allocator.getUsedBytes());
+
+    query.free(buffer1);
+    query.free(buffer2);
+    Assert.assertEquals(0, allocator.getUsedBytes());
+    Assert.assertEquals(300, query.getPeakBytes());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFreeForeignBuffer()
+  {
+    final MergeBufferAllocator allocator = new MergeBufferAllocator(1000);
+    final ByteBuffer buffer = allocator.forQuery("q1", Long.MAX_VALUE).allocate(100);
+    allocator.forQuery("q2", Long.MAX_VALUE).free(buffer);
+  }
+}
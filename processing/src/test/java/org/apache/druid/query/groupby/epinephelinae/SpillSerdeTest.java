@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.groupby.epinephelinae;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.apache.druid.jackson.DefaultObjectMapper;
+import org.apache.druid.java.util.common.parsers.CloseableIterator;
+import org.apache.druid.query.aggregation.AggregatorFactory;
+import org.apache.druid.query.aggregation.CountAggregatorFactory;
+import org.apache.druid.query.aggregation.DoubleSumAggregatorFactory;
+import org.apache.druid.query.aggregation.FloatSumAggregatorFactory;
+import org.apache.druid.query.aggregation.LongSumAggregatorFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+public class SpillSerdeTest
+{
+  @Test
+  public void testEntries() throws IOException
+  {
+    final SpillSerde<Integer> serde = new SpillSerde<>(
+        IntKeySerde.INSTANCE,
+        new AggregatorFactory[]{
+            new LongSumAggregatorFactory("longSum", "value"),
+            new FloatSumAggregatorFactory("floatSum", "value"),
+            new DoubleSumAggregatorFactory("doubleSum", "value"),
+            new CountAggregatorFactory("complex")
+        },
+        new DefaultObjectMapper()
+    );
+
+    final List<Grouper.Entry<Integer>> entries = ImmutableList.of(
+        new Grouper.Entry<>(1, new Object[]{10L, 1.5f, 2.5d, ImmutableList.of("a", "b")}),
+        new Grouper.Entry<>(2, new Object[]{null, null, null, null}),
+        new Grouper.Entry<>(3, new Object[]{Long.MAX_VALUE, Float.NaN, -0.0d, "c"})
+    );
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    serde.writeEntries(entries.iterator(), out);
+
+    try (CloseableIterator<Grouper.Entry<Integer>> iterator = serde.readEntries(
+        new ByteArrayInputStream(out.toByteArray())
+    )) {
+      final List<Grouper.Entry<Integer>> readEntries = Lists.newArrayList(iterator);
+      Assert.assertEquals(entries.size(), readEntries.size());
+      for (int i = 0; i < entries.size(); i++) {
+        Assert.assertEquals(entries.get(i).getKey(), readEntries.get(i).getKey());
+        Assert.assertArrayEquals(entries.get(i).getValues(), readEntries.get(i).getValues());
+      }
+    }
+  }
+
+  @Test
+  public void testEmptyEntries() throws IOException
+  {
+    final SpillSerde<Integer> serde = new SpillSerde<>(
+        IntKeySerde.INSTANCE,
+        new AggregatorFactory[]{new CountAggregatorFactory("count")},
+        new DefaultObjectMapper()
+    );
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    serde.writeEntries(ImmutableList.<Grouper.Entry<Integer>>of().iterator(), out);
+
+    try (CloseableIterator<Grouper.Entry<Integer>> iterator = serde.readEntries(
+        new ByteArrayInputStream(out.toByteArray())
+    )) {
+      Assert.assertFalse(iterator.hasNext());
+    }
+  }
+
+  @Test
+  public void testStrings() throws IOException
+  {
+    final List<String> strings = ImmutableList.of("", "foo", "été", "😀");
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    SpillSerde.writeStrings(strings.iterator(), out);
+
+    try (CloseableIterator<String> iterator = SpillSerde.readStrings(new ByteArrayInputStream(out.toByteArray()))) {
+      Assert.assertEquals(strings, Lists.newArrayList(iterator));
+    }
+  }
+
+  @Test
+  public void testValues() throws IOException
+  {
+    final List<Object> values = Arrays.asList(null, 1L, 2.5f, 3.5d, "foo", "");
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final DataOutputStream dataOut = new DataOutputStream(out);
+    for (Object value : values) {
+      SpillSerde.writeValue(dataOut, value);
+    }
+
+    final DataInputStream dataIn = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+    for (Object value : values) {
+      Assert.assertEquals(value, SpillSerde.readValue(dataIn));
+    }
+  }
+}
@@ -22,6 +22,7 @@ package org.apache.druid.query.scan;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.io.CharSource;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
@@ -30,7 +31,10 @@ import org.apache.druid.java.util.common.granularity.Granularities;
 import org.apache.druid.java.util.common.guava.MergeSequence;
 import org.apache.druid.java.util.common.guava.Sequence;
 import org.apache.druid.java.util.common.guava.Sequences;
+import org.apache.druid.java.util.common.guava.Yielder;
+import org.apache.druid.java.util.common.guava.Yielders;
 import org.apache.druid.query.DefaultGenericQueryMetricsFactory;
+import org.apache.druid.query.QueryInterruptedException;
 import org.apache.druid.query.QueryPlus;
 import org.apache.druid.query.QueryRunner;
 import org.apache.druid.query.QueryRunnerFactory;
@@ -40,6 +44,7 @@ import org.apache.druid.query.select.SelectQueryRunnerTest;
 import org.apache.druid.segment.IncrementalIndexSegment;
 import org.apache.druid.segment.Segment;
 import org.apache.druid.segment.TestIndex;
+import org.apache.druid.segment.column.ColumnHolder;
 import org.apache.druid.segment.incremental.IncrementalIndex;
 import org.apache.druid.segment.incremental.IncrementalIndexSchema;
 import org.apache.druid.timeline.DataSegment;
@@ -58,6 +63,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  */
@@ -71,7 +77,8 @@ public class MultiSegmentScanQueryTest
 
   private static final QueryRunnerFactory<ScanResultValue, ScanQuery> factory = new ScanQueryRunnerFactory(
       toolChest,
-      new ScanQueryEngine()
+      new ScanQueryEngine(),
+      QueryRunnerTestHelper.NOOP_QUERYWATCHER
   );
 
   // time modified version of druid.sample.numeric.tsv
@@ -211,6 +218,36 @@ public class MultiSegmentScanQueryTest
     );
   }
 
+  @Test(expected = QueryInterruptedException.class)
+  public void testMergeRunnersSkipsSegmentsAfterCancel() throws Exception
+  {
+    final AtomicReference<ListenableFuture> runningFuture = new AtomicReference<>();
+    final ScanQueryRunnerFactory cancellableFactory = new ScanQueryRunnerFactory(
+        toolChest,
+        new ScanQueryEngine(),
+        (query, future) -> runningFuture.set(future)
+    );
+    ScanQuery query = newBuilder().build();
+    Yielder<ScanResultValue> yielder = Yielders.each(
+        cancellableFactory
+            .mergeRunners(
+                MoreExecutors.sameThreadExecutor(),
+                ImmutableList.of(cancellableFactory.createRunner(segment0), cancellableFactory.createRunner(segment1))
+            )
+            .run(QueryPlus.wrap(query), new HashMap<>())
+    );
+    Assert.assertNotNull(runningFuture.get());
+    runningFuture.get().cancel(true);
+    try {
+      while (!yielder.isDone()) {
+        yielder = yielder.next(null);
+      }
+    }
+    finally {
+      yielder.close();
+    }
+  }
+
   @Test
   public void testMergeResultsWithLimit()
   {
@@ -244,4 +281,66 @@ public class MultiSegmentScanQueryTest
         limit != 0 ? Math.min(limit, V_0112.length + V_0113.length) : V_0112.length + V_0113.length
     );
   }
+
+  @Test
+  public void testMergeResultsTimeOrdered()
+  {
+    testMergeResultsTimeOrdered(ScanQuery.Order.ASCENDING);
+    testMergeResultsTimeOrdered(ScanQuery.Order.DESCENDING);
+  }
+
+  private void testMergeResultsTimeOrdered(ScanQuery.Order order)
+  {
+    QueryRunner<ScanResultValue> runner = toolChest.mergeResults(
+        (queryPlus, responseContext) -> {
+          // simulate results back from 2 historicals, both serving both segments, so that their rows interleave
+          List<Sequence<ScanResultValue>> sequences = Lists.newArrayListWithExpectedSize(2);
+          sequences.add(
+              factory.mergeRunners(
+                  MoreExecutors.sameThreadExecutor(),
+                  ImmutableList.of(factory.createRunner(segment0), factory.createRunner(segment1))
+              ).run(queryPlus, new HashMap<>())
+          );
+          sequences.add(
+              factory.mergeRunners(
+                  MoreExecutors.sameThreadExecutor(),
+                  ImmutableList.of(factory.createRunner(segment1), factory.createRunner(segment0))
+              ).run(queryPlus, new HashMap<>())
+          );
+          return new MergeSequence<>(
+              queryPlus.getQuery().getResultOrdering(),
+              Sequences.simple(sequences)
+          );
+        }
+    );
+    ScanQuery query = newBuilder().order(order).build();
+    List<ScanResultValue> results = runner.run(QueryPlus.wrap(query), new HashMap<>()).toList();
+
+    final int numRows = 2 * (V_0112.length + V_0113.length);
+    int totalCount = 0;
+    long lastTimestamp = order == ScanQuery.Order.ASCENDING ? Long.MIN_VALUE : Long.MAX_VALUE;
+    for (ScanResultValue result : results) {
+      List<Map<String, Object>> events = (List<Map<String, Object>>) result.getEvents();
+      Assert.assertTrue(events.size() <= query.getBatchSize());
+      for (Map<String, Object> event : events) {
+        long timestamp = (long) event.get(ColumnHolder.TIME_COLUMN_NAME);
+        if (order == ScanQuery.Order.ASCENDING) {
+          Assert.assertTrue(timestamp >= lastTimestamp);
+        } else {
+          Assert.assertTrue(timestamp <= lastTimestamp);
+        }
+        lastTimestamp = timestamp;
+      }
+      totalCount += events.size();
+    }
+    Assert.assertEquals(limit != 0 ? Math.min(limit, numRows) : numRows, totalCount);
+    if (totalCount > 0) {
+      Assert.assertEquals(
+          order == ScanQuery.Order.ASCENDING
+          ? DateTimes.of("2011-01-12T00:00:00.000Z").getMillis()
+          : DateTimes.of("2011-01-13T12:00:00.000Z").getMillis(),
+          results.get(0).getFirstEventTimestamp()
+      );
+    }
+  }
 }
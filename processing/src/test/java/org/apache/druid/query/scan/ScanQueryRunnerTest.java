@@ -121,7 +121,8 @@ public class ScanQueryRunnerTest
         QueryRunnerTestHelper.makeQueryRunners(
             new ScanQueryRunnerFactory(
                 toolChest,
-                new ScanQueryEngine()
+                new ScanQueryEngine(),
+                QueryRunnerTestHelper.NOOP_QUERYWATCHER
             )
         ),
         ImmutableList.of(false, true)
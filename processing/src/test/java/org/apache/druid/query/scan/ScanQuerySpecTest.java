@@ -53,6 +53,7 @@ public class ScanQuerySpecTest
         + "\"resultFormat\":\"list\","
         + "\"batchSize\":20480,"
         + "\"limit\":3,"
+        + "\"order\":\"none\","
         + "\"filter\":null,"
         + "\"columns\":[\"market\",\"quality\",\"index\"],"
         + "\"legacy\":null,"
@@ -68,6 +69,7 @@ public class ScanQuerySpecTest
         0,
         3,
         null,
+        null,
         Arrays.asList("market", "quality", "index"),
         null,
         null
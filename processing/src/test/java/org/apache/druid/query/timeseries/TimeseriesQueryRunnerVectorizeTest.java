@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.timeseries;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.druid.java.util.common.ISE;
+import org.apache.druid.java.util.common.granularity.Granularities;
+import org.apache.druid.java.util.common.granularity.Granularity;
+import org.apache.druid.query.Druids;
+import org.apache.druid.query.QueryContexts;
+import org.apache.druid.query.QueryPlus;
+import org.apache.druid.query.QueryRunner;
+import org.apache.druid.query.QueryRunnerTestHelper;
+import org.apache.druid.query.Result;
+import org.apache.druid.query.aggregation.AggregatorFactory;
+import org.apache.druid.query.aggregation.CountAggregatorFactory;
+import org.apache.druid.query.aggregation.DoubleMaxAggregatorFactory;
+import org.apache.druid.query.aggregation.DoubleMinAggregatorFactory;
+import org.apache.druid.query.aggregation.DoubleSumAggregatorFactory;
+import org.apache.druid.query.aggregation.FloatMaxAggregatorFactory;
+import org.apache.druid.query.aggregation.FloatMinAggregatorFactory;
+import org.apache.druid.query.aggregation.FloatSumAggregatorFactory;
+import org.apache.druid.query.aggregation.LongMaxAggregatorFactory;
+import org.apache.druid.query.aggregation.LongMinAggregatorFactory;
+import org.apache.druid.query.aggregation.LongSumAggregatorFactory;
+import org.apache.druid.query.expression.TestExprMacroTable;
+import org.apache.druid.query.filter.AndDimFilter;
+import org.apache.druid.query.filter.BoundDimFilter;
+import org.apache.druid.query.filter.DimFilter;
+import org.apache.druid.query.filter.ExpressionDimFilter;
+import org.apache.druid.query.filter.InDimFilter;
+import org.apache.druid.query.filter.NotDimFilter;
+import org.apache.druid.query.filter.OrDimFilter;
+import org.apache.druid.query.filter.SelectorDimFilter;
+import org.apache.druid.query.ordering.StringComparators;
+import org.apache.druid.segment.QueryableIndexSegment;
+import org.apache.druid.segment.TestHelper;
+import org.apache.druid.segment.TestIndex;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Runs the same timeseries queries with and without vectorization and checks that the results match.
+ */
+@RunWith(Parameterized.class)
+public class TimeseriesQueryRunnerVectorizeTest
+{
+  private static final List<AggregatorFactory> AGGREGATORS = ImmutableList.of(
+      new CountAggregatorFactory("rows"),
+      new DoubleSumAggregatorFactory("index", "index"),
+      new DoubleMinAggregatorFactory("indexMin", "indexMin"),
+      new DoubleMaxAggregatorFactory("indexMaxPlusTen", "indexMaxPlusTen"),
+      new FloatSumAggregatorFactory("indexFloat", "indexFloat"),
+      new FloatMinAggregatorFactory("indexMinFloat", "indexMinFloat"),
+      new FloatMaxAggregatorFactory("indexMaxFloat", "indexMaxFloat"),
+      new LongSumAggregatorFactory("qualityLongSum", "qualityLong"),
+      new LongMinAggregatorFactory("qualityLongMin", "qualityLong"),
+      new LongMaxAggregatorFactory("qualityLongMax", "qualityLong"),
+      new LongSumAggregatorFactory("missingSum", "nonexistent")
+  );
+
+  @Parameterized.Parameters(name = "{0}, {1}, {2}")
+  public static Iterable<Object[]> constructorFeeder()
+  {
+    final TimeseriesQueryRunnerFactory factory = new TimeseriesQueryRunnerFactory(
+        new TimeseriesQueryQueryToolChest(QueryRunnerTestHelper.NoopIntervalChunkingQueryRunnerDecorator()),
+        new TimeseriesQueryEngine(),
+        QueryRunnerTestHelper.NOOP_QUERYWATCHER
+    );
+
+    return QueryRunnerTestHelper.cartesian(
+        ImmutableList.of(
+            QueryRunnerTestHelper.makeQueryRunner(
+                factory,
+                new QueryableIndexSegment(QueryRunnerTestHelper.segmentId, TestIndex.getMMappedTestIndex()),
+                "mMappedTestIndex"
+            ),
+            QueryRunnerTestHelper.makeQueryRunner(
+                factory,
+                new QueryableIndexSegment(QueryRunnerTestHelper.segmentId, TestIndex.getNoRollupMMappedTestIndex()),
+                "noRollupMMappedTestIndex"
+            )
+        ),
+        Arrays.asList(Granularities.ALL, Granularities.DAY, Granularities.HOUR),
+        Arrays.asList(
+            "none",
+            "selector",
+            "in",
+            "bound",
+            "boundOnLong",
+            "expression",
+            "andWithPostFilter",
+            "orWithPostFilter",
+            "notOnDouble"
+        )
+    );
+  }
+
+  private final QueryRunner<Result<TimeseriesResultValue>> runner;
+  private final Granularity granularity;
+  private final DimFilter filter;
+
+  public TimeseriesQueryRunnerVectorizeTest(
+      QueryRunner<Result<TimeseriesResultValue>> runner,
+      Granularity granularity,
+      String filterName
+  )
+  {
+    this.runner = runner;
+    this.granularity = granularity;
+    this.filter = makeFilter(filterName);
+  }
+
+  @Test
+  public void testVectorizedMatchesNonVectorized()
+  {
+    for (int vectorSize : new int[]{1, 7, QueryContexts.DEFAULT_VECTOR_SIZE}) {
+      TestHelper.assertExpectedResults(runQuery("false", vectorSize), runQuery("force", vectorSize));
+    }
+  }
+
+  @Test
+  public void testVectorizedWithSkipEmptyBuckets()
+  {
+    final TimeseriesQuery query = Druids.newTimeseriesQueryBuilder()
+                                        .dataSource(QueryRunnerTestHelper.dataSource)
+                                        .granularity(Granularities.HOUR)
+                                        .intervals(QueryRunnerTestHelper.firstToThird)
+                                        .filters(filter)
+                                        .aggregators(AGGREGATORS)
+                                        .context(ImmutableMap.of("skipEmptyBuckets", true))
+                                        .build();
+
+    TestHelper.assertExpectedResults(
+        run(query.withOverriddenContext(ImmutableMap.of(QueryContexts.VECTORIZE_KEY, "false"))),
+        run(query.withOverriddenContext(ImmutableMap.of(QueryContexts.VECTORIZE_KEY, "force")))
+    );
+  }
+
+  @Test(expected = ISE.class)
+  public void testForceVectorizeWithUnsupportedAggregator()
+  {
+    final TimeseriesQuery query = Druids.newTimeseriesQueryBuilder()
+                                        .dataSource(QueryRunnerTestHelper.dataSource)
+                                        .granularity(granularity)
+                                        .intervals(QueryRunnerTestHelper.fullOnInterval)
+                                        .aggregators(QueryRunnerTestHelper.qualityUniques)
+                                        .context(ImmutableMap.of(QueryContexts.VECTORIZE_KEY, "force"))
+                                        .build();
+
+    run(query);
+  }
+
+  private Iterable<Result<TimeseriesResultValue>> runQuery(final String vectorize, final int vectorSize)
+  {
+    final TimeseriesQuery query = Druids.newTimeseriesQueryBuilder()
+                                        .dataSource(QueryRunnerTestHelper.dataSource)
+                                        .granularity(granularity)
+                                        .intervals(QueryRunnerTestHelper.fullOnInterval)
+                                        .filters(filter)
+                                        .aggregators(AGGREGATORS)
+                                        .context(
+                                            ImmutableMap.of(
+                                                QueryContexts.VECTORIZE_KEY, vectorize,
+                                                QueryContexts.VECTOR_SIZE_KEY, vectorSize
+                                            )
+                                        )
+                                        .build();
+
+    return run(query);
+  }
+
+  private Iterable<Result<TimeseriesResultValue>> run(final TimeseriesQuery query)
+  {
+    return runner.run(QueryPlus.wrap(query), new HashMap<>()).toList();
+  }
+
+  private static DimFilter makeFilter(final String filterName)
+  {
+    switch (filterName) {
+      case "none":
+        return null;
+      case "selector":
+        return new SelectorDimFilter(QueryRunnerTestHelper.marketDimension, "spot", null);
+      case "in":
+        return new InDimFilter(
+            QueryRunnerTestHelper.qualityDimension,
+            Arrays.asList("automotive", "business", "premium"),
+            null
+        );
+      case "bound":
+        return new BoundDimFilter(
+            QueryRunnerTestHelper.qualityDimension,
+            "b",
+            "p",
+            false,
+            true,
+            null,
+            null,
+            StringComparators.LEXICOGRAPHIC
+        );
+      case "boundOnLong":
+        return new BoundDimFilter("qualityLong", "1200", "1600", false, true, null, null, StringComparators.NUMERIC);
+      case "expression":
+        return new ExpressionDimFilter("index > 100 && qualityLong < 1500", TestExprMacroTable.INSTANCE);
+      case "andWithPostFilter":
+        return new AndDimFilter(
+            new SelectorDimFilter(QueryRunnerTestHelper.marketDimension, "spot", null),
+            new BoundDimFilter("qualityFloat", "1300", null, true, false, null, null, StringComparators.NUMERIC)
+        );
+      case "orWithPostFilter":
+        return new OrDimFilter(
+            Arrays.asList(
+                new SelectorDimFilter(QueryRunnerTestHelper.marketDimension, "total_market", null),
+                new SelectorDimFilter("qualityLong", "1100", null),
+                new InDimFilter("qualityDouble", Arrays.asList("1000", "1700"), null)
+            )
+        );
+      case "notOnDouble":
+        return new NotDimFilter(
+            new BoundDimFilter("index", "90", "120", false, false, null, null, StringComparators.NUMERIC)
+        );
+      default:
+        throw new ISE("Unknown filter[%s]", filterName);
+    }
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment;
+
+import com.google.common.base.Supplier;
+import org.apache.druid.java.util.common.RE;
+import org.apache.druid.segment.column.ColumnCapabilitiesImpl;
+import org.apache.druid.segment.column.ColumnHolder;
+import org.apache.druid.segment.column.ValueType;
+import org.easymock.EasyMock;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ColumnHolderCacheTest
+{
+  private static final int DICTIONARY_CARDINALITY = 10;
+  private static final long DICTIONARY_SIZE_BYTES = 200;
+
+  @Rule
+  public ExpectedException expectedException = ExpectedException.none();
+
+  @Test
+  public void testLoadOnce()
+  {
+    final ColumnHolderCache cache = new ColumnHolderCache(1 << 20, 0);
+    final AtomicInteger loads = new AtomicInteger();
+    final ColumnHolder column = makeColumnHolder(false);
+    final Supplier<ColumnHolder> supplier = cache.makeSupplier(new Object(), "col", () -> {
+      loads.incrementAndGet();
+      return column;
+    });
+
+    Assert.assertSame(column, supplier.get());
+    Assert.assertSame(column, supplier.get());
+    Assert.assertEquals(1, loads.get());
+    Assert.assertEquals(1, cache.getNumEntries());
+    Assert.assertEquals(ColumnHolderCache.ESTIMATED_COLUMN_BYTES, cache.getSizeBytes());
+    Assert.assertEquals(1, cache.getStats().hitCount());
+    Assert.assertEquals(1, cache.getStats().missCount());
+  }
+
+  @Test
+  public void testEstimateSize()
+  {
+    final ColumnHolderCache cache = new ColumnHolderCache(1 << 20, 100);
+    Assert.assertEquals(
+        ColumnHolderCache.ESTIMATED_COLUMN_BYTES,
+        cache.estimateSize(makeColumnHolder(false))
+    );
+    Assert.assertEquals(
+        ColumnHolderCache.ESTIMATED_COLUMN_BYTES
+        + DICTIONARY_SIZE_BYTES
+        + DICTIONARY_CARDINALITY * ColumnHolderCache.ESTIMATED_BYTES_PER_DICTIONARY_VALUE
+        + 100
+        + ColumnHolderCache.ESTIMATED_INDEX_BYTES,
+        cache.estimateSize(makeColumnHolder(true))
+    );
+  }
+
+  @Test
+  public void testEviction()
+  {
+    final long maxSizeBytes = 10 * ColumnHolderCache.ESTIMATED_COLUMN_BYTES;
+    final ColumnHolderCache cache = new ColumnHolderCache(maxSizeBytes, 0);
+    final AtomicInteger loads = new AtomicInteger();
+    final Object owner = new Object();
+    final List<Supplier<ColumnHolder>> suppliers = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      final ColumnHolder column = makeColumnHolder(false);
+      suppliers.add(cache.makeSupplier(owner, "col" + i, () -> {
+        loads.incrementAndGet();
+        return column;
+      }));
+    }
+
+    for (Supplier<ColumnHolder> supplier : suppliers) {
+      Assert.assertNotNull(supplier.get());
+    }
+    Assert.assertEquals(100, loads.get());
+    Assert.assertTrue(cache.getSizeBytes() <= maxSizeBytes);
+    Assert.assertEquals(cache.getNumEntries() * ColumnHolderCache.ESTIMATED_COLUMN_BYTES, cache.getSizeBytes());
+    Assert.assertEquals(100 - cache.getNumEntries(), cache.getStats().evictionCount());
+
+    // the first column was evicted, so it's deserialized again
+    Assert.assertNotNull(suppliers.get(0).get());
+    Assert.assertEquals(101, loads.get());
+  }
+
+  @Test
+  public void testInvalidate()
+  {
+    final ColumnHolderCache cache = new ColumnHolderCache(1 << 20, 0);
+    final Object owner1 = new Object();
+    final Object owner2 = new Object();
+    cache.makeSupplier(owner1, "a", () -> makeColumnHolder(false)).get();
+    cache.makeSupplier(owner1, "b", () -> makeColumnHolder(true)).get();
+    cache.makeSupplier(owner2, "a", () -> makeColumnHolder(false)).get();
+    Assert.assertEquals(3, cache.getNumEntries());
+
+    cache.invalidate(owner1);
+    Assert.assertEquals(1, cache.getNumEntries());
+    Assert.assertEquals(ColumnHolderCache.ESTIMATED_COLUMN_BYTES, cache.getSizeBytes());
+
+    cache.invalidate(owner2);
+    Assert.assertEquals(0, cache.getNumEntries());
+    Assert.assertEquals(0, cache.getSizeBytes());
+
+    // owners without cached columns
+    cache.invalidate(owner1);
+    cache.invalidate(new Object());
+    Assert.assertEquals(0, cache.getNumEntries());
+  }
+
+  @Test
+  public void testInvalidateAfterEviction()
+  {
+    final ColumnHolderCache cache = new ColumnHolderCache(40 * ColumnHolderCache.ESTIMATED_COLUMN_BYTES, 0);
+    final Object owner1 = new Object();
+    final Object owner2 = new Object();
+    for (int i = 0; i < 100; i++) {
+      cache.makeSupplier(owner1, "col" + i, () -> makeColumnHolder(false)).get();
+    }
+    final AtomicInteger loads = new AtomicInteger();
+    final Supplier<ColumnHolder> supplier = cache.makeSupplier(owner2, "col", () -> {
+      loads.incrementAndGet();
+      return makeColumnHolder(false);
+    });
+    supplier.get();
+    Assert.assertTrue(cache.getStats().evictionCount() > 0);
+
+    // invalidating the columns of an owner, some of which were evicted, keeps the columns of other owners
+    cache.invalidate(owner1);
+    Assert.assertEquals(1, cache.getNumEntries());
+    Assert.assertEquals(ColumnHolderCache.ESTIMATED_COLUMN_BYTES, cache.getSizeBytes());
+    supplier.get();
+    Assert.assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void testLoadFailure()
+  {
+    final ColumnHolderCache cache = new ColumnHolderCache(1 << 20, 0);
+    final Supplier<ColumnHolder> supplier = cache.makeSupplier(new Object(), "col", () -> {
+      throw new IllegalStateException("broken");
+    });
+
+    expectedException.expect(RE.class);
+    expectedException.expectMessage("Failed to load column[col]");
+    supplier.get();
+  }
+
+  private static ColumnHolder makeColumnHolder(boolean dictionaryEncoded)
+  {
+    final ColumnCapabilitiesImpl capabilities = new ColumnCapabilitiesImpl()
+        .setType(dictionaryEncoded ? ValueType.STRING : ValueType.LONG)
+        .setDictionaryEncoded(dictionaryEncoded)
+        .setHasBitmapIndexes(dictionaryEncoded);
+    final ColumnHolder columnHolder = EasyMock.createMock(ColumnHolder.class);
+    EasyMock.expect(columnHolder.getCapabilities()).andReturn(capabilities).anyTimes();
+    EasyMock.expect(columnHolder.getDictionaryCardinality())
+            .andReturn(dictionaryEncoded ? DICTIONARY_CARDINALITY : 0)
+            .anyTimes();
+    EasyMock.expect(columnHolder.getDictionarySizeBytes())
+            .andReturn(dictionaryEncoded ? DICTIONARY_SIZE_BYTES : 0)
+            .anyTimes();
+    EasyMock.replay(columnHolder);
+    return columnHolder;
+  }
+}
@@ -51,10 +51,12 @@ import org.apache.druid.segment.column.DictionaryEncodedColumn;
 import org.apache.druid.segment.column.StringDictionaryEncodedColumn;
 import org.apache.druid.segment.data.BitmapSerdeFactory;
 import org.apache.druid.segment.data.BitmapValues;
+import org.apache.druid.segment.data.BlockEncodedColumnarIntsSupplier;
 import org.apache.druid.segment.data.CompressionFactory;
 import org.apache.druid.segment.data.CompressionStrategy;
 import org.apache.druid.segment.data.ConciseBitmapSerdeFactory;
 import org.apache.druid.segment.data.IncrementalIndexTest;
+import org.apache.druid.segment.data.StringEncodingStrategy;
 import org.apache.druid.segment.incremental.IncrementalIndex;
 import org.apache.druid.segment.incremental.IncrementalIndexAdapter;
 import org.apache.druid.segment.incremental.IncrementalIndexSchema;
@@ -96,7 +98,7 @@ public class IndexMergerTestBase
         Sets.cartesianProduct(
             ImmutableList.of(
                 EnumSet.allOf(CompressionStrategy.class),
-                ImmutableSet.copyOf(CompressionStrategy.noNoneValues()),
+                EnumSet.allOf(CompressionStrategy.class),
                 EnumSet.allOf(CompressionFactory.LongEncodingStrategy.class),
                 SegmentWriteOutMediumFactory.builtInFactories()
             )
@@ -118,13 +120,25 @@ public class IndexMergerTestBase
       CompressionStrategy dimCompressionStrategy,
       CompressionFactory.LongEncodingStrategy longEncodingStrategy
   )
+  {
+    return makeIndexSpec(bitmapSerdeFactory, compressionStrategy, dimCompressionStrategy, longEncodingStrategy, null);
+  }
+
+  static IndexSpec makeIndexSpec(
+      BitmapSerdeFactory bitmapSerdeFactory,
+      CompressionStrategy compressionStrategy,
+      CompressionStrategy dimCompressionStrategy,
+      CompressionFactory.LongEncodingStrategy longEncodingStrategy,
+      @Nullable StringEncodingStrategy stringEncodingStrategy
+  )
   {
     if (bitmapSerdeFactory != null || compressionStrategy != null) {
       return new IndexSpec(
           bitmapSerdeFactory,
           dimCompressionStrategy,
           compressionStrategy,
-          longEncodingStrategy
+          longEncodingStrategy,
+          stringEncodingStrategy
       );
     } else {
       return new IndexSpec();
@@ -144,12 +158,24 @@ public class IndexMergerTestBase
       CompressionStrategy dimCompressionStrategy,
       CompressionFactory.LongEncodingStrategy longEncodingStrategy
   )
+  {
+    this(bitmapSerdeFactory, compressionStrategy, dimCompressionStrategy, longEncodingStrategy, null);
+  }
+
+  protected IndexMergerTestBase(
+      @Nullable BitmapSerdeFactory bitmapSerdeFactory,
+      CompressionStrategy compressionStrategy,
+      CompressionStrategy dimCompressionStrategy,
+      CompressionFactory.LongEncodingStrategy longEncodingStrategy,
+      @Nullable StringEncodingStrategy stringEncodingStrategy
+  )
   {
     this.indexSpec = makeIndexSpec(
         bitmapSerdeFactory != null ? bitmapSerdeFactory : new ConciseBitmapSerdeFactory(),
         compressionStrategy,
         dimCompressionStrategy,
-        longEncodingStrategy
+        longEncodingStrategy,
+        stringEncodingStrategy
     );
     this.indexIO = TestHelper.getTestIndexIO();
     this.useBitmapIndexes = bitmapSerdeFactory != null;
@@ -185,6 +211,32 @@ public class IndexMergerTestBase
     );
   }
 
+  @Test
+  public void testPersistLazyLoad() throws Exception
+  {
+    final long timestamp = System.currentTimeMillis();
+
+    IncrementalIndex toPersist = IncrementalIndexTest.createIndex(null);
+    IncrementalIndexTest.populateIndex(timestamp, toPersist);
+    final IndexableAdapter incrementalAdapter = new IncrementalIndexAdapter(
+        toPersist.getInterval(),
+        toPersist,
+        indexSpec.getBitmapSerdeFactory().getBitmapFactory()
+    );
+
+    final File tempDir = temporaryFolder.newFolder();
+    QueryableIndex index = closer.closeLater(
+        indexIO.loadIndex(indexMerger.persist(toPersist, tempDir, indexSpec, null), true)
+    );
+
+    Assert.assertEquals(Arrays.asList("dim1", "dim2"), Lists.newArrayList(index.getAvailableDimensions()));
+    Assert.assertEquals(3, index.getColumnNames().size());
+    Assert.assertEquals(2, index.getNumRows());
+
+    indexIO.validateTwoSegments(incrementalAdapter, new QueryableIndexIndexableAdapter(index));
+    assertDimCompression(index, indexSpec.getDimensionCompression());
+  }
+
   @Test
   public void testPersistWithDifferentDims() throws Exception
   {
@@ -735,6 +787,13 @@ public class IndexMergerTestBase
 
       obj = field.get(encodedColumn);
     }
+    if (expectedStrategy == CompressionStrategy.NONE) {
+      // single-valued dimensions are block encoded, multi-valued dimensions are written uncompressed
+      if (!encodedColumn.hasMultipleValues()) {
+        Assert.assertEquals(BlockEncodedColumnarIntsSupplier.class, obj.getClass().getEnclosingClass());
+      }
+      return;
+    }
     // CompressedVSizeColumnarIntsSupplier$CompressedByteSizeColumnarInts
     // CompressedVSizeColumnarMultiIntsSupplier$CompressedVSizeColumnarMultiInts
     Field compressedSupplierField = obj.getClass().getDeclaredField("this$0");
@@ -24,6 +24,7 @@ import org.apache.druid.jackson.DefaultObjectMapper;
 import org.apache.druid.segment.data.CompressionFactory;
 import org.apache.druid.segment.data.CompressionStrategy;
 import org.apache.druid.segment.data.RoaringBitmapSerdeFactory;
+import org.apache.druid.segment.data.StringEncodingStrategy;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -57,6 +58,23 @@ public class IndexSpecTest
     Assert.assertEquals(spec, objectMapper.readValue(objectMapper.writeValueAsBytes(spec), IndexSpec.class));
   }
 
+  @Test
+  public void testSerdeFrontCoded() throws Exception
+  {
+    final ObjectMapper objectMapper = new DefaultObjectMapper();
+    final String json = "{ \"stringDictionaryEncoding\" : { \"type\" : \"frontCoded\", \"bucketSize\" : 16 } }";
+
+    final IndexSpec spec = objectMapper.readValue(json, IndexSpec.class);
+    Assert.assertEquals(new StringEncodingStrategy.FrontCoded(16), spec.getStringDictionaryEncoding());
+    Assert.assertEquals(spec, objectMapper.readValue(objectMapper.writeValueAsBytes(spec), IndexSpec.class));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFrontCodedBucketSizeNotPowerOfTwo()
+  {
+    new StringEncodingStrategy.FrontCoded(3);
+  }
+
   @Test
   public void testDefaults()
   {
@@ -64,5 +82,6 @@ public class IndexSpecTest
     Assert.assertEquals(CompressionStrategy.LZ4, spec.getDimensionCompression());
     Assert.assertEquals(CompressionStrategy.LZ4, spec.getMetricCompression());
     Assert.assertEquals(CompressionFactory.LongEncodingStrategy.LONGS, spec.getLongEncoding());
+    Assert.assertEquals(StringEncodingStrategy.DEFAULT, spec.getStringDictionaryEncoding());
   }
 }
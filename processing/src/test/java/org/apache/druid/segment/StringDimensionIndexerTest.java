@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.apache.druid.data.input.impl.DimensionSchema.MultiValueHandling;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class StringDimensionIndexerTest
+{
+  @Test
+  public void testDictionary()
+  {
+    final StringDimensionIndexer indexer = new StringDimensionIndexer(MultiValueHandling.SORTED_ARRAY, true);
+    Assert.assertArrayEquals(new int[]{0}, indexer.processRowValsToUnsortedEncodedKeyComponent("b", false));
+    Assert.assertArrayEquals(new int[]{1}, indexer.processRowValsToUnsortedEncodedKeyComponent("a", false));
+    Assert.assertArrayEquals(new int[]{2}, indexer.processRowValsToUnsortedEncodedKeyComponent(null, false));
+    Assert.assertArrayEquals(
+        new int[]{1, 3},
+        indexer.processRowValsToUnsortedEncodedKeyComponent(ImmutableList.of("c", "a"), false)
+    );
+    Assert.assertArrayEquals(new int[]{0}, indexer.processRowValsToUnsortedEncodedKeyComponent("b", false));
+
+    Assert.assertEquals(4, indexer.getCardinality());
+    Assert.assertEquals("a", indexer.getMinValue());
+    Assert.assertEquals("c", indexer.getMaxValue());
+    Assert.assertEquals("b", indexer.convertUnsortedEncodedKeyComponentToActualList(new int[]{0}));
+    Assert.assertNull(indexer.convertUnsortedEncodedKeyComponentToActualList(new int[]{2}));
+
+    Assert.assertEquals(Lists.newArrayList(null, "a", "b", "c"), Lists.newArrayList(indexer.getSortedIndexedValues()));
+    Assert.assertEquals(2, indexer.getSortedIndexedValues().indexOf("b"));
+    Assert.assertEquals(-1, indexer.getSortedIndexedValues().indexOf("d"));
+    Assert.assertEquals(3, (int) indexer.getSortedEncodedValueFromUnsorted(3));
+    Assert.assertEquals(2, (int) indexer.getUnsortedEncodedValueFromSorted(0));
+
+    // Adding a value invalidates the sorted snapshot.
+    indexer.processRowValsToUnsortedEncodedKeyComponent("aa", false);
+    Assert.assertEquals(
+        Lists.newArrayList(null, "a", "aa", "b", "c"),
+        Lists.newArrayList(indexer.getSortedIndexedValues())
+    );
+  }
+
+  @Test(timeout = 60_000L)
+  public void testConcurrentReadsDuringIngestion() throws Exception
+  {
+    final int numValues = 50_000;
+    final StringDimensionIndexer indexer = new StringDimensionIndexer(MultiValueHandling.SORTED_ARRAY, true);
+    final AtomicBoolean done = new AtomicBoolean(false);
+    final ExecutorService exec = Executors.newFixedThreadPool(3);
+    try {
+      final List<Future<?>> readers = new ArrayList<>();
+      for (int i = 0; i < 2; i++) {
+        readers.add(
+            exec.submit(
+                () -> {
+                  while (!done.get()) {
+                    final int cardinality = indexer.getCardinality();
+                    for (int id = Math.max(0, cardinality - 100); id < cardinality; id++) {
+                      Assert.assertEquals(
+                          "v" + id,
+                          indexer.convertUnsortedEncodedKeyComponentToActualList(new int[]{id})
+                      );
+                    }
+                  }
+                }
+            )
+        );
+      }
+
+      for (int i = 0; i < numValues; i++) {
+        Assert.assertArrayEquals(
+            new int[]{i},
+            indexer.processRowValsToUnsortedEncodedKeyComponent("v" + i, false)
+        );
+      }
+      done.set(true);
+      for (Future<?> reader : readers) {
+        reader.get();
+      }
+    }
+    finally {
+      exec.shutdownNow();
+    }
+    Assert.assertEquals(numValues, indexer.getCardinality());
+  }
+
+  @Test(timeout = 60_000L)
+  public void testConcurrentAdds() throws Exception
+  {
+    final int numValues = 20_000;
+    final StringDimensionIndexer indexer = new StringDimensionIndexer(MultiValueHandling.SORTED_ARRAY, true);
+    final ExecutorService exec = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<int[]>> futures = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        final List<Integer> order = new ArrayList<>();
+        for (int j = 0; j < numValues; j++) {
+          order.add(j);
+        }
+        Collections.shuffle(order);
+        futures.add(
+            exec.submit(
+                () -> {
+                  final int[] ids = new int[numValues];
+                  for (int j : order) {
+                    ids[j] = indexer.processRowValsToUnsortedEncodedKeyComponent("v" + j, false)[0];
+                  }
+                  return ids;
+                }
+            )
+        );
+      }
+
+      final int[] expected = futures.get(0).get();
+      for (Future<int[]> future : futures) {
+        Assert.assertArrayEquals(expected, future.get());
+      }
+      Assert.assertEquals(numValues, indexer.getCardinality());
+      for (int j = 0; j < numValues; j++) {
+        Assert.assertEquals("v" + j, indexer.convertUnsortedEncodedKeyComponentToActualList(new int[]{expected[j]}));
+      }
+    }
+    finally {
+      exec.shutdownNow();
+    }
+  }
+}
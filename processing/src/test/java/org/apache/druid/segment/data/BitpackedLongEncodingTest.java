@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.druid.segment.data;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+public class BitpackedLongEncodingTest
+{
+  @Test
+  public void testNarrowRange() throws IOException
+  {
+    final Random random = new Random(0);
+    final long[] values = new long[1000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = 1_000_000L + random.nextInt(1000);
+    }
+    // 10 bits per value instead of 64
+    Assert.assertTrue(testValues(values) < values.length * 2L);
+  }
+
+  @Test
+  public void testSortedTimestamps() throws IOException
+  {
+    final long[] values = new long[1000];
+    long time = 1540000000000L;
+    for (int i = 0; i < values.length; i++) {
+      time += i % 3 == 0 ? 0 : 1000;
+      values[i] = time;
+    }
+    // deltas take 11 bits per value while offsets to the smallest value of a frame would take 16
+    Assert.assertTrue(testValues(values) < values.length * 12 / 8 + 16 * 10);
+  }
+
+  @Test
+  public void testAllWidths() throws IOException
+  {
+    final Random random = new Random(0);
+    final long[] values = new long[65 * CompressionFactory.BITPACKED_FRAME_SIZE + 17];
+    for (int i = 0; i < values.length; i++) {
+      final int bitWidth = i / CompressionFactory.BITPACKED_FRAME_SIZE;
+      values[i] = bitWidth == 0 ? 42 : random.nextLong() >>> (Long.SIZE - Math.min(bitWidth, Long.SIZE));
+    }
+    testValues(values);
+  }
+
+  @Test
+  public void testExtremes() throws IOException
+  {
+    testValues(new long[]{Long.MAX_VALUE, Long.MIN_VALUE, 0, -1, 1, Long.MIN_VALUE, Long.MAX_VALUE});
+    testValues(new long[]{Long.MIN_VALUE});
+    testValues(new long[]{-5, -4, -3, -2, -1, 0, 1, 2, 3});
+  }
+
+  private int testValues(long[] values) throws IOException
+  {
+    final BitpackedLongEncodingWriter writer = new BitpackedLongEncodingWriter(ByteOrder.LITTLE_ENDIAN);
+    final ByteBuffer buffer = ByteBuffer.allocate(1 + writer.getNumBytes(values.length))
+                                        .order(ByteOrder.LITTLE_ENDIAN);
+    buffer.put(CompressionFactory.BITPACKED_ENCODING_VERSION);
+    writer.setBuffer(buffer);
+    for (long value : values) {
+      writer.write(value);
+    }
+    writer.flush();
+    buffer.flip();
+    final int size = buffer.remaining();
+
+    final CompressionFactory.LongEncodingReader reader =
+        new BitpackedLongEncodingReader(buffer, ByteOrder.LITTLE_ENDIAN).duplicate();
+
+    // random access, going backwards so that every frame is decoded again
+    for (int i = values.length - 1; i >= 0; i--) {
+      Assert.assertEquals(values[i], reader.read(i));
+    }
+
+    // bulk reads not aligned to frames
+    final long[] out = new long[values.length + 3];
+    for (int start = 0; start < values.length; start += 97) {
+      final int length = Math.min(200, values.length - start);
+      reader.read(out, 3, start, length);
+      for (int i = 0; i < length; i++) {
+        Assert.assertEquals(values[start + i], out[3 + i]);
+      }
+    }
+    return size;
+  }
+}
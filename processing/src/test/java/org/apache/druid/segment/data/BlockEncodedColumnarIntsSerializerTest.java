@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.data;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.druid.java.util.common.IAE;
+import org.apache.druid.segment.writeout.OffHeapMemorySegmentWriteOutMedium;
+import org.apache.druid.segment.writeout.SegmentWriteOutMedium;
+import org.apache.druid.segment.writeout.WriteOutBytes;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+public class BlockEncodedColumnarIntsSerializerTest
+{
+  private static final int[] BLOCK_SIZES = new int[]{8, 1024};
+
+  private final SegmentWriteOutMedium segmentWriteOutMedium = new OffHeapMemorySegmentWriteOutMedium();
+  private final Random rand = new Random(0);
+
+  @After
+  public void tearDown() throws Exception
+  {
+    segmentWriteOutMedium.close();
+  }
+
+  @Test
+  public void testRandomValues() throws Exception
+  {
+    for (int maxValue : new int[]{1, 0xFF, 0xFFFF, 0xFFFFFF, Integer.MAX_VALUE}) {
+      final int[] vals = new int[rand.nextInt(5000) + 10];
+      for (int i = 0; i < vals.length; i++) {
+        vals[i] = rand.nextInt(maxValue);
+      }
+      checkSerializedSizeAndData(vals);
+    }
+  }
+
+  @Test
+  public void testSortedLowCardinality() throws Exception
+  {
+    final int[] vals = new int[10_000];
+    int value = 0;
+    for (int i = 0; i < vals.length; i++) {
+      if (rand.nextInt(200) == 0) {
+        value++;
+      }
+      vals[i] = value;
+    }
+    checkSerializedSizeAndData(vals);
+
+    // runs and constant blocks are much smaller than one byte per value
+    Assert.assertTrue(serialize(vals, BlockEncodedColumnarIntsSerializer.DEFAULT_BLOCK_SIZE).length < vals.length / 10);
+  }
+
+  @Test
+  public void testConstant() throws Exception
+  {
+    final int[] vals = new int[3000];
+    Arrays.fill(vals, 12345);
+    checkSerializedSizeAndData(vals);
+  }
+
+  @Test
+  public void testMixedBlocks() throws Exception
+  {
+    final int[] vals = new int[4096];
+    for (int i = 0; i < vals.length; i++) {
+      switch ((i / 512) % 3) {
+        case 0:
+          vals[i] = 7;
+          break;
+        case 1:
+          vals[i] = 1000 + rand.nextInt(16);
+          break;
+        default:
+          vals[i] = i / 100;
+      }
+    }
+    checkSerializedSizeAndData(vals);
+  }
+
+  @Test
+  public void testWriteEmpty() throws Exception
+  {
+    checkSerializedSizeAndData(new int[0]);
+  }
+
+  @Test(expected = IAE.class)
+  public void testNegativeValue() throws Exception
+  {
+    final BlockEncodedColumnarIntsSerializer writer = new BlockEncodedColumnarIntsSerializer(segmentWriteOutMedium);
+    writer.open();
+    writer.addValue(-1);
+  }
+
+  private void checkSerializedSizeAndData(int[] vals) throws Exception
+  {
+    for (int blockSize : BLOCK_SIZES) {
+      final byte[] bytes = serialize(vals, blockSize);
+      final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      final BlockEncodedColumnarIntsSupplier supplier = BlockEncodedColumnarIntsSupplier.fromByteBuffer(buffer);
+      Assert.assertFalse(buffer.hasRemaining());
+      Assert.assertEquals(bytes.length, supplier.getSerializedSize());
+
+      // sequential and random access
+      try (ColumnarInts ints = supplier.get()) {
+        Assert.assertEquals(vals.length, ints.size());
+        for (int i = 0; i < vals.length; i++) {
+          Assert.assertEquals(vals[i], ints.get(i));
+        }
+      }
+      try (ColumnarInts ints = supplier.get()) {
+        for (int i = 0; i < vals.length; i++) {
+          final int index = rand.nextInt(vals.length);
+          Assert.assertEquals(vals[index], ints.get(index));
+        }
+      }
+
+      // batched reads, crossing block boundaries
+      try (ColumnarInts ints = supplier.get()) {
+        final int[] out = new int[3 * blockSize];
+        for (int start = 0; start < vals.length; ) {
+          final int length = Math.min(vals.length - start, 1 + rand.nextInt(out.length));
+          ints.get(out, start, length);
+          for (int i = 0; i < length; i++) {
+            Assert.assertEquals(vals[start + i], out[i]);
+          }
+          start += length;
+        }
+        if (vals.length > 0) {
+          final int[] indexes = new int[Math.min(vals.length, 100)];
+          for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = rand.nextInt(vals.length);
+          }
+          final int[] indexedOut = new int[indexes.length];
+          ints.get(indexedOut, indexes, indexes.length);
+          for (int i = 0; i < indexes.length; i++) {
+            Assert.assertEquals(vals[indexes[i]], indexedOut[i]);
+          }
+        }
+      }
+
+      // the supplier writes out the same bytes it was read from
+      final WriteOutBytes rewritten = segmentWriteOutMedium.makeWriteOutBytes();
+      supplier.writeTo(rewritten, null);
+      Assert.assertArrayEquals(bytes, IOUtils.toByteArray(rewritten.asInputStream()));
+    }
+  }
+
+  private byte[] serialize(int[] vals, int blockSize) throws IOException
+  {
+    final BlockEncodedColumnarIntsSerializer writer = new BlockEncodedColumnarIntsSerializer(
+        segmentWriteOutMedium,
+        blockSize
+    );
+    writer.open();
+    for (int val : vals) {
+      writer.addValue(val);
+    }
+    final long writtenLength = writer.getSerializedSize();
+    final WriteOutBytes writeOutBytes = segmentWriteOutMedium.makeWriteOutBytes();
+    writer.writeTo(writeOutBytes, null);
+    final byte[] bytes = IOUtils.toByteArray(writeOutBytes.asInputStream());
+    Assert.assertEquals(writtenLength, bytes.length);
+    return bytes;
+  }
+}
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.data;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.apache.druid.common.config.NullHandling;
+import org.apache.druid.java.util.common.ISE;
+import org.apache.druid.segment.writeout.OnHeapMemorySegmentWriteOutMedium;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+@RunWith(Parameterized.class)
+public class FrontCodedIndexedTest
+{
+  @Parameterized.Parameters(name = "bucketSize={0}, withNull={1}")
+  public static Collection<Object[]> constructorFeeder()
+  {
+    final List<Object[]> constructors = new ArrayList<>();
+    for (int bucketSize : new int[]{1, 4, 16, 128}) {
+      constructors.add(new Object[]{bucketSize, true});
+      constructors.add(new Object[]{bucketSize, false});
+    }
+    return constructors;
+  }
+
+  private final int bucketSize;
+  private final boolean withNull;
+
+  public FrontCodedIndexedTest(int bucketSize, boolean withNull)
+  {
+    this.bucketSize = bucketSize;
+    this.withNull = withNull;
+  }
+
+  @Test
+  public void testEmpty() throws IOException
+  {
+    final List<String> values = withNull ? Lists.newArrayList((String) null) : new ArrayList<>();
+    final FrontCodedIndexed indexed = writeAndRead(values);
+    Assert.assertEquals(values.size(), indexed.size());
+    Assert.assertEquals(values, Lists.newArrayList(indexed));
+    Assert.assertEquals(withNull ? 0 : -1, indexed.indexOf(null));
+    Assert.assertEquals(-1 - values.size(), indexed.indexOf("foo"));
+  }
+
+  @Test
+  public void testUrls() throws IOException
+  {
+    final TreeSet<String> sorted = new TreeSet<>();
+    final Random random = new Random(1234);
+    for (int i = 0; i < 5000; i++) {
+      sorted.add("http://druid.io/docs/" + random.nextInt(200) + "/querying/" + random.nextInt(1000) + ".html");
+    }
+    assertDictionary(withNullIfNeeded(sorted));
+  }
+
+  @Test
+  public void testRandomUnicode() throws IOException
+  {
+    // Covers strings whose UTF-8 byte order differs from String.compareTo order: supplementary characters sort before
+    // U+E000 to U+FFFF in Java, but after them in code point order.
+    final char[] alphabet = {'a', 'b', '\u00e9', '\u4e2d', '\ue000', '\uffee', '\ud83d', '\udc00'};
+    final TreeSet<String> sorted = new TreeSet<>();
+    final Random random = new Random(4321);
+    for (int i = 0; i < 2000; i++) {
+      final StringBuilder builder = new StringBuilder();
+      final int length = 1 + random.nextInt(6);
+      for (int j = 0; j < length; j++) {
+        final int c = random.nextInt(alphabet.length - 1);
+        if (alphabet[c] == '\ud83d') {
+          builder.append(alphabet[c]).append(alphabet[c + 1]);
+        } else {
+          builder.append(alphabet[c]);
+        }
+      }
+      sorted.add(builder.toString());
+    }
+    assertDictionary(withNullIfNeeded(sorted));
+  }
+
+  @Test
+  public void testEmptyStringValue() throws IOException
+  {
+    final FrontCodedIndexed indexed = writeAndRead(ImmutableList.of("", "a", "ab", "abc", "b"));
+    Assert.assertEquals(5, indexed.size());
+    Assert.assertEquals(0, indexed.indexOf(""));
+    Assert.assertEquals("ab", indexed.get(2));
+    if (NullHandling.replaceWithDefault()) {
+      // "" is stored as null.
+      Assert.assertNull(indexed.get(0));
+      Assert.assertEquals(0, indexed.indexOf(null));
+    } else {
+      Assert.assertEquals("", indexed.get(0));
+      Assert.assertEquals(-1, indexed.indexOf(null));
+    }
+  }
+
+  @Test(expected = ISE.class)
+  public void testUnsorted() throws IOException
+  {
+    writeAndRead(ImmutableList.of("b", "a"));
+  }
+
+  @Test(expected = ISE.class)
+  public void testDuplicates() throws IOException
+  {
+    writeAndRead(ImmutableList.of("a", "a"));
+  }
+
+  private List<String> withNullIfNeeded(Collection<String> values)
+  {
+    final List<String> list = new ArrayList<>();
+    if (withNull) {
+      list.add(null);
+    }
+    for (String value : values) {
+      // In default-value null handling mode "" is null, which is added separately above.
+      if (!NullHandling.replaceWithDefault() || !value.isEmpty()) {
+        list.add(value);
+      }
+    }
+    return list;
+  }
+
+  private void assertDictionary(List<String> values) throws IOException
+  {
+    final FrontCodedIndexedWriter writer = new FrontCodedIndexedWriter(
+        new OnHeapMemorySegmentWriteOutMedium(),
+        bucketSize
+    );
+    final FrontCodedIndexed indexed = writeAndRead(writer, values);
+    final GenericIndexed<String> expected = GenericIndexed.fromIterable(values, GenericIndexed.STRING_STRATEGY);
+
+    Assert.assertEquals(values.size(), indexed.size());
+    Assert.assertEquals(values, Lists.newArrayList(indexed));
+    for (int i = 0; i < values.size(); i++) {
+      Assert.assertEquals(values.get(i), indexed.get(i));
+      Assert.assertEquals(values.get(i), writer.get(i));
+      Assert.assertEquals(i, indexed.indexOf(values.get(i)));
+
+      if (values.get(i) != null) {
+        // Values that are not present must have the same insertion points as in GenericIndexed.
+        for (String absent : new String[]{values.get(i) + "\u0000", values.get(i) + "\uffff", "0" + values.get(i)}) {
+          Assert.assertEquals(absent, expected.indexOf(absent), indexed.indexOf(absent));
+        }
+      }
+    }
+  }
+
+  private FrontCodedIndexed writeAndRead(List<String> values) throws IOException
+  {
+    return writeAndRead(new FrontCodedIndexedWriter(new OnHeapMemorySegmentWriteOutMedium(), bucketSize), values);
+  }
+
+  private static FrontCodedIndexed writeAndRead(FrontCodedIndexedWriter writer, List<String> values)
+      throws IOException
+  {
+    writer.open();
+    for (String value : values) {
+      writer.write(value);
+    }
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (WritableByteChannel channel = Channels.newChannel(out)) {
+      writer.writeTo(channel, null);
+    }
+    Assert.assertEquals(writer.getSerializedSize(), out.size());
+
+    // Trailing bytes must be left in the buffer for whatever is serialized after the dictionary.
+    final ByteBuffer buffer = ByteBuffer.allocate(out.size() + 3);
+    buffer.put(out.toByteArray()).put(new byte[]{1, 2, 3});
+    buffer.flip();
+    final FrontCodedIndexed indexed = FrontCodedIndexed.read(buffer);
+    Assert.assertEquals(3, buffer.remaining());
+    return indexed;
+  }
+}
@@ -138,6 +138,15 @@ public class IncrementalIndexTest
                 .buildOffheap(pool1)
         }
     );
+    params.add(
+        new Object[] {
+            (IndexCreator) factories -> new Builder()
+                .setSimpleTestingIndexSchema(factories)
+                .setUseHashedFacts(true)
+                .setMaxRowCount(1000000)
+                .buildOnheap()
+        }
+    );
     params.add(new Object[] {(IndexCreator) IncrementalIndexTest::createNoRollupIndex});
     final CloseableStupidPool<ByteBuffer> pool2 = new CloseableStupidPool<>(
         "OffheapIncrementalIndex-bufferPool",
@@ -109,52 +109,66 @@ public class IncrementalIndexTest
 
     final List<Object[]> constructors = Lists.newArrayList();
     for (final Boolean sortFacts : ImmutableList.of(false, true)) {
-      constructors.add(
-          new Object[]{
-              new IndexCreator()
-              {
-                @Override
-                public IncrementalIndex createIndex()
-                {
-                  return new IncrementalIndex.Builder()
-                      .setIndexSchema(schema)
-                      .setDeserializeComplexMetrics(false)
-                      .setSortFacts(sortFacts)
-                      .setMaxRowCount(1000)
-                      .buildOnheap();
-                }
-              },
-              Closer.create()
-          }
-      );
-      final Closer poolCloser = Closer.create();
-      final CloseableStupidPool<ByteBuffer> stupidPool = new CloseableStupidPool<>(
-          "OffheapIncrementalIndex-bufferPool",
-          () -> ByteBuffer.allocate(256 * 1024)
-      );
-      poolCloser.register(stupidPool);
-      constructors.add(
-          new Object[]{
-              new IndexCreator()
-              {
-                @Override
-                public IncrementalIndex createIndex()
-                {
-                  return new IncrementalIndex.Builder()
-                      .setIndexSchema(schema)
-                      .setSortFacts(sortFacts)
-                      .setMaxRowCount(1000000)
-                      .buildOffheap(stupidPool);
-                }
-              },
-              poolCloser
-          }
-      );
+      for (final Boolean useHashedFacts : ImmutableList.of(false, true)) {
+        addConstructors(constructors, schema, sortFacts, useHashedFacts);
+      }
     }
 
     return constructors;
   }
 
+  private static void addConstructors(
+      final List<Object[]> constructors,
+      final IncrementalIndexSchema schema,
+      final boolean sortFacts,
+      final boolean useHashedFacts
+  )
+  {
+    constructors.add(
+        new Object[]{
+            new IndexCreator()
+            {
+              @Override
+              public IncrementalIndex createIndex()
+              {
+                return new IncrementalIndex.Builder()
+                    .setIndexSchema(schema)
+                    .setDeserializeComplexMetrics(false)
+                    .setSortFacts(sortFacts)
+                    .setUseHashedFacts(useHashedFacts)
+                    .setMaxRowCount(1000)
+                    .buildOnheap();
+              }
+            },
+            Closer.create()
+        }
+    );
+    final Closer poolCloser = Closer.create();
+    final CloseableStupidPool<ByteBuffer> stupidPool = new CloseableStupidPool<>(
+        "OffheapIncrementalIndex-bufferPool",
+        () -> ByteBuffer.allocate(256 * 1024)
+    );
+    poolCloser.register(stupidPool);
+    constructors.add(
+        new Object[]{
+            new IndexCreator()
+            {
+              @Override
+              public IncrementalIndex createIndex()
+              {
+                return new IncrementalIndex.Builder()
+                    .setIndexSchema(schema)
+                    .setSortFacts(sortFacts)
+                    .setUseHashedFacts(useHashedFacts)
+                    .setMaxRowCount(1000000)
+                    .buildOffheap(stupidPool);
+              }
+            },
+            poolCloser
+        }
+    );
+  }
+
   @Test(expected = ISE.class)
   public void testDuplicateDimensions() throws IndexSizeExceededException
   {
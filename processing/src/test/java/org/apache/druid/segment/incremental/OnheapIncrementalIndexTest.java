@@ -20,7 +20,10 @@
 package org.apache.druid.segment.incremental;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import org.apache.druid.data.input.MapBasedInputRow;
+import org.apache.druid.data.input.Row;
 import org.apache.druid.java.util.common.granularity.Granularities;
 import org.apache.druid.query.aggregation.Aggregator;
 import org.apache.druid.query.aggregation.LongMaxAggregator;
@@ -30,6 +33,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -41,6 +45,110 @@ public class OnheapIncrementalIndexTest
 
   @Test
   public void testMultithreadAddFacts() throws Exception
+  {
+    testMultithreadAddFacts(false);
+  }
+
+  @Test
+  public void testMultithreadAddFactsHashed() throws Exception
+  {
+    testMultithreadAddFacts(true);
+  }
+
+  @Test
+  public void testHashedFactsOrdering() throws Exception
+  {
+    final IncrementalIndex index = new IncrementalIndex.Builder()
+        .setIndexSchema(
+            new IncrementalIndexSchema.Builder()
+                .withMetrics(new LongMaxAggregatorFactory("max", "max"))
+                .build()
+        )
+        .setUseHashedFacts(true)
+        .setMaxRowCount(MAX_ROWS)
+        .buildOnheap();
+
+    final Random random = new Random(0);
+    for (int i = 0; i < 1000; i++) {
+      index.add(new MapBasedInputRow(
+          random.nextInt(100),
+          Collections.singletonList("billy"),
+          ImmutableMap.of("billy", random.nextInt(20), "max", i)
+      ));
+      if (i % 300 == 0) {
+        // Interleave sorted reads with ingestion, so that later reads merge new rows into a cached sorted snapshot.
+        assertSorted(index, index.getFacts().persistIterable());
+      }
+    }
+
+    assertSorted(index, index.getFacts().persistIterable());
+    Assert.assertEquals(index.size(), Iterables.size(index.getFacts().keySet()));
+    Assert.assertEquals(0, index.getMinTime().getMillis());
+    Assert.assertEquals(99, index.getMaxTime().getMillis());
+
+    final List<IncrementalIndexRow> range = Lists.newArrayList(index.getFacts().timeRangeIterable(false, 10, 20));
+    assertSorted(index, range);
+    Assert.assertFalse(range.isEmpty());
+    for (IncrementalIndexRow row : range) {
+      Assert.assertTrue(row.getTimestamp() >= 10 && row.getTimestamp() < 20);
+    }
+    Assert.assertEquals(
+        Lists.reverse(range),
+        Lists.newArrayList(index.getFacts().timeRangeIterable(true, 10, 20))
+    );
+    index.close();
+  }
+
+  @Test
+  public void testRollupAfterDimensionDiscovery() throws Exception
+  {
+    testRollupAfterDimensionDiscovery(true, false);
+    testRollupAfterDimensionDiscovery(true, true);
+    testRollupAfterDimensionDiscovery(false, true);
+  }
+
+  private void testRollupAfterDimensionDiscovery(boolean sortFacts, boolean useHashedFacts) throws Exception
+  {
+    final IncrementalIndex<?> index = new IncrementalIndex.Builder()
+        .setIndexSchema(
+            new IncrementalIndexSchema.Builder()
+                .withMetrics(new LongMaxAggregatorFactory("max", "max"))
+                .build()
+        )
+        .setSortFacts(sortFacts)
+        .setUseHashedFacts(useHashedFacts)
+        .setMaxRowCount(MAX_ROWS)
+        .buildOnheap();
+
+    index.add(new MapBasedInputRow(0, Collections.singletonList("billy"), ImmutableMap.of("billy", "A", "max", 1)));
+    // Discovers a new dimension, so that the next row has one more, null, dim than the first one
+    index.add(new MapBasedInputRow(0, Collections.singletonList("joe"), ImmutableMap.of("joe", "B", "max", 2)));
+    index.add(new MapBasedInputRow(0, Collections.singletonList("billy"), ImmutableMap.of("billy", "A", "max", 3)));
+
+    Assert.assertEquals(2, index.size());
+    boolean foundBilly = false;
+    for (Row row : index) {
+      if (row.getDimension("billy").equals(Collections.singletonList("A"))) {
+        Assert.assertEquals(3L, row.getMetric("max").longValue());
+        foundBilly = true;
+      }
+    }
+    Assert.assertTrue(foundBilly);
+    index.close();
+  }
+
+  private static void assertSorted(IncrementalIndex index, Iterable<IncrementalIndexRow> rows)
+  {
+    IncrementalIndexRow prev = null;
+    for (IncrementalIndexRow row : rows) {
+      if (prev != null) {
+        Assert.assertTrue(index.dimsComparator().compare(prev, row) < 0);
+      }
+      prev = row;
+    }
+  }
+
+  private void testMultithreadAddFacts(boolean useHashedFacts) throws Exception
   {
     final IncrementalIndex index = new IncrementalIndex.Builder()
         .setIndexSchema(
@@ -49,6 +157,7 @@ public class OnheapIncrementalIndexTest
                 .withMetrics(new LongMaxAggregatorFactory("max", "max"))
                 .build()
         )
+        .setUseHashedFacts(useHashedFacts)
         .setMaxRowCount(MAX_ROWS)
         .buildOnheap();
 
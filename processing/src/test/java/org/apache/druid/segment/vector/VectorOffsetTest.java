@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.vector;
+
+import org.apache.druid.collections.bitmap.MutableBitmap;
+import org.apache.druid.collections.bitmap.RoaringBitmapFactory;
+import org.apache.druid.collections.bitmap.WrappedImmutableRoaringBitmap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class VectorOffsetTest
+{
+  @Test
+  public void testNoFilterVectorOffset()
+  {
+    final NoFilterVectorOffset offset = new NoFilterVectorOffset(4, 3, 13);
+
+    final List<Integer> starts = new ArrayList<>();
+    final List<Integer> sizes = new ArrayList<>();
+    for (; !offset.isDone(); offset.advance()) {
+      Assert.assertTrue(offset.isContiguous());
+      starts.add(offset.getStartOffset());
+      sizes.add(offset.getCurrentVectorSize());
+    }
+
+    Assert.assertEquals(Arrays.asList(3, 7, 11), starts);
+    Assert.assertEquals(Arrays.asList(4, 4, 2), sizes);
+
+    offset.reset();
+    Assert.assertFalse(offset.isDone());
+    Assert.assertEquals(3, offset.getStartOffset());
+  }
+
+  @Test
+  public void testBitmapVectorOffset()
+  {
+    final RoaringBitmapFactory factory = new RoaringBitmapFactory();
+    final MutableBitmap mutable = factory.makeEmptyMutableBitmap();
+    for (int row : new int[]{1, 2, 4, 8, 9, 10, 15, 20, 21}) {
+      mutable.add(row);
+    }
+    final WrappedImmutableRoaringBitmap bitmap =
+        (WrappedImmutableRoaringBitmap) factory.makeImmutableBitmap(mutable);
+
+    final BitmapVectorOffset offset = new BitmapVectorOffset(3, bitmap, 2, 20);
+
+    final List<Integer> rows = new ArrayList<>();
+    final List<Integer> ids = new ArrayList<>();
+    for (; !offset.isDone(); offset.advance()) {
+      Assert.assertFalse(offset.isContiguous());
+      ids.add(offset.getId());
+      for (int i = 0; i < offset.getCurrentVectorSize(); i++) {
+        rows.add(offset.getOffsets()[i]);
+      }
+    }
+
+    Assert.assertEquals(Arrays.asList(2, 4, 8, 9, 10, 15), rows);
+    Assert.assertEquals(2, ids.size());
+    Assert.assertNotEquals(ids.get(0), ids.get(1));
+
+    offset.reset();
+    Assert.assertEquals(3, offset.getCurrentVectorSize());
+    Assert.assertEquals(2, offset.getOffsets()[0]);
+  }
+}
@@ -39,7 +39,9 @@ import org.apache.druid.client.cache.CacheConfig;
 import org.apache.druid.client.cache.CachePopulator;
 import org.apache.druid.client.selector.QueryableDruidServer;
 import org.apache.druid.client.selector.ServerSelector;
+import org.apache.druid.common.guava.ParallelMergeCombiningSequence;
 import org.apache.druid.guice.annotations.Client;
+import org.apache.druid.guice.annotations.Merging;
 import org.apache.druid.guice.annotations.Smile;
 import org.apache.druid.guice.http.DruidHttpClientConfig;
 import org.apache.druid.java.util.common.Intervals;
@@ -50,9 +52,11 @@ import org.apache.druid.java.util.common.guava.BaseSequence;
 import org.apache.druid.java.util.common.guava.LazySequence;
 import org.apache.druid.java.util.common.guava.Sequence;
 import org.apache.druid.java.util.common.guava.Sequences;
+import org.apache.druid.java.util.common.guava.nary.BinaryFn;
 import org.apache.druid.java.util.emitter.EmittingLogger;
 import org.apache.druid.query.BySegmentResultValueClass;
 import org.apache.druid.query.CacheStrategy;
+import org.apache.druid.query.DruidProcessingConfig;
 import org.apache.druid.query.Query;
 import org.apache.druid.query.QueryContexts;
 import org.apache.druid.query.QueryPlus;
@@ -85,6 +89,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
@@ -93,6 +98,11 @@ import java.util.stream.Collectors;
 public class CachingClusteredClient implements QuerySegmentWalker
 {
   private static final EmittingLogger log = new EmittingLogger(CachingClusteredClient.class);
+  /**
+   * Number of result batches each parallel merge task may buffer before waiting for the consumer.
+   */
+  private static final int PARALLEL_MERGE_QUEUE_CAPACITY = 4;
+
   private final QueryToolChestWarehouse warehouse;
   private final TimelineServerView serverView;
   private final Cache cache;
@@ -100,6 +110,8 @@ public class CachingClusteredClient implements QuerySegmentWalker
   private final CachePopulator cachePopulator;
   private final CacheConfig cacheConfig;
   private final DruidHttpClientConfig httpClientConfig;
+  private final DruidProcessingConfig processingConfig;
+  private final ForkJoinPool pool;
 
   @Inject
   public CachingClusteredClient(
@@ -109,7 +121,9 @@ public class CachingClusteredClient implements QuerySegmentWalker
       @Smile ObjectMapper objectMapper,
       CachePopulator cachePopulator,
       CacheConfig cacheConfig,
-      @Client DruidHttpClientConfig httpClientConfig
+      @Client DruidHttpClientConfig httpClientConfig,
+      DruidProcessingConfig processingConfig,
+      @Merging ForkJoinPool pool
   )
   {
     this.warehouse = warehouse;
@@ -119,6 +133,8 @@ public class CachingClusteredClient implements QuerySegmentWalker
     this.cachePopulator = cachePopulator;
     this.cacheConfig = cacheConfig;
     this.httpClientConfig = httpClientConfig;
+    this.processingConfig = processingConfig;
+    this.pool = pool;
 
     if (cacheConfig.isQueryCacheable(Query.GROUP_BY) && (cacheConfig.isUseCache() || cacheConfig.isPopulateCache())) {
       log.warn(
@@ -284,12 +300,41 @@ public class CachingClusteredClient implements QuerySegmentWalker
         List<Sequence<T>> sequencesByInterval = new ArrayList<>(alreadyCachedResults.size() + segmentsByServer.size());
         addSequencesFromCache(sequencesByInterval, alreadyCachedResults);
         addSequencesFromServer(sequencesByInterval, segmentsByServer);
-        return Sequences
-            .simple(sequencesByInterval)
-            .flatMerge(seq -> seq, query.getResultOrdering());
+        return merge(sequencesByInterval);
       });
     }
 
+    private Sequence<T> merge(List<Sequence<T>> sequencesByInterval)
+    {
+      final BinaryFn<T, T, T> mergeFn = toolChest.createMergeFn(query);
+      final int parallelism = Math.min(
+          QueryContexts.getParallelMergeParallelism(query, processingConfig.getMergePoolDefaultMaxQueryParallelism()),
+          pool.getParallelism()
+      );
+      if (processingConfig.useParallelMergePool()
+          && QueryContexts.getEnableParallelMerges(query)
+          && mergeFn != null
+          && !isBySegment
+          && parallelism > 1
+          && sequencesByInterval.size() > 1) {
+        final Long failTime = query.getContextValue(DirectDruidClient.QUERY_FAIL_TIME);
+        return new ParallelMergeCombiningSequence<>(
+            pool,
+            sequencesByInterval,
+            toolChest.createResultComparator(query),
+            mergeFn,
+            parallelism,
+            QueryContexts.getParallelMergeBatchSize(query, processingConfig.getMergePoolBatchSize()),
+            PARALLEL_MERGE_QUEUE_CAPACITY,
+            QueryContexts.hasTimeout(query) && failTime != null,
+            failTime == null ? 0 : failTime
+        );
+      }
+      return Sequences
+          .simple(sequencesByInterval)
+          .flatMerge(seq -> seq, query.getResultOrdering());
+    }
+
     private Set<ServerToSegment> computeSegmentsToQuery(TimelineLookup<String, ServerSelector> timeline)
     {
       final List<TimelineObjectHolder<String, ServerSelector>> serversLookup = toolChest.filterSegments(
@@ -46,6 +46,8 @@ import org.apache.druid.java.util.http.client.response.HttpResponseHandler;
 import org.apache.druid.java.util.http.client.response.StatusResponseHandler;
 import org.apache.druid.java.util.http.client.response.StatusResponseHolder;
 import org.apache.druid.query.BySegmentResultValueClass;
+import org.apache.druid.query.ColumnarResultFormat;
+import org.apache.druid.query.ColumnarResultSerde;
 import org.apache.druid.query.Query;
 import org.apache.druid.query.QueryContexts;
 import org.apache.druid.query.QueryMetrics;
@@ -169,6 +171,11 @@ public class DirectDruidClient<T> implements QueryRunner<T>
       typesMap.put(query.getClass(), types);
     }
 
+    // Columnar results are only requested over Smile; data nodes fall back to Smile if they can't produce them
+    final ColumnarResultSerde<T> columnarSerde = isSmile && !isBySegment && QueryContexts.isUseColumnarResults(query)
+                                                 ? toolChest.getColumnarResultSerde(query)
+                                                 : null;
+
     final JavaType typeRef;
     if (isBySegment) {
       typeRef = types.rhs;
@@ -469,15 +476,20 @@ public class DirectDruidClient<T> implements QueryRunner<T>
         throw new RE("Query[%s] url[%s] timed out.", query.getId(), url);
       }
 
+      final Request request = new Request(
+          HttpMethod.POST,
+          new URL(url)
+      ).setContent(objectMapper.writeValueAsBytes(QueryContexts.withTimeout(query, timeLeft)))
+       .setHeader(
+           HttpHeaders.Names.CONTENT_TYPE,
+           isSmile ? SmileMediaTypes.APPLICATION_JACKSON_SMILE : MediaType.APPLICATION_JSON
+       );
+      if (columnarSerde != null) {
+        request.setHeader(HttpHeaders.Names.ACCEPT, ColumnarResultFormat.CONTENT_TYPE);
+      }
+
       future = httpClient.go(
-          new Request(
-              HttpMethod.POST,
-              new URL(url)
-          ).setContent(objectMapper.writeValueAsBytes(QueryContexts.withTimeout(query, timeLeft)))
-           .setHeader(
-               HttpHeaders.Names.CONTENT_TYPE,
-               isSmile ? SmileMediaTypes.APPLICATION_JACKSON_SMILE : MediaType.APPLICATION_JSON
-           ),
+          request,
           responseHandler,
           Duration.millis(timeLeft)
       );
@@ -502,20 +514,7 @@ public class DirectDruidClient<T> implements QueryRunner<T>
               if (future.isCancelled()) {
                 // forward the cancellation to underlying queriable node
                 try {
-                  StatusResponseHolder res = httpClient.go(
-                      new Request(
-                          HttpMethod.DELETE,
-                          new URL(cancelUrl)
-                      ).setContent(objectMapper.writeValueAsBytes(query))
-                       .setHeader(
-                           HttpHeaders.Names.CONTENT_TYPE,
-                           isSmile
-                           ? SmileMediaTypes.APPLICATION_JACKSON_SMILE
-                           : MediaType.APPLICATION_JSON
-                       ),
-                      new StatusResponseHandler(StandardCharsets.UTF_8),
-                      Duration.standardSeconds(1)
-                  ).get(1, TimeUnit.SECONDS);
+                  StatusResponseHolder res = cancelQuery(query, cancelUrl).get(1, TimeUnit.SECONDS);
 
                   if (res.getStatus().getCode() >= 500) {
                     throw new RE(
@@ -543,13 +542,47 @@ public class DirectDruidClient<T> implements QueryRunner<T>
           @Override
           public JsonParserIterator<T> make()
           {
-            return new JsonParserIterator<T>(typeRef, future, url, query, host, objectMapper);
+            return new JsonParserIterator<T>(typeRef, future, url, query, host, objectMapper, columnarSerde);
           }
 
           @Override
           public void cleanup(JsonParserIterator<T> iterFromMake)
           {
             CloseQuietly.close(iterFromMake);
+            if (iterFromMake.isAbandoned()) {
+              // The caller stopped reading before the data node was done, e.g. because a limit was satisfied by
+              // results from this or other servers. Don't let the data node keep scanning segments for nothing.
+              log.debug("Cancelling abandoned queryId[%s] on url[%s]", query.getId(), cancelUrl);
+              try {
+                Futures.addCallback(
+                    cancelQuery(query, cancelUrl),
+                    new FutureCallback<StatusResponseHolder>()
+                    {
+                      @Override
+                      public void onSuccess(StatusResponseHolder res)
+                      {
+                        if (res.getStatus().getCode() >= 500) {
+                          log.warn(
+                              "Error cancelling query[%s]: queriable node returned status[%d] [%s].",
+                              query.getId(),
+                              res.getStatus().getCode(),
+                              res.getStatus().getReasonPhrase()
+                          );
+                        }
+                      }
+
+                      @Override
+                      public void onFailure(Throwable t)
+                      {
+                        log.warn(t, "Error cancelling query[%s] on url[%s].", query.getId(), cancelUrl);
+                      }
+                    }
+                );
+              }
+              catch (IOException e) {
+                log.warn(e, "Error cancelling query[%s] on url[%s].", query.getId(), cancelUrl);
+              }
+            }
           }
         }
     );
@@ -569,6 +602,24 @@ public class DirectDruidClient<T> implements QueryRunner<T>
     return retVal;
   }
 
+  private ListenableFuture<StatusResponseHolder> cancelQuery(Query<?> query, String cancelUrl) throws IOException
+  {
+    return httpClient.go(
+        new Request(
+            HttpMethod.DELETE,
+            new URL(cancelUrl)
+        ).setContent(objectMapper.writeValueAsBytes(query))
+         .setHeader(
+             HttpHeaders.Names.CONTENT_TYPE,
+             isSmile
+             ? SmileMediaTypes.APPLICATION_JACKSON_SMILE
+             : MediaType.APPLICATION_JSON
+         ),
+        new StatusResponseHandler(StandardCharsets.UTF_8),
+        Duration.standardSeconds(1)
+    );
+  }
+
   @Override
   public String toString()
   {
@@ -28,21 +28,31 @@ import com.google.common.base.Throwables;
 import org.apache.druid.java.util.common.IAE;
 import org.apache.druid.java.util.common.RE;
 import org.apache.druid.java.util.common.guava.CloseQuietly;
+import org.apache.druid.query.ColumnarResultFormat;
+import org.apache.druid.query.ColumnarResultSerde;
 import org.apache.druid.query.Query;
 import org.apache.druid.query.QueryInterruptedException;
 import org.apache.druid.query.ResourceLimitExceededException;
 
+import javax.annotation.Nullable;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
 import java.util.Iterator;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
+/**
+ * Iterates over the results returned by a data node. Responses are parsed as JSON or Smile, or, if a
+ * {@link ColumnarResultSerde} is given and the response starts with {@link ColumnarResultFormat#MAGIC}, decoded from
+ * the columnar format.
+ */
 public class JsonParserIterator<T> implements Iterator<T>, Closeable
 {
   private JsonParser jp;
+  private ColumnarResultFormat.Reader<T> columnarReader;
   private ObjectCodec objectCodec;
   private final JavaType typeRef;
   private final Future<InputStream> future;
@@ -50,6 +60,10 @@ public class JsonParserIterator<T> implements Iterator<T>, Closeable
   private final String url;
   private final String host;
   private final ObjectMapper objectMapper;
+  @Nullable
+  private final ColumnarResultSerde<T> columnarSerde;
+  private boolean started = false;
+  private boolean finished = false;
 
   public JsonParserIterator(
       JavaType typeRef,
@@ -59,6 +73,19 @@ public class JsonParserIterator<T> implements Iterator<T>, Closeable
       String host,
       ObjectMapper objectMapper
   )
+  {
+    this(typeRef, future, url, query, host, objectMapper, null);
+  }
+
+  public JsonParserIterator(
+      JavaType typeRef,
+      Future<InputStream> future,
+      String url,
+      Query<T> query,
+      String host,
+      ObjectMapper objectMapper,
+      @Nullable ColumnarResultSerde<T> columnarSerde
+  )
   {
     this.typeRef = typeRef;
     this.future = future;
@@ -67,6 +94,7 @@ public class JsonParserIterator<T> implements Iterator<T>, Closeable
     jp = null;
     this.host = host;
     this.objectMapper = objectMapper;
+    this.columnarSerde = columnarSerde;
   }
 
   @Override
@@ -74,22 +102,40 @@ public class JsonParserIterator<T> implements Iterator<T>, Closeable
   {
     init();
 
+    if (columnarReader != null) {
+      finished = !columnarReader.hasNext();
+      return !finished;
+    }
     if (jp.isClosed()) {
+      finished = true;
       return false;
     }
     if (jp.getCurrentToken() == JsonToken.END_ARRAY) {
       CloseQuietly.close(jp);
+      finished = true;
       return false;
     }
 
     return true;
   }
 
+  /**
+   * Returns true if the data node started sending results but they were not read to the end, for example because the
+   * consumer closed this iterator once it had seen enough rows. The query may still be running on the data node.
+   */
+  public boolean isAbandoned()
+  {
+    return started && !finished;
+  }
+
   @Override
   public T next()
   {
     init();
 
+    if (columnarReader != null) {
+      return columnarReader.next();
+    }
     try {
       final T retVal = objectCodec.readValue(jp, typeRef);
       jp.nextToken();
@@ -108,7 +154,7 @@ public class JsonParserIterator<T> implements Iterator<T>, Closeable
 
   private void init()
   {
-    if (jp == null) {
+    if (jp == null && columnarReader == null) {
       try {
         InputStream is = future.get();
         if (is == null) {
@@ -120,6 +166,18 @@ public class JsonParserIterator<T> implements Iterator<T>, Closeable
               ),
               host
           );
+        } else if (columnarSerde != null) {
+          final PushbackInputStream pushbackStream = new PushbackInputStream(is);
+          final int firstByte = pushbackStream.read();
+          if (firstByte >= 0) {
+            pushbackStream.unread(firstByte);
+          }
+          if ((byte) firstByte == ColumnarResultFormat.MAGIC) {
+            columnarReader = new ColumnarResultFormat.Reader<>(pushbackStream, columnarSerde, objectMapper);
+            started = true;
+            return;
+          }
+          jp = objectMapper.getFactory().createParser(pushbackStream);
         } else {
           jp = objectMapper.getFactory().createParser(is);
         }
@@ -132,6 +190,7 @@ public class JsonParserIterator<T> implements Iterator<T>, Closeable
         } else {
           jp.nextToken();
           objectCodec = jp.getCodec();
+          started = true;
         }
       }
       catch (IOException | InterruptedException | ExecutionException e) {
@@ -155,6 +214,9 @@ public class JsonParserIterator<T> implements Iterator<T>, Closeable
     if (jp != null) {
       jp.close();
     }
+    if (columnarReader != null) {
+      columnarReader.close();
+    }
   }
 }
 
@@ -0,0 +1,471 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.client.cache;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.apache.druid.common.utils.VMUtils;
+import org.apache.druid.java.util.emitter.service.ServiceEmitter;
+import org.apache.druid.java.util.emitter.service.ServiceMetricEvent;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A local cache that keeps values outside of the Java heap, so that it can be sized independently of -Xmx.
+ *
+ * Memory is allocated lazily in direct "slabs" of {@link OffHeapCacheConfig#getSlabSizeBytes()}, which are carved
+ * into fixed-size blocks. Each value is LZ4-compressed and stored in as many blocks as it needs, so entries never
+ * need contiguous memory and freed blocks are reused without fragmentation. Only keys and block lists stay on heap.
+ *
+ * Eviction is a segmented LRU: new entries go to a probation segment, and are promoted to a protected segment when
+ * they are read again. When memory runs out, entries are evicted from the probation segment first, so a burst of
+ * one-off results doesn't push out results that are read repeatedly. The protected segment is bounded to
+ * {@link OffHeapCacheConfig#getProtectedRatio()} of the capacity; its least recently used entries are demoted back
+ * to probation.
+ *
+ * Keys are spread by hash over {@link OffHeapCacheConfig#getNumStripes()} stripes. Each stripe owns an equal share of
+ * the capacity, with its own slabs, free blocks and segmented LRU, behind its own lock, so operations on keys of
+ * different stripes never wait for each other. Compression and decompression happen outside the locks.
+ */
+public class OffHeapCache implements Cache
+{
+  private static final long MAX_DEFAULT_BYTES = 1024L * 1024 * 1024;
+  private static final LZ4Factory LZ4_FACTORY = LZ4Factory.fastestInstance();
+  private static final LZ4FastDecompressor LZ4_DECOMPRESSOR = LZ4_FACTORY.fastDecompressor();
+  private static final LZ4Compressor LZ4_COMPRESSOR = LZ4_FACTORY.fastCompressor();
+
+  private final OffHeapCacheConfig config;
+  private final int blockSize;
+  private final int blocksPerSlab;
+  private final Stripe[] stripes;
+
+  private volatile long priorEvictionBytes = 0;
+  private volatile long priorRejectedCount = 0;
+
+  public static OffHeapCache create(final OffHeapCacheConfig config)
+  {
+    return new OffHeapCache(config, config.getSizeInBytes() >= 0 ? config.getSizeInBytes() : defaultSizeInBytes());
+  }
+
+  private static long defaultSizeInBytes()
+  {
+    try {
+      return Math.min(MAX_DEFAULT_BYTES, VMUtils.getMaxDirectMemory() / 10);
+    }
+    catch (UnsupportedOperationException e) {
+      return MAX_DEFAULT_BYTES;
+    }
+  }
+
+  @VisibleForTesting
+  OffHeapCache(final OffHeapCacheConfig config, final long capacityBytes)
+  {
+    Preconditions.checkArgument(config.getBlockSizeBytes() > 0, "blockSizeBytes must be positive");
+    Preconditions.checkArgument(
+        config.getSlabSizeBytes() >= config.getBlockSizeBytes(),
+        "slabSizeBytes[%s] must not be smaller than blockSizeBytes[%s]",
+        config.getSlabSizeBytes(),
+        config.getBlockSizeBytes()
+    );
+    Preconditions.checkArgument(
+        config.getProtectedRatio() >= 0 && config.getProtectedRatio() < 1,
+        "protectedRatio[%s] must be in [0, 1)",
+        config.getProtectedRatio()
+    );
+    Preconditions.checkArgument(config.getNumStripes() > 0, "numStripes must be positive");
+    this.config = config;
+    this.blockSize = config.getBlockSizeBytes();
+    this.blocksPerSlab = config.getSlabSizeBytes() / blockSize;
+
+    final int maxBlocks = (int) Math.min(Integer.MAX_VALUE, capacityBytes / blockSize);
+    // Every stripe gets at least one block, unless there are none to give.
+    this.stripes = new Stripe[Math.max(1, Math.min(config.getNumStripes(), maxBlocks))];
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new Stripe(maxBlocks / stripes.length + (i < maxBlocks % stripes.length ? 1 : 0));
+    }
+  }
+
+  @Nullable
+  @Override
+  public byte[] get(NamedKey key)
+  {
+    return deserialize(stripeFor(key).read(key));
+  }
+
+  @Override
+  public void put(NamedKey key, byte[] value)
+  {
+    stripeFor(key).put(key, serialize(value));
+  }
+
+  @Override
+  public Map<NamedKey, byte[]> getBulk(Iterable<NamedKey> keys)
+  {
+    final Map<NamedKey, byte[]> results = new HashMap<>();
+    for (NamedKey key : keys) {
+      final byte[] value = stripeFor(key).read(key);
+      if (value != null) {
+        results.put(key, deserialize(value));
+      }
+    }
+    return results;
+  }
+
+  @Override
+  public void close(String namespace)
+  {
+    if (config.isEvictOnClose()) {
+      for (Stripe stripe : stripes) {
+        stripe.removeNamespace(namespace);
+      }
+    }
+  }
+
+  @Override
+  public CacheStats getStats()
+  {
+    long hitCount = 0;
+    long missCount = 0;
+    long numEntries = 0;
+    long sizeInBytes = 0;
+    long evictionCount = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe.lock) {
+        hitCount += stripe.hitCount;
+        missCount += stripe.missCount;
+        numEntries += stripe.probation.size() + stripe.protectedSegment.size();
+        sizeInBytes += stripe.sizeInBytes;
+        evictionCount += stripe.evictionCount;
+      }
+    }
+    return new CacheStats(hitCount, missCount, numEntries, sizeInBytes, evictionCount, 0, 0);
+  }
+
+  @Override
+  public boolean isLocal()
+  {
+    return true;
+  }
+
+  @Override
+  public void doMonitor(ServiceEmitter emitter)
+  {
+    long allocatedBytes = 0;
+    long freeBytes = 0;
+    long protectedBytes = 0;
+    long currEvictionBytes = 0;
+    long currRejectedCount = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe.lock) {
+        allocatedBytes += (long) stripe.allocatedBlocks * blockSize;
+        freeBytes += (long) (stripe.maxBlocks - stripe.allocatedBlocks + stripe.freeBlocks.size()) * blockSize;
+        protectedBytes += (long) stripe.protectedBlocks * blockSize;
+        currEvictionBytes += stripe.evictionBytes;
+        currRejectedCount += stripe.rejectedCount;
+      }
+    }
+
+    final ServiceMetricEvent.Builder builder = ServiceMetricEvent.builder();
+    emitter.emit(builder.build("query/cache/offHeap/total/allocatedBytes", allocatedBytes));
+    emitter.emit(builder.build("query/cache/offHeap/total/freeBytes", freeBytes));
+    emitter.emit(builder.build("query/cache/offHeap/total/protectedBytes", protectedBytes));
+    emitter.emit(builder.build("query/cache/offHeap/delta/evictionBytes", currEvictionBytes - priorEvictionBytes));
+    emitter.emit(builder.build("query/cache/offHeap/total/evictionBytes", currEvictionBytes));
+    emitter.emit(builder.build("query/cache/offHeap/delta/rejected", currRejectedCount - priorRejectedCount));
+    emitter.emit(builder.build("query/cache/offHeap/total/rejected", currRejectedCount));
+    priorEvictionBytes = currEvictionBytes;
+    priorRejectedCount = currRejectedCount;
+  }
+
+  @VisibleForTesting
+  int getProtectedEntryCount()
+  {
+    int count = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe.lock) {
+        count += stripe.protectedSegment.size();
+      }
+    }
+    return count;
+  }
+
+  @VisibleForTesting
+  int getNumStripes()
+  {
+    return stripes.length;
+  }
+
+  private Stripe stripeFor(NamedKey key)
+  {
+    final int hash = key.hashCode();
+    // Spread the high bits into the low ones, since stripe counts are usually powers of two.
+    return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+  }
+
+  @Nullable
+  private static byte[] deserialize(@Nullable byte[] bytes)
+  {
+    if (bytes == null) {
+      return null;
+    }
+    final int decompressedLen = ByteBuffer.wrap(bytes).getInt();
+    final byte[] out = new byte[decompressedLen];
+    LZ4_DECOMPRESSOR.decompress(bytes, Integer.BYTES, out, 0, out.length);
+    return out;
+  }
+
+  private static byte[] serialize(byte[] value)
+  {
+    final int len = LZ4_COMPRESSOR.maxCompressedLength(value.length);
+    final byte[] out = new byte[len];
+    final int compressedSize = LZ4_COMPRESSOR.compress(value, 0, value.length, out, 0);
+    return ByteBuffer.allocate(compressedSize + Integer.BYTES)
+                     .putInt(value.length)
+                     .put(out, 0, compressedSize)
+                     .array();
+  }
+
+  /**
+   * One independently locked share of the cache: its own slabs, free blocks and segmented LRU.
+   */
+  private class Stripe
+  {
+    private final int maxBlocks;
+    private final int maxProtectedBlocks;
+
+    private final Object lock = new Object();
+    @GuardedBy("lock")
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    @GuardedBy("lock")
+    private final IntArrayList freeBlocks = new IntArrayList();
+    @GuardedBy("lock")
+    private final LinkedHashMap<NamedKey, Entry> probation = new LinkedHashMap<>(16, 0.75f, true);
+    @GuardedBy("lock")
+    private final LinkedHashMap<NamedKey, Entry> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+    @GuardedBy("lock")
+    private int allocatedBlocks = 0;
+    @GuardedBy("lock")
+    private int protectedBlocks = 0;
+    @GuardedBy("lock")
+    private long sizeInBytes = 0;
+    @GuardedBy("lock")
+    private long hitCount = 0;
+    @GuardedBy("lock")
+    private long missCount = 0;
+    @GuardedBy("lock")
+    private long evictionCount = 0;
+    @GuardedBy("lock")
+    private long evictionBytes = 0;
+    @GuardedBy("lock")
+    private long rejectedCount = 0;
+
+    private Stripe(int maxBlocks)
+    {
+      this.maxBlocks = maxBlocks;
+      this.maxProtectedBlocks = (int) (maxBlocks * config.getProtectedRatio());
+    }
+
+    @Nullable
+    private byte[] read(NamedKey key)
+    {
+      synchronized (lock) {
+        Entry entry = protectedSegment.get(key);
+        if (entry == null) {
+          entry = probation.remove(key);
+          if (entry == null) {
+            missCount++;
+            return null;
+          }
+          promote(key, entry);
+        }
+        hitCount++;
+
+        final byte[] bytes = new byte[entry.length];
+        int offset = 0;
+        for (int block : entry.blocks) {
+          final int length = Math.min(blockSize, entry.length - offset);
+          final ByteBuffer slab = slabs.get(block / blocksPerSlab);
+          slab.position((block % blocksPerSlab) * blockSize);
+          slab.get(bytes, offset, length);
+          offset += length;
+        }
+        return bytes;
+      }
+    }
+
+    private void put(NamedKey key, byte[] compressed)
+    {
+      final int numBlocks = (compressed.length + blockSize - 1) / blockSize;
+      synchronized (lock) {
+        remove(key);
+        if (numBlocks > maxBlocks) {
+          rejectedCount++;
+          return;
+        }
+        while (freeBlocks.size() < numBlocks) {
+          if (allocatedBlocks < maxBlocks) {
+            allocateSlab();
+          } else {
+            evictOne();
+          }
+        }
+
+        final int[] blocks = new int[numBlocks];
+        for (int i = 0; i < numBlocks; i++) {
+          blocks[i] = freeBlocks.popInt();
+        }
+        write(blocks, compressed);
+        probation.put(key, new Entry(blocks, compressed.length));
+        sizeInBytes += compressed.length;
+      }
+    }
+
+    private void removeNamespace(String namespace)
+    {
+      synchronized (lock) {
+        removeNamespace(probation, namespace);
+        removeNamespace(protectedSegment, namespace);
+      }
+    }
+
+    @GuardedBy("lock")
+    private void write(int[] blocks, byte[] bytes)
+    {
+      int offset = 0;
+      for (int block : blocks) {
+        final int length = Math.min(blockSize, bytes.length - offset);
+        final ByteBuffer slab = slabs.get(block / blocksPerSlab);
+        slab.position((block % blocksPerSlab) * blockSize);
+        slab.put(bytes, offset, length);
+        offset += length;
+      }
+    }
+
+    @GuardedBy("lock")
+    private void promote(NamedKey key, Entry entry)
+    {
+      protectedSegment.put(key, entry);
+      protectedBlocks += entry.blocks.length;
+      final Iterator<Map.Entry<NamedKey, Entry>> it = protectedSegment.entrySet().iterator();
+      while (protectedBlocks > maxProtectedBlocks && it.hasNext()) {
+        final Map.Entry<NamedKey, Entry> eldest = it.next();
+        if (eldest.getKey().equals(key)) {
+          // Never demote the entry that is being read; it would be the only one left anyway.
+          continue;
+        }
+        it.remove();
+        protectedBlocks -= eldest.getValue().blocks.length;
+        probation.put(eldest.getKey(), eldest.getValue());
+      }
+    }
+
+    @GuardedBy("lock")
+    private void allocateSlab()
+    {
+      final int firstBlock = slabs.size() * blocksPerSlab;
+      final int numBlocks = Math.min(blocksPerSlab, maxBlocks - allocatedBlocks);
+      slabs.add(ByteBuffer.allocateDirect(numBlocks * blockSize));
+      // Push in reverse so that blocks are handed out in address order.
+      for (int i = numBlocks - 1; i >= 0; i--) {
+        freeBlocks.push(firstBlock + i);
+      }
+      allocatedBlocks += numBlocks;
+    }
+
+    @GuardedBy("lock")
+    private void evictOne()
+    {
+      final LinkedHashMap<NamedKey, Entry> segment = probation.isEmpty() ? protectedSegment : probation;
+      final Iterator<Map.Entry<NamedKey, Entry>> it = segment.entrySet().iterator();
+      final Map.Entry<NamedKey, Entry> eldest = it.next();
+      it.remove();
+      if (segment == protectedSegment) {
+        protectedBlocks -= eldest.getValue().blocks.length;
+      }
+      release(eldest.getValue());
+      evictionCount++;
+      evictionBytes += eldest.getValue().length;
+    }
+
+    @GuardedBy("lock")
+    private void remove(NamedKey key)
+    {
+      Entry entry = probation.remove(key);
+      if (entry == null) {
+        entry = protectedSegment.remove(key);
+        if (entry != null) {
+          protectedBlocks -= entry.blocks.length;
+        }
+      }
+      if (entry != null) {
+        release(entry);
+      }
+    }
+
+    @GuardedBy("lock")
+    private void removeNamespace(LinkedHashMap<NamedKey, Entry> segment, String namespace)
+    {
+      final Iterator<Map.Entry<NamedKey, Entry>> it = segment.entrySet().iterator();
+      while (it.hasNext()) {
+        final Map.Entry<NamedKey, Entry> entry = it.next();
+        if (entry.getKey().namespace.equals(namespace)) {
+          it.remove();
+          if (segment == protectedSegment) {
+            protectedBlocks -= entry.getValue().blocks.length;
+          }
+          release(entry.getValue());
+        }
+      }
+    }
+
+    @GuardedBy("lock")
+    private void release(Entry entry)
+    {
+      for (int block : entry.blocks) {
+        freeBlocks.push(block);
+      }
+      sizeInBytes -= entry.length;
+    }
+  }
+
+  private static class Entry
+  {
+    private final int[] blocks;
+    private final int length;
+
+    Entry(int[] blocks, int length)
+    {
+      this.blocks = blocks;
+      this.length = length;
+    }
+  }
+}
@@ -48,11 +48,14 @@ import org.apache.druid.query.DruidProcessingConfig;
 import org.apache.druid.query.ExecutorServiceMonitor;
 import org.apache.druid.query.MetricsEmittingExecutorService;
 import org.apache.druid.query.PrioritizedExecutorService;
+import org.apache.druid.query.groupby.epinephelinae.MergeBufferAllocator;
 import org.apache.druid.server.metrics.MetricsModule;
 
 import java.nio.ByteBuffer;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 /**
  */
@@ -135,23 +138,66 @@ public class DruidProcessingModule implements Module
     );
   }
 
+  @Provides
+  @LazySingleton
+  public MergeBufferAllocator getMergeBufferAllocator(DruidProcessingConfig config)
+  {
+    return new MergeBufferAllocator(config.extraMergeBufferSizeBytes());
+  }
+
+  @Provides
+  @LazySingleton
+  @Merging
+  public ForkJoinPool getMergeProcessingPool(DruidProcessingConfig config, Lifecycle lifecycle)
+  {
+    final ForkJoinPool pool = new ForkJoinPool(
+        config.getMergePoolParallelism(),
+        new MergePoolThreadFactory(),
+        (thread, e) -> log.error(e, "Unhandled exception in thread [%s]", thread),
+        true
+    );
+    try {
+      lifecycle.addMaybeStartHandler(
+          new Lifecycle.Handler()
+          {
+            @Override
+            public void start()
+            {
+            }
+
+            @Override
+            public void stop()
+            {
+              pool.shutdownNow();
+            }
+          }
+      );
+    }
+    catch (Exception e) {
+      throw new ProvisionException("Failed to register merge pool", e);
+    }
+    return pool;
+  }
+
   private void verifyDirectMemory(DruidProcessingConfig config)
   {
     try {
       final long maxDirectMemory = VMUtils.getMaxDirectMemory();
       final long memoryNeeded = (long) config.intermediateComputeSizeBytes() *
-                                (config.getNumMergeBuffers() + config.getNumThreads() + 1);
+                                (config.getNumMergeBuffers() + config.getNumThreads() + 1)
+                                + config.extraMergeBufferSizeBytes();
 
       if (maxDirectMemory < memoryNeeded) {
         throw new ProvisionException(
             StringUtils.format(
-                "Not enough direct memory.  Please adjust -XX:MaxDirectMemorySize, druid.processing.buffer.sizeBytes, druid.processing.numThreads, or druid.processing.numMergeBuffers: "
-                + "maxDirectMemory[%,d], memoryNeeded[%,d] = druid.processing.buffer.sizeBytes[%,d] * (druid.processing.numMergeBuffers[%,d] + druid.processing.numThreads[%,d] + 1)",
+                "Not enough direct memory.  Please adjust -XX:MaxDirectMemorySize, druid.processing.buffer.sizeBytes, druid.processing.numThreads, druid.processing.numMergeBuffers, or druid.processing.extraMergeBufferSizeBytes: "
+                + "maxDirectMemory[%,d], memoryNeeded[%,d] = druid.processing.buffer.sizeBytes[%,d] * (druid.processing.numMergeBuffers[%,d] + druid.processing.numThreads[%,d] + 1) + druid.processing.extraMergeBufferSizeBytes[%,d]",
                 maxDirectMemory,
                 memoryNeeded,
                 config.intermediateComputeSizeBytes(),
                 config.getNumMergeBuffers(),
-                config.getNumThreads()
+                config.getNumThreads(),
+                config.extraMergeBufferSizeBytes()
             )
         );
       }
@@ -163,4 +209,15 @@ public class DruidProcessingModule implements Module
       );
     }
   }
+
+  private static class MergePoolThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory
+  {
+    @Override
+    public ForkJoinWorkerThread newThread(ForkJoinPool pool)
+    {
+      final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName(StringUtils.format("processing-merge-pool-%d", thread.getPoolIndex()));
+      return thread;
+    }
+  }
 }
@@ -34,6 +34,7 @@ import org.apache.druid.java.util.common.concurrent.ExecutorServiceConfig;
 import org.apache.druid.java.util.common.logger.Logger;
 import org.apache.druid.query.DruidProcessingConfig;
 import org.apache.druid.query.ExecutorServiceMonitor;
+import org.apache.druid.query.groupby.epinephelinae.MergeBufferAllocator;
 import org.apache.druid.server.metrics.MetricsModule;
 
 import java.nio.ByteBuffer;
@@ -88,4 +89,11 @@ public class RouterProcessingModule implements Module
     }
     return DummyBlockingPool.instance();
   }
+
+  @Provides
+  @LazySingleton
+  public MergeBufferAllocator getMergeBufferAllocator()
+  {
+    return new MergeBufferAllocator(0);
+  }
 }
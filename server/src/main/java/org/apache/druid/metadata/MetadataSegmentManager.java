@@ -25,6 +25,7 @@ import org.joda.time.Interval;
 import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  */
@@ -62,4 +63,15 @@ public interface MetadataSegmentManager
   );
 
   void poll();
+
+  /**
+   * Returns the names of the datasources whose used segments were added or removed since the previous call of this
+   * method, and forgets them. Returns null if this manager doesn't track changes, in which case any datasource may
+   * have changed.
+   */
+  @Nullable
+  default Set<String> drainChangedDataSources()
+  {
+    return null;
+  }
 }
@@ -22,6 +22,8 @@ package org.apache.druid.metadata;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.joda.time.Period;
 
+import javax.annotation.Nullable;
+
 /**
  */
 public class MetadataSegmentManagerConfig
@@ -29,8 +31,22 @@ public class MetadataSegmentManagerConfig
   @JsonProperty
   private Period pollDuration = new Period("PT1M");
 
+  @JsonProperty
+  @Nullable
+  private Period fullPollDuration = null;
+
   public Period getPollDuration()
   {
     return pollDuration;
   }
+
+  /**
+   * How often polls read the payloads of all used segments. Other polls only read the payloads of new segments. If
+   * null, all polls read all payloads.
+   */
+  @Nullable
+  public Period getFullPollDuration()
+  {
+    return fullPollDuration;
+  }
 }
@@ -45,18 +45,21 @@ import org.apache.druid.timeline.VersionedIntervalTimeline;
 import org.apache.druid.timeline.partition.PartitionChunk;
 import org.joda.time.Duration;
 import org.joda.time.Interval;
+import org.joda.time.Period;
 import org.skife.jdbi.v2.BaseResultSetMapper;
 import org.skife.jdbi.v2.Batch;
 import org.skife.jdbi.v2.FoldController;
 import org.skife.jdbi.v2.Folder3;
 import org.skife.jdbi.v2.Handle;
 import org.skife.jdbi.v2.IDBI;
+import org.skife.jdbi.v2.Query;
 import org.skife.jdbi.v2.StatementContext;
 import org.skife.jdbi.v2.TransactionCallback;
 import org.skife.jdbi.v2.TransactionStatus;
 import org.skife.jdbi.v2.tweak.HandleCallback;
 import org.skife.jdbi.v2.tweak.ResultSetMapper;
 import org.skife.jdbi.v2.util.ByteArrayMapper;
+import org.skife.jdbi.v2.util.StringMapper;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
@@ -64,9 +67,12 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -74,6 +80,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  */
@@ -81,6 +88,7 @@ import java.util.stream.Collectors;
 public class SQLMetadataSegmentManager implements MetadataSegmentManager
 {
   private static final EmittingLogger log = new EmittingLogger(SQLMetadataSegmentManager.class);
+  private static final int READ_SEGMENTS_BATCH_SIZE = 100;
 
   /**
    * Use to synchronize {@link #start()}, {@link #stop()}, {@link #poll()}, and {@link #isStarted()}. These methods
@@ -99,6 +107,11 @@ public class SQLMetadataSegmentManager implements MetadataSegmentManager
   private final AtomicReference<ConcurrentHashMap<String, DruidDataSource>> dataSourcesRef;
   private final SQLMetadataConnector connector;
 
+  /**
+   * Names of the datasources whose used segments changed since the last call of {@link #drainChangedDataSources()}.
+   */
+  private final Set<String> changedDataSources = ConcurrentHashMap.newKeySet();
+
   /** The number of times this SQLMetadataSegmentManager was started. */
   private long startCount = 0;
   /**
@@ -115,6 +128,13 @@ public class SQLMetadataSegmentManager implements MetadataSegmentManager
   private long currentStartOrder = -1;
   private ScheduledExecutorService exec = null;
 
+  /**
+   * {@link System#nanoTime()} at the start of the last full poll, or null if the next poll must be a full one, see
+   * {@link MetadataSegmentManagerConfig#getFullPollDuration()}.
+   */
+  @Nullable
+  private volatile Long lastFullPollNs = null;
+
   @Inject
   public SQLMetadataSegmentManager(
       ObjectMapper jsonMapper,
@@ -200,6 +220,7 @@ public class SQLMetadataSegmentManager implements MetadataSegmentManager
       } while (!dataSourcesRef.compareAndSet(current, emptyMap));
 
       currentStartOrder = -1;
+      lastFullPollNs = null;
       exec.shutdownNow();
       exec = null;
     }
@@ -326,6 +347,7 @@ public class SQLMetadataSegmentManager implements MetadataSegmentManager
       );
 
       dataSourcesRef.get().remove(ds);
+      changedDataSources.add(ds);
 
       if (removed == 0) {
         return false;
@@ -359,6 +381,7 @@ public class SQLMetadataSegmentManager implements MetadataSegmentManager
           dataSourceMap.remove(ds);
         }
       }
+      changedDataSources.add(ds);
 
       if (removed == 0) {
         return false;
@@ -437,96 +460,273 @@ public class SQLMetadataSegmentManager implements MetadataSegmentManager
   public void poll()
   {
     try {
-      ConcurrentHashMap<String, DruidDataSource> newDataSources = new ConcurrentHashMap<>();
+      final long pollStartNs = System.nanoTime();
+      final boolean fullPoll = isFullPollDue(pollStartNs);
+      final ConcurrentHashMap<String, DruidDataSource> newDataSources =
+          fullPoll ? pollAllSegments() : pollNewSegments();
+      if (newDataSources == null) {
+        return;
+      }
+      if (fullPoll) {
+        lastFullPollNs = pollStartNs;
+      }
 
-      log.debug("Starting polling of segment table");
+      ConcurrentHashMap<String, DruidDataSource> current;
+      do {
+        current = dataSourcesRef.get();
+      } while (!dataSourcesRef.compareAndSet(current, newDataSources));
 
-      // some databases such as PostgreSQL require auto-commit turned off
-      // to stream results back, enabling transactions disables auto-commit
-      //
-      // setting connection to read-only will allow some database such as MySQL
-      // to automatically use read-only transaction mode, further optimizing the query
-      final List<DataSegment> segments = connector.inReadOnlyTransaction(
-          new TransactionCallback<List<DataSegment>>()
+      addChangedDataSources(current, newDataSources);
+    }
+    catch (Exception e) {
+      log.makeAlert(e, "Problem polling DB.").emit();
+    }
+  }
+
+  private boolean isFullPollDue(final long nowNs)
+  {
+    final Period fullPollDuration = config.get().getFullPollDuration();
+    final Long lastFullPollNs = this.lastFullPollNs;
+    if (fullPollDuration == null || lastFullPollNs == null) {
+      return true;
+    }
+    return nowNs - lastFullPollNs >= TimeUnit.MILLISECONDS.toNanos(fullPollDuration.toStandardDuration().getMillis());
+  }
+
+  /**
+   * Reads the payloads of all used segments, returns null if there are none.
+   */
+  @Nullable
+  private ConcurrentHashMap<String, DruidDataSource> pollAllSegments()
+  {
+    log.debug("Starting polling of segment table");
+
+    // some databases such as PostgreSQL require auto-commit turned off
+    // to stream results back, enabling transactions disables auto-commit
+    //
+    // setting connection to read-only will allow some database such as MySQL
+    // to automatically use read-only transaction mode, further optimizing the query
+    final List<DataSegment> segments = connector.inReadOnlyTransaction(
+        new TransactionCallback<List<DataSegment>>()
+        {
+          @Override
+          public List<DataSegment> inTransaction(Handle handle, TransactionStatus status)
           {
-            @Override
-            public List<DataSegment> inTransaction(Handle handle, TransactionStatus status)
-            {
-              return handle
-                  .createQuery(StringUtils.format("SELECT payload FROM %s WHERE used=true", getSegmentsTable()))
-                  .setFetchSize(connector.getStreamingFetchSize())
-                  .map(
-                      new ResultSetMapper<DataSegment>()
+            return handle
+                .createQuery(StringUtils.format("SELECT payload FROM %s WHERE used=true", getSegmentsTable()))
+                .setFetchSize(connector.getStreamingFetchSize())
+                .map(
+                    new ResultSetMapper<DataSegment>()
+                    {
+                      @Override
+                      public DataSegment map(int index, ResultSet r, StatementContext ctx)
+                          throws SQLException
                       {
-                        @Override
-                        public DataSegment map(int index, ResultSet r, StatementContext ctx)
-                            throws SQLException
-                        {
-                          try {
-                            return replaceWithExistingSegmentIfPresent(
-                                jsonMapper.readValue(r.getBytes("payload"), DataSegment.class)
-                            );
-                          }
-                          catch (IOException e) {
-                            log.makeAlert(e, "Failed to read segment from db.").emit();
-                            return null;
-                          }
+                        try {
+                          return replaceWithExistingSegmentIfPresent(
+                              jsonMapper.readValue(r.getBytes("payload"), DataSegment.class)
+                          );
+                        }
+                        catch (IOException e) {
+                          log.makeAlert(e, "Failed to read segment from db.").emit();
+                          return null;
                         }
                       }
-                  )
-                  .list();
-            }
+                    }
+                )
+                .list();
           }
-      );
+        }
+    );
 
-      if (segments == null || segments.isEmpty()) {
-        log.warn("No segments found in the database!");
-        return;
+    if (segments == null || segments.isEmpty()) {
+      log.warn("No segments found in the database!");
+      return null;
+    }
+
+    final Collection<DataSegment> segmentsFinal = Collections2.filter(segments, Predicates.notNull());
+
+    log.info("Polled and found %,d segments in the database", segments.size());
+
+    return buildDataSources(segmentsFinal);
+  }
+
+  /**
+   * Reads the ids of the used segments, and only the payloads of the segments that are not known yet, returns null if
+   * there are no used segments. Changes of the payloads of known segments are not seen until the next full poll.
+   */
+  @Nullable
+  private ConcurrentHashMap<String, DruidDataSource> pollNewSegments()
+  {
+    log.debug("Starting polling of segment ids");
+
+    final List<String> usedSegmentIds = connector.inReadOnlyTransaction(
+        (handle, status) -> handle
+            .createQuery(StringUtils.format("SELECT id FROM %s WHERE used=true", getSegmentsTable()))
+            .setFetchSize(connector.getStreamingFetchSize())
+            .map(StringMapper.FIRST)
+            .list()
+    );
+
+    if (usedSegmentIds == null || usedSegmentIds.isEmpty()) {
+      log.warn("No segments found in the database!");
+      return null;
+    }
+
+    final Map<String, DataSegment> knownSegments = new HashMap<>();
+    for (DruidDataSource dataSource : dataSourcesRef.get().values()) {
+      for (DataSegment segment : dataSource.getSegments()) {
+        knownSegments.put(segment.getIdentifier(), segment);
       }
+    }
 
-      final Collection<DataSegment> segmentsFinal = Collections2.filter(segments, Predicates.notNull());
+    final List<String> newSegmentIds = new ArrayList<>();
+    for (String segmentId : usedSegmentIds) {
+      if (!knownSegments.containsKey(segmentId)) {
+        newSegmentIds.add(segmentId);
+      }
+    }
+    final Map<String, DataSegment> newSegments = readSegments(newSegmentIds);
 
-      log.info("Polled and found %,d segments in the database", segments.size());
+    final List<DataSegment> segments = new ArrayList<>(usedSegmentIds.size());
+    for (String segmentId : usedSegmentIds) {
+      DataSegment segment = knownSegments.get(segmentId);
+      if (segment == null) {
+        segment = newSegments.get(segmentId);
+      }
+      // Null if the payload couldn't be read, or if the segment was marked unused after its id was read
+      if (segment != null) {
+        segments.add(segment);
+      }
+    }
 
-      for (final DataSegment segment : segmentsFinal) {
-        String datasourceName = segment.getDataSource();
+    log.info(
+        "Polled and found %,d segments in the database, read %,d new segments",
+        usedSegmentIds.size(),
+        newSegments.size()
+    );
 
-        DruidDataSource dataSource = newDataSources.get(datasourceName);
-        if (dataSource == null) {
-          dataSource = new DruidDataSource(
-              datasourceName,
-              ImmutableMap.of("created", DateTimes.nowUtc().toString())
-          );
+    return buildDataSources(segments);
+  }
 
-          Object shouldBeNull = newDataSources.put(
-              datasourceName,
-              dataSource
-          );
-          if (shouldBeNull != null) {
-            log.warn(
-                "Just put key[%s] into dataSources and what was there wasn't null!?  It was[%s]",
-                datasourceName,
-                shouldBeNull
+  /**
+   * Reads the payloads of the given used segments, in batches of {@link #READ_SEGMENTS_BATCH_SIZE}.
+   */
+  private Map<String, DataSegment> readSegments(final List<String> segmentIds)
+  {
+    final Map<String, DataSegment> segments = new HashMap<>();
+    for (List<String> batch : Lists.partition(segmentIds, READ_SEGMENTS_BATCH_SIZE)) {
+      final List<byte[]> payloads = connector.inReadOnlyTransaction(
+          (handle, status) -> {
+            final Query<Map<String, Object>> query = handle.createQuery(
+                StringUtils.format(
+                    "SELECT payload FROM %s WHERE used=true AND id IN (%s)",
+                    getSegmentsTable(),
+                    IntStream.range(0, batch.size()).mapToObj(i -> ":id" + i).collect(Collectors.joining(", "))
+                )
             );
+            for (int i = 0; i < batch.size(); i++) {
+              query.bind("id" + i, batch.get(i));
+            }
+            return query.map(ByteArrayMapper.FIRST).list();
           }
+      );
+
+      for (byte[] payload : payloads) {
+        try {
+          final DataSegment segment = jsonMapper.readValue(payload, DataSegment.class);
+          segments.put(segment.getIdentifier(), segment);
+        }
+        catch (IOException e) {
+          log.makeAlert(e, "Failed to read segment from db.").emit();
         }
+      }
+    }
+    return segments;
+  }
 
-        // For performance reasons, make sure we check for the existence of a segment using containsSegment(),
-        // which performs a key-based lookup, instead of calling contains() on the collection returned by
-        // dataSource.getSegments(). In Map values collections, the contains() method is a linear scan.
-        if (!dataSource.containsSegment(segment)) {
-          dataSource.addSegment(segment);
+  private static ConcurrentHashMap<String, DruidDataSource> buildDataSources(final Collection<DataSegment> segments)
+  {
+    final ConcurrentHashMap<String, DruidDataSource> newDataSources = new ConcurrentHashMap<>();
+
+    for (final DataSegment segment : segments) {
+      String datasourceName = segment.getDataSource();
+
+      DruidDataSource dataSource = newDataSources.get(datasourceName);
+      if (dataSource == null) {
+        dataSource = new DruidDataSource(
+            datasourceName,
+            ImmutableMap.of("created", DateTimes.nowUtc().toString())
+        );
+
+        Object shouldBeNull = newDataSources.put(
+            datasourceName,
+            dataSource
+        );
+        if (shouldBeNull != null) {
+          log.warn(
+              "Just put key[%s] into dataSources and what was there wasn't null!?  It was[%s]",
+              datasourceName,
+              shouldBeNull
+          );
         }
       }
 
-      ConcurrentHashMap<String, DruidDataSource> current;
-      do {
-        current = dataSourcesRef.get();
-      } while (!dataSourcesRef.compareAndSet(current, newDataSources));
+      // For performance reasons, make sure we check for the existence of a segment using containsSegment(),
+      // which performs a key-based lookup, instead of calling contains() on the collection returned by
+      // dataSource.getSegments(). In Map values collections, the contains() method is a linear scan.
+      if (!dataSource.containsSegment(segment)) {
+        dataSource.addSegment(segment);
+      }
     }
-    catch (Exception e) {
-      log.makeAlert(e, "Problem polling DB.").emit();
+
+    return newDataSources;
+  }
+
+  @Override
+  public Set<String> drainChangedDataSources()
+  {
+    final Set<String> drained = new HashSet<>();
+    final Iterator<String> iterator = changedDataSources.iterator();
+    while (iterator.hasNext()) {
+      drained.add(iterator.next());
+      iterator.remove();
     }
+    return drained;
+  }
+
+  /**
+   * Adds the datasources that don't have the same segments in the given maps to {@link #changedDataSources}.
+   */
+  private void addChangedDataSources(
+      final Map<String, DruidDataSource> oldDataSources,
+      final Map<String, DruidDataSource> newDataSources
+  )
+  {
+    for (DruidDataSource newDataSource : newDataSources.values()) {
+      final DruidDataSource oldDataSource = oldDataSources.get(newDataSource.getName());
+      if (oldDataSource == null || !hasSameSegments(oldDataSource, newDataSource)) {
+        changedDataSources.add(newDataSource.getName());
+      }
+    }
+    for (String dataSourceName : oldDataSources.keySet()) {
+      if (!newDataSources.containsKey(dataSourceName)) {
+        changedDataSources.add(dataSourceName);
+      }
+    }
+  }
+
+  private static boolean hasSameSegments(final DruidDataSource lhs, final DruidDataSource rhs)
+  {
+    if (lhs.getSegments().size() != rhs.getSegments().size()) {
+      return false;
+    }
+    for (DataSegment segment : rhs.getSegments()) {
+      if (!lhs.containsSegment(segment)) {
+        return false;
+      }
+    }
+    return true;
   }
 
   /**
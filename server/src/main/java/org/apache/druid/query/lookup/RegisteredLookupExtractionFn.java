@@ -137,6 +137,12 @@ public class RegisteredLookupExtractionFn implements ExtractionFn
     return ensureDelegate().getExtractionType();
   }
 
+  @Override
+  public boolean isDictionaryMappable()
+  {
+    return ensureDelegate().isDictionaryMappable();
+  }
+
   private LookupExtractionFn ensureDelegate()
   {
     if (null == delegate) {
@@ -54,6 +54,7 @@ public class RealtimeTuningConfig implements TuningConfig, AppenderatorConfig
   private static final long defaultHandoffConditionTimeout = 0;
   private static final long defaultAlertTimeout = 0;
   private static final String defaultDedupColumn = null;
+  private static final boolean defaultUseHashedFacts = false;
 
   private static File createNewBasePersistDirectory()
   {
@@ -112,6 +113,51 @@ public class RealtimeTuningConfig implements TuningConfig, AppenderatorConfig
   private final SegmentWriteOutMediumFactory segmentWriteOutMediumFactory;
   @Nullable
   private final String dedupColumn;
+  private final boolean useHashedFacts;
+
+  public RealtimeTuningConfig(
+      Integer maxRowsInMemory,
+      Long maxBytesInMemory,
+      Period intermediatePersistPeriod,
+      Period windowPeriod,
+      File basePersistDirectory,
+      VersioningPolicy versioningPolicy,
+      RejectionPolicyFactory rejectionPolicyFactory,
+      Integer maxPendingPersists,
+      ShardSpec shardSpec,
+      IndexSpec indexSpec,
+      Boolean buildV9Directly,
+      int persistThreadPriority,
+      int mergeThreadPriority,
+      Boolean reportParseExceptions,
+      Long handoffConditionTimeout,
+      Long alertTimeout,
+      @Nullable SegmentWriteOutMediumFactory segmentWriteOutMediumFactory,
+      @Nullable String dedupColumn
+  )
+  {
+    this(
+        maxRowsInMemory,
+        maxBytesInMemory,
+        intermediatePersistPeriod,
+        windowPeriod,
+        basePersistDirectory,
+        versioningPolicy,
+        rejectionPolicyFactory,
+        maxPendingPersists,
+        shardSpec,
+        indexSpec,
+        buildV9Directly,
+        persistThreadPriority,
+        mergeThreadPriority,
+        reportParseExceptions,
+        handoffConditionTimeout,
+        alertTimeout,
+        segmentWriteOutMediumFactory,
+        dedupColumn,
+        null
+    );
+  }
 
   @JsonCreator
   public RealtimeTuningConfig(
@@ -133,7 +179,8 @@ public class RealtimeTuningConfig implements TuningConfig, AppenderatorConfig
       @JsonProperty("handoffConditionTimeout") Long handoffConditionTimeout,
       @JsonProperty("alertTimeout") Long alertTimeout,
       @JsonProperty("segmentWriteOutMediumFactory") @Nullable SegmentWriteOutMediumFactory segmentWriteOutMediumFactory,
-      @JsonProperty("dedupColumn") @Nullable String dedupColumn
+      @JsonProperty("dedupColumn") @Nullable String dedupColumn,
+      @JsonProperty("useHashedFacts") @Nullable Boolean useHashedFacts
   )
   {
     this.maxRowsInMemory = maxRowsInMemory == null ? defaultMaxRowsInMemory : maxRowsInMemory;
@@ -166,6 +213,7 @@ public class RealtimeTuningConfig implements TuningConfig, AppenderatorConfig
     Preconditions.checkArgument(this.alertTimeout >= 0, "alertTimeout must be >= 0");
     this.segmentWriteOutMediumFactory = segmentWriteOutMediumFactory;
     this.dedupColumn = dedupColumn == null ? defaultDedupColumn : dedupColumn;
+    this.useHashedFacts = useHashedFacts == null ? defaultUseHashedFacts : useHashedFacts;
   }
 
   @Override
@@ -289,6 +337,13 @@ public class RealtimeTuningConfig implements TuningConfig, AppenderatorConfig
     return dedupColumn;
   }
 
+  @Override
+  @JsonProperty("useHashedFacts")
+  public boolean isUseHashedFacts()
+  {
+    return useHashedFacts;
+  }
+
   public RealtimeTuningConfig withVersioningPolicy(VersioningPolicy policy)
   {
     return new RealtimeTuningConfig(
@@ -309,7 +364,8 @@ public class RealtimeTuningConfig implements TuningConfig, AppenderatorConfig
         handoffConditionTimeout,
         alertTimeout,
         segmentWriteOutMediumFactory,
-        dedupColumn
+        dedupColumn,
+        useHashedFacts
     );
   }
 
@@ -333,7 +389,8 @@ public class RealtimeTuningConfig implements TuningConfig, AppenderatorConfig
         handoffConditionTimeout,
         alertTimeout,
         segmentWriteOutMediumFactory,
-        dedupColumn
+        dedupColumn,
+        useHashedFacts
     );
   }
 }
@@ -57,6 +57,9 @@ public class SegmentLoaderConfig
   @JsonProperty
   private int statusQueueMaxSize = 100;
 
+  @JsonProperty("lazyLoadColumns")
+  private boolean lazyLoadColumns = false;
+
   public List<StorageLocationConfig> getLocations()
   {
     return locations;
@@ -105,12 +108,18 @@ public class SegmentLoaderConfig
     return statusQueueMaxSize;
   }
 
+  public boolean isLazyLoadColumns()
+  {
+    return lazyLoadColumns;
+  }
+
   public SegmentLoaderConfig withLocations(List<StorageLocationConfig> locations)
   {
     SegmentLoaderConfig retVal = new SegmentLoaderConfig();
     retVal.locations = Lists.newArrayList(locations);
     retVal.deleteOnRemove = this.deleteOnRemove;
     retVal.infoDir = this.infoDir;
+    retVal.lazyLoadColumns = this.lazyLoadColumns;
     return retVal;
   }
 
@@ -122,6 +131,7 @@ public class SegmentLoaderConfig
            ", deleteOnRemove=" + deleteOnRemove +
            ", dropSegmentDelayMillis=" + dropSegmentDelayMillis +
            ", infoDir=" + infoDir +
+           ", lazyLoadColumns=" + lazyLoadColumns +
            '}';
   }
 }
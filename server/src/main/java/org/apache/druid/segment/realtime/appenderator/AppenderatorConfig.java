@@ -42,6 +42,15 @@ public interface AppenderatorConfig
 
   int getMaxPendingPersists();
 
+  /**
+   * Whether rollup in the in-memory incremental index uses a hash table instead of a skip list to find existing rows.
+   * Rows are then sorted only when they are persisted or queried.
+   */
+  default boolean isUseHashedFacts()
+  {
+    return false;
+  }
+
   /**
    * Maximum number of rows in a single segment before pushing to deep storage
    */
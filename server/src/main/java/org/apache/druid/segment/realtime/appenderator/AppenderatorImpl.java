@@ -90,6 +90,7 @@ import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -385,7 +386,9 @@ public class AppenderatorImpl implements Appenderator
           tuningConfig.getMaxRowsInMemory(),
           maxBytesTuningConfig,
           tuningConfig.isReportParseExceptions(),
-          null
+          tuningConfig.isUseHashedFacts(),
+          null,
+          Collections.emptyList()
       );
 
       try {
@@ -1053,6 +1056,7 @@ public class AppenderatorImpl implements Appenderator
             tuningConfig.getMaxRowsInMemory(),
             maxBytesTuningConfig,
             tuningConfig.isReportParseExceptions(),
+            tuningConfig.isUseHashedFacts(),
             null,
             hydrants
         );
@@ -45,6 +45,7 @@ import org.joda.time.Interval;
 
 import javax.annotation.Nullable;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
@@ -66,6 +67,7 @@ public class Sink implements Iterable<FireHydrant>
   private final int maxRowsInMemory;
   private final long maxBytesInMemory;
   private final boolean reportParseExceptions;
+  private final boolean useHashedFacts;
   private final CopyOnWriteArrayList<FireHydrant> hydrants = new CopyOnWriteArrayList<FireHydrant>();
   private final LinkedHashSet<String> dimOrder = Sets.newLinkedHashSet();
   private final AtomicInteger numRowsExcludingCurrIndex = new AtomicInteger();
@@ -85,16 +87,44 @@ public class Sink implements Iterable<FireHydrant>
       String dedupColumn
   )
   {
-    this.schema = schema;
-    this.shardSpec = shardSpec;
-    this.interval = interval;
-    this.version = version;
-    this.maxRowsInMemory = maxRowsInMemory;
-    this.maxBytesInMemory = maxBytesInMemory;
-    this.reportParseExceptions = reportParseExceptions;
-    this.dedupColumn = dedupColumn;
+    this(
+        interval,
+        schema,
+        shardSpec,
+        version,
+        maxRowsInMemory,
+        maxBytesInMemory,
+        reportParseExceptions,
+        false,
+        dedupColumn,
+        Collections.emptyList()
+    );
+  }
 
-    makeNewCurrIndex(interval.getStartMillis(), schema);
+  public Sink(
+      Interval interval,
+      DataSchema schema,
+      ShardSpec shardSpec,
+      String version,
+      int maxRowsInMemory,
+      long maxBytesInMemory,
+      boolean reportParseExceptions,
+      String dedupColumn,
+      List<FireHydrant> hydrants
+  )
+  {
+    this(
+        interval,
+        schema,
+        shardSpec,
+        version,
+        maxRowsInMemory,
+        maxBytesInMemory,
+        reportParseExceptions,
+        false,
+        dedupColumn,
+        hydrants
+    );
   }
 
   public Sink(
@@ -105,6 +135,7 @@ public class Sink implements Iterable<FireHydrant>
       int maxRowsInMemory,
       long maxBytesInMemory,
       boolean reportParseExceptions,
+      boolean useHashedFacts,
       String dedupColumn,
       List<FireHydrant> hydrants
   )
@@ -116,6 +147,7 @@ public class Sink implements Iterable<FireHydrant>
     this.maxRowsInMemory = maxRowsInMemory;
     this.maxBytesInMemory = maxBytesInMemory;
     this.reportParseExceptions = reportParseExceptions;
+    this.useHashedFacts = useHashedFacts;
     this.dedupColumn = dedupColumn;
 
     int maxCount = -1;
@@ -344,6 +376,7 @@ public class Sink implements Iterable<FireHydrant>
         .setReportParseExceptions(reportParseExceptions)
         .setMaxRowCount(maxRowsInMemory)
         .setMaxBytesInMemory(maxBytesInMemory)
+        .setUseHashedFacts(useHashedFacts)
         .buildOnheap();
 
     final FireHydrant old;
@@ -30,6 +30,7 @@ import org.apache.druid.guice.annotations.Smile;
 import org.apache.druid.query.GenericQueryMetricsFactory;
 import org.apache.druid.query.Query;
 import org.apache.druid.server.http.security.StateResourceFilter;
+import org.apache.druid.server.initialization.ServerConfig;
 import org.apache.druid.server.security.AuthConfig;
 import org.apache.druid.server.security.AuthorizerMapper;
 
@@ -62,6 +63,7 @@ public class BrokerQueryResource extends QueryResource
       AuthConfig authConfig,
       AuthorizerMapper authorizerMapper,
       GenericQueryMetricsFactory queryMetricsFactory,
+      ServerConfig serverConfig,
       TimelineServerView brokerServerView
   )
   {
@@ -72,7 +74,8 @@ public class BrokerQueryResource extends QueryResource
         queryManager,
         authConfig,
         authorizerMapper,
-        queryMetricsFactory
+        queryMetricsFactory,
+        serverConfig
     );
     this.brokerServerView = brokerServerView;
   }
@@ -29,6 +29,7 @@ import org.apache.druid.java.util.emitter.service.ServiceEmitter;
 import org.apache.druid.query.FluentQueryRunnerBuilder;
 import org.apache.druid.query.PostProcessingOperator;
 import org.apache.druid.query.Query;
+import org.apache.druid.query.QueryPlus;
 import org.apache.druid.query.QueryRunner;
 import org.apache.druid.query.QuerySegmentWalker;
 import org.apache.druid.query.QueryToolChest;
@@ -52,7 +53,7 @@ public class ClientQuerySegmentWalker implements QuerySegmentWalker
   private final ServerConfig serverConfig;
   private final Cache cache;
   private final CacheConfig cacheConfig;
-
+  private final QueryScheduler scheduler;
 
   @Inject
   public ClientQuerySegmentWalker(
@@ -63,7 +64,8 @@ public class ClientQuerySegmentWalker implements QuerySegmentWalker
       ObjectMapper objectMapper,
       ServerConfig serverConfig,
       Cache cache,
-      CacheConfig cacheConfig
+      CacheConfig cacheConfig,
+      QueryScheduler scheduler
   )
   {
     this.emitter = emitter;
@@ -74,6 +76,7 @@ public class ClientQuerySegmentWalker implements QuerySegmentWalker
     this.serverConfig = serverConfig;
     this.cache = cache;
     this.cacheConfig = cacheConfig;
+    this.scheduler = scheduler;
   }
 
   @Override
@@ -93,12 +96,29 @@ public class ClientQuerySegmentWalker implements QuerySegmentWalker
     QueryToolChest<T, Query<T>> toolChest = warehouse.getToolChest(query);
 
     // This does not adhere to the fluent workflow. See https://github.com/apache/incubator-druid/issues/5517
-    return new ResultLevelCachingQueryRunner<>(makeRunner(query, baseClientRunner, toolChest),
-                                               toolChest,
-                                               query,
-                                               objectMapper,
-                                               cache,
-                                               cacheConfig);
+    return new ResultLevelCachingQueryRunner<>(
+        makeScheduledRunner(makeRunner(query, baseClientRunner, toolChest), toolChest),
+        toolChest,
+        query,
+        objectMapper,
+        cache,
+        cacheConfig
+    );
+  }
+
+  /**
+   * Admits queries through the {@link QueryScheduler}, so that result-level cache hits don't need a slot.
+   */
+  private <T> QueryRunner<T> makeScheduledRunner(QueryRunner<T> runner, QueryToolChest<T, Query<T>> toolChest)
+  {
+    return (queryPlus, responseContext) -> {
+      final QueryPlus<T> lanedQueryPlus = queryPlus.withQuery(scheduler.laneQuery(queryPlus.getQuery()));
+      return scheduler.run(
+          lanedQueryPlus.getQuery(),
+          toolChest,
+          () -> runner.run(lanedQueryPlus, responseContext)
+      );
+    };
   }
 
   private <T> QueryRunner<T> makeRunner(
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server;
+
+import com.google.common.base.Preconditions;
+import org.apache.druid.collections.NonBlockingPool;
+import org.apache.druid.collections.ResourceHolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * OutputStream that collects the written bytes in a direct {@link ByteBuffer} taken from a pool and hands the full
+ * buffer to a {@link WritableByteChannel}. When the channel writes to a socket (see {@link JettyOutputChannel}), the
+ * bytes are sent straight from the direct buffer, instead of being copied to the heap buffers of the servlet container
+ * and then again to a temporary direct buffer by NIO.
+ *
+ * Channel writes block until the buffer is fully written, so a slow client holds back the producer of the response
+ * rather than making the response pile up in memory. The time spent in them is reported by {@link #getWriteTimeNs()}.
+ *
+ * This class is not thread-safe.
+ */
+public class DirectBufferOutputStream extends OutputStream
+{
+  private final WritableByteChannel channel;
+  private final ResourceHolder<ByteBuffer> bufferHolder;
+  private final ByteBuffer buffer;
+
+  private long count = 0;
+  private long writeTimeNs = 0;
+  private boolean closed = false;
+
+  public DirectBufferOutputStream(NonBlockingPool<ByteBuffer> bufferPool, WritableByteChannel channel)
+  {
+    this.channel = channel;
+    this.bufferHolder = bufferPool.take();
+    this.buffer = bufferHolder.get();
+    Preconditions.checkArgument(buffer.capacity() > 0, "empty buffer");
+    buffer.clear();
+  }
+
+  @Override
+  public void write(int b) throws IOException
+  {
+    ensureOpen();
+    if (!buffer.hasRemaining()) {
+      writeBuffer();
+    }
+    buffer.put((byte) b);
+    count++;
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException
+  {
+    ensureOpen();
+    Preconditions.checkPositionIndexes(off, off + len, b.length);
+    int position = off;
+    final int end = off + len;
+    while (position < end) {
+      if (!buffer.hasRemaining()) {
+        writeBuffer();
+      }
+      final int chunk = Math.min(end - position, buffer.remaining());
+      buffer.put(b, position, chunk);
+      position += chunk;
+    }
+    count += len;
+  }
+
+  /**
+   * Writes the buffered bytes to the channel. Note that this does not flush the channel itself.
+   */
+  @Override
+  public void flush() throws IOException
+  {
+    ensureOpen();
+    writeBuffer();
+  }
+
+  /**
+   * Writes the buffered bytes to the channel and returns the buffer to the pool. Does not close the channel.
+   */
+  @Override
+  public void close() throws IOException
+  {
+    if (closed) {
+      return;
+    }
+    try {
+      writeBuffer();
+    }
+    finally {
+      closed = true;
+      bufferHolder.close();
+    }
+  }
+
+  /**
+   * Returns the number of bytes written to this stream.
+   */
+  public long getCount()
+  {
+    return count;
+  }
+
+  /**
+   * Returns the time spent writing to the channel, in nanoseconds.
+   */
+  public long getWriteTimeNs()
+  {
+    return writeTimeNs;
+  }
+
+  private void writeBuffer() throws IOException
+  {
+    if (buffer.position() == 0) {
+      return;
+    }
+    final long startNs = System.nanoTime();
+    buffer.flip();
+    try {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+    finally {
+      buffer.clear();
+      writeTimeNs += System.nanoTime() - startNs;
+    }
+  }
+
+  private void ensureOpen() throws IOException
+  {
+    if (closed) {
+      throw new IOException("Stream closed");
+    }
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server;
+
+import org.eclipse.jetty.server.HttpOutput;
+import org.eclipse.jetty.server.Request;
+
+import javax.annotation.Nullable;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * {@link WritableByteChannel} over the output of a Jetty response. {@link HttpOutput#write(ByteBuffer)} bypasses the
+ * aggregation buffer used by the OutputStream methods of HttpOutput, hands the given buffer to the connection as is,
+ * and blocks until it is written.
+ */
+class JettyOutputChannel implements WritableByteChannel
+{
+  /**
+   * Returns the channel of the response to the given request, or null if the request is not served by Jetty.
+   */
+  @Nullable
+  static JettyOutputChannel forRequest(HttpServletRequest req)
+  {
+    final Request baseRequest = Request.getBaseRequest(req);
+    if (baseRequest == null || baseRequest.getResponse() == null) {
+      return null;
+    }
+    return new JettyOutputChannel(baseRequest.getResponse().getHttpOutput());
+  }
+
+  private final HttpOutput out;
+
+  private JettyOutputChannel(HttpOutput out)
+  {
+    this.out = out;
+  }
+
+  @Override
+  public int write(ByteBuffer src) throws IOException
+  {
+    final int length = src.remaining();
+    out.write(src);
+    return length;
+  }
+
+  @Override
+  public boolean isOpen()
+  {
+    return !out.isClosed();
+  }
+
+  @Override
+  public void close() throws IOException
+  {
+    out.close();
+  }
+}
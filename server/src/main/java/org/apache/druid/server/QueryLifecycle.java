@@ -31,6 +31,7 @@ import org.apache.druid.java.util.common.guava.SequenceWrapper;
 import org.apache.druid.java.util.common.guava.Sequences;
 import org.apache.druid.java.util.common.logger.Logger;
 import org.apache.druid.java.util.emitter.service.ServiceEmitter;
+import org.apache.druid.query.ColumnarResultSerde;
 import org.apache.druid.query.DruidMetrics;
 import org.apache.druid.query.GenericQueryMetricsFactory;
 import org.apache.druid.query.Query;
@@ -344,6 +345,17 @@ public class QueryLifecycle
     return baseQuery;
   }
 
+  /**
+   * Returns the toolchest's {@link ColumnarResultSerde} for the query, or null if results of this query cannot be
+   * sent in the columnar format. Must be called after {@link #initialize(Query)}.
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public ColumnarResultSerde getColumnarResultSerde()
+  {
+    return toolChest.getColumnarResultSerde(baseQuery);
+  }
+
   private void transition(final State from, final State to)
   {
     if (state != from) {
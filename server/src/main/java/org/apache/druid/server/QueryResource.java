@@ -33,18 +33,25 @@ import com.google.common.collect.Sets;
 import com.google.common.io.CountingOutputStream;
 import com.google.inject.Inject;
 import org.apache.druid.client.DirectDruidClient;
+import org.apache.druid.collections.NonBlockingPool;
+import org.apache.druid.collections.StupidPool;
 import org.apache.druid.guice.LazySingleton;
 import org.apache.druid.guice.annotations.Json;
 import org.apache.druid.guice.annotations.Smile;
 import org.apache.druid.java.util.common.StringUtils;
+import org.apache.druid.java.util.common.guava.CloseQuietly;
 import org.apache.druid.java.util.common.guava.Sequence;
 import org.apache.druid.java.util.common.guava.Yielder;
 import org.apache.druid.java.util.common.guava.Yielders;
 import org.apache.druid.java.util.emitter.EmittingLogger;
+import org.apache.druid.query.ColumnarResultFormat;
+import org.apache.druid.query.ColumnarResultSerde;
 import org.apache.druid.query.GenericQueryMetricsFactory;
 import org.apache.druid.query.Query;
+import org.apache.druid.query.QueryCapacityExceededException;
 import org.apache.druid.query.QueryContexts;
 import org.apache.druid.query.QueryInterruptedException;
+import org.apache.druid.server.initialization.ServerConfig;
 import org.apache.druid.server.metrics.QueryCountStatsProvider;
 import org.apache.druid.server.security.Access;
 import org.apache.druid.server.security.AuthConfig;
@@ -53,6 +60,7 @@ import org.apache.druid.server.security.AuthorizerMapper;
 import org.apache.druid.server.security.ForbiddenException;
 import org.joda.time.DateTime;
 
+import javax.annotation.Nullable;
 import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
@@ -69,6 +77,7 @@ import javax.ws.rs.core.StreamingOutput;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
@@ -101,6 +110,16 @@ public class QueryResource implements QueryCountStatsProvider
   private final AtomicLong successfulQueryCount = new AtomicLong();
   private final AtomicLong failedQueryCount = new AtomicLong();
   private final AtomicLong interruptedQueryCount = new AtomicLong();
+  private final AtomicLong limitedQueryCount = new AtomicLong();
+  private final AtomicLong directResponseBytes = new AtomicLong();
+  private final AtomicLong directResponseWriteTimeNs = new AtomicLong();
+
+  /**
+   * Pool of the direct buffers responses are written from, see {@link DirectBufferOutputStream}. Null if
+   * {@link ServerConfig#isEnableDirectResponseBuffers()} is false.
+   */
+  @Nullable
+  private final NonBlockingPool<ByteBuffer> responseBufferPool;
 
   @Inject
   public QueryResource(
@@ -110,7 +129,8 @@ public class QueryResource implements QueryCountStatsProvider
       QueryManager queryManager,
       AuthConfig authConfig,
       AuthorizerMapper authorizerMapper,
-      GenericQueryMetricsFactory queryMetricsFactory
+      GenericQueryMetricsFactory queryMetricsFactory,
+      ServerConfig serverConfig
   )
   {
     this.queryLifecycleFactory = queryLifecycleFactory;
@@ -122,6 +142,17 @@ public class QueryResource implements QueryCountStatsProvider
     this.authConfig = authConfig;
     this.authorizerMapper = authorizerMapper;
     this.queryMetricsFactory = queryMetricsFactory;
+    if (serverConfig.isEnableDirectResponseBuffers()) {
+      final int bufferSize = serverConfig.getDirectResponseBufferSizeBytes();
+      this.responseBufferPool = new StupidPool<>(
+          "direct-response-buffer-pool",
+          () -> ByteBuffer.allocateDirect(bufferSize),
+          0,
+          serverConfig.getNumThreads()
+      );
+    } else {
+      this.responseBufferPool = null;
+    }
   }
 
   @DELETE
@@ -153,7 +184,7 @@ public class QueryResource implements QueryCountStatsProvider
   }
 
   @POST
-  @Produces({MediaType.APPLICATION_JSON, SmileMediaTypes.APPLICATION_JACKSON_SMILE})
+  @Produces({MediaType.APPLICATION_JSON, SmileMediaTypes.APPLICATION_JACKSON_SMILE, ColumnarResultFormat.CONTENT_TYPE})
   @Consumes({MediaType.APPLICATION_JSON, SmileMediaTypes.APPLICATION_JACKSON_SMILE, APPLICATION_SMILE})
   public Response doPost(
       final InputStream in,
@@ -206,6 +237,10 @@ public class QueryResource implements QueryCountStatsProvider
             QueryContexts.isSerializeDateTimeAsLong(query, false)
             || (!shouldFinalize && QueryContexts.isSerializeDateTimeAsLongInner(query, false));
         final ObjectWriter jsonWriter = context.newOutputWriter(serializeDateTimeAsLong);
+        // bySegment results are wrapped per segment and have no columnar encoding, fall back to Smile for them
+        final ColumnarResultSerde columnarSerde = context.isAcceptsColumnar() && !QueryContexts.isBySegment(query)
+                                                  ? queryLifecycle.getColumnarResultSerde()
+                                                  : null;
         Response.ResponseBuilder builder = Response
             .ok(
                 new StreamingOutput()
@@ -215,13 +250,28 @@ public class QueryResource implements QueryCountStatsProvider
                   {
                     Exception e = null;
 
+                    DirectBufferOutputStream directOs = null;
                     CountingOutputStream os = new CountingOutputStream(outputStream);
                     try {
-                      // json serializer will always close the yielder
-                      jsonWriter.writeValue(os, yielder);
+                      directOs = openDirectBufferOutputStream(outputStream, req);
+                      if (directOs != null) {
+                        os = new CountingOutputStream(directOs);
+                      }
+
+                      if (columnarSerde != null) {
+                        // columnar writer will always close the yielder
+                        ColumnarResultFormat.write((Yielder) yielder, columnarSerde, context.getObjectMapper(), os);
+                      } else {
+                        // json serializer will always close the yielder
+                        jsonWriter.writeValue(os, yielder);
+                      }
 
                       os.flush(); // Some types of OutputStream suppress flush errors in the .close() method.
                       os.close();
+                      if (directOs != null) {
+                        // closing directOs does not close the response stream
+                        outputStream.close();
+                      }
                     }
                     catch (Exception ex) {
                       e = ex;
@@ -231,6 +281,13 @@ public class QueryResource implements QueryCountStatsProvider
                     finally {
                       Thread.currentThread().setName(currThreadName);
 
+                      if (directOs != null) {
+                        // returns the buffer to the pool if an error kept the stream from being closed
+                        CloseQuietly.close(directOs);
+                        directResponseBytes.addAndGet(directOs.getCount());
+                        directResponseWriteTimeNs.addAndGet(directOs.getWriteTimeNs());
+                      }
+
                       queryLifecycle.emitLogsAndMetrics(e, req.getRemoteAddr(), os.getCount());
 
                       if (e == null) {
@@ -241,7 +298,7 @@ public class QueryResource implements QueryCountStatsProvider
                     }
                   }
                 },
-                context.getContentType()
+                columnarSerde != null ? ColumnarResultFormat.CONTENT_TYPE : context.getContentType()
             )
             .header("X-Druid-Query-Id", queryId);
 
@@ -280,6 +337,11 @@ public class QueryResource implements QueryCountStatsProvider
       queryLifecycle.emitLogsAndMetrics(e, req.getRemoteAddr(), -1);
       return context.gotError(e);
     }
+    catch (QueryCapacityExceededException e) {
+      limitedQueryCount.incrementAndGet();
+      queryLifecycle.emitLogsAndMetrics(e, req.getRemoteAddr(), -1);
+      return context.gotLimited(e);
+    }
     catch (ForbiddenException e) {
       // don't do anything for an authorization failure, ForbiddenExceptionMapper will catch this later and
       // send an error response if this is thrown.
@@ -302,6 +364,27 @@ public class QueryResource implements QueryCountStatsProvider
     }
   }
 
+  /**
+   * Returns a stream writing to the response through a pooled direct buffer, or null if direct response buffers are
+   * not enabled or the request is not served by Jetty.
+   */
+  @Nullable
+  private DirectBufferOutputStream openDirectBufferOutputStream(OutputStream outputStream, HttpServletRequest req)
+      throws IOException
+  {
+    if (responseBufferPool == null) {
+      return null;
+    }
+    final JettyOutputChannel channel = JettyOutputChannel.forRequest(req);
+    if (channel == null) {
+      return null;
+    }
+    // Jersey sets the status and headers of the response when its stream is first flushed or written to. They must
+    // be set before anything is written to the response directly.
+    outputStream.flush();
+    return new DirectBufferOutputStream(responseBufferPool, channel);
+  }
+
   private Query<?> readQuery(
       final HttpServletRequest req,
       final InputStream in,
@@ -339,14 +422,18 @@ public class QueryResource implements QueryCountStatsProvider
 
   protected ResponseContext createContext(String requestType, boolean pretty)
   {
+    // Clients accepting columnar results get Smile for errors and for queries without a columnar encoding
+    boolean acceptsColumnar = ColumnarResultFormat.CONTENT_TYPE.equals(requestType);
     boolean isSmile = SmileMediaTypes.APPLICATION_JACKSON_SMILE.equals(requestType) ||
-                      APPLICATION_SMILE.equals(requestType);
+                      APPLICATION_SMILE.equals(requestType) ||
+                      acceptsColumnar;
     String contentType = isSmile ? SmileMediaTypes.APPLICATION_JACKSON_SMILE : MediaType.APPLICATION_JSON;
     return new ResponseContext(
         contentType,
         isSmile ? smileMapper : jsonMapper,
         isSmile ? serializeDateTimeAsLongSmileMapper : serializeDateTimeAsLongJsonMapper,
-        pretty
+        pretty,
+        acceptsColumnar
     );
   }
 
@@ -356,18 +443,21 @@ public class QueryResource implements QueryCountStatsProvider
     private final ObjectMapper inputMapper;
     private final ObjectMapper serializeDateTimeAsLongInputMapper;
     private final boolean isPretty;
+    private final boolean acceptsColumnar;
 
     ResponseContext(
         String contentType,
         ObjectMapper inputMapper,
         ObjectMapper serializeDateTimeAsLongInputMapper,
-        boolean isPretty
+        boolean isPretty,
+        boolean acceptsColumnar
     )
     {
       this.contentType = contentType;
       this.inputMapper = inputMapper;
       this.serializeDateTimeAsLongInputMapper = serializeDateTimeAsLongInputMapper;
       this.isPretty = isPretty;
+      this.acceptsColumnar = acceptsColumnar;
     }
 
     String getContentType()
@@ -380,6 +470,11 @@ public class QueryResource implements QueryCountStatsProvider
       return inputMapper;
     }
 
+    boolean isAcceptsColumnar()
+    {
+      return acceptsColumnar;
+    }
+
     ObjectWriter newOutputWriter(boolean serializeDateTimeAsLong)
     {
       ObjectMapper mapper = serializeDateTimeAsLong ? serializeDateTimeAsLongInputMapper : inputMapper;
@@ -398,6 +493,14 @@ public class QueryResource implements QueryCountStatsProvider
                      .entity(newOutputWriter(false).writeValueAsBytes(QueryInterruptedException.wrapIfNeeded(e)))
                      .build();
     }
+
+    Response gotLimited(QueryCapacityExceededException e) throws IOException
+    {
+      return Response.status(QueryCapacityExceededException.STATUS_CODE)
+                     .type(contentType)
+                     .entity(newOutputWriter(false).writeValueAsBytes(QueryInterruptedException.wrapIfNeeded(e)))
+                     .build();
+    }
   }
 
   @Override
@@ -417,4 +520,22 @@ public class QueryResource implements QueryCountStatsProvider
   {
     return interruptedQueryCount.get();
   }
+
+  @Override
+  public long getLimitedQueryCount()
+  {
+    return limitedQueryCount.get();
+  }
+
+  @Override
+  public long getDirectResponseBytes()
+  {
+    return directResponseBytes.get();
+  }
+
+  @Override
+  public long getDirectResponseWriteTimeNs()
+  {
+    return directResponseWriteTimeNs.get();
+  }
 }
@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Inject;
+import org.apache.druid.java.util.common.guava.LazySequence;
+import org.apache.druid.java.util.common.guava.Sequence;
+import org.apache.druid.java.util.common.guava.Sequences;
+import org.apache.druid.java.util.common.logger.Logger;
+import org.apache.druid.java.util.emitter.service.ServiceEmitter;
+import org.apache.druid.query.Query;
+import org.apache.druid.query.QueryCapacityExceededException;
+import org.apache.druid.query.QueryContexts;
+import org.apache.druid.query.QueryInterruptedException;
+import org.apache.druid.query.QueryMetrics;
+import org.apache.druid.query.QueryToolChest;
+import org.apache.druid.server.scheduling.QueryLaningStrategy;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for queries on the Broker. Queries are assigned to a lane by the configured {@link
+ * QueryLaningStrategy} (unless they carry an explicit {@link QueryContexts#LANE_KEY} context parameter naming one of
+ * the lanes of the strategy), and must
+ * acquire a slot from both their lane and the total capacity before they are fanned out to data nodes. Queries which
+ * don't get a slot within the configured queue timeout fail with {@link QueryCapacityExceededException}, which the
+ * query resources translate to HTTP 429.
+ *
+ * Slots are acquired lazily, when the result sequence of a query is first iterated, and released when the sequence
+ * is closed.
+ */
+public class QueryScheduler
+{
+  private static final Logger log = new Logger(QueryScheduler.class);
+
+  private final int totalLimit;
+  @Nullable
+  private final Semaphore totalSemaphore;
+  private final Map<String, Integer> laneLimits;
+  private final Map<String, Semaphore> laneSemaphores;
+  private final QueryLaningStrategy laningStrategy;
+  private final long queueTimeoutMillis;
+  private final ServiceEmitter emitter;
+
+  @Inject
+  public QueryScheduler(QuerySchedulerConfig config, ServiceEmitter emitter)
+  {
+    this.totalLimit = config.getNumThreads();
+    this.totalSemaphore = totalLimit > 0 ? new Semaphore(totalLimit, true) : null;
+    this.laningStrategy = config.getLaning();
+    this.laneLimits = ImmutableMap.copyOf(laningStrategy.getLaneLimits(totalLimit));
+    final ImmutableMap.Builder<String, Semaphore> semaphores = ImmutableMap.builder();
+    for (Map.Entry<String, Integer> lane : laneLimits.entrySet()) {
+      semaphores.put(lane.getKey(), new Semaphore(lane.getValue(), true));
+    }
+    this.laneSemaphores = semaphores.build();
+    this.queueTimeoutMillis = config.getQueueTimeout().toStandardDuration().getMillis();
+    this.emitter = emitter;
+  }
+
+  /**
+   * Assigns a lane to the query by setting its {@link QueryContexts#LANE_KEY} context parameter, unless the query
+   * already names a lane that the laning strategy configures. Lanes the strategy doesn't configure have no limit, so
+   * they are replaced by the lane the strategy computes, so that clients can't escape the limit of their lane.
+   */
+  public <T> Query<T> laneQuery(Query<T> query)
+  {
+    final String requestedLane = QueryContexts.getLane(query);
+    if (requestedLane != null && laneLimits.containsKey(requestedLane)) {
+      return query;
+    }
+    final String lane = laningStrategy.computeLane(query);
+    if (Objects.equals(lane, requestedLane)) {
+      return query;
+    }
+    if (requestedLane != null) {
+      log.debug("Ignoring unknown lane[%s] of query[%s], using lane[%s] instead", requestedLane, query.getId(), lane);
+    }
+    // The computed lane may be null, which clears the requested one
+    return query.withOverriddenContext(Collections.singletonMap(QueryContexts.LANE_KEY, lane));
+  }
+
+  /**
+   * Returns a sequence which acquires slots for the (already laned) query before computing its results using the
+   * given supplier, and releases them when closed.
+   */
+  public <T> Sequence<T> run(
+      final Query<T> query,
+      final QueryToolChest<T, ? extends Query<T>> toolChest,
+      final Supplier<Sequence<T>> resultSupplier
+  )
+  {
+    if (totalSemaphore == null && laneSemaphores.isEmpty()) {
+      return resultSupplier.get();
+    }
+    return new LazySequence<>(
+        () -> {
+          final Deque<Semaphore> acquired = acquire(query, toolChest);
+          try {
+            return Sequences.withBaggage(resultSupplier.get(), () -> release(acquired));
+          }
+          catch (RuntimeException e) {
+            release(acquired);
+            throw e;
+          }
+        }
+    );
+  }
+
+  @VisibleForTesting
+  int getTotalAvailableCapacity()
+  {
+    return totalSemaphore == null ? -1 : totalSemaphore.availablePermits();
+  }
+
+  @VisibleForTesting
+  int getLaneAvailableCapacity(String lane)
+  {
+    final Semaphore semaphore = laneSemaphores.get(lane);
+    return semaphore == null ? -1 : semaphore.availablePermits();
+  }
+
+  private <T> Deque<Semaphore> acquire(Query<T> query, QueryToolChest<T, ? extends Query<T>> toolChest)
+  {
+    final String lane = QueryContexts.getLane(query);
+    final Semaphore laneSemaphore = lane == null ? null : laneSemaphores.get(lane);
+    final Deque<Semaphore> acquired = new ArrayDeque<>(2);
+    final long startNs = System.nanoTime();
+    final long deadlineNs = startNs + TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+
+    try {
+      // Acquire the lane first, so that queries waiting on a full lane don't hold on to total capacity.
+      if (laneSemaphore != null) {
+        if (!tryAcquire(laneSemaphore, deadlineNs)) {
+          throw QueryCapacityExceededException.forLane(lane, laneLimits.get(lane));
+        }
+        acquired.push(laneSemaphore);
+      }
+      if (totalSemaphore != null) {
+        if (!tryAcquire(totalSemaphore, deadlineNs)) {
+          throw QueryCapacityExceededException.forTotal(totalLimit);
+        }
+        acquired.push(totalSemaphore);
+      }
+    }
+    catch (InterruptedException e) {
+      release(acquired);
+      Thread.currentThread().interrupt();
+      throw new QueryInterruptedException(e);
+    }
+    catch (QueryCapacityExceededException e) {
+      release(acquired);
+      log.debug("Rejecting query[%s] in lane[%s]: %s", query.getId(), lane, e.getMessage());
+      throw e;
+    }
+    finally {
+      emitQueuedTime(query, toolChest, lane, System.nanoTime() - startNs);
+    }
+    return acquired;
+  }
+
+  private static boolean tryAcquire(Semaphore semaphore, long deadlineNs) throws InterruptedException
+  {
+    final long remainingNs = deadlineNs - System.nanoTime();
+    if (remainingNs <= 0) {
+      return semaphore.tryAcquire();
+    }
+    return semaphore.tryAcquire(remainingNs, TimeUnit.NANOSECONDS);
+  }
+
+  private static void release(Deque<Semaphore> acquired)
+  {
+    while (!acquired.isEmpty()) {
+      acquired.pop().release();
+    }
+  }
+
+  private <T> void emitQueuedTime(
+      Query<T> query,
+      QueryToolChest<T, ? extends Query<T>> toolChest,
+      @Nullable String lane,
+      long queuedNs
+  )
+  {
+    final QueryMetrics<?> queryMetrics = ((QueryToolChest) toolChest).makeMetrics(query);
+    if (lane != null) {
+      queryMetrics.lane(lane);
+    }
+    queryMetrics.reportQueuedTime(queuedNs).emit(emitter);
+  }
+}
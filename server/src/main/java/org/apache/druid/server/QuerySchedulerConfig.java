@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.druid.server.scheduling.NoQueryLaningStrategy;
+import org.apache.druid.server.scheduling.QueryLaningStrategy;
+import org.joda.time.Period;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration of the Broker {@link QueryScheduler}, bound to "druid.query.scheduler".
+ */
+public class QuerySchedulerConfig
+{
+  /**
+   * Maximum number of queries running concurrently, 0 means unlimited.
+   */
+  @JsonProperty
+  @Min(0)
+  private int numThreads = 0;
+
+  @JsonProperty
+  @NotNull
+  private QueryLaningStrategy laning = new NoQueryLaningStrategy();
+
+  /**
+   * How long a query may wait for a free slot before it is rejected. Zero means reject immediately.
+   */
+  @JsonProperty
+  @NotNull
+  private Period queueTimeout = Period.ZERO;
+
+  public int getNumThreads()
+  {
+    return numThreads;
+  }
+
+  public QueryLaningStrategy getLaning()
+  {
+    return laning;
+  }
+
+  public Period getQueueTimeout()
+  {
+    return queueTimeout;
+  }
+}
@@ -28,7 +28,6 @@ import com.google.common.base.Throwables;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
 import com.google.common.util.concurrent.AbstractFuture;
@@ -46,10 +45,13 @@ import org.apache.druid.segment.loading.SegmentLoadingException;
 import org.apache.druid.server.SegmentManager;
 import org.apache.druid.timeline.DataSegment;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -73,6 +75,17 @@ public class SegmentLoadDropHandler implements DataSegmentChangeHandler
 {
   private static final EmittingLogger log = new EmittingLogger(SegmentLoadDropHandler.class);
 
+  /**
+   * Order in which cached segments are loaded and announced on startup: most recent data first, since it is usually
+   * the most queried.
+   */
+  @VisibleForTesting
+  static final Comparator<DataSegment> BOOTSTRAP_ORDER = Comparator
+      .comparing((DataSegment segment) -> segment.getInterval().getEndMillis())
+      .thenComparing(segment -> segment.getInterval().getStartMillis())
+      .reversed()
+      .thenComparing(DataSegment::getIdentifier);
+
   // Synchronizes removals from segmentsToDelete
   private final Object segmentDeleteLock = new Object();
 
@@ -89,6 +102,9 @@ public class SegmentLoadDropHandler implements DataSegmentChangeHandler
 
   private volatile boolean started = false;
 
+  // Number of cached segments which are still to be loaded on startup
+  private final AtomicInteger bootstrapSegmentsPending = new AtomicInteger(0);
+
   // Keep history of load/drop request status in a LRU cache to maintain idempotency if same request shows up
   // again and to return status of a completed request. Maximum size of this cache must be significantly greater
   // than number of pending load/drop requests. so that history is not lost too quickly.
@@ -199,44 +215,63 @@ public class SegmentLoadDropHandler implements DataSegmentChangeHandler
       }
     }
 
-    List<DataSegment> cachedSegments = Lists.newArrayList();
-    File[] segmentsToLoad = baseDir.listFiles();
-    int ignored = 0;
-    for (int i = 0; i < segmentsToLoad.length; i++) {
-      File file = segmentsToLoad[i];
-      log.info("Loading segment cache file [%d/%d][%s].", i + 1, segmentsToLoad.length, file);
-      try {
-        final DataSegment segment = jsonMapper.readValue(file, DataSegment.class);
-
-        if (!segment.getIdentifier().equals(file.getName())) {
-          log.warn("Ignoring cache file[%s] for segment[%s].", file.getPath(), segment.getIdentifier());
-          ignored++;
-        } else if (segmentManager.isSegmentCached(segment)) {
-          cachedSegments.add(segment);
-        } else {
-          log.warn("Unable to find cache file for %s. Deleting lookup entry", segment.getIdentifier());
-
-          File segmentInfoCacheFile = new File(baseDir, segment.getIdentifier());
-          if (!segmentInfoCacheFile.delete()) {
-            log.warn("Unable to delete segmentInfoCacheFile[%s]", segmentInfoCacheFile);
-          }
-        }
-      }
-      catch (Exception e) {
-        log.makeAlert(e, "Failed to load segment from segmentInfo file")
-           .addData("file", file)
-           .emit();
+    final File[] segmentsToLoad = baseDir.listFiles();
+    final List<DataSegment> cachedSegments = Collections.synchronizedList(new ArrayList<>(segmentsToLoad.length));
+    final AtomicInteger ignored = new AtomicInteger(0);
+
+    // reading and checking the descriptors is done by the bootstrap threads too, it takes a while with many segments
+    final ExecutorService descriptorExecutor = Execs.multiThreaded(
+        config.getNumBootstrapThreads(),
+        "Segment-Descriptor-Startup-%s"
+    );
+    try {
+      bootstrapSegmentsPending.set(segmentsToLoad.length);
+      final CountDownLatch latch = new CountDownLatch(segmentsToLoad.length);
+      for (final File file : segmentsToLoad) {
+        descriptorExecutor.submit(
+            () -> {
+              try {
+                final DataSegment segment = readCachedSegment(baseDir, file, ignored);
+                if (segment != null) {
+                  cachedSegments.add(segment);
+                }
+              }
+              finally {
+                latch.countDown();
+              }
+            }
+        );
       }
+      latch.await();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.makeAlert(e, "LoadingInterrupted").emit();
+      bootstrapSegmentsPending.set(0);
+      return;
+    }
+    finally {
+      descriptorExecutor.shutdownNow();
     }
 
-    if (ignored > 0) {
+    if (ignored.get() > 0) {
       log.makeAlert("Ignored misnamed segment cache files on startup.")
-         .addData("numIgnored", ignored)
+         .addData("numIgnored", ignored.get())
          .emit();
     }
 
+    log.info(
+        "Read %,d segment cache files in %,d ms, loading %,d segments.",
+        segmentsToLoad.length,
+        System.currentTimeMillis() - start,
+        cachedSegments.size()
+    );
+
+    final List<DataSegment> sortedSegments = new ArrayList<>(cachedSegments);
+    sortedSegments.sort(BOOTSTRAP_ORDER);
+
     addSegments(
-        cachedSegments,
+        sortedSegments,
         new DataSegmentChangeCallback()
         {
           @Override
@@ -248,6 +283,40 @@ public class SegmentLoadDropHandler implements DataSegmentChangeHandler
     );
   }
 
+  /**
+   * Reads the segment descriptor from the given info_dir file. Returns null, and counts the file in "ignored", if the
+   * file is misnamed. Descriptors of segments which are no longer in the segment cache are deleted, and null is
+   * returned for them too.
+   */
+  @Nullable
+  private DataSegment readCachedSegment(File baseDir, File file, AtomicInteger ignored)
+  {
+    try {
+      final DataSegment segment = jsonMapper.readValue(file, DataSegment.class);
+
+      if (!segment.getIdentifier().equals(file.getName())) {
+        log.warn("Ignoring cache file[%s] for segment[%s].", file.getPath(), segment.getIdentifier());
+        ignored.incrementAndGet();
+        return null;
+      } else if (segmentManager.isSegmentCached(segment)) {
+        return segment;
+      } else {
+        log.warn("Unable to find cache file for %s. Deleting lookup entry", segment.getIdentifier());
+
+        File segmentInfoCacheFile = new File(baseDir, segment.getIdentifier());
+        if (!segmentInfoCacheFile.delete()) {
+          log.warn("Unable to delete segmentInfoCacheFile[%s]", segmentInfoCacheFile);
+        }
+      }
+    }
+    catch (Exception e) {
+      log.makeAlert(e, "Failed to load segment from segmentInfo file")
+         .addData("file", file)
+         .emit();
+    }
+    return null;
+  }
+
   /**
    * Load a single segment. If the segment is loaded successfully, this function simply returns. Otherwise it will
    * throw a SegmentLoadingException
@@ -339,6 +408,7 @@ public class SegmentLoadDropHandler implements DataSegmentChangeHandler
       loadingExecutor = Execs.multiThreaded(config.getNumBootstrapThreads(), "Segment-Load-Startup-%s");
 
       final int numSegments = segments.size();
+      bootstrapSegmentsPending.set(numSegments);
       final CountDownLatch latch = new CountDownLatch(numSegments);
       final AtomicInteger counter = new AtomicInteger(0);
       final CopyOnWriteArrayList<DataSegment> failedSegments = new CopyOnWriteArrayList<>();
@@ -370,6 +440,7 @@ public class SegmentLoadDropHandler implements DataSegmentChangeHandler
                   failedSegments.add(segment);
                 }
                 finally {
+                  bootstrapSegmentsPending.decrementAndGet();
                   latch.countDown();
                 }
               }
@@ -482,6 +553,14 @@ public class SegmentLoadDropHandler implements DataSegmentChangeHandler
     return ImmutableList.copyOf(segmentsToDelete);
   }
 
+  /**
+   * Returns the number of segments from the local segment cache which are not loaded yet, while the node is starting.
+   */
+  public int getNumBootstrapSegmentsPending()
+  {
+    return bootstrapSegmentsPending.get();
+  }
+
   public ListenableFuture<List<DataSegmentChangeRequestAndStatus>> processBatch(List<DataSegmentChangeRequest> changeRequests)
   {
     boolean isAnyRequestDone = false;
@@ -628,6 +707,7 @@ public class SegmentLoadDropHandler implements DataSegmentChangeHandler
                   if (!(finished && queue.isEmpty())) {
                     final List<DataSegment> segments = new ArrayList<>();
                     queue.drainTo(segments);
+                    segments.sort(BOOTSTRAP_ORDER);
                     try {
                       announcer.announceSegments(segments);
                       nextAnnoucement = exec.schedule(this, intervalMillis, TimeUnit.MILLISECONDS);
@@ -660,6 +740,7 @@ public class SegmentLoadDropHandler implements DataSegmentChangeHandler
         try {
           final List<DataSegment> segments = new ArrayList<>();
           queue.drainTo(segments);
+          segments.sort(BOOTSTRAP_ORDER);
           announcer.announceSegments(segments);
         }
         catch (Exception e) {
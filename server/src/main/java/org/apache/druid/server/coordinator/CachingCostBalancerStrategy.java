@@ -21,11 +21,14 @@ package org.apache.druid.server.coordinator;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.ListeningExecutorService;
+import org.apache.druid.java.util.common.Pair;
 import org.apache.druid.server.coordinator.cost.ClusterCostCache;
 import org.apache.druid.timeline.DataSegment;
 
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 public class CachingCostBalancerStrategy extends CostBalancerStrategy
@@ -33,6 +36,13 @@ public class CachingCostBalancerStrategy extends CostBalancerStrategy
 
   private final ClusterCostCache clusterCostCache;
 
+  /**
+   * Cost caches of the segments that each server is loading, kept until these segments change, because building a
+   * cache is quadratic in the number of segments and costs are computed for many segments during a coordinator run.
+   */
+  private final ConcurrentHashMap<String, Pair<Set<DataSegment>, ClusterCostCache>> loadingSegmentsCostCaches =
+      new ConcurrentHashMap<>();
+
   public CachingCostBalancerStrategy(ClusterCostCache clusterCostCache, ListeningExecutorService exec)
   {
     super(exec);
@@ -59,7 +69,10 @@ public class CachingCostBalancerStrategy extends CostBalancerStrategy
     double cost = clusterCostCache.computeCost(serverName, proposalSegment);
 
     // add segments that will be loaded to the cost
-    cost += costCacheForLoadingSegments(server).computeCost(serverName, proposalSegment);
+    final Set<DataSegment> loadingSegments = server.getPeon().getSegmentsToLoad();
+    if (!loadingSegments.isEmpty()) {
+      cost += costCacheForLoadingSegments(serverName, loadingSegments).computeCost(serverName, proposalSegment);
+    }
 
     if (server.getAvailableSize() <= 0) {
       return Double.POSITIVE_INFINITY;
@@ -68,10 +81,18 @@ public class CachingCostBalancerStrategy extends CostBalancerStrategy
     return cost * (server.getMaxSize() / server.getAvailableSize());
   }
 
-  private ClusterCostCache costCacheForLoadingSegments(ServerHolder server)
+  private ClusterCostCache costCacheForLoadingSegments(String serverName, Set<DataSegment> loadingSegments)
   {
-    final Set<DataSegment> loadingSegments = server.getPeon().getSegmentsToLoad();
-    return ClusterCostCache.builder(ImmutableMap.of(server.getServer().getName(), loadingSegments)).build();
+    return loadingSegmentsCostCaches.compute(
+        serverName,
+        (name, cached) -> {
+          if (cached != null && cached.lhs.equals(loadingSegments)) {
+            return cached;
+          }
+          final Set<DataSegment> segments = ImmutableSet.copyOf(loadingSegments);
+          return Pair.of(segments, ClusterCostCache.builder(ImmutableMap.of(name, segments)).build());
+        }
+    ).rhs;
   }
 
 }
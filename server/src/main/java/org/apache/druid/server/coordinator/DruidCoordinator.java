@@ -19,6 +19,7 @@
 
 package org.apache.druid.server.coordinator;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
@@ -38,6 +39,7 @@ import org.apache.druid.client.DruidServer;
 import org.apache.druid.client.ImmutableDruidDataSource;
 import org.apache.druid.client.ImmutableDruidServer;
 import org.apache.druid.client.ServerInventoryView;
+import org.apache.druid.client.ServerView;
 import org.apache.druid.client.coordinator.Coordinator;
 import org.apache.druid.client.indexing.IndexingServiceClient;
 import org.apache.druid.common.config.JacksonConfigManager;
@@ -58,9 +60,11 @@ import org.apache.druid.java.util.common.lifecycle.LifecycleStart;
 import org.apache.druid.java.util.common.lifecycle.LifecycleStop;
 import org.apache.druid.java.util.emitter.EmittingLogger;
 import org.apache.druid.java.util.emitter.service.ServiceEmitter;
+import org.apache.druid.java.util.emitter.service.ServiceMetricEvent;
 import org.apache.druid.metadata.MetadataRuleManager;
 import org.apache.druid.metadata.MetadataSegmentManager;
 import org.apache.druid.server.DruidNode;
+import org.apache.druid.server.coordination.DruidServerMetadata;
 import org.apache.druid.server.coordinator.helper.DruidCoordinatorBalancer;
 import org.apache.druid.server.coordinator.helper.DruidCoordinatorCleanupOvershadowed;
 import org.apache.druid.server.coordinator.helper.DruidCoordinatorCleanupUnneeded;
@@ -78,15 +82,22 @@ import org.joda.time.DateTime;
 import org.joda.time.Duration;
 import org.joda.time.Interval;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -125,6 +136,12 @@ public class DruidCoordinator
 
   private final DruidCoordinatorSegmentCompactor segmentCompactor;
 
+  /**
+   * Datasources of the segments that historicals loaded or dropped since the last coordinator run, see {@link
+   * CoordinatorIncrementalRunnable}.
+   */
+  private final Set<String> changedDataSources = ConcurrentHashMap.newKeySet();
+
   private volatile boolean started = false;
   private volatile SegmentReplicantLookup segmentReplicantLookup = null;
 
@@ -454,9 +471,27 @@ public class DruidCoordinator
 
   public Set<DataSegment> getOrderedAvailableDataSegments()
   {
-    Set<DataSegment> availableSegments = Sets.newTreeSet(SEGMENT_COMPARATOR);
+    return orderAvailableDataSegments(getAvailableDataSegments());
+  }
+
+  /**
+   * Like {@link #getOrderedAvailableDataSegments()}, but only returns the segments of the given datasources.
+   */
+  public Set<DataSegment> getOrderedAvailableDataSegments(Set<String> dataSources)
+  {
+    final List<DataSegment> dataSegments = new ArrayList<>();
+    for (String dataSource : dataSources) {
+      final ImmutableDruidDataSource druidDataSource = metadataSegmentManager.getInventoryValue(dataSource);
+      if (druidDataSource != null) {
+        dataSegments.addAll(druidDataSource.getSegments());
+      }
+    }
+    return orderAvailableDataSegments(dataSegments);
+  }
 
-    Iterable<DataSegment> dataSegments = getAvailableDataSegments();
+  private Set<DataSegment> orderAvailableDataSegments(Iterable<DataSegment> dataSegments)
+  {
+    Set<DataSegment> availableSegments = Sets.newTreeSet(SEGMENT_COMPARATOR);
 
     for (DataSegment dataSegment : dataSegments) {
       if (dataSegment.getSize() < 0) {
@@ -487,6 +522,10 @@ public class DruidCoordinator
       }
       started = true;
 
+      if (isIncrementalCoordinationEnabled()) {
+        registerChangedDataSourcesCallbacks();
+      }
+
       coordLeaderSelector.registerListener(
           new DruidLeaderSelector.Listener()
           {
@@ -538,13 +577,24 @@ public class DruidCoordinator
       serviceAnnouncer.announce(self);
       final int startingLeaderCounter = coordLeaderSelector.localTerm();
 
+      // Shared by the historical and incremental runs, so that replication throttling applies to both of them
+      final ReplicationThrottler replicationThrottler = makeReplicationThrottler();
+
       final List<Pair<? extends CoordinatorRunnable, Duration>> coordinatorRunnables = Lists.newArrayList();
       coordinatorRunnables.add(
           Pair.of(
-              new CoordinatorHistoricalManagerRunnable(startingLeaderCounter),
+              new CoordinatorHistoricalManagerRunnable(replicationThrottler, startingLeaderCounter),
               config.getCoordinatorPeriod()
           )
       );
+      if (isIncrementalCoordinationEnabled()) {
+        coordinatorRunnables.add(
+            Pair.of(
+                new CoordinatorIncrementalRunnable(replicationThrottler, startingLeaderCounter),
+                config.getCoordinatorIncrementalPeriod()
+            )
+        );
+      }
       if (indexingServiceClient != null) {
         coordinatorRunnables.add(
             Pair.of(
@@ -604,6 +654,92 @@ public class DruidCoordinator
     }
   }
 
+  private boolean isIncrementalCoordinationEnabled()
+  {
+    return config.getCoordinatorIncrementalPeriod().getMillis() > 0;
+  }
+
+  /**
+   * Tracks the datasources of the segments that historicals load and drop, for the incremental runs.
+   */
+  private void registerChangedDataSourcesCallbacks()
+  {
+    serverInventoryView.registerSegmentCallback(
+        MoreExecutors.sameThreadExecutor(),
+        new ServerView.BaseSegmentCallback()
+        {
+          @Override
+          public ServerView.CallbackAction segmentAdded(DruidServerMetadata server, DataSegment segment)
+          {
+            if (server.segmentReplicatable()) {
+              changedDataSources.add(segment.getDataSource());
+            }
+            return ServerView.CallbackAction.CONTINUE;
+          }
+
+          @Override
+          public ServerView.CallbackAction segmentRemoved(DruidServerMetadata server, DataSegment segment)
+          {
+            if (server.segmentReplicatable()) {
+              changedDataSources.add(segment.getDataSource());
+            }
+            return ServerView.CallbackAction.CONTINUE;
+          }
+        }
+    );
+
+    serverInventoryView.registerServerRemovedCallback(
+        MoreExecutors.sameThreadExecutor(),
+        server -> {
+          if (server.segmentReplicatable()) {
+            for (DruidDataSource dataSource : server.getDataSources()) {
+              changedDataSources.add(dataSource.getName());
+            }
+          }
+          return ServerView.CallbackAction.CONTINUE;
+        }
+    );
+  }
+
+  /**
+   * Returns the datasources whose available or served segments changed since the previous call, or null if the
+   * metadata segment manager doesn't track its changes.
+   */
+  @Nullable
+  private Set<String> drainChangedDataSources()
+  {
+    final Set<String> drained = new HashSet<>();
+    final Iterator<String> iterator = changedDataSources.iterator();
+    while (iterator.hasNext()) {
+      drained.add(iterator.next());
+      iterator.remove();
+    }
+
+    final Set<String> polledChanges = metadataSegmentManager.drainChangedDataSources();
+    if (polledChanges == null) {
+      return null;
+    }
+    drained.addAll(polledChanges);
+    return drained;
+  }
+
+  /**
+   * Runs {@link CoordinatorIncrementalRunnable} once, immediately.
+   */
+  @VisibleForTesting
+  void runIncrementalCoordination()
+  {
+    new CoordinatorIncrementalRunnable(makeReplicationThrottler(), coordLeaderSelector.localTerm()).run();
+  }
+
+  private ReplicationThrottler makeReplicationThrottler()
+  {
+    return new ReplicationThrottler(
+        getDynamicConfigs().getReplicationThrottleLimit(),
+        getDynamicConfigs().getReplicantLifetime()
+    );
+  }
+
   private List<DruidCoordinatorHelper> makeIndexingServiceHelpers()
   {
     List<DruidCoordinatorHelper> helpers = Lists.newArrayList();
@@ -621,15 +757,30 @@ public class DruidCoordinator
   public abstract class CoordinatorRunnable implements Runnable
   {
     private final long startTime = System.currentTimeMillis();
+    private final String runType;
     private final List<DruidCoordinatorHelper> helpers;
     private final int startingLeaderCounter;
 
-    protected CoordinatorRunnable(List<DruidCoordinatorHelper> helpers, final int startingLeaderCounter)
+    protected CoordinatorRunnable(
+        String runType,
+        List<DruidCoordinatorHelper> helpers,
+        final int startingLeaderCounter
+    )
     {
+      this.runType = runType;
       this.helpers = helpers;
       this.startingLeaderCounter = startingLeaderCounter;
     }
 
+    /**
+     * Returns the datasources to coordinate in this run, or null to skip it.
+     */
+    @Nullable
+    protected Collection<ImmutableDruidDataSource> getDataSources()
+    {
+      return metadataSegmentManager.getInventory();
+    }
+
     @Override
     public void run()
     {
@@ -655,6 +806,11 @@ public class DruidCoordinator
           }
         }
 
+        final Collection<ImmutableDruidDataSource> dataSources = getDataSources();
+        if (dataSources == null) {
+          return;
+        }
+
         balancerExec = MoreExecutors.listeningDecorator(Execs.multiThreaded(
             getDynamicConfigs().getBalancerComputeThreads(),
             "coordinator-cost-balancer-%s"
@@ -665,7 +821,7 @@ public class DruidCoordinator
         DruidCoordinatorRuntimeParams params =
             DruidCoordinatorRuntimeParams.newBuilder()
                                          .withStartTime(startTime)
-                                         .withDataSources(metadataSegmentManager.getInventory())
+                                         .withDataSources(dataSources)
                                          .withDynamicConfigs(getDynamicConfigs())
                                          .withCompactionConfig(getCompactionConfig())
                                          .withEmitter(emitter)
@@ -674,7 +830,14 @@ public class DruidCoordinator
         for (DruidCoordinatorHelper helper : helpers) {
           // Don't read state and run state in the same helper otherwise racy conditions may exist
           if (coordLeaderSelector.isLeader() && startingLeaderCounter == coordLeaderSelector.localTerm()) {
+            final long helperStartNs = System.nanoTime();
             params = helper.run(params);
+            emitter.emit(
+                new ServiceMetricEvent.Builder()
+                    .setDimension("runType", runType)
+                    .setDimension("helper", helper.getClass().getSimpleName())
+                    .build("coordinator/time", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - helperStartNs))
+            );
           }
         }
       }
@@ -691,67 +854,17 @@ public class DruidCoordinator
 
   private class CoordinatorHistoricalManagerRunnable extends CoordinatorRunnable
   {
-    public CoordinatorHistoricalManagerRunnable(final int startingLeaderCounter)
+    public CoordinatorHistoricalManagerRunnable(
+        final ReplicationThrottler replicationThrottler,
+        final int startingLeaderCounter
+    )
     {
       super(
+          "historical",
           ImmutableList.of(
               new DruidCoordinatorSegmentInfoLoader(DruidCoordinator.this),
-              params -> {
-                List<ImmutableDruidServer> servers = serverInventoryView
-                    .getInventory()
-                    .stream()
-                    .filter(DruidServer::segmentReplicatable)
-                    .map(DruidServer::toImmutableDruidServer)
-                    .collect(Collectors.toList());
-
-                if (log.isDebugEnabled()) {
-                  // Display info about all historical servers
-                  log.debug("Servers");
-                  for (ImmutableDruidServer druidServer : servers) {
-                    log.debug("  %s", druidServer);
-                    log.debug("    -- DataSources");
-                    for (ImmutableDruidDataSource druidDataSource : druidServer.getDataSources()) {
-                      log.debug("    %s", druidDataSource);
-                    }
-                  }
-                }
-
-                // Find all historical servers, group them by subType and sort by ascending usage
-                final DruidCluster cluster = new DruidCluster();
-                for (ImmutableDruidServer server : servers) {
-                  if (!loadManagementPeons.containsKey(server.getName())) {
-                    LoadQueuePeon loadQueuePeon = taskMaster.giveMePeon(server);
-                    loadQueuePeon.start();
-                    log.info("Created LoadQueuePeon for server[%s].", server.getName());
-
-                    loadManagementPeons.put(server.getName(), loadQueuePeon);
-                  }
-
-                  cluster.add(new ServerHolder(server, loadManagementPeons.get(server.getName())));
-                }
-
-                segmentReplicantLookup = SegmentReplicantLookup.make(cluster);
-
-                // Stop peons for servers that aren't there anymore.
-                final Set<String> disappeared = Sets.newHashSet(loadManagementPeons.keySet());
-                for (ImmutableDruidServer server : servers) {
-                  disappeared.remove(server.getName());
-                }
-                for (String name : disappeared) {
-                  log.info("Removing listener for server[%s] which is no longer there.", name);
-                  LoadQueuePeon peon = loadManagementPeons.remove(name);
-                  peon.stop();
-                }
-
-                return params.buildFromExisting()
-                             .withDruidCluster(cluster)
-                             .withDatabaseRuleManager(metadataRuleManager)
-                             .withLoadManagementPeons(loadManagementPeons)
-                             .withSegmentReplicantLookup(segmentReplicantLookup)
-                             .withBalancerReferenceTimestamp(DateTimes.nowUtc())
-                             .build();
-              },
-              new DruidCoordinatorRuleRunner(DruidCoordinator.this),
+              new UpdateCoordinatorStateAndPrepareCluster(),
+              new DruidCoordinatorRuleRunner(replicationThrottler, DruidCoordinator.this),
               new DruidCoordinatorCleanupUnneeded(DruidCoordinator.this),
               new DruidCoordinatorCleanupOvershadowed(DruidCoordinator.this),
               new DruidCoordinatorBalancer(DruidCoordinator.this),
@@ -760,13 +873,131 @@ public class DruidCoordinator
           startingLeaderCounter
       );
     }
+
+    @Nullable
+    @Override
+    protected Collection<ImmutableDruidDataSource> getDataSources()
+    {
+      // This run coordinates all datasources, so incremental runs only need to coordinate the ones changed from now on
+      drainChangedDataSources();
+      return super.getDataSources();
+    }
+  }
+
+  /**
+   * Runs the rules of the datasources whose segments changed since the previous run, between the runs of {@link
+   * CoordinatorHistoricalManagerRunnable}, so that new segments are assigned without waiting for a run over the whole
+   * cluster. Cleaning up and balancing are left to the full runs, because they need all segments, and so is the
+   * state of the cluster that {@link DruidCoordinatorLogger} emits. These runs only emit the assignments and drops of
+   * their rules, and don't count towards the replicant lifetime.
+   */
+  private class CoordinatorIncrementalRunnable extends CoordinatorRunnable
+  {
+    public CoordinatorIncrementalRunnable(
+        final ReplicationThrottler replicationThrottler,
+        final int startingLeaderCounter
+    )
+    {
+      super(
+          "incremental",
+          ImmutableList.of(
+              new DruidCoordinatorSegmentInfoLoader(DruidCoordinator.this, true),
+              new UpdateCoordinatorStateAndPrepareCluster(),
+              new DruidCoordinatorRuleRunner(replicationThrottler, DruidCoordinator.this, false),
+              new DruidCoordinatorLogger(DruidCoordinator.this, false)
+          ),
+          startingLeaderCounter
+      );
+    }
+
+    @Nullable
+    @Override
+    protected Collection<ImmutableDruidDataSource> getDataSources()
+    {
+      final Set<String> changedDataSources = drainChangedDataSources();
+      if (changedDataSources == null) {
+        return super.getDataSources();
+      }
+
+      final List<ImmutableDruidDataSource> dataSources = changedDataSources
+          .stream()
+          .map(metadataSegmentManager::getInventoryValue)
+          .filter(Objects::nonNull)
+          .collect(Collectors.toList());
+      if (dataSources.isEmpty()) {
+        return null;
+      }
+      log.info("Coordinating [%,d] changed datasources.", dataSources.size());
+      return dataSources;
+    }
+  }
+
+  private class UpdateCoordinatorStateAndPrepareCluster implements DruidCoordinatorHelper
+  {
+    @Override
+    public DruidCoordinatorRuntimeParams run(DruidCoordinatorRuntimeParams params)
+    {
+      List<ImmutableDruidServer> servers = serverInventoryView
+          .getInventory()
+          .stream()
+          .filter(DruidServer::segmentReplicatable)
+          .map(DruidServer::toImmutableDruidServer)
+          .collect(Collectors.toList());
+
+      if (log.isDebugEnabled()) {
+        // Display info about all historical servers
+        log.debug("Servers");
+        for (ImmutableDruidServer druidServer : servers) {
+          log.debug("  %s", druidServer);
+          log.debug("    -- DataSources");
+          for (ImmutableDruidDataSource druidDataSource : druidServer.getDataSources()) {
+            log.debug("    %s", druidDataSource);
+          }
+        }
+      }
+
+      // Find all historical servers, group them by subType and sort by ascending usage
+      final DruidCluster cluster = new DruidCluster();
+      for (ImmutableDruidServer server : servers) {
+        if (!loadManagementPeons.containsKey(server.getName())) {
+          LoadQueuePeon loadQueuePeon = taskMaster.giveMePeon(server);
+          loadQueuePeon.start();
+          log.info("Created LoadQueuePeon for server[%s].", server.getName());
+
+          loadManagementPeons.put(server.getName(), loadQueuePeon);
+        }
+
+        cluster.add(new ServerHolder(server, loadManagementPeons.get(server.getName())));
+      }
+
+      segmentReplicantLookup = SegmentReplicantLookup.make(cluster);
+
+      // Stop peons for servers that aren't there anymore.
+      final Set<String> disappeared = Sets.newHashSet(loadManagementPeons.keySet());
+      for (ImmutableDruidServer server : servers) {
+        disappeared.remove(server.getName());
+      }
+      for (String name : disappeared) {
+        log.info("Removing listener for server[%s] which is no longer there.", name);
+        LoadQueuePeon peon = loadManagementPeons.remove(name);
+        peon.stop();
+      }
+
+      return params.buildFromExisting()
+                   .withDruidCluster(cluster)
+                   .withDatabaseRuleManager(metadataRuleManager)
+                   .withLoadManagementPeons(loadManagementPeons)
+                   .withSegmentReplicantLookup(segmentReplicantLookup)
+                   .withBalancerReferenceTimestamp(DateTimes.nowUtc())
+                   .build();
+    }
   }
 
   private class CoordinatorIndexingServiceRunnable extends CoordinatorRunnable
   {
     public CoordinatorIndexingServiceRunnable(List<DruidCoordinatorHelper> helpers, final int startingLeaderCounter)
     {
-      super(helpers, startingLeaderCounter);
+      super("indexing", helpers, startingLeaderCounter);
     }
   }
 }
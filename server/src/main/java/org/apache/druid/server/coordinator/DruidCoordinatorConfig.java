@@ -39,6 +39,12 @@ public abstract class DruidCoordinatorConfig
   @Default("PT1800s")
   public abstract Duration getCoordinatorIndexingPeriod();
 
+  @Config("druid.coordinator.period.incrementalPeriod")
+  public Duration getCoordinatorIncrementalPeriod()
+  {
+    return Duration.ZERO;
+  }
+
   @Config("druid.coordinator.kill.period")
   @Default("P1D")
   public abstract Duration getCoordinatorKillPeriod();
@@ -54,10 +54,26 @@ public class ReplicationThrottler
 
   public void updateReplicationState(String tier)
   {
-    update(tier, currentlyReplicating, replicatingLookup, "create");
+    update(tier, currentlyReplicating, replicatingLookup, "create", true);
   }
 
-  private void update(String tier, ReplicatorSegmentHolder holder, Map<String, Boolean> lookup, String type)
+  /**
+   * Like {@link #updateReplicationState(String)}, but doesn't count towards the replicant lifetime, which is a
+   * number of full coordinator runs. Used by the incremental runs of {@link DruidCoordinator}, which may be much more
+   * frequent.
+   */
+  public void refreshReplicationState(String tier)
+  {
+    update(tier, currentlyReplicating, replicatingLookup, "create", false);
+  }
+
+  private void update(
+      String tier,
+      ReplicatorSegmentHolder holder,
+      Map<String, Boolean> lookup,
+      String type,
+      boolean reduceLifetime
+  )
   {
     int size = holder.getNumProcessing(tier);
     if (size != 0) {
@@ -69,13 +85,15 @@ public class ReplicationThrottler
           holder.getLifetime(tier),
           holder.getCurrentlyProcessingSegmentsAndHosts(tier)
       );
-      holder.reduceLifetime(tier);
       lookup.put(tier, false);
 
-      if (holder.getLifetime(tier) < 0) {
-        log.makeAlert("[%s]: Replicant %s queue stuck after %d+ runs!", tier, type, maxLifetime)
-           .addData("segments", holder.getCurrentlyProcessingSegmentsAndHosts(tier))
-           .emit();
+      if (reduceLifetime) {
+        holder.reduceLifetime(tier);
+        if (holder.getLifetime(tier) < 0) {
+          log.makeAlert("[%s]: Replicant %s queue stuck after %d+ runs!", tier, type, maxLifetime)
+             .addData("segments", holder.getCurrentlyProcessingSegmentsAndHosts(tier))
+             .emit();
+        }
       }
     } else {
       log.info("[%s]: Replicant %s queue is empty.", tier, type);
@@ -22,6 +22,7 @@ package org.apache.druid.server.coordinator.cost;
 import com.google.common.base.Preconditions;
 import org.apache.druid.timeline.DataSegment;
 
+import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -60,6 +61,8 @@ public class ServerCostCache
   {
     private final SegmentsCostCache.Builder allSegmentsCostCache = SegmentsCostCache.builder();
     private final Map<String, SegmentsCostCache.Builder> segmentsPerDataSource = new HashMap<>();
+    @Nullable
+    private ServerCostCache built = null;
 
     public Builder addSegment(DataSegment dataSegment)
     {
@@ -67,6 +70,7 @@ public class ServerCostCache
       segmentsPerDataSource
           .computeIfAbsent(dataSegment.getDataSource(), d -> SegmentsCostCache.builder())
           .addSegment(dataSegment);
+      built = null;
       return this;
     }
 
@@ -77,6 +81,7 @@ public class ServerCostCache
           dataSegment.getDataSource(),
           (ds, builder) -> builder.removeSegment(dataSegment).isEmpty() ? null : builder
       );
+      built = null;
       return this;
     }
 
@@ -85,15 +90,21 @@ public class ServerCostCache
       return allSegmentsCostCache.isEmpty();
     }
 
+    /**
+     * Returns the same cache until a segment is added or removed, see {@link SegmentsCostCache.Builder}.
+     */
     public ServerCostCache build()
     {
-      return new ServerCostCache(
-          allSegmentsCostCache.build(),
-          segmentsPerDataSource
-              .entrySet()
-              .stream()
-              .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().build()))
-      );
+      if (built == null) {
+        built = new ServerCostCache(
+            allSegmentsCostCache.build(),
+            segmentsPerDataSource
+                .entrySet()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().build()))
+        );
+      }
+      return built;
     }
   }
 }
@@ -45,10 +45,22 @@ public class DruidCoordinatorLogger implements DruidCoordinatorHelper
 {
   private static final Logger log = new Logger(DruidCoordinatorLogger.class);
   private final DruidCoordinator coordinator;
+  private final boolean fullRun;
 
   public DruidCoordinatorLogger(DruidCoordinator coordinator)
+  {
+    this(coordinator, true);
+  }
+
+  /**
+   * @param fullRun whether this logger is used by full coordinator runs. Other runs only coordinate some datasources,
+   *                so they only log and emit the segments assigned and dropped by their rules, not the state of the
+   *                cluster.
+   */
+  public DruidCoordinatorLogger(DruidCoordinator coordinator, boolean fullRun)
   {
     this.coordinator = coordinator;
+    this.fullRun = fullRun;
   }
 
   private void emitTieredStat(
@@ -80,13 +92,12 @@ public class DruidCoordinatorLogger implements DruidCoordinatorHelper
     );
   }
 
-  @Override
-  public DruidCoordinatorRuntimeParams run(DruidCoordinatorRuntimeParams params)
+  private void emitAssignedAndDroppedStats(
+      final DruidCluster cluster,
+      final CoordinatorStats stats,
+      final ServiceEmitter emitter
+  )
   {
-    DruidCluster cluster = params.getDruidCluster();
-    CoordinatorStats stats = params.getCoordinatorStats();
-    ServiceEmitter emitter = params.getEmitter();
-
     stats.forEachTieredStat(
         "assignedCount",
         (final String tier, final long count) -> {
@@ -110,6 +121,19 @@ public class DruidCoordinatorLogger implements DruidCoordinatorHelper
           emitTieredStat(emitter, "segment/dropped/count", tier, count);
         }
     );
+  }
+
+  @Override
+  public DruidCoordinatorRuntimeParams run(DruidCoordinatorRuntimeParams params)
+  {
+    DruidCluster cluster = params.getDruidCluster();
+    CoordinatorStats stats = params.getCoordinatorStats();
+    ServiceEmitter emitter = params.getEmitter();
+
+    emitAssignedAndDroppedStats(cluster, stats, emitter);
+    if (!fullRun) {
+      return params;
+    }
 
     emitTieredStats(emitter, "segment/cost/raw", stats, "initialCost");
 
@@ -52,6 +52,8 @@ public class DruidCoordinatorRuleRunner implements DruidCoordinatorHelper
 
   private final DruidCoordinator coordinator;
 
+  private final boolean fullRun;
+
   public DruidCoordinatorRuleRunner(DruidCoordinator coordinator)
   {
     this(
@@ -64,9 +66,23 @@ public class DruidCoordinatorRuleRunner implements DruidCoordinatorHelper
   }
 
   public DruidCoordinatorRuleRunner(ReplicationThrottler replicatorThrottler, DruidCoordinator coordinator)
+  {
+    this(replicatorThrottler, coordinator, true);
+  }
+
+  /**
+   * @param fullRun whether this runner is used by full coordinator runs. Only full runs count towards the replicant
+   *                lifetime of the throttler, see {@link ReplicationThrottler#refreshReplicationState(String)}.
+   */
+  public DruidCoordinatorRuleRunner(
+      ReplicationThrottler replicatorThrottler,
+      DruidCoordinator coordinator,
+      boolean fullRun
+  )
   {
     this.replicatorThrottler = replicatorThrottler;
     this.coordinator = coordinator;
+    this.fullRun = fullRun;
   }
 
   @Override
@@ -118,7 +134,11 @@ public class DruidCoordinatorRuleRunner implements DruidCoordinatorHelper
     }
 
     for (String tier : cluster.getTierNames()) {
-      replicatorThrottler.updateReplicationState(tier);
+      if (fullRun) {
+        replicatorThrottler.updateReplicationState(tier);
+      } else {
+        replicatorThrottler.refreshReplicationState(tier);
+      }
     }
 
     DruidCoordinatorRuntimeParams paramsWithReplicationManager = params.buildFromExistingWithoutAvailableSegments()
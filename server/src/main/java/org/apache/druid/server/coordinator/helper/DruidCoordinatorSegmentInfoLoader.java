@@ -29,12 +29,24 @@ import java.util.Set;
 public class DruidCoordinatorSegmentInfoLoader implements DruidCoordinatorHelper
 {
   private final DruidCoordinator coordinator;
+  private final boolean onlyParamsDataSources;
 
   private static final Logger log = new Logger(DruidCoordinatorSegmentInfoLoader.class);
 
   public DruidCoordinatorSegmentInfoLoader(DruidCoordinator coordinator)
+  {
+    this(coordinator, false);
+  }
+
+  /**
+   * @param onlyParamsDataSources whether to only get the segments of the datasources of
+   *                              {@link DruidCoordinatorRuntimeParams#getDataSources()}, which are the changed ones in
+   *                              incremental coordinator runs, instead of the segments of all datasources
+   */
+  public DruidCoordinatorSegmentInfoLoader(DruidCoordinator coordinator, boolean onlyParamsDataSources)
   {
     this.coordinator = coordinator;
+    this.onlyParamsDataSources = onlyParamsDataSources;
   }
 
   @Override
@@ -43,7 +55,12 @@ public class DruidCoordinatorSegmentInfoLoader implements DruidCoordinatorHelper
     log.info("Starting coordination. Getting available segments.");
 
     // Display info about all available segments
-    final Set<DataSegment> availableSegments = coordinator.getOrderedAvailableDataSegments();
+    final Set<DataSegment> availableSegments;
+    if (onlyParamsDataSources) {
+      availableSegments = coordinator.getOrderedAvailableDataSegments(params.getDataSources().keySet());
+    } else {
+      availableSegments = coordinator.getOrderedAvailableDataSegments();
+    }
     if (log.isDebugEnabled()) {
       log.debug("Available DataSegments");
       for (DataSegment dataSegment : availableSegments) {
@@ -83,6 +83,13 @@ public class ServerConfig
   @Max(9)
   private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
 
+  @JsonProperty
+  private boolean enableDirectResponseBuffers = false;
+
+  @JsonProperty
+  @Min(1)
+  private int directResponseBufferSizeBytes = 64 * 1024;
+
   public int getNumThreads()
   {
     return numThreads;
@@ -143,6 +150,16 @@ public class ServerConfig
     return compressionLevel;
   }
 
+  public boolean isEnableDirectResponseBuffers()
+  {
+    return enableDirectResponseBuffers;
+  }
+
+  public int getDirectResponseBufferSizeBytes()
+  {
+    return directResponseBufferSizeBytes;
+  }
+
 
   @Override
   public boolean equals(Object o)
@@ -163,6 +180,8 @@ public class ServerConfig
            maxRequestHeaderSize == that.maxRequestHeaderSize &&
            inflateBufferSize == that.inflateBufferSize &&
            compressionLevel == that.compressionLevel &&
+           enableDirectResponseBuffers == that.enableDirectResponseBuffers &&
+           directResponseBufferSizeBytes == that.directResponseBufferSizeBytes &&
            Objects.equals(maxIdleTime, that.maxIdleTime) &&
            Objects.equals(gracefulShutdownTimeout, that.gracefulShutdownTimeout) &&
            Objects.equals(unannouncePropagationDelay, that.unannouncePropagationDelay);
@@ -184,7 +203,9 @@ public class ServerConfig
         gracefulShutdownTimeout,
         unannouncePropagationDelay,
         inflateBufferSize,
-        compressionLevel
+        compressionLevel,
+        enableDirectResponseBuffers,
+        directResponseBufferSizeBytes
     );
   }
 
@@ -204,6 +225,8 @@ public class ServerConfig
            ", unannouncePropagationDelay=" + unannouncePropagationDelay +
            ", inflateBufferSize=" + inflateBufferSize +
            ", compressionLevel=" + compressionLevel +
+           ", enableDirectResponseBuffers=" + enableDirectResponseBuffers +
+           ", directResponseBufferSizeBytes=" + directResponseBufferSizeBytes +
            '}';
   }
 }
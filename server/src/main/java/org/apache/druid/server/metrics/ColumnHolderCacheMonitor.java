@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server.metrics;
+
+import com.google.common.cache.CacheStats;
+import com.google.inject.Inject;
+import org.apache.druid.java.util.emitter.service.ServiceEmitter;
+import org.apache.druid.java.util.emitter.service.ServiceMetricEvent;
+import org.apache.druid.java.util.metrics.AbstractMonitor;
+import org.apache.druid.segment.ColumnHolderCache;
+import org.apache.druid.segment.IndexIO;
+
+/**
+ * Emits the statistics of the {@link ColumnHolderCache} of {@link IndexIO}, if it's enabled.
+ */
+public class ColumnHolderCacheMonitor extends AbstractMonitor
+{
+  private final IndexIO indexIO;
+  private volatile CacheStats prevStats = null;
+
+  @Inject
+  public ColumnHolderCacheMonitor(IndexIO indexIO)
+  {
+    this.indexIO = indexIO;
+  }
+
+  @Override
+  public boolean doMonitor(ServiceEmitter emitter)
+  {
+    final ColumnHolderCache cache = indexIO.getColumnHolderCache();
+    if (cache != null) {
+      final CacheStats currStats = cache.getStats();
+      final CacheStats deltaStats = prevStats == null ? currStats : currStats.minus(prevStats);
+
+      final ServiceMetricEvent.Builder builder = new ServiceMetricEvent.Builder();
+      emitter.emit(builder.build("segment/columnHolderCache/numEntries", cache.getNumEntries()));
+      emitter.emit(builder.build("segment/columnHolderCache/sizeBytes", cache.getSizeBytes()));
+      emitter.emit(builder.build("segment/columnHolderCache/hits", deltaStats.hitCount()));
+      emitter.emit(builder.build("segment/columnHolderCache/misses", deltaStats.missCount()));
+      emitter.emit(builder.build("segment/columnHolderCache/evictions", deltaStats.evictionCount()));
+      emitter.emit(builder.build("segment/columnHolderCache/hitRate", deltaStats.hitRate()));
+
+      prevStats = currStats;
+    }
+    return true;
+  }
+}
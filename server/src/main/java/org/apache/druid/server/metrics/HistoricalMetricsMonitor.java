@@ -56,6 +56,11 @@ public class HistoricalMetricsMonitor extends AbstractMonitor
   {
     emitter.emit(new ServiceMetricEvent.Builder().build("segment/max", serverConfig.getMaxSize()));
 
+    final int bootstrapSegmentsPending = segmentLoadDropMgr.getNumBootstrapSegmentsPending();
+    if (bootstrapSegmentsPending > 0) {
+      emitter.emit(new ServiceMetricEvent.Builder().build("segment/bootstrap/pending", bootstrapSegmentsPending));
+    }
+
     final Object2LongOpenHashMap<String> pendingDeleteSizes = new Object2LongOpenHashMap<>();
 
     for (DataSegment segment : segmentLoadDropMgr.getPendingDeleteSnapshot()) {
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server.metrics;
+
+import com.google.inject.Inject;
+import org.apache.druid.java.util.emitter.service.ServiceEmitter;
+import org.apache.druid.java.util.emitter.service.ServiceMetricEvent;
+import org.apache.druid.java.util.metrics.AbstractMonitor;
+import org.apache.druid.query.groupby.epinephelinae.MergeBufferAllocator;
+
+/**
+ * Emits the usage of the extra merge buffer memory of {@link MergeBufferAllocator}, if it's enabled.
+ */
+public class MergeBufferAllocatorMonitor extends AbstractMonitor
+{
+  private final MergeBufferAllocator allocator;
+  private long prevNumAllocations = 0;
+  private long prevNumRejections = 0;
+
+  @Inject
+  public MergeBufferAllocatorMonitor(MergeBufferAllocator allocator)
+  {
+    this.allocator = allocator;
+  }
+
+  @Override
+  public boolean doMonitor(ServiceEmitter emitter)
+  {
+    if (allocator.getMaxBytes() > 0) {
+      final long numAllocations = allocator.getNumAllocations();
+      final long numRejections = allocator.getNumRejections();
+
+      final ServiceMetricEvent.Builder builder = new ServiceMetricEvent.Builder();
+      emitter.emit(builder.build("groupBy/extraMergeBuffer/usedBytes", allocator.getUsedBytes()));
+      emitter.emit(builder.build("groupBy/extraMergeBuffer/allocations", numAllocations - prevNumAllocations));
+      emitter.emit(builder.build("groupBy/extraMergeBuffer/rejections", numRejections - prevNumRejections));
+
+      prevNumAllocations = numAllocations;
+      prevNumRejections = numRejections;
+    }
+    return true;
+  }
+}
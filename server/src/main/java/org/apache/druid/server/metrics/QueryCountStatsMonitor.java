@@ -26,6 +26,7 @@ import org.apache.druid.java.util.metrics.AbstractMonitor;
 import org.apache.druid.java.util.metrics.KeyedDiff;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 public class QueryCountStatsMonitor extends AbstractMonitor
 {
@@ -47,14 +48,24 @@ public class QueryCountStatsMonitor extends AbstractMonitor
     final long successfulQueryCount = statsProvider.getSuccessfulQueryCount();
     final long failedQueryCount = statsProvider.getFailedQueryCount();
     final long interruptedQueryCount = statsProvider.getInterruptedQueryCount();
+    final long limitedQueryCount = statsProvider.getLimitedQueryCount();
     Map<String, Long> diff = keyedDiff.to(
         "queryCountStats",
-        ImmutableMap.of(
-            "query/count", successfulQueryCount + failedQueryCount + interruptedQueryCount,
-            "query/success/count", successfulQueryCount,
-            "query/failed/count", failedQueryCount,
-            "query/interrupted/count", interruptedQueryCount
-        )
+        ImmutableMap.<String, Long>builder()
+                    .put(
+                        "query/count",
+                        successfulQueryCount + failedQueryCount + interruptedQueryCount + limitedQueryCount
+                    )
+                    .put("query/success/count", successfulQueryCount)
+                    .put("query/failed/count", failedQueryCount)
+                    .put("query/interrupted/count", interruptedQueryCount)
+                    .put("query/limited/count", limitedQueryCount)
+                    .put("query/directResponse/bytes", statsProvider.getDirectResponseBytes())
+                    .put(
+                        "query/directResponse/writeTime",
+                        TimeUnit.NANOSECONDS.toMillis(statsProvider.getDirectResponseWriteTimeNs())
+                    )
+                    .build()
     );
     if (diff != null) {
       for (Map.Entry<String, Long> diffEntry : diff.entrySet()) {
@@ -25,4 +25,30 @@ public interface QueryCountStatsProvider
   long getFailedQueryCount();
 
   long getInterruptedQueryCount();
+
+  /**
+   * Returns the number of queries rejected because the Broker query scheduler had no capacity left for them, see
+   * {@link org.apache.druid.query.QueryCapacityExceededException}.
+   */
+  default long getLimitedQueryCount()
+  {
+    return 0;
+  }
+
+  /**
+   * Returns the number of response bytes written through direct buffers, see
+   * {@link org.apache.druid.server.initialization.ServerConfig#isEnableDirectResponseBuffers()}.
+   */
+  default long getDirectResponseBytes()
+  {
+    return 0;
+  }
+
+  /**
+   * Returns the time spent writing the bytes counted by {@link #getDirectResponseBytes()} to clients, in nanoseconds.
+   */
+  default long getDirectResponseWriteTimeNs()
+  {
+    return 0;
+  }
 }
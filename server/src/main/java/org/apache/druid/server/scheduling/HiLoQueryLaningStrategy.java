@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server.scheduling;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import org.apache.druid.query.Query;
+import org.apache.druid.query.QueryContexts;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * Laning strategy which puts all queries with a negative "priority" context parameter into the "low" lane, which is
+ * limited to a percentage of the total concurrency limit. Queries with a non-negative priority are unlaned.
+ */
+public class HiLoQueryLaningStrategy implements QueryLaningStrategy
+{
+  public static final String LOW = "low";
+
+  private final int maxLowPercent;
+
+  @JsonCreator
+  public HiLoQueryLaningStrategy(
+      @JsonProperty("maxLowPercent") Integer maxLowPercent
+  )
+  {
+    Preconditions.checkNotNull(maxLowPercent, "maxLowPercent must be set");
+    Preconditions.checkArgument(
+        maxLowPercent > 0 && maxLowPercent <= 100,
+        "maxLowPercent must be in the range 1 to 100"
+    );
+    this.maxLowPercent = maxLowPercent;
+  }
+
+  @JsonProperty
+  public int getMaxLowPercent()
+  {
+    return maxLowPercent;
+  }
+
+  @Override
+  public Map<String, Integer> getLaneLimits(int totalLimit)
+  {
+    if (totalLimit <= 0) {
+      // Percentages of an unbounded limit are meaningless, the low lane is unbounded too.
+      return ImmutableMap.of();
+    }
+    return ImmutableMap.of(LOW, Math.max(1, (int) Math.ceil(totalLimit * maxLowPercent / 100.0)));
+  }
+
+  @Nullable
+  @Override
+  public <T> String computeLane(Query<T> query)
+  {
+    return QueryContexts.getPriority(query) < 0 ? LOW : null;
+  }
+}
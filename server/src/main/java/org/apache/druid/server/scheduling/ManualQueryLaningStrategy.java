@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server.scheduling;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import org.apache.druid.java.util.common.IAE;
+import org.apache.druid.query.Query;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * Laning strategy with explicitly configured lanes and limits. Queries are routed to a lane by their data source
+ * names first, and by their query type second. Queries that match neither are unlaned.
+ */
+public class ManualQueryLaningStrategy implements QueryLaningStrategy
+{
+  private final Map<String, Integer> lanes;
+  private final Map<String, String> dataSourceLanes;
+  private final Map<String, String> queryTypeLanes;
+
+  @JsonCreator
+  public ManualQueryLaningStrategy(
+      @JsonProperty("lanes") Map<String, Integer> lanes,
+      @JsonProperty("dataSourceLanes") @Nullable Map<String, String> dataSourceLanes,
+      @JsonProperty("queryTypeLanes") @Nullable Map<String, String> queryTypeLanes
+  )
+  {
+    Preconditions.checkNotNull(lanes, "lanes must be set");
+    for (Map.Entry<String, Integer> lane : lanes.entrySet()) {
+      if (lane.getValue() == null || lane.getValue() <= 0) {
+        throw new IAE("lane[%s] must have a positive limit, got [%s]", lane.getKey(), lane.getValue());
+      }
+    }
+    this.lanes = ImmutableMap.copyOf(lanes);
+    this.dataSourceLanes = dataSourceLanes == null ? ImmutableMap.of() : ImmutableMap.copyOf(dataSourceLanes);
+    this.queryTypeLanes = queryTypeLanes == null ? ImmutableMap.of() : ImmutableMap.copyOf(queryTypeLanes);
+    validateRouting(this.dataSourceLanes);
+    validateRouting(this.queryTypeLanes);
+  }
+
+  @JsonProperty
+  public Map<String, Integer> getLanes()
+  {
+    return lanes;
+  }
+
+  @JsonProperty
+  public Map<String, String> getDataSourceLanes()
+  {
+    return dataSourceLanes;
+  }
+
+  @JsonProperty
+  public Map<String, String> getQueryTypeLanes()
+  {
+    return queryTypeLanes;
+  }
+
+  @Override
+  public Map<String, Integer> getLaneLimits(int totalLimit)
+  {
+    return lanes;
+  }
+
+  @Nullable
+  @Override
+  public <T> String computeLane(Query<T> query)
+  {
+    for (String dataSource : query.getDataSource().getNames()) {
+      final String lane = dataSourceLanes.get(dataSource);
+      if (lane != null) {
+        return lane;
+      }
+    }
+    return queryTypeLanes.get(query.getType());
+  }
+
+  private void validateRouting(Map<String, String> routing)
+  {
+    for (Map.Entry<String, String> route : routing.entrySet()) {
+      if (!lanes.containsKey(route.getValue())) {
+        throw new IAE("[%s] is routed to unknown lane[%s]", route.getKey(), route.getValue());
+      }
+    }
+  }
+}
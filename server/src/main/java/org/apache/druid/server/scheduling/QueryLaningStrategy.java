@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server.scheduling;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import org.apache.druid.query.Query;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * Strategy used by {@link org.apache.druid.server.QueryScheduler} to assign queries to lanes. Each lane may have its
+ * own concurrency limit, in addition to the total limit of the scheduler.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "strategy", defaultImpl = NoQueryLaningStrategy.class)
+@JsonSubTypes(value = {
+    @JsonSubTypes.Type(name = "none", value = NoQueryLaningStrategy.class),
+    @JsonSubTypes.Type(name = "hilo", value = HiLoQueryLaningStrategy.class),
+    @JsonSubTypes.Type(name = "manual", value = ManualQueryLaningStrategy.class)
+})
+public interface QueryLaningStrategy
+{
+  /**
+   * Returns the concurrency limit of each lane known to this strategy, given the total concurrency limit of the
+   * scheduler. A total limit of 0 means the scheduler itself is unbounded.
+   */
+  Map<String, Integer> getLaneLimits(int totalLimit);
+
+  /**
+   * Computes the lane of a query, or null if the query should only be limited by the total concurrency limit. This
+   * is only called for queries that don't already carry an explicit "lane" context parameter.
+   */
+  @Nullable
+  <T> String computeLane(Query<T> query);
+}
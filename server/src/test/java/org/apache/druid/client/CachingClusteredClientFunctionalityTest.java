@@ -40,6 +40,7 @@ import org.apache.druid.java.util.common.Pair;
 import org.apache.druid.java.util.common.guava.Sequence;
 import org.apache.druid.java.util.common.io.Closer;
 import org.apache.druid.query.DataSource;
+import org.apache.druid.query.DruidProcessingConfig;
 import org.apache.druid.query.Druids;
 import org.apache.druid.query.Query;
 import org.apache.druid.query.QueryPlus;
@@ -68,11 +69,19 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  */
 public class CachingClusteredClientFunctionalityTest
 {
+  private static final ForkJoinPool MERGE_POOL = new ForkJoinPool(
+      4,
+      ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+      null,
+      true
+  );
+
   private static final ObjectMapper OBJECT_MAPPER = CachingClusteredClientTestUtils.createObjectMapper();
   private static final Supplier<SelectQueryConfig> SELECT_CONFIG_SUPPLIER = Suppliers.ofInstance(
       new SelectQueryConfig(true)
@@ -313,7 +322,23 @@ public class CachingClusteredClientFunctionalityTest
           {
             return 0L;
           }
-        }
+        },
+        new DruidProcessingConfig()
+        {
+          @Override
+          public String getFormatString()
+          {
+            return null;
+          }
+
+          @Override
+          public int getMergePoolDefaultMaxQueryParallelism()
+          {
+            // Test more parallelism than the number of cores, so that the parallel merge is always exercised.
+            return 4;
+          }
+        },
+        MERGE_POOL
     );
   }
 
@@ -75,9 +75,11 @@ import org.apache.druid.java.util.common.guava.nary.TrinaryFn;
 import org.apache.druid.java.util.common.io.Closer;
 import org.apache.druid.query.BySegmentResultValueClass;
 import org.apache.druid.query.DataSource;
+import org.apache.druid.query.DruidProcessingConfig;
 import org.apache.druid.query.Druids;
 import org.apache.druid.query.FinalizeResultsQueryRunner;
 import org.apache.druid.query.Query;
+import org.apache.druid.query.QueryContexts;
 import org.apache.druid.query.QueryPlus;
 import org.apache.druid.query.QueryRunner;
 import org.apache.druid.query.QueryRunnerTestHelper;
@@ -164,12 +166,20 @@ import java.util.TreeMap;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  */
 @RunWith(Parameterized.class)
 public class CachingClusteredClientTest
 {
+  private static final ForkJoinPool MERGE_POOL = new ForkJoinPool(
+      4,
+      ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+      null,
+      true
+  );
+
   private static final ImmutableMap<String, Object> CONTEXT = ImmutableMap.of(
       "finalize", false,
 
@@ -655,6 +665,87 @@ public class CachingClusteredClientTest
     );
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testTimeseriesParallelMergeCombining()
+  {
+    final Druids.TimeseriesQueryBuilder builder = Druids.newTimeseriesQueryBuilder()
+                                                        .dataSource(DATA_SOURCE)
+                                                        .intervals(SEG_SPEC)
+                                                        .filters(DIM_FILTER)
+                                                        .granularity(GRANULARITY)
+                                                        .aggregators(AGGS)
+                                                        .postAggregators(POST_AGGS)
+                                                        .context(CONTEXT);
+
+    QueryRunner runner = new FinalizeResultsQueryRunner(
+        getDefaultQueryRunner(), new TimeseriesQueryQueryToolChest(
+        QueryRunnerTestHelper.NoopIntervalChunkingQueryRunnerDecorator()
+    )
+    );
+
+    testQueryCaching(
+        runner,
+        builder.build(),
+        Intervals.of("2011-01-05/2011-01-10"),
+        makeTimeResults(
+            DateTimes.of("2011-01-05T02"), 80, 100,
+            DateTimes.of("2011-01-06T02"), 420, 520,
+            DateTimes.of("2011-01-07T02"), 12, 2194,
+            DateTimes.of("2011-01-08T02"), 59, 201,
+            DateTimes.of("2011-01-09T02"), 181, 52
+        ),
+        Intervals.of("2011-01-05/2011-01-10"),
+        makeTimeResults(
+            DateTimes.of("2011-01-05T00"), 85, 102,
+            DateTimes.of("2011-01-06T00"), 412, 521,
+            DateTimes.of("2011-01-07T00"), 122, 21894,
+            DateTimes.of("2011-01-08T00"), 5, 20,
+            DateTimes.of("2011-01-09T00"), 18, 521
+        )
+    );
+
+    // Same cached segments, but now merged on the parallel merge pool, which combines rows of the same day bucket
+    // (combined sums come back as longs, rather than the ints deserialized from the cache).
+    client = makeClient(new ForegroundCachePopulator(JSON_MAPPER, new CachePopulatorStats(), -1), cache, 10, true);
+
+    TimeseriesQuery query = builder
+        .intervals("2011-01-05/2011-01-10")
+        .aggregators(RENAMED_AGGS)
+        .postAggregators(RENAMED_POST_AGGS)
+        .build();
+    TestHelper.assertExpectedResults(
+        makeRenamedTimeResults(
+            DateTimes.of("2011-01-05T00"), 165L, 202L,
+            DateTimes.of("2011-01-06T00"), 832L, 1041L,
+            DateTimes.of("2011-01-07T00"), 134L, 24088L,
+            DateTimes.of("2011-01-08T00"), 64L, 221L,
+            DateTimes.of("2011-01-09T00"), 199L, 573L
+        ),
+        runner.run(QueryPlus.wrap(query), Maps.newHashMap())
+    );
+
+    // Disabling it through the query context falls back to the plain ordered merge.
+    TestHelper.assertExpectedResults(
+        makeRenamedTimeResults(
+            DateTimes.of("2011-01-05T00"), 85, 102,
+            DateTimes.of("2011-01-05T02"), 80, 100,
+            DateTimes.of("2011-01-06T00"), 412, 521,
+            DateTimes.of("2011-01-06T02"), 420, 520,
+            DateTimes.of("2011-01-07T00"), 122, 21894,
+            DateTimes.of("2011-01-07T02"), 12, 2194,
+            DateTimes.of("2011-01-08T00"), 5, 20,
+            DateTimes.of("2011-01-08T02"), 59, 201,
+            DateTimes.of("2011-01-09T00"), 18, 521,
+            DateTimes.of("2011-01-09T02"), 181, 52
+        ),
+        runner.run(
+            QueryPlus.wrap(query.withOverriddenContext(ImmutableMap.of(QueryContexts.BROKER_PARALLEL_MERGE_KEY, false))),
+            Maps.newHashMap()
+        )
+    );
+  }
+
   @Test
   @SuppressWarnings("unchecked")
   public void testTimeseriesCachingTimeZone()
@@ -2654,6 +2745,18 @@ public class CachingClusteredClientTest
       final Cache cache,
       final int mergeLimit
   )
+  {
+    // Most tests here assert on the per-segment results returned by the client before any merging, so the parallel
+    // merge (which also combines results) is only enabled by the tests that ask for it.
+    return makeClient(cachePopulator, cache, mergeLimit, false);
+  }
+
+  protected CachingClusteredClient makeClient(
+      final CachePopulator cachePopulator,
+      final Cache cache,
+      final int mergeLimit,
+      final boolean useParallelMergePool
+  )
   {
     return new CachingClusteredClient(
         WAREHOUSE,
@@ -2729,7 +2832,29 @@ public class CachingClusteredClientTest
           {
             return 0L;
           }
-        }
+        },
+        new DruidProcessingConfig()
+        {
+          @Override
+          public String getFormatString()
+          {
+            return null;
+          }
+
+          @Override
+          public boolean useParallelMergePool()
+          {
+            return useParallelMergePool;
+          }
+
+          @Override
+          public int getMergePoolDefaultMaxQueryParallelism()
+          {
+            // Test more parallelism than the number of cores, so that the parallel merge is always exercised.
+            return 4;
+          }
+        },
+        MERGE_POOL
     );
   }
 
@@ -34,6 +34,8 @@ import org.apache.druid.java.util.common.DateTimes;
 import org.apache.druid.java.util.common.Intervals;
 import org.apache.druid.java.util.common.StringUtils;
 import org.apache.druid.java.util.common.guava.Sequence;
+import org.apache.druid.java.util.common.guava.Yielder;
+import org.apache.druid.java.util.common.guava.Yielders;
 import org.apache.druid.java.util.http.client.HttpClient;
 import org.apache.druid.java.util.http.client.Request;
 import org.apache.druid.java.util.http.client.response.HttpResponseHandler;
@@ -287,6 +289,70 @@ public class DirectDruidClientTest
     EasyMock.verify(httpClient);
   }
 
+  @Test
+  public void testCancelAbandonedResults() throws Exception
+  {
+    HttpClient httpClient = EasyMock.createStrictMock(HttpClient.class);
+
+    Capture<Request> capturedRequest = EasyMock.newCapture();
+    ListenableFuture<Object> resultFuture = Futures.immediateFuture(
+        new ByteArrayInputStream(
+            StringUtils.toUtf8(
+                "[{\"timestamp\":\"2014-01-01T01:02:03Z\", \"result\": 42.0},"
+                + "{\"timestamp\":\"2014-01-01T01:02:04Z\", \"result\": 43.0}]"
+            )
+        )
+    );
+    SettableFuture<Object> cancellationFuture = SettableFuture.create();
+
+    EasyMock.expect(
+        httpClient.go(
+            EasyMock.capture(capturedRequest),
+            EasyMock.<HttpResponseHandler>anyObject(),
+            EasyMock.anyObject(Duration.class)
+        )
+    )
+            .andReturn(resultFuture)
+            .once();
+
+    EasyMock.expect(
+        httpClient.go(
+            EasyMock.capture(capturedRequest),
+            EasyMock.<HttpResponseHandler>anyObject(),
+            EasyMock.anyObject(Duration.class)
+        )
+    )
+            .andReturn(cancellationFuture)
+            .once();
+
+    EasyMock.replay(httpClient);
+
+    DirectDruidClient client1 = new DirectDruidClient(
+        new ReflectionQueryToolChestWarehouse(),
+        QueryRunnerTestHelper.NOOP_QUERYWATCHER,
+        new DefaultObjectMapper(),
+        httpClient,
+        "http",
+        "foo",
+        new NoopServiceEmitter()
+    );
+
+    TimeBoundaryQuery query = Druids.newTimeBoundaryQueryBuilder().dataSource("test").build();
+    query = query.withOverriddenContext(ImmutableMap.of(DirectDruidClient.QUERY_FAIL_TIME, Long.MAX_VALUE));
+    Sequence<Result> results = client1.run(QueryPlus.wrap(query), defaultContext);
+    Assert.assertEquals(HttpMethod.POST, capturedRequest.getValue().getMethod());
+
+    // read only the first result, as a limit would, and walk away
+    Yielder<Result> yielder = Yielders.each(results);
+    Assert.assertEquals(DateTimes.of("2014-01-01T01:02:03Z"), yielder.get().getTimestamp());
+    yielder.close();
+
+    Assert.assertEquals(HttpMethod.DELETE, capturedRequest.getValue().getMethod());
+    cancellationFuture.set(new StatusResponseHolder(HttpResponseStatus.OK, new StringBuilder("cancelled")));
+
+    EasyMock.verify(httpClient);
+  }
+
   @Test
   public void testQueryInterruptionExceptionLogMessage()
   {
@@ -0,0 +1,343 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.client.cache;
+
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Injector;
+import com.google.inject.name.Names;
+import org.apache.druid.guice.GuiceInjectors;
+import org.apache.druid.guice.JsonConfigProvider;
+import org.apache.druid.initialization.Initialization;
+import org.apache.druid.java.util.common.StringUtils;
+import org.apache.druid.java.util.emitter.core.Event;
+import org.apache.druid.java.util.emitter.service.ServiceEmitter;
+import org.apache.druid.java.util.emitter.service.ServiceMetricEvent;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class OffHeapCacheTest
+{
+  private static final int BLOCK_SIZE = 64;
+  private static final int CAPACITY = 64 * BLOCK_SIZE;
+
+  private final Random random = new Random(3478178);
+
+  @Test
+  public void testBaseOps()
+  {
+    final OffHeapCache cache = makeCache(true);
+    final Cache.NamedKey aKey = new Cache.NamedKey("a", StringUtils.toUtf8("hi"));
+    Assert.assertNull(cache.get(aKey));
+    final byte[] value = randomBytes(100);
+    cache.put(aKey, value);
+    Assert.assertArrayEquals(value, cache.get(aKey));
+
+    final byte[] newValue = randomBytes(200);
+    cache.put(aKey, newValue);
+    Assert.assertArrayEquals(newValue, cache.get(aKey));
+    Assert.assertEquals(1, cache.getStats().getNumEntries());
+
+    final Cache.NamedKey bKey = new Cache.NamedKey("b", StringUtils.toUtf8("hi"));
+    cache.put(bKey, value);
+    cache.close("a");
+    Assert.assertNull(cache.get(aKey));
+    Assert.assertArrayEquals(value, cache.get(bKey));
+    Assert.assertEquals(1, cache.getStats().getNumEntries());
+  }
+
+  @Test
+  public void testCloseWithoutEvictOnClose()
+  {
+    final OffHeapCache cache = makeCache(false);
+    final Cache.NamedKey key = new Cache.NamedKey("a", StringUtils.toUtf8("hi"));
+    final byte[] value = randomBytes(10);
+    cache.put(key, value);
+    cache.close("a");
+    Assert.assertArrayEquals(value, cache.get(key));
+  }
+
+  @Test
+  public void testGetBulk()
+  {
+    final OffHeapCache cache = makeCache(false);
+    final Cache.NamedKey key1 = new Cache.NamedKey("the", StringUtils.toUtf8("key1"));
+    final Cache.NamedKey key2 = new Cache.NamedKey("the", StringUtils.toUtf8("key2"));
+    final Cache.NamedKey missing = new Cache.NamedKey("the", StringUtils.toUtf8("missing"));
+    final byte[] value1 = randomBytes(10);
+    final byte[] value2 = randomBytes(300);
+    cache.put(key1, value1);
+    cache.put(key2, value2);
+
+    final Map<Cache.NamedKey, byte[]> result = cache.getBulk(Arrays.asList(key1, key2, missing));
+    Assert.assertEquals(2, result.size());
+    Assert.assertArrayEquals(value1, result.get(key1));
+    Assert.assertArrayEquals(value2, result.get(key2));
+
+    final CacheStats stats = cache.getStats();
+    Assert.assertEquals(2, stats.getNumHits());
+    Assert.assertEquals(1, stats.getNumMisses());
+  }
+
+  @Test
+  public void testValuesSpanningSlabs()
+  {
+    final OffHeapCache cache = makeCache(false);
+    final List<byte[]> values = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      values.add(randomBytes(BLOCK_SIZE * 5 + i));
+      cache.put(new Cache.NamedKey("ns", new byte[]{(byte) i}), values.get(i));
+    }
+    for (int i = 0; i < 5; i++) {
+      Assert.assertArrayEquals(values.get(i), cache.get(new Cache.NamedKey("ns", new byte[]{(byte) i})));
+    }
+  }
+
+  @Test
+  public void testSizeEviction()
+  {
+    final OffHeapCache cache = makeCache(false);
+    final int numEntries = 100;
+    for (int i = 0; i < numEntries; i++) {
+      cache.put(new Cache.NamedKey("ns", new byte[]{(byte) i}), randomBytes(100));
+    }
+
+    final CacheStats stats = cache.getStats();
+    Assert.assertTrue(stats.getNumEntries() < numEntries);
+    Assert.assertTrue(stats.getSizeInBytes() <= CAPACITY);
+    Assert.assertEquals(numEntries - stats.getNumEntries(), stats.getNumEvictions());
+    Assert.assertNull(cache.get(new Cache.NamedKey("ns", new byte[]{0})));
+    Assert.assertNotNull(cache.get(new Cache.NamedKey("ns", new byte[]{(byte) (numEntries - 1)})));
+  }
+
+  @Test
+  public void testReadEntriesSurviveOneOffEntries()
+  {
+    final OffHeapCache cache = makeCache(false);
+    final Cache.NamedKey hot = new Cache.NamedKey("ns", StringUtils.toUtf8("hot"));
+    final byte[] hotValue = randomBytes(100);
+    cache.put(hot, hotValue);
+    Assert.assertArrayEquals(hotValue, cache.get(hot));
+    Assert.assertEquals(1, cache.getProtectedEntryCount());
+
+    for (int i = 0; i < 100; i++) {
+      cache.put(new Cache.NamedKey("ns", new byte[]{(byte) i}), randomBytes(100));
+    }
+    Assert.assertArrayEquals(hotValue, cache.get(hot));
+  }
+
+  @Test
+  public void testOversizedValueIsNotCached()
+  {
+    final OffHeapCache cache = makeCache(false);
+    final Cache.NamedKey key = new Cache.NamedKey("ns", StringUtils.toUtf8("big"));
+    cache.put(key, randomBytes(CAPACITY * 2));
+    Assert.assertNull(cache.get(key));
+    Assert.assertEquals(0, cache.getStats().getNumEntries());
+    Assert.assertEquals(0, cache.getStats().getSizeInBytes());
+  }
+
+  @Test
+  public void testStripes()
+  {
+    final OffHeapCache cache = makeCache(true, 4, CAPACITY);
+    Assert.assertEquals(4, cache.getNumStripes());
+
+    // Each stripe holds a quarter of the capacity, which bounds the size of a single entry.
+    final Cache.NamedKey big = new Cache.NamedKey("ns", StringUtils.toUtf8("big"));
+    cache.put(big, randomBytes(CAPACITY / 2));
+    Assert.assertNull(cache.get(big));
+
+    final List<byte[]> values = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      values.add(randomBytes(BLOCK_SIZE / 2));
+      cache.put(new Cache.NamedKey("ns", new byte[]{(byte) i}), values.get(i));
+    }
+    for (int i = 0; i < 8; i++) {
+      Assert.assertArrayEquals(values.get(i), cache.get(new Cache.NamedKey("ns", new byte[]{(byte) i})));
+    }
+    Assert.assertEquals(8, cache.getStats().getNumEntries());
+    Assert.assertEquals(8, cache.getStats().getNumHits());
+
+    cache.close("ns");
+    Assert.assertEquals(0, cache.getStats().getNumEntries());
+    Assert.assertEquals(0, cache.getStats().getSizeInBytes());
+  }
+
+  @Test
+  public void testStripesNeverExceedBlocks()
+  {
+    Assert.assertEquals(2, makeCache(false, 16, 2 * BLOCK_SIZE).getNumStripes());
+    Assert.assertEquals(1, makeCache(false, 16, 0).getNumStripes());
+  }
+
+  @Test
+  public void testConcurrentAccess() throws Exception
+  {
+    final int numThreads = 8;
+    final int numKeys = 50;
+    final OffHeapCache cache = makeCache(false, 4, (long) numThreads * numKeys * 8 * BLOCK_SIZE);
+    final ExecutorService exec = Executors.newFixedThreadPool(numThreads);
+    try {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < numThreads; thread++) {
+        final String namespace = "ns" + thread;
+        final Random threadRandom = new Random(thread);
+        futures.add(exec.submit(() -> {
+          for (int i = 0; i < numKeys; i++) {
+            final Cache.NamedKey key = new Cache.NamedKey(namespace, new byte[]{(byte) i});
+            final byte[] value = new byte[BLOCK_SIZE * 2 + i];
+            threadRandom.nextBytes(value);
+            cache.put(key, value);
+            Assert.assertArrayEquals(value, cache.get(key));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+    finally {
+      exec.shutdownNow();
+    }
+
+    final CacheStats stats = cache.getStats();
+    Assert.assertEquals(numThreads * numKeys, stats.getNumEntries());
+    Assert.assertEquals(numThreads * numKeys, stats.getNumHits());
+    Assert.assertEquals(0, stats.getNumEvictions());
+  }
+
+  @Test
+  public void testDoMonitor()
+  {
+    final OffHeapCache cache = makeCache(false);
+    for (int i = 0; i < 100; i++) {
+      cache.put(new Cache.NamedKey("ns", new byte[]{(byte) i}), randomBytes(100));
+    }
+
+    final List<ServiceMetricEvent> events = new ArrayList<>();
+    final ServiceEmitter emitter = new ServiceEmitter("service", "host", null)
+    {
+      @Override
+      public void emit(Event event)
+      {
+        events.add((ServiceMetricEvent) event);
+      }
+    };
+    cache.doMonitor(emitter);
+
+    final ServiceMetricEvent allocated = findMetric(events, "query/cache/offHeap/total/allocatedBytes");
+    Assert.assertEquals(CAPACITY, allocated.getValue().longValue());
+    Assert.assertTrue(findMetric(events, "query/cache/offHeap/delta/evictionBytes").getValue().longValue() > 0);
+
+    events.clear();
+    cache.doMonitor(emitter);
+    Assert.assertEquals(0, findMetric(events, "query/cache/offHeap/delta/evictionBytes").getValue().longValue());
+  }
+
+  @Test
+  public void testSimpleInjection()
+  {
+    final String uuid = UUID.randomUUID().toString();
+    System.setProperty(uuid + ".type", "offHeap");
+    System.setProperty(uuid + ".sizeInBytes", "1048576");
+    System.setProperty(uuid + ".blockSizeBytes", "512");
+    final Injector injector = Initialization.makeInjectorWithModules(
+        GuiceInjectors.makeStartupInjector(), ImmutableList.of(
+            binder -> {
+              binder.bindConstant().annotatedWith(Names.named("serviceName")).to("druid/test");
+              binder.bindConstant().annotatedWith(Names.named("servicePort")).to(0);
+              binder.bindConstant().annotatedWith(Names.named("tlsServicePort")).to(-1);
+
+              binder.bind(Cache.class).toProvider(CacheProvider.class);
+              JsonConfigProvider.bind(binder, uuid, CacheProvider.class);
+            }
+        )
+    );
+    final CacheProvider cacheProvider = injector.getInstance(CacheProvider.class);
+    Assert.assertEquals(OffHeapCacheProvider.class, cacheProvider.getClass());
+    final OffHeapCacheProvider offHeapCacheProvider = (OffHeapCacheProvider) cacheProvider;
+    Assert.assertEquals(1048576, offHeapCacheProvider.getSizeInBytes());
+    Assert.assertEquals(512, offHeapCacheProvider.getBlockSizeBytes());
+    Assert.assertEquals(OffHeapCache.class, cacheProvider.get().getClass());
+  }
+
+  private OffHeapCache makeCache(boolean evictOnClose)
+  {
+    return makeCache(evictOnClose, 1, CAPACITY);
+  }
+
+  private OffHeapCache makeCache(boolean evictOnClose, int numStripes, long capacity)
+  {
+    final OffHeapCacheConfig config = new OffHeapCacheConfig()
+    {
+      @Override
+      public int getBlockSizeBytes()
+      {
+        return BLOCK_SIZE;
+      }
+
+      @Override
+      public int getSlabSizeBytes()
+      {
+        // Several slabs, so that values span slab boundaries.
+        return 16 * BLOCK_SIZE;
+      }
+
+      @Override
+      public boolean isEvictOnClose()
+      {
+        return evictOnClose;
+      }
+
+      @Override
+      public int getNumStripes()
+      {
+        return numStripes;
+      }
+    };
+    return new OffHeapCache(config, capacity);
+  }
+
+  private byte[] randomBytes(int length)
+  {
+    // Random bytes don't compress, which keeps the number of blocks per entry predictable.
+    final byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+
+  private static ServiceMetricEvent findMetric(List<ServiceMetricEvent> events, String metric)
+  {
+    return events.stream()
+                 .filter(event -> metric.equals(event.getMetric()))
+                 .findFirst()
+                 .orElseThrow(() -> new AssertionError(metric));
+  }
+}
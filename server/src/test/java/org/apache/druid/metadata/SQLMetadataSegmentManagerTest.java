@@ -236,6 +236,100 @@ public class SQLMetadataSegmentManagerTest
     Assert.assertTrue(manager.removeSegment(newDataSource, newSegment.getIdentifier()));
   }
 
+  @Test
+  public void testDrainChangedDataSources() throws IOException
+  {
+    manager.poll();
+    Assert.assertEquals(ImmutableSet.of("wikipedia"), manager.drainChangedDataSources());
+
+    manager.poll();
+    Assert.assertEquals(ImmutableSet.of(), manager.drainChangedDataSources());
+
+    final String newDataSource = "wikipedia2";
+    final DataSegment newSegment = new DataSegment(
+        newDataSource,
+        Intervals.of("2017-10-15T00:00:00.000/2017-10-16T00:00:00.000"),
+        "2017-10-15T20:19:12.565Z",
+        ImmutableMap.of(
+            "type", "s3_zip",
+            "bucket", "test",
+            "key", "wikipedia2/index/y=2017/m=10/d=15/2017-10-16T20:19:12.565Z/0/index.zip"
+        ),
+        ImmutableList.of("dim1", "dim2", "dim3"),
+        ImmutableList.of("count", "value"),
+        NoneShardSpec.instance(),
+        0,
+        1234L
+    );
+
+    publisher.publishSegment(newSegment);
+    manager.poll();
+    Assert.assertEquals(ImmutableSet.of(newDataSource), manager.drainChangedDataSources());
+
+    Assert.assertTrue(manager.removeSegment("wikipedia", segment1.getIdentifier()));
+    Assert.assertEquals(ImmutableSet.of("wikipedia"), manager.drainChangedDataSources());
+
+    manager.poll();
+    Assert.assertEquals(ImmutableSet.of(), manager.drainChangedDataSources());
+  }
+
+  @Test
+  public void testPollNewSegments() throws IOException
+  {
+    final SQLMetadataSegmentManager incrementalManager = new SQLMetadataSegmentManager(
+        jsonMapper,
+        Suppliers.ofInstance(
+            jsonMapper.readValue("{\"fullPollDuration\": \"PT1H\"}", MetadataSegmentManagerConfig.class)
+        ),
+        derbyConnectorRule.metadataTablesConfigSupplier(),
+        derbyConnectorRule.getConnector()
+    );
+
+    incrementalManager.poll();
+    final DataSegment polledSegment1 = incrementalManager.getInventoryValue("wikipedia")
+                                                         .getSegment(segment1.getIdentifier());
+    Assert.assertEquals(segment1, polledSegment1);
+
+    final DataSegment newSegment = new DataSegment(
+        "wikipedia",
+        Intervals.of("2017-10-15T00:00:00.000/2017-10-16T00:00:00.000"),
+        "2017-10-15T20:19:12.565Z",
+        ImmutableMap.of(
+            "type", "s3_zip",
+            "bucket", "test",
+            "key", "wikipedia/index/y=2017/m=10/d=15/2017-10-16T20:19:12.565Z/0/index.zip"
+        ),
+        ImmutableList.of("dim1", "dim2", "dim3"),
+        ImmutableList.of("count", "value"),
+        NoneShardSpec.instance(),
+        0,
+        1234L
+    );
+    publisher.publishSegment(newSegment);
+    derbyConnectorRule.getConnector().getDBI().withHandle(
+        handle -> handle
+            .createStatement(
+                StringUtils.format(
+                    "UPDATE %s SET used=false WHERE id = :id",
+                    derbyConnectorRule.metadataTablesConfigSupplier().get().getSegmentsTable()
+                )
+            )
+            .bind("id", segment2.getIdentifier())
+            .execute()
+    );
+
+    incrementalManager.poll();
+    Assert.assertEquals(
+        ImmutableSet.of(segment1, newSegment),
+        ImmutableSet.copyOf(incrementalManager.getInventoryValue("wikipedia").getSegments())
+    );
+    // Known segments are not read again
+    Assert.assertSame(
+        polledSegment1,
+        incrementalManager.getInventoryValue("wikipedia").getSegment(segment1.getIdentifier())
+    );
+  }
+
   @Test
   public void testStopAndStart()
   {
@@ -95,6 +95,7 @@ public class RealtimeTuningConfigTest
     Assert.assertEquals(0, config.getPersistThreadPriority());
     Assert.assertEquals(new Period("PT10M"), config.getWindowPeriod());
     Assert.assertEquals(false, config.isReportParseExceptions());
+    Assert.assertEquals(false, config.isUseHashedFacts());
   }
 
   @Test
@@ -111,7 +112,8 @@ public class RealtimeTuningConfigTest
                      + "  \"mergeThreadPriority\": 100,\n"
                      + "  \"reportParseExceptions\": true,\n"
                      + "  \"handoffConditionTimeout\": 100,\n"
-                     + "  \"alertTimeout\": 70\n"
+                     + "  \"alertTimeout\": 70,\n"
+                     + "  \"useHashedFacts\": true\n"
                      + "}";
 
     ObjectMapper mapper = TestHelper.makeJsonMapper();
@@ -137,5 +139,6 @@ public class RealtimeTuningConfigTest
     Assert.assertEquals(100, config.getPersistThreadPriority());
     Assert.assertEquals(new Period("PT1H"), config.getWindowPeriod());
     Assert.assertEquals(true, config.isReportParseExceptions());
+    Assert.assertEquals(true, config.isUseHashedFacts());
   }
 }
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server;
+
+import org.apache.druid.collections.NonBlockingPool;
+import org.apache.druid.collections.ResourceHolder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DirectBufferOutputStreamTest
+{
+  private static final int BUFFER_SIZE = 16;
+
+  private final AtomicInteger takenBuffers = new AtomicInteger();
+  private NonBlockingPool<ByteBuffer> pool;
+  private ByteArrayOutputStream out;
+
+  @Before
+  public void setUp()
+  {
+    pool = () -> {
+      takenBuffers.incrementAndGet();
+      final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+      return new ResourceHolder<ByteBuffer>()
+      {
+        @Override
+        public ByteBuffer get()
+        {
+          return buffer;
+        }
+
+        @Override
+        public void close()
+        {
+          takenBuffers.decrementAndGet();
+        }
+      };
+    };
+    out = new ByteArrayOutputStream();
+  }
+
+  @Test
+  public void testWrite() throws IOException
+  {
+    final byte[] expected = new byte[100];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = (byte) i;
+    }
+
+    final DirectBufferOutputStream os = new DirectBufferOutputStream(pool, Channels.newChannel(out));
+    os.write(expected[0]);
+    os.write(expected, 1, 10);
+    Assert.assertEquals(0, out.size());
+    os.write(expected, 11, 80);
+    Assert.assertEquals(80, out.size());
+    os.write(expected, 91, 9);
+    os.close();
+
+    Assert.assertArrayEquals(expected, out.toByteArray());
+    Assert.assertEquals(100, os.getCount());
+    Assert.assertEquals(0, takenBuffers.get());
+  }
+
+  @Test
+  public void testFlush() throws IOException
+  {
+    final DirectBufferOutputStream os = new DirectBufferOutputStream(pool, Channels.newChannel(out));
+    os.write(new byte[]{1, 2, 3});
+    os.flush();
+    Assert.assertArrayEquals(new byte[]{1, 2, 3}, out.toByteArray());
+    os.flush();
+    Assert.assertEquals(3, out.size());
+    os.close();
+    Assert.assertEquals(3, out.size());
+  }
+
+  @Test
+  public void testCloseTwice() throws IOException
+  {
+    final DirectBufferOutputStream os = new DirectBufferOutputStream(pool, Channels.newChannel(out));
+    Assert.assertEquals(1, takenBuffers.get());
+    os.write(1);
+    os.close();
+    os.close();
+    Assert.assertEquals(0, takenBuffers.get());
+    Assert.assertEquals(1, out.size());
+  }
+
+  @Test(expected = IOException.class)
+  public void testWriteAfterClose() throws IOException
+  {
+    final DirectBufferOutputStream os = new DirectBufferOutputStream(pool, Channels.newChannel(out));
+    os.close();
+    os.write(1);
+  }
+}
@@ -30,18 +30,28 @@ import org.apache.druid.jackson.DefaultObjectMapper;
 import org.apache.druid.java.util.common.concurrent.Execs;
 import org.apache.druid.java.util.common.guava.Sequence;
 import org.apache.druid.java.util.common.guava.Sequences;
+import org.apache.druid.java.util.common.guava.Yielder;
+import org.apache.druid.java.util.common.guava.Yielders;
 import org.apache.druid.java.util.emitter.EmittingLogger;
 import org.apache.druid.java.util.emitter.service.ServiceEmitter;
+import org.apache.druid.query.ColumnarResultFormat;
 import org.apache.druid.query.DefaultGenericQueryMetricsFactory;
 import org.apache.druid.query.MapQueryToolChestWarehouse;
 import org.apache.druid.query.Query;
+import org.apache.druid.query.QueryCapacityExceededException;
+import org.apache.druid.query.QueryInterruptedException;
 import org.apache.druid.query.QueryPlus;
 import org.apache.druid.query.QueryRunner;
+import org.apache.druid.query.QueryRunnerTestHelper;
 import org.apache.druid.query.QuerySegmentWalker;
+import org.apache.druid.query.QueryToolChest;
 import org.apache.druid.query.QueryToolChestWarehouse;
 import org.apache.druid.query.Result;
 import org.apache.druid.query.SegmentDescriptor;
 import org.apache.druid.query.timeboundary.TimeBoundaryResultValue;
+import org.apache.druid.query.timeseries.TimeseriesQuery;
+import org.apache.druid.query.timeseries.TimeseriesQueryQueryToolChest;
+import org.apache.druid.server.initialization.ServerConfig;
 import org.apache.druid.server.log.TestRequestLogger;
 import org.apache.druid.server.metrics.NoopServiceEmitter;
 import org.apache.druid.server.security.Access;
@@ -143,7 +153,8 @@ public class QueryResourceTest
         queryManager,
         new AuthConfig(),
         null,
-        new DefaultGenericQueryMetricsFactory(jsonMapper)
+        new DefaultGenericQueryMetricsFactory(jsonMapper),
+        new ServerConfig()
     );
   }
 
@@ -295,6 +306,90 @@ public class QueryResourceTest
     EasyMock.verify(smileRequest);
   }
 
+  @Test
+  public void testGoodQueryWithColumnarAcceptHeader() throws IOException
+  {
+    EasyMock.replay(testServletRequest);
+
+    final QueryResource columnarQueryResource = new QueryResource(
+        new QueryLifecycleFactory(
+            new MapQueryToolChestWarehouse(
+                ImmutableMap.of(
+                    TimeseriesQuery.class,
+                    new TimeseriesQueryQueryToolChest(QueryRunnerTestHelper.NoopIntervalChunkingQueryRunnerDecorator())
+                )
+            ),
+            testSegmentWalker,
+            new DefaultGenericQueryMetricsFactory(jsonMapper),
+            new NoopServiceEmitter(),
+            testRequestLogger,
+            new AuthConfig(),
+            AuthTestUtils.TEST_AUTHORIZER_MAPPER
+        ),
+        jsonMapper,
+        jsonMapper,
+        queryManager,
+        new AuthConfig(),
+        null,
+        new DefaultGenericQueryMetricsFactory(jsonMapper),
+        new ServerConfig()
+    );
+
+    final HttpServletRequest columnarRequest = makeColumnarRequest();
+    Response response = columnarQueryResource.doPost(
+        new ByteArrayInputStream(simpleTimeSeriesQuery.getBytes("UTF-8")),
+        null /*pretty*/,
+        columnarRequest
+    );
+    Assert.assertEquals(HttpStatus.SC_OK, response.getStatus());
+    Assert.assertEquals(ColumnarResultFormat.CONTENT_TYPE, response.getMetadata().get("Content-Type").get(0).toString());
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ((StreamingOutput) response.getEntity()).write(out);
+    Assert.assertEquals(ColumnarResultFormat.MAGIC, out.toByteArray()[0]);
+    Assert.assertFalse(
+        new ColumnarResultFormat.Reader<>(
+            new ByteArrayInputStream(out.toByteArray()),
+            new TimeseriesQueryQueryToolChest(null).getColumnarResultSerde(null),
+            jsonMapper
+        ).hasNext()
+    );
+    EasyMock.verify(columnarRequest);
+
+    // bySegment results have no columnar encoding and fall back to Smile
+    final String bySegmentQuery = simpleTimeSeriesQuery.replace(
+        "\"granularity\"",
+        "\"context\": {\"bySegment\": true},\n    \"granularity\""
+    );
+    response = columnarQueryResource.doPost(
+        new ByteArrayInputStream(bySegmentQuery.getBytes("UTF-8")),
+        null /*pretty*/,
+        makeColumnarRequest()
+    );
+    Assert.assertEquals(HttpStatus.SC_OK, response.getStatus());
+    Assert.assertEquals(
+        SmileMediaTypes.APPLICATION_JACKSON_SMILE,
+        response.getMetadata().get("Content-Type").get(0).toString()
+    );
+  }
+
+  private static HttpServletRequest makeColumnarRequest()
+  {
+    final HttpServletRequest columnarRequest = EasyMock.createMock(HttpServletRequest.class);
+    EasyMock.expect(columnarRequest.getContentType()).andReturn(MediaType.APPLICATION_JSON).anyTimes();
+    EasyMock.expect(columnarRequest.getAttribute(AuthConfig.DRUID_AUTHORIZATION_CHECKED)).andReturn(null).anyTimes();
+    EasyMock.expect(columnarRequest.getAttribute(AuthConfig.DRUID_ALLOW_UNSECURED_PATH)).andReturn(null).anyTimes();
+    EasyMock.expect(columnarRequest.getAttribute(AuthConfig.DRUID_AUTHENTICATION_RESULT))
+            .andReturn(authenticationResult)
+            .anyTimes();
+    columnarRequest.setAttribute(AuthConfig.DRUID_AUTHORIZATION_CHECKED, true);
+    EasyMock.expect(columnarRequest.getHeader("Accept")).andReturn(ColumnarResultFormat.CONTENT_TYPE).anyTimes();
+    EasyMock.expect(columnarRequest.getHeader(QueryResource.HEADER_IF_NONE_MATCH)).andReturn(null).anyTimes();
+    EasyMock.expect(columnarRequest.getRemoteAddr()).andReturn("localhost").anyTimes();
+    EasyMock.replay(columnarRequest);
+    return columnarRequest;
+  }
+
 
   @Test
   public void testBadQuery() throws IOException
@@ -309,6 +404,88 @@ public class QueryResourceTest
     Assert.assertEquals(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(), response.getStatus());
   }
 
+  @Test
+  public void testQueryCapacityExceeded() throws IOException
+  {
+    final QueryScheduler scheduler = new QueryScheduler(
+        jsonMapper.convertValue(ImmutableMap.of("numThreads", 1), QuerySchedulerConfig.class),
+        noopServiceEmitter
+    );
+    final QuerySegmentWalker schedulingWalker = new QuerySegmentWalker()
+    {
+      @Override
+      public <T> QueryRunner<T> getQueryRunnerForIntervals(Query<T> query, Iterable<Interval> intervals)
+      {
+        return (queryPlus, responseContext) -> scheduler.run(
+            queryPlus.getQuery(),
+            (QueryToolChest) new TimeseriesQueryQueryToolChest(
+                QueryRunnerTestHelper.NoopIntervalChunkingQueryRunnerDecorator()
+            ),
+            Sequences::empty
+        );
+      }
+
+      @Override
+      public <T> QueryRunner<T> getQueryRunnerForSegments(Query<T> query, Iterable<SegmentDescriptor> specs)
+      {
+        return getQueryRunnerForIntervals(null, null);
+      }
+    };
+    queryResource = new QueryResource(
+        new QueryLifecycleFactory(
+            warehouse,
+            schedulingWalker,
+            new DefaultGenericQueryMetricsFactory(jsonMapper),
+            new NoopServiceEmitter(),
+            testRequestLogger,
+            new AuthConfig(),
+            AuthTestUtils.TEST_AUTHORIZER_MAPPER
+        ),
+        jsonMapper,
+        jsonMapper,
+        queryManager,
+        new AuthConfig(),
+        null,
+        new DefaultGenericQueryMetricsFactory(jsonMapper),
+        new ServerConfig()
+    );
+
+    EasyMock.expect(testServletRequest.getAttribute(AuthConfig.DRUID_AUTHORIZATION_CHECKED))
+            .andReturn(null)
+            .anyTimes();
+    EasyMock.expect(testServletRequest.getAttribute(AuthConfig.DRUID_ALLOW_UNSECURED_PATH)).andReturn(null).anyTimes();
+    EasyMock.expect(testServletRequest.getAttribute(AuthConfig.DRUID_AUTHENTICATION_RESULT))
+            .andReturn(authenticationResult)
+            .anyTimes();
+    testServletRequest.setAttribute(AuthConfig.DRUID_AUTHORIZATION_CHECKED, true);
+    EasyMock.expectLastCall().anyTimes();
+    EasyMock.replay(testServletRequest);
+
+    // hold the only slot, so the query over HTTP is rejected
+    final Query<Object> heldQuery = jsonMapper.readValue(simpleTimeSeriesQuery, Query.class);
+    final Yielder<Object> heldYielder = Yielders.each(
+        schedulingWalker.getQueryRunnerForIntervals(heldQuery, null).run(QueryPlus.wrap(heldQuery), ImmutableMap.of())
+    );
+    try {
+      final Response response = queryResource.doPost(
+          new ByteArrayInputStream(simpleTimeSeriesQuery.getBytes("UTF-8")),
+          null /*pretty*/,
+          testServletRequest
+      );
+      Assert.assertEquals(QueryCapacityExceededException.STATUS_CODE, response.getStatus());
+      final Map<String, Object> error = jsonMapper.readValue(
+          (byte[]) response.getEntity(),
+          new TypeReference<Map<String, Object>>() {}
+      );
+      Assert.assertEquals(QueryInterruptedException.QUERY_CAPACITY_EXCEEDED, error.get("error"));
+      Assert.assertEquals(1, queryResource.getLimitedQueryCount());
+      Assert.assertEquals(0, queryResource.getInterruptedQueryCount());
+    }
+    finally {
+      heldYielder.close();
+    }
+  }
+
   @Test
   public void testSecuredQuery() throws Exception
   {
@@ -365,7 +542,8 @@ public class QueryResourceTest
         queryManager,
         new AuthConfig(),
         authMapper,
-        new DefaultGenericQueryMetricsFactory(jsonMapper)
+        new DefaultGenericQueryMetricsFactory(jsonMapper),
+        new ServerConfig()
     );
 
 
@@ -474,7 +652,8 @@ public class QueryResourceTest
         queryManager,
         new AuthConfig(),
         authMapper,
-        new DefaultGenericQueryMetricsFactory(jsonMapper)
+        new DefaultGenericQueryMetricsFactory(jsonMapper),
+        new ServerConfig()
     );
 
     final String queryString = "{\"queryType\":\"timeBoundary\", \"dataSource\":\"allow\","
@@ -596,7 +775,8 @@ public class QueryResourceTest
         queryManager,
         new AuthConfig(),
         authMapper,
-        new DefaultGenericQueryMetricsFactory(jsonMapper)
+        new DefaultGenericQueryMetricsFactory(jsonMapper),
+        new ServerConfig()
     );
 
     final String queryString = "{\"queryType\":\"timeBoundary\", \"dataSource\":\"allow\","
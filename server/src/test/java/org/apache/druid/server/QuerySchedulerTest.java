@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.druid.jackson.DefaultObjectMapper;
+import org.apache.druid.java.util.common.guava.Sequence;
+import org.apache.druid.java.util.common.guava.Sequences;
+import org.apache.druid.java.util.common.guava.Yielder;
+import org.apache.druid.java.util.common.guava.Yielders;
+import org.apache.druid.java.util.emitter.service.ServiceEmitter;
+import org.apache.druid.query.CachingEmitter;
+import org.apache.druid.query.Druids;
+import org.apache.druid.query.QueryCapacityExceededException;
+import org.apache.druid.query.QueryContexts;
+import org.apache.druid.query.Query;
+import org.apache.druid.query.QueryRunnerTestHelper;
+import org.apache.druid.query.QueryToolChest;
+import org.apache.druid.query.timeseries.TimeseriesQuery;
+import org.apache.druid.query.timeseries.TimeseriesQueryQueryToolChest;
+import org.apache.druid.server.scheduling.HiLoQueryLaningStrategy;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.List;
+import java.util.Map;
+
+public class QuerySchedulerTest
+{
+  private static final TimeseriesQueryQueryToolChest TOOL_CHEST = new TimeseriesQueryQueryToolChest(
+      QueryRunnerTestHelper.NoopIntervalChunkingQueryRunnerDecorator()
+  );
+
+  @Rule
+  public ExpectedException expectedException = ExpectedException.none();
+
+  private final ObjectMapper jsonMapper = new DefaultObjectMapper();
+  private CachingEmitter cachingEmitter;
+  private ServiceEmitter emitter;
+
+  @Before
+  public void setUp()
+  {
+    cachingEmitter = new CachingEmitter();
+    emitter = new ServiceEmitter("test", "localhost", cachingEmitter);
+  }
+
+  @Test
+  public void testUnlimitedSchedulerRunsEverything()
+  {
+    final QueryScheduler scheduler = makeScheduler(ImmutableMap.of());
+    final TimeseriesQuery query = makeQuery(ImmutableMap.of());
+
+    Assert.assertSame(query, scheduler.laneQuery(query));
+    final Sequence<Integer> results = run(scheduler, query, ImmutableList.of(1, 2));
+    Assert.assertEquals(ImmutableList.of(1, 2), results.toList());
+    Assert.assertNull(cachingEmitter.getLastEmittedEvent());
+  }
+
+  @Test
+  public void testTotalLimitRejectsAndReleases() throws Exception
+  {
+    final QueryScheduler scheduler = makeScheduler(ImmutableMap.of("numThreads", 1));
+    final TimeseriesQuery query = makeQuery(ImmutableMap.of());
+
+    final Yielder<Integer> yielder = Yielders.each(
+        run(scheduler, query, ImmutableList.of(1, 2))
+    );
+    Assert.assertEquals(0, scheduler.getTotalAvailableCapacity());
+    assertQueuedTimeEmitted(null);
+
+    try {
+      run(scheduler, query, ImmutableList.of(3)).toList();
+      Assert.fail("Expected QueryCapacityExceededException");
+    }
+    catch (QueryCapacityExceededException e) {
+      Assert.assertEquals(QueryCapacityExceededException.forTotal(1).getMessage(), e.getMessage());
+    }
+
+    yielder.close();
+    Assert.assertEquals(1, scheduler.getTotalAvailableCapacity());
+    Assert.assertEquals(
+        ImmutableList.of(3),
+        run(scheduler, query, ImmutableList.of(3)).toList()
+    );
+    Assert.assertEquals(1, scheduler.getTotalAvailableCapacity());
+  }
+
+  @Test
+  public void testHiLoLaneLimit() throws Exception
+  {
+    final QueryScheduler scheduler = makeScheduler(
+        ImmutableMap.of(
+            "numThreads", 4,
+            "laning", ImmutableMap.of("strategy", "hilo", "maxLowPercent", 25)
+        )
+    );
+    final Query<?> lowQuery = scheduler.laneQuery(makeQuery(ImmutableMap.of(QueryContexts.PRIORITY_KEY, -1)));
+    final Query<?> highQuery = scheduler.laneQuery(makeQuery(ImmutableMap.of(QueryContexts.PRIORITY_KEY, 1)));
+    Assert.assertEquals(HiLoQueryLaningStrategy.LOW, QueryContexts.getLane(lowQuery));
+    Assert.assertNull(QueryContexts.getLane(highQuery));
+
+    final Yielder<Integer> lowYielder = Yielders.each(
+        run(scheduler, lowQuery, ImmutableList.of(1))
+    );
+    assertQueuedTimeEmitted(HiLoQueryLaningStrategy.LOW);
+    Assert.assertEquals(0, scheduler.getLaneAvailableCapacity(HiLoQueryLaningStrategy.LOW));
+    Assert.assertEquals(3, scheduler.getTotalAvailableCapacity());
+
+    expectedException.expect(QueryCapacityExceededException.class);
+    expectedException.expectMessage("lane 'low'");
+    try {
+      // high priority queries are still admitted
+      Assert.assertEquals(
+          ImmutableList.of(2),
+          run(scheduler, highQuery, ImmutableList.of(2)).toList()
+      );
+      run(scheduler, lowQuery, ImmutableList.of(3)).toList();
+    }
+    finally {
+      // a rejected low priority query doesn't leak any capacity
+      Assert.assertEquals(3, scheduler.getTotalAvailableCapacity());
+      lowYielder.close();
+      Assert.assertEquals(1, scheduler.getLaneAvailableCapacity(HiLoQueryLaningStrategy.LOW));
+      Assert.assertEquals(4, scheduler.getTotalAvailableCapacity());
+    }
+  }
+
+  @Test
+  public void testManualLanesAndExplicitLaneContext()
+  {
+    final QueryScheduler scheduler = makeScheduler(
+        ImmutableMap.of(
+            "laning",
+            ImmutableMap.of(
+                "strategy", "manual",
+                "lanes", ImmutableMap.of("dashboards", 1, "reports", 2),
+                "dataSourceLanes", ImmutableMap.of(QueryRunnerTestHelper.dataSource, "dashboards")
+            )
+        )
+    );
+    Assert.assertEquals(-1, scheduler.getTotalAvailableCapacity());
+    Assert.assertEquals(
+        "dashboards",
+        QueryContexts.getLane(scheduler.laneQuery(makeQuery(ImmutableMap.of())))
+    );
+    final TimeseriesQuery explicit = makeQuery(ImmutableMap.of(QueryContexts.LANE_KEY, "reports"));
+    Assert.assertSame(explicit, scheduler.laneQuery(explicit));
+
+    final Sequence<?> results = scheduler.run(
+        explicit,
+        TOOL_CHEST,
+        () -> {
+          throw new IllegalStateException("failed to plan");
+        }
+    );
+    try {
+      results.toList();
+      Assert.fail("Expected IllegalStateException");
+    }
+    catch (IllegalStateException e) {
+      // capacity is released if the results can't be computed
+      Assert.assertEquals(2, scheduler.getLaneAvailableCapacity("reports"));
+    }
+  }
+
+  @Test
+  public void testUnknownLaneContextIsIgnored()
+  {
+    final QueryScheduler scheduler = makeScheduler(
+        ImmutableMap.of(
+            "numThreads", 4,
+            "laning", ImmutableMap.of("strategy", "hilo", "maxLowPercent", 25)
+        )
+    );
+    final Query<?> lowQuery = scheduler.laneQuery(
+        makeQuery(ImmutableMap.of(QueryContexts.PRIORITY_KEY, -1, QueryContexts.LANE_KEY, "anything"))
+    );
+    Assert.assertEquals(HiLoQueryLaningStrategy.LOW, QueryContexts.getLane(lowQuery));
+    final Query<?> highQuery = scheduler.laneQuery(
+        makeQuery(ImmutableMap.of(QueryContexts.PRIORITY_KEY, 1, QueryContexts.LANE_KEY, "anything"))
+    );
+    Assert.assertNull(QueryContexts.getLane(highQuery));
+
+    // the low lane limit still applies to low priority queries that asked for another lane
+    final Yielder<Integer> lowYielder = Yielders.each(run(scheduler, lowQuery, ImmutableList.of(1)));
+    try {
+      expectedException.expect(QueryCapacityExceededException.class);
+      expectedException.expectMessage("lane 'low'");
+      run(scheduler, lowQuery, ImmutableList.of(2)).toList();
+    }
+    finally {
+      lowYielder.close();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Sequence<T> run(QueryScheduler scheduler, Query query, List<T> rows)
+  {
+    return scheduler.run(query, (QueryToolChest) TOOL_CHEST, () -> Sequences.simple(rows));
+  }
+
+  private void assertQueuedTimeEmitted(String lane)
+  {
+    final Map<String, Object> event = cachingEmitter.getLastEmittedEvent().toMap();
+    Assert.assertEquals("query/queued/time", event.get("metric"));
+    Assert.assertEquals(lane, event.get("lane"));
+  }
+
+  private QueryScheduler makeScheduler(Map<String, Object> config)
+  {
+    return new QueryScheduler(jsonMapper.convertValue(config, QuerySchedulerConfig.class), emitter);
+  }
+
+  private static TimeseriesQuery makeQuery(Map<String, Object> context)
+  {
+    return Druids.newTimeseriesQueryBuilder()
+                 .dataSource(QueryRunnerTestHelper.dataSource)
+                 .intervals(QueryRunnerTestHelper.firstToThird)
+                 .aggregators(ImmutableList.of(QueryRunnerTestHelper.rowsCount))
+                 .context(context)
+                 .build();
+  }
+}
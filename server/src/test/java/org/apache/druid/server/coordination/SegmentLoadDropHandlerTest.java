@@ -310,6 +310,21 @@ public class SegmentLoadDropHandlerTest
     Assert.assertTrue(infoDir.delete());
   }
 
+  @Test
+  public void testBootstrapOrder()
+  {
+    final DataSegment hour = makeSegment("test", "1", Intervals.of("2011-04-04T05/PT1h"));
+    final DataSegment day = makeSegment("test", "1", Intervals.of("2011-04-04/P1d"));
+    final DataSegment otherDay = makeSegment("test_two", "1", Intervals.of("2011-04-04/P1d"));
+    final DataSegment previousDay = makeSegment("test", "1", Intervals.of("2011-04-03/P1d"));
+
+    final List<DataSegment> segments = new ArrayList<>(Arrays.asList(previousDay, hour, otherDay, day));
+    segments.sort(SegmentLoadDropHandler.BOOTSTRAP_ORDER);
+
+    // most recent data first, ties broken by the segment identifier
+    Assert.assertEquals(Arrays.asList(day, otherDay, hour, previousDay), segments);
+  }
+
   private DataSegment makeSegment(String dataSource, String version, Interval interval)
   {
     return new DataSegment(
@@ -42,6 +42,7 @@ public class DruidCoordinatorConfigTest
     Assert.assertEquals(new Duration("PT300s"), config.getCoordinatorStartDelay());
     Assert.assertEquals(new Duration("PT60s"), config.getCoordinatorPeriod());
     Assert.assertEquals(new Duration("PT1800s"), config.getCoordinatorIndexingPeriod());
+    Assert.assertEquals(Duration.ZERO, config.getCoordinatorIncrementalPeriod());
     Assert.assertEquals(86400000, config.getCoordinatorKillPeriod().getMillis());
     Assert.assertEquals(-1000, config.getCoordinatorKillDurationToRetain().getMillis());
     Assert.assertEquals(0, config.getCoordinatorKillMaxSegments());
@@ -54,6 +55,7 @@ public class DruidCoordinatorConfigTest
     props.setProperty("druid.coordinator.startDelay", "PT1s");
     props.setProperty("druid.coordinator.period", "PT1s");
     props.setProperty("druid.coordinator.period.indexingPeriod", "PT1s");
+    props.setProperty("druid.coordinator.period.incrementalPeriod", "PT1s");
     props.setProperty("druid.coordinator.merge.on", "true");
     props.setProperty("druid.coordinator.kill.on", "true");
     props.setProperty("druid.coordinator.kill.period", "PT1s");
@@ -70,6 +72,7 @@ public class DruidCoordinatorConfigTest
     Assert.assertEquals(new Duration("PT1s"), config.getCoordinatorStartDelay());
     Assert.assertEquals(new Duration("PT1s"), config.getCoordinatorPeriod());
     Assert.assertEquals(new Duration("PT1s"), config.getCoordinatorIndexingPeriod());
+    Assert.assertEquals(new Duration("PT1s"), config.getCoordinatorIncrementalPeriod());
     Assert.assertEquals(new Duration("PT1s"), config.getCoordinatorKillPeriod());
     Assert.assertEquals(new Duration("PT1s"), config.getCoordinatorKillDurationToRetain());
     Assert.assertEquals(10000, config.getCoordinatorKillMaxSegments());
@@ -40,6 +40,8 @@ import org.apache.druid.server.coordinator.rules.IntervalDropRule;
 import org.apache.druid.server.coordinator.rules.IntervalLoadRule;
 import org.apache.druid.timeline.DataSegment;
 import org.apache.druid.timeline.partition.NoneShardSpec;
+import org.easymock.Capture;
+import org.easymock.CaptureType;
 import org.easymock.EasyMock;
 import org.joda.time.DateTime;
 import org.joda.time.Interval;
@@ -1094,6 +1096,106 @@ public class DruidCoordinatorRuleRunnerTest
     exec.shutdown();
   }
 
+  /**
+   * Incremental runs share the replication throttler of full runs, but only full runs count towards the replicant
+   * lifetime.
+   */
+  @Test
+  public void testReplicantLifetimeCountsFullRunsOnly()
+  {
+    mockCoordinator();
+    mockPeon.loadSegment(EasyMock.anyObject(), EasyMock.anyObject());
+    EasyMock.expectLastCall().atLeastOnce();
+    mockEmptyPeon();
+
+    EasyMock
+        .expect(databaseRuleManager.getRulesWithDefault(EasyMock.anyObject()))
+        .andReturn(Collections.singletonList(new ForeverLoadRule(ImmutableMap.of("hot", 2))))
+        .atLeastOnce();
+    EasyMock.replay(databaseRuleManager);
+
+    final Capture<ServiceEventBuilder> alerts = Capture.newInstance(CaptureType.ALL);
+    emitter.emit(EasyMock.capture(alerts));
+    EasyMock.expectLastCall().anyTimes();
+    EasyMock.replay(emitter);
+
+    DruidCluster druidCluster = new DruidCluster(
+        null,
+        ImmutableMap.of(
+            "hot",
+            Stream.of(
+                new ServerHolder(
+                    new DruidServer(
+                        "serverHot",
+                        "hostHot",
+                        null,
+                        1000,
+                        ServerType.HISTORICAL,
+                        "hot",
+                        0
+                    ).toImmutableDruidServer(),
+                    mockPeon
+                ),
+                new ServerHolder(
+                    new DruidServer(
+                        "serverHot2",
+                        "hostHot2",
+                        null,
+                        1000,
+                        ServerType.HISTORICAL,
+                        "hot",
+                        0
+                    ).toImmutableDruidServer(),
+                    mockPeon
+                )
+            ).collect(Collectors.toCollection(() -> new TreeSet<>(Collections.reverseOrder())))
+        )
+    );
+
+    ListeningExecutorService exec = MoreExecutors.listeningDecorator(
+        Executors.newFixedThreadPool(1));
+    BalancerStrategy balancerStrategy =
+        new CostBalancerStrategyFactory().createBalancerStrategy(exec);
+
+    DruidCoordinatorRuntimeParams params =
+        new DruidCoordinatorRuntimeParams.Builder()
+            .withDruidCluster(druidCluster)
+            .withAvailableSegments(availableSegments)
+            .withDatabaseRuleManager(databaseRuleManager)
+            .withSegmentReplicantLookup(SegmentReplicantLookup.make(new DruidCluster()))
+            .withBalancerStrategy(balancerStrategy)
+            .withBalancerReferenceTimestamp(DateTimes.of("2013-01-01"))
+            .build();
+
+    // The replicant lifetime of the dynamic config is 1 full run
+    final ReplicationThrottler throttler = new ReplicationThrottler(24, 1);
+    final DruidCoordinatorRuleRunner fullRunner = new DruidCoordinatorRuleRunner(throttler, coordinator);
+    final DruidCoordinatorRuleRunner incrementalRunner = new DruidCoordinatorRuleRunner(throttler, coordinator, false);
+
+    // The replicas created by the first full run never finish loading
+    CoordinatorStats stats = fullRunner.run(params).getCoordinatorStats();
+    Assert.assertEquals(48L, stats.getTieredStat("assignedCount", "hot"));
+
+    for (int i = 0; i < 10; i++) {
+      incrementalRunner.run(params);
+      // Incremental runs are still throttled by the replicas being created
+      Assert.assertFalse(throttler.canCreateReplicant("hot"));
+    }
+    Assert.assertTrue(alerts.getValues().isEmpty());
+
+    fullRunner.run(params);
+    Assert.assertTrue(alerts.getValues().isEmpty());
+    incrementalRunner.run(params);
+    Assert.assertTrue(alerts.getValues().isEmpty());
+
+    // The queue is stuck once more full runs than the replicant lifetime saw it busy
+    fullRunner.run(params);
+    Assert.assertEquals(1, alerts.getValues().size());
+
+    EasyMock.verify(mockPeon);
+    exec.shutdown();
+  }
+
   /**
    * Nodes:
    * hot - nothing loaded
@@ -68,14 +68,17 @@ import org.junit.Test;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 /**
  */
@@ -172,48 +175,7 @@ public class DruidCoordinatorTest extends CuratorTestBase
     };
     leaderAnnouncerLatch = new CountDownLatch(1);
     leaderUnannouncerLatch = new CountDownLatch(1);
-    coordinator = new DruidCoordinator(
-        druidCoordinatorConfig,
-        new ZkPathsConfig()
-        {
-
-          @Override
-          public String getBase()
-          {
-            return "druid";
-          }
-        },
-        configManager,
-        databaseSegmentManager,
-        serverInventoryView,
-        metadataRuleManager,
-        curator,
-        serviceEmitter,
-        scheduledExecutorFactory,
-        null,
-        null,
-        new NoopServiceAnnouncer()
-        {
-          @Override
-          public void announce(DruidNode node)
-          {
-            // count down when this coordinator becomes the leader
-            leaderAnnouncerLatch.countDown();
-          }
-
-          @Override
-          public void unannounce(DruidNode node)
-          {
-            leaderUnannouncerLatch.countDown();
-          }
-        },
-        druidNode,
-        loadManagementPeons,
-        null,
-        new CostBalancerStrategyFactory(),
-        EasyMock.createNiceMock(LookupCoordinatorManager.class),
-        new TestDruidLeaderSelector()
-    );
+    coordinator = makeCoordinator(druidCoordinatorConfig);
   }
 
   @After
@@ -544,6 +506,120 @@ public class DruidCoordinatorTest extends CuratorTestBase
     EasyMock.verify(metadataRuleManager);
   }
 
+  @Test(timeout = 60_000L)
+  public void testIncrementalRun() throws Exception
+  {
+    final String changedDataSource = "changed";
+    final String unchangedDataSource = "unchanged";
+    final String tier = "hot";
+
+    // Full runs are scheduled after a day, so that only the incremental runs triggered by the test happen
+    coordinator = makeCoordinator(
+        new TestDruidCoordinatorConfig(
+            new Duration("P1D"),
+            new Duration("P1D"),
+            null,
+            null,
+            new Duration(COORDINATOR_PERIOD),
+            null,
+            10,
+            null,
+            false,
+            false,
+            new Duration("PT0s")
+        )
+        {
+          @Override
+          public Duration getCoordinatorIncrementalPeriod()
+          {
+            return new Duration("P1D");
+          }
+        }
+    );
+
+    EasyMock.expect(metadataRuleManager.getRulesWithDefault(EasyMock.anyString()))
+            .andReturn(ImmutableList.of(new ForeverLoadRule(ImmutableMap.of(tier, 1)))).anyTimes();
+    EasyMock.replay(metadataRuleManager);
+
+    final DataSegment changedSegment = getSegment(changedDataSource, Intervals.of("2018-01-01/P1D"));
+    final DataSegment unchangedSegment = getSegment(unchangedDataSource, Intervals.of("2018-01-01/P1D"));
+    final DruidDataSource changed = new DruidDataSource(changedDataSource, Collections.emptyMap());
+    changed.addSegment(changedSegment);
+    final DruidDataSource unchanged = new DruidDataSource(unchangedDataSource, Collections.emptyMap());
+    unchanged.addSegment(unchangedSegment);
+
+    EasyMock.expect(databaseSegmentManager.isStarted()).andReturn(true).anyTimes();
+    EasyMock.expect(databaseSegmentManager.getInventory()).andReturn(
+        ImmutableList.of(changed.toImmutableDruidDataSource(), unchanged.toImmutableDruidDataSource())
+    ).anyTimes();
+    EasyMock.expect(databaseSegmentManager.getInventoryValue(changedDataSource))
+            .andReturn(changed.toImmutableDruidDataSource())
+            .anyTimes();
+    EasyMock.expect(databaseSegmentManager.getInventoryValue(unchangedDataSource))
+            .andReturn(unchanged.toImmutableDruidDataSource())
+            .anyTimes();
+    EasyMock.expect(databaseSegmentManager.drainChangedDataSources())
+            .andReturn(ImmutableSet.of(changedDataSource))
+            .once();
+    EasyMock.expect(databaseSegmentManager.drainChangedDataSources()).andReturn(ImmutableSet.of()).once();
+    EasyMock.replay(databaseSegmentManager);
+
+    druidServer = new DruidServer("server1", "localhost", null, 5L, ServerType.HISTORICAL, tier, 0);
+    final LoadQueuePeonTester peon = new LoadQueuePeonTester();
+    loadManagementPeons.put("server1", peon);
+    serverInventoryView.registerSegmentCallback(EasyMock.anyObject(), EasyMock.anyObject());
+    EasyMock.expectLastCall().once();
+    serverInventoryView.registerServerRemovedCallback(EasyMock.anyObject(), EasyMock.anyObject());
+    EasyMock.expectLastCall().once();
+    EasyMock.expect(serverInventoryView.isStarted()).andReturn(true).anyTimes();
+    // Only the first incremental run needs the servers
+    EasyMock.expect(serverInventoryView.getInventory()).andReturn(ImmutableList.of(druidServer)).once();
+    EasyMock.replay(serverInventoryView);
+
+    coordinator.start();
+    leaderAnnouncerLatch.await();
+
+    // Only the segments of the changed datasource are assigned, even though neither datasource is loaded
+    coordinator.runIncrementalCoordination();
+    Assert.assertEquals(ImmutableSet.of(changedSegment), peon.getSegmentsToLoad());
+    Assert.assertEquals(1, countIncrementalHelperRuns());
+    // Incremental runs emit the segments they assign
+    Assert.assertEquals(
+        Collections.singletonList(1.0),
+        serviceEmitter.events
+            .stream()
+            .map(Event::toMap)
+            .filter(event -> "segment/assigned/count".equals(event.get("metric")))
+            .map(event -> ((Number) event.get("value")).doubleValue())
+            .collect(Collectors.toList())
+    );
+
+    // Nothing changed since the previous run, so nothing is coordinated
+    coordinator.runIncrementalCoordination();
+    Assert.assertEquals(ImmutableSet.of(changedSegment), peon.getSegmentsToLoad());
+    Assert.assertEquals(1, countIncrementalHelperRuns());
+
+    coordinator.stop();
+    leaderUnannouncerLatch.await();
+
+    EasyMock.verify(serverInventoryView);
+    EasyMock.verify(databaseSegmentManager);
+  }
+
+  /**
+   * Returns the number of runs of the first helper of incremental coordinator runs.
+   */
+  private long countIncrementalHelperRuns()
+  {
+    return serviceEmitter.events
+        .stream()
+        .map(Event::toMap)
+        .filter(event -> "coordinator/time".equals(event.get("metric")))
+        .filter(event -> "incremental".equals(event.get("runType")))
+        .filter(event -> "DruidCoordinatorSegmentInfoLoader".equals(event.get("helper")))
+        .count();
+  }
+
   @Test
   public void testOrderedAvailableDataSegments()
   {
@@ -575,6 +651,52 @@ public class DruidCoordinatorTest extends CuratorTestBase
   }
 
 
+  private DruidCoordinator makeCoordinator(DruidCoordinatorConfig config)
+  {
+    return new DruidCoordinator(
+        config,
+        new ZkPathsConfig()
+        {
+
+          @Override
+          public String getBase()
+          {
+            return "druid";
+          }
+        },
+        configManager,
+        databaseSegmentManager,
+        serverInventoryView,
+        metadataRuleManager,
+        curator,
+        serviceEmitter,
+        scheduledExecutorFactory,
+        null,
+        null,
+        new NoopServiceAnnouncer()
+        {
+          @Override
+          public void announce(DruidNode node)
+          {
+            // count down when this coordinator becomes the leader
+            leaderAnnouncerLatch.countDown();
+          }
+
+          @Override
+          public void unannounce(DruidNode node)
+          {
+            leaderUnannouncerLatch.countDown();
+          }
+        },
+        druidNode,
+        loadManagementPeons,
+        null,
+        new CostBalancerStrategyFactory(),
+        EasyMock.createNiceMock(LookupCoordinatorManager.class),
+        new TestDruidLeaderSelector()
+    );
+  }
+
   private DataSegment getSegment(String dataSource, Interval interval)
   {
     // Not using EasyMock as it hampers the performance of multithreads.
@@ -633,6 +755,7 @@ public class DruidCoordinatorTest extends CuratorTestBase
 
   private static class LatchableServiceEmitter extends ServiceEmitter
   {
+    private final List<Event> events = new CopyOnWriteArrayList<>();
     private CountDownLatch latch;
 
     private LatchableServiceEmitter()
@@ -643,6 +766,7 @@ public class DruidCoordinatorTest extends CuratorTestBase
     @Override
     public void emit(Event event)
     {
+      events.add(event);
       if (latch != null && "segment/count".equals(event.toMap().get("metric"))) {
         latch.countDown();
       }
@@ -35,6 +35,8 @@ import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class SegmentsCostCacheTest
@@ -171,6 +173,38 @@ public class SegmentsCostCacheTest
     assertEquals(0.7065117101966677, cost, EPSILON);
   }
 
+  @Test
+  public void incrementalBuildTest()
+  {
+    DataSegment segmentA = createSegment(DATA_SOURCE, shifted1HInterval(REFERENCE_TIME, 0), 100);
+    DataSegment segmentB = createSegment(DATA_SOURCE, shifted1HInterval(REFERENCE_TIME, 1000), 100);
+    DataSegment segmentC = createSegment(DATA_SOURCE, shifted1HInterval(REFERENCE_TIME, 3), 100);
+    DataSegment referenceSegment = createSegment(DATA_SOURCE, shifted1HInterval(REFERENCE_TIME, 2), 100);
+
+    SegmentsCostCache.Builder cacheBuilder = SegmentsCostCache.builder();
+    cacheBuilder.addSegment(segmentA);
+    cacheBuilder.addSegment(segmentB);
+    SegmentsCostCache cache = cacheBuilder.build();
+    double cost = cache.cost(referenceSegment);
+
+    // Unmodified builders return the same cache
+    assertSame(cache, cacheBuilder.build());
+
+    cacheBuilder.addSegment(segmentC);
+    SegmentsCostCache cacheWithC = cacheBuilder.build();
+    assertNotSame(cache, cacheWithC);
+    assertEquals(
+        SegmentsCostCache.builder().addSegment(segmentA).addSegment(segmentB).addSegment(segmentC).build()
+                         .cost(referenceSegment),
+        cacheWithC.cost(referenceSegment),
+        EPSILON
+    );
+
+    cacheBuilder.removeSegment(segmentC);
+    assertEquals(cost, cacheBuilder.build().cost(referenceSegment), EPSILON);
+    assertEquals(cost, cache.cost(referenceSegment), EPSILON);
+  }
+
   public static Interval shifted1HInterval(DateTime REFERENCE_TIME, int shiftInHours)
   {
     return new Interval(
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server.scheduling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.druid.jackson.DefaultObjectMapper;
+import org.apache.druid.query.DataSource;
+import org.apache.druid.query.Druids;
+import org.apache.druid.query.QueryRunnerTestHelper;
+import org.apache.druid.query.TableDataSource;
+import org.apache.druid.query.UnionDataSource;
+import org.apache.druid.query.timeseries.TimeseriesQuery;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class QueryLaningStrategyTest
+{
+  @Rule
+  public ExpectedException expectedException = ExpectedException.none();
+
+  private final ObjectMapper jsonMapper = new DefaultObjectMapper();
+
+  @Test
+  public void testSerde() throws Exception
+  {
+    final QueryLaningStrategy strategy = jsonMapper.readValue(
+        "{\"strategy\":\"manual\",\"lanes\":{\"dashboards\":4,\"reports\":2},"
+        + "\"dataSourceLanes\":{\"wikipedia\":\"dashboards\"},\"queryTypeLanes\":{\"groupBy\":\"reports\"}}",
+        QueryLaningStrategy.class
+    );
+    Assert.assertTrue(strategy instanceof ManualQueryLaningStrategy);
+    Assert.assertEquals(ImmutableMap.of("dashboards", 4, "reports", 2), strategy.getLaneLimits(0));
+
+    final QueryLaningStrategy roundTrip = jsonMapper.readValue(
+        jsonMapper.writeValueAsString(strategy),
+        QueryLaningStrategy.class
+    );
+    Assert.assertEquals(strategy.getLaneLimits(0), roundTrip.getLaneLimits(0));
+    Assert.assertEquals(
+        ((ManualQueryLaningStrategy) strategy).getDataSourceLanes(),
+        ((ManualQueryLaningStrategy) roundTrip).getDataSourceLanes()
+    );
+  }
+
+  @Test
+  public void testDefaultIsNoLaning() throws Exception
+  {
+    final QueryLaningStrategy strategy = jsonMapper.readValue("{}", QueryLaningStrategy.class);
+    Assert.assertTrue(strategy instanceof NoQueryLaningStrategy);
+    Assert.assertTrue(strategy.getLaneLimits(10).isEmpty());
+  }
+
+  @Test
+  public void testComputeLane()
+  {
+    final ManualQueryLaningStrategy strategy = new ManualQueryLaningStrategy(
+        ImmutableMap.of("dashboards", 4, "reports", 2),
+        ImmutableMap.of("wikipedia", "dashboards"),
+        ImmutableMap.of("timeseries", "reports")
+    );
+    Assert.assertEquals("dashboards", strategy.computeLane(makeQuery(new TableDataSource("wikipedia"))));
+    Assert.assertEquals(
+        "dashboards",
+        strategy.computeLane(
+            makeQuery(
+                new UnionDataSource(
+                    ImmutableList.of(new TableDataSource("other"), new TableDataSource("wikipedia"))
+                )
+            )
+        )
+    );
+    Assert.assertEquals("reports", strategy.computeLane(makeQuery(new TableDataSource("other"))));
+  }
+
+  @Test
+  public void testUnknownLane()
+  {
+    expectedException.expect(IllegalArgumentException.class);
+    expectedException.expectMessage("unknown lane[reports]");
+    new ManualQueryLaningStrategy(
+        ImmutableMap.of("dashboards", 4),
+        ImmutableMap.of("wikipedia", "reports"),
+        null
+    );
+  }
+
+  @Test
+  public void testHiLoLaneLimits()
+  {
+    final HiLoQueryLaningStrategy strategy = new HiLoQueryLaningStrategy(10);
+    Assert.assertEquals(ImmutableMap.of(HiLoQueryLaningStrategy.LOW, 1), strategy.getLaneLimits(5));
+    Assert.assertEquals(ImmutableMap.of(HiLoQueryLaningStrategy.LOW, 3), strategy.getLaneLimits(30));
+    Assert.assertTrue(strategy.getLaneLimits(0).isEmpty());
+  }
+
+  private static TimeseriesQuery makeQuery(DataSource dataSource)
+  {
+    return Druids.newTimeseriesQueryBuilder()
+                 .dataSource(dataSource)
+                 .intervals(QueryRunnerTestHelper.firstToThird)
+                 .aggregators(ImmutableList.of(QueryRunnerTestHelper.rowsCount))
+                 .build();
+  }
+}
@@ -965,6 +965,7 @@ public class DruidQuery
         ScanQuery.RESULT_FORMAT_COMPACTED_LIST,
         0,
         scanLimit,
+        null,
         filtration.getDimFilter(),
         Ordering.natural().sortedCopy(ImmutableSet.copyOf(outputRowSignature.getRowOrder())),
         false,
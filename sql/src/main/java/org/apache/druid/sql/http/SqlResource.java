@@ -31,6 +31,7 @@ import org.apache.druid.java.util.common.ISE;
 import org.apache.druid.java.util.common.guava.Yielder;
 import org.apache.druid.java.util.common.guava.Yielders;
 import org.apache.druid.java.util.common.logger.Logger;
+import org.apache.druid.query.QueryCapacityExceededException;
 import org.apache.druid.query.QueryInterruptedException;
 import org.apache.druid.server.security.ForbiddenException;
 import org.apache.druid.sql.calcite.planner.Calcites;
@@ -165,6 +166,13 @@ public class SqlResource
     catch (ForbiddenException e) {
       throw e; // let ForbiddenExceptionMapper handle this
     }
+    catch (QueryCapacityExceededException e) {
+      log.warn(e, "Query capacity exceeded, rejecting query: %s", sqlQuery);
+      return Response.status(QueryCapacityExceededException.STATUS_CODE)
+                     .type(MediaType.APPLICATION_JSON_TYPE)
+                     .entity(jsonMapper.writeValueAsBytes(QueryInterruptedException.wrapIfNeeded(e)))
+                     .build();
+    }
     catch (Exception e) {
       log.warn(e, "Failed to handle query: %s", sqlQuery);
 
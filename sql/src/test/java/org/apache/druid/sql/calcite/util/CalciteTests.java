@@ -414,7 +414,8 @@ public class CalciteTests
                         new ScanQueryConfig(),
                         new DefaultGenericQueryMetricsFactory(TestHelper.makeJsonMapper())
                     ),
-                    new ScanQueryEngine()
+                    new ScanQueryEngine(),
+                    QueryRunnerTestHelper.NOOP_QUERYWATCHER
                 )
             )
             .put(